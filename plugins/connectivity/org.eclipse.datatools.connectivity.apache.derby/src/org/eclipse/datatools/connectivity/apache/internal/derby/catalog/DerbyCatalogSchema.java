@@ -15,7 +15,9 @@ import java.sql.Connection;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.eclipse.datatools.connectivity.sqm.core.rte.DeliverySuspender;
 import org.eclipse.datatools.connectivity.sqm.core.rte.ICatalogObject;
+import org.eclipse.datatools.connectivity.sqm.core.rte.LazyLoadState;
 import org.eclipse.datatools.connectivity.sqm.core.rte.RefreshManager;
 import org.eclipse.datatools.connectivity.sqm.internal.core.connection.ConnectionFilter;
 import org.eclipse.datatools.connectivity.sqm.internal.core.connection.ConnectionFilterListener;
@@ -54,18 +56,18 @@ public class DerbyCatalogSchema extends DerbySchemaImpl implements ICatalogObjec
 
 	public void refresh() {
 		synchronized (tablesLoaded) {
-			if (tablesLoaded.booleanValue()) {
-				tablesLoaded = Boolean.FALSE;
+			if (tablesLoaded.isLoaded()) {
+				tablesLoaded.setLoaded(false);
 			}
 		}
 		synchronized (routinesLoaded) {
-			if (routinesLoaded.booleanValue()) {
-				routinesLoaded = Boolean.FALSE;
+			if (routinesLoaded.isLoaded()) {
+				routinesLoaded.setLoaded(false);
 			}
 		}
 		synchronized (udtsLoaded) {
-			if (udtsLoaded.booleanValue()) {
-				udtsLoaded = Boolean.FALSE;
+			if (udtsLoaded.isLoaded()) {
+				udtsLoaded.setLoaded(false);
 			}
 		}
 
@@ -73,9 +75,11 @@ public class DerbyCatalogSchema extends DerbySchemaImpl implements ICatalogObjec
 	}
 
 	public EList getTables() {
-		synchronized (tablesLoaded) {
-			if (!tablesLoaded.booleanValue())
-				loadTables();
+		if (!tablesLoaded.isLoaded()) {
+			synchronized (tablesLoaded) {
+				if (!tablesLoaded.isLoaded())
+					loadTables();
+			}
 		}
 		return super.getTables();
 	}
@@ -94,26 +98,24 @@ public class DerbyCatalogSchema extends DerbySchemaImpl implements ICatalogObjec
 
 	private void loadTables() {
 		synchronized (tablesLoaded) {
-			boolean deliver = eDeliver();
+			delivery.suspend();
 			try {
 				List container = super.getTables();
 				List existingTables = new ArrayList(container);
 				
-				eSetDeliver(false);
-
 				container.clear();
 
 				getTableLoader().loadTables(container, existingTables);
 
 				getTableLoader().clearTables(existingTables);
 
-				tablesLoaded = Boolean.TRUE;
+				tablesLoaded.setLoaded(true);
 			}
 			catch (Exception e) {
 				e.printStackTrace();
 			}
 			finally {
-				eSetDeliver(deliver);
+				delivery.resume();
 			}
 		}
 	}
@@ -125,9 +127,11 @@ public class DerbyCatalogSchema extends DerbySchemaImpl implements ICatalogObjec
 	}
 
 	public EList getRoutines() {
-		synchronized (routinesLoaded) {
-			if (!routinesLoaded.booleanValue())
-				loadRoutines();
+		if (!routinesLoaded.isLoaded()) {
+			synchronized (routinesLoaded) {
+				if (!routinesLoaded.isLoaded())
+					loadRoutines();
+			}
 		}
 		return super.getRoutines();
 	}
@@ -145,26 +149,24 @@ public class DerbyCatalogSchema extends DerbySchemaImpl implements ICatalogObjec
 
 	private void loadRoutines() {
 		synchronized (routinesLoaded) {
-			boolean deliver = eDeliver();
+			delivery.suspend();
 			try {
 				List container = super.getRoutines();
 				List existingRoutines = new ArrayList(container);
 				
-				eSetDeliver(false);
-
 				container.clear();
 
 				getRoutineLoader().loadRoutines(container, existingRoutines);
 
 				getRoutineLoader().clearRoutines(existingRoutines);
 
-				routinesLoaded = Boolean.TRUE;
+				routinesLoaded.setLoaded(true);
 			}
 			catch (Exception e) {
 				e.printStackTrace();
 			}
 			finally {
-				eSetDeliver(deliver);
+				delivery.resume();
 			}
 		}
 	}
@@ -176,9 +178,11 @@ public class DerbyCatalogSchema extends DerbySchemaImpl implements ICatalogObjec
 	}
 
 	public EList getUserDefinedTypes() {
-		synchronized (udtsLoaded) {
-			if (!routinesLoaded.booleanValue())
-				loadUDTs();
+		if (!udtsLoaded.isLoaded()) {
+			synchronized (udtsLoaded) {
+				if (!udtsLoaded.isLoaded())
+					loadUDTs();
+			}
 		}
 		return super.getUserDefinedTypes();
 	}
@@ -195,27 +199,25 @@ public class DerbyCatalogSchema extends DerbySchemaImpl implements ICatalogObjec
 	}
 
 	private void loadUDTs() {
-		synchronized (routinesLoaded) {
-			boolean deliver = eDeliver();
+		synchronized (udtsLoaded) {
+			delivery.suspend();
 			try {
 				List container = super.getUserDefinedTypes();
 				List existingUDTs = new ArrayList(container);
 				
-				eSetDeliver(false);
-
 				container.clear();
 
 				getUDTLoader().loadUDTs(container, existingUDTs);
 
 				getUDTLoader().clearUDTs(existingUDTs);
 
-				udtsLoaded = Boolean.TRUE;
+				udtsLoaded.setLoaded(true);
 			}
 			catch (Exception e) {
 				e.printStackTrace();
 			}
 			finally {
-				eSetDeliver(deliver);
+				delivery.resume();
 			}
 		}
 	}
@@ -266,7 +268,7 @@ public class DerbyCatalogSchema extends DerbySchemaImpl implements ICatalogObjec
 		if (catalog == null || catalog.getDatabase() == null) return;
 		ConnectionInfo conInf = DatabaseConnectionRegistry.getInstance()
 				.getConnectionForDatabase(getCatalogDatabase());
-		if (tablesLoaded.booleanValue()
+		if (tablesLoaded.isLoaded()
 				&& filterKey.equals(getTableFilterKey())
 				|| (conInf != null
 						&& conInf.getFilter(getTableFilterKey()) == null && (ConnectionFilter.TABLE_FILTER
@@ -274,11 +276,13 @@ public class DerbyCatalogSchema extends DerbySchemaImpl implements ICatalogObjec
 						.getName()
 						+ ConnectionFilter.FILTER_SEPARATOR
 						+ ConnectionFilter.TABLE_FILTER)))) {
-			tablesLoaded = Boolean.FALSE;
-			getTableLoader().clearTables(super.getTables());
+			synchronized (tablesLoaded) {
+				tablesLoaded.setLoaded(false);
+				getTableLoader().clearTables(super.getTables());
+			}
 			refresh = true;
 		}
-		if (routinesLoaded.booleanValue()
+		if (routinesLoaded.isLoaded()
 				&& filterKey.equals(getRoutineFilterKey())
 				|| (conInf != null
 						&& conInf.getFilter(getRoutineFilterKey()) == null && (ConnectionFilter.STORED_PROCEDURE_FILTER
@@ -286,11 +290,13 @@ public class DerbyCatalogSchema extends DerbySchemaImpl implements ICatalogObjec
 						.getName()
 						+ ConnectionFilter.FILTER_SEPARATOR
 						+ ConnectionFilter.STORED_PROCEDURE_FILTER)))) {
-			routinesLoaded = Boolean.FALSE;
-			getRoutineLoader().clearRoutines(super.getRoutines());
+			synchronized (routinesLoaded) {
+				routinesLoaded.setLoaded(false);
+				getRoutineLoader().clearRoutines(super.getRoutines());
+			}
 			refresh = true;
 		}
-		if (udtsLoaded.booleanValue()
+		if (udtsLoaded.isLoaded()
 				&& filterKey.equals(getUDTFilterKey())
 				|| (conInf != null
 						&& conInf.getFilter(getUDTFilterKey()) == null && (ConnectionFilter.USER_DEFINED_TYPE_FILTER
@@ -298,8 +304,10 @@ public class DerbyCatalogSchema extends DerbySchemaImpl implements ICatalogObjec
 						.getName()
 						+ ConnectionFilter.FILTER_SEPARATOR
 						+ ConnectionFilter.USER_DEFINED_TYPE_FILTER)))) {
-			udtsLoaded = Boolean.FALSE;
-			getUDTLoader().clearUDTs(super.getUserDefinedTypes());
+			synchronized (udtsLoaded) {
+				udtsLoaded.setLoaded(false);
+				getUDTLoader().clearUDTs(super.getUserDefinedTypes());
+			}
 			refresh = true;
 		}
 		if (refresh) {
@@ -307,11 +315,16 @@ public class DerbyCatalogSchema extends DerbySchemaImpl implements ICatalogObjec
 		}
 	}
 
-	private Boolean tablesLoaded = Boolean.FALSE;
+	/**
+	 * Turns the notifications off while the features of this object are
+	 * loaded.
+	 */
+	protected final DeliverySuspender delivery = new DeliverySuspender(this);
+	private final LazyLoadState tablesLoaded = new LazyLoadState();
 	private SoftReference tableLoaderRef;
-	private Boolean routinesLoaded = Boolean.FALSE;
+	private final LazyLoadState routinesLoaded = new LazyLoadState();
 	private SoftReference routineLoaderRef;
-	private Boolean udtsLoaded = Boolean.FALSE;
+	private final LazyLoadState udtsLoaded = new LazyLoadState();
 	private SoftReference udtLoaderRef;
 	private transient ConnectionFilterListener filterListener = new ConnectionFilterListener() {
 
@@ -19,7 +19,9 @@ import java.util.Iterator;
 import java.util.List;
 
 import org.eclipse.datatools.connectivity.sqm.core.definition.DatabaseDefinition;
+import org.eclipse.datatools.connectivity.sqm.core.rte.DeliverySuspender;
 import org.eclipse.datatools.connectivity.sqm.core.rte.ICatalogObject;
+import org.eclipse.datatools.connectivity.sqm.core.rte.LazyLoadState;
 import org.eclipse.datatools.connectivity.sqm.core.rte.RefreshManager;
 import org.eclipse.datatools.connectivity.sqm.core.util.CatalogLoaderOverrideManager;
 import org.eclipse.datatools.connectivity.sqm.internal.core.RDBCorePlugin;
@@ -37,19 +39,24 @@ import org.eclipse.emf.ecore.EStructuralFeature;
 public class DerbyCatalogSynonym extends SynonymImpl implements ICatalogObject {
 	private static final long serialVersionUID = 3257804259579074800L;
 
-	private Boolean columnsLoaded = Boolean.FALSE;
+	/**
+	 * Turns the notifications off while the features of this object are
+	 * loaded.
+	 */
+	protected final DeliverySuspender delivery = new DeliverySuspender(this);
+	private final LazyLoadState columnsLoaded = new LazyLoadState();
 	private SoftReference columnLoaderRef;
-	private Boolean aliasedTableLoaded = Boolean.FALSE;
+	private final LazyLoadState aliasedTableLoaded = new LazyLoadState();
 
 	public void refresh() {
 		synchronized (columnsLoaded) {
-			if (columnsLoaded.booleanValue()) {
-				columnsLoaded = Boolean.FALSE;
+			if (columnsLoaded.isLoaded()) {
+				columnsLoaded.setLoaded(false);
 			}
 		}
 		synchronized (aliasedTableLoaded) {
-			if (aliasedTableLoaded.booleanValue()) {
-				aliasedTableLoaded = Boolean.FALSE;
+			if (aliasedTableLoaded.isLoaded()) {
+				aliasedTableLoaded.setLoaded(false);
 			}
 		}
 
@@ -69,9 +76,11 @@ public class DerbyCatalogSynonym extends SynonymImpl implements ICatalogObject {
 	}
 	
 	public EList getColumns() {
-		synchronized (columnsLoaded) {
-			if (!columnsLoaded.booleanValue())
-				loadColumns();
+		if (!columnsLoaded.isLoaded()) {
+			synchronized (columnsLoaded) {
+				if (!columnsLoaded.isLoaded())
+					loadColumns();
+			}
 		}
 		return this.columns;
 	}
@@ -100,26 +109,24 @@ public class DerbyCatalogSynonym extends SynonymImpl implements ICatalogObject {
 	}
 
 	private void loadColumns() {
-		boolean deliver = eDeliver();
+		delivery.suspend();
 		try {
 			List container = super.getColumns();
 			List existingColumns = new ArrayList(container);
 
-			eSetDeliver(false);
-
 			container.clear();
 
 			getColumnLoader().loadColumns(container, existingColumns);
 
 			getColumnLoader().clearColumns(existingColumns);
 
-			columnsLoaded = Boolean.TRUE;
+			columnsLoaded.setLoaded(true);
 		}
 		catch (Exception e) {
 			e.printStackTrace();
 		}
 		finally {
-			eSetDeliver(deliver);
+			delivery.resume();
 		}
 	}
 	
@@ -145,9 +152,11 @@ public class DerbyCatalogSynonym extends SynonymImpl implements ICatalogObject {
 	}
 	
 	public Table getAliasedTable() {
-		synchronized (aliasedTableLoaded) {
-			if (!aliasedTableLoaded.booleanValue())
-				loadAliasedTable();
+		if (!aliasedTableLoaded.isLoaded()) {
+			synchronized (aliasedTableLoaded) {
+				if (!aliasedTableLoaded.isLoaded())
+					loadAliasedTable();
+			}
 		}
 		return this.table;
 	}
@@ -183,14 +192,12 @@ public class DerbyCatalogSynonym extends SynonymImpl implements ICatalogObject {
 	}
 
 	private synchronized void loadAliasedTable() {
-		if (aliasedTableLoaded.booleanValue())
+		if (aliasedTableLoaded.isLoaded())
 			return;
 
 		Connection connection = this.getConnection();
 		
-		boolean deliver = this.eDeliver();
-		this.eSetDeliver(false);	
-		
+		delivery.suspend();
 		try {
 
 			String query = "SELECT TABLENAME,TABLETYPE" + //$NON-NLS-1$
@@ -206,7 +213,7 @@ public class DerbyCatalogSynonym extends SynonymImpl implements ICatalogObject {
 				final String tableName = r.getString("TABLENAME"); //$NON-NLS-1$
 				this.setTable(this.getTable(this.getSchema().getName(), tableName));
 				
-				this.aliasedTableLoaded = Boolean.TRUE;
+				this.aliasedTableLoaded.setLoaded(true);
 			}
 			r.close();
 			DerbySchemaLoader.setSchema(s, currentSchema);
@@ -215,7 +222,7 @@ public class DerbyCatalogSynonym extends SynonymImpl implements ICatalogObject {
 		catch (Exception e) {
 		}
 		
-		this.eSetDeliver(deliver);
+		delivery.resume();
 	}
 	
 }
@@ -14,9 +14,16 @@
 
 package org.eclipse.datatools.connectivity.oda.consumer.helper;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.sql.Types;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.eclipse.datatools.connectivity.oda.OdaException;
 import org.eclipse.datatools.connectivity.oda.consumer.nls.Messages;
@@ -41,6 +48,16 @@ class OdaObject
 	
 	private static boolean sm_ThrowExceptionOnly = true;
     private static ThreadLocal sm_loggerAccessor = null;
+    
+    // the method handles found by findAndInvokeMethod, per driver class; 
+    // a ClassValue does not keep the driver's class loader reachable
+    private static final ClassValue sm_methodHandles = new ClassValue()
+    {
+        protected Object computeValue( Class type )
+        {
+            return new ConcurrentHashMap();
+        }
+    };
 	
 	/*
 	 * Static method to be used by host to have oda consumer manager return errors 
@@ -88,10 +105,11 @@ class OdaObject
         if( m_driverClassLoader == classloader )
             return;     // already set
 
-        final String context = 
-            "setDriverClassLoader( " + classloader + " )\t"; //$NON-NLS-1$ //$NON-NLS-2$
-        
-        cacheOriginalClassLoader( context );
+        // findAndInvokeMethod sets the driver class loader on each call; 
+        // only build the trace context when it gets used
+        if( m_originalClassLoader == null )
+            cacheOriginalClassLoader( 
+                "setDriverClassLoader( " + classloader + " )\t" ); //$NON-NLS-1$ //$NON-NLS-2$
         m_driverClassLoader = classloader;
     }
     
@@ -162,7 +180,11 @@ class OdaObject
         
 		try
         {
-            Thread.currentThread().setContextClassLoader( m_driverClassLoader );
+            // the driver's loader may already be current, when the host shares 
+            // it or a caller has switched already; skip the redundant switch
+            Thread currentThread = Thread.currentThread();
+            if( currentThread.getContextClassLoader() != m_driverClassLoader )
+                currentThread.setContextClassLoader( m_driverClassLoader );
         }
         catch( SecurityException e )
         {
@@ -184,7 +206,9 @@ class OdaObject
         {
             ClassLoader originalLoader = ( m_originalClassLoader != null ) ?
                     m_originalClassLoader : this.getClass().getClassLoader();
-            Thread.currentThread().setContextClassLoader( originalLoader );
+            Thread currentThread = Thread.currentThread();
+            if( currentThread.getContextClassLoader() != originalLoader )
+                currentThread.setContextClassLoader( originalLoader );
         }
         catch( SecurityException e )
         {
@@ -248,28 +272,17 @@ class OdaObject
                 setContextClassloader();
             }
 			
-			Class objClass = m_object.getClass();
-			Method method = objClass.getMethod( methodName, parameterTypes );
-			
-			// needed for methods where we need to provide backwards 
-			// compatibility, but the implementation classes are not public
-			// then the method is inaccessible, try to bypass the Java language access checks
-			if( bypassJavaAccessChecks && ! method.isAccessible() )
+			MethodHandle handle = findMethodHandle( m_object.getClass(), methodName, 
+													parameterTypes, bypassJavaAccessChecks );
+			try
 			{
-				try
-				{
-					method.setAccessible( true );
-				}
-				catch( SecurityException ex )
-				{
-					// may get a SecurityException when trying to bypass the Java access checks
-					// method contains the context specific info: "public void <package>.<class>.<method>( <args> )"
-					handleError( newOdaException( Messages.helper_inadequatePermissionsForCompatibility,
-												  ex, method.toString() ) );
-				}
+				return (Object) handle.invokeExact( m_object, args );
+			}
+			catch( Throwable ex )
+			{
+				// same as Method.invoke, for the callers to unwrap the driver's exception
+				throw new InvocationTargetException( ex );
 			}
-			
-			return method.invoke( m_object, args );
 		}
 		finally
 		{
@@ -284,6 +297,108 @@ class OdaObject
 		}
 	}
 	
+	/*
+	 * Returns the handle of the specified method, resolved once per driver class 
+	 * and cached; its type is ( Object target, Object[] args ) -> Object.
+	 */
+	private MethodHandle findMethodHandle( Class objClass, String methodName, 
+										   Class[] parameterTypes, boolean bypassJavaAccessChecks )
+		throws NoSuchMethodException, IllegalAccessException, OdaException
+	{
+		Map handles = (Map) sm_methodHandles.get( objClass );
+		MethodKey key = new MethodKey( methodName, parameterTypes, bypassJavaAccessChecks );
+		Object handle = handles.get( key );
+		if( handle == null )
+		{
+			try
+			{
+				handle = createMethodHandle( objClass, methodName, parameterTypes, 
+											 bypassJavaAccessChecks );
+			}
+			catch( NoSuchMethodException ex )
+			{
+				// remember the method is missing, drivers not implementing an optional 
+				// compatibility method would otherwise be searched on each call
+				handle = ex;
+			}
+			catch( IllegalAccessException ex )
+			{
+				handle = ex;
+			}
+			handles.put( key, handle );
+		}
+		
+		if( handle instanceof NoSuchMethodException )
+			throw new NoSuchMethodException( ( (NoSuchMethodException) handle ).getMessage() );
+		if( handle instanceof IllegalAccessException )
+			throw new IllegalAccessException( ( (IllegalAccessException) handle ).getMessage() );
+		return (MethodHandle) handle;
+	}
+	
+	private MethodHandle createMethodHandle( Class objClass, String methodName, 
+											 Class[] parameterTypes, boolean bypassJavaAccessChecks )
+		throws NoSuchMethodException, IllegalAccessException, OdaException
+	{
+		Method method = objClass.getMethod( methodName, parameterTypes );
+		
+		// needed for methods where we need to provide backwards 
+		// compatibility, but the implementation classes are not public
+		// then the method is inaccessible, try to bypass the Java language access checks
+		if( bypassJavaAccessChecks && ! method.isAccessible() )
+		{
+			try
+			{
+				method.setAccessible( true );
+			}
+			catch( SecurityException ex )
+			{
+				// may get a SecurityException when trying to bypass the Java access checks
+				// method contains the context specific info: "public void <package>.<class>.<method>( <args> )"
+				handleError( newOdaException( Messages.helper_inadequatePermissionsForCompatibility,
+											  ex, method.toString() ) );
+			}
+		}
+		
+		MethodHandle handle = MethodHandles.lookup().unreflect( method );
+		if( Modifier.isStatic( method.getModifiers() ) )
+			handle = MethodHandles.dropArguments( handle, 0, Object.class );
+		int argCount = parameterTypes == null ? 0 : parameterTypes.length;
+		return handle.asType( MethodType.genericMethodType( argCount + 1 ) )
+					 .asSpreader( Object[].class, argCount );
+	}
+	
+	/*
+	 * Key of a method handle in the cache of a driver class.
+	 */
+	private static final class MethodKey
+	{
+		private final String m_name;
+		private final Class[] m_parameterTypes;
+		private final boolean m_bypassJavaAccessChecks;
+		
+		MethodKey( String name, Class[] parameterTypes, boolean bypassJavaAccessChecks )
+		{
+			m_name = name;
+			m_parameterTypes = parameterTypes == null ? new Class[0] : parameterTypes;
+			m_bypassJavaAccessChecks = bypassJavaAccessChecks;
+		}
+		
+		public boolean equals( Object obj )
+		{
+			if( ! ( obj instanceof MethodKey ) )
+				return false;
+			MethodKey key = (MethodKey) obj;
+			return m_name.equals( key.m_name ) && 
+				   m_bypassJavaAccessChecks == key.m_bypassJavaAccessChecks &&
+				   Arrays.equals( m_parameterTypes, key.m_parameterTypes );
+		}
+		
+		public int hashCode()
+		{
+			return m_name.hashCode() * 31 + Arrays.hashCode( m_parameterTypes );
+		}
+	}
+	
 	//-------------------------------------------------------------------------
 	// The following methods are used by subclasses to handle OdaExceptions and 
 	// runtime exceptions.
@@ -473,7 +588,7 @@ class OdaObject
 	protected void log( String context, String msg )
 	{
 		Logger logger = getLogger();
-		if( logger != null )
+		if( logger != null && logger.isLoggable( Level.FINE_LEVEL ) )
 			logger.fine( context + msg );
 	}
     
@@ -486,12 +601,14 @@ class OdaObject
 	
 	protected void logMethodExitWithReturn( String context, int i )
 	{
-		logMethodExitWithReturn( context, Integer.valueOf( i ) );
+		if( isLoggable( Level.FINE_LEVEL ) )
+			logMethodExitWithReturn( context, Integer.valueOf( i ) );
 	}
 	
 	protected void logMethodExitWithReturn( String context, double d )
 	{
-		logMethodExitWithReturn( context, Double.valueOf( d ) );
+		if( isLoggable( Level.FINE_LEVEL ) )
+			logMethodExitWithReturn( context, Double.valueOf( d ) );
 	}
 	
 	protected void logMethodExitWithReturn( String context, boolean b )
@@ -502,28 +619,28 @@ class OdaObject
 	protected void logMethodCalled( String context )
 	{
 		Logger logger = getLogger();
-		if( logger != null )
+		if( logger != null && logger.isLoggable( Level.FINE_LEVEL ) )
 			logger.fine( context + "Called." ); //$NON-NLS-1$
 	}
 	
 	protected void logMethodExit( String context )
 	{
 		Logger logger = getLogger();
-		if( logger != null )
+		if( logger != null && logger.isLoggable( Level.FINE_LEVEL ) )
 			logger.fine( context + "Exiting." ); //$NON-NLS-1$
 	}
 		
 	protected void logMethodExitWithReturn( String context, Object obj )
 	{
 		Logger logger = getLogger();
-		if( logger != null )
+		if( logger != null && logger.isLoggable( Level.FINE_LEVEL ) )
 			logger.fine( context + "Returns [ " + obj + " ]" ); //$NON-NLS-1$ //$NON-NLS-2$
 	}
     
     protected void logMethodExitWithReturnLen( String context, String obj )
     {
         Logger logger = getLogger();
-        if( logger != null )
+        if( logger != null && logger.isLoggable( Level.FINE_LEVEL ) )
         {
             if( obj != null )
                 logger.fine( context + "Returns a string with length [" + obj.length() + "]" ); //$NON-NLS-1$ //$NON-NLS-2$
@@ -18,18 +18,22 @@ import java.math.BigDecimal;
 import java.sql.Date;
 import java.sql.Time;
 import java.sql.Timestamp;
+import java.sql.Types;
 
+import org.eclipse.datatools.connectivity.oda.IBatchResultSet;
 import org.eclipse.datatools.connectivity.oda.IBlob;
 import org.eclipse.datatools.connectivity.oda.IClob;
 import org.eclipse.datatools.connectivity.oda.IResultSet;
 import org.eclipse.datatools.connectivity.oda.IResultSetMetaData;
 import org.eclipse.datatools.connectivity.oda.OdaException;
+import org.eclipse.datatools.connectivity.oda.RowBatch;
 import org.eclipse.datatools.connectivity.oda.consumer.nls.Messages;
+import org.eclipse.datatools.connectivity.oda.util.logging.Level;
 
 /**
  * OdaResultSet is the Oda wrapper for result sets.
  */
-public class OdaResultSet extends OdaDriverObject implements IResultSet
+public class OdaResultSet extends OdaDriverObject implements IBatchResultSet
 {
     private static final String MSG_ARG_SEPARATOR = ", "; //$NON-NLS-1$
     private static final String MSG_LINE_SEPARATOR = " )\t"; //$NON-NLS-1$
@@ -236,7 +240,8 @@ public class OdaResultSet extends OdaDriverObject implements IResultSet
 
 	public String getString( int index ) throws OdaException
 	{
-	    final String context = "OdaResultSet.getString( " + index + MSG_LINE_SEPARATOR; //$NON-NLS-1$
+	    final String context = isLoggable( Level.FINE_LEVEL ) ?
+	        "OdaResultSet.getString( " + index + MSG_LINE_SEPARATOR : null; //$NON-NLS-1$
 		logMethodCalled( context );
 		
 		try
@@ -269,7 +274,8 @@ public class OdaResultSet extends OdaDriverObject implements IResultSet
 
 	public String getString( String columnName ) throws OdaException
 	{
-	    final String context = "OdaResultSet.getString( " + columnName + MSG_LINE_SEPARATOR; //$NON-NLS-1$
+	    final String context = isLoggable( Level.FINE_LEVEL ) ?
+	        "OdaResultSet.getString( " + columnName + MSG_LINE_SEPARATOR : null; //$NON-NLS-1$
 		logMethodCalled( context );
 		
 		try
@@ -302,7 +308,8 @@ public class OdaResultSet extends OdaDriverObject implements IResultSet
 
 	public int getInt( int index ) throws OdaException
 	{
-	    final String context = "OdaResultSet.getInt( " + index + MSG_LINE_SEPARATOR; //$NON-NLS-1$
+	    final String context = isLoggable( Level.FINE_LEVEL ) ?
+	        "OdaResultSet.getInt( " + index + MSG_LINE_SEPARATOR : null; //$NON-NLS-1$
 		logMethodCalled( context );
 		
 		try
@@ -335,7 +342,8 @@ public class OdaResultSet extends OdaDriverObject implements IResultSet
 
 	public int getInt( String columnName ) throws OdaException
 	{
-	    final String context = "OdaResultSet.getInt( " + columnName + MSG_LINE_SEPARATOR; //$NON-NLS-1$
+	    final String context = isLoggable( Level.FINE_LEVEL ) ?
+	        "OdaResultSet.getInt( " + columnName + MSG_LINE_SEPARATOR : null; //$NON-NLS-1$
 		logMethodCalled( context );
 		
 		try
@@ -368,7 +376,8 @@ public class OdaResultSet extends OdaDriverObject implements IResultSet
 
 	public double getDouble( int index ) throws OdaException
 	{
-	    final String context = "OdaResultSet.getDouble( " + index + MSG_LINE_SEPARATOR; //$NON-NLS-1$
+	    final String context = isLoggable( Level.FINE_LEVEL ) ?
+	        "OdaResultSet.getDouble( " + index + MSG_LINE_SEPARATOR : null; //$NON-NLS-1$
 		logMethodCalled( context );
 		
 		try
@@ -401,7 +410,8 @@ public class OdaResultSet extends OdaDriverObject implements IResultSet
 
 	public double getDouble( String columnName ) throws OdaException
 	{
-	    final String context = "OdaResultSet.getDouble( " + columnName + MSG_LINE_SEPARATOR; //$NON-NLS-1$
+	    final String context = isLoggable( Level.FINE_LEVEL ) ?
+	        "OdaResultSet.getDouble( " + columnName + MSG_LINE_SEPARATOR : null; //$NON-NLS-1$
 		logMethodCalled( context );
 		
 		try
@@ -434,7 +444,8 @@ public class OdaResultSet extends OdaDriverObject implements IResultSet
 
 	public BigDecimal getBigDecimal( int index ) throws OdaException
 	{
-	    final String context = "OdaResultSet.getBigDecimal( " + index + MSG_LINE_SEPARATOR; //$NON-NLS-1$
+	    final String context = isLoggable( Level.FINE_LEVEL ) ?
+	        "OdaResultSet.getBigDecimal( " + index + MSG_LINE_SEPARATOR : null; //$NON-NLS-1$
 		logMethodCalled( context );
 		
 		try
@@ -469,7 +480,8 @@ public class OdaResultSet extends OdaDriverObject implements IResultSet
 	
 	public BigDecimal getBigDecimal( String columnName ) throws OdaException
 	{
-	    final String context = "OdaResultSet.getBigDecimal( " + columnName + MSG_LINE_SEPARATOR; //$NON-NLS-1$
+	    final String context = isLoggable( Level.FINE_LEVEL ) ?
+	        "OdaResultSet.getBigDecimal( " + columnName + MSG_LINE_SEPARATOR : null; //$NON-NLS-1$
 		logMethodCalled( context );
 		
 		try
@@ -504,7 +516,8 @@ public class OdaResultSet extends OdaDriverObject implements IResultSet
 	
 	public Date getDate( int index ) throws OdaException
 	{
-	    final String context = "OdaResultSet.getDate( " + index + MSG_LINE_SEPARATOR; //$NON-NLS-1$
+	    final String context = isLoggable( Level.FINE_LEVEL ) ?
+	        "OdaResultSet.getDate( " + index + MSG_LINE_SEPARATOR : null; //$NON-NLS-1$
 		logMethodCalled( context );
 		
 		try
@@ -540,7 +553,8 @@ public class OdaResultSet extends OdaDriverObject implements IResultSet
 
 	public Date getDate( String columnName ) throws OdaException
 	{
-	    final String context = "OdaResultSet.getDate( " + columnName + MSG_LINE_SEPARATOR; //$NON-NLS-1$
+	    final String context = isLoggable( Level.FINE_LEVEL ) ?
+	        "OdaResultSet.getDate( " + columnName + MSG_LINE_SEPARATOR : null; //$NON-NLS-1$
 		logMethodCalled( context );
 		
 		try
@@ -576,7 +590,8 @@ public class OdaResultSet extends OdaDriverObject implements IResultSet
 
 	public Time getTime( int index ) throws OdaException
 	{
-	    final String context = "OdaResultSet.getTime( " + index + MSG_LINE_SEPARATOR; //$NON-NLS-1$
+	    final String context = isLoggable( Level.FINE_LEVEL ) ?
+	        "OdaResultSet.getTime( " + index + MSG_LINE_SEPARATOR : null; //$NON-NLS-1$
 		logMethodCalled( context );
 		
 		try
@@ -612,7 +627,8 @@ public class OdaResultSet extends OdaDriverObject implements IResultSet
 
 	public Time getTime( String columnName ) throws OdaException
 	{
-	    final String context = "OdaResultSet.getTime( " + columnName + MSG_LINE_SEPARATOR; //$NON-NLS-1$
+	    final String context = isLoggable( Level.FINE_LEVEL ) ?
+	        "OdaResultSet.getTime( " + columnName + MSG_LINE_SEPARATOR : null; //$NON-NLS-1$
 		logMethodCalled( context );
 		
 		try
@@ -648,7 +664,8 @@ public class OdaResultSet extends OdaDriverObject implements IResultSet
 
 	public Timestamp getTimestamp( int index ) throws OdaException
 	{
-	    final String context = "OdaResultSet.getTimestamp( " + index + MSG_LINE_SEPARATOR; //$NON-NLS-1$
+	    final String context = isLoggable( Level.FINE_LEVEL ) ?
+	        "OdaResultSet.getTimestamp( " + index + MSG_LINE_SEPARATOR : null; //$NON-NLS-1$
 		logMethodCalled( context );
 		
 		try
@@ -684,7 +701,8 @@ public class OdaResultSet extends OdaDriverObject implements IResultSet
 
 	public Timestamp getTimestamp( String columnName ) throws OdaException
 	{
-	    final String context = "OdaResultSet.getTimestamp( " + columnName + MSG_LINE_SEPARATOR; //$NON-NLS-1$
+	    final String context = isLoggable( Level.FINE_LEVEL ) ?
+	        "OdaResultSet.getTimestamp( " + columnName + MSG_LINE_SEPARATOR : null; //$NON-NLS-1$
 		logMethodCalled( context );
 		
 		try
@@ -723,7 +741,8 @@ public class OdaResultSet extends OdaDriverObject implements IResultSet
      */
     public IBlob getBlob( int index ) throws OdaException
     {
-		final String context = "OdaResultSet.getBlob( " + index + MSG_LINE_SEPARATOR; //$NON-NLS-1$ 
+		final String context = isLoggable( Level.FINE_LEVEL ) ?
+			"OdaResultSet.getBlob( " + index + MSG_LINE_SEPARATOR : null; //$NON-NLS-1$ 
 		logMethodCalled( context );
 		
 		try
@@ -764,7 +783,8 @@ public class OdaResultSet extends OdaDriverObject implements IResultSet
      */
     public IBlob getBlob( String columnName ) throws OdaException
     {
-        final String context = "OdaResultSet.getBlob( " + columnName + MSG_LINE_SEPARATOR; //$NON-NLS-1$
+        final String context = isLoggable( Level.FINE_LEVEL ) ?
+            "OdaResultSet.getBlob( " + columnName + MSG_LINE_SEPARATOR : null; //$NON-NLS-1$
 		logMethodCalled( context );
 		
 		try
@@ -814,7 +834,8 @@ public class OdaResultSet extends OdaDriverObject implements IResultSet
      */
     public IClob getClob( int index ) throws OdaException
     {
-        final String context = "OdaResultSet.getClob( " + index + MSG_LINE_SEPARATOR; //$NON-NLS-1$ 
+        final String context = isLoggable( Level.FINE_LEVEL ) ?
+            "OdaResultSet.getClob( " + index + MSG_LINE_SEPARATOR : null; //$NON-NLS-1$ 
 		logMethodCalled( context );
 		
 		try
@@ -855,7 +876,8 @@ public class OdaResultSet extends OdaDriverObject implements IResultSet
      */
     public IClob getClob( String columnName ) throws OdaException
     {
-        final String context = "OdaResultSet.getClob( " + columnName + MSG_LINE_SEPARATOR; //$NON-NLS-1$ 
+        final String context = isLoggable( Level.FINE_LEVEL ) ?
+            "OdaResultSet.getClob( " + columnName + MSG_LINE_SEPARATOR : null; //$NON-NLS-1$ 
 		logMethodCalled( context );
 		
 		try
@@ -905,7 +927,8 @@ public class OdaResultSet extends OdaDriverObject implements IResultSet
      */
     public boolean getBoolean( int index ) throws OdaException
     {
-        final String context = "OdaResultSet.getBoolean( " + index + MSG_LINE_SEPARATOR; //$NON-NLS-1$ 
+        final String context = isLoggable( Level.FINE_LEVEL ) ?
+            "OdaResultSet.getBoolean( " + index + MSG_LINE_SEPARATOR : null; //$NON-NLS-1$ 
         final String unsupportedOpContext = "IResultSet.getBoolean( int )"; //$NON-NLS-1$
         logMethodCalled( context );
     
@@ -952,7 +975,8 @@ public class OdaResultSet extends OdaDriverObject implements IResultSet
      */
     public boolean getBoolean( String columnName ) throws OdaException
     {
-        final String context = "OdaResultSet.getBoolean( " + columnName + MSG_LINE_SEPARATOR; //$NON-NLS-1$ 
+        final String context = isLoggable( Level.FINE_LEVEL ) ?
+            "OdaResultSet.getBoolean( " + columnName + MSG_LINE_SEPARATOR : null; //$NON-NLS-1$ 
         final String unsupportedOpContext = "IResultSet.getBoolean( String )"; //$NON-NLS-1$
         logMethodCalled( context );
         
@@ -999,7 +1023,8 @@ public class OdaResultSet extends OdaDriverObject implements IResultSet
      */
     public Object getObject( int index ) throws OdaException
     {
-        final String context = "OdaResultSet.getObject( " + index + MSG_LINE_SEPARATOR; //$NON-NLS-1$ 
+        final String context = isLoggable( Level.FINE_LEVEL ) ?
+            "OdaResultSet.getObject( " + index + MSG_LINE_SEPARATOR : null; //$NON-NLS-1$ 
         final String unsupportedOpContext = "IResultSet.getObject( int )"; //$NON-NLS-1$
         logMethodCalled( context );
     
@@ -1046,7 +1071,8 @@ public class OdaResultSet extends OdaDriverObject implements IResultSet
      */
     public Object getObject( String columnName ) throws OdaException
     {
-        final String context = "OdaResultSet.getObject( " + columnName + MSG_LINE_SEPARATOR; //$NON-NLS-1$ 
+        final String context = isLoggable( Level.FINE_LEVEL ) ?
+            "OdaResultSet.getObject( " + columnName + MSG_LINE_SEPARATOR : null; //$NON-NLS-1$ 
         final String unsupportedOpContext = "IResultSet.getObject( String )"; //$NON-NLS-1$
         logMethodCalled( context );
         
@@ -1121,6 +1147,70 @@ public class OdaResultSet extends OdaDriverObject implements IResultSet
 		}
 	}
 
+	/* (non-Javadoc)
+	 * @see org.eclipse.datatools.connectivity.oda.IBatchResultSet#fetchRows(org.eclipse.datatools.connectivity.oda.RowBatch)
+	 */
+	public int fetchRows( RowBatch batch ) throws OdaException
+	{
+	    final String context = isLoggable( Level.FINE_LEVEL ) ?
+	        "OdaResultSet.fetchRows( " + batch.getCapacity() + MSG_LINE_SEPARATOR : null; //$NON-NLS-1$
+		logMethodCalled( context );
+		
+		// the checks and the class loader switch of next() and the getters, 
+		// done once for the whole batch
+		if( ! getOdaConnection().isOpen() )
+		{
+			OdaException ex = newOdaException( Messages.helper_connectionIsInactive );
+			return handleErrorAndReturnZero( ex );
+		}
+		
+		try
+		{
+			setContextClassloader();
+			
+			IResultSet resultSet = getResultSet();
+			int ret = ( resultSet instanceof IBatchResultSet ) ?
+					( (IBatchResultSet) resultSet ).fetchRows( batch ) :
+					batch.fill( resultSet );
+			
+			// wrap the driver's lobs, as getBlob and getClob do
+			for( int index = 1; index <= batch.getColumnCount(); index++ )
+			{
+				int type = batch.getColumnType( index );
+				if( type != Types.BLOB && type != Types.CLOB )
+					continue;
+				Object[] values = batch.getObjectColumn( index );
+				for( int row = 0; row < ret; row++ )
+				{
+					if( values[row] instanceof IBlob )
+						values[row] = createBlobWrapper( (IBlob) values[row] );
+					else if( values[row] instanceof IClob )
+						values[row] = createClobWrapper( (IClob) values[row] );
+				}
+			}
+			
+			logMethodExitWithReturn( context, ret );
+			return ret;
+		}
+		catch( UnsupportedOperationException uoException )
+		{
+			return handleUnsupportedOpAndRetZero( uoException,
+												  "IBatchResultSet.fetchRows( RowBatch batch )" ); //$NON-NLS-1$
+		}
+		catch( RuntimeException rtException )
+		{
+			return handleErrorAndReturnZero( rtException );
+		}
+		catch( OdaException odaException )
+		{
+			return handleErrorAndReturnZero( odaException );
+		}
+		finally
+		{
+			resetContextClassloader();
+		}
+	}
+
 	public int findColumn( String columnName ) throws OdaException
 	{
 	    final String context = "OdaResultSet.findColumn( " + columnName + MSG_LINE_SEPARATOR; //$NON-NLS-1$
@@ -1159,7 +1249,8 @@ public class OdaResultSet extends OdaDriverObject implements IResultSet
 	
 	public String getBigDecimalAsString( int index ) throws OdaException
 	{
-	    final String context = "OdaResultSet.getBigDecimalAsString( " + index + MSG_LINE_SEPARATOR; //$NON-NLS-1$
+	    final String context = isLoggable( Level.FINE_LEVEL ) ?
+	        "OdaResultSet.getBigDecimalAsString( " + index + MSG_LINE_SEPARATOR : null; //$NON-NLS-1$
 		logMethodCalled( context );
 		
 		BigDecimal decimal = getBigDecimal( index );
@@ -1171,7 +1262,8 @@ public class OdaResultSet extends OdaDriverObject implements IResultSet
 	
 	public String getBigDecimalAsString( String columnName ) throws OdaException
 	{
-	    final String context = "OdaResultSet.getBigDecimalAsString( " + columnName + MSG_LINE_SEPARATOR; //$NON-NLS-1$
+	    final String context = isLoggable( Level.FINE_LEVEL ) ?
+	        "OdaResultSet.getBigDecimalAsString( " + columnName + MSG_LINE_SEPARATOR : null; //$NON-NLS-1$
 		logMethodCalled( context );
 		
 		BigDecimal decimal = getBigDecimal( columnName );
@@ -1183,7 +1275,8 @@ public class OdaResultSet extends OdaDriverObject implements IResultSet
 	
 	public String getDateAsString( int index ) throws OdaException
 	{
-	    final String context = "OdaResultSet.getDateAsString( " + index + MSG_LINE_SEPARATOR; //$NON-NLS-1$ 
+	    final String context = isLoggable( Level.FINE_LEVEL ) ?
+	        "OdaResultSet.getDateAsString( " + index + MSG_LINE_SEPARATOR : null; //$NON-NLS-1$ 
 		logMethodCalled( context );
 		
 		Date date = getDate( index );
@@ -1195,7 +1288,8 @@ public class OdaResultSet extends OdaDriverObject implements IResultSet
 	
 	public String getDateAsString( String columnName ) throws OdaException
 	{
-	    final String context = "OdaResultSet.getDateAsString( " + columnName + MSG_LINE_SEPARATOR; //$NON-NLS-1$
+	    final String context = isLoggable( Level.FINE_LEVEL ) ?
+	        "OdaResultSet.getDateAsString( " + columnName + MSG_LINE_SEPARATOR : null; //$NON-NLS-1$
 		logMethodCalled( context );
 		
 		Date date = getDate( columnName );
@@ -1207,7 +1301,8 @@ public class OdaResultSet extends OdaDriverObject implements IResultSet
 	
 	public String getTimeAsString( int index ) throws OdaException
 	{
-	    final String context = "OdaResultSet.getTimeAsString( " + index + MSG_LINE_SEPARATOR; //$NON-NLS-1$ 
+	    final String context = isLoggable( Level.FINE_LEVEL ) ?
+	        "OdaResultSet.getTimeAsString( " + index + MSG_LINE_SEPARATOR : null; //$NON-NLS-1$ 
 		logMethodCalled( context );
 		
 		Time time = getTime( index );
@@ -1219,7 +1314,8 @@ public class OdaResultSet extends OdaDriverObject implements IResultSet
 	
 	public String getTimeAsString( String columnName ) throws OdaException
 	{
-	    final String context = "OdaResultSet.getTimeAsString( " + columnName + MSG_LINE_SEPARATOR; //$NON-NLS-1$ 
+	    final String context = isLoggable( Level.FINE_LEVEL ) ?
+	        "OdaResultSet.getTimeAsString( " + columnName + MSG_LINE_SEPARATOR : null; //$NON-NLS-1$ 
 		logMethodCalled( context );
 		
 		Time time = getTime( columnName );
@@ -1231,7 +1327,8 @@ public class OdaResultSet extends OdaDriverObject implements IResultSet
 	
 	public String getTimestampAsString( int index ) throws OdaException
 	{
-	    final String context = "OdaResultSet.getTimestampAsString( " + index + MSG_LINE_SEPARATOR; //$NON-NLS-1$
+	    final String context = isLoggable( Level.FINE_LEVEL ) ?
+	        "OdaResultSet.getTimestampAsString( " + index + MSG_LINE_SEPARATOR : null; //$NON-NLS-1$
 		logMethodCalled( context );
 		
 		Timestamp timestamp = getTimestamp( index );
@@ -1243,7 +1340,8 @@ public class OdaResultSet extends OdaDriverObject implements IResultSet
 	
 	public String getTimestampAsString( String columnName ) throws OdaException
 	{
-	    final String context = "OdaResultSet.getTimestampAsString( " + columnName + MSG_LINE_SEPARATOR; //$NON-NLS-1$
+	    final String context = isLoggable( Level.FINE_LEVEL ) ?
+	        "OdaResultSet.getTimestampAsString( " + columnName + MSG_LINE_SEPARATOR : null; //$NON-NLS-1$
 		logMethodCalled( context );
 		
 		Timestamp timestamp = getTimestamp( columnName );
@@ -29,6 +29,9 @@ public final class CommonConstants
 	public static final String CONN_DELIMITER_TYPE = "DELIMTYPE"; //$NON-NLS-1$
 	public static final String CONN_TRAILNULLCOLS_PROP = "TRAILNULLCOLS"; //$NON-NLS-1$
 	public static final String CONN_RESOURCE_IDENTIFIER = "RESOURCE_IDENTIFIER"; //$NON-NLS-1$
+	public static final String CONN_READER_MODE_PROP = "READERMODE"; //$NON-NLS-1$
+	public static final String CONN_SORT_MEMORY_LIMIT_PROP = "SORTMEMORYLIMIT"; //$NON-NLS-1$
+	public static final String CONN_USE_INDEX_PROP = "USEINDEX"; //$NON-NLS-1$
 
 	public static final String DELIMITER_COMMA = "COMMA"; //$NON-NLS-1$
 	public static final String DELIMITER_COMMA_VALUE = ","; //$NON-NLS-1$
@@ -54,6 +57,13 @@ public final class CommonConstants
 	public static final String INC_TYPE_LINE_NO = "NO"; //$NON-NLS-1$
 	public static final String TRAIL_NULL_COLS_YES = "YES";
 	public static final String TRAIL_NULL_COLS_NO = "NO";
+	public static final String READER_MODE_DEFAULT = "DEFAULT"; //$NON-NLS-1$
+	public static final String READER_MODE_STREAMING = "STREAMING"; //$NON-NLS-1$
+	public static final String READER_MODE_PARALLEL = "PARALLEL"; //$NON-NLS-1$
+	// the memory, in megabytes, a sorted query may use before spilling to disk
+	public static final int SORT_MEMORY_LIMIT_DEFAULT = 64;
+	public static final String USE_INDEX_YES = "YES"; //$NON-NLS-1$
+	public static final String USE_INDEX_NO = "NO"; //$NON-NLS-1$
 
 	public static final int MaxConnections = 0;
 	public static final int MaxStatements = 0;
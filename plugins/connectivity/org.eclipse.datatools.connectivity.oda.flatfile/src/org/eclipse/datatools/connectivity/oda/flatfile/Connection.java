@@ -41,6 +41,9 @@ public class Connection implements IConnection
 	private boolean hasColumnNames;
 	private boolean hasTypeLine;
 	private boolean trailNullColumns;
+	private String readerMode;
+	private int sortMemoryLimit;
+	private boolean useIndex;
 	private String homeFolder;
 	private String fileURI;
 	private Object ri; // ResourceIdentifiers
@@ -67,6 +70,12 @@ public class Connection implements IConnection
 
 		populateCharSet( connProperties );
 
+		populateReaderMode( connProperties );
+
+		populateSortMemoryLimit( connProperties );
+
+		populateUseIndex( connProperties );
+
 	}
 
 	/**
@@ -183,6 +192,66 @@ public class Connection implements IConnection
 		this.trailNullColumns = trailNullCols;
 	}
 
+	/**
+	 * 
+	 * @param connProperties
+	 */
+	private void populateReaderMode( Properties connProperties )
+	{
+		String readerModeProp = connProperties.getProperty( CommonConstants.CONN_READER_MODE_PROP );
+		if ( readerModeProp != null )
+			readerModeProp = readerModeProp.trim( );
+		if ( CommonConstants.READER_MODE_STREAMING.equalsIgnoreCase( readerModeProp ) )
+			readerMode = CommonConstants.READER_MODE_STREAMING;
+		else if ( CommonConstants.READER_MODE_PARALLEL.equalsIgnoreCase( readerModeProp ) )
+			readerMode = CommonConstants.READER_MODE_PARALLEL;
+		else
+			readerMode = CommonConstants.READER_MODE_DEFAULT;
+
+		connProperties.setProperty( CommonConstants.CONN_READER_MODE_PROP,
+				readerMode );
+	}
+
+	/**
+	 * 
+	 * @param connProperties
+	 */
+	private void populateSortMemoryLimit( Properties connProperties )
+	{
+		String sortMemoryLimitProp = connProperties.getProperty( CommonConstants.CONN_SORT_MEMORY_LIMIT_PROP );
+		sortMemoryLimit = CommonConstants.SORT_MEMORY_LIMIT_DEFAULT;
+		if ( sortMemoryLimitProp != null )
+		{
+			try
+			{
+				int limit = Integer.parseInt( sortMemoryLimitProp.trim( ) );
+				if ( limit > 0 )
+					sortMemoryLimit = limit;
+			}
+			catch ( NumberFormatException e )
+			{
+			}
+		}
+
+		connProperties.setProperty( CommonConstants.CONN_SORT_MEMORY_LIMIT_PROP,
+				String.valueOf( sortMemoryLimit ) );
+	}
+
+	/**
+	 * 
+	 * @param connProperties
+	 */
+	private void populateUseIndex( Properties connProperties )
+	{
+		String useIndexProp = connProperties.getProperty( CommonConstants.CONN_USE_INDEX_PROP );
+		useIndex = useIndexProp != null
+				&& CommonConstants.USE_INDEX_YES.equalsIgnoreCase( useIndexProp.trim( ) );
+
+		connProperties.setProperty( CommonConstants.CONN_USE_INDEX_PROP,
+				useIndex ? CommonConstants.USE_INDEX_YES
+						: CommonConstants.USE_INDEX_NO );
+	}
+
 	/*
 	 * @see
 	 * org.eclipse.datatools.connectivity.oda.IConnection#setAppContext(java
@@ -295,6 +364,32 @@ public class Connection implements IConnection
 		return this.trailNullColumns;
 	}
 
+	public String getReaderMode( )
+	{
+		return this.readerMode;
+	}
+
+	/**
+	 * Returns the memory, in megabytes, a sorted query may use before
+	 * spilling sorted runs to temporary files.
+	 * 
+	 * @return
+	 */
+	public int getSortMemoryLimit( )
+	{
+		return this.sortMemoryLimit;
+	}
+
+	/**
+	 * Whether filtered queries build and use a sidecar index of the file.
+	 * 
+	 * @return
+	 */
+	public boolean useIndex( )
+	{
+		return this.useIndex;
+	}
+
 	public String getHomeFolder( )
 	{
 		return this.homeFolder;
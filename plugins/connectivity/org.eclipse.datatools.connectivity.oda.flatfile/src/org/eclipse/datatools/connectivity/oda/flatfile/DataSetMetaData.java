@@ -143,7 +143,7 @@ public class DataSetMetaData implements IDataSetMetaData
 	 */
 	public int getSortMode( )
 	{
-		return sortModeNone;
+		return sortModeColumnOrder;
 	}
 
 }
@@ -34,8 +34,13 @@ import org.eclipse.datatools.connectivity.oda.OdaException;
 import org.eclipse.datatools.connectivity.oda.SortSpec;
 import org.eclipse.datatools.connectivity.oda.flatfile.i18n.Messages;
 import org.eclipse.datatools.connectivity.oda.flatfile.util.FlatFileDataReader;
+import org.eclipse.datatools.connectivity.oda.flatfile.util.FlatFileExternalSorter;
+import org.eclipse.datatools.connectivity.oda.flatfile.util.FlatFileRowFilter;
 import org.eclipse.datatools.connectivity.oda.flatfile.util.querytextutil.QueryTextUtil;
 import org.eclipse.datatools.connectivity.oda.spec.QuerySpecification;
+import org.eclipse.datatools.connectivity.oda.spec.result.FilterExpression;
+import org.eclipse.datatools.connectivity.oda.spec.result.ResultSetSpecification;
+import org.eclipse.datatools.connectivity.oda.spec.result.SortSpecification;
 
 /**
  * Flat file data provider's implementation of the ODA IQuery interface. It
@@ -69,6 +74,13 @@ public class FlatFileQuery implements IQuery
 	
 	private ResultSetMetaDataHelper resultSetMetaDataHelper = null;
 
+	// The specification of the query, of which the filter and the sort
+	// specification are supported
+	private QuerySpecification querySpec = null;
+
+	// The sort keys set by setSortSpec
+	private SortSpec sortSpec = null;
+
 	/**
 	 * Constructor
 	 * 
@@ -148,6 +160,8 @@ public class FlatFileQuery implements IQuery
 		maxRows = 0;
 		connection = null;
 		resultSetMetaData = null;
+		querySpec = null;
+		sortSpec = null;
 	}
 
 	/*
@@ -179,12 +193,37 @@ public class FlatFileQuery implements IQuery
 	 */
 	public IResultSet executeQuery( ) throws OdaException
 	{
-		return new ResultSet( new FlatFileDataReader( this.connection,
+		FlatFileDataReader reader = new FlatFileDataReader( this.connection,
 				this.currentTableName,
 				this.maxRows,
 				this.resultSetMetaData,
-				this.resultSetMetaDataHelper ),
-				this.resultSetMetaData );
+				this.resultSetMetaDataHelper );
+		FilterExpression filter = getFilterExpression( );
+		if ( filter != null )
+			reader.setRowFilter( FlatFileRowFilter.create( filter,
+					this.resultSetMetaData ) );
+		reader.setSorter( createSorter( ) );
+		return new ResultSet( reader, this.resultSetMetaData );
+	}
+
+	/**
+	 * Create the sorter for the sort specification of the query
+	 * specification, or else for the sort spec of the query.
+	 * 
+	 * @return the sorter, or null if the rows are not sorted
+	 * @throws OdaException
+	 */
+	private FlatFileExternalSorter createSorter( ) throws OdaException
+	{
+		long memoryLimit = this.connection.getSortMemoryLimit( ) * 1024L * 1024L;
+		SortSpecification sortSpecification = getSortSpecification( );
+		if ( sortSpecification != null )
+			return FlatFileExternalSorter.create( sortSpecification,
+					this.resultSetMetaData,
+					memoryLimit );
+		return FlatFileExternalSorter.create( this.sortSpec,
+				this.resultSetMetaData,
+				memoryLimit );
 	}
 	
 	/* (non-Javadoc)
@@ -405,7 +444,7 @@ public class FlatFileQuery implements IQuery
 	 */
 	public void setSortSpec( SortSpec sortBy ) throws OdaException
 	{
-		throw new UnsupportedOperationException( );
+		this.sortSpec = sortBy;
 	}
 
 	/*
@@ -413,7 +452,7 @@ public class FlatFileQuery implements IQuery
 	 */
 	public SortSpec getSortSpec( ) throws OdaException
 	{
-		throw new UnsupportedOperationException( );
+		return this.sortSpec;
 	}
 
     /* (non-Javadoc)
@@ -422,7 +461,19 @@ public class FlatFileQuery implements IQuery
     public void setSpecification( QuerySpecification querySpec )
             throws OdaException, UnsupportedOperationException
     {
-        throw new UnsupportedOperationException( );
+        if ( querySpec != null )
+        {
+            ResultSetSpecification resultSpec = querySpec.getResultSetSpecification( );
+            if ( resultSpec != null )
+            {
+                if ( resultSpec.getResultProjection( ) != null
+                        && !resultSpec.getResultProjection( ).isEmpty( ) )
+                    throw new OdaException( Messages.getString( "query_UNSUPPORTED_SPECIFICATION" ) ); //$NON-NLS-1$
+                if ( resultSpec.getFilterSpecification( ) != null )
+                    FlatFileRowFilter.validate( resultSpec.getFilterSpecification( ) );
+            }
+        }
+        this.querySpec = querySpec;
     }
 
     /* (non-Javadoc)
@@ -430,7 +481,35 @@ public class FlatFileQuery implements IQuery
      */
     public QuerySpecification getSpecification()
     {
-        return null;
+        return this.querySpec;
+    }
+
+    /**
+     * Returns the filter expression of the query specification, if any.
+     * 
+     * @return
+     */
+    private FilterExpression getFilterExpression( )
+    {
+        if ( this.querySpec == null
+                || this.querySpec.getResultSetSpecification( ) == null )
+            return null;
+        return this.querySpec.getResultSetSpecification( )
+                .getFilterSpecification( );
+    }
+
+    /**
+     * Returns the sort specification of the query specification, if any.
+     * 
+     * @return
+     */
+    private SortSpecification getSortSpecification( )
+    {
+        if ( this.querySpec == null
+                || this.querySpec.getResultSetSpecification( ) == null )
+            return null;
+        return this.querySpec.getResultSetSpecification( )
+                .getSortSpecification( );
     }
 
     /* (non-Javadoc)
@@ -1022,14 +1101,23 @@ public class FlatFileQuery implements IQuery
 		
 		public FlatFileBufferedReader( InputStream in, String encoding, char seperator ) throws IOException
 		{
-			initReader( in, encoding );
+			this.reader = createReader( in, encoding );
 			this.separator = seperator;
 			endIndex = -1;
 			currentIndex = -1;
 			charBuffer = new char[CHARBUFFSIZE];
 		}
 
-		private void initReader( InputStream in, String encoding ) throws IOException
+		/**
+		 * Creates a buffered reader on the given input stream, skipping the
+		 * byte order mark if the stream is UTF-8 encoded.
+		 * 
+		 * @param in
+		 * @param encoding
+		 * @return
+		 * @throws IOException
+		 */
+		public static Reader createReader( InputStream in, String encoding ) throws IOException
 		{
 			if ( "UTF-8".equals( encoding ) ) //$NON-NLS-1$
 			{
@@ -1052,11 +1140,11 @@ public class FlatFileQuery implements IQuery
 						internalInputStream.unread( bom, 0, len );
 					}
 				}
-				reader = new BufferedReader( new InputStreamReader( internalInputStream, encoding) );
+				return new BufferedReader( new InputStreamReader( internalInputStream, encoding) );
 			} 
 			else
 			{
-				reader = new BufferedReader( new InputStreamReader( in, encoding ) );
+				return new BufferedReader( new InputStreamReader( in, encoding ) );
 			}
 		}
 		
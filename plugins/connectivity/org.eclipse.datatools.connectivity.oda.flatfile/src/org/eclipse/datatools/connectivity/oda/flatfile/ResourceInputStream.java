@@ -13,8 +13,11 @@
  */
 package org.eclipse.datatools.connectivity.oda.flatfile;
 
+import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.channels.FileChannel;
 
 
 public class ResourceInputStream extends InputStream
@@ -65,4 +68,29 @@ public class ResourceInputStream extends InputStream
 	{
 		return this.location;
 	}
+
+	/**
+	 * Returns the channel of the underlying stream if the resource is a
+	 * local file.
+	 * 
+	 * @return the file channel, or null if the resource is not a local file
+	 */
+	public FileChannel getFileChannel( )
+	{
+		if ( in instanceof FileInputStream )
+			return ( (FileInputStream) in ).getChannel( );
+		return null;
+	}
+
+	/**
+	 * Returns the local file the resource is read from.
+	 * 
+	 * @return the file, or null if the resource is not a local file
+	 */
+	public File getFile( )
+	{
+		if ( in instanceof FileInputStream )
+			return new File( location );
+		return null;
+	}
 }
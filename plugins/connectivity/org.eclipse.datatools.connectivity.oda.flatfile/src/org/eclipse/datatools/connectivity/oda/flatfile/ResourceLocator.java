@@ -220,7 +220,8 @@ public final class ResourceLocator
 				File file = new File( fileURI );
 				if ( file.exists( ) )
 				{
-					uri = file.toURI( );
+					return new ResourceInputStream( new FileInputStream( file ),
+							fileURI );
 				}
 				else
 				{
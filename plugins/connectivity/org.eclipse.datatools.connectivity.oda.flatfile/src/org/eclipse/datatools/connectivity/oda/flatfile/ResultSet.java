@@ -17,31 +17,31 @@ import java.math.BigDecimal;
 import java.sql.Date;
 import java.sql.Time;
 import java.sql.Timestamp;
-import java.text.ParseException;
-import java.util.regex.Pattern;
 
+import org.eclipse.datatools.connectivity.oda.IBatchResultSet;
 import org.eclipse.datatools.connectivity.oda.IBlob;
 import org.eclipse.datatools.connectivity.oda.IClob;
-import org.eclipse.datatools.connectivity.oda.IResultSet;
 import org.eclipse.datatools.connectivity.oda.IResultSetMetaData;
 import org.eclipse.datatools.connectivity.oda.OdaException;
+import org.eclipse.datatools.connectivity.oda.RowBatch;
 import org.eclipse.datatools.connectivity.oda.flatfile.i18n.Messages;
-import org.eclipse.datatools.connectivity.oda.flatfile.util.DateUtil;
 import org.eclipse.datatools.connectivity.oda.flatfile.util.FlatFileDataReader;
-
-import com.ibm.icu.text.NumberFormat;
-import com.ibm.icu.util.ULocale;
+import org.eclipse.datatools.connectivity.oda.flatfile.util.FlatFileRowBatch;
 
 /**
  * Flat file data provider's implementation of the ODA IResultSet interface.
  */
 
-public class ResultSet implements IResultSet
+public class ResultSet implements IBatchResultSet
 {
 
     public static final int DEFAULT_MAX_ROWS = 1000;
     private static final int CURSOR_INITIAL_VALUE = -1;
-    private String[][] sourceData = null;
+    //Max number of rows fetched each time from the reader when streaming
+    private static final int STREAMING_ROWS_PER_FETCH = 1024;
+    //the fetched rows, with the typed values of their columns
+    private FlatFileRowBatch rowBatch = null;
+    private int[] columnTypes;
     private ResultSetMetaData resultSetMetaData = null;
     private int maxRows = 0;
     private int cursor = CURSOR_INITIAL_VALUE;
@@ -53,11 +53,10 @@ public class ResultSet implements IResultSet
    
     private boolean overFlow = false;
     private boolean trailNullCols = false;
-    
-    private static ULocale JRE_DEFAULT_LOCALE = ULocale.getDefault( );
-    
-    private static Pattern pattern1 = Pattern.compile( "\\QT\\E" ); //$NON-NLS-1$
-    private static Pattern pattern2 = Pattern.compile( "\\QZ\\E" ); //$NON-NLS-1$
+    //whether rows are read one at a time from the reader instead of in blocks
+    private boolean streaming = false;
+    //whether the reader has returned its last row when streaming
+    private boolean endOfStream = false;
     
     /**
      * Constructor
@@ -71,6 +70,7 @@ public class ResultSet implements IResultSet
     	this.resultSetMetaData = rsmd;
     	this.maxRows = this.flatFileDataReader.getMaxRowsToRead( this.maxRows );
     	this.trailNullCols = this.flatFileDataReader.getTrailNullColumns( );
+    	this.streaming = this.flatFileDataReader.isStreaming( );
     }
 
     /*
@@ -87,7 +87,7 @@ public class ResultSet implements IResultSet
     public void close() throws OdaException
     {
         this.cursor = 0;
-        this.sourceData = null;
+        this.rowBatch = null;
         this.resultSetMetaData = null;
         this.flatFileDataReader.clearBufferedReader( );
     }
@@ -109,10 +109,14 @@ public class ResultSet implements IResultSet
     	{
     		return false;
     	}
+    	if ( streaming )
+    	{
+    		return nextStreamingRow( );
+    	}
     	//first time to call next
     	if ( cursor == CURSOR_INITIAL_VALUE )
 		{
-			sourceData = this.flatFileDataReader.getSourceData( );
+			setSourceData( this.flatFileDataReader.getSourceData( ) );
 		}
 
 		if ( ( this.maxRows <= 0 ? false : fetchAccumulator >= this.maxRows ) )
@@ -123,13 +127,13 @@ public class ResultSet implements IResultSet
 			return false;
 		}
 
-		if ( cursor == this.sourceData.length-1 )
+		if ( cursor == this.rowBatch.getRowCount( )-1 )
 		{
-			sourceData = this.flatFileDataReader.getSourceData( );
+			setSourceData( this.flatFileDataReader.getSourceData( ) );
 
 			cursor = CURSOR_INITIAL_VALUE;
 			
-			if ( sourceData.length == 0 )
+			if ( rowBatch.getRowCount( ) == 0 )
 			{
 				this.flatFileDataReader.clearBufferedReader( );
 				overFlow = true;
@@ -143,6 +147,86 @@ public class ResultSet implements IResultSet
 		return true;
 	}
 
+    /**
+     * Move to the next row when the rows are streamed from the reader; the
+     * rows are copied from the reader into blocks so that the values of their
+     * columns are converted once per block, as they are for blocks read from
+     * the source data.
+     * @return
+     * @throws OdaException
+     */
+    private boolean nextStreamingRow( ) throws OdaException
+    {
+    	if ( ( this.maxRows <= 0 ? false : fetchAccumulator >= this.maxRows )
+    			|| ( ( rowBatch == null || cursor == rowBatch.getRowCount( ) - 1 ) && !fetchStreamingRows( ) ) )
+    	{
+    		this.flatFileDataReader.clearBufferedReader( );
+    		cursor = CURSOR_INITIAL_VALUE;
+    		overFlow = true;
+    		return false;
+    	}
+    	fetchAccumulator++;
+    	cursor++;
+    	return true;
+    }
+
+    /**
+     * Copy the next block of rows from the reader. The characters of the
+     * values are copied into the block, their Strings are only created when
+     * they are read.
+     * @return false if there is no more row
+     * @throws OdaException
+     */
+    private boolean fetchStreamingRows( ) throws OdaException
+    {
+    	int rowCount = STREAMING_ROWS_PER_FETCH;
+    	if ( this.maxRows > 0 )
+    		rowCount = Math.min( rowCount, this.maxRows - fetchAccumulator );
+    	FlatFileRowBatch batch = new FlatFileRowBatch( getColumnTypes( ),
+    			trailNullCols,
+    			rowCount );
+    	while ( batch.getRowCount( ) < rowCount && !endOfStream )
+    	{
+    		if ( !this.flatFileDataReader.nextRow( ) )
+    		{
+    			endOfStream = true;
+    			break;
+    		}
+    		this.flatFileDataReader.addRowTo( batch );
+    	}
+    	if ( batch.getRowCount( ) == 0 )
+    		return false;
+    	this.rowBatch = batch;
+    	cursor = CURSOR_INITIAL_VALUE;
+    	return true;
+    }
+
+    /**
+     * Set the block of rows the cursor moves through.
+     * @param data
+     * @throws OdaException
+     */
+    private void setSourceData( String[][] data ) throws OdaException
+    {
+    	this.rowBatch = new FlatFileRowBatch( data, getColumnTypes( ), trailNullCols );
+    }
+
+    /**
+     * Returns the java.sql.Types codes of the columns.
+     * @return
+     * @throws OdaException
+     */
+    private int[] getColumnTypes( ) throws OdaException
+    {
+    	if ( columnTypes == null )
+    	{
+    		columnTypes = new int[this.resultSetMetaData.getColumnCount( )];
+    		for ( int i = 0; i < columnTypes.length; i++ )
+    			columnTypes[i] = this.resultSetMetaData.getColumnType( i + 1 );
+    	}
+    	return columnTypes;
+    }
+
     /*
 	 * @see org.eclipse.datatools.connectivity.oda.IResultSet#getRow()
 	 */
@@ -158,9 +242,7 @@ public class ResultSet implements IResultSet
     public String getString( int index ) throws OdaException
     {
         validateCursorState();
-        String result = sourceData[cursor][index - 1];
-		if ( ( trailNullCols && result == null ) || result.length( ) == 0 )
-            result = null;
+        String result = rowBatch.getString( cursor, index - 1 );
         this.wasNull = result == null ? true : false;
         return result;
     }
@@ -180,7 +262,9 @@ public class ResultSet implements IResultSet
      */
     public int getInt( int index ) throws OdaException
     {
-        return stringToInt( getString( index ) );
+        validateCursorState();
+        this.wasNull = rowBatch.isNull( cursor, index - 1 );
+        return rowBatch.getInt( cursor, index - 1 );
     }
 
     /*
@@ -188,7 +272,8 @@ public class ResultSet implements IResultSet
      */
     public int getInt( String columnName ) throws OdaException
     {
-        return stringToInt( getString( columnName ) );
+        validateCursorState();
+        return getInt( findColumn( columnName ) );
     }
 
     /*
@@ -196,7 +281,9 @@ public class ResultSet implements IResultSet
      */
     public double getDouble( int index ) throws OdaException
     {
-        return stringToDouble( getString( index ) );
+        validateCursorState();
+        this.wasNull = rowBatch.isNull( cursor, index - 1 );
+        return rowBatch.getDouble( cursor, index - 1 );
     }
 
     /*
@@ -204,7 +291,8 @@ public class ResultSet implements IResultSet
      */
     public double getDouble( String columnName ) throws OdaException
     {
-        return stringToDouble( getString( columnName ) );
+        validateCursorState();
+        return getDouble( findColumn( columnName ) );
     }
 
     /*   
@@ -212,7 +300,9 @@ public class ResultSet implements IResultSet
      */
     public BigDecimal getBigDecimal( int index ) throws OdaException
     {
-        return stringToBigDecimal( getString( index ) );
+        validateCursorState();
+        this.wasNull = rowBatch.isNull( cursor, index - 1 );
+        return rowBatch.getBigDecimal( cursor, index - 1 );
     }
 
     /*
@@ -220,7 +310,8 @@ public class ResultSet implements IResultSet
      */
     public BigDecimal getBigDecimal( String columnName ) throws OdaException
     {
-        return stringToBigDecimal( getString( columnName ) );
+        validateCursorState();
+        return getBigDecimal( findColumn( columnName ) );
     }
 
     /*
@@ -228,7 +319,9 @@ public class ResultSet implements IResultSet
      */
     public Date getDate( int index ) throws OdaException
     {
-        return stringToDate( getString( index ) );
+        validateCursorState();
+        this.wasNull = rowBatch.isNull( cursor, index - 1 );
+        return rowBatch.getDate( cursor, index - 1 );
     }
 
     /*
@@ -236,7 +329,8 @@ public class ResultSet implements IResultSet
      */
     public Date getDate( String columnName ) throws OdaException
     {
-        return stringToDate( getString( columnName ) );
+        validateCursorState();
+        return getDate( findColumn( columnName ) );
     }
 
     /*
@@ -244,7 +338,9 @@ public class ResultSet implements IResultSet
      */
     public Time getTime( int index ) throws OdaException
     {
-        return stringToTime( getString( index ) );
+        validateCursorState();
+        this.wasNull = rowBatch.isNull( cursor, index - 1 );
+        return rowBatch.getTime( cursor, index - 1 );
     }
 
     /*
@@ -252,7 +348,8 @@ public class ResultSet implements IResultSet
      */
     public Time getTime( String columnName ) throws OdaException
     {
-        return stringToTime( getString( columnName ) );
+        validateCursorState();
+        return getTime( findColumn( columnName ) );
     }
 
     /*
@@ -260,7 +357,9 @@ public class ResultSet implements IResultSet
      */
     public Timestamp getTimestamp( int index ) throws OdaException
     {
-        return stringToTimestamp( getString( index ) );
+        validateCursorState();
+        this.wasNull = rowBatch.isNull( cursor, index - 1 );
+        return rowBatch.getTimestamp( cursor, index - 1 );
     }
 
     /*
@@ -268,7 +367,8 @@ public class ResultSet implements IResultSet
      */
     public Timestamp getTimestamp( String columnName ) throws OdaException
     {
-        return stringToTimestamp( getString( columnName ) );
+        validateCursorState();
+        return getTimestamp( findColumn( columnName ) );
     }
 
     /*
@@ -308,7 +408,9 @@ public class ResultSet implements IResultSet
      */
     public boolean getBoolean( int index ) throws OdaException
     {
-         return stringToBoolean( getString( index ) ).booleanValue( );
+        validateCursorState();
+        this.wasNull = rowBatch.isNull( cursor, index - 1 );
+        return rowBatch.getBoolean( cursor, index - 1 );
     }
 
     /* (non-Javadoc)
@@ -316,7 +418,8 @@ public class ResultSet implements IResultSet
      */
     public boolean getBoolean( String columnName ) throws OdaException
     {
-    	return stringToBoolean( getString( columnName ) ).booleanValue( );
+        validateCursorState();
+        return getBoolean( findColumn( columnName ) );
     }
 
     /* (non-Javadoc)
@@ -335,6 +438,30 @@ public class ResultSet implements IResultSet
         throw new UnsupportedOperationException();
     }
 
+    /*
+     * @see org.eclipse.datatools.connectivity.oda.IBatchResultSet#fetchRows(org.eclipse.datatools.connectivity.oda.RowBatch)
+     */
+    public int fetchRows( RowBatch batch ) throws OdaException
+    {
+        // next() moves to each block in turn; the rows of a block are then
+        // copied at once, the primitive values from its typed vectors
+        int rowCount = 0;
+        while ( rowCount < batch.getCapacity( ) && next( ) )
+        {
+            int count = Math.min( batch.getCapacity( ) - rowCount,
+                    rowBatch.getRowCount( ) - cursor );
+            if ( this.maxRows > 0 )
+                count = Math.min( count, this.maxRows - fetchAccumulator + 1 );
+            rowBatch.copyTo( cursor, batch, rowCount, count );
+            // left on the last row copied, as the getters would be
+            cursor += count - 1;
+            fetchAccumulator += count - 1;
+            rowCount += count;
+        }
+        batch.setRowCount( rowCount );
+        return rowCount;
+    }
+
     /*
      * @see org.eclipse.datatools.connectivity.oda.IResultSet#wasNull()
      */
@@ -361,240 +488,4 @@ public class ResultSet implements IResultSet
             throw new OdaException( Messages
                     .getString( "resultSet_CURSOR_HAS_NOT_BEEN_INITIALIZED" ) ); //$NON-NLS-1$
     }
-
-    /**
-     * Transform a String value to an int value
-     * @param stringValue String value
-     * @return Corresponding int value
-     * @throws ParseException 
-     * @throws OdaException 
-     */
-    private int stringToInt( String stringValue ) throws  OdaException
-    {
-    	if( stringValue != null )
-        {
-            try
-            {
-                return Integer.valueOf( stringValue ).intValue();
-            }
-            catch( NumberFormatException e )
-            {
-				try
-				{
-					Number number = NumberFormat.getInstance( JRE_DEFAULT_LOCALE ).parse( stringValue );
-					if ( number != null )
-					{
-						return number.intValue( );
-					}
-				}
-				catch ( ParseException e1 )
-				{
-					throw new OdaException( "Can not convert "+"\""+stringValue+"\""+" to Integer" );
-				}
-            }
-        }
-    	this.wasNull = true;
-        return 0;
-    }
-
-    /**
-     * Transform a String value to a double value
-     * @param stringValue String value
-     * @return Corresponding double value
-     * @throws OdaException 
-     */
-    private double stringToDouble( String stringValue ) throws OdaException
-    {
-    	if( stringValue != null )
-        {
-            try
-            {
-                return Double.valueOf( stringValue ).doubleValue();
-            }
-            catch( NumberFormatException e )
-            {
-				try
-				{
-					Number number = NumberFormat.getInstance( JRE_DEFAULT_LOCALE ).parse( stringValue );
-					if ( number != null )
-					{
-						return number.doubleValue( );
-					}
-				}
-				catch ( ParseException e1 )
-				{
-					throw new OdaException( "Can not convert "+"\""+stringValue+"\""+" to a double value" );
-				}
-            }
-        }
-    	this.wasNull = true;
-        return 0;
-    }
-
-    /**
-     * Transform a String value to a big decimal value
-     * @param stringValue String value
-     * @return Corresponding BigDecimal value
-     * @throws OdaException 
-     */
-    private BigDecimal stringToBigDecimal( String stringValue ) throws OdaException
-    {
-    	if( stringValue != null )
-        {
-            try
-            {
-                return new BigDecimal( stringValue );
-            }
-            catch( NumberFormatException e )
-            {
-				try
-				{
-					Number number = NumberFormat.getInstance( JRE_DEFAULT_LOCALE ).parse( stringValue );
-					if ( number != null )
-					{
-						return new BigDecimal( number.toString( ) );
-					}
-				}
-				catch ( ParseException e1 )
-				{
-					throw new OdaException( "Can not convert "+"\""+stringValue+"\""+" to a BigDecimal value" );
-				}
-            }
-        }
-    	this.wasNull = true;
-        return null;
-    }
-
-    /**
-     * Transform a String value to a date value
-     * @param stringValue String value
-     * @return Corresponding date value
-     * @throws OdaException 
-     */
-
-    private Date stringToDate( String stringValue ) throws OdaException
-    {
-    	if ( stringValue != null )
-		{
-			try
-			{
-				return DateUtil.toSqlDate( stringValue );
-			}
-			catch ( OdaException oe )
-			{
-				throw new OdaException( "Can not convert "+"\""+stringValue+"\""+" to a date value" );
-			}
-		}
-		
-		this.wasNull = true;
-        return null;
-    }
-
-    /**
-     * Transform a String value to a Time value
-     * @param stringValue String value
-     * @return Corresponding Time value
-     * @throws OdaException 
-     */
-    private Time stringToTime( String stringValue ) throws OdaException
-    {
-    	if ( stringValue != null )
-		{
-			try
-			{
-				return DateUtil.toSqlTime( stringValue );
-			}
-			catch ( OdaException oe )
-			{
-				throw new OdaException( "Can not convert "+"\""+stringValue+"\""+" to a Time value" );
-			}
-		}
-		this.wasNull = true;
-		return null;
-    }
-
-    /**
-     * Transform a String value to a Timestamp value
-     * @param stringValue String value
-     * @return Corresponding Timestamp value
-     * @throws OdaException 
-     */
-    private Timestamp stringToTimestamp( String stringValue ) throws OdaException
-    {
-    	if( stringValue != null )
-        {
-            try
-            {
-            	String value = pattern1.matcher( stringValue).replaceAll(" "); //$NON-NLS-1$
-            	value = pattern2.split( value )[0];
-            	return Timestamp.valueOf( value );
-			}
-			catch ( IllegalArgumentException e )
-			{
-				try
-				{
-					long timeMills = Long.valueOf( stringValue ).longValue( );
-					return new Timestamp( timeMills );
-				}
-				catch ( NumberFormatException e1 )
-				{
-					try
-					{
-						java.util.Date date = DateUtil.toDate( stringValue );
-						Timestamp timeStamp = new Timestamp( date.getTime( ) );
-						return timeStamp;
-					}
-					catch ( OdaException ex )
-					{
-						throw new OdaException( "Can not convert string "+"\""+stringValue+"\""+" to a Timestamp value" );
-					}
-				}
-			}
-		}
-    	this.wasNull = true;
-        return null;
-    }
-    
-    /**
-	 * Transform a string to boolean value
-	 * @param stringValue
-	 * @return
-     * @throws OdaException 
-	 */
-	private Boolean stringToBoolean( String stringValue ) throws OdaException
-	{
-		if ( stringValue != null )
-		{
-			if ( stringValue.equalsIgnoreCase( "true" ) ) //$NON-NLS-1$
-				return Boolean.TRUE;
-			else if ( stringValue.equalsIgnoreCase( "false" ) ) //$NON-NLS-1$
-				return Boolean.FALSE;
-			else
-			{
-				try
-				{
-					if ( Integer.parseInt( (String) stringValue ) == 0 )
-						return Boolean.FALSE;
-					else
-						return Boolean.TRUE;
-				}
-				catch ( NumberFormatException e )
-				{
-					try
-					{
-						Number number = NumberFormat.getInstance( JRE_DEFAULT_LOCALE ).parse( stringValue );
-						if ( number != null )
-						{
-							return number.intValue( ) == 0 ? Boolean.FALSE : Boolean.TRUE;
-						}
-					}
-					catch ( ParseException e1 )
-					{
-						throw new OdaException( "Can not convert "+"\""+stringValue+"\""+" to boolean value" );						
-					}
-				}
-			}
-		}
-		return Boolean.FALSE;
-	}
 }
\ No newline at end of file
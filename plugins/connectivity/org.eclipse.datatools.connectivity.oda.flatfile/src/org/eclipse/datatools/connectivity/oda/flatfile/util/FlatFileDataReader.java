@@ -12,8 +12,11 @@
 
 package org.eclipse.datatools.connectivity.oda.flatfile.util;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -37,6 +40,20 @@ public class FlatFileDataReader
 	private String currentTableName;
 	private String charSet;
 	private FlatFileBufferedReader flatFileBufferedReader=null;
+	private FlatFileRecordTokenizer recordTokenizer = null;
+	private FlatFileParallelScanner parallelScanner = null;
+	// the filter of the query specification; null if all rows are returned
+	private FlatFileRowFilter rowFilter = null;
+	// the sorter of the query's sort keys; null if the rows are not sorted
+	private FlatFileExternalSorter sorter = null;
+	// the sidecar index of the file, used to skip the blocks of rows that
+	// cannot satisfy the filter; null if the rows are read sequentially
+	private FlatFileIndex index = null;
+	private int indexBlock = -1;
+	private int rowsLeftInBlock = 0;
+	// whether the current record of the tokenizer has been examined but not
+	// yet returned by nextRow()
+	private boolean hasPendingRecord = false;
 	private IResultSetMetaData rsmd;
 	private ResultSetMetaDataHelper rsmdHelper;
 	private int statementMaxRows = 0;
@@ -110,6 +127,483 @@ public class FlatFileDataReader
 		return copyDataFromListToTwoDimensionArray( v );
 	}
 	
+	/**
+	 * Set the filter the rows have to satisfy to be returned. It is evaluated
+	 * as the rows are read, before their values are copied.
+	 * 
+	 * @param rowFilter
+	 *            the filter, or null to return all the rows
+	 */
+	public void setRowFilter( FlatFileRowFilter rowFilter )
+	{
+		this.rowFilter = rowFilter;
+	}
+
+	/**
+	 * Set the sorter the rows are returned through. All the rows that satisfy
+	 * the filter are added to the sorter on the first call to
+	 * {@link #nextRow()}, and are then returned in sorted order.
+	 * 
+	 * @param sorter
+	 *            the sorter, or null to return the rows in file order
+	 */
+	public void setSorter( FlatFileExternalSorter sorter )
+	{
+		this.sorter = sorter;
+	}
+
+	/**
+	 * Whether the rows are read one at a time through {@link #nextRow()}
+	 * instead of in blocks through {@link #getSourceData()}. Sorted rows, and
+	 * filtered rows read with the help of an index, are always read one at a
+	 * time.
+	 * 
+	 * @return
+	 */
+	public boolean isStreaming( )
+	{
+		return sorter != null
+				|| isIndexed( )
+				|| CommonConstants.READER_MODE_STREAMING.equals( conn.getReaderMode( ) )
+				|| CommonConstants.READER_MODE_PARALLEL.equals( conn.getReaderMode( ) );
+	}
+
+	/**
+	 * Move to the next non-empty row of the source data. The values of the
+	 * row are available through {@link #getRowValue(int)} until the next call.
+	 * 
+	 * @return false if there is no more row
+	 * @throws OdaException
+	 */
+	public boolean nextRow( ) throws OdaException
+	{
+		if ( isFirstTimeToReadSourceData )
+		{
+			if ( CommonConstants.READER_MODE_PARALLEL.equals( conn.getReaderMode( ) )
+					&& !isIndexed( ) && createParallelScanner( ) )
+			{
+				readParallelHeaderRecords( );
+			}
+			else
+			{
+				createRecordTokenizer( );
+				readHeaderRecords( );
+				if ( isIndexed( ) )
+					openIndex( );
+			}
+			isFirstTimeToReadSourceData = false;
+			if ( sorter != null )
+				sortSourceRows( );
+		}
+
+		if ( this.maxRowsToRead > 0 && this.fetchCounter >= this.maxRowsToRead )
+			return false;
+
+		if ( sorter != null ? !sorter.next( ) : !nextSourceRow( ) )
+			return false;
+		fetchCounter++;
+		return true;
+	}
+
+	/**
+	 * Move to the next row of the source data that satisfies the filter.
+	 * 
+	 * @return false if there is no more row
+	 * @throws OdaException
+	 */
+	private boolean nextSourceRow( ) throws OdaException
+	{
+		do
+		{
+			if ( parallelScanner != null )
+			{
+				if ( !parallelScanner.next( ) )
+					return false;
+			}
+			else if ( index != null )
+			{
+				if ( !nextIndexedRecord( ) )
+					return false;
+			}
+			else if ( hasPendingRecord )
+				hasPendingRecord = false;
+			else if ( !nextNonEmptyRecord( ) )
+				return false;
+		} while ( rowFilter != null && !rowFilter.accept( currentRowValues ) );
+
+		if ( parallelScanner == null )
+			validateRecord( );
+		return true;
+	}
+
+	/**
+	 * Add all the source rows that satisfy the filter to the sorter, then
+	 * sort them. The source is closed once it has been read.
+	 * 
+	 * @throws OdaException
+	 */
+	private void sortSourceRows( ) throws OdaException
+	{
+		int columnCount = rsmd.getColumnCount( );
+		while ( nextSourceRow( ) )
+		{
+			String[] row = new String[columnCount];
+			for ( int i = 0; i < columnCount; i++ )
+				row[i] = getSourceValue( i );
+			sorter.add( row );
+		}
+		closeSourceReaders( );
+		sorter.finish( );
+	}
+
+	/**
+	 * Returns the value of a selected column in the current row.
+	 * 
+	 * @param index
+	 *            the 0-based index of the column in the result set
+	 * @return the trimmed value, or null if the row has no such column
+	 */
+	public String getRowValue( int index )
+	{
+		if ( sorter != null )
+			return sorter.getRow( )[index];
+		return getSourceValue( index );
+	}
+
+	/**
+	 * Add the selected columns of the current row to a block of rows. The
+	 * values of a row read by the record tokenizer are copied as characters,
+	 * without creating a String for each of them.
+	 *
+	 * @param batch
+	 *            a batch created to hold the characters of its values
+	 */
+	public void addRowTo( FlatFileRowBatch batch )
+	{
+		if ( sorter != null )
+			batch.addRow( sorter.getRow( ) );
+		else if ( parallelScanner != null )
+			batch.addRow( parallelScanner.getRow( ) );
+		else
+			batch.addRow( recordTokenizer, selectColumIndexes );
+	}
+
+	/**
+	 * Returns the value of a selected column in the current source row.
+	 * 
+	 * @param index
+	 *            the 0-based index of the column in the result set
+	 * @return the trimmed value, or null if the row has no such column
+	 */
+	private String getSourceValue( int index )
+	{
+		if ( parallelScanner != null )
+			return parallelScanner.getRow( )[index];
+		int location = selectColumIndexes[index];
+		if ( location == -1 || location >= recordTokenizer.getColumnCount( ) )
+			return null;
+		return recordTokenizer.getColumnValue( location );
+	}
+
+	// the values of the current row, for the row filter
+	private FlatFileRowFilter.RowValues currentRowValues = new FlatFileRowFilter.RowValues( ) {
+
+		public String getValue( int index )
+		{
+			return getSourceValue( index );
+		}
+	};
+
+	/**
+	 * Skip the column name and type lines and initialize the mapping from
+	 * result set columns to columns in the file.
+	 * 
+	 * @throws OdaException
+	 */
+	private void readHeaderRecords( ) throws OdaException
+	{
+		if ( conn.hasColumnNames( ) )
+		{
+			if ( !nextNonEmptyRecord( ) )
+				throw new OdaException( Messages.getString( "query_INVALID_FLAT_FILE" ) ); //$NON-NLS-1$
+			this.originalColumnNames = recordTokenizer.getColumnValues( );
+			initNameIndexMap( );
+		}
+
+		if ( conn.hasTypeLine( ) )
+		{
+			if ( !nextNonEmptyRecord( ) )
+				throw new OdaException( Messages.getString( "query_INVALID_FLAT_FILE" ) ); //$NON-NLS-1$
+		}
+
+		if ( !conn.hasColumnNames( ) )
+		{
+			if ( !nextNonEmptyRecord( ) )
+				throw new OdaException( Messages.getString( "query_INVALID_FLAT_FILE" ) ); //$NON-NLS-1$
+			this.originalColumnNames = createTempColumnNames( recordTokenizer.getColumnCount( ) );
+			initNameIndexMap( );
+			hasPendingRecord = true;
+		}
+	}
+
+	/**
+	 * Skip the column name and type lines with the parallel scanner, then
+	 * start scanning the data rows.
+	 * 
+	 * @throws OdaException
+	 */
+	private void readParallelHeaderRecords( ) throws OdaException
+	{
+		if ( conn.hasColumnNames( ) )
+		{
+			this.originalColumnNames = parallelScanner.nextHeaderRecord( );
+			if ( this.originalColumnNames == null )
+				throw new OdaException( Messages.getString( "query_INVALID_FLAT_FILE" ) ); //$NON-NLS-1$
+			initNameIndexMap( );
+		}
+
+		if ( conn.hasTypeLine( ) )
+		{
+			if ( parallelScanner.nextHeaderRecord( ) == null )
+				throw new OdaException( Messages.getString( "query_INVALID_FLAT_FILE" ) ); //$NON-NLS-1$
+		}
+
+		if ( !conn.hasColumnNames( ) )
+		{
+			String[] firstRecord = parallelScanner.peekHeaderRecord( );
+			if ( firstRecord == null )
+				throw new OdaException( Messages.getString( "query_INVALID_FLAT_FILE" ) ); //$NON-NLS-1$
+			this.originalColumnNames = createTempColumnNames( firstRecord.length );
+			initNameIndexMap( );
+		}
+
+		parallelScanner.start( selectColumIndexes, conn.trailNullColumns( ) );
+	}
+
+	/**
+	 * 
+	 * @return false if the end of the source data is reached
+	 * @throws OdaException
+	 */
+	private boolean nextNonEmptyRecord( ) throws OdaException
+	{
+		while ( recordTokenizer.nextRecord( ) )
+		{
+			if ( !recordTokenizer.isEmptyRecord( ) )
+				return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Whether the filtered rows are read with the help of the sidecar index.
+	 * 
+	 * @return
+	 */
+	private boolean isIndexed( )
+	{
+		return conn.useIndex( ) && rowFilter != null;
+	}
+
+	/**
+	 * Open the sidecar index of the file, building it if it is missing or
+	 * out of date. The index is not used if the source is not a local file in
+	 * a charset that can be split at record boundaries.
+	 * 
+	 * @throws OdaException
+	 */
+	private void openIndex( ) throws OdaException
+	{
+		Charset charset = getSplittableCharset( );
+		if ( charset == null )
+			return;
+		ResourceInputStream in = getInputStream( );
+		try
+		{
+			File file = in.getFile( );
+			FileChannel channel = in.getFileChannel( );
+			if ( file != null && channel != null )
+				this.index = FlatFileIndex.open( file,
+						channel,
+						charset,
+						conn.getDelimeter( ),
+						conn.hasColumnNames( ),
+						conn.hasTypeLine( ) );
+		}
+		finally
+		{
+			try
+			{
+				in.close( );
+			}
+			catch ( IOException e )
+			{
+			}
+		}
+	}
+
+	/**
+	 * Move to the next non-empty record of a block that may hold rows
+	 * satisfying the filter, seeking past the blocks that cannot.
+	 * 
+	 * @return false if the end of the source data is reached
+	 * @throws OdaException
+	 */
+	private boolean nextIndexedRecord( ) throws OdaException
+	{
+		while ( rowsLeftInBlock == 0 )
+		{
+			int block = indexBlock + 1;
+			while ( block < index.getBlockCount( )
+					&& !rowFilter.mayAccept( index.getBlockStatistics( block,
+							selectColumIndexes ) ) )
+				block++;
+			if ( block >= index.getBlockCount( ) )
+				return false;
+			// the first data record may have been read with the header
+			if ( block != indexBlock + 1 || hasPendingRecord )
+				seek( index.getBlockOffset( block ) );
+			indexBlock = block;
+			rowsLeftInBlock = index.getBlockRowCount( block );
+		}
+		rowsLeftInBlock--;
+		return nextNonEmptyRecord( );
+	}
+
+	/**
+	 * Replace the record tokenizer by one reading from the given byte offset
+	 * of the file.
+	 * 
+	 * @param offset
+	 * @throws OdaException
+	 */
+	private void seek( long offset ) throws OdaException
+	{
+		try
+		{
+			recordTokenizer.close( );
+			ResourceInputStream in = getInputStream( );
+			long skipped = 0;
+			while ( skipped < offset )
+			{
+				long n = in.skip( offset - skipped );
+				if ( n <= 0 )
+					break;
+				skipped += n;
+			}
+			this.recordTokenizer = new FlatFileRecordTokenizer( FlatFileBufferedReader.createReader( in,
+					this.charSet ),
+					conn.getDelimeter( ) );
+			hasPendingRecord = false;
+		}
+		catch ( IOException e )
+		{
+			throw new OdaException( e.getMessage( ) );
+		}
+	}
+
+	/**
+	 * Validate that the current record has all the selected columns, unless
+	 * trailing null columns are allowed.
+	 * 
+	 * @throws OdaException
+	 */
+	private void validateRecord( ) throws OdaException
+	{
+		if ( conn.trailNullColumns( ) )
+			return;
+		for ( int i = 0; i < selectColumIndexes.length; i++ )
+		{
+			int location = selectColumIndexes[i];
+			if ( location == -1 )
+				throw new OdaException( Messages.getString( "data_read_error" ) ); //$NON-NLS-1$
+			if ( location >= recordTokenizer.getColumnCount( ) )
+				throw new OdaException( Messages.getString( "query_INVALID_FLAT_FILE" ) ); //$NON-NLS-1$
+		}
+	}
+
+	/**
+	 * 
+	 * @throws OdaException
+	 */
+	private void createRecordTokenizer( ) throws OdaException
+	{
+		try
+		{
+			if ( this.recordTokenizer == null )
+			{
+				examCharset( );
+
+				this.recordTokenizer = new FlatFileRecordTokenizer( FlatFileBufferedReader.createReader( getInputStream( ),
+						this.charSet ),
+						conn.getDelimeter( ) );
+			}
+		}
+		catch ( IOException e )
+		{
+			throw new OdaException( e.getMessage( ) );
+		}
+	}
+
+	/**
+	 * Create the parallel scanner if the source is a local file in a charset
+	 * that can be split at record boundaries.
+	 * 
+	 * @return false if the source has to be read sequentially
+	 * @throws OdaException
+	 */
+	private boolean createParallelScanner( ) throws OdaException
+	{
+		try
+		{
+			Charset charset = getSplittableCharset( );
+			if ( charset == null )
+				return false;
+
+			ResourceInputStream in = getInputStream( );
+			FileChannel channel = in.getFileChannel( );
+			if ( channel == null )
+			{
+				in.close( );
+				return false;
+			}
+			this.parallelScanner = new FlatFileParallelScanner( channel,
+					charset,
+					conn.getDelimeter( ) );
+			return true;
+		}
+		catch ( IOException e )
+		{
+			throw new OdaException( e.getMessage( ) );
+		}
+	}
+
+	/**
+	 * Returns the charset of the file if the file can be split at record
+	 * boundaries by looking for line feed and double quote bytes.
+	 * 
+	 * @return the charset, or null if the file has to be read sequentially
+	 * @throws OdaException
+	 */
+	private Charset getSplittableCharset( ) throws OdaException
+	{
+		try
+		{
+			examCharset( );
+			Charset charset = Charset.forName( this.charSet );
+			return FlatFileParallelScanner.isSupportedCharset( charset )
+					? charset : null;
+		}
+		catch ( IllegalArgumentException e )
+		{
+			return null;
+		}
+		catch ( IOException e )
+		{
+			throw new OdaException( e.getMessage( ) );
+		}
+	}
+
 	/**
 	 * Read a row from the source data
 	 * @return
@@ -167,6 +661,16 @@ public class FlatFileDataReader
 	 *
 	 */
 	public void clearBufferedReader( )
+	{
+		closeSourceReaders( );
+		if ( this.sorter != null )
+			this.sorter.close( );
+	}
+
+	/**
+	 * Close the readers of the source data.
+	 */
+	private void closeSourceReaders( )
 	{
 		try
 		{
@@ -178,6 +682,26 @@ public class FlatFileDataReader
 			
 		}
 		this.flatFileBufferedReader = null;
+		try
+		{
+			if ( this.recordTokenizer != null )
+				this.recordTokenizer.close( );
+		}
+		catch ( IOException e )
+		{
+			
+		}
+		this.recordTokenizer = null;
+		try
+		{
+			if ( this.parallelScanner != null )
+				this.parallelScanner.close( );
+		}
+		catch ( IOException e )
+		{
+			
+		}
+		this.parallelScanner = null;
 	}
 
 	/*
@@ -305,7 +829,7 @@ public class FlatFileDataReader
 				{
 					continue;
 				}
-				this.originalColumnNames = createTempColumnNames( nextDataLine );
+				this.originalColumnNames = createTempColumnNames( nextDataLine.size( ) );
 				initNameIndexMap( );
 			}
 			else
@@ -325,7 +849,8 @@ public class FlatFileDataReader
 				&& this.fetchCounter < counterLimitPerFetch
 				&& nextDataLine != null )
 		{
-			if ( !isEmptyRow( nextDataLine ) )
+			if ( !isEmptyRow( nextDataLine )
+					&& ( rowFilter == null || rowFilter.accept( new LineValues( nextDataLine ) ) ) )
 			{
 				fetchCounter++;
 				result.add( fetchQueriedDataFromRow( nextDataLine ) );
@@ -407,11 +932,11 @@ public class FlatFileDataReader
 	 * @return
 	 * @throws OdaException 
 	 */
-	private String[] createTempColumnNames( List<String> aRow ) throws OdaException
+	private String[] createTempColumnNames( int columnCount ) throws OdaException
 	{
-		String[] tempColumnNames = new String[aRow.size()];
+		String[] tempColumnNames = new String[columnCount];
 
-		for ( int i = 0; i < aRow.size(); i++ )
+		for ( int i = 0; i < columnCount; i++ )
 		{
 			tempColumnNames[i] = "COLUMN_" + ( i + 1 ); //$NON-NLS-1$
 		}
@@ -471,4 +996,27 @@ public class FlatFileDataReader
 			return index.intValue( );
 		}
 	}
+
+	/**
+	 * The values of a line read by the buffered reader, for the row filter
+	 */
+	private class LineValues implements FlatFileRowFilter.RowValues
+	{
+
+		private List<String> line;
+
+		LineValues( List<String> line )
+		{
+			this.line = line;
+		}
+
+		public String getValue( int index )
+		{
+			int location = selectColumIndexes[index];
+			if ( location == -1 || location >= line.size( ) )
+				return null;
+			String value = line.get( location );
+			return value == null ? null : value.trim( );
+		}
+	}
 }
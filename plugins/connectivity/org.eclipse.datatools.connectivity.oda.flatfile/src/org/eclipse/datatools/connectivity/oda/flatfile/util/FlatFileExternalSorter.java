@@ -0,0 +1,654 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Data Tools Platform and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * Contributors:
+ *  Eclipse Data Tools Platform - initial API and implementation
+ *
+ *******************************************************************************/
+
+package org.eclipse.datatools.connectivity.oda.flatfile.util;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+import org.eclipse.datatools.connectivity.oda.IResultSetMetaData;
+import org.eclipse.datatools.connectivity.oda.OdaException;
+import org.eclipse.datatools.connectivity.oda.SortSpec;
+import org.eclipse.datatools.connectivity.oda.flatfile.i18n.Messages;
+import org.eclipse.datatools.connectivity.oda.spec.result.ColumnIdentifier;
+import org.eclipse.datatools.connectivity.oda.spec.result.SortSpecification;
+
+/**
+ * FlatFileExternalSorter sorts the rows of a flat file query by the sort keys
+ * of the query, within a bounded amount of memory.
+ * <p>
+ * The rows are buffered until their estimated size exceeds the memory limit;
+ * the buffer is then sorted and written to a temporary file as a sorted run.
+ * Once all the rows have been added, the runs are merged with a priority
+ * queue that holds the current row of each run, so that only one row per run
+ * is kept in memory while the sorted rows are returned. If the rows fit in
+ * memory, no file is written at all.
+ * <p>
+ * The key values are compared as values of the type of their column; an
+ * empty value is null and sorts before any other value in ascending order,
+ * unless the null ordering of the sort key says otherwise. The sort is
+ * stable: rows with equal keys are returned in the order they were added.
+ */
+
+public class FlatFileExternalSorter
+{
+
+	// the maximum number of runs merged at once; more runs are first merged
+	// into larger runs
+	private static final int MAX_MERGE_WIDTH = 64;
+	private static final int IO_BUFFER_SIZE = 64 * 1024;
+	private static final Charset UTF8 = Charset.forName( "UTF-8" ); //$NON-NLS-1$
+
+	private int[] keyColumns;
+	private int[] keyTypes;
+	private boolean[] descending;
+	private boolean[] nullsFirst;
+	private long memoryLimit;
+
+	private List<SortEntry> buffer = new ArrayList<SortEntry>( );
+	private long bufferedBytes = 0;
+	private List<File> runs = new ArrayList<File>( );
+	private int spilledRunCount = 0;
+
+	private boolean finished = false;
+	private int bufferIndex = -1;
+	private PriorityQueue<RunReader> mergeQueue;
+	private String[] currentRow;
+
+	private Comparator<SortEntry> entryComparator = new Comparator<SortEntry>( ) {
+
+		public int compare( SortEntry e1, SortEntry e2 )
+		{
+			return compareKeys( e1.keys, e2.keys );
+		}
+	};
+
+	/**
+	 * Constructor
+	 *
+	 * @param keyColumns
+	 *            the 0-based indexes, in a row, of the sort key columns
+	 * @param keyTypes
+	 *            the java.sql.Types codes of the sort key columns
+	 * @param sortDirections
+	 *            the direction of each sort key, one of
+	 *            <code>SortSpecification.ORDERING_ASC</code> or
+	 *            <code>SortSpecification.ORDERING_DESC</code>
+	 * @param nullOrderings
+	 *            the null ordering of each sort key, one of the
+	 *            <code>SortSpecification.NULL_ORDERING_*</code> constants
+	 * @param memoryLimit
+	 *            the number of bytes the buffered rows may use before being
+	 *            written to a temporary file
+	 */
+	public FlatFileExternalSorter( int[] keyColumns, int[] keyTypes,
+			int[] sortDirections, int[] nullOrderings, long memoryLimit )
+	{
+		assert keyColumns.length == keyTypes.length
+				&& keyColumns.length == sortDirections.length
+				&& keyColumns.length == nullOrderings.length;
+		this.keyColumns = keyColumns;
+		this.keyTypes = keyTypes;
+		this.memoryLimit = memoryLimit;
+		this.descending = new boolean[keyColumns.length];
+		this.nullsFirst = new boolean[keyColumns.length];
+		for ( int i = 0; i < keyColumns.length; i++ )
+		{
+			descending[i] = sortDirections[i] == SortSpecification.ORDERING_DESC;
+			if ( nullOrderings[i] == SortSpecification.NULL_ORDERING_NONE )
+				nullsFirst[i] = !descending[i];
+			else
+				nullsFirst[i] = nullOrderings[i] == SortSpecification.NULL_ORDERING_FIRST;
+		}
+	}
+
+	/**
+	 * Create the sorter for the sort keys of a query specification.
+	 *
+	 * @param sortSpec
+	 * @param rsmd
+	 *            the meta-data of the result set the sort keys refer to
+	 * @param memoryLimit
+	 *            the number of bytes the buffered rows may use
+	 * @return the sorter, or null if there is no sort key
+	 * @throws OdaException
+	 *             if a sort key refers to an unknown column
+	 */
+	public static FlatFileExternalSorter create( SortSpecification sortSpec,
+			IResultSetMetaData rsmd, long memoryLimit ) throws OdaException
+	{
+		if ( sortSpec == null || sortSpec.getSortKeyCount( ) == 0 )
+			return null;
+		int keyCount = sortSpec.getSortKeyCount( );
+		int[] keyColumns = new int[keyCount];
+		int[] keyTypes = new int[keyCount];
+		int[] sortDirections = new int[keyCount];
+		int[] nullOrderings = new int[keyCount];
+		for ( int i = 0; i < keyCount; i++ )
+		{
+			ColumnIdentifier column = sortSpec.getSortColumn( i + 1 );
+			if ( column == null )
+				throw new OdaException( Messages.getString( "query_UNSUPPORTED_SPECIFICATION" ) ); //$NON-NLS-1$
+			keyColumns[i] = FlatFileRowFilter.findColumn( column, rsmd );
+			keyTypes[i] = rsmd.getColumnType( keyColumns[i] + 1 );
+			sortDirections[i] = sortSpec.getSortDirection( i + 1 );
+			nullOrderings[i] = sortSpec.getNullOrdering( i + 1 );
+		}
+		return new FlatFileExternalSorter( keyColumns,
+				keyTypes,
+				sortDirections,
+				nullOrderings,
+				memoryLimit );
+	}
+
+	/**
+	 * Create the sorter for the sort keys of a sort spec.
+	 *
+	 * @param sortSpec
+	 * @param rsmd
+	 *            the meta-data of the result set the sort keys refer to
+	 * @param memoryLimit
+	 *            the number of bytes the buffered rows may use
+	 * @return the sorter, or null if there is no sort key
+	 * @throws OdaException
+	 *             if a sort key refers to an unknown column
+	 */
+	public static FlatFileExternalSorter create( SortSpec sortSpec,
+			IResultSetMetaData rsmd, long memoryLimit ) throws OdaException
+	{
+		if ( sortSpec == null || sortSpec.getSortKeyCount( ) == 0 )
+			return null;
+		int keyCount = sortSpec.getSortKeyCount( );
+		int[] keyColumns = new int[keyCount];
+		int[] keyTypes = new int[keyCount];
+		int[] sortDirections = new int[keyCount];
+		int[] nullOrderings = new int[keyCount];
+		for ( int i = 0; i < keyCount; i++ )
+		{
+			keyColumns[i] = FlatFileRowFilter.findColumn( new ColumnIdentifier( sortSpec.getSortColumn( i + 1 ) ),
+					rsmd );
+			keyTypes[i] = rsmd.getColumnType( keyColumns[i] + 1 );
+			sortDirections[i] = sortSpec.getSortOrder( i + 1 ) == SortSpec.sortDesc
+					? SortSpecification.ORDERING_DESC
+					: SortSpecification.ORDERING_ASC;
+			nullOrderings[i] = SortSpecification.NULL_ORDERING_NONE;
+		}
+		return new FlatFileExternalSorter( keyColumns,
+				keyTypes,
+				sortDirections,
+				nullOrderings,
+				memoryLimit );
+	}
+
+	/**
+	 * Add a row to sort. The array is kept by the sorter.
+	 *
+	 * @param row
+	 *            the values of the row
+	 * @throws OdaException
+	 *             if a key value cannot be converted to the type of its
+	 *             column, or a sorted run cannot be written
+	 */
+	public void add( String[] row ) throws OdaException
+	{
+		assert !finished;
+		buffer.add( new SortEntry( row, getKeys( row ) ) );
+		bufferedBytes += estimateSize( row );
+		if ( bufferedBytes > memoryLimit )
+			spill( );
+	}
+
+	/**
+	 * Sort the rows that have been added. No row may be added afterwards.
+	 *
+	 * @throws OdaException
+	 *             if the sorted runs cannot be merged
+	 */
+	public void finish( ) throws OdaException
+	{
+		if ( finished )
+			return;
+		finished = true;
+		if ( runs.isEmpty( ) )
+		{
+			Collections.sort( buffer, entryComparator );
+			return;
+		}
+
+		if ( !buffer.isEmpty( ) )
+			spill( );
+		while ( runs.size( ) > MAX_MERGE_WIDTH )
+			mergeRuns( );
+
+		mergeQueue = new PriorityQueue<RunReader>( runs.size( ),
+				new Comparator<RunReader>( ) {
+
+					public int compare( RunReader r1, RunReader r2 )
+					{
+						int result = compareKeys( r1.keys, r2.keys );
+						// the runs hold consecutive rows, in order
+						return result != 0 ? result : r1.runIndex
+								- r2.runIndex;
+					}
+				} );
+		for ( int i = 0; i < runs.size( ); i++ )
+		{
+			RunReader reader = new RunReader( runs.get( i ), i );
+			if ( reader.next( ) )
+				mergeQueue.add( reader );
+			else
+				reader.close( );
+		}
+	}
+
+	/**
+	 * Move to the next sorted row.
+	 *
+	 * @return false if there is no more row
+	 * @throws OdaException
+	 */
+	public boolean next( ) throws OdaException
+	{
+		if ( !finished )
+			finish( );
+		if ( mergeQueue == null )
+		{
+			if ( bufferIndex >= 0 )
+				buffer.set( bufferIndex, null );
+			if ( ++bufferIndex >= buffer.size( ) )
+			{
+				currentRow = null;
+				return false;
+			}
+			currentRow = buffer.get( bufferIndex ).row;
+			return true;
+		}
+
+		RunReader reader = mergeQueue.poll( );
+		if ( reader == null )
+		{
+			currentRow = null;
+			return false;
+		}
+		currentRow = reader.row;
+		if ( reader.next( ) )
+			mergeQueue.add( reader );
+		else
+			reader.close( );
+		return true;
+	}
+
+	/**
+	 * Returns the values of the current sorted row.
+	 *
+	 * @return
+	 */
+	public String[] getRow( )
+	{
+		return currentRow;
+	}
+
+	/**
+	 * Returns the number of sorted runs that have been written to temporary
+	 * files.
+	 *
+	 * @return
+	 */
+	public int getSpilledRunCount( )
+	{
+		return spilledRunCount;
+	}
+
+	/**
+	 * Release the buffered rows and delete the temporary files.
+	 */
+	public void close( )
+	{
+		if ( mergeQueue != null )
+		{
+			for ( RunReader reader : mergeQueue )
+				reader.close( );
+			mergeQueue.clear( );
+		}
+		for ( File run : runs )
+			run.delete( );
+		runs.clear( );
+		buffer.clear( );
+		currentRow = null;
+	}
+
+	/**
+	 * Convert the key values of a row to comparable values.
+	 *
+	 * @param row
+	 * @return
+	 * @throws OdaException
+	 */
+	@SuppressWarnings("unchecked")
+	private Comparable<Object>[] getKeys( String[] row ) throws OdaException
+	{
+		Comparable<Object>[] keys = new Comparable[keyColumns.length];
+		for ( int i = 0; i < keyColumns.length; i++ )
+		{
+			String value = keyColumns[i] < row.length ? row[keyColumns[i]]
+					: null;
+			if ( value != null && value.length( ) > 0 )
+				keys[i] = FlatFileValueConverter.toComparable( value,
+						keyTypes[i] );
+		}
+		return keys;
+	}
+
+	private int compareKeys( Comparable<Object>[] keys1,
+			Comparable<Object>[] keys2 )
+	{
+		for ( int i = 0; i < keys1.length; i++ )
+		{
+			if ( keys1[i] == null || keys2[i] == null )
+			{
+				if ( keys1[i] == keys2[i] )
+					continue;
+				return ( keys1[i] == null ) == nullsFirst[i] ? -1 : 1;
+			}
+			int result = keys1[i].compareTo( keys2[i] );
+			if ( result != 0 )
+				return descending[i] ? -result : result;
+		}
+		return 0;
+	}
+
+	/**
+	 * Returns the approximate number of bytes a buffered row uses, including
+	 * its converted keys.
+	 *
+	 * @param row
+	 * @return
+	 */
+	private long estimateSize( String[] row )
+	{
+		long size = 64 + 8L * row.length + 24L * keyColumns.length;
+		for ( int i = 0; i < row.length; i++ )
+		{
+			if ( row[i] != null )
+				size += 40 + 2L * row[i].length( );
+		}
+		return size;
+	}
+
+	/**
+	 * Sort the buffered rows and write them to a new run.
+	 *
+	 * @throws OdaException
+	 */
+	private void spill( ) throws OdaException
+	{
+		Collections.sort( buffer, entryComparator );
+		RunWriter writer = new RunWriter( );
+		try
+		{
+			for ( int i = 0; i < buffer.size( ); i++ )
+				writer.write( buffer.get( i ).row );
+		}
+		finally
+		{
+			writer.close( );
+		}
+		runs.add( writer.file );
+		spilledRunCount++;
+		buffer.clear( );
+		bufferedBytes = 0;
+	}
+
+	/**
+	 * Merge groups of consecutive runs into single runs, so that the merged
+	 * runs still hold consecutive rows in order.
+	 *
+	 * @throws OdaException
+	 */
+	private void mergeRuns( ) throws OdaException
+	{
+		List<File> mergedRuns = new ArrayList<File>( );
+		for ( int start = 0; start < runs.size( ); start += MAX_MERGE_WIDTH )
+		{
+			int end = Math.min( start + MAX_MERGE_WIDTH, runs.size( ) );
+			if ( end - start == 1 )
+			{
+				mergedRuns.add( runs.get( start ) );
+				continue;
+			}
+
+			RunReader[] readers = new RunReader[end - start];
+			RunWriter writer = new RunWriter( );
+			try
+			{
+				for ( int i = 0; i < readers.length; i++ )
+				{
+					readers[i] = new RunReader( runs.get( start + i ), i );
+					if ( !readers[i].next( ) )
+						readers[i].close( );
+				}
+				while ( true )
+				{
+					// the number of merged runs is small, a linear search of
+					// the smallest row is enough
+					RunReader smallest = null;
+					for ( int i = 0; i < readers.length; i++ )
+					{
+						if ( readers[i].row != null
+								&& ( smallest == null || compareKeys( readers[i].keys,
+										smallest.keys ) < 0 ) )
+							smallest = readers[i];
+					}
+					if ( smallest == null )
+						break;
+					writer.write( smallest.row );
+					if ( !smallest.next( ) )
+						smallest.close( );
+				}
+			}
+			finally
+			{
+				writer.close( );
+				for ( int i = 0; i < readers.length; i++ )
+				{
+					if ( readers[i] != null )
+						readers[i].close( );
+				}
+			}
+			mergedRuns.add( writer.file );
+			for ( int i = start; i < end; i++ )
+				runs.get( i ).delete( );
+		}
+		runs = mergedRuns;
+	}
+
+	/**
+	 * A buffered row and its converted keys
+	 */
+	private static class SortEntry
+	{
+
+		private String[] row;
+		private Comparable<Object>[] keys;
+
+		SortEntry( String[] row, Comparable<Object>[] keys )
+		{
+			this.row = row;
+			this.keys = keys;
+		}
+	}
+
+	/**
+	 * Writes rows to a new temporary file. Each row is written as its number
+	 * of values followed by the values, a value being its length in bytes, -1
+	 * for null, followed by its UTF-8 bytes.
+	 */
+	private static class RunWriter
+	{
+
+		private File file;
+		private DataOutputStream out;
+
+		RunWriter( ) throws OdaException
+		{
+			try
+			{
+				file = File.createTempFile( "flatfileSort", ".run" ); //$NON-NLS-1$ //$NON-NLS-2$
+				file.deleteOnExit( );
+				out = new DataOutputStream( new BufferedOutputStream( new FileOutputStream( file ),
+						IO_BUFFER_SIZE ) );
+			}
+			catch ( IOException e )
+			{
+				if ( file != null )
+					file.delete( );
+				throw new OdaException( e );
+			}
+		}
+
+		void write( String[] row ) throws OdaException
+		{
+			try
+			{
+				out.writeInt( row.length );
+				for ( int i = 0; i < row.length; i++ )
+				{
+					if ( row[i] == null )
+					{
+						out.writeInt( -1 );
+						continue;
+					}
+					byte[] bytes = row[i].getBytes( UTF8 );
+					out.writeInt( bytes.length );
+					out.write( bytes );
+				}
+			}
+			catch ( IOException e )
+			{
+				throw new OdaException( e );
+			}
+		}
+
+		void close( ) throws OdaException
+		{
+			try
+			{
+				out.close( );
+			}
+			catch ( IOException e )
+			{
+				throw new OdaException( e );
+			}
+		}
+	}
+
+	/**
+	 * Reads back the rows of a run, converting their keys again
+	 */
+	private class RunReader
+	{
+
+		private int runIndex;
+		private DataInputStream in;
+		private String[] row;
+		private Comparable<Object>[] keys;
+
+		RunReader( File file, int runIndex ) throws OdaException
+		{
+			this.runIndex = runIndex;
+			try
+			{
+				in = new DataInputStream( new BufferedInputStream( new FileInputStream( file ),
+						IO_BUFFER_SIZE ) );
+			}
+			catch ( IOException e )
+			{
+				throw new OdaException( e );
+			}
+		}
+
+		/**
+		 * Read the next row of the run.
+		 *
+		 * @return false if the end of the run is reached
+		 * @throws OdaException
+		 */
+		boolean next( ) throws OdaException
+		{
+			try
+			{
+				int columnCount = readInt( );
+				if ( columnCount < 0 )
+				{
+					row = null;
+					keys = null;
+					return false;
+				}
+				row = new String[columnCount];
+				for ( int i = 0; i < columnCount; i++ )
+				{
+					int length = in.readInt( );
+					if ( length < 0 )
+						continue;
+					byte[] bytes = new byte[length];
+					in.readFully( bytes );
+					row[i] = new String( bytes, UTF8 );
+				}
+				keys = getKeys( row );
+				return true;
+			}
+			catch ( IOException e )
+			{
+				throw new OdaException( e );
+			}
+		}
+
+		/**
+		 * Read an int, or return -1 at the end of the run.
+		 *
+		 * @return
+		 * @throws IOException
+		 */
+		private int readInt( ) throws IOException
+		{
+			int b = in.read( );
+			if ( b < 0 )
+				return -1;
+			return ( b << 24 ) | ( in.readUnsignedByte( ) << 16 )
+					| ( in.readUnsignedByte( ) << 8 )
+					| in.readUnsignedByte( );
+		}
+
+		void close( )
+		{
+			try
+			{
+				in.close( );
+			}
+			catch ( IOException e )
+			{
+			}
+		}
+	}
+}
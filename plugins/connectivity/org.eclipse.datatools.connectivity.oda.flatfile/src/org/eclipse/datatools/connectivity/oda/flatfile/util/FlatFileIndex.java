@@ -0,0 +1,681 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Data Tools Platform and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * Contributors:
+ *  Eclipse Data Tools Platform - initial API and implementation
+ *
+ *******************************************************************************/
+
+package org.eclipse.datatools.connectivity.oda.flatfile.util;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipse.datatools.connectivity.oda.OdaException;
+
+/**
+ * FlatFileIndex is a sidecar index of a flat file. The data rows of the file
+ * are divided into blocks of a fixed number of rows; for each block the index
+ * holds the byte offset of its first row and, for each column, the number of
+ * non-null values and their minimum and maximum. A query with a filter may
+ * then skip the blocks whose statistics rule out the filter and seek directly
+ * to the next block that may hold matching rows.
+ * <p>
+ * The index is persisted next to the file, with the {@link #FILE_SUFFIX}
+ * suffix. It records the size and modification time of the file and the
+ * connection properties it was built with, and is rebuilt when they do not
+ * match anymore.
+ * <p>
+ * The minimum and maximum values are kept both as text and, when all the
+ * values of the column in the block are numbers, as numbers; the other
+ * column types are only pruned by their null counts.
+ */
+
+public class FlatFileIndex
+{
+
+	/**
+	 * The suffix appended to the name of a flat file to name its index
+	 */
+	public static final String FILE_SUFFIX = ".ffidx"; //$NON-NLS-1$
+
+	/**
+	 * The number of data rows in a block
+	 */
+	public static final int DEFAULT_BLOCK_ROWS = 1024;
+
+	private static final int MAGIC = 0x46464958;
+	private static final int VERSION = 1;
+	private static final int SEGMENT_SIZE = 4 * 1024 * 1024;
+	private static final byte LINE_FEED = '\n';
+	private static final byte DOUBLE_QUOTE = '"';
+	private static final Charset UTF8 = Charset.forName( "UTF-8" ); //$NON-NLS-1$
+
+	// the file and connection properties the index was built for
+	private long fileLength;
+	private long lastModified;
+	private String charsetName;
+	private char separator;
+	private boolean hasColumnNames;
+	private boolean hasTypeLine;
+	private int blockRows;
+
+	private List<Block> blocks = new ArrayList<Block>( );
+
+	private FlatFileIndex( )
+	{
+	}
+
+	/**
+	 * Returns the index of a flat file, reading it from the index file if it
+	 * is up to date, or else building it and writing it to the index file.
+	 * The index is still returned if it cannot be written.
+	 *
+	 * @param file
+	 *            the flat file
+	 * @param channel
+	 *            a channel to read the file
+	 * @param charset
+	 *            the charset of the file, which has to be supported by
+	 *            {@link FlatFileParallelScanner#isSupportedCharset(Charset)}
+	 * @param separator
+	 *            the column separator
+	 * @param hasColumnNames
+	 *            whether the first line holds the column names
+	 * @param hasTypeLine
+	 *            whether the next line holds the column types
+	 * @return
+	 * @throws OdaException
+	 *             if the file cannot be read
+	 */
+	public static FlatFileIndex open( File file, FileChannel channel,
+			Charset charset, char separator, boolean hasColumnNames,
+			boolean hasTypeLine ) throws OdaException
+	{
+		File indexFile = getIndexFile( file );
+		long fileLength = file.length( );
+		long lastModified = file.lastModified( );
+		FlatFileIndex index = read( indexFile );
+		if ( index != null
+				&& index.fileLength == fileLength
+				&& index.lastModified == lastModified
+				&& index.charsetName.equals( charset.name( ) )
+				&& index.separator == separator
+				&& index.hasColumnNames == hasColumnNames
+				&& index.hasTypeLine == hasTypeLine
+				&& index.blockRows == DEFAULT_BLOCK_ROWS )
+			return index;
+
+		index = build( channel,
+				charset,
+				separator,
+				hasColumnNames,
+				hasTypeLine,
+				DEFAULT_BLOCK_ROWS );
+		index.lastModified = lastModified;
+		// do not persist the index of a file modified while it was read
+		if ( index.fileLength == file.length( )
+				&& lastModified == file.lastModified( ) )
+		{
+			try
+			{
+				index.write( indexFile );
+			}
+			catch ( IOException e )
+			{
+				// the folder of the file may be read-only; the index is
+				// then only used by this query
+			}
+		}
+		return index;
+	}
+
+	/**
+	 * Returns the index file of a flat file.
+	 *
+	 * @param file
+	 * @return
+	 */
+	public static File getIndexFile( File file )
+	{
+		return new File( file.getPath( ) + FILE_SUFFIX );
+	}
+
+	/**
+	 * Build the index of a flat file by reading it from its start.
+	 *
+	 * @param channel
+	 * @param charset
+	 * @param separator
+	 * @param hasColumnNames
+	 * @param hasTypeLine
+	 * @param blockRows
+	 *            the number of data rows in a block
+	 * @return
+	 * @throws OdaException
+	 *             if the file cannot be read or is not in a valid format
+	 */
+	public static FlatFileIndex build( FileChannel channel, Charset charset,
+			char separator, boolean hasColumnNames, boolean hasTypeLine,
+			int blockRows ) throws OdaException
+	{
+		FlatFileIndex index = new FlatFileIndex( );
+		index.charsetName = charset.name( );
+		index.separator = separator;
+		index.hasColumnNames = hasColumnNames;
+		index.hasTypeLine = hasTypeLine;
+		index.blockRows = blockRows;
+		try
+		{
+			index.fileLength = channel.size( );
+			index.scan( channel, charset );
+		}
+		catch ( IOException e )
+		{
+			throw new OdaException( e );
+		}
+		return index;
+	}
+
+	/**
+	 * Returns the number of blocks.
+	 *
+	 * @return
+	 */
+	public int getBlockCount( )
+	{
+		return blocks.size( );
+	}
+
+	/**
+	 * Returns the byte offset of the first row of a block.
+	 *
+	 * @param block
+	 * @return
+	 */
+	public long getBlockOffset( int block )
+	{
+		return blocks.get( block ).offset;
+	}
+
+	/**
+	 * Returns the number of non-empty rows of a block.
+	 *
+	 * @param block
+	 * @return
+	 */
+	public int getBlockRowCount( int block )
+	{
+		return blocks.get( block ).rowCount;
+	}
+
+	/**
+	 * Returns the statistics of a block, for the columns of a result set.
+	 *
+	 * @param block
+	 * @param columnLocations
+	 *            the 0-based indexes in the file of the result set columns,
+	 *            -1 for a column that does not exist in the file
+	 * @return
+	 */
+	public FlatFileRowFilter.BlockStatistics getBlockStatistics( int block,
+			final int[] columnLocations )
+	{
+		final Block b = blocks.get( block );
+		return new FlatFileRowFilter.BlockStatistics( ) {
+
+			public int getRowCount( )
+			{
+				return b.rowCount;
+			}
+
+			public int getValueCount( int index )
+			{
+				ColumnStatistics column = b.getColumn( columnLocations[index] );
+				return column == null ? 0 : column.valueCount;
+			}
+
+			public Comparable<Object> getMinimum( int index, int type )
+			{
+				ColumnStatistics column = b.getColumn( columnLocations[index] );
+				return column == null ? null : column.getMinimum( type );
+			}
+
+			public Comparable<Object> getMaximum( int index, int type )
+			{
+				ColumnStatistics column = b.getColumn( columnLocations[index] );
+				return column == null ? null : column.getMaximum( type );
+			}
+		};
+	}
+
+	/**
+	 * Read the records of the file, in segments that end at a record
+	 * boundary, and add the data rows to the blocks.
+	 *
+	 * @param channel
+	 * @param charset
+	 * @throws IOException
+	 * @throws OdaException
+	 */
+	private void scan( FileChannel channel, Charset charset )
+			throws IOException, OdaException
+	{
+		int headerRecords = ( hasColumnNames ? 1 : 0 ) + ( hasTypeLine ? 1 : 0 );
+		long position = getBomLength( channel, charset );
+		int segmentSize = SEGMENT_SIZE;
+		int[] recordStarts = new int[1024];
+		while ( position < fileLength )
+		{
+			int windowSize = (int) Math.min( fileLength - position, segmentSize );
+			MappedByteBuffer window = channel.map( FileChannel.MapMode.READ_ONLY,
+					position,
+					windowSize );
+			boolean lastWindow = position + windowSize == fileLength;
+
+			// find the start of each record in the window; line feeds between
+			// double quotes do not end a record
+			int recordCount = 0;
+			int segmentEnd = 0;
+			boolean inQuote = false;
+			for ( int i = 0; i < windowSize; i++ )
+			{
+				byte b = window.get( i );
+				if ( b == DOUBLE_QUOTE )
+					inQuote = !inQuote;
+				else if ( b == LINE_FEED && !inQuote )
+				{
+					if ( recordCount == recordStarts.length )
+						recordStarts = Arrays.copyOf( recordStarts,
+								recordCount * 2 );
+					recordStarts[recordCount++] = segmentEnd;
+					segmentEnd = i + 1;
+				}
+			}
+			if ( lastWindow && segmentEnd < windowSize )
+			{
+				// the last record is not terminated by a line feed
+				if ( recordCount == recordStarts.length )
+					recordStarts = Arrays.copyOf( recordStarts, recordCount * 2 );
+				recordStarts[recordCount++] = segmentEnd;
+				segmentEnd = windowSize;
+			}
+			if ( recordCount == 0 )
+			{
+				// a single record is larger than the window
+				segmentSize *= 2;
+				continue;
+			}
+
+			window.limit( segmentEnd );
+			CharsetDecoder decoder = charset.newDecoder( )
+					.onMalformedInput( CodingErrorAction.REPLACE )
+					.onUnmappableCharacter( CodingErrorAction.REPLACE );
+			CharBuffer chars = decoder.decode( window );
+			FlatFileRecordTokenizer tokenizer = new FlatFileRecordTokenizer( chars,
+					separator );
+			for ( int i = 0; tokenizer.nextRecord( ); i++ )
+			{
+				if ( tokenizer.isEmptyRecord( ) )
+					continue;
+				if ( headerRecords > 0 )
+				{
+					headerRecords--;
+					continue;
+				}
+				Block block = blocks.isEmpty( ) ? null
+						: blocks.get( blocks.size( ) - 1 );
+				if ( block == null || block.rowCount == blockRows )
+				{
+					block = new Block( position + recordStarts[i] );
+					blocks.add( block );
+				}
+				block.addRow( tokenizer );
+			}
+			position += segmentEnd;
+		}
+	}
+
+	/**
+	 * Read an index file.
+	 *
+	 * @param indexFile
+	 * @return the index, or null if the file does not exist or is not a
+	 *         valid index file
+	 */
+	private static FlatFileIndex read( File indexFile )
+	{
+		if ( !indexFile.isFile( ) )
+			return null;
+		DataInputStream in = null;
+		try
+		{
+			in = new DataInputStream( new BufferedInputStream( new FileInputStream( indexFile ) ) );
+			if ( in.readInt( ) != MAGIC || in.readInt( ) != VERSION )
+				return null;
+			FlatFileIndex index = new FlatFileIndex( );
+			index.fileLength = in.readLong( );
+			index.lastModified = in.readLong( );
+			index.charsetName = in.readUTF( );
+			index.separator = in.readChar( );
+			index.hasColumnNames = in.readBoolean( );
+			index.hasTypeLine = in.readBoolean( );
+			index.blockRows = in.readInt( );
+			int blockCount = in.readInt( );
+			for ( int i = 0; i < blockCount; i++ )
+			{
+				Block block = new Block( in.readLong( ) );
+				block.rowCount = in.readInt( );
+				block.columnCount = in.readInt( );
+				block.columns = new ColumnStatistics[block.columnCount];
+				for ( int j = 0; j < block.columnCount; j++ )
+				{
+					ColumnStatistics column = new ColumnStatistics( );
+					column.valueCount = in.readInt( );
+					column.textMinimum = readString( in );
+					column.textMaximum = readString( in );
+					column.numeric = in.readBoolean( );
+					String minimum = readString( in );
+					String maximum = readString( in );
+					if ( minimum != null && maximum != null )
+					{
+						column.numericMinimum = new BigDecimal( minimum );
+						column.numericMaximum = new BigDecimal( maximum );
+					}
+					block.columns[j] = column;
+				}
+				index.blocks.add( block );
+			}
+			return index;
+		}
+		catch ( IOException e )
+		{
+			return null;
+		}
+		catch ( NumberFormatException e )
+		{
+			return null;
+		}
+		finally
+		{
+			if ( in != null )
+			{
+				try
+				{
+					in.close( );
+				}
+				catch ( IOException e )
+				{
+				}
+			}
+		}
+	}
+
+	/**
+	 * Write the index to a temporary file, then move it over the index file
+	 * so that concurrent queries never read a partial index.
+	 *
+	 * @param indexFile
+	 * @throws IOException
+	 */
+	private void write( File indexFile ) throws IOException
+	{
+		File tempFile = File.createTempFile( indexFile.getName( ),
+				".tmp", //$NON-NLS-1$
+				indexFile.getAbsoluteFile( ).getParentFile( ) );
+		try
+		{
+			DataOutputStream out = new DataOutputStream( new BufferedOutputStream( new FileOutputStream( tempFile ) ) );
+			try
+			{
+				out.writeInt( MAGIC );
+				out.writeInt( VERSION );
+				out.writeLong( fileLength );
+				out.writeLong( lastModified );
+				out.writeUTF( charsetName );
+				out.writeChar( separator );
+				out.writeBoolean( hasColumnNames );
+				out.writeBoolean( hasTypeLine );
+				out.writeInt( blockRows );
+				out.writeInt( blocks.size( ) );
+				for ( Block block : blocks )
+				{
+					out.writeLong( block.offset );
+					out.writeInt( block.rowCount );
+					out.writeInt( block.columnCount );
+					for ( int j = 0; j < block.columnCount; j++ )
+					{
+						ColumnStatistics column = block.columns[j];
+						out.writeInt( column.valueCount );
+						writeString( out, column.textMinimum );
+						writeString( out, column.textMaximum );
+						out.writeBoolean( column.numeric );
+						writeString( out, column.numericMinimum == null ? null
+								: column.numericMinimum.toString( ) );
+						writeString( out, column.numericMaximum == null ? null
+								: column.numericMaximum.toString( ) );
+					}
+				}
+			}
+			finally
+			{
+				out.close( );
+			}
+			try
+			{
+				Files.move( tempFile.toPath( ),
+						indexFile.toPath( ),
+						StandardCopyOption.REPLACE_EXISTING,
+						StandardCopyOption.ATOMIC_MOVE );
+			}
+			catch ( AtomicMoveNotSupportedException e )
+			{
+				Files.move( tempFile.toPath( ),
+						indexFile.toPath( ),
+						StandardCopyOption.REPLACE_EXISTING );
+			}
+		}
+		finally
+		{
+			tempFile.delete( );
+		}
+	}
+
+	private static String readString( DataInputStream in ) throws IOException
+	{
+		int length = in.readInt( );
+		if ( length < 0 )
+			return null;
+		byte[] bytes = new byte[length];
+		in.readFully( bytes );
+		return new String( bytes, UTF8 );
+	}
+
+	private static void writeString( DataOutputStream out, String value )
+			throws IOException
+	{
+		if ( value == null )
+		{
+			out.writeInt( -1 );
+			return;
+		}
+		byte[] bytes = value.getBytes( UTF8 );
+		out.writeInt( bytes.length );
+		out.write( bytes );
+	}
+
+	/**
+	 * Returns the length of the UTF-8 byte order mark at the start of the
+	 * file, if any.
+	 *
+	 * @param channel
+	 * @param charset
+	 * @return
+	 * @throws IOException
+	 */
+	private long getBomLength( FileChannel channel, Charset charset )
+			throws IOException
+	{
+		if ( !"UTF-8".equals( charset.name( ) ) || fileLength < 3 ) //$NON-NLS-1$
+			return 0;
+		ByteBuffer bom = ByteBuffer.allocate( 3 );
+		channel.read( bom, 0 );
+		if ( bom.get( 0 ) == (byte) 0xEF
+				&& bom.get( 1 ) == (byte) 0xBB && bom.get( 2 ) == (byte) 0xBF )
+			return 3;
+		return 0;
+	}
+
+	/**
+	 * The offset, row count and column statistics of a block of rows
+	 */
+	private static class Block
+	{
+
+		private long offset;
+		private int rowCount;
+		private int columnCount;
+		private ColumnStatistics[] columns = new ColumnStatistics[0];
+
+		Block( long offset )
+		{
+			this.offset = offset;
+		}
+
+		void addRow( FlatFileRecordTokenizer tokenizer )
+		{
+			int count = tokenizer.getColumnCount( );
+			if ( count > columns.length )
+				columns = Arrays.copyOf( columns, count );
+			for ( int i = columnCount; i < count; i++ )
+				columns[i] = new ColumnStatistics( );
+			columnCount = Math.max( columnCount, count );
+			for ( int i = 0; i < count; i++ )
+			{
+				String value = tokenizer.getColumnValue( i );
+				if ( value.length( ) > 0 )
+					columns[i].add( value );
+			}
+			rowCount++;
+		}
+
+		/**
+		 * Returns the statistics of a column in the file.
+		 *
+		 * @param location
+		 * @return the statistics, or null if no row of the block has the
+		 *         column
+		 */
+		ColumnStatistics getColumn( int location )
+		{
+			if ( location < 0 || location >= columnCount )
+				return null;
+			return columns[location];
+		}
+	}
+
+	/**
+	 * The number of non-null values of a column in a block, and their
+	 * minimum and maximum
+	 */
+	private static class ColumnStatistics
+	{
+
+		private int valueCount;
+		private String textMinimum;
+		private String textMaximum;
+		// whether all the values are numbers
+		private boolean numeric = true;
+		private BigDecimal numericMinimum;
+		private BigDecimal numericMaximum;
+
+		void add( String value )
+		{
+			if ( valueCount++ == 0 )
+			{
+				textMinimum = textMaximum = value;
+			}
+			else if ( value.compareTo( textMinimum ) < 0 )
+				textMinimum = value;
+			else if ( value.compareTo( textMaximum ) > 0 )
+				textMaximum = value;
+
+			if ( numeric )
+			{
+				try
+				{
+					BigDecimal number = new BigDecimal( value );
+					if ( numericMinimum == null
+							|| number.compareTo( numericMinimum ) < 0 )
+						numericMinimum = number;
+					if ( numericMaximum == null
+							|| number.compareTo( numericMaximum ) > 0 )
+						numericMaximum = number;
+				}
+				catch ( NumberFormatException e )
+				{
+					numeric = false;
+					numericMinimum = numericMaximum = null;
+				}
+			}
+		}
+
+		/**
+		 * Returns the minimum value, as a comparable value of the column
+		 * type.
+		 *
+		 * @param type
+		 * @return the minimum, or null if it is not known for the type
+		 */
+		@SuppressWarnings("unchecked")
+		Comparable<Object> getMinimum( int type )
+		{
+			if ( FlatFileValueConverter.isNumericType( type ) )
+				return (Comparable) ( numeric ? numericMinimum : null );
+			if ( FlatFileValueConverter.isTextType( type ) )
+				return (Comparable) textMinimum;
+			return null;
+		}
+
+		/**
+		 * Returns the maximum value, as a comparable value of the column
+		 * type.
+		 *
+		 * @param type
+		 * @return the maximum, or null if it is not known for the type
+		 */
+		@SuppressWarnings("unchecked")
+		Comparable<Object> getMaximum( int type )
+		{
+			if ( FlatFileValueConverter.isNumericType( type ) )
+				return (Comparable) ( numeric ? numericMaximum : null );
+			if ( FlatFileValueConverter.isTextType( type ) )
+				return (Comparable) textMaximum;
+			return null;
+		}
+	}
+}
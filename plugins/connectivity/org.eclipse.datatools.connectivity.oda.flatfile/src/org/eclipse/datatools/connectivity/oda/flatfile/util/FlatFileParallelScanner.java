@@ -0,0 +1,438 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Data Tools Platform and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * Contributors:
+ *  Eclipse Data Tools Platform - initial API and implementation
+ *
+ *******************************************************************************/
+
+package org.eclipse.datatools.connectivity.oda.flatfile.util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+import org.eclipse.datatools.connectivity.oda.OdaException;
+import org.eclipse.datatools.connectivity.oda.flatfile.i18n.Messages;
+
+import com.ibm.icu.text.MessageFormat;
+
+/**
+ * FlatFileParallelScanner reads a local flat file through memory mapped
+ * segments. The file is split at record boundaries, taking double quoted
+ * values into account, and the segments are decoded and tokenized
+ * concurrently on a fork-join pool. The rows are handed out in file order:
+ * the segments in flight are kept in a bounded queue in the order they were
+ * submitted, which caps the memory used by rows parsed ahead of the consumer.
+ * <p>
+ * Only charsets in which line feeds and double quotes are always encoded as
+ * their single ASCII byte can be split this way, see
+ * {@link #isSupportedCharset(Charset)}.
+ */
+
+public class FlatFileParallelScanner
+{
+
+	private static final int DEFAULT_SEGMENT_SIZE = 4 * 1024 * 1024;
+	private static final byte LINE_FEED = '\n';
+	private static final byte DOUBLE_QUOTE = '"';
+
+	private FileChannel channel;
+	private Charset charset;
+	private char separator;
+	private long fileSize;
+	private int segmentSize;
+	private int maxSegmentsInFlight;
+	private ForkJoinPool pool;
+
+	// the start of the part of the file that has not been scanned yet
+	private long position;
+
+	private int[] selectColumnIndexes;
+	private boolean trailNullColumns;
+
+	// segments submitted to the pool, in file order
+	private ArrayDeque<ForkJoinTask<List<String[]>>> segmentsInFlight = new ArrayDeque<ForkJoinTask<List<String[]>>>( );
+	private List<String[]> currentSegment;
+	private int currentRowIndex;
+	private String[] currentRow;
+
+	/**
+	 * Constructor
+	 *
+	 * @param channel the channel of the file to read
+	 * @param charset the charset of the file, which must be supported
+	 * @param separator the column separator
+	 * @throws IOException
+	 * @throws OdaException if the charset is not supported
+	 */
+	public FlatFileParallelScanner( FileChannel channel, Charset charset,
+			char separator ) throws IOException, OdaException
+	{
+		this( channel,
+				charset,
+				separator,
+				DEFAULT_SEGMENT_SIZE,
+				ForkJoinPool.commonPool( ) );
+	}
+
+	/**
+	 * Constructor
+	 *
+	 * @param channel the channel of the file to read
+	 * @param charset the charset of the file, which must be supported
+	 * @param separator the column separator
+	 * @param segmentSize the approximate number of bytes parsed by each task
+	 * @param pool the pool the segments are parsed on
+	 * @throws IOException
+	 * @throws OdaException if the charset is not supported
+	 */
+	public FlatFileParallelScanner( FileChannel channel, Charset charset,
+			char separator, int segmentSize, ForkJoinPool pool )
+			throws IOException, OdaException
+	{
+		if ( !isSupportedCharset( charset ) )
+			throw new OdaException( MessageFormat.format( Messages.getString( "parallelScanner_UNSUPPORTED_CHARSET" ), //$NON-NLS-1$
+					new Object[]{
+						charset.name( )
+					} ) );
+		this.channel = channel;
+		this.charset = charset;
+		this.separator = separator;
+		this.segmentSize = Math.max( segmentSize, 1 );
+		this.pool = pool;
+		this.maxSegmentsInFlight = pool.getParallelism( ) * 2 + 1;
+		this.fileSize = channel.size( );
+		this.position = getBomLength( );
+	}
+
+	/**
+	 * Whether the records of a file in the given charset can be split by
+	 * looking for line feed and double quote bytes.
+	 *
+	 * @param charset
+	 * @return
+	 */
+	public static boolean isSupportedCharset( Charset charset )
+	{
+		if ( !charset.canEncode( ) )
+			return false;
+		String specialChars = "\n\",;|\t "; //$NON-NLS-1$
+		try
+		{
+			ByteBuffer encoded = charset.newEncoder( )
+					.encode( CharBuffer.wrap( specialChars ) );
+			if ( encoded.remaining( ) != specialChars.length( ) )
+				return false;
+			for ( int i = 0; i < specialChars.length( ); i++ )
+			{
+				if ( encoded.get( i ) != specialChars.charAt( i ) )
+					return false;
+			}
+			return true;
+		}
+		catch ( CharacterCodingException e )
+		{
+			return false;
+		}
+	}
+
+	/**
+	 * Returns the values of the next non-empty record, which is consumed. It
+	 * is used to read the column name and type lines before the data rows
+	 * are scanned.
+	 *
+	 * @return the trimmed values, or null if there is no more record
+	 * @throws OdaException
+	 */
+	public String[] nextHeaderRecord( ) throws OdaException
+	{
+		return peekHeaderRecord( true );
+	}
+
+	/**
+	 * Returns the values of the next non-empty record, without consuming it.
+	 * The empty records before it are consumed.
+	 *
+	 * @return the trimmed values, or null if there is no more record
+	 * @throws OdaException
+	 */
+	public String[] peekHeaderRecord( ) throws OdaException
+	{
+		return peekHeaderRecord( false );
+	}
+
+	private String[] peekHeaderRecord( boolean consume ) throws OdaException
+	{
+		assert segmentsInFlight.isEmpty( ) && currentSegment == null;
+		try
+		{
+			while ( position < fileSize )
+			{
+				long end = findRecordEnd( position, position );
+				FlatFileRecordTokenizer tokenizer = new FlatFileRecordTokenizer( decode( position,
+						end ),
+						separator );
+				if ( !tokenizer.nextRecord( ) || tokenizer.isEmptyRecord( ) )
+				{
+					position = end;
+					continue;
+				}
+				if ( consume )
+					position = end;
+				return tokenizer.getColumnValues( );
+			}
+			return null;
+		}
+		catch ( IOException e )
+		{
+			throw new OdaException( e );
+		}
+	}
+
+	/**
+	 * Start scanning the data rows from the current position.
+	 *
+	 * @param selectColumnIndexes
+	 *            the 0-based indexes in the file of the columns to return,
+	 *            -1 for a column that does not exist in the file
+	 * @param trailNullColumns
+	 *            whether records may have less columns than selected
+	 */
+	public void start( int[] selectColumnIndexes, boolean trailNullColumns )
+	{
+		this.selectColumnIndexes = selectColumnIndexes;
+		this.trailNullColumns = trailNullColumns;
+		this.currentSegment = new ArrayList<String[]>( 0 );
+		this.currentRowIndex = 0;
+	}
+
+	/**
+	 * Move to the next row.
+	 *
+	 * @return false if there is no more row
+	 * @throws OdaException
+	 */
+	public boolean next( ) throws OdaException
+	{
+		assert currentSegment != null;
+		while ( currentRowIndex >= currentSegment.size( ) )
+		{
+			submitSegments( );
+			if ( segmentsInFlight.isEmpty( ) )
+			{
+				currentRow = null;
+				return false;
+			}
+			currentSegment = join( segmentsInFlight.removeFirst( ) );
+			currentRowIndex = 0;
+		}
+		currentRow = currentSegment.get( currentRowIndex );
+		currentSegment.set( currentRowIndex++, null );
+		return true;
+	}
+
+	/**
+	 * Returns the values of the selected columns of the current row.
+	 *
+	 * @return
+	 */
+	public String[] getRow( )
+	{
+		return currentRow;
+	}
+
+	/**
+	 * Cancel the segments in flight and close the channel.
+	 *
+	 * @throws IOException
+	 */
+	public void close( ) throws IOException
+	{
+		while ( !segmentsInFlight.isEmpty( ) )
+			segmentsInFlight.removeFirst( ).cancel( false );
+		currentSegment = null;
+		currentRow = null;
+		channel.close( );
+	}
+
+	/**
+	 * Split the file further and submit new segments until the queue of
+	 * segments in flight is full.
+	 *
+	 * @throws OdaException
+	 */
+	private void submitSegments( ) throws OdaException
+	{
+		try
+		{
+			while ( segmentsInFlight.size( ) < maxSegmentsInFlight
+					&& position < fileSize )
+			{
+				final long start = position;
+				final long end = findRecordEnd( start, start + segmentSize );
+				position = end;
+				segmentsInFlight.addLast( pool.submit( new Callable<List<String[]>>( ) {
+
+					public List<String[]> call( ) throws Exception
+					{
+						return parseSegment( start, end );
+					}
+				} ) );
+			}
+		}
+		catch ( IOException e )
+		{
+			throw new OdaException( e );
+		}
+	}
+
+	private List<String[]> join( ForkJoinTask<List<String[]>> segment )
+			throws OdaException
+	{
+		try
+		{
+			return segment.get( );
+		}
+		catch ( InterruptedException e )
+		{
+			Thread.currentThread( ).interrupt( );
+			throw new OdaException( e );
+		}
+		catch ( ExecutionException e )
+		{
+			if ( e.getCause( ) instanceof OdaException )
+				throw (OdaException) e.getCause( );
+			throw new OdaException( e.getCause( ) );
+		}
+	}
+
+	/**
+	 * Decode and tokenize the records of a segment, keeping the non-empty
+	 * ones.
+	 *
+	 * @param start
+	 * @param end
+	 * @return the selected values of the rows
+	 * @throws IOException
+	 * @throws OdaException
+	 */
+	private List<String[]> parseSegment( long start, long end )
+			throws IOException, OdaException
+	{
+		FlatFileRecordTokenizer tokenizer = new FlatFileRecordTokenizer( decode( start,
+				end ),
+				separator );
+		List<String[]> rows = new ArrayList<String[]>( );
+		while ( tokenizer.nextRecord( ) )
+		{
+			if ( tokenizer.isEmptyRecord( ) )
+				continue;
+			int columnCount = tokenizer.getColumnCount( );
+			String[] row = new String[selectColumnIndexes.length];
+			for ( int i = 0; i < row.length; i++ )
+			{
+				int location = selectColumnIndexes[i];
+				if ( location != -1 && location < columnCount )
+					row[i] = tokenizer.getColumnValue( location );
+				else if ( !trailNullColumns )
+					throw new OdaException( Messages.getString( location == -1
+							? "data_read_error" : "query_INVALID_FLAT_FILE" ) ); //$NON-NLS-1$ //$NON-NLS-2$
+			}
+			rows.add( row );
+		}
+		return rows;
+	}
+
+	/**
+	 * Decode a region of the file.
+	 *
+	 * @param start
+	 * @param end
+	 * @return
+	 * @throws IOException
+	 */
+	private CharBuffer decode( long start, long end ) throws IOException
+	{
+		MappedByteBuffer bytes = channel.map( FileChannel.MapMode.READ_ONLY,
+				start,
+				end - start );
+		CharsetDecoder decoder = charset.newDecoder( )
+				.onMalformedInput( CodingErrorAction.REPLACE )
+				.onUnmappableCharacter( CodingErrorAction.REPLACE );
+		return decoder.decode( bytes );
+	}
+
+	/**
+	 * Find the end of the first record that ends at or after the given
+	 * offset. Line feeds between double quotes do not end a record.
+	 *
+	 * @param start
+	 *            the start of a record
+	 * @param minimumEnd
+	 * @return the offset following the line feed that ends the record, or
+	 *         the file size
+	 * @throws IOException
+	 */
+	private long findRecordEnd( long start, long minimumEnd )
+			throws IOException
+	{
+		boolean inQuote = false;
+		long windowStart = start;
+		while ( windowStart < fileSize )
+		{
+			int windowSize = (int) Math.min( fileSize - windowStart,
+					segmentSize );
+			MappedByteBuffer window = channel.map( FileChannel.MapMode.READ_ONLY,
+					windowStart,
+					windowSize );
+			for ( int i = 0; i < windowSize; i++ )
+			{
+				byte b = window.get( i );
+				if ( b == DOUBLE_QUOTE )
+					inQuote = !inQuote;
+				else if ( b == LINE_FEED && !inQuote
+						&& windowStart + i + 1 >= minimumEnd )
+					return windowStart + i + 1;
+			}
+			windowStart += windowSize;
+		}
+		return fileSize;
+	}
+
+	/**
+	 * Returns the length of the UTF-8 byte order mark at the start of the
+	 * file, if any.
+	 *
+	 * @return
+	 * @throws IOException
+	 */
+	private long getBomLength( ) throws IOException
+	{
+		if ( !"UTF-8".equals( charset.name( ) ) || fileSize < 3 ) //$NON-NLS-1$
+			return 0;
+		ByteBuffer bom = ByteBuffer.allocate( 3 );
+		channel.read( bom, 0 );
+		if ( bom.get( 0 ) == (byte) 0xEF
+				&& bom.get( 1 ) == (byte) 0xBB && bom.get( 2 ) == (byte) 0xBF )
+			return 3;
+		return 0;
+	}
+}
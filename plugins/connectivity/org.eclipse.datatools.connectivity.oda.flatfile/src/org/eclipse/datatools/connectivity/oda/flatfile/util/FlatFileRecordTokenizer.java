@@ -0,0 +1,384 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Data Tools Platform and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * Contributors:
+ *  Eclipse Data Tools Platform - initial API and implementation
+ *
+ *******************************************************************************/
+
+package org.eclipse.datatools.connectivity.oda.flatfile.util;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.CharBuffer;
+import java.util.Arrays;
+
+import org.eclipse.datatools.connectivity.oda.OdaException;
+import org.eclipse.datatools.connectivity.oda.flatfile.i18n.Messages;
+
+/**
+ * FlatFileRecordTokenizer splits the records of a flat file into columns
+ * without allocating per record. Characters are read into a reusable buffer
+ * and each column of the current record is described by a pair of offsets
+ * into that buffer; a String is only created when a column value is
+ * requested.
+ * <p>
+ * The accepted format is the same as the one of
+ * <code>FlatFileQuery.FlatFileBufferedReader</code>: a record is terminated by
+ * a line feed, unquoted values are trimmed, and a double quoted value may
+ * contain separators, line feeds and escaped ("") double quotes. The blanks
+ * inside the quotes of a double quoted value are kept.
+ */
+
+public class FlatFileRecordTokenizer
+{
+
+	private static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+	private static final int INITIAL_COLUMN_CAPACITY = 16;
+	private static final int EOF = -1;
+
+	private Reader reader;
+	private char separator;
+
+	// the reusable character buffer; the current record starts at recordStart
+	// and the valid characters end at limit
+	private char[] buffer;
+	private int recordStart;
+	private int recordLength;
+	private int limit;
+	private boolean endOfStream;
+
+	// offsets of the columns of the current record, relative to recordStart
+	private int[] columnStarts;
+	private int[] columnEnds;
+	private boolean[] columnQuoted;
+	private int columnCount;
+
+	/**
+	 * Constructor
+	 *
+	 * @param reader the reader to tokenize
+	 * @param separator the column separator
+	 */
+	public FlatFileRecordTokenizer( Reader reader, char separator )
+	{
+		this( reader, separator, DEFAULT_BUFFER_SIZE );
+	}
+
+	/**
+	 * Constructor
+	 *
+	 * @param reader the reader to tokenize
+	 * @param separator the column separator
+	 * @param bufferSize the initial size of the character buffer
+	 */
+	public FlatFileRecordTokenizer( Reader reader, char separator,
+			int bufferSize )
+	{
+		assert reader != null;
+		this.reader = reader;
+		this.separator = separator;
+		this.buffer = new char[Math.max( bufferSize, 16 )];
+		this.columnStarts = new int[INITIAL_COLUMN_CAPACITY];
+		this.columnEnds = new int[INITIAL_COLUMN_CAPACITY];
+		this.columnQuoted = new boolean[INITIAL_COLUMN_CAPACITY];
+	}
+
+	/**
+	 * Constructor for content that has already been read. The characters of
+	 * the buffer are used in place and may be modified.
+	 *
+	 * @param content the characters to tokenize, backed by an array
+	 * @param separator the column separator
+	 */
+	public FlatFileRecordTokenizer( CharBuffer content, char separator )
+	{
+		assert content.hasArray( );
+		this.separator = separator;
+		this.buffer = content.array( );
+		this.recordStart = content.arrayOffset( ) + content.position( );
+		this.limit = content.arrayOffset( ) + content.limit( );
+		this.endOfStream = true;
+		this.columnStarts = new int[INITIAL_COLUMN_CAPACITY];
+		this.columnEnds = new int[INITIAL_COLUMN_CAPACITY];
+		this.columnQuoted = new boolean[INITIAL_COLUMN_CAPACITY];
+	}
+
+	/**
+	 * Move to the next record of the stream.
+	 *
+	 * @return false if the end of the stream has been reached
+	 * @throws OdaException if the record is not in a valid format
+	 */
+	public boolean nextRecord( ) throws OdaException
+	{
+		recordStart += recordLength;
+		recordLength = 0;
+		columnCount = 0;
+
+		int offset = 0;
+		int c = charAt( offset );
+		if ( c == EOF )
+			return false;
+		if ( c == '\n' )
+		{
+			// an empty line containing just a "\n"
+			recordLength = 1;
+			return true;
+		}
+
+		while ( true )
+		{
+			// skip the leading blanks of the column
+			while ( c != EOF && c != separator && c != '\n' && c <= ' ' )
+				c = charAt( ++offset );
+
+			if ( c == '"' )
+			{
+				// the unescaped value is written over the raw characters,
+				// which is safe as it is never longer than them
+				int valueStart = offset;
+				int valueEnd = offset;
+				c = charAt( ++offset );
+				while ( true )
+				{
+					if ( c == EOF )
+					{
+						// no end quotation is detected
+						throw new OdaException( Messages.getString( "invalid_flatfile_format" ) ); //$NON-NLS-1$
+					}
+					if ( c == '"' )
+					{
+						c = charAt( ++offset );
+						if ( c != '"' )
+							break;
+					}
+					buffer[recordStart + valueEnd++] = (char) c;
+					c = charAt( ++offset );
+				}
+				addColumn( valueStart, valueEnd, true );
+
+				// only blanks may follow the end quotation
+				while ( c != EOF && c != separator && c != '\n' )
+				{
+					if ( c > ' ' )
+						throw new OdaException( Messages.getString( "invalid_flatfile_format" ) ); //$NON-NLS-1$
+					c = charAt( ++offset );
+				}
+			}
+			else
+			{
+				int valueStart = offset;
+				int valueEnd = offset;
+				while ( c != EOF && c != separator && c != '\n' )
+				{
+					if ( c == '"' )
+					{
+						// other shown chars exist before the double quote
+						throw new OdaException( Messages.getString( "invalid_flatfile_format" ) ); //$NON-NLS-1$
+					}
+					if ( c > ' ' )
+						valueEnd = offset + 1;
+					c = charAt( ++offset );
+				}
+				addColumn( valueStart, valueEnd, false );
+			}
+
+			if ( c == separator )
+			{
+				c = charAt( ++offset );
+				continue;
+			}
+			if ( c == '\n' )
+				offset++;
+			break;
+		}
+		recordLength = offset;
+		return true;
+	}
+
+	/**
+	 * Returns the number of columns in the current record.
+	 *
+	 * @return
+	 */
+	public int getColumnCount( )
+	{
+		return columnCount;
+	}
+
+	/**
+	 * See if the current record is empty, that is, it has no column or a
+	 * single empty column.
+	 *
+	 * @return
+	 */
+	public boolean isEmptyRecord( )
+	{
+		return columnCount == 0
+				|| ( columnCount == 1 && columnEnds[0] == columnStarts[0] );
+	}
+
+	/**
+	 * See if a column of the current record was double quoted.
+	 *
+	 * @param index the 0-based column index
+	 * @return
+	 */
+	public boolean isColumnQuoted( int index )
+	{
+		assert index >= 0 && index < columnCount;
+		return columnQuoted[index];
+	}
+
+	/**
+	 * Returns the value of a column of the current record. Unquoted values are
+	 * trimmed, double quoted values are returned as they were quoted.
+	 *
+	 * @param index the 0-based column index
+	 * @return the column value
+	 */
+	public String getColumnValue( int index )
+	{
+		assert index >= 0 && index < columnCount;
+		int start = recordStart + columnStarts[index];
+		int end = recordStart + columnEnds[index];
+		if ( columnQuoted[index] )
+			return new String( buffer, start, end - start );
+		while ( start < end && buffer[start] <= ' ' )
+			start++;
+		while ( end > start && buffer[end - 1] <= ' ' )
+			end--;
+		return new String( buffer, start, end - start );
+	}
+
+	/**
+	 * Returns the length of the value of a column of the current record.
+	 *
+	 * @param index the 0-based column index
+	 * @return
+	 */
+	public int getColumnLength( int index )
+	{
+		assert index >= 0 && index < columnCount;
+		return columnEnds[index] - columnStarts[index];
+	}
+
+	/**
+	 * Copy the characters of the value of a column of the current record,
+	 * the same characters as the ones of {@link #getColumnValue(int)}.
+	 *
+	 * @param index the 0-based column index
+	 * @param dest the destination array
+	 * @param destPos the position of the value in the destination array
+	 */
+	public void getColumnChars( int index, char[] dest, int destPos )
+	{
+		assert index >= 0 && index < columnCount;
+		// the blanks around unquoted values are already excluded from their
+		// offsets when the record is tokenized
+		System.arraycopy( buffer,
+				recordStart + columnStarts[index],
+				dest,
+				destPos,
+				columnEnds[index] - columnStarts[index] );
+	}
+
+	/**
+	 * Returns the values of all the columns of the current record.
+	 *
+	 * @return
+	 */
+	public String[] getColumnValues( )
+	{
+		String[] values = new String[columnCount];
+		for ( int i = 0; i < columnCount; i++ )
+			values[i] = getColumnValue( i );
+		return values;
+	}
+
+	/**
+	 * Close the tokenizer and its underlying reader.
+	 *
+	 * @throws IOException
+	 */
+	public void close( ) throws IOException
+	{
+		this.buffer = null;
+		if ( this.reader != null )
+			this.reader.close( );
+	}
+
+	private void addColumn( int start, int end, boolean quoted )
+	{
+		if ( columnCount == columnStarts.length )
+		{
+			columnStarts = Arrays.copyOf( columnStarts, columnCount * 2 );
+			columnEnds = Arrays.copyOf( columnEnds, columnCount * 2 );
+			columnQuoted = Arrays.copyOf( columnQuoted, columnCount * 2 );
+		}
+		columnStarts[columnCount] = start;
+		columnEnds[columnCount] = end;
+		columnQuoted[columnCount] = quoted;
+		columnCount++;
+	}
+
+	/**
+	 * Returns the character at the given offset of the current record, reading
+	 * more characters from the stream when needed.
+	 *
+	 * @param offset offset relative to the start of the current record
+	 * @return the character, or EOF
+	 * @throws OdaException
+	 */
+	private int charAt( int offset ) throws OdaException
+	{
+		if ( recordStart + offset < limit )
+			return buffer[recordStart + offset];
+		if ( !fill( ) )
+			return EOF;
+		return buffer[recordStart + offset];
+	}
+
+	/**
+	 * Read more characters into the buffer. The current record is moved to
+	 * the beginning of the buffer first, and the buffer only grows when a
+	 * single record does not fit into it.
+	 *
+	 * @return false if the end of the stream has been reached
+	 * @throws OdaException
+	 */
+	private boolean fill( ) throws OdaException
+	{
+		if ( endOfStream )
+			return false;
+		if ( recordStart > 0 )
+		{
+			System.arraycopy( buffer, recordStart, buffer, 0, limit
+					- recordStart );
+			limit -= recordStart;
+			recordStart = 0;
+		}
+		if ( limit == buffer.length )
+			buffer = Arrays.copyOf( buffer, buffer.length * 2 );
+		try
+		{
+			int len = reader.read( buffer, limit, buffer.length - limit );
+			if ( len <= 0 )
+			{
+				endOfStream = true;
+				return false;
+			}
+			limit += len;
+			return true;
+		}
+		catch ( IOException e )
+		{
+			throw new OdaException( e );
+		}
+	}
+}
@@ -0,0 +1,617 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Data Tools Platform and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * Contributors:
+ *  Eclipse Data Tools Platform - initial API and implementation
+ *
+ *******************************************************************************/
+
+package org.eclipse.datatools.connectivity.oda.flatfile.util;
+
+import static org.eclipse.datatools.connectivity.oda.flatfile.util.FlatFileValueConverter.toBigDecimal;
+import static org.eclipse.datatools.connectivity.oda.flatfile.util.FlatFileValueConverter.toBoolean;
+import static org.eclipse.datatools.connectivity.oda.flatfile.util.FlatFileValueConverter.toDate;
+import static org.eclipse.datatools.connectivity.oda.flatfile.util.FlatFileValueConverter.toDouble;
+import static org.eclipse.datatools.connectivity.oda.flatfile.util.FlatFileValueConverter.toInt;
+import static org.eclipse.datatools.connectivity.oda.flatfile.util.FlatFileValueConverter.toTime;
+import static org.eclipse.datatools.connectivity.oda.flatfile.util.FlatFileValueConverter.toTimestamp;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.Arrays;
+import java.util.BitSet;
+
+import org.eclipse.datatools.connectivity.oda.OdaException;
+import org.eclipse.datatools.connectivity.oda.RowBatch;
+
+/**
+ * A block of rows fetched by a result set. The values of a column are
+ * converted to a vector of the declared type of the column the first time
+ * they are read with the getter of that type, so that each value is parsed
+ * once per block however often it is read. Values that are read with the
+ * getter of another type are converted on every call.
+ * <p>
+ * A block read from a streaming reader holds the characters of its values
+ * instead of Strings: the values are copied from the record tokenizer into a
+ * single character array, and a String is only created when a value is read
+ * as a String.
+ */
+
+public final class FlatFileRowBatch
+{
+
+	private static final int MISSING = -1;
+	private static final long NOT_AN_INT = Long.MIN_VALUE;
+
+	// the values of the rows; null if the values are held as characters
+	private final String[][] rows;
+	// the characters of the values, and the offsets of the value of each
+	// column of each row into them; a start of MISSING marks a row without
+	// the column
+	private char[] chars;
+	private int charCount;
+	private int[] starts;
+	private int[] ends;
+	private int rowCount;
+
+	private final int[] columnTypes;
+	private final boolean trailNullColumns;
+	private final ColumnVector[] vectors;
+
+	/**
+	 * Constructor
+	 *
+	 * @param rows
+	 *            the trimmed values of the rows
+	 * @param columnTypes
+	 *            the java.sql.Types codes of the columns
+	 * @param trailNullColumns
+	 *            whether a row may have null values for its trailing columns
+	 */
+	public FlatFileRowBatch( String[][] rows, int[] columnTypes,
+			boolean trailNullColumns )
+	{
+		this.rows = rows;
+		this.rowCount = rows.length;
+		this.columnTypes = columnTypes;
+		this.trailNullColumns = trailNullColumns;
+		this.vectors = new ColumnVector[columnTypes.length];
+	}
+
+	/**
+	 * Constructor of an empty batch that holds the characters of the values
+	 * of the rows added to it.
+	 *
+	 * @param columnTypes
+	 *            the java.sql.Types codes of the columns
+	 * @param trailNullColumns
+	 *            whether a row may have null values for its trailing columns
+	 * @param rowCapacity
+	 *            the expected number of rows
+	 */
+	public FlatFileRowBatch( int[] columnTypes, boolean trailNullColumns,
+			int rowCapacity )
+	{
+		this.rows = null;
+		this.columnTypes = columnTypes;
+		this.trailNullColumns = trailNullColumns;
+		this.vectors = new ColumnVector[columnTypes.length];
+		int cellCount = Math.max( rowCapacity, 1 ) * columnTypes.length;
+		this.starts = new int[cellCount];
+		this.ends = new int[cellCount];
+		this.chars = new char[Math.max( cellCount * 8, 16 )];
+	}
+
+	/**
+	 * Add the current record of a tokenizer to the batch. The characters of
+	 * the selected columns are copied, no String is created.
+	 *
+	 * @param tokenizer
+	 *            the tokenizer positioned on the record
+	 * @param locations
+	 *            the location in the record of each column of the batch, or
+	 *            -1 if the record has no such column
+	 */
+	public void addRow( FlatFileRecordTokenizer tokenizer, int[] locations )
+	{
+		int cell = newRow( );
+		int columnCount = tokenizer.getColumnCount( );
+		for ( int i = 0; i < locations.length; i++, cell++ )
+		{
+			int location = locations[i];
+			if ( location == -1 || location >= columnCount )
+			{
+				starts[cell] = ends[cell] = MISSING;
+				continue;
+			}
+			int length = tokenizer.getColumnLength( location );
+			ensureCharCapacity( length );
+			tokenizer.getColumnChars( location, chars, charCount );
+			starts[cell] = charCount;
+			charCount += length;
+			ends[cell] = charCount;
+		}
+	}
+
+	/**
+	 * Add a row whose values have already been extracted to the batch.
+	 *
+	 * @param values
+	 *            the trimmed values of the columns of the batch, null for a
+	 *            missing column
+	 */
+	public void addRow( String[] values )
+	{
+		int cell = newRow( );
+		for ( int i = 0; i < columnTypes.length; i++, cell++ )
+		{
+			String value = values[i];
+			if ( value == null )
+			{
+				starts[cell] = ends[cell] = MISSING;
+				continue;
+			}
+			int length = value.length( );
+			ensureCharCapacity( length );
+			value.getChars( 0, length, chars, charCount );
+			starts[cell] = charCount;
+			charCount += length;
+			ends[cell] = charCount;
+		}
+	}
+
+	/**
+	 * @return the number of rows in the batch
+	 */
+	public int getRowCount( )
+	{
+		return rowCount;
+	}
+
+	/**
+	 * Returns the value of a column as a String.
+	 *
+	 * @param row
+	 *            the 0-based index of the row in the batch
+	 * @param column
+	 *            the 0-based index of the column
+	 * @return the value, or null if it is empty
+	 */
+	public String getString( int row, int column )
+	{
+		if ( rows == null )
+		{
+			int cell = row * columnTypes.length + column;
+			int start = starts[cell];
+			if ( start == MISSING || start == ends[cell] )
+				return null;
+			return new String( chars, start, ends[cell] - start );
+		}
+		String result = rows[row][column];
+		if ( ( trailNullColumns && result == null ) || result.length( ) == 0 )
+			result = null;
+		return result;
+	}
+
+	/**
+	 * Whether the value of a column is null or empty.
+	 *
+	 * @param row
+	 * @param column
+	 * @return
+	 */
+	public boolean isNull( int row, int column )
+	{
+		ColumnVector vector = vectors[column];
+		if ( vector != null )
+			return vector.nulls.get( row );
+		if ( rows == null )
+		{
+			int cell = row * columnTypes.length + column;
+			return starts[cell] == ends[cell];
+		}
+		return getString( row, column ) == null;
+	}
+
+	public int getInt( int row, int column ) throws OdaException
+	{
+		ColumnVector vector = getVector( column, Types.INTEGER );
+		if ( vector != null && !vector.unconverted.get( row ) )
+			return vector.ints[row];
+		return toInt( getString( row, column ) );
+	}
+
+	public double getDouble( int row, int column ) throws OdaException
+	{
+		ColumnVector vector = getVector( column, Types.DOUBLE );
+		if ( vector != null && !vector.unconverted.get( row ) )
+			return vector.doubles[row];
+		return toDouble( getString( row, column ) );
+	}
+
+	public BigDecimal getBigDecimal( int row, int column ) throws OdaException
+	{
+		ColumnVector vector = getVector( column, Types.NUMERIC );
+		if ( vector == null )
+			vector = getVector( column, Types.DECIMAL );
+		if ( vector != null && !vector.unconverted.get( row ) )
+			return vector.decimals[row];
+		return toBigDecimal( getString( row, column ) );
+	}
+
+	public Date getDate( int row, int column ) throws OdaException
+	{
+		ColumnVector vector = getVector( column, Types.DATE );
+		if ( vector != null && !vector.unconverted.get( row ) )
+			return vector.nulls.get( row ) ? null : new Date( vector.longs[row] );
+		return toDate( getString( row, column ) );
+	}
+
+	public Time getTime( int row, int column ) throws OdaException
+	{
+		ColumnVector vector = getVector( column, Types.TIME );
+		if ( vector != null && !vector.unconverted.get( row ) )
+			return vector.nulls.get( row ) ? null : new Time( vector.longs[row] );
+		return toTime( getString( row, column ) );
+	}
+
+	public Timestamp getTimestamp( int row, int column ) throws OdaException
+	{
+		ColumnVector vector = getVector( column, Types.TIMESTAMP );
+		if ( vector != null && !vector.unconverted.get( row ) )
+		{
+			if ( vector.nulls.get( row ) )
+				return null;
+			Timestamp timestamp = new Timestamp( vector.longs[row] );
+			timestamp.setNanos( vector.nanos[row] );
+			return timestamp;
+		}
+		return toTimestamp( getString( row, column ) );
+	}
+
+	public boolean getBoolean( int row, int column ) throws OdaException
+	{
+		ColumnVector vector = getVector( column, Types.BOOLEAN );
+		if ( vector != null && !vector.unconverted.get( row ) )
+			return vector.booleans[row];
+		return toBoolean( getString( row, column ) ).booleanValue( );
+	}
+
+	/**
+	 * Copy the values of consecutive rows into a batch of the ODA consumer.
+	 * The INTEGER, DOUBLE and BOOLEAN columns read with their declared type
+	 * are copied from their vectors in bulk; the other values are converted
+	 * as their getter converts them.
+	 *
+	 * @param row
+	 *            the 0-based index of the first row to copy
+	 * @param batch
+	 *            the batch to copy the rows into
+	 * @param batchRow
+	 *            the 0-based position in the batch of the first row
+	 * @param count
+	 *            the number of rows to copy
+	 * @throws OdaException
+	 *             if a value cannot be converted to the type of its column
+	 */
+	public void copyTo( int row, RowBatch batch, int batchRow, int count )
+			throws OdaException
+	{
+		for ( int column = 0; column < batch.getColumnCount( ); column++ )
+		{
+			int index = column + 1;
+			int type = batch.getColumnType( index );
+			switch ( type )
+			{
+				case Types.INTEGER :
+				case Types.DOUBLE :
+				case Types.BOOLEAN :
+					copyPrimitives( column, type, row, batch, batchRow, count );
+					continue;
+				case Types.BLOB :
+				case Types.CLOB :
+				case Types.JAVA_OBJECT :
+					// as getBlob, getClob and getObject of the result set
+					throw new UnsupportedOperationException( );
+			}
+			Object[] values = batch.getObjectColumn( index );
+			for ( int i = 0; i < count; i++ )
+			{
+				Object value;
+				switch ( type )
+				{
+					case Types.DECIMAL :
+					case Types.NUMERIC :
+						value = getBigDecimal( row + i, column );
+						break;
+					case Types.DATE :
+						value = getDate( row + i, column );
+						break;
+					case Types.TIME :
+						value = getTime( row + i, column );
+						break;
+					case Types.TIMESTAMP :
+						value = getTimestamp( row + i, column );
+						break;
+					default :
+						value = getString( row + i, column );
+				}
+				values[batchRow + i] = value;
+				batch.setNull( batchRow + i, index, value == null );
+			}
+		}
+	}
+
+	private void copyPrimitives( int column, int type, int row,
+			RowBatch batch, int batchRow, int count ) throws OdaException
+	{
+		int index = column + 1;
+		ColumnVector vector = getVector( column, type );
+		if ( vector != null )
+		{
+			switch ( type )
+			{
+				case Types.INTEGER :
+					System.arraycopy( vector.ints, row, batch
+							.getIntColumn( index ), batchRow, count );
+					break;
+				case Types.DOUBLE :
+					System.arraycopy( vector.doubles, row, batch
+							.getDoubleColumn( index ), batchRow, count );
+					break;
+				default :
+					System.arraycopy( vector.booleans, row, batch
+							.getBooleanColumn( index ), batchRow, count );
+			}
+		}
+		for ( int i = 0; i < count; i++ )
+		{
+			// the getter reports the values which could not be converted
+			if ( vector == null || vector.unconverted.get( row + i ) )
+			{
+				switch ( type )
+				{
+					case Types.INTEGER :
+						batch.getIntColumn( index )[batchRow + i] = getInt( row
+								+ i, column );
+						break;
+					case Types.DOUBLE :
+						batch.getDoubleColumn( index )[batchRow + i] = getDouble( row
+								+ i, column );
+						break;
+					default :
+						batch.getBooleanColumn( index )[batchRow + i] = getBoolean( row
+								+ i, column );
+				}
+			}
+			batch.setNull( batchRow + i, index, isNull( row + i, column ) );
+		}
+	}
+
+	/**
+	 * Returns the vector of a column if the column is declared with the given
+	 * type, building it on the first call.
+	 */
+	private ColumnVector getVector( int column, int type )
+	{
+		if ( columnTypes[column] != type )
+			return null;
+		if ( vectors[column] == null )
+			vectors[column] = new ColumnVector( column, type );
+		return vectors[column];
+	}
+
+	/**
+	 * Make room for the cells of a new row.
+	 *
+	 * @return the index of the first cell of the row
+	 */
+	private int newRow( )
+	{
+		assert rows == null;
+		int cell = rowCount * columnTypes.length;
+		if ( cell + columnTypes.length > starts.length )
+		{
+			int length = Math.max( starts.length * 2, cell
+					+ columnTypes.length );
+			starts = Arrays.copyOf( starts, length );
+			ends = Arrays.copyOf( ends, length );
+		}
+		rowCount++;
+		return cell;
+	}
+
+	private void ensureCharCapacity( int length )
+	{
+		if ( charCount + length > chars.length )
+			chars = Arrays.copyOf( chars, Math.max( chars.length * 2,
+					charCount + length ) );
+	}
+
+	/**
+	 * Parse a plain decimal integer from the characters of a value.
+	 *
+	 * @return the value, or NOT_AN_INT if the characters are not a plain
+	 *         decimal int, in which case the value is converted from its
+	 *         String
+	 */
+	private static long parseInt( char[] chars, int start, int end )
+	{
+		boolean negative = false;
+		if ( start < end && ( chars[start] == '-' || chars[start] == '+' ) )
+			negative = chars[start++] == '-';
+		if ( start == end || end - start > 10 )
+			return NOT_AN_INT;
+		long value = 0;
+		for ( int i = start; i < end; i++ )
+		{
+			char c = chars[i];
+			if ( c < '0' || c > '9' )
+				return NOT_AN_INT;
+			value = value * 10 + ( c - '0' );
+		}
+		if ( negative )
+			value = -value;
+		if ( value < Integer.MIN_VALUE || value > Integer.MAX_VALUE )
+			return NOT_AN_INT;
+		return value;
+	}
+
+	/**
+	 * The converted values of a column. Values that cannot be converted are
+	 * marked as unconverted, and converted again when they are read, so that
+	 * the getter reports the error.
+	 */
+	private class ColumnVector
+	{
+
+		private final BitSet nulls = new BitSet( );
+		private final BitSet unconverted = new BitSet( );
+		private int[] ints;
+		private double[] doubles;
+		private long[] longs;
+		private int[] nanos;
+		private boolean[] booleans;
+		private BigDecimal[] decimals;
+
+		ColumnVector( int column, int type )
+		{
+			switch ( type )
+			{
+				case Types.INTEGER :
+					ints = new int[rowCount];
+					break;
+				case Types.DOUBLE :
+					doubles = new double[rowCount];
+					break;
+				case Types.NUMERIC :
+				case Types.DECIMAL :
+					decimals = new BigDecimal[rowCount];
+					break;
+				case Types.TIMESTAMP :
+					nanos = new int[rowCount];
+				case Types.DATE :
+				case Types.TIME :
+					longs = new long[rowCount];
+					break;
+				case Types.BOOLEAN :
+					booleans = new boolean[rowCount];
+					break;
+			}
+			for ( int row = 0; row < rowCount; row++ )
+			{
+				if ( rows == null )
+				{
+					int cell = row * columnTypes.length + column;
+					if ( starts[cell] == ends[cell] )
+						nulls.set( row );
+					else if ( !convert( row, type, starts[cell], ends[cell] ) )
+						unconverted.set( row );
+					continue;
+				}
+				if ( !trailNullColumns && rows[row][column] == null )
+				{
+					// left to getString to report
+					unconverted.set( row );
+					continue;
+				}
+				String value = getString( row, column );
+				if ( value == null )
+				{
+					// the vectors are initialized with the values of null
+					nulls.set( row );
+					continue;
+				}
+				try
+				{
+					convert( row, type, value );
+				}
+				catch ( OdaException e )
+				{
+					unconverted.set( row );
+				}
+			}
+		}
+
+		/**
+		 * Convert a value straight from its characters where the type allows
+		 * it.
+		 *
+		 * @return false if the value cannot be converted
+		 */
+		private boolean convert( int row, int type, int start, int end )
+		{
+			switch ( type )
+			{
+				case Types.INTEGER :
+					long value = parseInt( chars, start, end );
+					if ( value != NOT_AN_INT )
+					{
+						ints[row] = (int) value;
+						return true;
+					}
+					break;
+				case Types.NUMERIC :
+				case Types.DECIMAL :
+					try
+					{
+						decimals[row] = new BigDecimal( chars, start, end
+								- start );
+						return true;
+					}
+					catch ( NumberFormatException e )
+					{
+					}
+					break;
+			}
+			try
+			{
+				convert( row, type, new String( chars, start, end - start ) );
+				return true;
+			}
+			catch ( OdaException e )
+			{
+				return false;
+			}
+		}
+
+		private void convert( int row, int type, String value )
+				throws OdaException
+		{
+			switch ( type )
+			{
+				case Types.INTEGER :
+					ints[row] = toInt( value );
+					break;
+				case Types.DOUBLE :
+					doubles[row] = toDouble( value );
+					break;
+				case Types.NUMERIC :
+				case Types.DECIMAL :
+					decimals[row] = toBigDecimal( value );
+					break;
+				case Types.DATE :
+					longs[row] = toDate( value ).getTime( );
+					break;
+				case Types.TIME :
+					longs[row] = toTime( value ).getTime( );
+					break;
+				case Types.TIMESTAMP :
+					Timestamp timestamp = toTimestamp( value );
+					longs[row] = timestamp.getTime( );
+					nanos[row] = timestamp.getNanos( );
+					break;
+				case Types.BOOLEAN :
+					booleans[row] = toBoolean( value ).booleanValue( );
+					break;
+			}
+		}
+	}
+}
@@ -0,0 +1,714 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Data Tools Platform and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * Contributors:
+ *  Eclipse Data Tools Platform - initial API and implementation
+ *
+ *******************************************************************************/
+
+package org.eclipse.datatools.connectivity.oda.flatfile.util;
+
+import java.util.regex.Pattern;
+
+import org.eclipse.datatools.connectivity.oda.IResultSetMetaData;
+import org.eclipse.datatools.connectivity.oda.OdaException;
+import org.eclipse.datatools.connectivity.oda.flatfile.i18n.Messages;
+import org.eclipse.datatools.connectivity.oda.spec.ExpressionArguments;
+import org.eclipse.datatools.connectivity.oda.spec.ExpressionVariable;
+import org.eclipse.datatools.connectivity.oda.spec.ValueExpression;
+import org.eclipse.datatools.connectivity.oda.spec.result.ColumnIdentifier;
+import org.eclipse.datatools.connectivity.oda.spec.result.FilterExpression;
+import org.eclipse.datatools.connectivity.oda.spec.result.filter.AndExpression;
+import org.eclipse.datatools.connectivity.oda.spec.result.filter.CustomExpression;
+import org.eclipse.datatools.connectivity.oda.spec.result.filter.NotExpression;
+import org.eclipse.datatools.connectivity.oda.spec.result.filter.OrExpression;
+import org.eclipse.datatools.connectivity.oda.spec.valueexpr.ColumnValueExpression;
+import org.eclipse.datatools.connectivity.oda.spec.valueexpr.SimpleValueExpression;
+
+import com.ibm.icu.text.MessageFormat;
+
+/**
+ * FlatFileRowFilter evaluates the filter expression of a query specification
+ * against the rows of a flat file while they are read, so that rejected rows
+ * are never copied into the result set.
+ * <p>
+ * The atomic expressions are the custom filter types contributed by the
+ * flat file driver's dynamicResultSet extension, applied to a result set
+ * column; they may be combined with AND, OR and NOT expressions. The
+ * arguments are converted once to the type of the column, and only the
+ * columns referenced by the filter are converted for each row. An empty
+ * value is null: it never satisfies a comparison, but satisfies IsNull.
+ */
+
+public abstract class FlatFileRowFilter
+{
+
+	/**
+	 * The id of the extension that contributes the filter types
+	 */
+	public static final String EXTENSION_ID = "org.eclipse.datatools.connectivity.oda.flatfile.dynamicResultSet"; //$NON-NLS-1$
+
+	public static final String EQUAL = "Equal"; //$NON-NLS-1$
+	public static final String NOT_EQUAL = "NotEqual"; //$NON-NLS-1$
+	public static final String LESS_THAN = "LessThan"; //$NON-NLS-1$
+	public static final String LESS_THAN_OR_EQUAL = "LessThanOrEqual"; //$NON-NLS-1$
+	public static final String GREATER_THAN = "GreaterThan"; //$NON-NLS-1$
+	public static final String GREATER_THAN_OR_EQUAL = "GreaterThanOrEqual"; //$NON-NLS-1$
+	public static final String BETWEEN = "Between"; //$NON-NLS-1$
+	public static final String IN = "In"; //$NON-NLS-1$
+	public static final String LIKE = "Like"; //$NON-NLS-1$
+	public static final String IS_NULL = "IsNull"; //$NON-NLS-1$
+
+	/**
+	 * The values of the current row, by result set column.
+	 */
+	public interface RowValues
+	{
+
+		/**
+		 * Returns the value of a column of the current row.
+		 *
+		 * @param index
+		 *            the 0-based index of the column in the result set
+		 * @return the trimmed value, or null if the row has no such column
+		 */
+		String getValue( int index );
+	}
+
+	/**
+	 * Whether the current row satisfies the filter.
+	 *
+	 * @param row
+	 * @return
+	 * @throws OdaException
+	 *             if a value cannot be converted to the type of its column
+	 */
+	public abstract boolean accept( RowValues row ) throws OdaException;
+
+	/**
+	 * The statistics of the values of a block of rows, by result set column.
+	 */
+	public interface BlockStatistics
+	{
+
+		/**
+		 * Returns the number of rows of the block.
+		 *
+		 * @return
+		 */
+		int getRowCount( );
+
+		/**
+		 * Returns the number of non-null values of a column in the block.
+		 *
+		 * @param index
+		 *            the 0-based index of the column in the result set
+		 * @return
+		 */
+		int getValueCount( int index );
+
+		/**
+		 * Returns the minimum non-null value of a column in the block.
+		 *
+		 * @param index
+		 *            the 0-based index of the column in the result set
+		 * @param type
+		 *            the type of the column
+		 * @return a comparable value of the column type, or null if it is not
+		 *         known
+		 */
+		Comparable<Object> getMinimum( int index, int type );
+
+		/**
+		 * Returns the maximum non-null value of a column in the block.
+		 *
+		 * @param index
+		 *            the 0-based index of the column in the result set
+		 * @param type
+		 *            the type of the column
+		 * @return a comparable value of the column type, or null if it is not
+		 *         known
+		 */
+		Comparable<Object> getMaximum( int index, int type );
+	}
+
+	/**
+	 * Whether some rows of a block may satisfy the filter, given the
+	 * statistics of the block. A block for which this returns false can be
+	 * skipped.
+	 *
+	 * @param block
+	 * @return false only if no row of the block satisfies the filter
+	 */
+	public boolean mayAccept( BlockStatistics block )
+	{
+		return true;
+	}
+
+	/**
+	 * Validate that the filter expression is supported by the flat file
+	 * driver. The column references are only resolved when the filter is
+	 * created, as the result set meta-data is not known yet.
+	 *
+	 * @param filter
+	 * @throws OdaException
+	 *             if the expression is not supported
+	 */
+	public static void validate( FilterExpression filter ) throws OdaException
+	{
+		create( filter, null );
+	}
+
+	/**
+	 * Create the filter for a filter expression.
+	 *
+	 * @param filter
+	 *            the filter expression
+	 * @param rsmd
+	 *            the meta-data of the result set the columns of the
+	 *            expression refer to
+	 * @return
+	 * @throws OdaException
+	 *             if the expression is not supported or refers to an unknown
+	 *             column
+	 */
+	public static FlatFileRowFilter create( FilterExpression filter,
+			IResultSetMetaData rsmd ) throws OdaException
+	{
+		if ( filter instanceof AndExpression )
+			return new AndFilter( createChildren( ( (AndExpression) filter ).getChildren( ),
+					rsmd ) );
+		if ( filter instanceof OrExpression )
+			return new OrFilter( createChildren( ( (OrExpression) filter ).getChildren( ),
+					rsmd ) );
+		if ( filter instanceof NotExpression )
+		{
+			FilterExpression negated = ( (NotExpression) filter ).getNegatingExpression( );
+			if ( negated == null )
+				throw unsupported( filter.getName( ) );
+			return new NotFilter( create( negated, rsmd ) );
+		}
+		if ( filter instanceof CustomExpression )
+			return createAtomicFilter( (CustomExpression) filter, rsmd );
+		throw unsupported( filter == null ? null : filter.getName( ) );
+	}
+
+	private static FlatFileRowFilter[] createChildren(
+			FilterExpression[] children, IResultSetMetaData rsmd )
+			throws OdaException
+	{
+		FlatFileRowFilter[] filters = new FlatFileRowFilter[children.length];
+		for ( int i = 0; i < children.length; i++ )
+			filters[i] = create( children[i], rsmd );
+		return filters;
+	}
+
+	/**
+	 *
+	 * @param expr
+	 * @param rsmd
+	 * @return
+	 * @throws OdaException
+	 */
+	private static FlatFileRowFilter createAtomicFilter( CustomExpression expr,
+			IResultSetMetaData rsmd ) throws OdaException
+	{
+		String id = expr.getId( );
+		if ( !EXTENSION_ID.equals( expr.getDeclaringExtensionId( ) ) )
+			throw unsupported( expr.getQualifiedId( ) );
+
+		int argumentCount = expr.getArguments( ).valueCount( );
+		int minArguments, maxArguments;
+		if ( IS_NULL.equals( id ) )
+			minArguments = maxArguments = 0;
+		else if ( BETWEEN.equals( id ) )
+			minArguments = maxArguments = 2;
+		else if ( IN.equals( id ) )
+		{
+			minArguments = 1;
+			maxArguments = Integer.MAX_VALUE;
+		}
+		else if ( EQUAL.equals( id )
+				|| NOT_EQUAL.equals( id ) || LESS_THAN.equals( id )
+				|| LESS_THAN_OR_EQUAL.equals( id ) || GREATER_THAN.equals( id )
+				|| GREATER_THAN_OR_EQUAL.equals( id ) || LIKE.equals( id ) )
+			minArguments = maxArguments = 1;
+		else
+			throw unsupported( expr.getQualifiedId( ) );
+		if ( argumentCount < minArguments || argumentCount > maxArguments )
+			throw new OdaException( MessageFormat.format( Messages.getString( "filter_INVALID_ARGUMENT_COUNT" ), //$NON-NLS-1$
+					new Object[]{
+							id, Integer.valueOf( argumentCount )
+					} ) );
+
+		ColumnIdentifier column = getColumn( expr );
+		for ( int i = 0; i < argumentCount; i++ )
+			getArgumentValue( expr.getArguments( ), i );
+		if ( rsmd == null )
+			return null;
+
+		int index = findColumn( column, rsmd );
+		int type = rsmd.getColumnType( index + 1 );
+		if ( IS_NULL.equals( id ) )
+			return new IsNullFilter( index );
+		if ( LIKE.equals( id ) )
+			return new LikeFilter( index,
+					toLikePattern( String.valueOf( getArgumentValue( expr.getArguments( ),
+							0 ) ) ) );
+
+		Comparable<Object>[] arguments = convertArguments( expr.getArguments( ),
+				type );
+		if ( IN.equals( id ) )
+			return new InFilter( index, type, arguments );
+		if ( BETWEEN.equals( id ) )
+			return new BetweenFilter( index, type, arguments[0], arguments[1] );
+		return new ComparisonFilter( index, type, id, arguments[0] );
+	}
+
+	/**
+	 * Returns the result set column of an atomic expression.
+	 *
+	 * @param expr
+	 * @return
+	 * @throws OdaException
+	 */
+	private static ColumnIdentifier getColumn( CustomExpression expr )
+			throws OdaException
+	{
+		ExpressionVariable variable = expr.getVariable( );
+		if ( variable == null
+				|| !( variable.getValueExpression( ) instanceof ColumnValueExpression ) )
+			throw new OdaException( MessageFormat.format( Messages.getString( "filter_COLUMN_VARIABLE_REQUIRED" ), //$NON-NLS-1$
+					new Object[]{
+						expr.getId( )
+					} ) );
+		return ( (ColumnValueExpression) variable.getValueExpression( ) ).getColumnReference( );
+	}
+
+	/**
+	 * Returns the literal value of an argument.
+	 *
+	 * @param args
+	 * @param index
+	 * @return
+	 * @throws OdaException
+	 *             if the argument is not a literal value
+	 */
+	private static Object getArgumentValue( ExpressionArguments args, int index )
+			throws OdaException
+	{
+		Object value = args.getValue( index );
+		if ( value instanceof SimpleValueExpression )
+			value = ( (SimpleValueExpression) value ).getValue( );
+		if ( value == null
+				|| value instanceof ValueExpression
+				|| value instanceof ColumnIdentifier )
+			throw new OdaException( MessageFormat.format( Messages.getString( "filter_UNSUPPORTED_ARGUMENT" ), //$NON-NLS-1$
+					new Object[]{
+						value
+					} ) );
+		return value;
+	}
+
+	/**
+	 * Find the 0-based index of a column in the result set, by position or
+	 * by name or label.
+	 *
+	 * @param column
+	 * @param rsmd
+	 * @return
+	 * @throws OdaException
+	 */
+	static int findColumn( ColumnIdentifier column,
+			IResultSetMetaData rsmd ) throws OdaException
+	{
+		int columnCount = rsmd.getColumnCount( );
+		if ( column.isIdentifiedByNumber( ) )
+		{
+			int position = column.getNumber( ).intValue( );
+			if ( position <= columnCount )
+				return position - 1;
+		}
+		else if ( column.hasNameExpression( ) )
+		{
+			String name = column.getNameExpression( ).trim( );
+			for ( int i = 1; i <= columnCount; i++ )
+			{
+				if ( name.equalsIgnoreCase( rsmd.getColumnName( i ) )
+						|| name.equalsIgnoreCase( rsmd.getColumnLabel( i ) ) )
+					return i - 1;
+			}
+		}
+		throw new OdaException( Messages.getString( "resultSet_COLUMN_NOT_FOUND" ) //$NON-NLS-1$
+				+ column );
+	}
+
+	@SuppressWarnings("unchecked")
+	private static Comparable<Object>[] convertArguments(
+			ExpressionArguments args, int type ) throws OdaException
+	{
+		Comparable<Object>[] values = new Comparable[args.valueCount( )];
+		for ( int i = 0; i < values.length; i++ )
+			values[i] = FlatFileValueConverter.toComparable( getArgumentValue( args,
+					i ), type );
+		return values;
+	}
+
+	/**
+	 * Translate a SQL LIKE pattern, in which '%' matches any sequence of
+	 * characters and '_' any single character, to a regular expression.
+	 *
+	 * @param likePattern
+	 * @return
+	 */
+	private static Pattern toLikePattern( String likePattern )
+	{
+		StringBuffer regex = new StringBuffer( );
+		int literalStart = 0;
+		for ( int i = 0; i < likePattern.length( ); i++ )
+		{
+			char c = likePattern.charAt( i );
+			if ( c == '%' || c == '_' )
+			{
+				if ( i > literalStart )
+					regex.append( Pattern.quote( likePattern.substring( literalStart,
+							i ) ) );
+				regex.append( c == '%' ? ".*" : "." ); //$NON-NLS-1$ //$NON-NLS-2$
+				literalStart = i + 1;
+			}
+		}
+		if ( literalStart < likePattern.length( ) )
+			regex.append( Pattern.quote( likePattern.substring( literalStart ) ) );
+		return Pattern.compile( regex.toString( ), Pattern.DOTALL );
+	}
+
+	private static OdaException unsupported( String name )
+	{
+		return new OdaException( MessageFormat.format( Messages.getString( "filter_UNSUPPORTED_EXPRESSION" ), //$NON-NLS-1$
+				new Object[]{
+					name
+				} ) );
+	}
+
+	/**
+	 * Returns the value of a column of the current row, or null if it is
+	 * empty.
+	 *
+	 * @param row
+	 * @param index
+	 * @return
+	 */
+	private static String getValue( RowValues row, int index )
+	{
+		String value = row.getValue( index );
+		if ( value == null || value.length( ) == 0 )
+			return null;
+		return value;
+	}
+
+	private static class AndFilter extends FlatFileRowFilter
+	{
+
+		private FlatFileRowFilter[] filters;
+
+		AndFilter( FlatFileRowFilter[] filters )
+		{
+			this.filters = filters;
+		}
+
+		public boolean accept( RowValues row ) throws OdaException
+		{
+			for ( int i = 0; i < filters.length; i++ )
+			{
+				if ( !filters[i].accept( row ) )
+					return false;
+			}
+			return true;
+		}
+
+		public boolean mayAccept( BlockStatistics block )
+		{
+			for ( int i = 0; i < filters.length; i++ )
+			{
+				if ( !filters[i].mayAccept( block ) )
+					return false;
+			}
+			return true;
+		}
+	}
+
+	private static class OrFilter extends FlatFileRowFilter
+	{
+
+		private FlatFileRowFilter[] filters;
+
+		OrFilter( FlatFileRowFilter[] filters )
+		{
+			this.filters = filters;
+		}
+
+		public boolean accept( RowValues row ) throws OdaException
+		{
+			for ( int i = 0; i < filters.length; i++ )
+			{
+				if ( filters[i].accept( row ) )
+					return true;
+			}
+			return false;
+		}
+
+		public boolean mayAccept( BlockStatistics block )
+		{
+			for ( int i = 0; i < filters.length; i++ )
+			{
+				if ( filters[i].mayAccept( block ) )
+					return true;
+			}
+			return false;
+		}
+	}
+
+	private static class NotFilter extends FlatFileRowFilter
+	{
+
+		private FlatFileRowFilter filter;
+
+		NotFilter( FlatFileRowFilter filter )
+		{
+			this.filter = filter;
+		}
+
+		public boolean accept( RowValues row ) throws OdaException
+		{
+			return !filter.accept( row );
+		}
+
+		public boolean mayAccept( BlockStatistics block )
+		{
+			// only a negated null test can be decided from the statistics
+			if ( filter instanceof IsNullFilter )
+				return block.getValueCount( ( (IsNullFilter) filter ).index ) > 0;
+			return true;
+		}
+	}
+
+	private static class IsNullFilter extends FlatFileRowFilter
+	{
+
+		private int index;
+
+		IsNullFilter( int index )
+		{
+			this.index = index;
+		}
+
+		public boolean accept( RowValues row )
+		{
+			return getValue( row, index ) == null;
+		}
+
+		public boolean mayAccept( BlockStatistics block )
+		{
+			return block.getValueCount( index ) < block.getRowCount( );
+		}
+	}
+
+	private static class LikeFilter extends FlatFileRowFilter
+	{
+
+		private int index;
+		private Pattern pattern;
+
+		LikeFilter( int index, Pattern pattern )
+		{
+			this.index = index;
+			this.pattern = pattern;
+		}
+
+		public boolean accept( RowValues row )
+		{
+			String value = getValue( row, index );
+			return value != null && pattern.matcher( value ).matches( );
+		}
+
+		public boolean mayAccept( BlockStatistics block )
+		{
+			return block.getValueCount( index ) > 0;
+		}
+	}
+
+	private static class ComparisonFilter extends FlatFileRowFilter
+	{
+
+		private static final int EQ = 0;
+		private static final int NE = 1;
+		private static final int LT = 2;
+		private static final int LE = 3;
+		private static final int GT = 4;
+		private static final int GE = 5;
+
+		private int index;
+		private int type;
+		private int operator;
+		private Comparable<Object> argument;
+
+		ComparisonFilter( int index, int type, String operator,
+				Comparable<Object> argument )
+		{
+			this.index = index;
+			this.type = type;
+			this.argument = argument;
+			if ( EQUAL.equals( operator ) )
+				this.operator = EQ;
+			else if ( NOT_EQUAL.equals( operator ) )
+				this.operator = NE;
+			else if ( LESS_THAN.equals( operator ) )
+				this.operator = LT;
+			else if ( LESS_THAN_OR_EQUAL.equals( operator ) )
+				this.operator = LE;
+			else if ( GREATER_THAN.equals( operator ) )
+				this.operator = GT;
+			else
+				this.operator = GE;
+		}
+
+		public boolean accept( RowValues row ) throws OdaException
+		{
+			String value = getValue( row, index );
+			if ( value == null )
+				return false;
+			int result = FlatFileValueConverter.toComparable( value, type )
+					.compareTo( argument );
+			switch ( operator )
+			{
+				case EQ :
+					return result == 0;
+				case NE :
+					return result != 0;
+				case LT :
+					return result < 0;
+				case LE :
+					return result <= 0;
+				case GT :
+					return result > 0;
+				default :
+					return result >= 0;
+			}
+		}
+
+		public boolean mayAccept( BlockStatistics block )
+		{
+			if ( block.getValueCount( index ) == 0 )
+				return false;
+			Comparable<Object> minimum = block.getMinimum( index, type );
+			Comparable<Object> maximum = block.getMaximum( index, type );
+			if ( minimum == null || maximum == null )
+				return true;
+			switch ( operator )
+			{
+				case EQ :
+					return minimum.compareTo( argument ) <= 0
+							&& maximum.compareTo( argument ) >= 0;
+				case NE :
+					return minimum.compareTo( argument ) != 0
+							|| maximum.compareTo( argument ) != 0;
+				case LT :
+					return minimum.compareTo( argument ) < 0;
+				case LE :
+					return minimum.compareTo( argument ) <= 0;
+				case GT :
+					return maximum.compareTo( argument ) > 0;
+				default :
+					return maximum.compareTo( argument ) >= 0;
+			}
+		}
+	}
+
+	private static class BetweenFilter extends FlatFileRowFilter
+	{
+
+		private int index;
+		private int type;
+		private Comparable<Object> low;
+		private Comparable<Object> high;
+
+		BetweenFilter( int index, int type, Comparable<Object> low,
+				Comparable<Object> high )
+		{
+			this.index = index;
+			this.type = type;
+			this.low = low;
+			this.high = high;
+		}
+
+		public boolean accept( RowValues row ) throws OdaException
+		{
+			String value = getValue( row, index );
+			if ( value == null )
+				return false;
+			Comparable<Object> converted = FlatFileValueConverter.toComparable( value, type );
+			return converted.compareTo( low ) >= 0
+					&& converted.compareTo( high ) <= 0;
+		}
+
+		public boolean mayAccept( BlockStatistics block )
+		{
+			if ( block.getValueCount( index ) == 0 )
+				return false;
+			Comparable<Object> minimum = block.getMinimum( index, type );
+			Comparable<Object> maximum = block.getMaximum( index, type );
+			return minimum == null || maximum == null
+					|| ( maximum.compareTo( low ) >= 0 && minimum.compareTo( high ) <= 0 );
+		}
+	}
+
+	private static class InFilter extends FlatFileRowFilter
+	{
+
+		private int index;
+		private int type;
+		private Comparable<Object>[] arguments;
+
+		InFilter( int index, int type, Comparable<Object>[] arguments )
+		{
+			this.index = index;
+			this.type = type;
+			this.arguments = arguments;
+		}
+
+		public boolean accept( RowValues row ) throws OdaException
+		{
+			String value = getValue( row, index );
+			if ( value == null )
+				return false;
+			Comparable<Object> converted = FlatFileValueConverter.toComparable( value, type );
+			for ( int i = 0; i < arguments.length; i++ )
+			{
+				if ( converted.compareTo( arguments[i] ) == 0 )
+					return true;
+			}
+			return false;
+		}
+
+		public boolean mayAccept( BlockStatistics block )
+		{
+			if ( block.getValueCount( index ) == 0 )
+				return false;
+			Comparable<Object> minimum = block.getMinimum( index, type );
+			Comparable<Object> maximum = block.getMaximum( index, type );
+			if ( minimum == null || maximum == null )
+				return true;
+			for ( int i = 0; i < arguments.length; i++ )
+			{
+				if ( minimum.compareTo( arguments[i] ) <= 0
+						&& maximum.compareTo( arguments[i] ) >= 0 )
+					return true;
+			}
+			return false;
+		}
+	}
+}
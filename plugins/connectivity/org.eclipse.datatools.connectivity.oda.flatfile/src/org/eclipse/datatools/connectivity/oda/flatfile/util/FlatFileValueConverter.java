@@ -0,0 +1,394 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Data Tools Platform and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * Contributors:
+ *  Eclipse Data Tools Platform - initial API and implementation
+ *
+ *******************************************************************************/
+
+package org.eclipse.datatools.connectivity.oda.flatfile.util;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.text.ParseException;
+import java.util.regex.Pattern;
+
+import org.eclipse.datatools.connectivity.oda.OdaException;
+import org.eclipse.datatools.connectivity.oda.flatfile.i18n.Messages;
+
+import com.ibm.icu.text.MessageFormat;
+import com.ibm.icu.text.NumberFormat;
+import com.ibm.icu.util.ULocale;
+
+/**
+ * Converts the raw values of a flat file to values of the type of their
+ * column. Numbers are compared as BigDecimal, date and time values by their
+ * time in milliseconds, so that both the row filter and the sort of a query
+ * compare values the same way. The same conversions back the typed getters of
+ * the result set.
+ */
+
+public final class FlatFileValueConverter
+{
+
+	private static ULocale JRE_DEFAULT_LOCALE = ULocale.getDefault( );
+	private static Pattern pattern1 = Pattern.compile( "\\QT\\E" ); //$NON-NLS-1$
+	private static Pattern pattern2 = Pattern.compile( "\\QZ\\E" ); //$NON-NLS-1$
+
+	private FlatFileValueConverter( )
+	{
+	}
+
+	/**
+	 * Convert a non-empty value to a comparable value of the column type.
+	 *
+	 * @param value
+	 *            the trimmed value
+	 * @param type
+	 *            the java.sql.Types code of the column
+	 * @return
+	 * @throws OdaException
+	 *             if the value cannot be converted to the column type
+	 */
+	@SuppressWarnings("unchecked")
+	public static Comparable<Object> toComparable( String value, int type )
+			throws OdaException
+	{
+		try
+		{
+			switch ( type )
+			{
+				case Types.INTEGER :
+				case Types.DOUBLE :
+				case Types.DECIMAL :
+				case Types.NUMERIC :
+					return (Comparable) toBigDecimal( value );
+				case Types.DATE :
+					return (Comparable) Long.valueOf( DateUtil.toSqlDate( value )
+							.getTime( ) );
+				case Types.TIME :
+					return (Comparable) Long.valueOf( DateUtil.toSqlTime( value )
+							.getTime( ) );
+				case Types.TIMESTAMP :
+					return (Comparable) Long.valueOf( toTimestamp( value ).getTime( ) );
+				case Types.BOOLEAN :
+					return (Comparable) toBoolean( value );
+				default :
+					return (Comparable) value;
+			}
+		}
+		catch ( OdaException e )
+		{
+			throw new OdaException( MessageFormat.format( Messages.getString( "filter_CANNOT_CONVERT_VALUE" ), //$NON-NLS-1$
+					new Object[]{
+						value
+					} ) );
+		}
+	}
+
+	/**
+	 * Convert a literal value, such as the argument of a filter, to a
+	 * comparable value of the column type.
+	 *
+	 * @param literal
+	 * @param type
+	 *            the java.sql.Types code of the column
+	 * @return
+	 * @throws OdaException
+	 *             if the value cannot be converted to the column type
+	 */
+	@SuppressWarnings("unchecked")
+	public static Comparable<Object> toComparable( Object literal, int type )
+			throws OdaException
+	{
+		if ( literal instanceof java.util.Date && isDateType( type ) )
+			return (Comparable) Long.valueOf( ( (java.util.Date) literal ).getTime( ) );
+		if ( literal instanceof Boolean && type == Types.BOOLEAN )
+			return (Comparable) literal;
+		return toComparable( literal.toString( ).trim( ), type );
+	}
+
+	/**
+	 * Whether the values of a column type are compared as numbers.
+	 *
+	 * @param type
+	 * @return
+	 */
+	public static boolean isNumericType( int type )
+	{
+		return type == Types.INTEGER || type == Types.DOUBLE
+				|| type == Types.DECIMAL || type == Types.NUMERIC;
+	}
+
+	/**
+	 * Whether the values of a column type are compared as text.
+	 *
+	 * @param type
+	 * @return
+	 */
+	public static boolean isTextType( int type )
+	{
+		return !isNumericType( type ) && !isDateType( type )
+				&& type != Types.BOOLEAN;
+	}
+
+	/**
+	 * Transform a String value to an int value
+	 *
+	 * @param stringValue
+	 *            String value
+	 * @return Corresponding int value, or 0 if the value is null
+	 * @throws OdaException
+	 */
+	public static int toInt( String stringValue ) throws OdaException
+	{
+		if ( stringValue != null )
+		{
+			try
+			{
+				return Integer.valueOf( stringValue ).intValue( );
+			}
+			catch ( NumberFormatException e )
+			{
+				try
+				{
+					Number number = NumberFormat.getInstance( JRE_DEFAULT_LOCALE )
+							.parse( stringValue );
+					if ( number != null )
+					{
+						return number.intValue( );
+					}
+				}
+				catch ( ParseException e1 )
+				{
+					throw new OdaException( "Can not convert " + "\"" + stringValue + "\"" + " to Integer" );
+				}
+			}
+		}
+		return 0;
+	}
+
+	/**
+	 * Transform a String value to a double value
+	 *
+	 * @param stringValue
+	 *            String value
+	 * @return Corresponding double value, or 0 if the value is null
+	 * @throws OdaException
+	 */
+	public static double toDouble( String stringValue ) throws OdaException
+	{
+		if ( stringValue != null )
+		{
+			try
+			{
+				return Double.valueOf( stringValue ).doubleValue( );
+			}
+			catch ( NumberFormatException e )
+			{
+				try
+				{
+					Number number = NumberFormat.getInstance( JRE_DEFAULT_LOCALE )
+							.parse( stringValue );
+					if ( number != null )
+					{
+						return number.doubleValue( );
+					}
+				}
+				catch ( ParseException e1 )
+				{
+					throw new OdaException( "Can not convert " + "\"" + stringValue + "\"" + " to a double value" );
+				}
+			}
+		}
+		return 0;
+	}
+
+	/**
+	 * Transform a String value to a big decimal value
+	 *
+	 * @param stringValue
+	 *            String value
+	 * @return Corresponding BigDecimal value
+	 * @throws OdaException
+	 */
+	public static BigDecimal toBigDecimal( String stringValue )
+			throws OdaException
+	{
+		if ( stringValue != null )
+		{
+			try
+			{
+				return new BigDecimal( stringValue );
+			}
+			catch ( NumberFormatException e )
+			{
+				try
+				{
+					Number number = NumberFormat.getInstance( JRE_DEFAULT_LOCALE )
+							.parse( stringValue );
+					if ( number != null )
+					{
+						return new BigDecimal( number.toString( ) );
+					}
+				}
+				catch ( ParseException e1 )
+				{
+					throw new OdaException( "Can not convert " + "\"" + stringValue + "\"" + " to a BigDecimal value" );
+				}
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Transform a String value to a date value
+	 *
+	 * @param stringValue
+	 *            String value
+	 * @return Corresponding date value
+	 * @throws OdaException
+	 */
+	public static Date toDate( String stringValue ) throws OdaException
+	{
+		if ( stringValue != null )
+		{
+			try
+			{
+				return DateUtil.toSqlDate( stringValue );
+			}
+			catch ( OdaException oe )
+			{
+				throw new OdaException( "Can not convert " + "\"" + stringValue + "\"" + " to a date value" );
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Transform a String value to a Time value
+	 *
+	 * @param stringValue
+	 *            String value
+	 * @return Corresponding Time value
+	 * @throws OdaException
+	 */
+	public static Time toTime( String stringValue ) throws OdaException
+	{
+		if ( stringValue != null )
+		{
+			try
+			{
+				return DateUtil.toSqlTime( stringValue );
+			}
+			catch ( OdaException oe )
+			{
+				throw new OdaException( "Can not convert " + "\"" + stringValue + "\"" + " to a Time value" );
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Transform a String value to a Timestamp value
+	 *
+	 * @param stringValue
+	 *            String value
+	 * @return Corresponding Timestamp value
+	 * @throws OdaException
+	 */
+	public static Timestamp toTimestamp( String stringValue )
+			throws OdaException
+	{
+		if ( stringValue != null )
+		{
+			try
+			{
+				String value = pattern1.matcher( stringValue ).replaceAll( " " ); //$NON-NLS-1$
+				value = pattern2.split( value )[0];
+				return Timestamp.valueOf( value );
+			}
+			catch ( IllegalArgumentException e )
+			{
+				try
+				{
+					long timeMills = Long.valueOf( stringValue ).longValue( );
+					return new Timestamp( timeMills );
+				}
+				catch ( NumberFormatException e1 )
+				{
+					try
+					{
+						java.util.Date date = DateUtil.toDate( stringValue );
+						Timestamp timeStamp = new Timestamp( date.getTime( ) );
+						return timeStamp;
+					}
+					catch ( OdaException ex )
+					{
+						throw new OdaException( "Can not convert string " + "\"" + stringValue + "\"" + " to a Timestamp value" );
+					}
+				}
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Transform a string to boolean value
+	 *
+	 * @param stringValue
+	 * @return
+	 * @throws OdaException
+	 */
+	public static Boolean toBoolean( String stringValue ) throws OdaException
+	{
+		if ( stringValue != null )
+		{
+			if ( stringValue.equalsIgnoreCase( "true" ) ) //$NON-NLS-1$
+				return Boolean.TRUE;
+			else if ( stringValue.equalsIgnoreCase( "false" ) ) //$NON-NLS-1$
+				return Boolean.FALSE;
+			else
+			{
+				try
+				{
+					if ( Integer.parseInt( stringValue ) == 0 )
+						return Boolean.FALSE;
+					else
+						return Boolean.TRUE;
+				}
+				catch ( NumberFormatException e )
+				{
+					try
+					{
+						Number number = NumberFormat.getInstance( JRE_DEFAULT_LOCALE )
+								.parse( stringValue );
+						if ( number != null )
+						{
+							return number.intValue( ) == 0 ? Boolean.FALSE
+									: Boolean.TRUE;
+						}
+					}
+					catch ( ParseException e1 )
+					{
+						throw new OdaException( "Can not convert " + "\"" + stringValue + "\"" + " to boolean value" );
+					}
+				}
+			}
+		}
+		return Boolean.FALSE;
+	}
+
+	private static boolean isDateType( int type )
+	{
+		return type == Types.DATE || type == Types.TIME
+				|| type == Types.TIMESTAMP;
+	}
+}
@@ -0,0 +1,44 @@
+/*
+ *************************************************************************
+ * Copyright (c) 2026 Eclipse Data Tools Platform and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * Contributors:
+ *  Eclipse Data Tools Platform - initial API and implementation
+ *
+ *************************************************************************
+ */
+
+package org.eclipse.datatools.connectivity.oda;
+
+/**
+ * An optional, extended result set interface for fetching a block of rows
+ * in one call, instead of a value at a time.
+ * An ODA consumer checks whether a result set implements this interface
+ * and, if so, reads its rows into a {@link RowBatch} re-used from one
+ * fetch to the next.
+ * <p>
+ * The rows fetched are the same as those returned by
+ * successive calls to {@link IResultSet#next()}, within the MaxRows limit.
+ * Once a fetch returns, the cursor is positioned on the last row fetched.
+ * A consumer should not mix calls to fetchRows and to the getters
+ * of the result set.
+ * @since 3.7
+ */
+public interface IBatchResultSet extends IResultSet
+{
+	/**
+	 * Moves the cursor down by up to the capacity of the batch,
+	 * copying the values of each row into the batch.
+	 * A driver with no faster way to copy its rows may
+	 * return <code>batch.fill( this )</code>.
+	 * @param batch	the batch to fill; its previous rows are replaced
+	 * @return	the number of rows fetched, also set as the row count
+	 * 			of the batch; 0 if there are no more rows
+	 * @throws OdaException		if data source error occurs
+	 */
+	public int fetchRows( RowBatch batch ) throws OdaException;
+}
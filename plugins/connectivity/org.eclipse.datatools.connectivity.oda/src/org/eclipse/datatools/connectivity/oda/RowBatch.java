@@ -0,0 +1,274 @@
+/*
+ *************************************************************************
+ * Copyright (c) 2026 Eclipse Data Tools Platform and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * Contributors:
+ *  Eclipse Data Tools Platform - initial API and implementation
+ *
+ *************************************************************************
+ */
+
+package org.eclipse.datatools.connectivity.oda;
+
+import java.sql.Types;
+
+/**
+ * A block of result set rows, stored in one typed array per column,
+ * filled by {@link IBatchResultSet#fetchRows(RowBatch)}.
+ * <p>
+ * The type of each column is specified by the ODA consumer, as the
+ * java.sql.Types code of its ODA scalar data type; the native type codes
+ * returned by {@link IResultSetMetaData#getColumnType(int)} are mapped to
+ * those with the data type mappings of the driver's extension manifest.
+ * The values of an INTEGER, DOUBLE or BOOLEAN column are stored in an
+ * array of the primitive type; the values of the other columns are stored in
+ * an array of objects, as returned by the getter of their type:
+ * getString for character types, getBigDecimal for DECIMAL and NUMERIC,
+ * getDate, getTime, getTimestamp, getBlob, getClob, and getObject for
+ * JAVA_OBJECT. Null values are marked as such for all the columns.
+ * <p>
+ * A batch is re-used from one fetch to the next; its arrays are
+ * allocated once, for the capacity of the batch.
+ * Column indices are 1-based, as in IResultSet; row indices are 0-based
+ * positions in the batch.
+ * @since 3.7
+ */
+public class RowBatch
+{
+	private final int[] m_columnTypes;
+	private final int m_capacity;
+	private final Object[] m_columns;
+	private final boolean[][] m_nulls;
+	private int m_rowCount;
+
+	/**
+	 * Instantiates a batch for the specified column types.
+	 * @param columnTypes	the java.sql.Types codes of the ODA data types of the 
+	 * 						result set columns, in the order of their position
+	 * @param capacity		the maximum number of rows fetched at once
+	 * @throws IllegalArgumentException	if the capacity is not positive
+	 */
+	public RowBatch( int[] columnTypes, int capacity )
+	{
+		if( capacity <= 0 )
+			throw new IllegalArgumentException( Integer.toString( capacity ) );
+
+		m_columnTypes = (int[]) columnTypes.clone();
+		m_capacity = capacity;
+		m_columns = new Object[ columnTypes.length ];
+		m_nulls = new boolean[ columnTypes.length ][ capacity ];
+		for( int i = 0; i < columnTypes.length; i++ )
+		{
+			switch( columnTypes[i] )
+			{
+				case Types.INTEGER:
+					m_columns[i] = new int[ capacity ];
+					break;
+				case Types.DOUBLE:
+					m_columns[i] = new double[ capacity ];
+					break;
+				case Types.BOOLEAN:
+					m_columns[i] = new boolean[ capacity ];
+					break;
+				default:
+					m_columns[i] = new Object[ capacity ];
+			}
+		}
+	}
+
+	/**
+	 * Returns the maximum number of rows of this batch.
+	 * @return	the capacity of this batch
+	 */
+	public int getCapacity()
+	{
+		return m_capacity;
+	}
+
+	/**
+	 * Returns the number of columns of this batch.
+	 * @return	the number of columns
+	 */
+	public int getColumnCount()
+	{
+		return m_columnTypes.length;
+	}
+
+	/**
+	 * Returns the type of the specified column.
+	 * @param index	column number (1-based)
+	 * @return	the java.sql.Types code of the column
+	 */
+	public int getColumnType( int index )
+	{
+		return m_columnTypes[ index - 1 ];
+	}
+
+	/**
+	 * Returns the number of rows fetched by the last fetch.
+	 * @return	the number of rows in this batch
+	 */
+	public int getRowCount()
+	{
+		return m_rowCount;
+	}
+
+	/**
+	 * Specifies the number of rows fetched;
+	 * to be called by the result set filling this batch.
+	 * @param rowCount	the number of rows in this batch
+	 * @throws IllegalArgumentException	if the row count exceeds the capacity
+	 */
+	public void setRowCount( int rowCount )
+	{
+		if( rowCount < 0 || rowCount > m_capacity )
+			throw new IllegalArgumentException( Integer.toString( rowCount ) );
+		m_rowCount = rowCount;
+	}
+
+	/**
+	 * Returns the values of an INTEGER column.
+	 * @param index	column number (1-based)
+	 * @return	the array of the values, of which only the first
+	 * 			{@link #getRowCount()} are valid
+	 * @throws ClassCastException	if the column is not an INTEGER column
+	 */
+	public int[] getIntColumn( int index )
+	{
+		return (int[]) m_columns[ index - 1 ];
+	}
+
+	/**
+	 * Returns the values of a DOUBLE column.
+	 * @param index	column number (1-based)
+	 * @return	the array of the values, of which only the first
+	 * 			{@link #getRowCount()} are valid
+	 * @throws ClassCastException	if the column is not a DOUBLE column
+	 */
+	public double[] getDoubleColumn( int index )
+	{
+		return (double[]) m_columns[ index - 1 ];
+	}
+
+	/**
+	 * Returns the values of a BOOLEAN column.
+	 * @param index	column number (1-based)
+	 * @return	the array of the values, of which only the first
+	 * 			{@link #getRowCount()} are valid
+	 * @throws ClassCastException	if the column is not a BOOLEAN column
+	 */
+	public boolean[] getBooleanColumn( int index )
+	{
+		return (boolean[]) m_columns[ index - 1 ];
+	}
+
+	/**
+	 * Returns the values of a column which is not of a primitive type.
+	 * @param index	column number (1-based)
+	 * @return	the array of the values, of which only the first
+	 * 			{@link #getRowCount()} are valid
+	 * @throws ClassCastException	if the column is an INTEGER,
+	 * 			DOUBLE or BOOLEAN column
+	 */
+	public Object[] getObjectColumn( int index )
+	{
+		return (Object[]) m_columns[ index - 1 ];
+	}
+
+	/**
+	 * Returns whether the value of a column is null.
+	 * @param row	row position in this batch (0-based)
+	 * @param index	column number (1-based)
+	 * @return	true if the value is null
+	 */
+	public boolean isNull( int row, int index )
+	{
+		return m_nulls[ index - 1 ][ row ];
+	}
+
+	/**
+	 * Specifies whether the value of a column is null;
+	 * to be called by the result set filling this batch.
+	 * @param row	row position in this batch (0-based)
+	 * @param index	column number (1-based)
+	 * @param isNull	true if the value is null
+	 */
+	public void setNull( int row, int index, boolean isNull )
+	{
+		m_nulls[ index - 1 ][ row ] = isNull;
+	}
+
+	/**
+	 * Fills this batch with the next rows of a result set, reading the
+	 * values of each row through the getters of the result set.
+	 * This is the default implementation of
+	 * {@link IBatchResultSet#fetchRows(RowBatch)}, for the drivers
+	 * which have no faster way to copy their rows.
+	 * @param resultSet	the result set to read
+	 * @return	the number of rows fetched; 0 if there are no more rows
+	 * @throws OdaException		if data source error occurs
+	 */
+	public int fill( IResultSet resultSet ) throws OdaException
+	{
+		int row = 0;
+		while( row < m_capacity && resultSet.next() )
+		{
+			for( int i = 0; i < m_columns.length; i++ )
+				readValue( resultSet, row, i );
+			row++;
+		}
+		m_rowCount = row;
+		return row;
+	}
+
+	private void readValue( IResultSet resultSet, int row, int i ) throws OdaException
+	{
+		int index = i + 1;
+		Object value;
+		switch( m_columnTypes[i] )
+		{
+			case Types.INTEGER:
+				( (int[]) m_columns[i] )[ row ] = resultSet.getInt( index );
+				m_nulls[i][ row ] = resultSet.wasNull();
+				return;
+			case Types.DOUBLE:
+				( (double[]) m_columns[i] )[ row ] = resultSet.getDouble( index );
+				m_nulls[i][ row ] = resultSet.wasNull();
+				return;
+			case Types.BOOLEAN:
+				( (boolean[]) m_columns[i] )[ row ] = resultSet.getBoolean( index );
+				m_nulls[i][ row ] = resultSet.wasNull();
+				return;
+			case Types.DECIMAL:
+			case Types.NUMERIC:
+				value = resultSet.getBigDecimal( index );
+				break;
+			case Types.DATE:
+				value = resultSet.getDate( index );
+				break;
+			case Types.TIME:
+				value = resultSet.getTime( index );
+				break;
+			case Types.TIMESTAMP:
+				value = resultSet.getTimestamp( index );
+				break;
+			case Types.BLOB:
+				value = resultSet.getBlob( index );
+				break;
+			case Types.CLOB:
+				value = resultSet.getClob( index );
+				break;
+			case Types.JAVA_OBJECT:
+				value = resultSet.getObject( index );
+				break;
+			default:
+				value = resultSet.getString( index );
+		}
+		( (Object[]) m_columns[i] )[ row ] = value;
+		m_nulls[i][ row ] = ( value == null );
+	}
+}
@@ -0,0 +1,72 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Data Tools Platform and others.
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * Contributors: Eclipse Data Tools Platform - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.datatools.connectivity.sqm.core.rte;
+
+import java.io.Serializable;
+
+import org.eclipse.emf.common.notify.Notifier;
+
+/**
+ * Turns the notifications of a catalog object off while some of its
+ * features are loaded. The features of an object may be loaded by several
+ * threads at once, each under the LazyLoadState of its feature: saving and
+ * restoring eDeliver() around each load would then leave the notifications
+ * off when the loads overlap. The suspensions are counted instead, and the
+ * notifications are restored when the last load ends.
+ *
+ * <pre>
+ * delivery.suspend();
+ * try {
+ * 	// load the feature
+ * }
+ * finally {
+ * 	delivery.resume();
+ * }
+ * </pre>
+ *
+ * @since 1.5
+ */
+public final class DeliverySuspender implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	private final Notifier mNotifier;
+	private int mDepth;
+	private boolean mDeliver;
+
+	/**
+	 * @param notifier the catalog object
+	 */
+	public DeliverySuspender(Notifier notifier) {
+		mNotifier = notifier;
+	}
+
+	/**
+	 * Turns the notifications of the object off, if this is the first
+	 * suspension.
+	 */
+	public synchronized void suspend() {
+		if (mDepth++ == 0) {
+			mDeliver = mNotifier.eDeliver();
+			mNotifier.eSetDeliver(false);
+		}
+	}
+
+	/**
+	 * Restores the notifications of the object as they were before the first
+	 * suspension, if this ends the last suspension.
+	 */
+	public synchronized void resume() {
+		if (mDepth > 0 && --mDepth == 0) {
+			mNotifier.eSetDeliver(mDeliver);
+		}
+	}
+}
@@ -0,0 +1,81 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Data Tools Platform and others.
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * Contributors: Eclipse Data Tools Platform - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.datatools.connectivity.sqm.core.rte;
+
+import java.io.Serializable;
+
+/**
+ * The load state of one lazily loaded feature of a catalog object. Each
+ * catalog object keeps one final instance per feature, which is both the
+ * "loaded" flag and the lock guarding the load of the feature:
+ *
+ * <pre>
+ * public EList getColumns() {
+ * 	if (!columnsLoaded.isLoaded()) {
+ * 		synchronized (columnsLoaded) {
+ * 			if (!columnsLoaded.isLoaded())
+ * 				loadColumns(); // ends with columnsLoaded.setLoaded(true)
+ * 		}
+ * 	}
+ * 	return super.getColumns();
+ * }
+ * </pre>
+ *
+ * The flag is volatile, so that the loaded features are read without
+ * locking. It is set when a load ends, while holding the lock, and is usually
+ * reset while holding the lock too, so that a refresh waits for a load in
+ * progress. A refresh which must not wait, because the load may itself
+ * refresh the object, resets the flag without the lock; the load then has to
+ * tell whether it was refreshed meanwhile, for instance by counting the
+ * refreshes, and leave the flag reset if it was (see the constraints of
+ * JDBCTable).
+ *
+ * @since 1.5
+ */
+public final class LazyLoadState implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	private volatile boolean mLoaded;
+
+	/**
+	 * Creates a state of a feature not loaded yet.
+	 */
+	public LazyLoadState() {
+		this(false);
+	}
+
+	/**
+	 * @param loaded whether the feature is initially loaded
+	 */
+	public LazyLoadState(boolean loaded) {
+		mLoaded = loaded;
+	}
+
+	/**
+	 * @return whether the feature is loaded
+	 */
+	public boolean isLoaded() {
+		return mLoaded;
+	}
+
+	/**
+	 * @param loaded whether the feature is loaded; false to have the feature
+	 *        loaded again on next access
+	 */
+	public void setLoaded(boolean loaded) {
+		mLoaded = loaded;
+	}
+
+	public String toString() {
+		return String.valueOf(mLoaded);
+	}
+}
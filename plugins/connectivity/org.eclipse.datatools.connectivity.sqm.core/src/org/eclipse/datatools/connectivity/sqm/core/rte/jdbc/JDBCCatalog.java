@@ -16,7 +16,9 @@ import java.util.ArrayList;
 import java.util.List;
 
 import org.eclipse.datatools.connectivity.sqm.core.definition.DatabaseDefinition;
+import org.eclipse.datatools.connectivity.sqm.core.rte.DeliverySuspender;
 import org.eclipse.datatools.connectivity.sqm.core.rte.ICatalogObject;
+import org.eclipse.datatools.connectivity.sqm.core.rte.LazyLoadState;
 import org.eclipse.datatools.connectivity.sqm.core.rte.RefreshManager;
 import org.eclipse.datatools.connectivity.sqm.core.util.CatalogLoaderOverrideManager;
 import org.eclipse.datatools.connectivity.sqm.internal.core.RDBCorePlugin;
@@ -50,8 +52,8 @@ public class JDBCCatalog extends CatalogImpl implements ICatalogObject {
 
 	public void refresh() {
 		synchronized (schemasLoaded) {
-			if (schemasLoaded.booleanValue()) {
-				schemasLoaded = Boolean.FALSE;
+			if (schemasLoaded.isLoaded()) {
+				schemasLoaded.setLoaded(false);
 			}
 		}
 
@@ -59,9 +61,11 @@ public class JDBCCatalog extends CatalogImpl implements ICatalogObject {
 	}
 
 	public EList getSchemas() {
-		synchronized (schemasLoaded) {
-			if (!schemasLoaded.booleanValue())
-				loadSchemas();
+		if (!schemasLoaded.isLoaded()) {
+			synchronized (schemasLoaded) {
+				if (!schemasLoaded.isLoaded())
+					loadSchemas();
+			}
 		}
 		return super.getSchemas();
 	}
@@ -89,20 +93,18 @@ public class JDBCCatalog extends CatalogImpl implements ICatalogObject {
 	}
 
 	private void loadSchemas() {
-		boolean deliver = eDeliver();
+		delivery.suspend();
 		try {
 			List container = super.getSchemas();
 			List existingSchemas = new ArrayList(container);
 			
-			eSetDeliver(false);
-
 			container.clear();
 
 			getLoader().loadSchemas(container, existingSchemas);
 
 			getLoader().clearSchemas(existingSchemas);
 
-			schemasLoaded = Boolean.TRUE;
+			schemasLoaded.setLoaded(true);
 
 			if (filterListener == null) {
 				ConnectionInfo connectionInfo = DatabaseConnectionRegistry
@@ -116,7 +118,7 @@ public class JDBCCatalog extends CatalogImpl implements ICatalogObject {
 			e.printStackTrace();
 		}
 		finally {
-			eSetDeliver(deliver);
+			delivery.resume();
 		}
 	}
 
@@ -136,12 +138,14 @@ public class JDBCCatalog extends CatalogImpl implements ICatalogObject {
 		boolean refresh = false;
 		ConnectionInfo conInf = DatabaseConnectionRegistry.getInstance()
 				.getConnectionForDatabase(getCatalogDatabase());
-		if (schemasLoaded.booleanValue()
+		if (schemasLoaded.isLoaded()
 				&& (filterKey.equals(getSchemaFilterKey()) || (conInf != null
 						&& ConnectionFilter.SCHEMA_FILTER.equals(filterKey) && conInf
 						.getFilter(getSchemaFilterKey()) == null))) {
-			schemasLoaded = Boolean.FALSE;
-			getLoader().clearSchemas(super.getSchemas());
+			synchronized (schemasLoaded) {
+				schemasLoaded.setLoaded(false);
+				getLoader().clearSchemas(super.getSchemas());
+			}
 			refresh = true;
 		}
 		if (refresh) {
@@ -149,7 +153,12 @@ public class JDBCCatalog extends CatalogImpl implements ICatalogObject {
 		}
 	}
 
-	private Boolean schemasLoaded = Boolean.FALSE;
+	/**
+	 * Turns the notifications off while the features of this object are
+	 * loaded.
+	 */
+	protected final DeliverySuspender delivery = new DeliverySuspender(this);
+	private final LazyLoadState schemasLoaded = new LazyLoadState();
 	private transient ConnectionFilterListener filterListener;
 	private SoftReference schemaLoaderRef;
 
@@ -16,7 +16,9 @@ import java.util.ArrayList;
 import java.util.List;
 
 import org.eclipse.datatools.connectivity.sqm.core.definition.DatabaseDefinition;
+import org.eclipse.datatools.connectivity.sqm.core.rte.DeliverySuspender;
 import org.eclipse.datatools.connectivity.sqm.core.rte.ICatalogObject;
+import org.eclipse.datatools.connectivity.sqm.core.rte.LazyLoadState;
 import org.eclipse.datatools.connectivity.sqm.core.rte.RefreshManager;
 import org.eclipse.datatools.connectivity.sqm.core.util.CatalogLoaderOverrideManager;
 import org.eclipse.datatools.connectivity.sqm.internal.core.RDBCorePlugin;
@@ -26,6 +28,7 @@ import org.eclipse.datatools.connectivity.sqm.internal.core.connection.Connectio
 import org.eclipse.datatools.connectivity.sqm.internal.core.connection.DatabaseConnectionRegistry;
 import org.eclipse.datatools.connectivity.sqm.loader.JDBCBaseLoader;
 import org.eclipse.datatools.connectivity.sqm.loader.JDBCCatalogLoader;
+import org.eclipse.datatools.connectivity.sqm.loader.JDBCParallelCatalogLoader;
 import org.eclipse.datatools.modelbase.sql.schema.Database;
 import org.eclipse.datatools.modelbase.sql.schema.SQLSchemaPackage;
 import org.eclipse.datatools.modelbase.sql.schema.impl.DatabaseImpl;
@@ -50,8 +53,8 @@ public class JDBCDatabase extends DatabaseImpl implements ICatalogObject {
 
 	public void refresh() {
 		synchronized (catalogsLoaded) {
-			if (catalogsLoaded.booleanValue()) {
-				catalogsLoaded = Boolean.FALSE;
+			if (catalogsLoaded.isLoaded()) {
+				catalogsLoaded.setLoaded(false);
 			}
 		}
 
@@ -59,8 +62,11 @@ public class JDBCDatabase extends DatabaseImpl implements ICatalogObject {
 	}
 
 	public EList getCatalogs() {
-		synchronized (catalogsLoaded) {
-			if(!catalogsLoaded.booleanValue()) loadCatalogs();
+		if (!catalogsLoaded.isLoaded()) {
+			synchronized (catalogsLoaded) {
+				if (!catalogsLoaded.isLoaded())
+					loadCatalogs();
+			}
 		}
 		return super.getCatalogs();
 	}
@@ -89,20 +95,18 @@ public class JDBCDatabase extends DatabaseImpl implements ICatalogObject {
 	}
 
 	private void loadCatalogs() {
-		boolean deliver = eDeliver();
+		delivery.suspend();
 		try {
 			List container = super.getCatalogs();
 			List existingCatalogs = new ArrayList(container);
 			
-			eSetDeliver(false);
-
 			container.clear();
 
 			getLoader().loadCatalogs(container, existingCatalogs);
 
 			getLoader().clearCatalogs(existingCatalogs);
 
-			catalogsLoaded = Boolean.TRUE;
+			catalogsLoaded.setLoaded(true);
 
 			if (filterListener == null) {
 				ConnectionInfo connectionInfo = DatabaseConnectionRegistry
@@ -115,11 +119,16 @@ public class JDBCDatabase extends DatabaseImpl implements ICatalogObject {
 			e.printStackTrace();
 		}
 		finally {
-			eSetDeliver(deliver);
+			delivery.resume();
 		}
 	}
 
 	public Connection getConnection() {
+		// the threads of a parallel load use their own connection
+		Connection workerConnection = JDBCParallelCatalogLoader.getWorkerConnection(this);
+		if (workerConnection != null) {
+			return workerConnection;
+		}
 		return connection;
 	}
 	
@@ -136,7 +145,7 @@ public class JDBCDatabase extends DatabaseImpl implements ICatalogObject {
 	}
 	
 	private void handleFilterChanged(String filterKey) {
-		if (!catalogsLoaded.booleanValue()) {
+		if (!catalogsLoaded.isLoaded()) {
 			return;
 		}
 		if (ConnectionFilter.CATALOG_FILTER.equals(filterKey)) {
@@ -145,7 +154,12 @@ public class JDBCDatabase extends DatabaseImpl implements ICatalogObject {
 	}
 	
 	private Connection connection;
-	private Boolean catalogsLoaded = Boolean.FALSE;
+	/**
+	 * Turns the notifications off while the features of this object are
+	 * loaded.
+	 */
+	protected final DeliverySuspender delivery = new DeliverySuspender(this);
+	private final LazyLoadState catalogsLoaded = new LazyLoadState();
 	private transient ConnectionFilterListener filterListener;
 	private SoftReference catalogLoaderRef;
 	
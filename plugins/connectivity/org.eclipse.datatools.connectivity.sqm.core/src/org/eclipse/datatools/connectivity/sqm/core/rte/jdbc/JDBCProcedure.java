@@ -14,7 +14,9 @@ import java.util.ArrayList;
 import java.util.List;
 
 import org.eclipse.datatools.connectivity.sqm.core.definition.DatabaseDefinition;
+import org.eclipse.datatools.connectivity.sqm.core.rte.DeliverySuspender;
 import org.eclipse.datatools.connectivity.sqm.core.rte.ICatalogObject;
+import org.eclipse.datatools.connectivity.sqm.core.rte.LazyLoadState;
 import org.eclipse.datatools.connectivity.sqm.core.rte.RefreshManager;
 import org.eclipse.datatools.connectivity.sqm.core.util.CatalogLoaderOverrideManager;
 import org.eclipse.datatools.connectivity.sqm.internal.core.RDBCorePlugin;
@@ -33,13 +35,13 @@ public class JDBCProcedure extends ProcedureImpl implements ICatalogObject {
 	
 	public void refresh() {
 		synchronized (parametersLoaded) {
-			if (parametersLoaded.booleanValue()) {
-				parametersLoaded = Boolean.FALSE;
+			if (parametersLoaded.isLoaded()) {
+				parametersLoaded.setLoaded(false);
 			}
 		}
 		synchronized (resultTablesLoaded) {
-			if (resultTablesLoaded.booleanValue()) {
-				resultTablesLoaded = Boolean.FALSE;
+			if (resultTablesLoaded.isLoaded()) {
+				resultTablesLoaded.setLoaded(false);
 			}
 		}
 
@@ -59,17 +61,21 @@ public class JDBCProcedure extends ProcedureImpl implements ICatalogObject {
 	}
 
 	public EList getParameters() {
-		synchronized (parametersLoaded) {
-			if (!parametersLoaded.booleanValue())
-				loadParameters();
+		if (!parametersLoaded.isLoaded()) {
+			synchronized (parametersLoaded) {
+				if (!parametersLoaded.isLoaded())
+					loadParameters();
+			}
 		}
 		return super.getParameters();
 	}
 
 	public EList getResultSet() {
-		synchronized (resultTablesLoaded) {
-			if (!resultTablesLoaded.booleanValue())
-				loadRoutineResultTables();
+		if (!resultTablesLoaded.isLoaded()) {
+			synchronized (resultTablesLoaded) {
+				if (!resultTablesLoaded.isLoaded())
+					loadRoutineResultTables();
+			}
 		}
 		return super.getResultSet();
 	}
@@ -98,15 +104,13 @@ public class JDBCProcedure extends ProcedureImpl implements ICatalogObject {
 	}
 
 	private void loadParameters() {
-		parametersLoaded = Boolean.TRUE;
+		parametersLoaded.setLoaded(true);
 
-		boolean deliver = eDeliver();
+		delivery.suspend();
 		try {
 			List parametersContainer = super.getParameters();
 			List existingParameters = new ArrayList(parametersContainer);
 
-			eSetDeliver(false);
-
 			parametersContainer.clear();
 
 			getParameterLoader().loadParameters(parametersContainer, existingParameters);
@@ -117,19 +121,17 @@ public class JDBCProcedure extends ProcedureImpl implements ICatalogObject {
 			e.printStackTrace();
 		}
 		finally {
-			eSetDeliver(deliver);
+			delivery.resume();
 		}
 	}
 	
 	private void loadRoutineResultTables() {
-		resultTablesLoaded = Boolean.TRUE;
+		resultTablesLoaded.setLoaded(true);
 
-		boolean deliver = eDeliver();
+		delivery.suspend();
 		try {
 			List resultTablesContainer = super.getResultSet();
 
-			eSetDeliver(false);
-
 			resultTablesContainer.clear();
 
 			resultTablesContainer.addAll(getParameterLoader().loadRoutineResultTables());
@@ -139,7 +141,7 @@ public class JDBCProcedure extends ProcedureImpl implements ICatalogObject {
 			e.printStackTrace();
 		}
 		finally {
-			eSetDeliver(deliver);
+			delivery.resume();
 		}
 	}
 
@@ -156,8 +158,13 @@ public class JDBCProcedure extends ProcedureImpl implements ICatalogObject {
 		return super.eIsSet(eFeature);
 	}
 
-	private Boolean parametersLoaded = Boolean.FALSE;
-	private Boolean resultTablesLoaded = Boolean.FALSE;
+	/**
+	 * Turns the notifications off while the features of this object are
+	 * loaded.
+	 */
+	protected final DeliverySuspender delivery = new DeliverySuspender(this);
+	private final LazyLoadState parametersLoaded = new LazyLoadState();
+	private final LazyLoadState resultTablesLoaded = new LazyLoadState();
 	private SoftReference paremeterLoaderRef;
 
 }
@@ -14,11 +14,16 @@ import java.sql.DatabaseMetaData;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
 import java.util.Vector;
 
 import org.eclipse.datatools.connectivity.sqm.core.definition.DatabaseDefinition;
+import org.eclipse.datatools.connectivity.sqm.core.rte.DeliverySuspender;
 import org.eclipse.datatools.connectivity.sqm.core.rte.ICatalogObject;
+import org.eclipse.datatools.connectivity.sqm.core.rte.LazyLoadState;
 import org.eclipse.datatools.connectivity.sqm.core.rte.RefreshManager;
 import org.eclipse.datatools.connectivity.sqm.core.util.CatalogLoaderOverrideManager;
 import org.eclipse.datatools.connectivity.sqm.internal.core.RDBCorePlugin;
@@ -28,6 +33,9 @@ import org.eclipse.datatools.connectivity.sqm.internal.core.connection.Connectio
 import org.eclipse.datatools.connectivity.sqm.internal.core.connection.DatabaseConnectionRegistry;
 import org.eclipse.datatools.connectivity.sqm.loader.JDBCBaseLoader;
 import org.eclipse.datatools.connectivity.sqm.loader.JDBCRoutineLoader;
+import org.eclipse.datatools.connectivity.sqm.loader.JDBCSchemaBulkLoader;
+import org.eclipse.datatools.connectivity.sqm.loader.JDBCSchemaChangeDetector;
+import org.eclipse.datatools.connectivity.sqm.loader.JDBCSchemaChangeDetector.SchemaChanges;
 import org.eclipse.datatools.connectivity.sqm.loader.JDBCTableLoader;
 import org.eclipse.datatools.connectivity.sqm.loader.JDBCUserDefinedTypeLoader;
 import org.eclipse.datatools.modelbase.sql.datatypes.SQLDataTypesPackage;
@@ -65,28 +73,31 @@ public class JDBCSchema extends SchemaImpl implements ICatalogObject {
 
 	public void refresh() {
 		synchronized (tablesLoaded) {
-			if (tablesLoaded.booleanValue()) {
-				tablesLoaded = Boolean.FALSE;
+			if (tablesLoaded.isLoaded() && !refreshChangedTables()) {
+				tablesLoaded.setLoaded(false);
 			}
 		}
 		synchronized (routinesLoaded) {
-			if (routinesLoaded.booleanValue()) {
-				routinesLoaded = Boolean.FALSE;
+			if (routinesLoaded.isLoaded()) {
+				routinesLoaded.setLoaded(false);
 			}
 		}
 		synchronized (udtsLoaded) {
-			if (udtsLoaded.booleanValue()) {
-				udtsLoaded = Boolean.FALSE;
+			if (udtsLoaded.isLoaded()) {
+				udtsLoaded.setLoaded(false);
 			}
 		}
+		clearBulkLoader();
 
 		RefreshManager.getInstance().referesh(this);
 	}
 
 	public EList getTables() {
-		synchronized (tablesLoaded) {
-			if (!tablesLoaded.booleanValue())
-				loadTables();
+		if (!tablesLoaded.isLoaded()) {
+			synchronized (tablesLoaded) {
+				if (!tablesLoaded.isLoaded())
+					loadTables();
+			}
 		}
 		return super.getTables();
 	}
@@ -114,28 +125,170 @@ public class JDBCSchema extends SchemaImpl implements ICatalogObject {
 		return (JDBCTableLoader) tableLoaderRef.get();
 	}
 
+	/**
+	 * Creates the loader fetching the columns, keys and indexes of all the
+	 * tables of this schema at once. The default version returns the override
+	 * loader registered for the JDBCSchemaBulkLoader eclass, if any, else a
+	 * JDBCSchemaBulkLoader if the bulk loading preference is set, else null.
+	 * 
+	 * @return the bulk loader, or null if the tables load their own contents
+	 */
+	protected JDBCSchemaBulkLoader createBulkLoader() {
+		DatabaseDefinition databaseDefinition = RDBCorePlugin.getDefault().getDatabaseDefinitionRegistry().
+			getDefinition(this.getCatalogDatabase());
+
+		JDBCBaseLoader loader =
+			CatalogLoaderOverrideManager.INSTANCE.getLoaderForDatabase(databaseDefinition, 
+					JDBCSchemaBulkLoader.OVERRIDE_ECLASS);
+
+		if (loader instanceof JDBCSchemaBulkLoader) {
+			JDBCSchemaBulkLoader bulkLoader = (JDBCSchemaBulkLoader) loader;
+			bulkLoader.setCatalogObject(this);
+			return bulkLoader;
+		}
+		if (JDBCSchemaBulkLoader.isBulkLoadingEnabled()) {
+			return new JDBCSchemaBulkLoader(this);
+		}
+		return null;
+	}
+
+	/**
+	 * @return the loader fetching the columns, keys and indexes of all the
+	 *         tables of this schema at once, or null if the tables load their
+	 *         own contents
+	 */
+	public JDBCSchemaBulkLoader getBulkLoader() {
+		synchronized (bulkLoaderLock) {
+			if (!bulkLoaderCreated) {
+				bulkLoader = createBulkLoader();
+				bulkLoaderCreated = true;
+			}
+			return bulkLoader;
+		}
+	}
+
+	private void clearBulkLoader() {
+		synchronized (bulkLoaderLock) {
+			if (bulkLoader != null) {
+				bulkLoader.clear();
+			}
+		}
+	}
+
+	/**
+	 * Creates the detector telling which tables changed since they were
+	 * loaded, so that a refresh of this schema only reloads those tables. The
+	 * default version returns null unless the incremental refresh preference
+	 * is set, and then the override loader registered for the
+	 * JDBCSchemaChangeDetector eclass, if any, else a JDBCSchemaChangeDetector.
+	 * 
+	 * @return the change detector, or null if a refresh reloads all the
+	 *         tables
+	 */
+	protected JDBCSchemaChangeDetector createChangeDetector() {
+		if (!JDBCSchemaChangeDetector.isIncrementalRefreshEnabled()) {
+			return null;
+		}
+		DatabaseDefinition databaseDefinition = RDBCorePlugin.getDefault().getDatabaseDefinitionRegistry().
+			getDefinition(this.getCatalogDatabase());
+
+		JDBCBaseLoader loader =
+			CatalogLoaderOverrideManager.INSTANCE.getLoaderForDatabase(databaseDefinition, 
+					JDBCSchemaChangeDetector.OVERRIDE_ECLASS);
+
+		if (loader instanceof JDBCSchemaChangeDetector) {
+			JDBCSchemaChangeDetector changeDetector = (JDBCSchemaChangeDetector) loader;
+			changeDetector.setCatalogObject(this);
+			return changeDetector;
+		}
+		return new JDBCSchemaChangeDetector(this);
+	}
+
+	private JDBCSchemaChangeDetector getChangeDetector() {
+		if (!changeDetectorCreated) {
+			// no detector is kept, so that the preference applies once set
+			changeDetector = createChangeDetector();
+			changeDetectorCreated = changeDetector != null;
+		}
+		return changeDetector;
+	}
+
+	/**
+	 * Refreshes the tables which changed since they were loaded, if the
+	 * changes can be detected. When tables were created or dropped, the list
+	 * of tables is loaded again, but the tables which did not change are
+	 * reused without being refreshed.
+	 * 
+	 * @return false if all the tables must be loaded again
+	 */
+	private boolean refreshChangedTables() {
+		JDBCSchemaChangeDetector detector = getChangeDetector();
+		if (detector == null) {
+			return false;
+		}
+		try {
+			List tables = super.getTables();
+			SchemaChanges changes = detector.detectChanges(tables);
+			if (changes == null) {
+				return false;
+			}
+			Set changedTables = new HashSet(changes.getChangedTables());
+			if (changes.isTableListChanged()) {
+				unchangedTableNames = new HashSet();
+				for (Iterator it = tables.iterator(); it.hasNext();) {
+					Table table = (Table) it.next();
+					if (!changedTables.contains(table)) {
+						unchangedTableNames.add(table.getName());
+					}
+				}
+				return false;
+			}
+			for (Iterator it = changedTables.iterator(); it.hasNext();) {
+				Object table = it.next();
+				if (table instanceof ICatalogObject) {
+					((ICatalogObject) table).refresh();
+				}
+			}
+			return true;
+		}
+		catch (SQLException e) {
+			e.printStackTrace();
+			return false;
+		}
+	}
+
 	private void loadTables() {
 		synchronized (tablesLoaded) {
-			boolean deliver = eDeliver();
+			delivery.suspend();
 			try {
+				clearBulkLoader();
+
 				List container = super.getTables();
 				List existingTables = new ArrayList(container);
 				
-				eSetDeliver(false);
-
 				container.clear();
 
+				// after a detection, the tables which did not change are reused:
+				// the next detection must start from the point they were
+				// compared at, which detectChanges() recorded, not from now
+				JDBCSchemaChangeDetector detector = getChangeDetector();
+				if (detector != null && unchangedTableNames == null) {
+					detector.recordLoad();
+				}
+				getTableLoader().setUnchangedTableNames(unchangedTableNames);
+				unchangedTableNames = null;
+
 				getTableLoader().loadTables(container, existingTables);
 
 				getTableLoader().clearTables(existingTables);
 
-				tablesLoaded = Boolean.TRUE;
+				tablesLoaded.setLoaded(true);
 			}
 			catch (Exception e) {
 				e.printStackTrace();
 			}
 			finally {
-				eSetDeliver(deliver);
+				delivery.resume();
 			}
 		}
 	}
@@ -147,9 +300,11 @@ public class JDBCSchema extends SchemaImpl implements ICatalogObject {
 	}
 
 	public EList getRoutines() {
-		synchronized (routinesLoaded) {
-			if (!routinesLoaded.booleanValue())
-				loadRoutines();
+		if (!routinesLoaded.isLoaded()) {
+			synchronized (routinesLoaded) {
+				if (!routinesLoaded.isLoaded())
+					loadRoutines();
+			}
 		}
 		return super.getRoutines();
 	}
@@ -179,26 +334,24 @@ public class JDBCSchema extends SchemaImpl implements ICatalogObject {
 
 	private void loadRoutines() {
 		synchronized (routinesLoaded) {
-			boolean deliver = eDeliver();
+			delivery.suspend();
 			try {
 				List container = super.getRoutines();
 				List existingRoutines = new ArrayList(container);
 				
-				eSetDeliver(false);
-
 				container.clear();
 
 				getRoutineLoader().loadRoutines(container, existingRoutines);
 
 				getRoutineLoader().clearRoutines(existingRoutines);
 
-				routinesLoaded = Boolean.TRUE;
+				routinesLoaded.setLoaded(true);
 			}
 			catch (Exception e) {
 				e.printStackTrace();
 			}
 			finally {
-				eSetDeliver(deliver);
+				delivery.resume();
 			}
 		}
 	}
@@ -210,9 +363,11 @@ public class JDBCSchema extends SchemaImpl implements ICatalogObject {
 	}
 
 	public EList getUserDefinedTypes() {
-		synchronized (udtsLoaded) {
-			if (!routinesLoaded.booleanValue())
-				loadUDTs();
+		if (!udtsLoaded.isLoaded()) {
+			synchronized (udtsLoaded) {
+				if (!udtsLoaded.isLoaded())
+					loadUDTs();
+			}
 		}
 		return super.getUserDefinedTypes();
 	}
@@ -241,27 +396,25 @@ public class JDBCSchema extends SchemaImpl implements ICatalogObject {
 	}
 
 	private void loadUDTs() {
-		synchronized (routinesLoaded) {
-			boolean deliver = eDeliver();
+		synchronized (udtsLoaded) {
+			delivery.suspend();
 			try {
 				List container = super.getUserDefinedTypes();
 				List existingUDTs = new ArrayList(container);
 				
-				eSetDeliver(false);
-
 				container.clear();
 
 				getUDTLoader().loadUDTs(container, existingUDTs);
 
 				getUDTLoader().clearUDTs(existingUDTs);
 
-				udtsLoaded = Boolean.TRUE;
+				udtsLoaded.setLoaded(true);
 			}
 			catch (Exception e) {
 				e.printStackTrace();
 			}
 			finally {
-				eSetDeliver(deliver);
+				delivery.resume();
 			}
 		}
 	}
@@ -311,7 +464,7 @@ public class JDBCSchema extends SchemaImpl implements ICatalogObject {
 		boolean refresh = false;
 		ConnectionInfo conInf = DatabaseConnectionRegistry.getInstance()
 				.getConnectionForDatabase(getCatalogDatabase());
-		if (tablesLoaded.booleanValue()
+		if (tablesLoaded.isLoaded()
 				&& filterKey.equals(getTableFilterKey())
 				|| (conInf != null
 						&& conInf.getFilter(getTableFilterKey()) == null && (ConnectionFilter.TABLE_FILTER
@@ -319,11 +472,13 @@ public class JDBCSchema extends SchemaImpl implements ICatalogObject {
 						.getName()
 						+ ConnectionFilter.FILTER_SEPARATOR
 						+ ConnectionFilter.TABLE_FILTER)))) {
-			tablesLoaded = Boolean.FALSE;
-			getTableLoader().clearTables(super.getTables());
+			synchronized (tablesLoaded) {
+				tablesLoaded.setLoaded(false);
+				getTableLoader().clearTables(super.getTables());
+			}
 			refresh = true;
 		}
-		if (routinesLoaded.booleanValue()
+		if (routinesLoaded.isLoaded()
 				&& filterKey.equals(getRoutineFilterKey())
 				|| (conInf != null
 						&& conInf.getFilter(getRoutineFilterKey()) == null && (ConnectionFilter.STORED_PROCEDURE_FILTER
@@ -331,11 +486,13 @@ public class JDBCSchema extends SchemaImpl implements ICatalogObject {
 						.getName()
 						+ ConnectionFilter.FILTER_SEPARATOR
 						+ ConnectionFilter.STORED_PROCEDURE_FILTER)))) {
-			routinesLoaded = Boolean.FALSE;
-			getRoutineLoader().clearRoutines(super.getRoutines());
+			synchronized (routinesLoaded) {
+				routinesLoaded.setLoaded(false);
+				getRoutineLoader().clearRoutines(super.getRoutines());
+			}
 			refresh = true;
 		}
-		if (udtsLoaded.booleanValue()
+		if (udtsLoaded.isLoaded()
 				&& filterKey.equals(getUDTFilterKey())
 				|| (conInf != null
 						&& conInf.getFilter(getUDTFilterKey()) == null && (ConnectionFilter.USER_DEFINED_TYPE_FILTER
@@ -343,8 +500,10 @@ public class JDBCSchema extends SchemaImpl implements ICatalogObject {
 						.getName()
 						+ ConnectionFilter.FILTER_SEPARATOR
 						+ ConnectionFilter.USER_DEFINED_TYPE_FILTER)))) {
-			udtsLoaded = Boolean.FALSE;
-			getUDTLoader().clearUDTs(super.getUserDefinedTypes());
+			synchronized (udtsLoaded) {
+				udtsLoaded.setLoaded(false);
+				getUDTLoader().clearUDTs(super.getUserDefinedTypes());
+			}
 			refresh = true;
 		}
 		if (refresh) {
@@ -352,12 +511,23 @@ public class JDBCSchema extends SchemaImpl implements ICatalogObject {
 		}
 	}
 
-	private Boolean tablesLoaded = Boolean.FALSE;
+	/**
+	 * Turns the notifications off while the features of this object are
+	 * loaded.
+	 */
+	protected final DeliverySuspender delivery = new DeliverySuspender(this);
+	private final LazyLoadState tablesLoaded = new LazyLoadState();
 	private SoftReference tableLoaderRef;
-	private Boolean routinesLoaded = Boolean.FALSE;
+	private final LazyLoadState routinesLoaded = new LazyLoadState();
 	private SoftReference routineLoaderRef;
-	private Boolean udtsLoaded = Boolean.FALSE;
+	private final LazyLoadState udtsLoaded = new LazyLoadState();
 	private SoftReference udtLoaderRef;
+	private final Object bulkLoaderLock = new Object();
+	private JDBCSchemaBulkLoader bulkLoader;
+	private boolean bulkLoaderCreated;
+	private JDBCSchemaChangeDetector changeDetector;
+	private boolean changeDetectorCreated;
+	private Set unchangedTableNames;
 	private transient ConnectionFilterListener filterListener = new ConnectionFilterListener() {
 
 		public void connectionFilterAdded(String filterKey) {
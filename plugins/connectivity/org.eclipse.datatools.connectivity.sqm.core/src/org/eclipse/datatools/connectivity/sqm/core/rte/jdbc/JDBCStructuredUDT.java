@@ -15,6 +15,7 @@ import java.sql.Connection;
 
 import org.eclipse.datatools.connectivity.sqm.core.definition.DatabaseDefinition;
 import org.eclipse.datatools.connectivity.sqm.core.rte.ICatalogObject;
+import org.eclipse.datatools.connectivity.sqm.core.rte.LazyLoadState;
 import org.eclipse.datatools.connectivity.sqm.core.rte.RefreshManager;
 import org.eclipse.datatools.connectivity.sqm.core.util.CatalogLoaderOverrideManager;
 import org.eclipse.datatools.connectivity.sqm.internal.core.RDBCorePlugin;
@@ -51,15 +52,15 @@ public class JDBCStructuredUDT extends StructuredUserDefinedTypeImpl implements
 
 	public void refresh() {
 		synchronized (attributesLoaded) {
-			if (attributesLoaded.booleanValue()) {
-				attributesLoaded = Boolean.FALSE;
+			if (attributesLoaded.isLoaded()) {
+				attributesLoaded.setLoaded(false);
 				getParameterLoader().clearAttributeDefinitions(
 						super.getAttributes());
 			}
 		}
 		synchronized (superLoaded) {
-			if (superLoaded.booleanValue()) {
-				superLoaded = Boolean.FALSE;
+			if (superLoaded.isLoaded()) {
+				superLoaded.setLoaded(false);
 				setSuper(null);
 			}
 		}
@@ -68,9 +69,11 @@ public class JDBCStructuredUDT extends StructuredUserDefinedTypeImpl implements
 	}
 
 	public EList getAttributes() {
-		synchronized (attributesLoaded) {
-			if (!attributesLoaded.booleanValue())
-				loadAttributes();
+		if (!attributesLoaded.isLoaded()) {
+			synchronized (attributesLoaded) {
+				if (!attributesLoaded.isLoaded())
+					loadAttributes();
+			}
 		}
 		return super.getAttributes();
 	}
@@ -102,7 +105,7 @@ public class JDBCStructuredUDT extends StructuredUserDefinedTypeImpl implements
 		try {
 			super.getAttributes().addAll(
 					getParameterLoader().loadAttributeDefinitions());
-			attributesLoaded = Boolean.TRUE;
+			attributesLoaded.setLoaded(true);
 		}
 		catch (Exception e) {
 			e.printStackTrace();
@@ -110,9 +113,11 @@ public class JDBCStructuredUDT extends StructuredUserDefinedTypeImpl implements
 	}
 
 	public StructuredUserDefinedType getSuper() {
-		synchronized (superLoaded) {
-			if (!superLoaded.booleanValue())
-				loadSuper();
+		if (!superLoaded.isLoaded()) {
+			synchronized (superLoaded) {
+				if (!superLoaded.isLoaded())
+					loadSuper();
+			}
 		}
 		return super.getSuper();
 	}
@@ -146,7 +151,7 @@ public class JDBCStructuredUDT extends StructuredUserDefinedTypeImpl implements
 			if (udt instanceof StructuredUserDefinedType) {
 				setSuper((StructuredUserDefinedType) udt);
 			}
-			superLoaded = Boolean.TRUE;
+			superLoaded.setLoaded(true);
 		}
 		catch (Exception e) {
 			e.printStackTrace();
@@ -166,9 +171,9 @@ public class JDBCStructuredUDT extends StructuredUserDefinedTypeImpl implements
 		return super.eIsSet(eFeature);
 	}
 
-	private Boolean attributesLoaded = Boolean.FALSE;
+	private final LazyLoadState attributesLoaded = new LazyLoadState();
 	private SoftReference paremeterLoaderRef;
-	private Boolean superLoaded = Boolean.FALSE;
+	private final LazyLoadState superLoaded = new LazyLoadState();
 	private SoftReference superLoaderRef;
 
 }
@@ -20,10 +20,13 @@ import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Vector;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.eclipse.datatools.connectivity.sqm.core.definition.DataModelElementFactory;
 import org.eclipse.datatools.connectivity.sqm.core.definition.DatabaseDefinition;
+import org.eclipse.datatools.connectivity.sqm.core.rte.DeliverySuspender;
 import org.eclipse.datatools.connectivity.sqm.core.rte.ICatalogObject;
+import org.eclipse.datatools.connectivity.sqm.core.rte.LazyLoadState;
 import org.eclipse.datatools.connectivity.sqm.core.rte.RefreshManager;
 import org.eclipse.datatools.connectivity.sqm.core.util.CatalogLoaderOverrideManager;
 import org.eclipse.datatools.connectivity.sqm.internal.core.RDBCorePlugin;
@@ -74,27 +77,22 @@ public class JDBCTable extends PersistentTableImpl implements ICatalogObject {
 	
 	public void refresh() {
 		synchronized (columnsLoaded) {
-			if (columnsLoaded.booleanValue()) {
-				columnsLoaded = Boolean.FALSE;
-			}
-		}
-		synchronized (ucsLoaded) {
-			if (ucsLoaded.booleanValue()) {
-				pkLoaded = Boolean.FALSE;
-				ucsLoaded = Boolean.FALSE;
-			}
-		}
-		synchronized (fksLoaded) {
-			if (fksLoaded.booleanValue()) {
-				fksLoaded = Boolean.FALSE;
+			if (columnsLoaded.isLoaded()) {
+				columnsLoaded.setLoaded(false);
 			}
 		}
+		// the constraints are refreshed without waiting for their load, see
+		// loadForeignKeys()
+		constraintsRefreshCount.incrementAndGet();
+		pkLoaded.setLoaded(false);
+		ucsLoaded.setLoaded(false);
+		fksLoaded.setLoaded(false);
 		synchronized (indexesLoaded) {
-			if (indexesLoaded.booleanValue()) {
-				indexesLoaded = Boolean.FALSE;
+			if (indexesLoaded.isLoaded()) {
+				indexesLoaded.setLoaded(false);
 			}
 		}
-		synchronized (supertableLoaded) {
+		synchronized (supertableLock) {
 			if (supertableLoaded.booleanValue()) {
 				supertableLoaded = Boolean.FALSE;
 				setSupertable(null);
@@ -105,9 +103,11 @@ public class JDBCTable extends PersistentTableImpl implements ICatalogObject {
 	}
 
 	public EList getColumns(){
-		synchronized (columnsLoaded) {
-			if (!columnsLoaded.booleanValue())
-				loadColumns();
+		if (!columnsLoaded.isLoaded()) {
+			synchronized (columnsLoaded) {
+				if (!columnsLoaded.isLoaded())
+					loadColumns();
+			}
 		}
 		return super.getColumns();
 	}
@@ -136,61 +136,69 @@ public class JDBCTable extends PersistentTableImpl implements ICatalogObject {
 	}
 
 	private void loadColumns() {
-		boolean deliver = eDeliver();
+		delivery.suspend();
 		try {
 			List container = super.getColumns();
 			List existingColumns = new ArrayList(container);
 
-			eSetDeliver(false);
-
 			container.clear();
 
 			getColumnLoader().loadColumns(container, existingColumns);
 
 			getColumnLoader().clearColumns(existingColumns);
 
-			columnsLoaded = Boolean.TRUE;
+			columnsLoaded.setLoaded(true);
 		}
 		catch (Exception e) {
 			e.printStackTrace();
 		}
 		finally {
-			eSetDeliver(deliver);
+			delivery.resume();
 		}
 	}
 
 	public PrimaryKey getPrimaryKey() {
-		synchronized (ucsLoaded) {
-			if (!pkLoaded.booleanValue())
-				loadUniqueConstraints();
+		if (!pkLoaded.isLoaded()) {
+			synchronized (ucsLoaded) {
+				if (!pkLoaded.isLoaded())
+					loadUniqueConstraints();
+			}
 		}
 		return internalGetPrimaryKey(super.getConstraints());
 	}
 
 	public List getUniqueConstraints() {
-		synchronized (ucsLoaded) {
-			if (!ucsLoaded.booleanValue())
-				loadUniqueConstraints();
+		if (!ucsLoaded.isLoaded()) {
+			synchronized (ucsLoaded) {
+				if (!ucsLoaded.isLoaded())
+					loadUniqueConstraints();
+			}
 		}
 		return internalGetUniqueConstraints(super.getConstraints());
 	}
 
 	public List getForeignKeys() {
-		synchronized (fksLoaded) {
-			if (!fksLoaded.booleanValue())
-				loadForeignKeys();
+		if (!fksLoaded.isLoaded()) {
+			synchronized (fksLoaded) {
+				if (!fksLoaded.isLoaded())
+					loadForeignKeys();
+			}
 		}
 		return internalGetForeignKeys(super.getConstraints());
 	}
 
 	public EList getConstraints() {
-		synchronized (ucsLoaded) {
-			if (!ucsLoaded.booleanValue())
-				loadUniqueConstraints();
+		if (!ucsLoaded.isLoaded()) {
+			synchronized (ucsLoaded) {
+				if (!ucsLoaded.isLoaded())
+					loadUniqueConstraints();
+			}
 		}
-		synchronized (fksLoaded) {
-			if (!fksLoaded.booleanValue())
-				loadForeignKeys();
+		if (!fksLoaded.isLoaded()) {
+			synchronized (fksLoaded) {
+				if (!fksLoaded.isLoaded())
+					loadForeignKeys();
+			}
 		}
 		return super.getConstraints();
 	}
@@ -218,8 +226,16 @@ public class JDBCTable extends PersistentTableImpl implements ICatalogObject {
 		return (JDBCTableConstraintLoader) constraintLoaderRef.get();
 	}
 
+	private void setConstraintsLoaded(LazyLoadState loaded, int refreshCount) {
+		loaded.setLoaded(true);
+		if (constraintsRefreshCount.get() != refreshCount) {
+			// refreshed during the load
+			loaded.setLoaded(false);
+		}
+	}
+
 	private void loadUniqueConstraints() {
-		boolean deliver = eDeliver();
+		int refreshCount = constraintsRefreshCount.get();
 		try {
 			List container = super.getConstraints();
 			PrimaryKey existingPK = internalGetPrimaryKey(container);
@@ -236,46 +252,64 @@ public class JDBCTable extends PersistentTableImpl implements ICatalogObject {
 			else if (existingPK != null) {
 				container.remove(existingPK);
 			}
-			pkLoaded = Boolean.TRUE;
+			setConstraintsLoaded(pkLoaded, refreshCount);
 
 			List existingUCs = internalGetUniqueConstraints(container);
 			if (pk != null) {
 				existingUCs.remove(pk);
 			}
 			container.removeAll(existingUCs);
-			getConstraintLoader().loadUniqueConstraints(getPrimaryKey(),
-					container, existingUCs);
-			ucsLoaded = Boolean.TRUE;
+			getConstraintLoader().loadUniqueConstraints(pk, container,
+					existingUCs);
+			setConstraintsLoaded(ucsLoaded, refreshCount);
 		}
 		catch (Exception e) {
 			e.printStackTrace();
 		}
-		finally {
-			eSetDeliver(deliver);
-		}
 	}
 	
+	/**
+	 * The primary key and unique constraints are loaded under the ucsLoaded
+	 * lock of the table, and the foreign keys under its fksLoaded lock. The
+	 * foreign keys are resolved with the unique constraints of the tables they
+	 * reference, which a load of unique constraints never does: the foreign
+	 * keys are read without changing the constraints list, which they join
+	 * under the ucsLoaded lock, so that the loads of two tables referencing
+	 * each other cannot deadlock.
+	 * 
+	 * Resolving the referenced tables may load the tables of a schema, which
+	 * refreshes the tables loaded previously: refresh() does not take these
+	 * locks, and a load of the constraints only marks them loaded if they were
+	 * not refreshed meanwhile.
+	 */
 	private void loadForeignKeys() {
-		boolean deliver = eDeliver();
+		int refreshCount = constraintsRefreshCount.get();
 		try {
 			List container = super.getConstraints();
-			List existingFKs = internalGetForeignKeys(container);
-			container.removeAll(existingFKs);
-			getConstraintLoader().loadForeignKeys(container, existingFKs);
-			fksLoaded = Boolean.TRUE;
+			List previousFKs;
+			synchronized (ucsLoaded) {
+				previousFKs = internalGetForeignKeys(container);
+			}
+			List fks = new ArrayList();
+			getConstraintLoader().loadForeignKeys(fks,
+					new ArrayList(previousFKs));
+			synchronized (ucsLoaded) {
+				container.removeAll(previousFKs);
+				container.addAll(fks);
+			}
+			setConstraintsLoaded(fksLoaded, refreshCount);
 		}
 		catch (Exception e) {
 			e.printStackTrace();
 		}
-		finally {
-			eSetDeliver(deliver);
-		}
 	}
 	
 	public EList getIndex() {
-		synchronized (indexesLoaded) {
-			if (!indexesLoaded.booleanValue())
-				loadIndexes();
+		if (!indexesLoaded.isLoaded()) {
+			synchronized (indexesLoaded) {
+				if (!indexesLoaded.isLoaded())
+					loadIndexes();
+			}
 		}
 		return super.getIndex();
 	}
@@ -304,33 +338,33 @@ public class JDBCTable extends PersistentTableImpl implements ICatalogObject {
 	}
 
 	private void loadIndexes() {
-		boolean deliver = eDeliver();
+		delivery.suspend();
 		try {
 			List container = super.getIndex();
 			List existingIndexes = new ArrayList(container);
 			
-			eSetDeliver(false);
-
 			container.clear();
 
 			getIndexLoader().loadIndexes(container, existingIndexes);
 
 			getIndexLoader().clearIndexes(existingIndexes);
 
-			indexesLoaded = Boolean.TRUE;
+			indexesLoaded.setLoaded(true);
 		}
 		catch(Exception e) {
 			e.printStackTrace();
 		}
 		finally {
-			eSetDeliver(deliver);
+			delivery.resume();
 		}
 	}
 	
 	public Table getSupertable() {
-		synchronized (supertableLoaded) {
-			if (!supertableLoaded.booleanValue())
-				loadSupertable();
+		if (!supertableLoaded.booleanValue()) {
+			synchronized (supertableLock) {
+				if (!supertableLoaded.booleanValue())
+					loadSupertable();
+			}
 		}
 		return super.getSupertable();
 	}
@@ -417,17 +451,31 @@ public class JDBCTable extends PersistentTableImpl implements ICatalogObject {
 		return super.eIsSet(eFeature);
 	}
 	
-	private Boolean columnsLoaded = Boolean.FALSE;
+	/**
+	 * Turns the notifications off while the features of this object are
+	 * loaded.
+	 */
+	protected final DeliverySuspender delivery = new DeliverySuspender(this);
+	private final LazyLoadState columnsLoaded = new LazyLoadState();
 	private SoftReference columnLoaderRef;
-	private Boolean pkLoaded = Boolean.FALSE;
-	private Boolean ucsLoaded = Boolean.FALSE;
-	private Boolean fksLoaded = Boolean.FALSE;
+	private final LazyLoadState pkLoaded = new LazyLoadState();
+	private final LazyLoadState ucsLoaded = new LazyLoadState();
+	private final LazyLoadState fksLoaded = new LazyLoadState();
+	private final AtomicInteger constraintsRefreshCount = new AtomicInteger();
 	private SoftReference constraintLoaderRef;
-	private Boolean indexesLoaded = Boolean.FALSE;
+	private final LazyLoadState indexesLoaded = new LazyLoadState();
 	private SoftReference indexLoaderRef;
-	protected Boolean supertableLoaded = Boolean.FALSE; 
+	/**
+	 * Whether the supertable is loaded. Subclasses may still assign it, but
+	 * must not lock on it: the supertable is loaded under a lock of its own.
+	 * 
+	 * @deprecated kept for the subclasses assigning it; the other features
+	 *             keep their load state in a private LazyLoadState
+	 */
+	protected volatile Boolean supertableLoaded = Boolean.FALSE;
+	private final Object supertableLock = new Object();
 	private SoftReference supertableLoaderRef;
-	private Boolean subTablesLoaded = Boolean.FALSE;
+	private final LazyLoadState subTablesLoaded = new LazyLoadState();
 
 	
 	/**
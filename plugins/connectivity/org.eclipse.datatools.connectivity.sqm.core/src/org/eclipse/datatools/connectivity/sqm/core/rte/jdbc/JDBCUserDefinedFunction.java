@@ -15,7 +15,9 @@ import java.util.Iterator;
 import java.util.List;
 
 import org.eclipse.datatools.connectivity.sqm.core.definition.DatabaseDefinition;
+import org.eclipse.datatools.connectivity.sqm.core.rte.DeliverySuspender;
 import org.eclipse.datatools.connectivity.sqm.core.rte.ICatalogObject;
+import org.eclipse.datatools.connectivity.sqm.core.rte.LazyLoadState;
 import org.eclipse.datatools.connectivity.sqm.core.rte.RefreshManager;
 import org.eclipse.datatools.connectivity.sqm.core.util.CatalogLoaderOverrideManager;
 import org.eclipse.datatools.connectivity.sqm.internal.core.RDBCorePlugin;
@@ -40,16 +42,16 @@ public class JDBCUserDefinedFunction extends UserDefinedFunctionImpl implements
 	private static final long serialVersionUID = -6800525292996291562L;
 	public void refresh() {
 		synchronized (parametersLoaded) {
-			if (parametersLoaded.booleanValue()) {
+			if (parametersLoaded.isLoaded()) {
 				setReturnScalar(null);
-				parametersLoaded = Boolean.FALSE;
+				parametersLoaded.setLoaded(false);
 			}
 		}
 
 		synchronized (resultTableLoaded) {
-			if (resultTableLoaded.booleanValue()) {
+			if (resultTableLoaded.isLoaded()) {
 				setReturnTable(null);
-				resultTableLoaded = Boolean.FALSE;
+				resultTableLoaded.setLoaded(false);
 			}
 		}
 
@@ -69,25 +71,31 @@ public class JDBCUserDefinedFunction extends UserDefinedFunctionImpl implements
 	}
 
 	public EList getParameters() {
-		synchronized (parametersLoaded) {
-			if (!parametersLoaded.booleanValue())
-				loadParameters();
+		if (!parametersLoaded.isLoaded()) {
+			synchronized (parametersLoaded) {
+				if (!parametersLoaded.isLoaded())
+					loadParameters();
+			}
 		}
 		return super.getParameters();
 	}
 
 	public Parameter getReturnScalar() {
-		synchronized (parametersLoaded) {
-			if (!parametersLoaded.booleanValue())
-				loadParameters();
+		if (!parametersLoaded.isLoaded()) {
+			synchronized (parametersLoaded) {
+				if (!parametersLoaded.isLoaded())
+					loadParameters();
+			}
 		}
 		return super.getReturnScalar();
 	}
 
 	public RoutineResultTable getReturnTable() {
-		synchronized (resultTableLoaded) {
-			if (!resultTableLoaded.booleanValue())
-				loadResultTable();
+		if (!resultTableLoaded.isLoaded()) {
+			synchronized (resultTableLoaded) {
+				if (!resultTableLoaded.isLoaded())
+					loadResultTable();
+			}
 		}
 		return super.getReturnTable();
 	}
@@ -116,15 +124,13 @@ public class JDBCUserDefinedFunction extends UserDefinedFunctionImpl implements
 	}
 
 	private void loadParameters() {
-		parametersLoaded = Boolean.TRUE;
+		parametersLoaded.setLoaded(true);
 
-		boolean deliver = eDeliver();
+		delivery.suspend();
 		try {
 			List parametersContainer = super.getParameters();
 			List existingParameters = new ArrayList(parametersContainer);
 
-			eSetDeliver(false);
-
 			parametersContainer.clear();
 			setReturnScalar(null);
 
@@ -150,17 +156,15 @@ public class JDBCUserDefinedFunction extends UserDefinedFunctionImpl implements
 			e.printStackTrace();
 		}
 		finally {
-			eSetDeliver(deliver);
+			delivery.resume();
 		}
 	}
 	
 	private void loadResultTable() {
-		resultTableLoaded = Boolean.TRUE;
+		resultTableLoaded.setLoaded(true);
 
-		boolean deliver = eDeliver();
+		delivery.suspend();
 		try {
-			eSetDeliver(false);
-
 			List returnTableList = getParameterLoader().loadRoutineResultTables();
 			if (returnTableList.size() > 0) {
 				setReturnTable((RoutineResultTable)returnTableList.get(0));
@@ -171,7 +175,7 @@ public class JDBCUserDefinedFunction extends UserDefinedFunctionImpl implements
 			e.printStackTrace();
 		}
 		finally {
-			eSetDeliver(deliver);
+			delivery.resume();
 		}
 	}
 
@@ -191,8 +195,13 @@ public class JDBCUserDefinedFunction extends UserDefinedFunctionImpl implements
 		return super.eIsSet(eFeature);
 	}
 
-	private Boolean parametersLoaded = Boolean.FALSE;
-	private Boolean resultTableLoaded = Boolean.FALSE;
+	/**
+	 * Turns the notifications off while the features of this object are
+	 * loaded.
+	 */
+	protected final DeliverySuspender delivery = new DeliverySuspender(this);
+	private final LazyLoadState parametersLoaded = new LazyLoadState();
+	private final LazyLoadState resultTableLoaded = new LazyLoadState();
 	private SoftReference paremeterLoaderRef;
 
 }
@@ -16,7 +16,9 @@ import java.util.ArrayList;
 import java.util.List;
 
 import org.eclipse.datatools.connectivity.sqm.core.definition.DatabaseDefinition;
+import org.eclipse.datatools.connectivity.sqm.core.rte.DeliverySuspender;
 import org.eclipse.datatools.connectivity.sqm.core.rte.ICatalogObject;
+import org.eclipse.datatools.connectivity.sqm.core.rte.LazyLoadState;
 import org.eclipse.datatools.connectivity.sqm.core.rte.RefreshManager;
 import org.eclipse.datatools.connectivity.sqm.core.util.CatalogLoaderOverrideManager;
 import org.eclipse.datatools.connectivity.sqm.internal.core.RDBCorePlugin;
@@ -51,18 +53,18 @@ public class JDBCView extends ViewTableImpl implements ICatalogObject {
 
 	public void refresh() {
 		synchronized (columnsLoaded) {
-			if (columnsLoaded.booleanValue()) {
-				columnsLoaded = Boolean.FALSE;
+			if (columnsLoaded.isLoaded()) {
+				columnsLoaded.setLoaded(false);
 			}
 		}
 		synchronized (indexesLoaded) {
-			if (indexesLoaded.booleanValue()) {
-				indexesLoaded = Boolean.FALSE;
+			if (indexesLoaded.isLoaded()) {
+				indexesLoaded.setLoaded(false);
 			}
 		}
 		synchronized (supertableLoaded) {
-			if (supertableLoaded.booleanValue()) {
-				supertableLoaded = Boolean.FALSE;
+			if (supertableLoaded.isLoaded()) {
+				supertableLoaded.setLoaded(false);
 				setSupertable(null);
 			}
 		}
@@ -71,9 +73,11 @@ public class JDBCView extends ViewTableImpl implements ICatalogObject {
 	}
 
 	public EList getColumns(){
-		synchronized (columnsLoaded) {
-			if (!columnsLoaded.booleanValue())
-				loadColumns();
+		if (!columnsLoaded.isLoaded()) {
+			synchronized (columnsLoaded) {
+				if (!columnsLoaded.isLoaded())
+					loadColumns();
+			}
 		}
 		return super.getColumns();
 	}
@@ -102,33 +106,33 @@ public class JDBCView extends ViewTableImpl implements ICatalogObject {
 	}
 
 	private void loadColumns() {
-		boolean deliver = eDeliver();
+		delivery.suspend();
 		try {
 			List container = super.getColumns();
 			List existingColumns = new ArrayList(container);
 
-			eSetDeliver(false);
-
 			container.clear();
 
 			getColumnLoader().loadColumns(container, existingColumns);
 
 			getColumnLoader().clearColumns(existingColumns);
 
-			columnsLoaded = Boolean.TRUE;
+			columnsLoaded.setLoaded(true);
 		}
 		catch (Exception e) {
 			e.printStackTrace();
 		}
 		finally {
-			eSetDeliver(deliver);
+			delivery.resume();
 		}
 	}
 
 	public EList getIndex() {
-		synchronized (indexesLoaded) {
-			if (!indexesLoaded.booleanValue())
-				loadIndexes();
+		if (!indexesLoaded.isLoaded()) {
+			synchronized (indexesLoaded) {
+				if (!indexesLoaded.isLoaded())
+					loadIndexes();
+			}
 		}
 		return super.getIndex();
 	}
@@ -157,33 +161,33 @@ public class JDBCView extends ViewTableImpl implements ICatalogObject {
 	}
 
 	private void loadIndexes() {
-		boolean deliver = eDeliver();
+		delivery.suspend();
 		try {
 			List container = super.getIndex();
 			List existingIndexes = new ArrayList(container);
 			
-			eSetDeliver(false);
-
 			container.clear();
 
 			getIndexLoader().loadIndexes(container, existingIndexes);
 
 			getIndexLoader().clearIndexes(existingIndexes);
 
-			indexesLoaded = Boolean.TRUE;
+			indexesLoaded.setLoaded(true);
 		}
 		catch(Exception e) {
 			e.printStackTrace();
 		}
 		finally {
-			eSetDeliver(deliver);
+			delivery.resume();
 		}
 	}
 	
 	public Table getSupertable() {
-		synchronized (supertableLoaded) {
-			if (!supertableLoaded.booleanValue())
-				loadSupertable();
+		if (!supertableLoaded.isLoaded()) {
+			synchronized (supertableLoaded) {
+				if (!supertableLoaded.isLoaded())
+					loadSupertable();
+			}
 		}
 		return super.getSupertable();
 	}
@@ -214,7 +218,7 @@ public class JDBCView extends ViewTableImpl implements ICatalogObject {
 	private void loadSupertable() {
 		try {
 			setSupertable(getSupertableLoader().loadSuperTable());
-			supertableLoaded = Boolean.TRUE;
+			supertableLoaded.setLoaded(true);
 		}
 		catch(Exception e) {
 			e.printStackTrace();
@@ -237,10 +241,15 @@ public class JDBCView extends ViewTableImpl implements ICatalogObject {
 		return super.eIsSet(eFeature);
 	}
 	
-	private Boolean columnsLoaded = Boolean.FALSE;
+	/**
+	 * Turns the notifications off while the features of this object are
+	 * loaded.
+	 */
+	protected final DeliverySuspender delivery = new DeliverySuspender(this);
+	private final LazyLoadState columnsLoaded = new LazyLoadState();
 	private SoftReference columnLoaderRef;
-	private Boolean indexesLoaded = Boolean.FALSE;
+	private final LazyLoadState indexesLoaded = new LazyLoadState();
 	private SoftReference indexLoaderRef;
-	private Boolean supertableLoaded = Boolean.FALSE;
+	private final LazyLoadState supertableLoaded = new LazyLoadState();
 	private SoftReference supertableLoaderRef;
 }
@@ -89,6 +89,9 @@ public class RDBCorePlugin extends Plugin {
 	    getPluginPreferences().setDefault(RDBCorePluginConstants.LIMIT_ROWS_RETRIEVED, true);
 	    getPluginPreferences().setDefault(RDBCorePluginConstants.MAX_ROW_RETRIEVED, 50);
 	    getPluginPreferences().setDefault(RDBCorePluginConstants.MAX_LOB_LENGTH, 100);  
+	    getPluginPreferences().setDefault(RDBCorePluginConstants.BULK_LOAD_CATALOG, false);
+	    getPluginPreferences().setDefault(RDBCorePluginConstants.INCREMENTAL_REFRESH_CATALOG, false);
+	    getPluginPreferences().setDefault(RDBCorePluginConstants.BINARY_CACHE_CATALOG, false);
 	}
 
     public static String getSymbolicName() {
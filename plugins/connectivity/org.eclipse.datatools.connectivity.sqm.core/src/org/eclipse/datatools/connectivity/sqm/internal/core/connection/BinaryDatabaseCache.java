@@ -0,0 +1,355 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Data Tools Platform and others.
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * Contributors: Eclipse Data Tools Platform - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.datatools.connectivity.sqm.internal.core.connection;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.datatools.modelbase.sql.schema.Database;
+import org.eclipse.datatools.modelbase.sql.schema.SQLSchemaPackage;
+import org.eclipse.datatools.modelbase.sql.schema.Schema;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.BinaryResourceImpl;
+import org.eclipse.emf.ecore.resource.impl.ResourceFactoryImpl;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+
+/**
+ * The offline cache of a database in the EMF binary format, split in one
+ * resource per schema. The database file holds the database and its
+ * catalogs; each schema file holds a schema and the objects of the schema
+ * (tables, routines, user-defined types, ...). The references between the
+ * files are proxies, so a schema is only read when it is first accessed, and
+ * a save only rewrites the schema files whose content changed. Each file is
+ * written to a temporary file first and renamed, so that a save which fails
+ * leaves the previous files whole.
+ *
+ * The database loaded stays in the resources of the cache until it is saved
+ * or detached, for its schemas to be loaded on demand. Like the rest of the
+ * offline model, it must not be accessed by several threads at once.
+ */
+public class BinaryDatabaseCache {
+
+	public static final String DATABASE_FILE_NAME = "cache.bin"; //$NON-NLS-1$
+
+	public static final String SCHEMA_DIRECTORY_NAME = "cache"; //$NON-NLS-1$
+
+	private static final String FILE_EXTENSION = "bin"; //$NON-NLS-1$
+
+	private final File directory;
+
+	/**
+	 * @param directory the directory of the connection, containing the cache
+	 */
+	public BinaryDatabaseCache(File directory) {
+		this.directory = directory;
+	}
+
+	public File getDatabaseFile() {
+		return new File(directory, DATABASE_FILE_NAME);
+	}
+
+	public boolean exists() {
+		return getDatabaseFile().exists();
+	}
+
+	public long getTimestamp() {
+		return getDatabaseFile().lastModified();
+	}
+
+	/**
+	 * Loads the database, without its schemas: each schema is loaded when it
+	 * is first accessed.
+	 *
+	 * @return the database cached
+	 * @throws IOException if the database file cannot be read
+	 */
+	public Database load() throws IOException {
+		ResourceSet resourceSet = createResourceSet();
+		Resource resource = resourceSet.createResource(getURI(getDatabaseFile()));
+		InputStream in = new FileInputStream(getDatabaseFile());
+		try {
+			resource.load(in, null);
+		}
+		finally {
+			in.close();
+		}
+		return (Database) resource.getContents().get(0);
+	}
+
+	/**
+	 * Saves the database, with one file per schema. The files of the schemas
+	 * which did not change are kept, and the files of the schemas dropped are
+	 * deleted.
+	 *
+	 * @param database the database to cache
+	 * @throws IOException if the files cannot be written
+	 */
+	public void save(Database database) throws IOException {
+		detach(database);
+
+		File schemaDirectory = new File(directory, SCHEMA_DIRECTORY_NAME);
+		schemaDirectory.mkdirs();
+
+		ResourceSet resourceSet = createResourceSet();
+		Resource databaseResource = resourceSet.createResource(getURI(getDatabaseFile()));
+		Map schemaResources = new LinkedHashMap();
+		Set fileNames = new HashSet();
+
+		// the database is the first root; each schema comes before its objects
+		Iterator it = getRootElements(database).iterator();
+		while (it.hasNext()) {
+			EObject root = (EObject) it.next();
+			Schema schema = getSchema(root);
+			if (schema == null) {
+				databaseResource.getContents().add(root);
+				continue;
+			}
+			Resource resource = (Resource) schemaResources.get(schema);
+			if (resource == null) {
+				String fileName = getFileName(schema, fileNames);
+				resource = resourceSet.createResource(getURI(new File(
+						schemaDirectory, fileName)));
+				schemaResources.put(schema, resource);
+			}
+			resource.getContents().add(root);
+		}
+
+		try {
+			it = schemaResources.values().iterator();
+			while (it.hasNext()) {
+				Resource resource = (Resource) it.next();
+				File file = new File(resource.getURI().toFileString());
+				byte[] content = toByteArray(resource);
+				if (!hasContent(file, content)) {
+					write(file, content);
+				}
+			}
+			// always written last, as the timestamp of the cache
+			write(getDatabaseFile(), toByteArray(databaseResource));
+
+			File[] files = schemaDirectory.listFiles();
+			for (int i = 0; files != null && i < files.length; i++) {
+				if (!fileNames.contains(files[i].getName())) {
+					files[i].delete();
+				}
+			}
+		}
+		finally {
+			unload(resourceSet);
+		}
+	}
+
+	/**
+	 * Deletes the files of the cache.
+	 */
+	public void delete() {
+		File schemaDirectory = new File(directory, SCHEMA_DIRECTORY_NAME);
+		File[] files = schemaDirectory.listFiles();
+		for (int i = 0; files != null && i < files.length; i++) {
+			files[i].delete();
+		}
+		schemaDirectory.delete();
+		getDatabaseFile().delete();
+	}
+
+	/**
+	 * Loads the schemas of a database loaded from a binary cache which were
+	 * not accessed yet, and removes the objects of the database from the
+	 * resources of the cache, so that the database can be saved in another
+	 * resource. Does nothing for other databases.
+	 *
+	 * @param database a database
+	 */
+	public static void detach(Database database) {
+		Resource resource = database.eResource();
+		if (resource instanceof BinaryResourceImpl
+				&& resource.getResourceSet() != null) {
+			ResourceSet resourceSet = resource.getResourceSet();
+			EcoreUtil.resolveAll(resourceSet);
+			unload(resourceSet);
+		}
+	}
+
+	private static void unload(ResourceSet resourceSet) {
+		Iterator it = new ArrayList(resourceSet.getResources()).iterator();
+		while (it.hasNext()) {
+			Resource resource = (Resource) it.next();
+			resource.getContents().clear();
+		}
+		resourceSet.getResources().clear();
+	}
+
+	private static ResourceSet createResourceSet() {
+		ResourceSet resourceSet = new ResourceSetImpl();
+		resourceSet.getResourceFactoryRegistry().getExtensionToFactoryMap().put(
+				FILE_EXTENSION, new ResourceFactoryImpl() {
+
+					public Resource createResource(URI uri) {
+						return new BinaryResourceImpl(uri);
+					}
+				});
+		return resourceSet;
+	}
+
+	private static URI getURI(File file) {
+		return URI.createFileURI(file.getAbsolutePath());
+	}
+
+	/**
+	 * Lists the objects of the database which are not contained in another
+	 * one, in breadth first order: the database, the catalogs and the schemas,
+	 * then the objects of each schema in turn.
+	 */
+	private static List getRootElements(Database database) {
+		List roots = new ArrayList();
+		Set visited = new HashSet();
+		LinkedList queue = new LinkedList();
+		queue.add(database);
+		while (!queue.isEmpty()) {
+			EObject obj = (EObject) queue.removeFirst();
+			if (!visited.add(obj)) {
+				continue;
+			}
+			if (obj.eContainer() == null) {
+				roots.add(obj);
+			}
+			Iterator it = obj.eCrossReferences().iterator();
+			while (it.hasNext()) {
+				EObject reference = (EObject) it.next();
+				if (reference != null && !reference.eIsProxy()) {
+					queue.add(EcoreUtil.getRootContainer(reference));
+				}
+			}
+			queue.addAll(obj.eContents());
+		}
+		return roots;
+	}
+
+	/**
+	 * @return the schema of a root object, or null if the object belongs to
+	 *         the database file
+	 */
+	private static Schema getSchema(EObject root) {
+		if (root instanceof Schema) {
+			return (Schema) root;
+		}
+		// tables, routines, types, indexes, triggers, sequences, ...
+		Iterator it = root.eClass().getEAllReferences().iterator();
+		while (it.hasNext()) {
+			EReference reference = (EReference) it.next();
+			if (!reference.isMany()
+					&& SQLSchemaPackage.eINSTANCE.getSchema().isSuperTypeOf(
+							reference.getEReferenceType())) {
+				Object schema = root.eGet(reference);
+				if (schema != null) {
+					return (Schema) schema;
+				}
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Names the file of a schema after its catalog and name, so that the file
+	 * of a schema stays the same across saves.
+	 */
+	private static String getFileName(Schema schema, Set fileNames) {
+		String name = schema.getName();
+		if (schema.getCatalog() != null) {
+			name = schema.getCatalog().getName() + '.' + name;
+		}
+		int hash = name == null ? 0 : name.hashCode();
+		String fileName;
+		do {
+			fileName = Integer.toHexString(hash++) + '.' + FILE_EXTENSION;
+		}
+		while (!fileNames.add(fileName));
+		return fileName;
+	}
+
+	private static byte[] toByteArray(Resource resource) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		resource.save(out, null);
+		return out.toByteArray();
+	}
+
+	private static boolean hasContent(File file, byte[] content)
+			throws IOException {
+		if (file.length() != content.length) {
+			return false;
+		}
+		byte[] existing = new byte[content.length];
+		InputStream in = new FileInputStream(file);
+		try {
+			int offset = 0;
+			while (offset < existing.length) {
+				int count = in.read(existing, offset, existing.length - offset);
+				if (count < 0) {
+					return false;
+				}
+				offset += count;
+			}
+		}
+		finally {
+			in.close();
+		}
+		return Arrays.equals(existing, content);
+	}
+
+	private static void write(File file, byte[] content) throws IOException {
+		File tempFile = File.createTempFile(file.getName(), ".tmp", //$NON-NLS-1$
+				file.getParentFile());
+		try {
+			OutputStream out = new FileOutputStream(tempFile);
+			try {
+				out.write(content);
+			}
+			finally {
+				out.close();
+			}
+			try {
+				Files.move(tempFile.toPath(), file.toPath(),
+						StandardCopyOption.REPLACE_EXISTING,
+						StandardCopyOption.ATOMIC_MOVE);
+			}
+			catch (AtomicMoveNotSupportedException e) {
+				Files.move(tempFile.toPath(), file.toPath(),
+						StandardCopyOption.REPLACE_EXISTING);
+			}
+		}
+		finally {
+			tempFile.delete();
+		}
+	}
+}
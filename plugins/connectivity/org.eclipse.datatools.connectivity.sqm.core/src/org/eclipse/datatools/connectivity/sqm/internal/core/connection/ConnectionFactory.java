@@ -52,7 +52,7 @@ public class ConnectionFactory implements IOfflineConnectionFactory {
 
 	public boolean canWorkOffline(IConnectionProfile profile) {
 		// check to see if offline data has been cached for this profile
-		return ConnectionInfoImpl.getConnectionFile(profile.getName()).exists();
+		return ConnectionInfoImpl.hasCachedDatabase(profile.getName());
 	}
 
 	public IOfflineConnection createConnection(IConnectionProfile profile, IProgressMonitor monitor) {
@@ -56,6 +56,7 @@ import org.eclipse.datatools.connectivity.sqm.internal.core.RDBCorePlugin;
 import org.eclipse.datatools.connectivity.sqm.internal.core.ResourceUtil;
 import org.eclipse.datatools.connectivity.sqm.internal.core.util.CatalogUtil;
 import org.eclipse.datatools.connectivity.sqm.internal.core.util.DatabaseProviderHelper;
+import org.eclipse.datatools.connectivity.sqm.internal.core.util.RDBCorePluginConstants;
 import org.eclipse.datatools.modelbase.sql.schema.Database;
 import org.eclipse.datatools.modelbase.sql.schema.Schema;
 import org.eclipse.datatools.modelbase.sql.tables.Table;
@@ -112,6 +113,21 @@ public class ConnectionInfoImpl extends VersionProviderConnection implements Con
 		return connectionPath.append("cache.xmi").toFile();
 	}
 	
+	/* package */static BinaryDatabaseCache getBinaryCache(String name) {
+		return new BinaryDatabaseCache(getConnectionDirectory(name).toFile());
+	}
+	
+	/* package */static boolean hasCachedDatabase(String name) {
+		return getBinaryCache(name).exists() || getConnectionFile(name).exists();
+	}
+	
+	private static boolean isBinaryCacheEnabled() {
+		RDBCorePlugin plugin = RDBCorePlugin.getDefault();
+		return plugin != null
+				&& plugin.getPluginPreferences().getBoolean(
+						RDBCorePluginConstants.BINARY_CACHE_CATALOG);
+	}
+	
 	public String getName() {
 		return this.name;
 	}
@@ -394,6 +410,15 @@ public class ConnectionInfoImpl extends VersionProviderConnection implements Con
 	public void cacheDatabase(Database database) throws IOException {
 		if(this.name == null) throw new IllegalStateException();
 	    initConnectionDirectory();
+	    BinaryDatabaseCache binaryCache = getBinaryCache(name);
+	    if (isBinaryCacheEnabled()) {
+	    	binaryCache.save(database);
+	    	// cache.xmi is no longer written, a fall back on it would be stale
+	    	getConnectionFile(name).delete();
+	    	return;
+	    }
+	    // the schemas not accessed yet must be read before the binary cache goes
+	    BinaryDatabaseCache.detach(database);
 		OutputStream out = new FileOutputStream(getConnectionFile(name));
 		Resource r = new XMIResourceImpl();
 		r.getContents().add(database);
@@ -402,11 +427,23 @@ public class ConnectionInfoImpl extends VersionProviderConnection implements Con
 		options.put(XMIResource.OPTION_ENCODING, "UTF-8"); //$NON-NLS-1$
 		r.save(out, options);
 		r.getContents().clear();
+		binaryCache.delete();
 	}
 
 	public Database getCachedDatabase() {
 		if(this.name == null) throw new IllegalStateException();
 		initConnectionDirectory();
+		BinaryDatabaseCache binaryCache = getBinaryCache(name);
+		if(binaryCache.exists()) {
+			try {
+				// the schemas are read on demand
+				return binaryCache.load();
+			}
+			catch(Throwable o) {
+			    o.printStackTrace();
+				// the catalog is loaded again from the server
+			}
+		}
 		File file = getConnectionFile(name);
 		if(file.exists()) {
 			Resource r = new XMIResourceImpl();
@@ -429,6 +466,10 @@ public class ConnectionInfoImpl extends VersionProviderConnection implements Con
 	public long getCachedDatabaseTimestamp() {
 		if(this.name == null) throw new IllegalStateException();
 	    IPath path = initConnectionDirectory();
+	    BinaryDatabaseCache binaryCache = getBinaryCache(name);
+	    if (binaryCache.exists()) {
+	    	return binaryCache.getTimestamp();
+	    }
 		path = path.append("cache.xmi"); //$NON-NLS-1$
 		File file = path.toFile();
 		if(file.exists()) {
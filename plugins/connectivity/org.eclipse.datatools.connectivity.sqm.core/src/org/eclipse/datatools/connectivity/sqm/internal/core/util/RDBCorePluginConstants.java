@@ -22,4 +22,16 @@ public class RDBCorePluginConstants
         "OUTPUT_PREFERENCE_MAX_ROW_RETRIEVED"; //$NON-NLS-1$
     public static final String MAX_LOB_LENGTH = 
         "OUTPUT_PREFERENCE_MAX_LOB_LENGTH"; //$NON-NLS-1$
+
+    // Load the columns, keys and indexes of a schema with one query each
+    public static final String BULK_LOAD_CATALOG = 
+        "CATALOG_PREFERENCE_BULK_LOAD"; //$NON-NLS-1$
+
+    // Reload only the tables changed since the last load on a schema refresh
+    public static final String INCREMENTAL_REFRESH_CATALOG = 
+        "CATALOG_PREFERENCE_INCREMENTAL_REFRESH"; //$NON-NLS-1$
+
+    // Cache the offline catalog in the binary format, one file per schema
+    public static final String BINARY_CACHE_CATALOG = 
+        "CATALOG_PREFERENCE_BINARY_CACHE"; //$NON-NLS-1$
 }
\ No newline at end of file
@@ -10,8 +10,14 @@
  ******************************************************************************/
 package org.eclipse.datatools.connectivity.sqm.loader;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
 
 import org.eclipse.datatools.connectivity.sqm.core.rte.ICatalogObject;
 import org.eclipse.datatools.connectivity.sqm.internal.core.connection.ConnectionFilter;
@@ -44,6 +50,28 @@ public class JDBCBaseLoader {
 	 * (e.g. if the user changes the filter criteria).
 	 */
 	private ConnectionFilter mActiveFilter;
+	/**
+	 * The collection indexed by mSQLObjectIndex, the objects loaded
+	 * previously being reconciled with the rows of the current load.
+	 */
+	private Collection mIndexedSQLObjects;
+	/**
+	 * The size mIndexedSQLObjects should have if it was only changed by
+	 * getAndRemoveSQLObject(). The index is built again otherwise, or when an
+	 * indexed object is not found where the index expects it.
+	 */
+	private int mIndexedSize;
+	/**
+	 * Maps the names of the objects in mIndexedSQLObjects to the objects, or
+	 * to a list of the objects, in collection order, when several share the
+	 * name (e.g. overloaded routines).
+	 */
+	private Map mSQLObjectIndex;
+	/**
+	 * Maps the objects of mIndexedSQLObjects to their Integer position when
+	 * it is an ArrayList, else null.
+	 */
+	private Map mSQLObjectPositions;
 
 	/**
 	 * Constructor for the base loader class.
@@ -80,6 +108,7 @@ public class JDBCBaseLoader {
 	 * being used is up to date.
 	 */
 	protected void initActiveFilter() {
+		releaseSQLObjectIndex();
 		mActiveFilter = null;
 		if (mConnectionFilterProvider != null) {
 			mActiveFilter = mConnectionFilterProvider
@@ -132,14 +161,150 @@ public class JDBCBaseLoader {
 		return mActiveFilter.isFiltered(name);
 	}
 
+	/**
+	 * Removes the object with the specified name from the objects loaded
+	 * previously, which is then reused rather than created again. The names
+	 * are indexed on first use, so that reconciling the rows of a load with
+	 * the objects loaded previously does not scan the collection for each
+	 * row. The index is built again if the collection was changed otherwise
+	 * than through this method.
+	 * 
+	 * The object is removed from an ArrayList by moving the last element of
+	 * the list to its position, so that a load does not shift the list for
+	 * each object reused: the objects left in such a list, which were not
+	 * reused, are not kept in their order.
+	 * 
+	 * @param sqlObjs the objects loaded previously
+	 * @param objName the name of the object
+	 * @return the first object with the specified name in the collection;
+	 *         null if there is none.
+	 */
 	protected SQLObject getAndRemoveSQLObject(Collection sqlObjs, String objName) {
-		for (Iterator it = sqlObjs.iterator(); it.hasNext();) {
+		if (objName == null || sqlObjs.isEmpty()) {
+			return null;
+		}
+		if (isSQLObjectIndexStale(sqlObjs)) {
+			buildSQLObjectIndex(sqlObjs);
+		}
+		SQLObject obj = getIndexedSQLObject(objName);
+		if (obj != null && !removeIndexedSQLObject(sqlObjs, obj)) {
+			// the collection was changed without changing its size
+			buildSQLObjectIndex(sqlObjs);
+			obj = getIndexedSQLObject(objName);
+			if (obj != null) {
+				removeIndexedSQLObject(sqlObjs, obj);
+			}
+		}
+		if (obj == null) {
+			return null;
+		}
+		Object indexed = mSQLObjectIndex.get(objName);
+		if (indexed instanceof List) {
+			List objs = (List) indexed;
+			objs.remove(0);
+			if (objs.isEmpty()) {
+				mSQLObjectIndex.remove(objName);
+			}
+		}
+		else {
+			mSQLObjectIndex.remove(objName);
+		}
+		if (--mIndexedSize == 0) {
+			releaseSQLObjectIndex();
+		}
+		return obj;
+	}
+
+	/**
+	 * Tells whether the collection was changed otherwise than through
+	 * getAndRemoveSQLObject() since it was indexed. The objects are also
+	 * checked against the index when they are removed.
+	 */
+	private boolean isSQLObjectIndexStale(Collection sqlObjs) {
+		if (sqlObjs != mIndexedSQLObjects || sqlObjs.size() != mIndexedSize) {
+			return true;
+		}
+		if (mSQLObjectPositions != null) {
+			// an object removed and another added keep the size of the list,
+			// but change the object at its end
+			List list = (List) sqlObjs;
+			int last = list.size() - 1;
+			Integer position = (Integer) mSQLObjectPositions.get(list
+					.get(last));
+			return position == null || position.intValue() != last;
+		}
+		return false;
+	}
+
+	private SQLObject getIndexedSQLObject(String objName) {
+		Object indexed = mSQLObjectIndex.get(objName);
+		if (indexed instanceof List) {
+			return (SQLObject) ((List) indexed).get(0);
+		}
+		return (SQLObject) indexed;
+	}
+
+	/**
+	 * Removes an indexed object from the collection.
+	 * 
+	 * @return false if the object was not where the index expected it
+	 */
+	private boolean removeIndexedSQLObject(Collection sqlObjs, SQLObject obj) {
+		if (mSQLObjectPositions == null) {
+			return sqlObjs.remove(obj);
+		}
+		List list = (List) sqlObjs;
+		Integer position = (Integer) mSQLObjectPositions.remove(obj);
+		int last = list.size() - 1;
+		if (position == null || position.intValue() > last
+				|| list.get(position.intValue()) != obj) {
+			return false;
+		}
+		Object moved = list.remove(last);
+		if (moved != obj) {
+			list.set(position.intValue(), moved);
+			mSQLObjectPositions.put(moved, position);
+		}
+		return true;
+	}
+
+	private void buildSQLObjectIndex(Collection sqlObjs) {
+		mSQLObjectIndex = new HashMap(sqlObjs.size() * 4 / 3 + 1);
+		mSQLObjectPositions = sqlObjs instanceof ArrayList ? new IdentityHashMap(
+				sqlObjs.size())
+				: null;
+		int position = 0;
+		for (Iterator it = sqlObjs.iterator(); it.hasNext(); position++) {
 			SQLObject obj = (SQLObject) it.next();
-			if (obj.getName().equals(objName)) {
-				it.remove();
-				return obj;
+			if (mSQLObjectPositions != null) {
+				mSQLObjectPositions.put(obj, Integer.valueOf(position));
+			}
+			String name = obj.getName();
+			if (name == null) {
+				continue;
+			}
+			Object indexed = mSQLObjectIndex.put(name, obj);
+			if (indexed != null) {
+				List objs;
+				if (indexed instanceof List) {
+					objs = (List) indexed;
+				}
+				else {
+					objs = new LinkedList();
+					objs.add(indexed);
+				}
+				objs.add(obj);
+				mSQLObjectIndex.put(name, objs);
 			}
 		}
-		return null;
+		mIndexedSQLObjects = sqlObjs;
+		mIndexedSize = sqlObjs.size();
+	}
+
+	private void releaseSQLObjectIndex() {
+		mIndexedSQLObjects = null;
+		mIndexedSize = 0;
+		mSQLObjectIndex = null;
+		mSQLObjectPositions = null;
 	}
 }
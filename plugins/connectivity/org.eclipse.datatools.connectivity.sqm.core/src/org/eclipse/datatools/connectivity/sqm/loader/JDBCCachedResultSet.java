@@ -0,0 +1,155 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Data Tools Platform and others.
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * Contributors: Eclipse Data Tools Platform - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.datatools.connectivity.sqm.loader;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Forward only result set over rows read beforehand, used to hand the rows
+ * of the schema queries of JDBCSchemaBulkLoader to the table loaders. Only
+ * the navigation and the getters used by the loaders are supported.
+ */
+class JDBCCachedResultSet implements InvocationHandler {
+
+	private String[] mLabels;
+	private List mRows;
+	private int mPosition = -1;
+	private boolean mClosed;
+	private boolean mWasNull;
+
+	/**
+	 * @param labels the column labels
+	 * @param rows the rows, as Object[] in the order of the labels
+	 * @return a result set over the rows
+	 */
+	static ResultSet create(String[] labels, List rows) {
+		return (ResultSet) Proxy.newProxyInstance(
+				JDBCCachedResultSet.class.getClassLoader(),
+				new Class[] { ResultSet.class }, new JDBCCachedResultSet(
+						labels, rows));
+	}
+
+	private JDBCCachedResultSet(String[] labels, List rows) {
+		mLabels = labels;
+		mRows = rows;
+	}
+
+	public Object invoke(Object proxy, Method method, Object[] args)
+			throws Throwable {
+		String name = method.getName();
+		if ("close".equals(name)) { //$NON-NLS-1$
+			mClosed = true;
+			return null;
+		}
+		else if ("isClosed".equals(name)) { //$NON-NLS-1$
+			return Boolean.valueOf(mClosed);
+		}
+		else if ("hashCode".equals(name)) { //$NON-NLS-1$
+			return Integer.valueOf(System.identityHashCode(proxy));
+		}
+		else if ("equals".equals(name)) { //$NON-NLS-1$
+			return Boolean.valueOf(proxy == args[0]);
+		}
+		else if ("toString".equals(name)) { //$NON-NLS-1$
+			return JDBCCachedResultSet.class.getName() + '@'
+					+ Integer.toHexString(System.identityHashCode(proxy));
+		}
+		if (mClosed) {
+			throw new SQLException(name);
+		}
+		if ("next".equals(name)) { //$NON-NLS-1$
+			if (mPosition < mRows.size())
+				mPosition++;
+			return Boolean.valueOf(mPosition < mRows.size());
+		}
+		else if ("wasNull".equals(name)) { //$NON-NLS-1$
+			return Boolean.valueOf(mWasNull);
+		}
+		else if ("findColumn".equals(name)) { //$NON-NLS-1$
+			return Integer.valueOf(findColumn((String) args[0]) + 1);
+		}
+		else if (name.startsWith("get") && args != null && args.length == 1) { //$NON-NLS-1$
+			return getValue(name, method.getReturnType(), args[0]);
+		}
+		throw new SQLException(name);
+	}
+
+	private Object getValue(String name, Class type, Object column)
+			throws SQLException {
+		if (mPosition < 0 || mPosition >= mRows.size()) {
+			throw new SQLException(name);
+		}
+		int index = column instanceof String ? findColumn((String) column)
+				: ((Integer) column).intValue() - 1;
+		if (index < 0 || index >= mLabels.length) {
+			throw new SQLException(String.valueOf(column));
+		}
+		Object value = ((Object[]) mRows.get(mPosition))[index];
+		mWasNull = value == null;
+
+		if (type == String.class) {
+			if (value instanceof BigDecimal)
+				return ((BigDecimal) value).toPlainString();
+			return value == null ? null : value.toString();
+		}
+		else if (type == Boolean.TYPE) {
+			if (value instanceof Boolean)
+				return value;
+			if (value instanceof Number)
+				return Boolean.valueOf(((Number) value).intValue() != 0);
+			return Boolean.valueOf(value != null
+					&& ("1".equals(value.toString().trim()) || Boolean //$NON-NLS-1$
+							.valueOf(value.toString().trim()).booleanValue()));
+		}
+		else if (type == Integer.TYPE) {
+			return Integer.valueOf((int) toLong(value));
+		}
+		else if (type == Short.TYPE) {
+			return Short.valueOf((short) toLong(value));
+		}
+		else if (type == Long.TYPE) {
+			return Long.valueOf(toLong(value));
+		}
+		else if (type == Object.class) {
+			return value;
+		}
+		throw new SQLException(name);
+	}
+
+	private static long toLong(Object value) throws SQLException {
+		if (value == null)
+			return 0;
+		if (value instanceof Number)
+			return ((Number) value).longValue();
+		if (value instanceof Boolean)
+			return ((Boolean) value).booleanValue() ? 1 : 0;
+		try {
+			return new BigDecimal(value.toString().trim()).longValue();
+		}
+		catch (NumberFormatException e) {
+			throw new SQLException(value.toString());
+		}
+	}
+
+	private int findColumn(String label) throws SQLException {
+		for (int i = 0; i < mLabels.length; i++) {
+			if (label.equalsIgnoreCase(mLabels[i]))
+				return i;
+		}
+		throw new SQLException(label);
+	}
+}
@@ -0,0 +1,550 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Data Tools Platform and others.
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * Contributors: Eclipse Data Tools Platform - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.datatools.connectivity.sqm.loader;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.datatools.connectivity.IConnection;
+import org.eclipse.datatools.connectivity.IConnectionProfile;
+import org.eclipse.datatools.connectivity.sqm.internal.core.RDBCorePlugin;
+import org.eclipse.datatools.connectivity.sqm.internal.core.connection.ConnectionInfo;
+import org.eclipse.datatools.connectivity.sqm.internal.core.connection.DatabaseConnectionRegistry;
+import org.eclipse.datatools.modelbase.sql.schema.Catalog;
+import org.eclipse.datatools.modelbase.sql.schema.Database;
+import org.eclipse.datatools.modelbase.sql.schema.Schema;
+import org.eclipse.datatools.modelbase.sql.tables.BaseTable;
+import org.eclipse.datatools.modelbase.sql.tables.Table;
+
+/**
+ * Loads the catalog of a database with several threads, each using its own
+ * auxiliary connection to the server. The loads are run through the lazy
+ * getters of the catalog objects, as they would be from the UI, on threads
+ * for which JDBCDatabase.getConnection() returns the auxiliary connection of
+ * the thread instead of the shared connection.
+ *
+ * The tables, routines and user defined types of a schema are loaded one
+ * after the other, since they share the notification state of the schema,
+ * but the schemas are loaded concurrently, and so are the columns,
+ * constraints and indexes of the tables once the tables of their schema are
+ * loaded. The time spent by each load is kept as a LoadTiming.
+ *
+ * The auxiliary connections are opened from the connection profile of the
+ * database when load() starts, and closed when it ends. If none can be
+ * opened, the catalog is loaded on the calling thread with the shared
+ * connection. When load() ends early, because the calling thread is
+ * interrupted, the loads in progress are interrupted and their connections
+ * are closed as soon as they return them.
+ *
+ * @since 1.5
+ */
+public class JDBCParallelCatalogLoader {
+
+	/**
+	 * The kind of the loads of the tables of a schema.
+	 */
+	public static final String KIND_TABLES = "tables"; //$NON-NLS-1$
+
+	/**
+	 * The kind of the loads of the routines of a schema.
+	 */
+	public static final String KIND_ROUTINES = "routines"; //$NON-NLS-1$
+
+	/**
+	 * The kind of the loads of the user defined types of a schema.
+	 */
+	public static final String KIND_USER_DEFINED_TYPES = "userDefinedTypes"; //$NON-NLS-1$
+
+	/**
+	 * The kind of the loads of the columns, constraints and indexes of a
+	 * table.
+	 */
+	public static final String KIND_TABLE_CONTENTS = "tableContents"; //$NON-NLS-1$
+
+	private static final String CONNECTION_FACTORY_ID = "java.sql.Connection"; //$NON-NLS-1$
+
+	// the WorkerConnection of the loader threads
+	private static final ThreadLocal sWorkerConnection = new ThreadLocal();
+
+	private Database mDatabase;
+	private int mThreadCount;
+	private boolean mLoadTableContents = true;
+	private List mTimings = Collections.synchronizedList(new ArrayList());
+	// Connection to the IConnection it was opened from
+	private Map mConnections = Collections.synchronizedMap(new IdentityHashMap());
+
+	/**
+	 * @param database the database whose catalog is loaded
+	 * @param threadCount the maximum number of threads and auxiliary
+	 *        connections
+	 */
+	public JDBCParallelCatalogLoader(Database database, int threadCount) {
+		mDatabase = database;
+		mThreadCount = Math.max(1, threadCount);
+	}
+
+	/**
+	 * @param database a database
+	 * @return the auxiliary connection of the current thread if it is loading
+	 *         the catalog of database, else null
+	 */
+	public static Connection getWorkerConnection(Database database) {
+		WorkerConnection worker = (WorkerConnection) sWorkerConnection.get();
+		if (worker != null && worker.mDatabase == database) {
+			return worker.mConnection;
+		}
+		return null;
+	}
+
+	/**
+	 * @param loadTableContents whether the columns, constraints and indexes
+	 *        of the tables are loaded too; true by default
+	 */
+	public void setLoadTableContents(boolean loadTableContents) {
+		mLoadTableContents = loadTableContents;
+	}
+
+	/**
+	 * Loads the schemas of all the catalogs of the database.
+	 *
+	 * @param monitor the progress monitor, or null
+	 */
+	public void load(IProgressMonitor monitor) {
+		List schemas = new ArrayList();
+		for (Iterator it = mDatabase.getCatalogs().iterator(); it.hasNext();) {
+			schemas.addAll(((Catalog) it.next()).getSchemas());
+		}
+		load(schemas, monitor);
+	}
+
+	/**
+	 * Loads some schemas of the database. The loads which have not started
+	 * are skipped when the monitor is canceled.
+	 *
+	 * @param schemas the schemas to load
+	 * @param monitor the progress monitor, or null
+	 */
+	public void load(Collection schemas, IProgressMonitor monitor) {
+		mTimings.clear();
+		if (monitor != null) {
+			monitor.beginTask("", IProgressMonitor.UNKNOWN); //$NON-NLS-1$
+		}
+		AuxiliaryConnections connections = openConnections();
+		try {
+			List tasks = new ArrayList();
+			for (Iterator it = schemas.iterator(); it.hasNext();) {
+				tasks.add(new LoadTask((Schema) it.next(), KIND_TABLES));
+			}
+			if (connections.isEmpty()) {
+				loadSerially(tasks, monitor);
+			}
+			else {
+				loadConcurrently(tasks, connections, monitor);
+			}
+		}
+		finally {
+			connections.close();
+			if (monitor != null) {
+				monitor.done();
+			}
+		}
+	}
+
+	/**
+	 * @return the LoadTiming of each load of the last call to load(), in
+	 *         completion order
+	 */
+	public List getTimings() {
+		synchronized (mTimings) {
+			return new ArrayList(mTimings);
+		}
+	}
+
+	/**
+	 * Opens an auxiliary connection. The default version creates a
+	 * "java.sql.Connection" connection of the profile of the database.
+	 *
+	 * @return a new connection, or null if none can be opened
+	 */
+	protected Connection createConnection() {
+		ConnectionInfo info = DatabaseConnectionRegistry.getInstance()
+				.getConnectionForDatabase(mDatabase);
+		IConnectionProfile profile = info == null ? null : info
+				.getConnectionProfile();
+		if (profile == null) {
+			return null;
+		}
+		IConnection connection = profile.createConnection(CONNECTION_FACTORY_ID);
+		if (connection == null) {
+			return null;
+		}
+		if (connection.getConnectException() != null
+				|| !(connection.getRawConnection() instanceof Connection)) {
+			connection.close();
+			return null;
+		}
+		Connection rawConnection = (Connection) connection.getRawConnection();
+		mConnections.put(rawConnection, connection);
+		return rawConnection;
+	}
+
+	/**
+	 * Closes a connection returned by createConnection().
+	 *
+	 * @param connection the connection to close
+	 */
+	protected void closeConnection(Connection connection) {
+		IConnection owner = (IConnection) mConnections.remove(connection);
+		if (owner != null) {
+			owner.close();
+			return;
+		}
+		try {
+			connection.close();
+		}
+		catch (SQLException e) {
+		}
+	}
+
+	private AuxiliaryConnections openConnections() {
+		AuxiliaryConnections connections = new AuxiliaryConnections();
+		for (int i = 0; i < mThreadCount; i++) {
+			Connection connection;
+			try {
+				connection = createConnection();
+			}
+			catch (RuntimeException e) {
+				connection = null;
+			}
+			if (connection == null) {
+				break;
+			}
+			connections.release(connection);
+		}
+		return connections;
+	}
+
+	private void loadSerially(List tasks, IProgressMonitor monitor) {
+		while (!tasks.isEmpty()) {
+			if (monitor != null && monitor.isCanceled()) {
+				return;
+			}
+			LoadTask task = (LoadTask) tasks.remove(0);
+			tasks.addAll(0, task.call());
+			if (monitor != null) {
+				monitor.worked(1);
+			}
+		}
+	}
+
+	private void loadConcurrently(List tasks, AuxiliaryConnections connections,
+			IProgressMonitor monitor) {
+		ExecutorService executor = Executors.newFixedThreadPool(connections
+				.size(), new ThreadFactory() {
+
+			private int mCount;
+
+			public Thread newThread(Runnable runnable) {
+				Thread thread = new Thread(runnable,
+						"Catalog loader " + mDatabase.getName() + " #" + (++mCount)); //$NON-NLS-1$ //$NON-NLS-2$
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+		CompletionService completion = new ExecutorCompletionService(executor);
+		int pending = 0;
+		try {
+			for (Iterator it = tasks.iterator(); it.hasNext();) {
+				completion.submit(new BoundTask((LoadTask) it.next(), connections));
+				pending++;
+			}
+			while (pending > 0) {
+				List followers;
+				try {
+					followers = (List) completion.take().get();
+				}
+				catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					return;
+				}
+				catch (ExecutionException e) {
+					log(e.getCause());
+					followers = Collections.EMPTY_LIST;
+				}
+				pending--;
+				if (monitor != null) {
+					monitor.worked(1);
+					if (monitor.isCanceled()) {
+						continue;
+					}
+				}
+				for (Iterator it = followers.iterator(); it.hasNext();) {
+					completion.submit(new BoundTask((LoadTask) it.next(), connections));
+					pending++;
+				}
+			}
+		}
+		finally {
+			// interrupts the loads still running, which close their connection
+			// once the connections are closed
+			executor.shutdownNow();
+		}
+	}
+
+	private static void log(Throwable error) {
+		RDBCorePlugin plugin = RDBCorePlugin.getDefault();
+		if (plugin != null) {
+			plugin.getLog().log(new Status(IStatus.ERROR,
+					RDBCorePlugin.getSymbolicName(), IStatus.ERROR,
+					String.valueOf(error), error));
+		}
+	}
+
+	private static String getQualifiedName(Schema schema) {
+		Catalog catalog = schema.getCatalog();
+		if (catalog == null || catalog.getName() == null
+				|| catalog.getName().length() == 0) {
+			return schema.getName();
+		}
+		return catalog.getName() + "." + schema.getName(); //$NON-NLS-1$
+	}
+
+	/**
+	 * The time spent loading one kind of objects of a schema or table.
+	 */
+	public static class LoadTiming {
+
+		private String mObjectName;
+		private String mKind;
+		private String mThreadName;
+		private long mElapsedNanos;
+		private Throwable mError;
+
+		LoadTiming(String objectName, String kind, String threadName,
+				long elapsedNanos, Throwable error) {
+			mObjectName = objectName;
+			mKind = kind;
+			mThreadName = threadName;
+			mElapsedNanos = elapsedNanos;
+			mError = error;
+		}
+
+		/**
+		 * @return the qualified name of the schema or table
+		 */
+		public String getObjectName() {
+			return mObjectName;
+		}
+
+		/**
+		 * @return one of the KIND_* constants
+		 */
+		public String getKind() {
+			return mKind;
+		}
+
+		/**
+		 * @return the name of the thread which ran the load
+		 */
+		public String getThreadName() {
+			return mThreadName;
+		}
+
+		/**
+		 * @return the time spent by the load, in nanoseconds
+		 */
+		public long getElapsedNanos() {
+			return mElapsedNanos;
+		}
+
+		/**
+		 * @return the exception which ended the load, or null
+		 */
+		public Throwable getError() {
+			return mError;
+		}
+
+		public String toString() {
+			return mObjectName + " " + mKind + ": " //$NON-NLS-1$ //$NON-NLS-2$
+					+ (mElapsedNanos / 1000000L) + " ms" //$NON-NLS-1$
+					+ (mError == null ? "" : " (" + mError + ")"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		}
+	}
+
+	/**
+	 * Loads one kind of objects of a schema or table, and returns the loads
+	 * to run next.
+	 */
+	private class LoadTask {
+
+		private Schema mSchema;
+		private Table mTable;
+		private String mKind;
+
+		LoadTask(Schema schema, String kind) {
+			mSchema = schema;
+			mKind = kind;
+		}
+
+		LoadTask(Table table) {
+			mSchema = table.getSchema();
+			mTable = table;
+			mKind = KIND_TABLE_CONTENTS;
+		}
+
+		List call() {
+			List followers = new ArrayList();
+			Throwable error = null;
+			long start = System.nanoTime();
+			try {
+				if (mTable != null) {
+					mTable.getColumns();
+					if (mTable instanceof BaseTable) {
+						((BaseTable) mTable).getConstraints();
+					}
+					mTable.getIndex();
+				}
+				else if (KIND_TABLES.equals(mKind)) {
+					List tables = new ArrayList(mSchema.getTables());
+					followers.add(new LoadTask(mSchema, KIND_ROUTINES));
+					if (mLoadTableContents) {
+						for (Iterator it = tables.iterator(); it.hasNext();) {
+							followers.add(new LoadTask((Table) it.next()));
+						}
+					}
+				}
+				else if (KIND_ROUTINES.equals(mKind)) {
+					mSchema.getRoutines();
+					followers.add(new LoadTask(mSchema, KIND_USER_DEFINED_TYPES));
+				}
+				else {
+					mSchema.getUserDefinedTypes();
+				}
+			}
+			catch (RuntimeException e) {
+				error = e;
+			}
+			catch (Error e) {
+				error = e;
+				throw e;
+			}
+			finally {
+				String name = getQualifiedName(mSchema);
+				if (mTable != null) {
+					name += "." + mTable.getName(); //$NON-NLS-1$
+				}
+				mTimings.add(new LoadTiming(name, mKind, Thread
+						.currentThread().getName(), System.nanoTime() - start,
+						error));
+			}
+			return followers;
+		}
+	}
+
+	/**
+	 * Runs a LoadTask with an auxiliary connection bound to the thread.
+	 */
+	private class BoundTask implements Callable {
+
+		private LoadTask mTask;
+		private AuxiliaryConnections mConnections;
+
+		BoundTask(LoadTask task, AuxiliaryConnections connections) {
+			mTask = task;
+			mConnections = connections;
+		}
+
+		public Object call() throws InterruptedException {
+			Connection connection = (Connection) mConnections.take();
+			sWorkerConnection.set(new WorkerConnection(mDatabase, connection));
+			try {
+				return mTask.call();
+			}
+			finally {
+				sWorkerConnection.set(null);
+				mConnections.release(connection);
+			}
+		}
+	}
+
+	/**
+	 * The auxiliary connections of one call to load(). A connection returned
+	 * once they are closed is closed too.
+	 */
+	private class AuxiliaryConnections {
+
+		private BlockingQueue mIdle = new LinkedBlockingQueue();
+		private boolean mClosed;
+
+		boolean isEmpty() {
+			return mIdle.isEmpty();
+		}
+
+		int size() {
+			return mIdle.size();
+		}
+
+		Connection take() throws InterruptedException {
+			return (Connection) mIdle.take();
+		}
+
+		void release(Connection connection) {
+			synchronized (this) {
+				if (!mClosed) {
+					mIdle.add(connection);
+					return;
+				}
+			}
+			closeConnection(connection);
+		}
+
+		void close() {
+			List idle = new ArrayList();
+			synchronized (this) {
+				mClosed = true;
+				mIdle.drainTo(idle);
+			}
+			for (Iterator it = idle.iterator(); it.hasNext();) {
+				closeConnection((Connection) it.next());
+			}
+		}
+	}
+
+	private static class WorkerConnection {
+
+		private Database mDatabase;
+		private Connection mConnection;
+
+		WorkerConnection(Database database, Connection connection) {
+			mDatabase = database;
+			mConnection = connection;
+		}
+	}
+}
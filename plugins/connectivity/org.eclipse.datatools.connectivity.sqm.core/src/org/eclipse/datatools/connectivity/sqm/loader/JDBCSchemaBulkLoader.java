@@ -0,0 +1,434 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Data Tools Platform and others.
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * Contributors: Eclipse Data Tools Platform - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.datatools.connectivity.sqm.loader;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.datatools.connectivity.sqm.core.rte.ICatalogObject;
+import org.eclipse.datatools.connectivity.sqm.core.rte.jdbc.JDBCSchema;
+import org.eclipse.datatools.connectivity.sqm.internal.core.RDBCorePlugin;
+import org.eclipse.datatools.connectivity.sqm.internal.core.util.RDBCorePluginConstants;
+import org.eclipse.datatools.modelbase.sql.schema.Schema;
+import org.eclipse.datatools.modelbase.sql.tables.Table;
+
+import com.ibm.icu.text.MessageFormat;
+
+/**
+ * Loader fetching the columns, primary keys, foreign keys and indexes of all
+ * the tables of a schema with one meta data query each, instead of one query
+ * per table. The rows are kept by table name, and handed to the table loaders
+ * (JDBCTableColumnLoader, JDBCTableConstraintLoader and JDBCTableIndexLoader)
+ * as the tables are loaded, each table taking its rows only once: a table
+ * which is refreshed queries its own rows again. A table returned by the
+ * columns query which has no primary key, foreign key or index row is handed
+ * an empty result set, while a table which was not returned by it, for
+ * instance because it was created after the query, queries its own rows.
+ *
+ * The queries are run lazily, the first time a table loader asks for the
+ * rows of their kind. A query which fails, for instance because the driver
+ * does not accept a null table name, is not retried: the table loaders fall
+ * back on their own query. The unique constraints are still loaded per table,
+ * since the exported keys of a table may come from other schemas.
+ *
+ * The loader is used when the bulk loading preference is set, or when a
+ * vendor registers a specialization of it as the override loader for the
+ * eclass named after this class. A vendor loader would typically override the
+ * create*ResultSet() methods with queries on the catalog views, which must
+ * return the columns named by the "COLUMN_*" fields of the table loaders.
+ *
+ * @since 1.5
+ */
+public class JDBCSchemaBulkLoader extends JDBCBaseLoader {
+
+	/**
+	 * The name to use as eclass to register an override of this loader.
+	 */
+	public static final String OVERRIDE_ECLASS = JDBCSchemaBulkLoader.class.getName();
+
+	/**
+	 * The column name containing the table name of the column, primary key
+	 * and index rows.
+	 *
+	 * @see java.sql.DatabaseMetaData.getColumns()
+	 */
+	public static final String COLUMN_TABLE_NAME = "TABLE_NAME"; //$NON-NLS-1$
+
+	/**
+	 * The column name containing the schema name of the column, primary key
+	 * and index rows.
+	 *
+	 * @see java.sql.DatabaseMetaData.getColumns()
+	 */
+	public static final String COLUMN_TABLE_SCHEM = "TABLE_SCHEM"; //$NON-NLS-1$
+
+	/**
+	 * The column name containing the table name of the foreign key rows.
+	 *
+	 * @see java.sql.DatabaseMetaData.getImportedKeys()
+	 */
+	public static final String COLUMN_FKTABLE_NAME = "FKTABLE_NAME"; //$NON-NLS-1$
+
+	/**
+	 * The column name containing the schema name of the foreign key rows.
+	 *
+	 * @see java.sql.DatabaseMetaData.getImportedKeys()
+	 */
+	public static final String COLUMN_FKTABLE_SCHEM = "FKTABLE_SCHEM"; //$NON-NLS-1$
+
+	private static final int COLUMNS = 0;
+	private static final int PRIMARY_KEYS = 1;
+	private static final int FOREIGN_KEYS = 2;
+	private static final int INDEXES = 3;
+
+	private TableRows mColumns;
+	private TableRows mPrimaryKeys;
+	private TableRows mForeignKeys;
+	private TableRows mIndexes;
+	// the names of the tables returned by the columns query
+	private Set mKnownTables;
+
+	/**
+	 * This constructs the loader using no filtering.
+	 *
+	 * @param catalogObject the Schema object upon which this loader operates.
+	 */
+	public JDBCSchemaBulkLoader(ICatalogObject catalogObject) {
+		super(catalogObject, null);
+		if (catalogObject != null)
+			assert (catalogObject instanceof Schema);
+	}
+
+	/**
+	 * Zero-argument constructor, for the override loaders.
+	 */
+	public JDBCSchemaBulkLoader() {
+		this(null);
+	}
+
+	/**
+	 * @return whether the bulk loading preference is set
+	 */
+	public static boolean isBulkLoadingEnabled() {
+		RDBCorePlugin plugin = RDBCorePlugin.getDefault();
+		return plugin != null
+				&& plugin.getPluginPreferences().getBoolean(
+						RDBCorePluginConstants.BULK_LOAD_CATALOG);
+	}
+
+	/**
+	 * @param table a table
+	 * @return the bulk loader of the schema of the table, or null if the
+	 *         schema is not bulk loaded
+	 */
+	public static JDBCSchemaBulkLoader getBulkLoader(Table table) {
+		Schema schema = table.getSchema();
+		if (schema instanceof JDBCSchema) {
+			return ((JDBCSchema) schema).getBulkLoader();
+		}
+		return null;
+	}
+
+	/**
+	 * @param tableName the name of a table of the schema
+	 * @return the rows of DatabaseMetaData.getColumns() for the table, or null
+	 *         if they must be queried for the table alone
+	 * @throws SQLException if an error occurs while reading the rows
+	 */
+	public synchronized ResultSet getColumns(String tableName)
+			throws SQLException {
+		loadColumns();
+		return mColumns.take(tableName);
+	}
+
+	/**
+	 * @param tableName the name of a table of the schema
+	 * @return the rows of DatabaseMetaData.getPrimaryKeys() for the table, or
+	 *         null if they must be queried for the table alone
+	 * @throws SQLException if an error occurs while reading the rows
+	 */
+	public synchronized ResultSet getPrimaryKeys(String tableName)
+			throws SQLException {
+		if (mPrimaryKeys == null) {
+			loadColumns();
+			mPrimaryKeys = loadRows(PRIMARY_KEYS);
+		}
+		return mPrimaryKeys.take(tableName);
+	}
+
+	/**
+	 * @param tableName the name of a table of the schema
+	 * @return the rows of DatabaseMetaData.getImportedKeys() for the table, or
+	 *         null if they must be queried for the table alone
+	 * @throws SQLException if an error occurs while reading the rows
+	 */
+	public synchronized ResultSet getImportedKeys(String tableName)
+			throws SQLException {
+		if (mForeignKeys == null) {
+			loadColumns();
+			mForeignKeys = loadRows(FOREIGN_KEYS);
+		}
+		return mForeignKeys.take(tableName);
+	}
+
+	/**
+	 * @param tableName the name of a table of the schema
+	 * @return the rows of DatabaseMetaData.getIndexInfo() for the table, or
+	 *         null if they must be queried for the table alone
+	 * @throws SQLException if an error occurs while reading the rows
+	 */
+	public synchronized ResultSet getIndexInfo(String tableName)
+			throws SQLException {
+		if (mIndexes == null) {
+			loadColumns();
+			mIndexes = loadRows(INDEXES);
+		}
+		return mIndexes.take(tableName);
+	}
+
+	/**
+	 * Drops the rows which have not been taken yet, so that they are queried
+	 * again when next needed.
+	 */
+	public synchronized void clear() {
+		mColumns = null;
+		mPrimaryKeys = null;
+		mForeignKeys = null;
+		mIndexes = null;
+		mKnownTables = null;
+	}
+
+	/**
+	 * Creates the result set of the columns of all the tables of the schema.
+	 * The default version uses DatabaseMetaData.getColumns() with the "%"
+	 * table name pattern.
+	 *
+	 * @return a result set with the columns used by JDBCTableColumnLoader
+	 * @throws SQLException if an error occurs
+	 */
+	protected ResultSet createColumnResultSet() throws SQLException {
+		Schema schema = getSchema();
+		return getCatalogObject().getConnection().getMetaData().getColumns(
+				schema.getCatalog().getName(), schema.getName(), "%", null); //$NON-NLS-1$
+	}
+
+	/**
+	 * Creates the result set of the primary keys of all the tables of the
+	 * schema. The default version uses DatabaseMetaData.getPrimaryKeys() with
+	 * a null table name.
+	 *
+	 * @return a result set with the columns used by JDBCTableConstraintLoader
+	 * @throws SQLException if an error occurs
+	 */
+	protected ResultSet createPrimaryKeyResultSet() throws SQLException {
+		Schema schema = getSchema();
+		return getCatalogObject().getConnection().getMetaData().getPrimaryKeys(
+				schema.getCatalog().getName(), schema.getName(), null);
+	}
+
+	/**
+	 * Creates the result set of the foreign keys of all the tables of the
+	 * schema. The default version uses DatabaseMetaData.getImportedKeys() with
+	 * a null table name.
+	 *
+	 * @return a result set with the columns used by JDBCTableConstraintLoader
+	 * @throws SQLException if an error occurs
+	 */
+	protected ResultSet createForeignKeyResultSet() throws SQLException {
+		Schema schema = getSchema();
+		return getCatalogObject().getConnection().getMetaData()
+				.getImportedKeys(schema.getCatalog().getName(),
+						schema.getName(), null);
+	}
+
+	/**
+	 * Creates the result set of the indexes of all the tables of the schema.
+	 * The default version uses DatabaseMetaData.getIndexInfo() with a null
+	 * table name.
+	 *
+	 * @return a result set with the columns used by JDBCTableIndexLoader
+	 * @throws SQLException if an error occurs
+	 */
+	protected ResultSet createIndexResultSet() throws SQLException {
+		Schema schema = getSchema();
+		return getCatalogObject().getConnection().getMetaData()
+				.getIndexInfo(schema.getCatalog().getName(),
+						schema.getName(), null, false, false);
+	}
+
+	/**
+	 * Closes a result set created by one of the create*ResultSet() methods.
+	 *
+	 * @param rs the result set to close
+	 */
+	protected void closeResultSet(ResultSet rs) {
+		try {
+			rs.close();
+		}
+		catch (SQLException e) {
+		}
+	}
+
+	/**
+	 * Runs the columns query if it has not run yet, which tells the tables
+	 * known to the other queries.
+	 */
+	private void loadColumns() throws SQLException {
+		if (mColumns == null) {
+			mKnownTables = Collections.EMPTY_SET;
+			mColumns = loadRows(COLUMNS);
+			mKnownTables = mColumns.getTableNames();
+		}
+	}
+
+	/**
+	 * Runs the query of a kind of rows and splits its rows by table. The rows
+	 * of other schemas, which a schema pattern may match, are ignored.
+	 */
+	private TableRows loadRows(int kind) throws SQLException {
+		String method;
+		String tableColumn = COLUMN_TABLE_NAME;
+		String schemaColumn = COLUMN_TABLE_SCHEM;
+		ResultSet rs;
+		try {
+			switch (kind) {
+			case COLUMNS:
+				method = "java.sql.DatabaseMetaData.getColumns()"; //$NON-NLS-1$
+				rs = createColumnResultSet();
+				break;
+			case PRIMARY_KEYS:
+				method = "java.sql.DatabaseMetaData.getPrimaryKeys()"; //$NON-NLS-1$
+				rs = createPrimaryKeyResultSet();
+				break;
+			case FOREIGN_KEYS:
+				method = "java.sql.DatabaseMetaData.getImportedKeys()"; //$NON-NLS-1$
+				tableColumn = COLUMN_FKTABLE_NAME;
+				schemaColumn = COLUMN_FKTABLE_SCHEM;
+				rs = createForeignKeyResultSet();
+				break;
+			default:
+				method = "java.sql.DatabaseMetaData.getIndexInfo()"; //$NON-NLS-1$
+				rs = createIndexResultSet();
+				break;
+			}
+		}
+		catch (SQLException e) {
+			return TableRows.UNSUPPORTED;
+		}
+		catch (RuntimeException e) {
+			return TableRows.UNSUPPORTED;
+		}
+		if (rs == null) {
+			return TableRows.UNSUPPORTED;
+		}
+		try {
+			ResultSetMetaData metaData = rs.getMetaData();
+			String[] labels = new String[metaData.getColumnCount()];
+			int tableIndex = -1;
+			int schemaIndex = -1;
+			for (int i = 0; i < labels.length; i++) {
+				labels[i] = metaData.getColumnLabel(i + 1);
+				if (tableColumn.equalsIgnoreCase(labels[i]))
+					tableIndex = i;
+				else if (schemaColumn.equalsIgnoreCase(labels[i]))
+					schemaIndex = i;
+			}
+			if (tableIndex < 0) {
+				throw new SQLException(MessageFormat.format(
+						Messages.Error_Unsupported_DatabaseMetaData_Method,
+						new Object[] { method }));
+			}
+			String schemaName = getSchema().getName();
+			TableRows rows = new TableRows(labels, mKnownTables);
+			while (rs.next()) {
+				Object[] row = new Object[labels.length];
+				for (int i = 0; i < row.length; i++)
+					row[i] = rs.getObject(i + 1);
+				if (row[tableIndex] == null)
+					continue;
+				if (schemaIndex >= 0 && row[schemaIndex] != null
+						&& schemaName != null
+						&& !schemaName.equals(row[schemaIndex].toString()))
+					continue;
+				rows.add(row[tableIndex].toString(), row);
+			}
+			return rows;
+		}
+		finally {
+			closeResultSet(rs);
+		}
+	}
+
+	private Schema getSchema() {
+		return (Schema) getCatalogObject();
+	}
+
+	/**
+	 * The rows of a query, by table name.
+	 */
+	private static class TableRows {
+
+		private static final TableRows UNSUPPORTED = new TableRows(null,
+				Collections.EMPTY_SET);
+
+		private String[] mLabels;
+		// table name to List of Object[]
+		private Map mRows = new HashMap();
+		// the known tables which have not taken their rows yet
+		private Set mPending;
+
+		TableRows(String[] labels, Set knownTables) {
+			mLabels = labels;
+			mPending = new HashSet(knownTables);
+		}
+
+		void add(String tableName, Object[] row) {
+			List rows = (List) mRows.get(tableName);
+			if (rows == null) {
+				rows = new ArrayList();
+				mRows.put(tableName, rows);
+			}
+			rows.add(row);
+		}
+
+		/**
+		 * @return the names of the tables which have rows
+		 */
+		Set getTableNames() {
+			return new HashSet(mRows.keySet());
+		}
+
+		/**
+		 * Removes the rows of a table. A known table with no row gets an
+		 * empty result set, while an unknown table with no row may have been
+		 * created after the query, so it is left to the table loaders.
+		 */
+		ResultSet take(String tableName) {
+			if (mLabels == null) {
+				return null;
+			}
+			boolean pending = mPending.remove(tableName);
+			List rows = (List) mRows.remove(tableName);
+			if (rows == null) {
+				rows = pending ? Collections.EMPTY_LIST : null;
+			}
+			return rows == null ? null : JDBCCachedResultSet.create(mLabels, rows);
+		}
+	}
+}
@@ -0,0 +1,349 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Data Tools Platform and others.
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * Contributors: Eclipse Data Tools Platform - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.datatools.connectivity.sqm.loader;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.datatools.connectivity.sqm.core.rte.ICatalogObject;
+import org.eclipse.datatools.connectivity.sqm.internal.core.RDBCorePlugin;
+import org.eclipse.datatools.connectivity.sqm.internal.core.connection.ConnectionFilter;
+import org.eclipse.datatools.connectivity.sqm.internal.core.util.RDBCorePluginConstants;
+import org.eclipse.datatools.modelbase.sql.schema.Schema;
+import org.eclipse.datatools.modelbase.sql.tables.Table;
+import org.eclipse.datatools.modelbase.sql.tables.ViewTable;
+
+import com.ibm.icu.text.MessageFormat;
+
+/**
+ * Detects the tables of a schema which changed since the schema was loaded,
+ * so that a refresh of the schema only reloads those tables instead of all
+ * of them.
+ *
+ * The generic detection compares the list of tables returned by
+ * DatabaseMetaData.getTables() with the tables loaded: tables created or
+ * dropped, and tables whose type or remarks changed, are reported. The JDBC
+ * meta data does not tell whether the columns or keys of a table changed, so
+ * vendors should override getChangeMarker() and getTablesChangedSince() with
+ * a query on the last DDL time of the catalog (e.g. ALL_OBJECTS,
+ * SYSCAT.TABLES), to report the tables altered as well.
+ *
+ * The detector is only used when the incremental refresh preference is set.
+ * A vendor registers a specialization of it as the override loader for the
+ * eclass named after this class, which is then used instead of the generic
+ * detection.
+ *
+ * @since 1.5
+ */
+public class JDBCSchemaChangeDetector extends JDBCBaseLoader {
+
+	/**
+	 * The name to use as eclass to register an override of this detector.
+	 */
+	public static final String OVERRIDE_ECLASS = JDBCSchemaChangeDetector.class.getName();
+
+	/**
+	 * The column name containing the table's name.
+	 *
+	 * @see java.sql.DatabaseMetaData.getTables()
+	 */
+	public static final String COLUMN_TABLE_NAME = JDBCTableLoader.COLUMN_TABLE_NAME;
+
+	/**
+	 * The column name containing the table's type.
+	 *
+	 * @see java.sql.DatabaseMetaData.getTables()
+	 */
+	public static final String COLUMN_TABLE_TYPE = JDBCTableLoader.COLUMN_TABLE_TYPE;
+
+	/**
+	 * The column name containing the table's description.
+	 *
+	 * @see java.sql.DatabaseMetaData.getTables()
+	 */
+	public static final String COLUMN_REMARKS = JDBCTableLoader.COLUMN_REMARKS;
+
+	private boolean mLoadRecorded;
+	private Object mChangeMarker;
+
+	/**
+	 * This constructs the detector using a ConnectionFilter.TABLE_FILTER
+	 * filter, the filter of the table loader.
+	 *
+	 * @param catalogObject the Schema object upon which this detector
+	 *        operates.
+	 */
+	public JDBCSchemaChangeDetector(ICatalogObject catalogObject) {
+		this(catalogObject, new SchemaObjectFilterProvider(
+				ConnectionFilter.TABLE_FILTER));
+	}
+
+	/**
+	 * @param catalogObject the Schema object upon which this detector
+	 *        operates.
+	 * @param connectionFilterProvider the filter provider used for filtering
+	 *        the tables
+	 */
+	public JDBCSchemaChangeDetector(ICatalogObject catalogObject,
+									IConnectionFilterProvider connectionFilterProvider) {
+		super(catalogObject, connectionFilterProvider);
+		if (catalogObject != null)
+			assert (catalogObject instanceof Schema);
+	}
+
+	/**
+	 * Zero-argument constructor, for the override loaders.
+	 */
+	public JDBCSchemaChangeDetector() {
+		this(null);
+	}
+
+	/**
+	 * @return whether the incremental refresh preference is set
+	 */
+	public static boolean isIncrementalRefreshEnabled() {
+		RDBCorePlugin plugin = RDBCorePlugin.getDefault();
+		return plugin != null
+				&& plugin.getPluginPreferences().getBoolean(
+						RDBCorePluginConstants.INCREMENTAL_REFRESH_CATALOG);
+	}
+
+	/**
+	 * Records the point from which detectChanges() reports the changes. This
+	 * method is invoked before the tables of the schema are loaded, except
+	 * when they are loaded again after detectChanges() found tables created
+	 * or dropped: the tables it found unchanged are then reused, so the point
+	 * it recorded is kept. If the change marker cannot be read, the next
+	 * refresh reloads all the tables.
+	 */
+	public void recordLoad() {
+		try {
+			mChangeMarker = getChangeMarker();
+			mLoadRecorded = true;
+		}
+		catch (SQLException e) {
+			mChangeMarker = null;
+			mLoadRecorded = false;
+		}
+	}
+
+	/**
+	 * Detects the changes of the schema since its tables were loaded, and
+	 * records the current point for the next detection.
+	 *
+	 * @param tables the tables loaded
+	 * @return the changes; null if they cannot be detected, in which case all
+	 *         the tables must be loaded again.
+	 * @throws SQLException if an error occurs while querying the catalog
+	 */
+	public SchemaChanges detectChanges(Collection tables) throws SQLException {
+		if (!mLoadRecorded) {
+			return null;
+		}
+		// read the new marker first, so that the changes made while the
+		// tables are compared are reported by the next detection
+		Object changeMarker = getChangeMarker();
+
+		Map loadedTables = new HashMap(tables.size() * 4 / 3 + 1);
+		for (Iterator it = tables.iterator(); it.hasNext();) {
+			Table table = (Table) it.next();
+			loadedTables.put(table.getName(), table);
+		}
+		Map droppedTables = new HashMap(loadedTables);
+		SchemaChanges changes = new SchemaChanges();
+
+		ResultSet rs = null;
+		try {
+			initActiveFilter();
+			rs = createResultSet();
+			while (rs.next()) {
+				String tableName = rs.getString(COLUMN_TABLE_NAME);
+				if (tableName == null || isFiltered(tableName)) {
+					continue;
+				}
+				Table table = (Table) droppedTables.remove(tableName);
+				if (table == null) {
+					changes.mAddedTableNames.add(tableName);
+				}
+				else if (isChanged(table, rs)) {
+					changes.mChangedTables.add(table);
+				}
+			}
+		}
+		finally {
+			if (rs != null) {
+				closeResultSet(rs);
+			}
+		}
+		changes.mDroppedTables.addAll(droppedTables.values());
+
+		if (mChangeMarker != null) {
+			Set changedTableNames = getTablesChangedSince(mChangeMarker);
+			if (changedTableNames == null) {
+				return null;
+			}
+			for (Iterator it = changedTableNames.iterator(); it.hasNext();) {
+				Table table = (Table) loadedTables.get(it.next());
+				if (table != null && !droppedTables.containsKey(table.getName())
+						&& !changes.mChangedTables.contains(table)) {
+					changes.mChangedTables.add(table);
+				}
+			}
+		}
+		mChangeMarker = changeMarker;
+		return changes;
+	}
+
+	/**
+	 * Returns a marker of the current state of the catalog, typically the
+	 * current time of the server, later passed to getTablesChangedSince(). The
+	 * default version returns null: only the list of tables is compared.
+	 *
+	 * @return the change marker, or null if the changes of the tables are not
+	 *         tracked
+	 * @throws SQLException if an error occurs
+	 */
+	protected Object getChangeMarker() throws SQLException {
+		return null;
+	}
+
+	/**
+	 * Returns the names of the tables of the schema whose definition changed
+	 * since the specified marker was read. The default version returns an
+	 * empty set.
+	 *
+	 * @param changeMarker a marker returned by getChangeMarker()
+	 * @return the names of the tables changed, which may include tables
+	 *         created or dropped since; null if the changes cannot be told.
+	 * @throws SQLException if an error occurs
+	 */
+	protected Set getTablesChangedSince(Object changeMarker)
+			throws SQLException {
+		return Collections.EMPTY_SET;
+	}
+
+	/**
+	 * Tells whether a table loaded previously differs from its row in the
+	 * result set. The default version compares the view or table type and the
+	 * remarks.
+	 *
+	 * @param table a table loaded previously
+	 * @param rs the result set, on the row of the table
+	 * @return whether the table must be refreshed
+	 * @throws SQLException if an error occurs
+	 */
+	protected boolean isChanged(Table table, ResultSet rs) throws SQLException {
+		boolean view = JDBCTableLoader.TYPE_VIEW.equals(rs
+				.getString(COLUMN_TABLE_TYPE));
+		if (view != table instanceof ViewTable) {
+			return true;
+		}
+		String remarks = rs.getString(COLUMN_REMARKS);
+		String description = table.getDescription();
+		if (remarks == null || remarks.length() == 0) {
+			return description != null && description.length() > 0;
+		}
+		return !remarks.equals(description);
+	}
+
+	/**
+	 * Creates the result set listing the tables of the schema. The default
+	 * version uses DatabaseMetaData.getTables(), like JDBCTableLoader. The
+	 * result set must contain the columns named by the "COLUMN_*" fields.
+	 *
+	 * @return a result set listing the tables of the schema
+	 * @throws SQLException if an error occurs
+	 */
+	protected ResultSet createResultSet() throws SQLException {
+		try {
+			Schema schema = getSchema();
+			return getCatalogObject().getConnection().getMetaData().getTables(
+					schema.getCatalog().getName(), schema.getName(),
+					getJDBCFilterPattern(), null);
+		}
+		catch (RuntimeException e) {
+			SQLException error = new SQLException(MessageFormat.format(
+					Messages.Error_Unsupported_DatabaseMetaData_Method,
+					new Object[] { "java.sql.DatabaseMetaData.getTables()"})); //$NON-NLS-1$
+			error.initCause(e);
+			throw error;
+		}
+	}
+
+	/**
+	 * Closes the result set created by createResultSet().
+	 *
+	 * @param rs the result set to close
+	 */
+	protected void closeResultSet(ResultSet rs) {
+		try {
+			rs.close();
+		}
+		catch (SQLException e) {
+		}
+	}
+
+	/**
+	 * Utility method.
+	 *
+	 * @return returns the catalog object being operated upon as a Schema (i.e.
+	 *         (Schema) getCatalogObject()).
+	 */
+	protected Schema getSchema() {
+		return (Schema) getCatalogObject();
+	}
+
+	/**
+	 * The changes of a schema since its tables were loaded.
+	 */
+	public static class SchemaChanges {
+
+		private List mAddedTableNames = new ArrayList();
+		private List mDroppedTables = new ArrayList();
+		private List mChangedTables = new ArrayList();
+
+		/**
+		 * @return the names of the tables created
+		 */
+		public List getAddedTableNames() {
+			return mAddedTableNames;
+		}
+
+		/**
+		 * @return the tables loaded which were dropped
+		 */
+		public List getDroppedTables() {
+			return mDroppedTables;
+		}
+
+		/**
+		 * @return the tables loaded whose definition changed
+		 */
+		public List getChangedTables() {
+			return mChangedTables;
+		}
+
+		/**
+		 * @return whether tables were created or dropped
+		 */
+		public boolean isTableListChanged() {
+			return !mAddedTableNames.isEmpty() || !mDroppedTables.isEmpty();
+		}
+	}
+}
@@ -238,6 +238,9 @@ public class JDBCTableColumnLoader extends JDBCBaseLoader {
 	 * Keep this in mind if you plan to reuse the default logic (e.g.
 	 * initialize())
 	 * 
+	 * When the schema of the table is bulk loaded, the rows of the table are
+	 * taken from its JDBCSchemaBulkLoader instead.
+	 * 
 	 * @return a result containing the information used to initialize Column
 	 *         objects
 	 * 
@@ -247,6 +250,12 @@ public class JDBCTableColumnLoader extends JDBCBaseLoader {
 		try {
 			Table table = getTable();
 			Schema schema = table.getSchema();
+			JDBCSchemaBulkLoader bulkLoader = JDBCSchemaBulkLoader.getBulkLoader(table);
+			if (bulkLoader != null) {
+				ResultSet rs = bulkLoader.getColumns(table.getName());
+				if (rs != null)
+					return rs;
+			}
 			return getCatalogObject().getConnection().getMetaData().getColumns(
 					schema.getCatalog().getName(), schema.getName(),
 					table.getName(), null);
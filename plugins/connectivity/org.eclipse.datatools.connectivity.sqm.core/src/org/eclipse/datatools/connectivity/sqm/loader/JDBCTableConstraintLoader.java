@@ -450,6 +450,9 @@ public class JDBCTableConstraintLoader extends JDBCBaseLoader {
 	 * the "COLUMN_*" fields. Keep this in mind if you plan to reuse the default
 	 * logic (e.g. loadPrimaryKey()).
 	 * 
+	 * When the schema of the table is bulk loaded, the rows of the table are
+	 * taken from its JDBCSchemaBulkLoader instead.
+	 * 
 	 * @return a result containing the information used to initialize PrimaryKey
 	 * 
 	 * @throws SQLException if an error occurs
@@ -458,6 +461,12 @@ public class JDBCTableConstraintLoader extends JDBCBaseLoader {
 		try {
 			Table table = getTable();
 			Schema schema = table.getSchema();
+			JDBCSchemaBulkLoader bulkLoader = JDBCSchemaBulkLoader.getBulkLoader(table);
+			if (bulkLoader != null) {
+				ResultSet rs = bulkLoader.getPrimaryKeys(table.getName());
+				if (rs != null)
+					return rs;
+			}
 			return getCatalogObject().getConnection().getMetaData().getPrimaryKeys(
 					schema.getCatalog().getName(), schema.getName(),
 					table.getName());
@@ -513,6 +522,9 @@ public class JDBCTableConstraintLoader extends JDBCBaseLoader {
 	 * the "COLUMN_*" fields. Keep this in mind if you plan to reuse the default
 	 * logic (e.g. loadForeignKeys()).
 	 * 
+	 * When the schema of the table is bulk loaded, the rows of the table are
+	 * taken from its JDBCSchemaBulkLoader instead.
+	 * 
 	 * @return a result containing the information used to initialize ForeignKey
 	 *         objects
 	 * 
@@ -522,6 +534,12 @@ public class JDBCTableConstraintLoader extends JDBCBaseLoader {
 		try {
 			Table table = getTable();
 			Schema schema = table.getSchema();
+			JDBCSchemaBulkLoader bulkLoader = JDBCSchemaBulkLoader.getBulkLoader(table);
+			if (bulkLoader != null) {
+				ResultSet rs = bulkLoader.getImportedKeys(table.getName());
+				if (rs != null)
+					return rs;
+			}
 			return getCatalogObject().getConnection().getMetaData()
 					.getImportedKeys(schema.getCatalog().getName(),
 							schema.getName(), table.getName());
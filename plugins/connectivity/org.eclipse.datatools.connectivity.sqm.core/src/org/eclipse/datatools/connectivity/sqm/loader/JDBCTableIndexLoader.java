@@ -207,6 +207,9 @@ public class JDBCTableIndexLoader extends JDBCBaseLoader {
 	 * fields. Keep this in mind if you plan to reuse the default logic (e.g.
 	 * loadIndexes(), initIndex()).
 	 * 
+	 * When the schema of the table is bulk loaded, the rows of the table are
+	 * taken from its JDBCSchemaBulkLoader instead.
+	 * 
 	 * @return a result containing the information used to initialize Index
 	 *         objects
 	 * 
@@ -216,6 +219,12 @@ public class JDBCTableIndexLoader extends JDBCBaseLoader {
 		try {
 			Table table = getTable();
 			Schema schema = table.getSchema();
+			JDBCSchemaBulkLoader bulkLoader = JDBCSchemaBulkLoader.getBulkLoader(table);
+			if (bulkLoader != null) {
+				ResultSet rs = bulkLoader.getIndexInfo(table.getName());
+				if (rs != null)
+					return rs;
+			}
 			return getCatalogObject().getConnection().getMetaData()
 					.getIndexInfo(schema.getCatalog().getName(),
 							schema.getName(), table.getName(), false, false);
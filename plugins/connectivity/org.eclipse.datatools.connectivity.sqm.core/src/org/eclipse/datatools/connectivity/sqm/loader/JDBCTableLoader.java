@@ -127,6 +127,7 @@ public class JDBCTableLoader extends JDBCBaseLoader {
 
 	protected Map mTableFactories;
 	protected boolean mSupportedColumnsInitialized;
+	private Set mUnchangedTableNames = Collections.EMPTY_SET;
 
 	/**
 	 * This constructs the loader using a ConnectionFilter.TABLE_FILTER filter.
@@ -177,8 +178,9 @@ public class JDBCTableLoader extends JDBCBaseLoader {
 	 * This method first checks the name of the "table" to determine whether or
 	 * not it should be filtered. If it is not filtered, it checks to see if an
 	 * object with that name was loaded previously. If it finds an existing
-	 * object, it refreshes that object and adds it to the containment list. If
-	 * the named object does not exist, the result set is passed to
+	 * object, it refreshes that object, unless it was specified as unchanged
+	 * through setUnchangedTableNames(), and adds it to the containment list.
+	 * If the named object does not exist, the result set is passed to
 	 * processRow(). Table objects are created and initialized using one of the
 	 * registered factories.
 	 * 
@@ -228,19 +230,36 @@ public class JDBCTableLoader extends JDBCBaseLoader {
 						tableFactory.initialize(table, rs);
 					}
 					containmentList.add(table);
-					if (table instanceof ICatalogObject) {
+					if (table instanceof ICatalogObject
+							&& !mUnchangedTableNames.contains(tableName)) {
 						((ICatalogObject) table).refresh();
 					}
 				}
 			}
 		}
 		finally {
+			mUnchangedTableNames = Collections.EMPTY_SET;
 			if (rs != null) {
 				closeResultSet(rs);
 			}
 		}
 	}
 
+	/**
+	 * Specifies the tables which are known not to have changed since they
+	 * were loaded, for instance by JDBCSchemaChangeDetector. These tables are
+	 * reused as they are by the next call to loadTables(), without being
+	 * refreshed. The setting only applies to the next load.
+	 * 
+	 * @param tableNames the names of the unchanged tables, or null
+	 * 
+	 * @since 1.5
+	 */
+	public void setUnchangedTableNames(Set tableNames) {
+		mUnchangedTableNames = tableNames == null ? Collections.EMPTY_SET
+				: tableNames;
+	}
+
 	/**
 	 * Removes the specified tables from the model.
 	 * 
@@ -23,6 +23,7 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Properties;
@@ -51,6 +52,14 @@ public class DriverManager {
 	
 	private static HashMap mDriverInstanceMap;
 	
+	// name to driver instance, rebuilt when mDriverInstanceMap changes
+	private static volatile HashMap mDriverInstanceNameIndex;
+	
+	// names and IDs looked up in vain in the drivers file, as of its time stamp
+	private static final HashSet mMissingDriverNames = new HashSet();
+	private static final HashSet mMissingDriverIDs = new HashSet();
+	private static String mMissingDriversFileStamp;
+	
 	private static boolean refreshDriverMap = false;
 	
 	private static String DRIVER_MARKER_FILE_NAME = "driverManagerPreferences.xml"; //$NON-NLS-1$
@@ -105,6 +114,9 @@ public class DriverManager {
 		catch (CoreException e) {
 			ConnectivityPlugin.getDefault().log(e);
 		}
+		finally {
+			driverInstancesChanged();
+		}
 	}
 
 	private void saveChanges(IPropertySet[] psets) {
@@ -127,6 +139,23 @@ public class DriverManager {
 
 	private DriverInstance getDriverInstanceFromMapByName( String name ) {
 //		updatemDriverInstanceMap();
+		HashMap index = mDriverInstanceNameIndex;
+		if (index == null) {
+			index = new HashMap();
+			Iterator iter = mDriverInstanceMap.values().iterator();
+			while (iter.hasNext()) {
+				DriverInstance di = (DriverInstance) iter.next();
+				// the first instance of a name wins, as with a search
+				if (!index.containsKey(di.getName()))
+					index.put(di.getName(), di);
+			}
+			mDriverInstanceNameIndex = index;
+		}
+		DriverInstance indexed = (DriverInstance) index.get(name);
+		if (indexed != null && name != null && name.equals(indexed.getName()))
+			return indexed;
+
+		// a driver may have been renamed through its property set
         Iterator iter = mDriverInstanceMap.values().iterator();
         while (iter.hasNext()) {
             DriverInstance di = (DriverInstance) iter.next();
@@ -175,6 +204,42 @@ public class DriverManager {
 		return list.toArray(new DriverInstance[list.size()]);
 	}
 
+	/**
+	 * Drops the name index and the lookups known to miss, after a change of
+	 * the driver instances.
+	 */
+	private static void driverInstancesChanged() {
+		mDriverInstanceNameIndex = null;
+		synchronized (mMissingDriverNames) {
+			mMissingDriverNames.clear();
+			mMissingDriverIDs.clear();
+		}
+	}
+
+	/**
+	 * Tells whether a name or ID was already looked up in vain in the drivers
+	 * file, and the file did not change since. XMLFileManager must be set to
+	 * the drivers file.
+	 */
+	private static boolean isMissingFromDriversFile(HashSet missing, String key) {
+		String stamp = XMLFileManager.getFileDateTimeStamp();
+		synchronized (mMissingDriverNames) {
+			if (stamp == null ? mMissingDriversFileStamp != null
+					: !stamp.equals(mMissingDriversFileStamp)) {
+				mMissingDriverNames.clear();
+				mMissingDriverIDs.clear();
+				mMissingDriversFileStamp = stamp;
+			}
+			return missing.contains(key);
+		}
+	}
+
+	private static void setMissingFromDriversFile(HashSet missing, String key) {
+		synchronized (mMissingDriverNames) {
+			missing.add(key);
+		}
+	}
+
 	/**
 	 * Retrieve a DriverInstance by Id
 	 * @param id ID of the driver
@@ -184,6 +249,8 @@ public class DriverManager {
 		DriverInstance di = getDriverInstanceFromMapByID(id);
 		if (di == null) {
 			XMLFileManager.setFileName(IDriverMgmtConstants.DRIVER_FILE);
+			if (isMissingFromDriversFile(mMissingDriverIDs, id))
+				return null;
 			try {
 				IPropertySet[] psets = XMLFileManager.loadPropertySets();
 				if (psets.length > 0) {
@@ -192,9 +259,12 @@ public class DriverManager {
 						if (pset.getID().equals(id)) {
 							di = new DriverInstance(pset);
 							mDriverInstanceMap.put(di.getId(), di);
+							driverInstancesChanged();
 						}
 					}
 				}
+				if (di == null)
+					setMissingFromDriversFile(mMissingDriverIDs, id);
 			}
 			catch (CoreException e) {
 				ConnectivityPlugin.getDefault().log(e);
@@ -220,6 +290,8 @@ public class DriverManager {
 		DriverInstance di = getDriverInstanceFromMapByName(name);
 		if (di == null) {
 			XMLFileManager.setFileName(IDriverMgmtConstants.DRIVER_FILE);
+			if (isMissingFromDriversFile(mMissingDriverNames, name))
+				return null;
 			try {
 				IPropertySet[] psets = XMLFileManager.loadPropertySets();
 				if (psets.length > 0) {
@@ -228,9 +300,12 @@ public class DriverManager {
 						if (pset.getName().equals(name)) {
 							di = new DriverInstance(pset);
 							mDriverInstanceMap.put(di.getId(), di);
+							driverInstancesChanged();
 						}
 					}
 				}
+				if (di == null)
+					setMissingFromDriversFile(mMissingDriverNames, name);
 			}
 			catch (CoreException e) {
 				ConnectivityPlugin.getDefault().log(e);
@@ -257,6 +332,7 @@ public class DriverManager {
                             DriverInstance driver = new DriverInstance(pset);
                             driverInstanceCollection.add(new DriverInstance(pset));
                             mDriverInstanceMap.put(driver.getId(), driver);
+                            driverInstancesChanged();
                         }
                     }
                 }
@@ -490,6 +566,7 @@ public class DriverManager {
 	public void addDriverInstance ( DriverInstance di ) {
 //		updatemDriverInstanceMap();
 		mDriverInstanceMap.put(di.getId(), di);
+		driverInstancesChanged();
 		IPropertySet[] psets = getPropertySetsFromMap();
 		XMLFileManager.setFileName(IDriverMgmtConstants.DRIVER_FILE);
 		try {
@@ -518,6 +595,7 @@ public class DriverManager {
 			DriverInstance di = new DriverInstance(propertySets[i]);
 			mDriverInstanceMap.put(di.getId(), di);
 		}
+		driverInstancesChanged();
 		IPropertySet[] psets = getPropertySetsFromMap();
 		saveChanges(psets);
 		mDriverInstanceMap = new HashMap();
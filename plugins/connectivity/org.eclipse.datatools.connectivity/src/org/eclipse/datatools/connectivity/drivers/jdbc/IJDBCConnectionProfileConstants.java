@@ -44,4 +44,56 @@ public interface IJDBCConnectionProfileConstants extends IJDBCDriverDefinitionCo
      * property is also used by the DB connection profile.
      */
     public static final String DEFAULT_SCHEMA_PROP_ID = PROP_PREFIX + "defaultSchema"; //$NON-NLS-1$
+
+	/**
+	 * Property used by the pooled JDBC connection factory to store the number
+	 * of idle connections which are never closed for being idle too long.
+	 */
+	public static final String POOL_MIN_IDLE_PROP_ID = PROP_PREFIX + "pool.minIdle"; //$NON-NLS-1$
+
+	/**
+	 * Property used by the pooled JDBC connection factory to store the maximum
+	 * number of idle connections kept for reuse.
+	 */
+	public static final String POOL_MAX_IDLE_PROP_ID = PROP_PREFIX + "pool.maxIdle"; //$NON-NLS-1$
+
+	/**
+	 * Property used by the pooled JDBC connection factory to store the maximum
+	 * number of connections borrowed at the same time, 0 for no limit.
+	 */
+	public static final String POOL_MAX_ACTIVE_PROP_ID = PROP_PREFIX + "pool.maxActive"; //$NON-NLS-1$
+
+	/**
+	 * Property used by the pooled JDBC connection factory to store how long,
+	 * in milliseconds, to wait for a connection when the maximum number are
+	 * borrowed, a negative value to wait indefinitely.
+	 */
+	public static final String POOL_MAX_WAIT_PROP_ID = PROP_PREFIX + "pool.maxWait"; //$NON-NLS-1$
+
+	/**
+	 * Property used by the pooled JDBC connection factory to store the query
+	 * which validates an idle connection before it is reused.  When not set,
+	 * <code>java.sql.Connection.isValid()</code> is used.
+	 */
+	public static final String POOL_VALIDATION_QUERY_PROP_ID = PROP_PREFIX + "pool.validationQuery"; //$NON-NLS-1$
+
+	/**
+	 * Property used by the pooled JDBC connection factory to store the timeout
+	 * of the validation, in seconds.
+	 */
+	public static final String POOL_VALIDATION_TIMEOUT_PROP_ID = PROP_PREFIX + "pool.validationTimeout"; //$NON-NLS-1$
+
+	/**
+	 * Property used by the pooled JDBC connection factory to store how long,
+	 * in milliseconds, a connection stays idle before it is closed, 0 to keep
+	 * the idle connections.
+	 */
+	public static final String POOL_IDLE_TIMEOUT_PROP_ID = PROP_PREFIX + "pool.idleTimeout"; //$NON-NLS-1$
+
+	/**
+	 * Property used by the pooled JDBC connection factory to store how long,
+	 * in milliseconds, a connection can be borrowed before it is reported as
+	 * leaked, 0 to disable the leak detection.
+	 */
+	public static final String POOL_LEAK_TIMEOUT_PROP_ID = PROP_PREFIX + "pool.leakTimeout"; //$NON-NLS-1$
 }
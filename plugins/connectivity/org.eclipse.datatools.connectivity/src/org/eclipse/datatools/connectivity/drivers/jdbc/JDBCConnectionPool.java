@@ -0,0 +1,777 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Data Tools Platform and others.
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * Contributors: Eclipse Data Tools Platform - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.datatools.connectivity.drivers.jdbc;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.datatools.connectivity.ConnectionProfileConstants;
+import org.eclipse.datatools.connectivity.IConnectionProfile;
+import org.eclipse.datatools.connectivity.drivers.IDriverMgmtConstants;
+import org.eclipse.datatools.connectivity.internal.ConnectivityPlugin;
+
+/**
+ * NON-API
+ *
+ * A pool of the physical <code>java.sql.Connection</code> objects of a JDBC
+ * connection profile, used by <code>PooledJDBCConnection</code>.
+ *
+ * The physical connections are opened by a <code>JDBCConnection</code>, so
+ * they are created exactly like unpooled ones. The borrowers get a wrapper
+ * whose <code>close()</code> hands the physical connection back to the pool,
+ * rolled back and in auto-commit mode, instead of closing it. The read-only
+ * flag, transaction isolation and catalog a borrower changed are restored
+ * too.
+ *
+ * A system job evicts the idle connections and reports the leaked ones in
+ * the background, so an idle pool releases its connections as well.
+ *
+ * The pool is configured with the <code>POOL_*_PROP_ID</code> properties of
+ * <code>IJDBCConnectionProfileConstants</code>. There is one pool per
+ * profile; it is replaced when the properties used to connect change.
+ */
+public class JDBCConnectionPool {
+
+	public static final int DEFAULT_MIN_IDLE = 0;
+	public static final int DEFAULT_MAX_IDLE = 8;
+	public static final int DEFAULT_MAX_ACTIVE = 0;
+	public static final long DEFAULT_MAX_WAIT = 30000;
+	public static final int DEFAULT_VALIDATION_TIMEOUT = 5;
+	public static final long DEFAULT_IDLE_TIMEOUT = 600000;
+	public static final long DEFAULT_LEAK_TIMEOUT = 0;
+
+	// bounds of the interval between two runs of the maintenance job
+	private static final long MIN_MAINTENANCE_INTERVAL = 100;
+	private static final long MAX_MAINTENANCE_INTERVAL = 60000;
+
+	// the base properties which the physical connections depend on
+	private static final String[] CONNECT_PROP_IDS = {
+			ConnectionProfileConstants.PROP_DRIVER_DEFINITION_ID,
+			IJDBCConnectionProfileConstants.DRIVER_CLASS_PROP_ID,
+			IDriverMgmtConstants.PROP_DEFN_JARLIST,
+			IJDBCConnectionProfileConstants.URL_PROP_ID,
+			IJDBCConnectionProfileConstants.USERNAME_PROP_ID,
+			IJDBCConnectionProfileConstants.PASSWORD_PROP_ID,
+			IJDBCConnectionProfileConstants.CONNECTION_PROPERTIES_PROP_ID,
+			IJDBCConnectionProfileConstants.POOL_MIN_IDLE_PROP_ID,
+			IJDBCConnectionProfileConstants.POOL_MAX_IDLE_PROP_ID,
+			IJDBCConnectionProfileConstants.POOL_MAX_ACTIVE_PROP_ID,
+			IJDBCConnectionProfileConstants.POOL_MAX_WAIT_PROP_ID,
+			IJDBCConnectionProfileConstants.POOL_VALIDATION_QUERY_PROP_ID,
+			IJDBCConnectionProfileConstants.POOL_VALIDATION_TIMEOUT_PROP_ID,
+			IJDBCConnectionProfileConstants.POOL_IDLE_TIMEOUT_PROP_ID,
+			IJDBCConnectionProfileConstants.POOL_LEAK_TIMEOUT_PROP_ID };
+
+	// profile instance ID to JDBCConnectionPool
+	private static final Map<String, JDBCConnectionPool> sPools = new HashMap<String, JDBCConnectionPool>();
+
+	private final IConnectionProfile mProfile;
+	private final Class mFactoryClass;
+	private final List<String> mConnectProperties;
+
+	private int mMinIdle = DEFAULT_MIN_IDLE;
+	private int mMaxIdle = DEFAULT_MAX_IDLE;
+	private int mMaxActive = DEFAULT_MAX_ACTIVE;
+	private long mMaxWait = DEFAULT_MAX_WAIT;
+	private String mValidationQuery;
+	private int mValidationTimeout = DEFAULT_VALIDATION_TIMEOUT;
+	private long mIdleTimeout = DEFAULT_IDLE_TIMEOUT;
+	private long mLeakTimeout = DEFAULT_LEAK_TIMEOUT;
+
+	// the idle connections, the most recently returned first
+	private final Deque<PooledEntry> mIdle = new ArrayDeque<PooledEntry>();
+	private final Set<PooledEntry> mBorrowed = Collections
+			.newSetFromMap(new IdentityHashMap<PooledEntry, Boolean>());
+	// the borrowed connections, and the ones being created or validated
+	private int mActiveCount;
+	private boolean mClosed;
+
+	private long mCreatedCount;
+	private long mBorrowedCount;
+	private long mReusedCount;
+	private long mValidationFailureCount;
+	private long mEvictedCount;
+	private long mLeakCount;
+	private long mWaitNanos;
+	private long mCreateNanos;
+
+	private final MaintenanceJob mMaintenanceJob;
+
+	/**
+	 * @param profile the JDBC connection profile
+	 * @param factoryClass the factory class of the connections opened by the
+	 *        pool
+	 */
+	public JDBCConnectionPool(IConnectionProfile profile, Class factoryClass) {
+		mProfile = profile;
+		mFactoryClass = factoryClass;
+		Properties props = profile.getBaseProperties();
+		mConnectProperties = getConnectProperties(props);
+
+		mMinIdle = getInt(props, IJDBCConnectionProfileConstants.POOL_MIN_IDLE_PROP_ID, mMinIdle);
+		mMaxIdle = getInt(props, IJDBCConnectionProfileConstants.POOL_MAX_IDLE_PROP_ID, mMaxIdle);
+		mMaxActive = getInt(props, IJDBCConnectionProfileConstants.POOL_MAX_ACTIVE_PROP_ID, mMaxActive);
+		mMaxWait = getLong(props, IJDBCConnectionProfileConstants.POOL_MAX_WAIT_PROP_ID, mMaxWait);
+		mValidationQuery = props.getProperty(IJDBCConnectionProfileConstants.POOL_VALIDATION_QUERY_PROP_ID);
+		if (mValidationQuery != null && mValidationQuery.trim().length() == 0)
+			mValidationQuery = null;
+		mValidationTimeout = getInt(props, IJDBCConnectionProfileConstants.POOL_VALIDATION_TIMEOUT_PROP_ID, mValidationTimeout);
+		mIdleTimeout = getLong(props, IJDBCConnectionProfileConstants.POOL_IDLE_TIMEOUT_PROP_ID, mIdleTimeout);
+		mLeakTimeout = getLong(props, IJDBCConnectionProfileConstants.POOL_LEAK_TIMEOUT_PROP_ID, mLeakTimeout);
+
+		long interval = getMaintenanceInterval();
+		if (interval > 0) {
+			mMaintenanceJob = new MaintenanceJob(interval);
+			mMaintenanceJob.schedule(interval);
+		}
+		else
+			mMaintenanceJob = null;
+	}
+
+	/**
+	 * @return the interval between two runs of the maintenance job, half
+	 *         the smallest of <code>idleTimeout</code> and
+	 *         <code>leakTimeout</code>, or 0 if neither is set
+	 */
+	private long getMaintenanceInterval() {
+		long timeout = 0;
+		if (mIdleTimeout > 0)
+			timeout = mIdleTimeout;
+		if (mLeakTimeout > 0)
+			timeout = timeout > 0 ? Math.min(timeout, mLeakTimeout) : mLeakTimeout;
+		if (timeout <= 0)
+			return 0;
+		return Math.min(MAX_MAINTENANCE_INTERVAL,
+				Math.max(MIN_MAINTENANCE_INTERVAL, timeout / 2));
+	}
+
+	/**
+	 * Returns the pool of the profile, creating it if needed. A pool whose
+	 * profile properties have changed since it was created is closed and
+	 * replaced.
+	 *
+	 * @param profile the JDBC connection profile
+	 * @param factoryClass the factory class of the connections opened by the
+	 *        pool
+	 * @return the pool of the profile
+	 */
+	public static JDBCConnectionPool getPool(IConnectionProfile profile,
+			Class factoryClass) {
+		JDBCConnectionPool stale = null;
+		JDBCConnectionPool pool;
+		synchronized (sPools) {
+			pool = sPools.get(profile.getInstanceID());
+			if (pool != null
+					&& !pool.mConnectProperties.equals(getConnectProperties(profile.getBaseProperties()))) {
+				stale = pool;
+				pool = null;
+			}
+			if (pool == null) {
+				pool = new JDBCConnectionPool(profile, factoryClass);
+				sPools.put(profile.getInstanceID(), pool);
+			}
+		}
+		if (stale != null)
+			stale.close();
+		return pool;
+	}
+
+	/**
+	 * Closes the pool of the profile, if any.
+	 *
+	 * @param profile the JDBC connection profile
+	 */
+	public static void closePool(IConnectionProfile profile) {
+		JDBCConnectionPool pool;
+		synchronized (sPools) {
+			pool = sPools.remove(profile.getInstanceID());
+		}
+		if (pool != null)
+			pool.close();
+	}
+
+	/**
+	 * Closes all the pools.
+	 */
+	public static void closeAllPools() {
+		List<JDBCConnectionPool> pools;
+		synchronized (sPools) {
+			pools = new ArrayList<JDBCConnectionPool>(sPools.values());
+			sPools.clear();
+		}
+		for (Iterator<JDBCConnectionPool> it = pools.iterator(); it.hasNext();)
+			it.next().close();
+	}
+
+	private static List<String> getConnectProperties(Properties props) {
+		List<String> values = new ArrayList<String>(CONNECT_PROP_IDS.length);
+		for (int i = 0; i < CONNECT_PROP_IDS.length; i++)
+			values.add(props.getProperty(CONNECT_PROP_IDS[i]));
+		return values;
+	}
+
+	private static int getInt(Properties props, String key, int defaultValue) {
+		return (int) getLong(props, key, defaultValue);
+	}
+
+	private static long getLong(Properties props, String key, long defaultValue) {
+		String value = props.getProperty(key);
+		if (value == null || value.trim().length() == 0)
+			return defaultValue;
+		try {
+			return Long.parseLong(value.trim());
+		}
+		catch (NumberFormatException e) {
+			return defaultValue;
+		}
+	}
+
+	/**
+	 * Borrows a connection, reusing an idle one that is still valid, or
+	 * opening a new one. Waits for a connection to be returned when
+	 * <code>maxActive</code> connections are borrowed.
+	 *
+	 * @return a connection which is returned to the pool when closed
+	 * @throws SQLException if no connection can be opened
+	 */
+	public Connection getConnection() throws SQLException {
+		long start = System.nanoTime();
+		long deadline = start + mMaxWait * 1000000L;
+		while (true) {
+			PooledEntry entry;
+			List<PooledEntry> evicted;
+			boolean retry = false;
+			synchronized (this) {
+				if (mClosed)
+					throw new SQLException(ConnectivityPlugin.getDefault()
+							.getResourceString("JDBCConnectionPool.error.closed")); //$NON-NLS-1$
+				long now = System.currentTimeMillis();
+				reportLeaks(now);
+				evicted = evictIdle(now);
+				entry = mIdle.pollFirst();
+				if (entry == null && mMaxActive > 0
+						&& mActiveCount + mIdle.size() >= mMaxActive) {
+					if (evicted == null) {
+						long remaining = deadline - System.nanoTime();
+						if (mMaxWait >= 0 && remaining <= 0)
+							throw new SQLException(ConnectivityPlugin.getDefault()
+									.getResourceString("JDBCConnectionPool.error.exhausted", //$NON-NLS-1$
+											new Object[] { Integer.valueOf(mMaxActive), mProfile.getName() }));
+						try {
+							if (mMaxWait < 0)
+								wait();
+							else
+								wait(Math.max(1, remaining / 1000000L));
+						}
+						catch (InterruptedException e) {
+							Thread.currentThread().interrupt();
+							throw new SQLException(e.getMessage(), e);
+						}
+						continue;
+					}
+					// the evicted connections are closed before looking again
+					retry = true;
+				}
+				else
+					mActiveCount++;
+			}
+			closePhysical(evicted);
+			if (retry)
+				continue;
+
+			if (entry == null) {
+				long createStart = System.nanoTime();
+				boolean created = false;
+				try {
+					entry = new PooledEntry(createPhysicalConnection());
+					created = true;
+				}
+				finally {
+					if (!created)
+						release();
+				}
+				synchronized (this) {
+					mCreatedCount++;
+					mCreateNanos += System.nanoTime() - createStart;
+				}
+			}
+			else if (!isValid(entry.mConnection)) {
+				closePhysical(entry.mConnection);
+				synchronized (this) {
+					mValidationFailureCount++;
+				}
+				release();
+				continue;
+			}
+			else {
+				synchronized (this) {
+					mReusedCount++;
+				}
+			}
+
+			synchronized (this) {
+				mBorrowedCount++;
+				mWaitNanos += System.nanoTime() - start;
+				entry.mBorrowTime = System.currentTimeMillis();
+				entry.mBorrower = mLeakTimeout > 0 ? new Throwable() : null;
+				entry.mLeakReported = false;
+				mBorrowed.add(entry);
+			}
+			return entry.newHandle();
+		}
+	}
+
+	/**
+	 * Opens a physical connection with a <code>JDBCConnection</code> of the
+	 * profile.
+	 *
+	 * @return a new physical connection
+	 * @throws SQLException if the connection cannot be opened
+	 */
+	protected Connection createPhysicalConnection() throws SQLException {
+		JDBCConnection connection = new JDBCConnection(mProfile, mFactoryClass);
+		connection.open();
+		Throwable exception = connection.getConnectException();
+		if (exception instanceof SQLException)
+			throw (SQLException) exception;
+		if (exception != null)
+			throw new SQLException(exception.getMessage(), exception);
+		Connection raw = (Connection) connection.getRawConnection();
+		if (raw == null)
+			throw new SQLException(ConnectivityPlugin.getDefault()
+					.getResourceString("DriverConnectionBase.error.unknown")); //$NON-NLS-1$
+		return raw;
+	}
+
+	private boolean isValid(Connection connection) {
+		try {
+			if (mValidationQuery != null) {
+				Statement statement = connection.createStatement();
+				try {
+					statement.setQueryTimeout(mValidationTimeout);
+					statement.execute(mValidationQuery);
+				}
+				finally {
+					statement.close();
+				}
+				return true;
+			}
+			try {
+				return connection.isValid(mValidationTimeout);
+			}
+			catch (AbstractMethodError e) {
+				// a pre-JDBC 4 driver
+				return !connection.isClosed();
+			}
+			catch (SQLException e) {
+				// the driver may not support isValid()
+				return !connection.isClosed();
+			}
+		}
+		catch (Throwable t) {
+			return false;
+		}
+	}
+
+	/**
+	 * Hands a borrowed connection back, keeping it for reuse if there are
+	 * less than <code>maxIdle</code> idle connections.
+	 */
+	private void returnConnection(PooledEntry entry) {
+		boolean keep = true;
+		try {
+			if (entry.mConnection.isClosed())
+				keep = false;
+			else {
+				if (!entry.mConnection.getAutoCommit()) {
+					entry.mConnection.rollback();
+					entry.mConnection.setAutoCommit(true);
+				}
+				entry.restoreState();
+				entry.mConnection.clearWarnings();
+			}
+		}
+		catch (Throwable t) {
+			keep = false;
+		}
+		synchronized (this) {
+			mBorrowed.remove(entry);
+			mActiveCount--;
+			if (keep && !mClosed && mIdle.size() < mMaxIdle) {
+				entry.mLastUsed = System.currentTimeMillis();
+				mIdle.addFirst(entry);
+			}
+			else
+				keep = false;
+			notifyAll();
+		}
+		if (!keep)
+			closePhysical(entry.mConnection);
+	}
+
+	private synchronized void release() {
+		mActiveCount--;
+		notifyAll();
+	}
+
+	/**
+	 * Removes the connections idle for longer than <code>idleTimeout</code>
+	 * from the pool, keeping at least <code>minIdle</code> of them. Called
+	 * with the pool locked; the connections are closed by the caller once the
+	 * pool is unlocked, so that a slow close does not block the borrowers.
+	 *
+	 * @return the removed connections, or null if there are none
+	 */
+	private List<PooledEntry> evictIdle(long now) {
+		if (mIdleTimeout <= 0)
+			return null;
+		List<PooledEntry> evicted = null;
+		while (mIdle.size() > mMinIdle
+				&& now - mIdle.peekLast().mLastUsed > mIdleTimeout) {
+			if (evicted == null)
+				evicted = new ArrayList<PooledEntry>();
+			evicted.add(mIdle.pollLast());
+			mEvictedCount++;
+		}
+		return evicted;
+	}
+
+	/**
+	 * Closes the idle connections now. The connections idle for less than
+	 * <code>idleTimeout</code> and the <code>minIdle</code> most recently
+	 * used ones are kept. This is also done periodically by the maintenance
+	 * job of the pool.
+	 */
+	public void evictIdleConnections() {
+		List<PooledEntry> evicted;
+		synchronized (this) {
+			long now = System.currentTimeMillis();
+			reportLeaks(now);
+			evicted = evictIdle(now);
+		}
+		closePhysical(evicted);
+	}
+
+	/**
+	 * Logs, once, the connections borrowed for longer than
+	 * <code>leakTimeout</code>, with the stack of their borrower.
+	 */
+	private void reportLeaks(long now) {
+		if (mLeakTimeout <= 0)
+			return;
+		for (Iterator<PooledEntry> it = mBorrowed.iterator(); it.hasNext();) {
+			PooledEntry entry = it.next();
+			if (!entry.mLeakReported && now - entry.mBorrowTime > mLeakTimeout) {
+				entry.mLeakReported = true;
+				mLeakCount++;
+				StringWriter stack = new StringWriter();
+				if (entry.mBorrower != null)
+					entry.mBorrower.printStackTrace(new PrintWriter(stack));
+				ConnectivityPlugin.getDefault().logWarning(
+						ConnectivityPlugin.getDefault().getResourceString(
+								"JDBCConnectionPool.leakDetected", //$NON-NLS-1$
+								new Object[] { mProfile.getName(),
+										Long.valueOf(now - entry.mBorrowTime),
+										stack.toString() }));
+			}
+		}
+	}
+
+	/**
+	 * Closes the idle connections, and the borrowed ones once they are
+	 * returned. The pool can no longer be borrowed from.
+	 */
+	public void close() {
+		List<PooledEntry> idle;
+		synchronized (this) {
+			mClosed = true;
+			idle = new ArrayList<PooledEntry>(mIdle);
+			mIdle.clear();
+			notifyAll();
+		}
+		if (mMaintenanceJob != null)
+			mMaintenanceJob.cancel();
+		closePhysical(idle);
+	}
+
+	private static void closePhysical(List<PooledEntry> entries) {
+		if (entries == null)
+			return;
+		for (Iterator<PooledEntry> it = entries.iterator(); it.hasNext();)
+			closePhysical(it.next().mConnection);
+	}
+
+	private static void closePhysical(Connection connection) {
+		try {
+			connection.close();
+		}
+		catch (SQLException e) {
+			// the connection is discarded anyway
+		}
+	}
+
+	public synchronized boolean isClosed() {
+		return mClosed;
+	}
+
+	/**
+	 * @return the number of borrowed connections
+	 */
+	public synchronized int getActiveCount() {
+		return mActiveCount;
+	}
+
+	/**
+	 * @return the number of idle connections
+	 */
+	public synchronized int getIdleCount() {
+		return mIdle.size();
+	}
+
+	/**
+	 * @return the number of physical connections opened
+	 */
+	public synchronized long getCreatedCount() {
+		return mCreatedCount;
+	}
+
+	/**
+	 * @return the number of connections borrowed
+	 */
+	public synchronized long getBorrowedCount() {
+		return mBorrowedCount;
+	}
+
+	/**
+	 * @return the number of connections borrowed which reused an idle one
+	 */
+	public synchronized long getReusedCount() {
+		return mReusedCount;
+	}
+
+	/**
+	 * @return the number of idle connections which failed validation
+	 */
+	public synchronized long getValidationFailureCount() {
+		return mValidationFailureCount;
+	}
+
+	/**
+	 * @return the number of idle connections closed after
+	 *         <code>idleTimeout</code>
+	 */
+	public synchronized long getEvictedCount() {
+		return mEvictedCount;
+	}
+
+	/**
+	 * @return the number of connections reported as leaked
+	 */
+	public synchronized long getLeakCount() {
+		return mLeakCount;
+	}
+
+	/**
+	 * @return the total time spent borrowing connections, in nanoseconds,
+	 *         including the time spent opening them
+	 */
+	public synchronized long getWaitNanos() {
+		return mWaitNanos;
+	}
+
+	/**
+	 * @return the total time spent opening physical connections, in
+	 *         nanoseconds
+	 */
+	public synchronized long getCreateNanos() {
+		return mCreateNanos;
+	}
+
+	private class PooledEntry {
+
+		private final Connection mConnection;
+		private long mLastUsed;
+		private long mBorrowTime;
+		private Throwable mBorrower;
+		private boolean mLeakReported;
+
+		// the state of the physical connection before a borrower first
+		// changed it, and whether the current borrower changed it
+		private boolean mInitialReadOnly;
+		private int mInitialIsolation;
+		private String mInitialCatalog;
+		private boolean mReadOnlyChanged;
+		private boolean mIsolationChanged;
+		private boolean mCatalogChanged;
+		private boolean mReadOnlySaved;
+		private boolean mIsolationSaved;
+		private boolean mCatalogSaved;
+
+		PooledEntry(Connection connection) {
+			mConnection = connection;
+		}
+
+		/**
+		 * Records the state a borrower is about to change with a setter of
+		 * the connection, so that it is restored when the connection is
+		 * returned.
+		 */
+		synchronized void saveState(String setter) throws SQLException {
+			if ("setReadOnly".equals(setter)) { //$NON-NLS-1$
+				if (!mReadOnlySaved) {
+					mInitialReadOnly = mConnection.isReadOnly();
+					mReadOnlySaved = true;
+				}
+				mReadOnlyChanged = true;
+			}
+			else if ("setTransactionIsolation".equals(setter)) { //$NON-NLS-1$
+				if (!mIsolationSaved) {
+					mInitialIsolation = mConnection.getTransactionIsolation();
+					mIsolationSaved = true;
+				}
+				mIsolationChanged = true;
+			}
+			else if ("setCatalog".equals(setter)) { //$NON-NLS-1$
+				if (!mCatalogSaved) {
+					mInitialCatalog = mConnection.getCatalog();
+					mCatalogSaved = true;
+				}
+				mCatalogChanged = true;
+			}
+		}
+
+		/**
+		 * Restores the state the borrower changed.
+		 */
+		synchronized void restoreState() throws SQLException {
+			if (mReadOnlyChanged) {
+				mConnection.setReadOnly(mInitialReadOnly);
+				mReadOnlyChanged = false;
+			}
+			if (mIsolationChanged) {
+				mConnection.setTransactionIsolation(mInitialIsolation);
+				mIsolationChanged = false;
+			}
+			if (mCatalogChanged) {
+				if (mInitialCatalog != null)
+					mConnection.setCatalog(mInitialCatalog);
+				mCatalogChanged = false;
+			}
+		}
+
+		Connection newHandle() {
+			return (Connection) Proxy.newProxyInstance(
+					JDBCConnectionPool.class.getClassLoader(),
+					new Class[] { Connection.class },
+					new PooledConnectionHandler(this));
+		}
+	}
+
+	/**
+	 * The connection a borrower gets: it delegates to the physical
+	 * connection until it is closed, which returns the physical connection to
+	 * the pool.
+	 */
+	private class PooledConnectionHandler implements InvocationHandler {
+
+		private PooledEntry mEntry;
+
+		PooledConnectionHandler(PooledEntry entry) {
+			mEntry = entry;
+		}
+
+		public Object invoke(Object proxy, Method method, Object[] args)
+				throws Throwable {
+			String name = method.getName();
+			if (method.getDeclaringClass() == Object.class) {
+				if ("equals".equals(name)) //$NON-NLS-1$
+					return Boolean.valueOf(proxy == args[0]);
+				if ("hashCode".equals(name)) //$NON-NLS-1$
+					return Integer.valueOf(System.identityHashCode(proxy));
+				if ("toString".equals(name)) //$NON-NLS-1$
+					return "Pooled " + String.valueOf(mEntry == null ? null : mEntry.mConnection); //$NON-NLS-1$
+			}
+			boolean isClose = "close".equals(name) && method.getParameterTypes().length == 0; //$NON-NLS-1$
+			PooledEntry entry;
+			synchronized (this) {
+				entry = mEntry;
+				if (isClose)
+					mEntry = null;
+			}
+			if (isClose) {
+				if (entry != null)
+					returnConnection(entry);
+				return null;
+			}
+			if ("isClosed".equals(name) && entry == null) //$NON-NLS-1$
+				return Boolean.TRUE;
+			if (entry == null)
+				throw new SQLException(ConnectivityPlugin.getDefault()
+						.getResourceString("JDBCConnectionPool.error.connectionClosed")); //$NON-NLS-1$
+			if (name.startsWith("set")) //$NON-NLS-1$
+				entry.saveState(name);
+			try {
+				return method.invoke(entry.mConnection, args);
+			}
+			catch (InvocationTargetException e) {
+				throw e.getCause();
+			}
+		}
+	}
+
+	/**
+	 * Evicts the idle connections and reports the leaked ones periodically,
+	 * until the pool is closed.
+	 */
+	private class MaintenanceJob extends Job {
+
+		private final long mInterval;
+
+		MaintenanceJob(long interval) {
+			super(ConnectivityPlugin.getDefault().getResourceString(
+					"JDBCConnectionPool.maintenanceJob.name", //$NON-NLS-1$
+					new Object[] { mProfile.getName() }));
+			setSystem(true);
+			mInterval = interval;
+		}
+
+		protected IStatus run(IProgressMonitor monitor) {
+			if (isClosed() || monitor.isCanceled())
+				return Status.CANCEL_STATUS;
+			evictIdleConnections();
+			if (!isClosed())
+				schedule(mInterval);
+			return Status.OK_STATUS;
+		}
+	}
+}
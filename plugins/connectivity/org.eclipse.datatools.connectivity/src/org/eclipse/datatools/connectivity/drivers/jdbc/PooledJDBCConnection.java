@@ -0,0 +1,58 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Data Tools Platform and others.
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * Contributors: Eclipse Data Tools Platform - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.datatools.connectivity.drivers.jdbc;
+
+import java.net.URL;
+
+import org.eclipse.datatools.connectivity.IConnectionProfile;
+
+/**
+ * NON-API
+ * 
+ * IConnection implementation for <code>java.sql.Connection</code> objects
+ * borrowed from the <code>JDBCConnectionPool</code> of the profile.
+ * 
+ * Opening the connection reuses an idle physical connection of the profile
+ * when there is one, instead of loading the driver and connecting again.
+ * Closing it returns the physical connection to the pool.
+ */
+public class PooledJDBCConnection extends JDBCConnection {
+
+	public PooledJDBCConnection(IConnectionProfile profile, Class factoryClass) {
+		super(profile, factoryClass);
+	}
+
+	public void open() {
+		if (mConnection != null) {
+			close();
+		}
+
+		mConnection = null;
+		mConnectException = null;
+
+		try {
+			mConnection = JDBCConnectionPool.getPool(getConnectionProfile(),
+					getConnectionFactoryClass()).getConnection();
+			initVersions();
+			updateVersionCache();
+		}
+		catch (Throwable t) {
+			mConnectException = t;
+			clearVersionCache();
+		}
+	}
+
+	protected URL[] getJdbcDriverJars(IConnectionProfile profile) {
+		// the driver is only loaded by the pool, when it opens a physical
+		// connection
+		return null;
+	}
+}
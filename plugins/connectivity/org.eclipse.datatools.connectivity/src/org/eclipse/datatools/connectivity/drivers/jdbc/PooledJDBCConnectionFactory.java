@@ -0,0 +1,49 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Data Tools Platform and others.
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * Contributors: Eclipse Data Tools Platform - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.datatools.connectivity.drivers.jdbc;
+
+import org.eclipse.datatools.connectivity.IConnection;
+import org.eclipse.datatools.connectivity.IConnectionProfile;
+
+/**
+ * <code>org.eclipse.datatools.connectivity.IConnectionFactory</code> for
+ * creating <code>java.sql.Connection</code> connections served from a pool of
+ * physical connections per profile.
+ * 
+ * The profile needs the same properties as for
+ * <code>JDBCConnectionFactory</code>. The pool is configured with the
+ * optional <code>POOL_*_PROP_ID</code> properties of
+ * <code>IJDBCConnectionProfileConstants</code>.
+ */
+public class PooledJDBCConnectionFactory extends JDBCConnectionFactory {
+
+	/**
+	 * The ID under which the factory is registered for the generic JDBC
+	 * connection profile.
+	 */
+	public static final String FACTORY_ID = "java.sql.Connection.pooled"; //$NON-NLS-1$
+
+	public PooledJDBCConnectionFactory() {
+		super();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see org.eclipse.datatools.connectivity.IConnectionFactory#createConnection(org.eclipse.datatools.connectivity.IConnectionProfile)
+	 */
+	public IConnection createConnection(IConnectionProfile profile) {
+		PooledJDBCConnection connection = new PooledJDBCConnection(profile, getClass());
+		connection.open();
+		return connection;
+	}
+
+}
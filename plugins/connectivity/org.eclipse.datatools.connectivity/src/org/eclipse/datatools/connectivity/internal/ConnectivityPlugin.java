@@ -29,6 +29,7 @@ import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.Plugin;
 import org.eclipse.core.runtime.Preferences;
 import org.eclipse.core.runtime.Status;
+import org.eclipse.datatools.connectivity.drivers.jdbc.JDBCConnectionPool;
 import org.eclipse.datatools.connectivity.internal.services.PluginResourceLocatorImpl;
 import org.osgi.framework.Bundle;
 import org.osgi.framework.BundleContext;
@@ -93,6 +94,7 @@ public class ConnectivityPlugin extends Plugin {
 	 */
 	public void stop(BundleContext context) throws Exception {
 		InternalProfileManager.getInstance().dispose();
+		JDBCConnectionPool.closeAllPools();
 		ClassLoaderCacheManager.releaseInstance();
 		super.stop(context);
 	}
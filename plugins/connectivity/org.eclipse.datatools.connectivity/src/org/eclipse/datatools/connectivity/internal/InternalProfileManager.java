@@ -35,6 +35,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.eclipse.core.resources.IMarker;
 import org.eclipse.core.resources.IResource;
@@ -80,7 +81,14 @@ public class InternalProfileManager {
 
 	private static InternalProfileManager mManager = null;
 
-	private IConnectionProfile[] mProfiles = null;
+	// replaced, never modified, when profiles are added or removed
+	private volatile IConnectionProfile[] mProfiles = null;
+
+	private volatile ProfileIndex mProfileIndex = null;
+
+	// bumped when a profile is renamed, after the new name is set, so that an
+	// index built from the previous names is not used
+	private final AtomicInteger mProfileIndexGeneration = new AtomicInteger();
 	
 	private List mTransientProfiles = null;
 
@@ -196,16 +204,10 @@ public class InternalProfileManager {
 	 * @return IConnectionProfile[]
 	 */
 	public IConnectionProfile[] getProfilesByCategory(String catID, boolean searchRepositories) {
-		ArrayList cps = new ArrayList();
-		IConnectionProfile[] profiles = getProfiles(false);
 		if (catID == null)
-			return profiles;
-		for (int i = 0; i < profiles.length; i++) {
-			if (profiles[i].getProvider().getCategory() != null
-					&& profiles[i].getProvider().getCategory().getId().equals(
-							catID))
-				cps.add(profiles[i]);
-		}
+			return getProfiles(false);
+		ArrayList cps = new ArrayList(Arrays.asList(getProfileIndex()
+				.getProfilesByCategoryID(catID)));
 		if (searchRepositories) {
 			for (Iterator it = mRepositories.iterator(); it.hasNext(); ) {
 				cps.addAll(Arrays.asList(((IConnectionProfileRepository)it.next()).getProfilesByCategory(catID)));
@@ -236,13 +238,7 @@ public class InternalProfileManager {
                 return cp;
         }
         
-		IConnectionProfile[] cps = getProfiles(false);
-		for (int i = 0; i < cps.length; i++) {
-			if (cps[i].getName().equals(name)) {
-				cp = cps[i];
-				break;
-			}
-		}
+		cp = getProfileIndex().getProfileByName(name);
 		if (checkRepositories) {
 			for (Iterator it = mRepositories.iterator(); cp == null
 					&& it.hasNext();) {
@@ -431,14 +427,7 @@ public class InternalProfileManager {
 	 * @return IConnectionProfile
 	 */
 	public IConnectionProfile getProfileByInstanceID(String id) {
-		IConnectionProfile[] cps = getProfiles(false);
-		IConnectionProfile cp = null;
-		for (int i = 0; i < cps.length; i++) {
-			if (cps[i].getInstanceID().equals(id)) {
-				cp = cps[i];
-				break;
-			}
-		}
+		IConnectionProfile cp = getProfileIndex().getProfileByInstanceID(id);
 		for (Iterator it = mRepositories.iterator(); cp == null && it.hasNext(); ) {
 			cp = ((IConnectionProfileRepository)it.next()).getProfileByInstanceID(id);
 		}
@@ -453,13 +442,8 @@ public class InternalProfileManager {
 	 * @return IConnectionProfile[]
 	 */
 	public IConnectionProfile[] getProfileByProviderID(String ID, boolean searchRepositories) {
-		IConnectionProfile[] cps = getProfiles(false);
-		ArrayList cpset = new ArrayList();
-		for (int i = 0; i < cps.length; i++) {
-			if (cps[i].getProviderId().equals(ID)) {
-				cpset.add(cps[i]);
-			}
-		}
+		ArrayList cpset = new ArrayList(Arrays.asList(getProfileIndex()
+				.getProfilesByProviderID(ID)));
 		if (searchRepositories) {
 			for (Iterator it = mRepositories.iterator(); it.hasNext(); ) {
 				cpset.addAll(Arrays.asList(((IConnectionProfileRepository)it.next()).getProfileByProviderID(ID)));
@@ -771,10 +755,11 @@ public class InternalProfileManager {
 
 		// add new profile to profile caches
 
-		mProfiles = new IConnectionProfile[cps.length + 1];
+		IConnectionProfile[] newProfiles = new IConnectionProfile[cps.length + 1];
 		if (cps.length != 0)
-			System.arraycopy(cps, 0, mProfiles, 0, cps.length);
-		mProfiles[cps.length] = profile;
+			System.arraycopy(cps, 0, newProfiles, 0, cps.length);
+		newProfiles[cps.length] = profile;
+		mProfiles = newProfiles;
 		
 		profile.addPropertySetListener(mPropertySetListener);
 
@@ -801,7 +786,7 @@ public class InternalProfileManager {
 		}
 
 		IConnectionProfile[] oldProfiles = mProfiles;
-		mProfiles = new IConnectionProfile[oldProfiles.length - 1];
+		IConnectionProfile[] newProfiles = new IConnectionProfile[oldProfiles.length - 1];
 		int oldIndex = 0, oldCount = oldProfiles.length;
 		for (int newIndex = 0, newCount = oldCount - 1; oldIndex < oldCount
 				&& newIndex < newCount; ++oldIndex, ++newIndex) {
@@ -810,15 +795,15 @@ public class InternalProfileManager {
 				--newIndex;
 				continue;
 			}
-			mProfiles[newIndex] = oldProfiles[oldIndex];
+			newProfiles[newIndex] = oldProfiles[oldIndex];
 		}
 		if (oldIndex != oldProfiles.length
 				&& !oldProfiles[oldProfiles.length-1].equals(profile)) {
 			// Don't know how this happened, but the profile is not contained by
 			// this repository. All that work for nothing.
-			mProfiles = oldProfiles;
 			return;
 		}
+		mProfiles = newProfiles;
 
 		mIsDirty = true;
 
@@ -984,8 +969,10 @@ public class InternalProfileManager {
 		String oldName = profile.getName();
 		String oldDesc = profile.getDescription();
 		Boolean oldAutoConnect = Boolean.valueOf(profile.isAutoConnect());
-		if (newName != null && !newName.equals(oldName))
+		if (newName != null && !newName.equals(oldName)) {
 			internalProfile.setName(newName);
+			invalidateProfileIndex();
+		}
 		if (newDesc != null && !newDesc.equals(oldDesc))
 			internalProfile.setDescription(newDesc);
 		if (autoConnect != null && !autoConnect.equals(oldAutoConnect)) {
@@ -1217,6 +1204,8 @@ public class InternalProfileManager {
 
 	public void fireProfileChanged(IConnectionProfile profile, String oldName,
 			String oldDesc, Boolean oldAutoConnect) {
+		// the profile may have been renamed
+		invalidateProfileIndex();
 		Object[] ls = mProfileListeners.getListeners();
 		for (int i = 0; i < ls.length; ++i) {
 			if (ls[i] instanceof IProfileListener1) {
@@ -1229,6 +1218,121 @@ public class InternalProfileManager {
 		}
 	}
 
+	/**
+	 * Returns the index of the current profiles, building it if the profiles
+	 * changed since it was built.
+	 */
+	private ProfileIndex getProfileIndex() {
+		IConnectionProfile[] profiles = mProfiles;
+		if (profiles == null) {
+			loadProfiles();
+			profiles = mProfiles;
+		}
+		int generation = mProfileIndexGeneration.get();
+		ProfileIndex index = mProfileIndex;
+		if (index == null || !index.isIndexOf(profiles, generation)) {
+			index = new ProfileIndex(profiles, generation);
+			// a profile renamed meanwhile may be indexed under its old name
+			if (mProfileIndexGeneration.get() == generation) {
+				mProfileIndex = index;
+			}
+		}
+		return index;
+	}
+
+	private void invalidateProfileIndex() {
+		mProfileIndexGeneration.incrementAndGet();
+		mProfileIndex = null;
+	}
+
+	/**
+	 * Lookup tables over one snapshot of the profiles. An index is never
+	 * modified once built, so that it can be read without locking; a new one
+	 * is built when the profiles array is replaced or a profile is renamed,
+	 * which the generation of the index tells.
+	 */
+	private static final class ProfileIndex {
+
+		private static final IConnectionProfile[] NO_PROFILES = new IConnectionProfile[0];
+
+		private final IConnectionProfile[] mIndexedProfiles;
+		private final int mGeneration;
+		private final Map mProfilesByName;
+		private final Map mProfilesByInstanceID;
+		private final Map mProfilesByProviderID;
+		private final Map mProfilesByCategoryID;
+
+		public ProfileIndex(IConnectionProfile[] profiles, int generation) {
+			mIndexedProfiles = profiles;
+			mGeneration = generation;
+			mProfilesByName = new HashMap(profiles.length * 4 / 3 + 1);
+			mProfilesByInstanceID = new HashMap(profiles.length * 4 / 3 + 1);
+			Map byProviderID = new HashMap();
+			Map byCategoryID = new HashMap();
+			for (int i = 0; i < profiles.length; i++) {
+				IConnectionProfile profile = profiles[i];
+				// the first profile of a name or ID wins, as with a search
+				if (!mProfilesByName.containsKey(profile.getName())) {
+					mProfilesByName.put(profile.getName(), profile);
+				}
+				if (!mProfilesByInstanceID.containsKey(profile.getInstanceID())) {
+					mProfilesByInstanceID.put(profile.getInstanceID(), profile);
+				}
+				add(byProviderID, profile.getProviderId(), profile);
+				if (profile.getProvider() != null
+						&& profile.getProvider().getCategory() != null) {
+					add(byCategoryID, profile.getProvider().getCategory()
+							.getId(), profile);
+				}
+			}
+			mProfilesByProviderID = toArrays(byProviderID);
+			mProfilesByCategoryID = toArrays(byCategoryID);
+		}
+
+		public boolean isIndexOf(IConnectionProfile[] profiles, int generation) {
+			return mIndexedProfiles == profiles && mGeneration == generation;
+		}
+
+		public IConnectionProfile getProfileByName(String name) {
+			return (IConnectionProfile) mProfilesByName.get(name);
+		}
+
+		public IConnectionProfile getProfileByInstanceID(String id) {
+			return (IConnectionProfile) mProfilesByInstanceID.get(id);
+		}
+
+		public IConnectionProfile[] getProfilesByProviderID(String id) {
+			IConnectionProfile[] profiles = (IConnectionProfile[]) mProfilesByProviderID
+					.get(id);
+			return profiles == null ? NO_PROFILES : profiles;
+		}
+
+		public IConnectionProfile[] getProfilesByCategoryID(String id) {
+			IConnectionProfile[] profiles = (IConnectionProfile[]) mProfilesByCategoryID
+					.get(id);
+			return profiles == null ? NO_PROFILES : profiles;
+		}
+
+		private static void add(Map map, Object key, IConnectionProfile profile) {
+			List profiles = (List) map.get(key);
+			if (profiles == null) {
+				profiles = new ArrayList(1);
+				map.put(key, profiles);
+			}
+			profiles.add(profile);
+		}
+
+		private static Map toArrays(Map map) {
+			for (Iterator it = map.entrySet().iterator(); it.hasNext();) {
+				Map.Entry entry = (Map.Entry) it.next();
+				List profiles = (List) entry.getValue();
+				entry.setValue(profiles.toArray(new IConnectionProfile[profiles
+						.size()]));
+			}
+			return map;
+		}
+	}
+
 	private void autoConnectProfiles() {
 		for (int index = 0, count = mProfiles.length; index < count; ++index) {
 			if (mProfiles[index].isAutoConnect()) {
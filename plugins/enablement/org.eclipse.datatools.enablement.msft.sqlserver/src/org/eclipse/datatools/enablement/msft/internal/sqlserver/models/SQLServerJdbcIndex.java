@@ -15,13 +15,14 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 
+import org.eclipse.datatools.connectivity.sqm.core.rte.LazyLoadState;
 import org.eclipse.datatools.connectivity.sqm.core.rte.jdbc.JDBCIndex;
 import org.eclipse.datatools.enablement.msft.internal.sqlserver.loaders.SQLCatalogUtils;
 import org.eclipse.datatools.enablement.msft.internal.sqlserver.loaders.SQLs;
 
 public class SQLServerJdbcIndex extends JDBCIndex {
 
-	private Boolean loadedExtendedIndexInfo = Boolean.FALSE;
+	private final LazyLoadState loadedExtendedIndexInfo = new LazyLoadState();
 
 	private boolean padIndex;
 	private boolean statisticsNoRecompute;
@@ -32,9 +33,11 @@ public class SQLServerJdbcIndex extends JDBCIndex {
 	private boolean primaryKey;
 
 	public boolean isPadIndex() {
-		synchronized (loadedExtendedIndexInfo) {
-			if (!loadedExtendedIndexInfo.booleanValue()) {
-				loadExtendedIndexInfo();
+		if (!loadedExtendedIndexInfo.isLoaded()) {
+			synchronized (loadedExtendedIndexInfo) {
+				if (!loadedExtendedIndexInfo.isLoaded()) {
+					loadExtendedIndexInfo();
+				}
 			}
 		}
 
@@ -42,54 +45,66 @@ public class SQLServerJdbcIndex extends JDBCIndex {
 	}
 
 	public boolean isStatisticsNoRecompute() {
-		synchronized (loadedExtendedIndexInfo) {
-			if (!loadedExtendedIndexInfo.booleanValue()) {
-				loadExtendedIndexInfo();
+		if (!loadedExtendedIndexInfo.isLoaded()) {
+			synchronized (loadedExtendedIndexInfo) {
+				if (!loadedExtendedIndexInfo.isLoaded()) {
+					loadExtendedIndexInfo();
+				}
 			}
 		}
 		return statisticsNoRecompute;
 	}
 
 	public boolean isIgnoreDupKey() {
-		synchronized (loadedExtendedIndexInfo) {
-			if (!loadedExtendedIndexInfo.booleanValue()) {
-				loadExtendedIndexInfo();
+		if (!loadedExtendedIndexInfo.isLoaded()) {
+			synchronized (loadedExtendedIndexInfo) {
+				if (!loadedExtendedIndexInfo.isLoaded()) {
+					loadExtendedIndexInfo();
+				}
 			}
 		}
 		return ignoreDupKey;
 	}
 
 	public boolean isAllowRowLocks() {
-		synchronized (loadedExtendedIndexInfo) {
-			if (!loadedExtendedIndexInfo.booleanValue()) {
-				loadExtendedIndexInfo();
+		if (!loadedExtendedIndexInfo.isLoaded()) {
+			synchronized (loadedExtendedIndexInfo) {
+				if (!loadedExtendedIndexInfo.isLoaded()) {
+					loadExtendedIndexInfo();
+				}
 			}
 		}
 		return allowRowLocks;
 	}
 
 	public boolean isAllowPageLocks() {
-		synchronized (loadedExtendedIndexInfo) {
-			if (!loadedExtendedIndexInfo.booleanValue()) {
-				loadExtendedIndexInfo();
+		if (!loadedExtendedIndexInfo.isLoaded()) {
+			synchronized (loadedExtendedIndexInfo) {
+				if (!loadedExtendedIndexInfo.isLoaded()) {
+					loadExtendedIndexInfo();
+				}
 			}
 		}
 		return allowPageLocks;
 	}
 
 	public boolean isUniqueConstraint() {
-		synchronized (loadedExtendedIndexInfo) {
-			if (!loadedExtendedIndexInfo.booleanValue()) {
-				loadExtendedIndexInfo();
+		if (!loadedExtendedIndexInfo.isLoaded()) {
+			synchronized (loadedExtendedIndexInfo) {
+				if (!loadedExtendedIndexInfo.isLoaded()) {
+					loadExtendedIndexInfo();
+				}
 			}
 		}
 		return uniqueConstraint;
 	}
 
 	public boolean isPrimaryKey() {
-		synchronized (loadedExtendedIndexInfo) {
-			if (!loadedExtendedIndexInfo.booleanValue()) {
-				loadExtendedIndexInfo();
+		if (!loadedExtendedIndexInfo.isLoaded()) {
+			synchronized (loadedExtendedIndexInfo) {
+				if (!loadedExtendedIndexInfo.isLoaded()) {
+					loadExtendedIndexInfo();
+				}
 			}
 		}
 		return primaryKey;
@@ -126,7 +141,7 @@ public class SQLServerJdbcIndex extends JDBCIndex {
 			SQLCatalogUtils.cleanupJDBCResouce(rs, stmt, oldCatalog, conn);
 		}
 
-		this.loadedExtendedIndexInfo = Boolean.TRUE;
+		this.loadedExtendedIndexInfo.setLoaded(true);
 	}
 
 }
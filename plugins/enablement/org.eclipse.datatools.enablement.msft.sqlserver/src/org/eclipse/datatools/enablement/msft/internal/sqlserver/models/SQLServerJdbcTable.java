@@ -18,6 +18,7 @@ import java.util.Iterator;
 
 import org.eclipse.datatools.connectivity.sqm.core.definition.DataModelElementFactory;
 import org.eclipse.datatools.connectivity.sqm.core.rte.ICatalogObject;
+import org.eclipse.datatools.connectivity.sqm.core.rte.LazyLoadState;
 import org.eclipse.datatools.connectivity.sqm.core.rte.jdbc.JDBCTable;
 import org.eclipse.datatools.connectivity.sqm.internal.core.RDBCorePlugin;
 import org.eclipse.datatools.enablement.msft.internal.sqlserver.loaders.SQLCatalogUtils;
@@ -33,16 +34,18 @@ import org.eclipse.emf.common.util.EList;
 
 public class SQLServerJdbcTable extends JDBCTable {
 
-	private Boolean tableTypeIdStatusLoaded = Boolean.FALSE;
+	private final LazyLoadState tableTypeIdStatusLoaded = new LazyLoadState();
 
 	private int id;
 
 	protected boolean triggerLoaded = false;
 
 	public int getId() {
-		synchronized (tableTypeIdStatusLoaded) {
-			if (!tableTypeIdStatusLoaded.booleanValue()) {
-				loadTableIdStat();
+		if (!tableTypeIdStatusLoaded.isLoaded()) {
+			synchronized (tableTypeIdStatusLoaded) {
+				if (!tableTypeIdStatusLoaded.isLoaded()) {
+					loadTableIdStat();
+				}
 			}
 		}
 
@@ -72,7 +75,7 @@ public class SQLServerJdbcTable extends JDBCTable {
 			SQLCatalogUtils.cleanupJDBCResouce(rs, stmt, oldCatalog, conn);
 		}
 
-		this.tableTypeIdStatusLoaded = Boolean.TRUE;
+		this.tableTypeIdStatusLoaded.setLoaded(true);
 	}
 
 	private Schema getSchema(String schemaName) {
@@ -102,9 +105,7 @@ public class SQLServerJdbcTable extends JDBCTable {
 		clearTriggers(triggerList);
 		Connection connection = this.getConnection();
 
-		boolean deliver = this.eDeliver();
-		this.eSetDeliver(false);
-
+		delivery.suspend();
 		try {
 			DataModelElementFactory factory = RDBCorePlugin.getDefault().getDatabaseDefinitionRegistry().getDefinition(this.getCatalogDatabase())
 					.getDataModelElementFactory();
@@ -204,7 +205,7 @@ public class SQLServerJdbcTable extends JDBCTable {
 			System.out.println(e.toString());
 		}
 
-		this.eSetDeliver(deliver);
+		delivery.resume();
 
 	}
 
@@ -16,7 +16,9 @@ import java.util.ArrayList;
 import java.util.List;
 
 import org.eclipse.datatools.connectivity.sqm.core.definition.DatabaseDefinition;
+import org.eclipse.datatools.connectivity.sqm.core.rte.DeliverySuspender;
 import org.eclipse.datatools.connectivity.sqm.core.rte.ICatalogObject;
+import org.eclipse.datatools.connectivity.sqm.core.rte.LazyLoadState;
 import org.eclipse.datatools.connectivity.sqm.core.rte.RefreshManager;
 import org.eclipse.datatools.connectivity.sqm.core.util.CatalogLoaderOverrideManager;
 import org.eclipse.datatools.connectivity.sqm.internal.core.RDBCorePlugin;
@@ -49,14 +51,19 @@ import org.eclipse.emf.ecore.EStructuralFeature;
 public class SqlServerSchema extends SchemaImpl implements ICatalogObject{
 
 	
-	private Boolean tablesLoaded = Boolean.FALSE;
+	/**
+	 * Turns the notifications off while the features of this object are
+	 * loaded.
+	 */
+	protected final DeliverySuspender delivery = new DeliverySuspender(this);
+	private final LazyLoadState tablesLoaded = new LazyLoadState();
 	private SoftReference tableLoaderRef;
 
-	private Boolean routinesLoaded = Boolean.FALSE;
+	private final LazyLoadState routinesLoaded = new LazyLoadState();
 
 	private SoftReference routineLoaderRef;
 
-	private Boolean udtsLoaded = Boolean.FALSE;
+	private final LazyLoadState udtsLoaded = new LazyLoadState();
 
 	private SoftReference udtLoaderRef;
 
@@ -184,9 +191,11 @@ public class SqlServerSchema extends SchemaImpl implements ICatalogObject{
 	}
 
 	public EList getRoutines() {
-		synchronized (routinesLoaded) {
-			if (!routinesLoaded.booleanValue())
-				loadRoutines();
+		if (!routinesLoaded.isLoaded()) {
+			synchronized (routinesLoaded) {
+				if (!routinesLoaded.isLoaded())
+					loadRoutines();
+			}
 		}
 		return super.getRoutines();
 	}
@@ -205,9 +214,11 @@ public class SqlServerSchema extends SchemaImpl implements ICatalogObject{
 	}
 
 	public EList getTables() {
-		synchronized (tablesLoaded) {
-			if (!tablesLoaded.booleanValue())
-				loadTables();
+		if (!tablesLoaded.isLoaded()) {
+			synchronized (tablesLoaded) {
+				if (!tablesLoaded.isLoaded())
+					loadTables();
+			}
 		}
 		return super.getTables();
 	}
@@ -225,9 +236,11 @@ public class SqlServerSchema extends SchemaImpl implements ICatalogObject{
 		return (JDBCUserDefinedTypeLoader) udtLoaderRef.get();
 	}
 	public EList getUserDefinedTypes() {
-		synchronized (udtsLoaded) {
-			if (!routinesLoaded.booleanValue())
-				loadUDTs();
+		if (!udtsLoaded.isLoaded()) {
+			synchronized (udtsLoaded) {
+				if (!udtsLoaded.isLoaded())
+					loadUDTs();
+			}
 		}
 		return super.getUserDefinedTypes();
 	}
@@ -236,7 +249,7 @@ public class SqlServerSchema extends SchemaImpl implements ICatalogObject{
 		if (catalog == null || catalog.getDatabase() == null) return;
 		ConnectionInfo conInf = DatabaseConnectionRegistry.getInstance()
 				.getConnectionForDatabase(getCatalogDatabase());
-		if (tablesLoaded.booleanValue()
+		if (tablesLoaded.isLoaded()
 				&& filterKey.equals(getTableFilterKey())
 				|| (conInf != null
 						&& conInf.getFilter(getTableFilterKey()) == null && (ConnectionFilter.TABLE_FILTER
@@ -244,11 +257,13 @@ public class SqlServerSchema extends SchemaImpl implements ICatalogObject{
 						.getName()
 						+ ConnectionFilter.FILTER_SEPARATOR
 						+ ConnectionFilter.TABLE_FILTER)))) {
-			tablesLoaded = Boolean.FALSE;
-			getTableLoader().clearTables(super.getTables());
+			synchronized (tablesLoaded) {
+				tablesLoaded.setLoaded(false);
+				getTableLoader().clearTables(super.getTables());
+			}
 			refresh = true;
 		}
-		if (routinesLoaded.booleanValue()
+		if (routinesLoaded.isLoaded()
 				&& filterKey.equals(getRoutineFilterKey())
 				|| (conInf != null
 						&& conInf.getFilter(getRoutineFilterKey()) == null && (ConnectionFilter.STORED_PROCEDURE_FILTER
@@ -256,11 +271,13 @@ public class SqlServerSchema extends SchemaImpl implements ICatalogObject{
 						.getName()
 						+ ConnectionFilter.FILTER_SEPARATOR
 						+ ConnectionFilter.STORED_PROCEDURE_FILTER)))) {
-			routinesLoaded = Boolean.FALSE;
-			getRoutineLoader().clearRoutines(super.getRoutines());
+			synchronized (routinesLoaded) {
+				routinesLoaded.setLoaded(false);
+				getRoutineLoader().clearRoutines(super.getRoutines());
+			}
 			refresh = true;
 		}
-		if (udtsLoaded.booleanValue()
+		if (udtsLoaded.isLoaded()
 				&& filterKey.equals(getUDTFilterKey())
 				|| (conInf != null
 						&& conInf.getFilter(getUDTFilterKey()) == null && (ConnectionFilter.USER_DEFINED_TYPE_FILTER
@@ -268,8 +285,10 @@ public class SqlServerSchema extends SchemaImpl implements ICatalogObject{
 						.getName()
 						+ ConnectionFilter.FILTER_SEPARATOR
 						+ ConnectionFilter.USER_DEFINED_TYPE_FILTER)))) {
-			udtsLoaded = Boolean.FALSE;
-			getUDTLoader().clearUDTs(super.getUserDefinedTypes());
+			synchronized (udtsLoaded) {
+				udtsLoaded.setLoaded(false);
+				getUDTLoader().clearUDTs(super.getUserDefinedTypes());
+			}
 			refresh = true;
 		}
 		if (refresh) {
@@ -278,93 +297,87 @@ public class SqlServerSchema extends SchemaImpl implements ICatalogObject{
 	}
 	private void loadRoutines() {
 		synchronized (routinesLoaded) {
-			boolean deliver = eDeliver();
+			delivery.suspend();
 			try {
 				List container = super.getRoutines();
 				List existingRoutines = new ArrayList(container);
 				
-				eSetDeliver(false);
-
 				container.clear();
 
 				getRoutineLoader().loadRoutines(container, existingRoutines);
 
 				getRoutineLoader().clearRoutines(existingRoutines);
 
-				routinesLoaded = Boolean.TRUE;
+				routinesLoaded.setLoaded(true);
 			}
 			catch (Exception e) {
 				e.printStackTrace();
 			}
 			finally {
-				eSetDeliver(deliver);
+				delivery.resume();
 			}
 		}
 	}
 	private void loadTables() {
 		synchronized (tablesLoaded) {
-			boolean deliver = eDeliver();
+			delivery.suspend();
 			try {
 				List container = super.getTables();
 				List existingTables = new ArrayList(container);
 				
-				eSetDeliver(false);
-
 				container.clear();
 
 				getTableLoader().loadTables(container, existingTables);
 
 				getTableLoader().clearTables(existingTables);
 
-				tablesLoaded = Boolean.TRUE;
+				tablesLoaded.setLoaded(true);
 			}
 			catch (Exception e) {
 				e.printStackTrace();
 			}
 			finally {
-				eSetDeliver(deliver);
+				delivery.resume();
 			}
 		}
 	}
 	private void loadUDTs() {
-		synchronized (routinesLoaded) {
-			boolean deliver = eDeliver();
+		synchronized (udtsLoaded) {
+			delivery.suspend();
 			try {
 				List container = super.getUserDefinedTypes();
 				List existingUDTs = new ArrayList(container);
 				
-				eSetDeliver(false);
-
 				container.clear();
 
 				getUDTLoader().loadUDTs(container, existingUDTs);
 
 				getUDTLoader().clearUDTs(existingUDTs);
 
-				udtsLoaded = Boolean.TRUE;
+				udtsLoaded.setLoaded(true);
 			}
 			catch (Exception e) {
 				e.printStackTrace();
 			}
 			finally {
-				eSetDeliver(deliver);
+				delivery.resume();
 			}
 		}
 	}
 	public void refresh() {
 		synchronized (tablesLoaded) {
-			if (tablesLoaded.booleanValue()) {
-				tablesLoaded = Boolean.FALSE;
+			if (tablesLoaded.isLoaded()) {
+				tablesLoaded.setLoaded(false);
 			}
 		}
 		synchronized (routinesLoaded) {
-			if (routinesLoaded.booleanValue()) {
-				routinesLoaded = Boolean.FALSE;
+			if (routinesLoaded.isLoaded()) {
+				routinesLoaded.setLoaded(false);
 			}
 		}
 		synchronized (udtsLoaded) {
-			if (udtsLoaded.booleanValue()) {
-				udtsLoaded = Boolean.FALSE;
+			if (udtsLoaded.isLoaded()) {
+				udtsLoaded.setLoaded(false);
 			}
 		}
 
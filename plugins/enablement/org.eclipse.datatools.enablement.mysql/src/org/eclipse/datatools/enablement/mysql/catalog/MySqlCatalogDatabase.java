@@ -15,6 +15,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 import org.eclipse.datatools.connectivity.sqm.core.definition.DatabaseDefinition;
+import org.eclipse.datatools.connectivity.sqm.core.rte.LazyLoadState;
 import org.eclipse.datatools.connectivity.sqm.core.rte.jdbc.JDBCDatabase;
 import org.eclipse.datatools.connectivity.sqm.core.util.CatalogLoaderOverrideManager;
 import org.eclipse.datatools.connectivity.sqm.internal.core.RDBCorePlugin;
@@ -32,9 +33,9 @@ import org.eclipse.emf.ecore.util.EObjectWithInverseResolvingEList;
  */
 public class MySqlCatalogDatabase extends JDBCDatabase {
 	
-	private Boolean schemasLoaded = Boolean.FALSE;
-	private Boolean catalogsLoaded = Boolean.FALSE;
-	private Boolean authorizationIdsLoaded = Boolean.FALSE;
+	private final LazyLoadState schemasLoaded = new LazyLoadState();
+	private final LazyLoadState catalogsLoaded = new LazyLoadState();
+	private final LazyLoadState authorizationIdsLoaded = new LazyLoadState();
 
 	private transient SoftReference authorizationIdLoaderRef;
 
@@ -44,20 +45,20 @@ public class MySqlCatalogDatabase extends JDBCDatabase {
 
 	public void refresh() {
 		synchronized (schemasLoaded) {
-			if (schemasLoaded.booleanValue()) {
-				schemasLoaded = Boolean.FALSE;
+			if (schemasLoaded.isLoaded()) {
+				schemasLoaded.setLoaded(false);
 			}
 		}
 
 		synchronized (catalogsLoaded) {
-			if (catalogsLoaded.booleanValue()) {
-				catalogsLoaded = Boolean.FALSE;
+			if (catalogsLoaded.isLoaded()) {
+				catalogsLoaded.setLoaded(false);
 			}
 		}
 
 		synchronized (authorizationIdsLoaded) {
-			if (authorizationIdsLoaded.booleanValue()) {
-				authorizationIdsLoaded = Boolean.FALSE;
+			if (authorizationIdsLoaded.isLoaded()) {
+				authorizationIdsLoaded.setLoaded(false);
 			}
 		}
 
@@ -66,7 +67,7 @@ public class MySqlCatalogDatabase extends JDBCDatabase {
 
 	public EList getSchemas() {
 		synchronized (schemasLoaded) {
-			if(!schemasLoaded.booleanValue()) { 
+			if(!schemasLoaded.isLoaded()) { 
 				if (schemas == null) {
 					schemas = new EObjectWithInverseResolvingEList(Schema.class, this,
 							SQLSchemaPackage.DATABASE__SCHEMAS,
@@ -74,7 +75,7 @@ public class MySqlCatalogDatabase extends JDBCDatabase {
 					Schema schema = new MySqlCatalogSchema();
 					schema.setName(getName());
 					schemas.add(schema);
-					schemasLoaded = Boolean.TRUE;
+					schemasLoaded.setLoaded(true);
 				}
 				return this.schemas;
 			}
@@ -84,12 +85,12 @@ public class MySqlCatalogDatabase extends JDBCDatabase {
 
 	public EList getCatalogs() {
 		synchronized (catalogsLoaded) {
-			if(!catalogsLoaded.booleanValue()) { 
+			if(!catalogsLoaded.isLoaded()) { 
 				if (catalogs == null) {
 					catalogs = new EObjectWithInverseResolvingEList(Schema.class, this,
 									SQLSchemaPackage.DATABASE__CATALOGS,
 									SQLSchemaPackage.SCHEMA__DATABASE);
-					catalogsLoaded = Boolean.TRUE;
+					catalogsLoaded.setLoaded(true);
 				}
 			}
 		}
@@ -97,33 +98,33 @@ public class MySqlCatalogDatabase extends JDBCDatabase {
 	}
 
 	public EList getAuthorizationIds() {
-		synchronized (this.authorizationIdsLoaded) {
-			if (!authorizationIdsLoaded.booleanValue())
-				this.loadAuthorizationIdentifiers();
+		if (!authorizationIdsLoaded.isLoaded()) {
+			synchronized (authorizationIdsLoaded) {
+				if (!authorizationIdsLoaded.isLoaded())
+					this.loadAuthorizationIdentifiers();
+			}
 		}
 
 		return super.getAuthorizationIds();
 	}
 
 	private void loadAuthorizationIdentifiers() {
-		boolean deliver = eDeliver();
+		delivery.suspend();
 		try {
 			List container = super.getAuthorizationIds();
 			List existingAuthorizationIds = new ArrayList(container);
 
-			eSetDeliver(false);
-
 			container.clear();
 			getAuthorizationIdentifierLoader().loadAuthorizationIdentifiers(container, existingAuthorizationIds);
 			getAuthorizationIdentifierLoader().clearAuthorizationIdentifiers(existingAuthorizationIds);
 
-			authorizationIdsLoaded = Boolean.TRUE;
+			authorizationIdsLoaded.setLoaded(true);
 
 		} catch (Exception e) {
 			e.printStackTrace();
 
 		} finally {
-			eSetDeliver(deliver);
+			delivery.resume();
 		}
 	}
 
@@ -43,7 +43,7 @@ public final class Constants
 	public static final int DATA_SOURCE_MINOR_VERSION = 0;
 	public static final String DATA_SOURCE_PRODUCT_NAME = Messages.getString("Constants.DriverName"); //$NON-NLS-1$
 	
-	//Cache size affects the time used to prepare cache each time and the thread switch times 
+	//The number of rows the parsing thread may get ahead of the result set before it waits
 	public static final int CACHED_RESULT_SET_LENGTH = 100;
 	public static final String APPCONTEXT_INPUTSTREAM = "org.eclipse.datatools.enablement.oda.xml.inputStream"; //$NON-NLS-1$
 	public static final String APPCONTEXT_CLOSEINPUTSTREAM = "org.eclipse.datatools.enablement.oda.xml.closeInputStream"; //$NON-NLS-1$
@@ -59,6 +59,15 @@ public final class Constants
 	public static final String CONST_PROP_ENCODINGLIST = "ENCODINGLIST";//$NON-NLS-1$
 	public static final String CONST_PROP_SCHEMA_FILELIST="SCHEMAFILELIST";
 	
+	//The connection property that selects how the XML file is parsed: SAX on a
+	//separate thread, StAX from the thread reading the result set, or StAX in a
+	//single pass shared by the queries executed on the connection before one
+	//of them is read.
+	public static final String CONST_PROP_PARSER_ENGINE = "PARSERENGINE"; //$NON-NLS-1$
+	public static final String PARSER_ENGINE_SAX = "SAX"; //$NON-NLS-1$
+	public static final String PARSER_ENGINE_STAX = "STAX"; //$NON-NLS-1$
+	public static final String PARSER_ENGINE_SHARED = "SHARED"; //$NON-NLS-1$
+	
 
 	public static final String CONST_PROP_XML_FILE = "XML_FILE";                        //$NON-NLS-1$
 	public static final String CONST_PROP_XML_ENCODING = "XML_ENCODING";                //$NON-NLS-1$
@@ -11,6 +11,8 @@
 
 package org.eclipse.datatools.enablement.oda.xml.impl;
 import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.Properties;
 
@@ -22,6 +24,9 @@ import org.eclipse.datatools.connectivity.oda.util.ResourceIdentifiers;
 import org.eclipse.datatools.enablement.oda.xml.Constants;
 import org.eclipse.datatools.enablement.oda.xml.i18n.Messages;
 import org.eclipse.datatools.enablement.oda.xml.util.IXMLSource;
+import org.eclipse.datatools.enablement.oda.xml.util.RelationInformation;
+import org.eclipse.datatools.enablement.oda.xml.util.SaxParserConsumer;
+import org.eclipse.datatools.enablement.oda.xml.util.SharedXMLExtraction;
 import org.eclipse.datatools.enablement.oda.xml.util.XMLSourceFromInputStream;
 import org.eclipse.datatools.enablement.oda.xml.util.XMLSourceFromPath;
 
@@ -44,6 +49,10 @@ public class Connection implements IConnection
 	Properties connProperties;
 	
 	private Object ri;
+	
+	//Map<Boolean, SharedXMLExtraction>: the extractions the tables executed on
+	//this connection join, with and without namespaces
+	private Map sharedExtractions = new HashMap( );
 
 	/*
 	 *if a valid XML schema URL provided
@@ -76,6 +85,15 @@ public class Connection implements IConnection
 			throws org.eclipse.datatools.connectivity.oda.OdaException
 	{
 		isOpen = false;
+		synchronized ( sharedExtractions )
+		{
+			Iterator itr = sharedExtractions.values( ).iterator( );
+			while ( itr.hasNext( ) )
+			{
+				( (SharedXMLExtraction) itr.next( ) ).close( );
+			}
+			sharedExtractions.clear( );
+		}
 		if ( xmlSource != null )
 		{
 			xmlSource.release( );
@@ -191,6 +209,64 @@ public class Connection implements IConnection
         throw new UnsupportedOperationException( );
     }
 
+    /**
+     * Returns whether the XML source is read with the pull parser, from the
+     * thread reading the result set.
+     * 
+     * @return
+     */
+    public boolean usePullParser( )
+    {
+		return Constants.PARSER_ENGINE_STAX.equalsIgnoreCase( getParserEngine( ) )
+				|| useSharedExtraction( );
+    }
+
+    /**
+     * Returns whether the tables are extracted in a single pass over the XML
+     * source, shared by the queries executed before one of them is read.
+     * 
+     * @return
+     */
+    public boolean useSharedExtraction( )
+    {
+		return Constants.PARSER_ENGINE_SHARED.equalsIgnoreCase( getParserEngine( ) );
+    }
+
+    private String getParserEngine( )
+    {
+		return connProperties == null ? null
+				: connProperties.getProperty( Constants.CONST_PROP_PARSER_ENGINE );
+    }
+
+    /**
+     * Add a table to the shared extraction, starting a new one if the current
+     * one has already been read from.
+     * 
+     * @param relationInfo
+     * @param tableName
+     * @return the consumer the rows of the table are read from
+     * @throws OdaException
+     */
+    SaxParserConsumer joinSharedExtraction( RelationInformation relationInfo,
+			String tableName ) throws OdaException
+	{
+		Boolean key = Boolean.valueOf( relationInfo.containsNamespace( ) );
+		synchronized ( sharedExtractions )
+		{
+			SharedXMLExtraction extraction = (SharedXMLExtraction) sharedExtractions.get( key );
+			SaxParserConsumer consumer = extraction == null ? null
+					: extraction.addTable( relationInfo, tableName );
+			if ( consumer == null )
+			{
+				extraction = new SharedXMLExtraction( getXMLSource( ),
+						relationInfo.containsNamespace( ) );
+				sharedExtractions.put( key, extraction );
+				consumer = extraction.addTable( relationInfo, tableName );
+			}
+			return consumer;
+		}
+	}
+
     public IXMLSource getXMLSource( ) throws OdaException
 	{
 		if ( xmlSource == null )
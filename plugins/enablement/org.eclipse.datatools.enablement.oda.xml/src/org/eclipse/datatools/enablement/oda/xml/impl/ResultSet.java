@@ -14,13 +14,15 @@ import java.math.BigDecimal;
 import java.sql.Date;
 import java.sql.Time;
 import java.sql.Timestamp;
+import java.sql.Types;
 import java.text.ParseException;
 
+import org.eclipse.datatools.connectivity.oda.IBatchResultSet;
 import org.eclipse.datatools.connectivity.oda.IBlob;
 import org.eclipse.datatools.connectivity.oda.IClob;
-import org.eclipse.datatools.connectivity.oda.IResultSet;
 import org.eclipse.datatools.connectivity.oda.IResultSetMetaData;
 import org.eclipse.datatools.connectivity.oda.OdaException;
+import org.eclipse.datatools.connectivity.oda.RowBatch;
 import org.eclipse.datatools.enablement.oda.xml.i18n.Messages;
 import org.eclipse.datatools.enablement.oda.xml.util.MappedTables;
 import org.eclipse.datatools.enablement.oda.xml.util.RelationInformation;
@@ -33,7 +35,7 @@ import com.ibm.icu.util.ULocale;
 /**
  * This class implement IResultSet class 
  */
-public class ResultSet implements IResultSet
+public class ResultSet implements IBatchResultSet
 {
 	private static final String FALSE_LITERAL = "false";	//$NON-NLS-1$
     private static final String TRUE_LITERAL = "true";	//$NON-NLS-1$
@@ -82,6 +84,14 @@ public class ResultSet implements IResultSet
 		this.connection = connection;
 		
 		isClosed = false;
+		
+		//the table joins the single pass over the XML source when executed,
+		//so that the tables of all the queries executed before reading any
+		//of them are extracted together
+		if ( connection.useSharedExtraction( ) )
+		{
+			spConsumer = connection.joinSharedExtraction( relationInfo, tableName );
+		}
 	}
 
 	/*
@@ -137,9 +147,19 @@ public class ResultSet implements IResultSet
 	{
 		testClosed();
 		
+		//If the defined maxRows have been fetched then return false, without
+		//parsing any further
+		if ( rowID >= maxRows && maxRows != 0 )
+		{
+			return false;
+		}
+		
 		if ( spConsumer == null )
 		{
-			spConsumer = new SaxParserConsumer( relationInfo, connection.getXMLSource( ), tableName );
+			spConsumer = new SaxParserConsumer( relationInfo,
+					connection.getXMLSource( ),
+					tableName,
+					connection.usePullParser( ) );
 		}
 		
 		boolean hasNext = spConsumer.next( );
@@ -147,11 +167,6 @@ public class ResultSet implements IResultSet
 		{
 			rowID++;
 		}
-		//If the row number exceeds the defined maxRows then return false;
-		if ( rowID > maxRows && maxRows != 0 )
-		{
-			return false;
-		}
 		return hasNext;
 	}
 
@@ -646,5 +661,74 @@ public class ResultSet implements IResultSet
     {
         throw new UnsupportedOperationException(); 
     }
+
+    /* (non-Javadoc)
+     * @see org.eclipse.datatools.connectivity.oda.IBatchResultSet#fetchRows(org.eclipse.datatools.connectivity.oda.RowBatch)
+     */
+    public int fetchRows( RowBatch batch ) throws OdaException
+    {
+        testClosed();
+        // the values of a row are taken from the consumer once, and
+        // converted as the getters do
+        int row = 0;
+        while( row < batch.getCapacity( ) && next( ) )
+        {
+            String[] resultRow = spConsumer.getRowValue( );
+            for( int index = 1; index <= batch.getColumnCount( ); index++ )
+                readValue( batch, row, index,
+                        resultRow == null ? null : resultRow[index - 1] );
+            row++;
+        }
+        batch.setRowCount( row );
+        return row;
+    }
+
+    /**
+     * Store a value in a batch, converted to the type of its column; the
+     * value is null, as with wasNull(), if it cannot be converted.
+     */
+    private void readValue( RowBatch batch, int row, int index, String value )
+            throws OdaException
+    {
+        this.wasNull = value == null;
+        Object result;
+        switch( batch.getColumnType( index ) )
+        {
+            case Types.INTEGER:
+                batch.getIntColumn( index )[row] = stringToInt( value );
+                batch.setNull( row, index, this.wasNull );
+                return;
+            case Types.DOUBLE:
+                batch.getDoubleColumn( index )[row] = stringToDouble( value );
+                batch.setNull( row, index, this.wasNull );
+                return;
+            case Types.BOOLEAN:
+                batch.getBooleanColumn( index )[row] = stringToBoolean( value ).booleanValue( );
+                batch.setNull( row, index, this.wasNull );
+                return;
+            case Types.DECIMAL:
+            case Types.NUMERIC:
+                result = stringToBigDecimal( value );
+                break;
+            case Types.DATE:
+                result = stringToDate( value );
+                break;
+            case Types.TIME:
+                result = stringToTime( value );
+                break;
+            case Types.TIMESTAMP:
+                result = stringToTimestamp( value );
+                break;
+            case Types.BLOB:
+            case Types.CLOB:
+            case Types.JAVA_OBJECT:
+                // as getBlob, getClob and getObject
+                throw new UnsupportedOperationException( );
+            default:
+                result = value;
+        }
+        batch.getObjectColumn( index )[row] = result;
+        batch.setNull( row, index, result == null );
+    }
 	
 }
@@ -0,0 +1,287 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Data Tools Platform and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * Contributors:
+ *  Eclipse Data Tools Platform - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.datatools.enablement.oda.xml.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The paths of a MappingPathElementTree compiled into a deterministic
+ * automaton. A state stands for the set of tree nodes an xml path can end at,
+ * so that a parser matches a path one element at a time: it keeps the state
+ * of each open element, and an element or attribute moves from the state of
+ * its parent with a single transition, whatever the number of columns.
+ * <p>
+ * The states are built when they are first reached, and their transitions
+ * are cached. Two states have no parent: the root, from which the absolute
+ * paths are matched, and the table, from which the paths inside a row are
+ * matched like MappingPathElementTree.getMatchedButNotNestedColumnIndexs
+ * does. The filter conditions are not part of the paths: they are matched
+ * through the temporary filter columns.
+ */
+class MappingPathAutomaton
+{
+
+	// the state of the paths that cannot match any node
+	static final int NO_MATCH = 0;
+
+	private TreeNode tableNode;
+
+	// TreeNode to its Integer id
+	private Map nodeIds = new IdentityHashMap( );
+	// List<TreeNode>, by id
+	private List nodes = new ArrayList( );
+
+	// the names of the elements which are mapped with an index, as in a[2],
+	// for which the index is part of the transition
+	private Set indexedNames = new HashSet( );
+
+	// List<State>, by state
+	private List states = new ArrayList( );
+	// BitSet of the node ids to the Integer state
+	private Map stateIds = new HashMap( );
+
+	private int rootState;
+	private int tableState;
+
+	MappingPathAutomaton( ChildrenAllowedTreeNode root, TreeNode tableNode )
+	{
+		this.tableNode = tableNode;
+		addNode( root );
+		addState( new BitSet( ), false );
+		BitSet set = new BitSet( );
+		set.set( getId( root ) );
+		rootState = addState( set, true );
+		set = new BitSet( );
+		set.set( getId( tableNode ) );
+		tableState = addState( set, true );
+	}
+
+	private void addNode( TreeNode node )
+	{
+		if ( nodeIds.containsKey( node ) )
+			return;
+		nodeIds.put( node, Integer.valueOf( nodes.size( ) ) );
+		nodes.add( node );
+		if ( node instanceof ElementNode
+				&& ( (ElementNode) node ).isWithIndexPrediction( ) )
+		{
+			indexedNames.add( node.getPathElemntName( )
+					.replaceAll( "\\Q[\\E\\d+\\Q]\\E$", "" ) ); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+		if ( node instanceof ChildrenAllowedTreeNode )
+		{
+			Iterator itr = ( (ChildrenAllowedTreeNode) node ).getChildren( )
+					.iterator( );
+			while ( itr.hasNext( ) )
+				addNode( (TreeNode) itr.next( ) );
+		}
+	}
+
+	private int getId( TreeNode node )
+	{
+		return ( (Integer) nodeIds.get( node ) ).intValue( );
+	}
+
+	/**
+	 * @return the state of the empty path, from which the absolute paths are
+	 *         matched
+	 */
+	int getRootState( )
+	{
+		return rootState;
+	}
+
+	/**
+	 * @return the state of the path of a row, from which the paths inside the
+	 *         row are matched
+	 */
+	int getTableState( )
+	{
+		return tableState;
+	}
+
+	/**
+	 * @param state
+	 * @param element
+	 *            a child element of the path of state
+	 * @return the state of the path of element
+	 */
+	int nextElement( int state, XMLElement element )
+	{
+		if ( state == NO_MATCH )
+			return NO_MATCH;
+		State from = (State) states.get( state );
+		String key = indexedNames.contains( element.getName( ) )
+				? element.getPathString( ) : element.getName( );
+		Integer next = (Integer) from.elementTransitions.get( key );
+		if ( next == null )
+		{
+			next = Integer.valueOf( computeNext( from, element ) );
+			from.elementTransitions.put( key, next );
+		}
+		return next.intValue( );
+	}
+
+	/**
+	 * @param state
+	 * @param attrName
+	 *            the name of an attribute of the element of the path of state
+	 * @return the state of the path of the attribute
+	 */
+	int nextAttribute( int state, String attrName )
+	{
+		if ( state == NO_MATCH )
+			return NO_MATCH;
+		State from = (State) states.get( state );
+		Integer next = (Integer) from.attrTransitions.get( attrName );
+		if ( next == null )
+		{
+			next = Integer.valueOf( computeNext( from, new XMLAttr( attrName ) ) );
+			from.attrTransitions.put( attrName, next );
+		}
+		return next.intValue( );
+	}
+
+	/**
+	 * @param state
+	 * @return whether the path of state matches the table path, when matched
+	 *         from the root
+	 */
+	boolean matchesTablePath( int state )
+	{
+		return ( (State) states.get( state ) ).matchesTablePath;
+	}
+
+	/**
+	 * @param state
+	 * @return the indexes, in ascending order, of the columns the path of
+	 *         state matches
+	 */
+	int[] getColumnIndexes( int state )
+	{
+		return ( (State) states.get( state ) ).columnIndexes;
+	}
+
+	/**
+	 * The nodes reached from the nodes of from by xpn, like
+	 * MappingPathElementTree.getPossibleEndNodes goes down the tree: a
+	 * placeholder of any number of elements may match xpn itself, and a child
+	 * of it may match xpn when it stands for no element.
+	 */
+	private int computeNext( State from, IXMLPathNode xpn )
+	{
+		BitSet next = new BitSet( );
+		for ( int i = from.nodes.nextSetBit( 0 ); i >= 0; i = from.nodes.nextSetBit( i + 1 ) )
+		{
+			TreeNode node = (TreeNode) nodes.get( i );
+			addAll( next, node.getMatchedDownables( xpn ) );
+			if ( !from.isStart
+					&& node instanceof AnyNumberElementPlaceholderNode
+					&& node.matches( xpn ) )
+			{
+				next.set( i );
+			}
+		}
+		boolean changed = true;
+		while ( changed )
+		{
+			changed = false;
+			for ( int i = next.nextSetBit( 0 ); i >= 0; i = next.nextSetBit( i + 1 ) )
+			{
+				TreeNode node = (TreeNode) nodes.get( i );
+				if ( node instanceof AnyNumberElementPlaceholderNode )
+				{
+					int count = next.cardinality( );
+					addAll( next, node.getMatchedDownables( xpn ) );
+					changed |= next.cardinality( ) != count;
+				}
+			}
+		}
+		Integer state = (Integer) stateIds.get( next );
+		return state != null ? state.intValue( ) : addState( next, false );
+	}
+
+	private void addAll( BitSet set, Set treeNodes )
+	{
+		Iterator itr = treeNodes.iterator( );
+		while ( itr.hasNext( ) )
+			set.set( getId( (TreeNode) itr.next( ) ) );
+	}
+
+	private int addState( BitSet set, boolean isStart )
+	{
+		State state = new State( set, isStart );
+		// the nodes a path ends at: those it matched, and the placeholders of
+		// any number of elements below them which stand for no element
+		Set indexes = new HashSet( );
+		for ( int i = set.nextSetBit( 0 ); i >= 0; i = set.nextSetBit( i + 1 ) )
+		{
+			TreeNode node = (TreeNode) nodes.get( i );
+			TreeNode anyNumberChild = node.getAnyNumberElementChild( );
+			indexes.addAll( node.getColumnIndexes( ) );
+			if ( anyNumberChild != null )
+				indexes.addAll( anyNumberChild.getColumnIndexes( ) );
+			if ( node == tableNode || anyNumberChild == tableNode )
+				state.matchesTablePath = true;
+		}
+		state.columnIndexes = new int[indexes.size( )];
+		Iterator itr = indexes.iterator( );
+		for ( int i = 0; itr.hasNext( ); i++ )
+			state.columnIndexes[i] = ( (Integer) itr.next( ) ).intValue( );
+		Arrays.sort( state.columnIndexes );
+
+		int id = states.size( );
+		states.add( state );
+		if ( !isStart )
+			stateIds.put( set, Integer.valueOf( id ) );
+		return id;
+	}
+
+	/**
+	 * @return the number of states built so far
+	 */
+	int getStateCount( )
+	{
+		return states.size( );
+	}
+
+	private static class State
+	{
+
+		private BitSet nodes;
+		// whether the nodes are where the matching starts, and have matched
+		// no element yet
+		private boolean isStart;
+		private boolean matchesTablePath;
+		private int[] columnIndexes;
+		// the name, or the name and the index, of an element to the Integer
+		// state
+		private Map elementTransitions = new HashMap( );
+		// the name of an attribute to the Integer state
+		private Map attrTransitions = new HashMap( );
+
+		State( BitSet nodes, boolean isStart )
+		{
+			this.nodes = nodes;
+			this.isStart = isStart;
+		}
+	}
+}
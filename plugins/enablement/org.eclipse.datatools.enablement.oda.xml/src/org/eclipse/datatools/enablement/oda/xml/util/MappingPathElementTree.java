@@ -11,10 +11,13 @@
 
 package org.eclipse.datatools.enablement.oda.xml.util;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -35,6 +38,8 @@ import java.util.Set;
  * 
  * Notes: A nested column, generally contains "..", means this column cannot reachable just down from table path
  * 
+ * The same matching is compiled into a MappingPathAutomaton, see getAutomaton method, for the parsers
+ * to match the paths one element at a time.
  */
 public class MappingPathElementTree
 {
@@ -54,6 +59,8 @@ public class MappingPathElementTree
 	//<index, NestedColumn> map, save the nested columns info
 	private Map indexNestedColumnMap = new HashMap( );
 
+	private MappingPathAutomaton automaton;
+
 	/**
 	 * @param tablePath:
 	 *            the mapping path of the table, the result of filter condition removing and needless parent axis removing
@@ -124,6 +131,22 @@ public class MappingPathElementTree
 		}
 	}
 
+	/**
+	 * The automaton is compiled when first needed. Its states are built as
+	 * the documents are parsed, so it must only be used by one thread at a
+	 * time.
+	 * 
+	 * @return the automaton matching the xml paths with this tree
+	 */
+	MappingPathAutomaton getAutomaton( )
+	{
+		if ( automaton == null )
+		{
+			automaton = new MappingPathAutomaton( root, lastTreeNodeForTablePath );
+		}
+		return automaton;
+	}
+
 	/**
 	 * whether this xml path matches the table mapping path
 	 * 
@@ -797,6 +820,29 @@ abstract class ChildrenAllowedTreeNode extends TreeNode
 		return anyNumberElementChild;
 	}
 
+	/**
+	 * @return all the children of this node
+	 */
+	Collection getChildren( )
+	{
+		List result = new ArrayList( );
+		if ( anyNumberElementChild != null && anyNumberElementChild != this )
+		{
+			result.add( anyNumberElementChild );
+		}
+		if ( oneElementChild != null )
+		{
+			result.add( oneElementChild );
+		}
+		result.addAll( attrChildren.values( ) );
+		Iterator itr = elementChildren.values( ).iterator( );
+		while ( itr.hasNext( ) )
+		{
+			result.addAll( (Set) itr.next( ) );
+		}
+		return result;
+	}
+
 	/**
 	 * @param xn: one of xml nodes encountered during xml file parsing
 	 * @return all the nodes that are down from this node and matche <code>xn</code>
@@ -881,6 +927,11 @@ class ElementNode extends ChildrenAllowedTreeNode
 		isWithIndexPrediction = this.getPathElemntName( ).matches( ".*\\Q[\\E\\d+\\Q]\\E$" );
 	}
 
+	boolean isWithIndexPrediction( )
+	{
+		return isWithIndexPrediction;
+	}
+
 
 	boolean matches( IXMLPathNode xpn )
 	{
@@ -18,6 +18,10 @@ import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 import org.eclipse.datatools.connectivity.oda.OdaException;
 import org.eclipse.datatools.enablement.oda.xml.Constants;
@@ -29,14 +33,22 @@ import org.eclipse.datatools.enablement.oda.xml.Constants;
  */
 public class SaxParserConsumer implements ISaxParserConsumer
 {
+	private static Logger logger = Logger.getLogger( SaxParserConsumer.class.getName( ) );
 
 	private static final int INVALID_COLUMN_INDEX = -1;
 
 	// The SaxParser this instance dealing with.
 	private SaxParser sp;
 
-	// The thread which hosts the sp.
-	private Thread spThread;
+	// The parsing of sp on a pooled thread.
+	private Future<?> spFuture;
+
+	// The StaxParser read from the main thread, instead of sp, in pull mode.
+	private StaxParser staxParser;
+
+	// The extraction that feeds this and the consumers of other tables, in
+	// pull mode, instead of staxParser.
+	private SharedXMLExtraction extraction;
 
 	// The names of nested xml columns
 	private String[] namesOfNestedColumns;
@@ -50,6 +62,11 @@ public class SaxParserConsumer implements ISaxParserConsumer
 	
 	private MappingPathElementTree mappingPathElementTree;
 
+	// The compiled paths of mappingPathElementTree, and the state of each
+	// open element, by depth, matched from the root
+	private MappingPathAutomaton automaton;
+	private int[] elementStates = new int[16];
+
 	private RelationInformation relationInfo;
 
 	private SaxParserNestedQueryHelper spNestedQueryHelper;
@@ -58,17 +75,37 @@ public class SaxParserConsumer implements ISaxParserConsumer
 	//List<Row>: The detected but not filled yet rows, managed and accessed only by XML parsing thread
 	private List processingRows = new ArrayList( );
 	
-	//List<Row>: filled rows, managed and accessed only be XML parsing thread
-	private List filledRows = new ArrayList( Constants.CACHED_RESULT_SET_LENGTH );
+	//List<Row>: detected rows in document order, managed and accessed only by XML parsing thread.
+	//They are handed over to the main thread as soon as they and all the rows before them are filled
+	private List filledRows = new LinkedList( );
+	
+	//valid filled rows which are put by XML parsing thread and taken by main thread
+	private SaxParserRowBuffer rowBuffer;
+	
+	//List<String[]>: valid filled rows in pull mode, where the main thread parses
+	private LinkedList pulledRows;
 	
-	//valid filled rows which are prepared by XML parsing thread and consumed by main thread
-	private PreparedRowsValues prv = new PreparedRowsValues( );
+	private SaxParserMetrics metrics;
+	
+	//the values of the current row, accessed only by main thread
+	private String[] currentRowValues;
 	
 	private boolean isContainRowFilter = false;
 	
 	public String[] getRowValue( )
 	{
-		return prv.getCurrentRowValues( );
+		return currentRowValues;
+	}
+	
+	/**
+	 * Returns the timing of the query, which is complete once the result set
+	 * has been read to its end or closed.
+	 * 
+	 * @return
+	 */
+	public SaxParserMetrics getMetrics( )
+	{
+		return metrics;
 	}
 	
 	/**
@@ -81,6 +118,40 @@ public class SaxParserConsumer implements ISaxParserConsumer
 	 */
 	public SaxParserConsumer( RelationInformation rinfo,
 			IXMLSource xmlSource, String tName ) throws OdaException
+	{
+		this( rinfo, xmlSource, tName, false );
+	}
+
+	/**
+	 * 
+	 * @param rinfo
+	 * @param xmlSource
+	 * @param tName
+	 * @param pull
+	 *            whether the XML source is read with a StaxParser from the
+	 *            thread calling next(), as far as the rows are read, rather
+	 *            than with a SaxParser on a pooled thread
+	 * @throws OdaException
+	 */
+	public SaxParserConsumer( RelationInformation rinfo,
+			IXMLSource xmlSource, String tName, boolean pull )
+			throws OdaException
+	{
+		this( rinfo, xmlSource, tName, pull, null );
+	}
+
+	/*
+	 * A consumer of the rows of one of the tables of a SharedXMLExtraction.
+	 */
+	SaxParserConsumer( RelationInformation rinfo, IXMLSource xmlSource,
+			String tName, SharedXMLExtraction extraction ) throws OdaException
+	{
+		this( rinfo, xmlSource, tName, true, extraction );
+	}
+
+	private SaxParserConsumer( RelationInformation rinfo,
+			IXMLSource xmlSource, String tName, boolean pull,
+			SharedXMLExtraction extraction ) throws OdaException
 	{
 		tableName = tName;
 		relationInfo = rinfo;
@@ -95,6 +166,11 @@ public class SaxParserConsumer implements ISaxParserConsumer
 		}
 
 		mappingPathElementTree = relationInfo.getTableMappingPathElementTree( tableName );
+		if ( mappingPathElementTree != null )
+		{
+			automaton = mappingPathElementTree.getAutomaton( );
+			elementStates[0] = automaton.getRootState( );
+		}
 
 		if ( namesOfNestedColumns.length > 0 )
 		{
@@ -102,54 +178,95 @@ public class SaxParserConsumer implements ISaxParserConsumer
 			spNestedQueryHelper = new SaxParserNestedQueryHelper( this,
 					rinfo,
 					xmlSource,
-					tName );
+					tName,
+					pull );
 		}
 		
 		if (relationInfo.getTableFilter( tableName ) != null
 				&& !relationInfo.getTableFilter( tableName ).isEmpty( ))
 		{
 			isContainRowFilter = true;
-			//switch from ArrayList to LinkedList because of the possibility of remove operations
-			filledRows = new LinkedList( );
 		}
+		if ( pull )
+		{
+			pulledRows = new LinkedList( );
+			metrics = new SaxParserMetrics( null );
+			if ( extraction != null )
+			{
+				this.extraction = extraction;
+			}
+			else
+			{
+				staxParser = new StaxParser( xmlSource,
+						this,
+						rinfo.containsNamespace( ) );
+			}
+			return;
+		}
+		rowBuffer = new SaxParserRowBuffer( Constants.CACHED_RESULT_SET_LENGTH );
+		metrics = new SaxParserMetrics( rowBuffer );
 		sp = new SaxParser( xmlSource,
 				this, rinfo.containsNamespace( ) );
-		spThread = new Thread( sp );
-		spThread.start( );
+		spFuture = SaxParserThreadPool.submit( new Runnable( ) {
+
+			public void run( )
+			{
+				metrics.parseStarted( );
+				sp.run( );
+			}
+		} );
 	}
 
 
 	public void manipulateData( XMLPath path, String value )
 	{
+		if ( automaton == null || processingRows.isEmpty( ) )
+		{
+			return;
+		}
+		// path is the current element, or one of its attributes
+		IXMLPathNode[] nodes = path.getPath( );
+		IXMLPathNode last = nodes[nodes.length - 1];
+		boolean isAttr = last instanceof XMLAttr;
+		int depth = isAttr ? nodes.length - 1 : nodes.length;
 		for ( int i=0; i<processingRows.size( ); i++)
 		{
 			Row row = (Row)processingRows.get( i );
-			fillNotNestColumn( row, path, value );
+			int state = row.getState( depth );
+			if ( isAttr )
+			{
+				state = automaton.nextAttribute( state, last.getName( ) );
+			}
+			fillNotNestColumn( row, automaton.getColumnIndexes( state ), value );
 		}
 	}
 
 
-	private void fillNotNestColumn( Row row, XMLPath column, String value )
+	/**
+	 * @param row
+	 * @param indexes
+	 *            the indexes of the columns of row which path matches the
+	 *            value, as MappingPathElementTree.getMatchedButNotNestedColumnIndexs
+	 *            returns them
+	 * @param value
+	 */
+	private void fillNotNestColumn( Row row, int[] indexes, String value )
 	{
-		if ( mappingPathElementTree != null )
+		for ( int i = 0; i < indexes.length; i++ )
 		{
-			int[] indexes = mappingPathElementTree.getMatchedButNotNestedColumnIndexs( column, row.path );
-			for ( int i = 0; i < indexes.length; i++ )
+			int index = indexes[i];
+			if ( namesOfColumns[index].startsWith( SaxParserUtil.TEMPCOLUMNNAMEPREFIX ) )
 			{
-				int index = indexes[i];
-				if ( namesOfColumns[index].startsWith( SaxParserUtil.TEMPCOLUMNNAMEPREFIX ) )
-				{
-					row.values[index] = value;
-				}
-				else if ( namesOfColumns[index].startsWith( SaxParserUtil.ROOTTEMPCOLUMNNAMEPREFIX ) )
-				{
-					if ( row.values[index] == null )
-						row.values[index] = value;
-				}
-				else if ( row.values[index] == null
-						&& isColumnValid( namesOfColumns[index], row ) )
+				row.values[index] = value;
+			}
+			else if ( namesOfColumns[index].startsWith( SaxParserUtil.ROOTTEMPCOLUMNNAMEPREFIX ) )
+			{
+				if ( row.values[index] == null )
 					row.values[index] = value;
 			}
+			else if ( row.values[index] == null
+					&& isColumnValid( namesOfColumns[index], row ) )
+				row.values[index] = value;
 		}
 	}
 	
@@ -198,11 +315,21 @@ public class SaxParserConsumer implements ISaxParserConsumer
 
 	public void startElement( XMLPath path )
 	{
-		if ( mappingPathElementTree != null )
+		if ( automaton != null )
 		{
-			if ( mappingPathElementTree.matchesTablePath( path ) )
+			IXMLPathNode[] nodes = path.getPath( );
+			int depth = nodes.length;
+			XMLElement element = (XMLElement) nodes[depth - 1];
+			elementStates = ensureCapacity( elementStates, depth );
+			elementStates[depth] = automaton.nextElement( elementStates[depth - 1],
+					element );
+			for ( int i = 0; i < processingRows.size( ); i++ )
 			{
-				Row newRow = new Row( path );
+				( (Row) processingRows.get( i ) ).startElement( depth, element );
+			}
+			if ( automaton.matchesTablePath( elementStates[depth] ) )
+			{
+				Row newRow = new Row( path, depth );
 				processingRows.add( newRow );
 				filledRows.add( newRow );
 			}
@@ -214,80 +341,45 @@ public class SaxParserConsumer implements ISaxParserConsumer
 	public void endElement( XMLPath path )
 	{
 		if ( processingRows.size( ) > 0
-				&& ( (Row) processingRows.get( processingRows.size( ) - 1 ) ).path.equals( path ) )
+				&& ( (Row) processingRows.get( processingRows.size( ) - 1 ) ).depth == path.getPath( ).length )
 		{
 			// a row ends
 			Row row = (Row) processingRows.get( processingRows.size( ) - 1 );
 			fillNestColumns( row );
 			row.isFilled = true;
-			if ( isRowValid( row ) )
-			{
-				suspendIfNecessary( );
-			}
-			else
+			if ( !isRowValid( row ) )
 			{
 				filledRows.remove( row );
 			}
 			processingRows.remove( processingRows.size( ) - 1 );
+			putFilledRows( false );
 		}
 
 	}
 	
-	private void suspendIfNecessary( )
-	{
-		Iterator itr = filledRows.iterator( );
-		int count = 0;
-		while ( itr.hasNext( ) )
-		{
-			Row row = (Row)itr.next( );
-			if ( !row.isFilled )
-			{
-				//some rows still not filled yet
-				return;
-			}
-			count++;
-		}
-		//All cached rows are filled and cache count reaches or already exceeds max limit
-		if ( count >= Constants.CACHED_RESULT_SET_LENGTH )
-		{
-			suspendParsingThread( );
-		}
-	}
-	
-	
-	private void moveFilledToPrepared( )
-	{
-		String[][] result = new String[filledRows.size( )][];
-		Iterator itr = filledRows.iterator( );
-		int index = 0;
-		while ( itr.hasNext( ) )
-		{
-			Row row = (Row)itr.next( );
-			result[index++] = row.values;
-		}
-		filledRows.clear( );
-		prv.refresh( result );
-	}
-	
-	
-	private void suspendParsingThread( )
+	/**
+	 * Hand the rows at the head of the detected rows over to the main thread,
+	 * waiting while the buffer is full.
+	 * 
+	 * @param all
+	 *            whether to put all the rows, or only the ones that are filled
+	 *            and have no unfilled row before them
+	 */
+	private void putFilledRows( boolean all )
 	{
-		moveFilledToPrepared( );
-		//active main thread
-		synchronized (this) 
-		{
-			this.notifyAll();
-		}
-		synchronized ( sp )
+		while ( !filledRows.isEmpty( )
+				&& ( all || ( (Row) filledRows.get( 0 ) ).isFilled ) )
 		{
-			try
+			Row row = (Row) filledRows.remove( 0 );
+			if ( pulledRows != null )
 			{
-				//wait until notified by main thread
-				sp.wait( );
+				pulledRows.add( row.values );
 			}
-			catch ( InterruptedException e )
+			else if ( !rowBuffer.put( row.values ) )
 			{
-				//just ignore
+				// the result set is closed
+				filledRows.clear( );
+				sp.stopParsing( );
 			}
 		}
 	}
@@ -352,49 +444,57 @@ public class SaxParserConsumer implements ISaxParserConsumer
 	 */
 	public boolean next( ) throws OdaException
 	{
-		//cached rows values are not prepared yet
-		while ( prv.size() < Constants.CACHED_RESULT_SET_LENGTH && spThread.isAlive())
-		{	
-			if ( prv.size() == 0 )
-			{
-				//active XML parsing thread if it's still suspended
-				synchronized ( sp )
-				{
-					sp.notifyAll( );
-				}
-			}
-			try 
-			{
-				synchronized (this) 
-				{
-					this.wait(1);
-				}
-			} 
-			catch (InterruptedException e) 
-			{
-			}
+		if ( pulledRows != null )
+		{
+			long start = System.nanoTime( );
+			currentRowValues = extraction != null
+					? extraction.nextRow( this ) : pullRow( staxParser );
+			metrics.rowsPulled( System.nanoTime( ) - start );
+		}
+		else
+		{
+			currentRowValues = rowBuffer.take( );
 		}
-		boolean hasNext = prv.next( );
-		if ( !hasNext && prv.size( ) >= Constants.CACHED_RESULT_SET_LENGTH && spThread.isAlive( ))
+		if ( currentRowValues == null )
 		{
-			//clear cache
-			prv.refresh( null );
-			return next( );
+			metrics.consumeEnded( );
+			return false;
 		}
-		return hasNext;
+		metrics.rowConsumed( );
+		return true;
 	}
 
 
+	/**
+	 * Parse until a row is filled, in pull mode.
+	 * 
+	 * @param parser
+	 *            the parser feeding this consumer
+	 * @return the next row, or null at the end of the rows
+	 */
+	String[] pullRow( StaxParser parser )
+	{
+		while ( pulledRows.isEmpty( ) && parser.next( ) )
+			;
+		return pulledRows.isEmpty( ) ? null
+				: (String[]) pulledRows.removeFirst( );
+	}
+
+	void clearPulledRows( )
+	{
+		pulledRows.clear( );
+	}
+
 	/* (non-Javadoc)
 	 * @see org.eclipse.datatools.enablement.oda.xml.util.ISaxParserConsumer#finish()
 	 */
 	public void finish( )
 	{
-		moveFilledToPrepared( );
-		//active main thread
-		synchronized (this) 
+		putFilledRows( true );
+		metrics.parseEnded( );
+		if ( rowBuffer != null )
 		{
-			this.notifyAll();
+			rowBuffer.finish( );
 		}
 	}
 
@@ -404,65 +504,83 @@ public class SaxParserConsumer implements ISaxParserConsumer
 	 */
 	public void close( )
 	{
-		//end thread parsing thread
-		while ( spThread.isAlive() )
-		{
-			//active XML parsing thread if it's still suspended
-			synchronized ( sp )
-			{
-				sp.notifyAll( );
-			}
-			sp.stopParsing( );
-		}
-	}
-
-	/**
-	 * Prepared by XML parsing thread and consumed by main thread
-	 */
-	private static class PreparedRowsValues
-	{
-		private String[][] values = new String[0][];
-		private int index = -1;
-		
-		public synchronized void refresh( String[][] values )
+		if ( extraction != null )
 		{
-			index = -1;
-			this.values = values == null ? new String[0][] : values;
+			//the other tables may still be read
+			extraction.consumerClosed( this );
 		}
-		
-		public synchronized boolean next( )
+		else if ( staxParser != null )
 		{
-			index++;
-			return index < values.length;
+			//the rest of the document is not read
+			staxParser.close( );
+			pulledRows.clear( );
 		}
-		
-		public synchronized String[] getCurrentRowValues( )
+		else
 		{
-			if ( index >= 0 && index < values.length )
+			//end parsing thread, releasing it if it waits for the rows to be taken
+			sp.stopParsing( );
+			rowBuffer.cancel( );
+			try
+			{
+				spFuture.get( );
+			}
+			catch ( InterruptedException e )
 			{
-				return values[index];
+				Thread.currentThread( ).interrupt( );
+			}
+			catch ( ExecutionException e )
+			{
+				//the exceptions of the parsing are logged by sp
 			}
-			return null;
 		}
-		
-		public synchronized int size( )
+		metrics.consumeEnded( );
+		if ( logger.isLoggable( Level.FINE ) )
 		{
-			return values.length; 
+			logger.log( Level.FINE, "Query of table " + tableName + ": " + metrics ); //$NON-NLS-1$ //$NON-NLS-2$
 		}
 	}
-	
+
+	static int[] ensureCapacity( int[] states, int depth )
+	{
+		if ( depth < states.length )
+		{
+			return states;
+		}
+		int[] result = new int[Math.max( depth + 1, states.length * 2 )];
+		System.arraycopy( states, 0, result, 0, states.length );
+		return result;
+	}
+
 	private class Row
 	{
 		public XMLPath path;
 		public String[] values;
 		public boolean isFilled;
-		public Row( XMLPath path )
+		// the depth of the row element, and the states of the open elements
+		// from it down, matched from the table path
+		private int depth;
+		private int[] states = new int[4];
+		public Row( XMLPath path, int depth )
 		{
 			this.path = path;
+			this.depth = depth;
+			states[0] = automaton.getTableState( );
 			values = new String[relationInfo.getTableRealColumnNames( tableName ).length];
 			Arrays.fill( values, null );
 			isFilled = false;
 		}
+		
+		void startElement( int elementDepth, XMLElement element )
+		{
+			int level = elementDepth - depth;
+			states = ensureCapacity( states, level );
+			states[level] = automaton.nextElement( states[level - 1], element );
+		}
+		
+		int getState( int elementDepth )
+		{
+			return states[elementDepth - depth];
+		}
 	}
 
 }
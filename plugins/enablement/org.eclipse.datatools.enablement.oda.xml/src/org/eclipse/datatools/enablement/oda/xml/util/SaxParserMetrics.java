@@ -0,0 +1,149 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Data Tools Platform and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * Contributors:
+ *  Eclipse Data Tools Platform - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.datatools.enablement.oda.xml.util;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The timing of a query, split between the thread that parses the XML source
+ * and the thread that reads the result set. The parse time excludes the time
+ * the parser waited for the reader to make room for more rows, and the
+ * consume time excludes the time the reader waited for rows, so that the two
+ * show which side a query is bound by.
+ * <p>
+ * When the XML source is pulled by the reader, there is no parsing thread:
+ * the parse time is the time the reader spent parsing, and neither side ever
+ * waits.
+ */
+public class SaxParserMetrics
+{
+
+	private final SaxParserRowBuffer buffer;
+
+	private volatile long parseStart;
+	private volatile long parseEnd;
+	private volatile long consumeStart;
+	private volatile long consumeEnd;
+	private volatile int rowCount;
+	private volatile long pullNanos;
+
+	/*
+	 * buffer is null when the XML source is pulled by the reader
+	 */
+	SaxParserMetrics( SaxParserRowBuffer buffer )
+	{
+		this.buffer = buffer;
+	}
+
+	void parseStarted( )
+	{
+		parseStart = System.nanoTime( );
+	}
+
+	void parseEnded( )
+	{
+		parseEnd = System.nanoTime( );
+	}
+
+	void rowsPulled( long nanos )
+	{
+		pullNanos += nanos;
+	}
+
+	void rowConsumed( )
+	{
+		if ( consumeStart == 0 )
+			consumeStart = System.nanoTime( );
+		rowCount++;
+	}
+
+	void consumeEnded( )
+	{
+		if ( consumeEnd == 0 )
+			consumeEnd = System.nanoTime( );
+	}
+
+	/**
+	 * @return the number of rows read from the result set
+	 */
+	public int getRowCount( )
+	{
+		return rowCount;
+	}
+
+	/**
+	 * @return the time in milliseconds spent parsing, excluding the time
+	 *         spent waiting for the reader
+	 */
+	public long getParseTime( )
+	{
+		if ( buffer == null )
+			return toMillis( pullNanos );
+		return toMillis( elapsed( parseStart, parseEnd )
+				- buffer.getProducerWaitNanos( ) );
+	}
+
+	/**
+	 * @return the time in milliseconds the parser waited for the reader to
+	 *         make room for more rows
+	 */
+	public long getParseWaitTime( )
+	{
+		if ( buffer == null )
+			return 0;
+		return toMillis( buffer.getProducerWaitNanos( ) );
+	}
+
+	/**
+	 * @return the time in milliseconds from the first row read to the end of
+	 *         the result set, excluding the time spent waiting for the parser
+	 */
+	public long getConsumeTime( )
+	{
+		return toMillis( elapsed( consumeStart, consumeEnd )
+				- ( buffer == null ? pullNanos : buffer.getConsumerWaitNanos( ) ) );
+	}
+
+	/**
+	 * @return the time in milliseconds the reader waited for the parser
+	 */
+	public long getConsumeWaitTime( )
+	{
+		if ( buffer == null )
+			return 0;
+		return toMillis( buffer.getConsumerWaitNanos( ) );
+	}
+
+	private static long elapsed( long start, long end )
+	{
+		if ( start == 0 )
+			return 0;
+		return ( end == 0 ? System.nanoTime( ) : end ) - start;
+	}
+
+	private static long toMillis( long nanos )
+	{
+		return TimeUnit.NANOSECONDS.toMillis( Math.max( nanos, 0 ) );
+	}
+
+	/*
+	 * @see java.lang.Object#toString()
+	 */
+	public String toString( )
+	{
+		return "rows: " + getRowCount( ) //$NON-NLS-1$
+				+ ", parse: " + getParseTime( ) + "ms" //$NON-NLS-1$ //$NON-NLS-2$
+				+ " (waited " + getParseWaitTime( ) + "ms)" //$NON-NLS-1$ //$NON-NLS-2$
+				+ ", consume: " + getConsumeTime( ) + "ms" //$NON-NLS-1$ //$NON-NLS-2$
+				+ " (waited " + getConsumeWaitTime( ) + "ms)"; //$NON-NLS-1$ //$NON-NLS-2$
+	}
+}
@@ -15,6 +15,7 @@ import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.ExecutionException;
 
 import org.eclipse.datatools.connectivity.oda.OdaException;
 
@@ -40,7 +41,6 @@ public class SaxParserNestedQueryHelper implements ISaxParserConsumer
 	
 	//The sax parser instance.
 	private SaxParser sp;
-	private Thread spThread;
 
 	//TODO: need to be cached in a file for huge data??
 	Map indexPathValuesMap = new HashMap();
@@ -49,39 +49,62 @@ public class SaxParserNestedQueryHelper implements ISaxParserConsumer
 	
 	private MappingPathElementTree mappingPathElementTree;
 	
+	// the state of each open element, by depth, in the automaton of
+	// mappingPathElementTree
+	private MappingPathAutomaton automaton;
+	private int[] elementStates = new int[16];
+	
 	
 	/**
 	 * @param rinfo
 	 * @param fileName
 	 * @param tName
+	 * @param pull whether to read the XML source with a StaxParser on the calling thread
 	 * @throws OdaException 
 	 */
-	protected SaxParserNestedQueryHelper( SaxParserConsumer consumer, RelationInformation rinfo, IXMLSource xmlSource, String tName) throws OdaException
+	protected SaxParserNestedQueryHelper( SaxParserConsumer consumer, RelationInformation rinfo, IXMLSource xmlSource, String tName, boolean pull ) throws OdaException
 	{
 		this.tableName = tName;
 		this.relationInfo = rinfo;
 		this.consumer = consumer;
 		mappingPathElementTree = relationInfo.getTableMappingPathElementTree( tableName );
+		if ( mappingPathElementTree != null )
+		{
+			automaton = mappingPathElementTree.getAutomaton( );
+			elementStates[0] = automaton.getRootState( );
+		}
+		if ( pull )
+		{
+			new StaxParser( xmlSource, this, rinfo.containsNamespace( ) ).parse( );
+			return;
+		}
 		this.sp = new SaxParser( xmlSource, this, rinfo.containsNamespace( ) );
-		this.spThread = new Thread( sp );
-		this.spThread.start();
 		try
 		{
-			//wait until spThread dies
-			this.spThread.join( );
+			//wait until the parsing ends
+			SaxParserThreadPool.submit( sp ).get( );
 		}
 		catch ( InterruptedException e )
 		{
 			throw new OdaException( e );
 		}
+		catch ( ExecutionException e )
+		{
+			throw new OdaException( e.getCause( ) );
+		}
 	}
 	
 
 	public void manipulateData( XMLPath path, String value )
 	{
-		if (mappingPathElementTree != null)
+		if (automaton != null)
 		{
-			int[] indexes = mappingPathElementTree.getMatchedColumnIndexs( path );
+			IXMLPathNode[] nodes = path.getPath( );
+			IXMLPathNode last = nodes[nodes.length - 1];
+			int[] indexes = last instanceof XMLAttr
+					? automaton.getColumnIndexes( automaton.nextAttribute( elementStates[nodes.length - 1],
+							last.getName( ) ) )
+					: automaton.getColumnIndexes( elementStates[nodes.length] );
 			for (int i = 0; i < indexes.length; i++)
 			{
 				if (mappingPathElementTree.isNestedColumn( indexes[i] ))
@@ -194,8 +217,15 @@ public class SaxParserNestedQueryHelper implements ISaxParserConsumer
 
 	public void startElement( XMLPath path )
 	{
-		// TODO Auto-generated method stub
-		
+		if ( automaton != null )
+		{
+			IXMLPathNode[] nodes = path.getPath( );
+			int depth = nodes.length;
+			elementStates = SaxParserConsumer.ensureCapacity( elementStates,
+					depth );
+			elementStates[depth] = automaton.nextElement( elementStates[depth - 1],
+					(XMLElement) nodes[depth - 1] );
+		}
 	}
 }
 
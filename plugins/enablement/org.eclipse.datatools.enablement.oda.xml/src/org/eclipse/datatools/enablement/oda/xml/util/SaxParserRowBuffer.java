@@ -0,0 +1,175 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Data Tools Platform and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * Contributors:
+ *  Eclipse Data Tools Platform - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.datatools.enablement.oda.xml.util;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A bounded ring buffer that hands the rows from the XML parsing thread over
+ * to the thread that reads the result set. There must be a single producer
+ * and a single consumer. Neither side takes a lock: the slots are published
+ * through the volatile head and tail counters, and a side only parks when the
+ * buffer is full or empty, to be unparked by the other side once it has made
+ * room or published a row.
+ */
+public class SaxParserRowBuffer
+{
+
+	private final String[][] slots;
+	private final int mask;
+
+	// the count of rows taken, written by the consumer only
+	private volatile long head;
+	// the count of rows put, written by the producer only
+	private volatile long tail;
+
+	// set by the producer when it has put its last row
+	private volatile boolean finished;
+	// set by the consumer when it does not take any more row
+	private volatile boolean cancelled;
+
+	private volatile Thread waitingProducer;
+	private volatile Thread waitingConsumer;
+
+	private volatile long producerWaitNanos;
+	private volatile long consumerWaitNanos;
+
+	/**
+	 *
+	 * @param capacity
+	 *            the minimum number of rows the buffer holds; it is rounded up
+	 *            to a power of 2
+	 */
+	public SaxParserRowBuffer( int capacity )
+	{
+		int size = 1;
+		while ( size < capacity )
+			size <<= 1;
+		slots = new String[size][];
+		mask = size - 1;
+	}
+
+	/**
+	 * Put a row, waiting while the buffer is full. Called by the producer.
+	 *
+	 * @param row
+	 * @return false if the consumer has cancelled, in which case the row is
+	 *         dropped
+	 */
+	public boolean put( String[] row )
+	{
+		long t = tail;
+		if ( t - head == slots.length )
+		{
+			long start = System.nanoTime( );
+			waitingProducer = Thread.currentThread( );
+			while ( t - head == slots.length && !cancelled )
+				LockSupport.park( this );
+			waitingProducer = null;
+			producerWaitNanos += System.nanoTime( ) - start;
+		}
+		if ( cancelled )
+			return false;
+		slots[(int) t & mask] = row;
+		tail = t + 1;
+		unpark( waitingConsumer );
+		return true;
+	}
+
+	/**
+	 * Mark the end of the rows. Called by the producer.
+	 */
+	public void finish( )
+	{
+		finished = true;
+		unpark( waitingConsumer );
+	}
+
+	/**
+	 * Take the next row, waiting while the buffer is empty. Called by the
+	 * consumer.
+	 *
+	 * @return the row, or null if the producer has finished and all its rows
+	 *         have been taken
+	 */
+	public String[] take( )
+	{
+		long h = head;
+		if ( h == tail )
+		{
+			long start = System.nanoTime( );
+			waitingConsumer = Thread.currentThread( );
+			while ( h == tail && !finished )
+				LockSupport.park( this );
+			waitingConsumer = null;
+			consumerWaitNanos += System.nanoTime( ) - start;
+			// the last rows are put before the producer finishes
+			if ( h == tail )
+				return null;
+		}
+		int index = (int) h & mask;
+		String[] row = slots[index];
+		slots[index] = null;
+		head = h + 1;
+		unpark( waitingProducer );
+		return row;
+	}
+
+	/**
+	 * Stop taking rows, and release the producer if it is waiting. Called by
+	 * the consumer.
+	 */
+	public void cancel( )
+	{
+		cancelled = true;
+		unpark( waitingProducer );
+	}
+
+	/**
+	 * @return whether the consumer has cancelled
+	 */
+	public boolean isCancelled( )
+	{
+		return cancelled;
+	}
+
+	/**
+	 * @return the number of rows the buffer holds
+	 */
+	public int getCapacity( )
+	{
+		return slots.length;
+	}
+
+	/**
+	 * @return the time in nanoseconds the producer has waited for the buffer
+	 *         to have room
+	 */
+	public long getProducerWaitNanos( )
+	{
+		return producerWaitNanos;
+	}
+
+	/**
+	 * @return the time in nanoseconds the consumer has waited for rows
+	 */
+	public long getConsumerWaitNanos( )
+	{
+		return consumerWaitNanos;
+	}
+
+	private static void unpark( Thread thread )
+	{
+		if ( thread != null )
+			LockSupport.unpark( thread );
+	}
+}
@@ -0,0 +1,88 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Data Tools Platform and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * Contributors:
+ *  Eclipse Data Tools Platform - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.datatools.enablement.oda.xml.util;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The threads the XML files are parsed on, shared by all the queries. A
+ * parsing thread waits for its result set to be read, so a query never waits
+ * for a thread: idle threads are reused, and a new thread is started when
+ * none is idle. Threads that stay idle for a minute end.
+ */
+public final class SaxParserThreadPool
+{
+
+	private static final long KEEP_ALIVE_SECONDS = 60;
+
+	private static final ExecutorService executor = new ThreadPoolExecutor( 0,
+			Integer.MAX_VALUE,
+			KEEP_ALIVE_SECONDS,
+			TimeUnit.SECONDS,
+			new SynchronousQueue<Runnable>( ),
+			new ParserThreadFactory( ) );
+
+	private SaxParserThreadPool( )
+	{
+	}
+
+	/**
+	 * Run a parser on a pooled thread. The parser runs with the context class
+	 * loader of the calling thread, which is the one the XML reader is loaded
+	 * from.
+	 *
+	 * @param parser
+	 * @return the future of the parsing, done when the parser has finished
+	 */
+	public static Future<?> submit( final Runnable parser )
+	{
+		final ClassLoader contextClassLoader = Thread.currentThread( )
+				.getContextClassLoader( );
+		return executor.submit( new Runnable( ) {
+
+			public void run( )
+			{
+				Thread thread = Thread.currentThread( );
+				ClassLoader previous = thread.getContextClassLoader( );
+				thread.setContextClassLoader( contextClassLoader );
+				try
+				{
+					parser.run( );
+				}
+				finally
+				{
+					thread.setContextClassLoader( previous );
+				}
+			}
+		} );
+	}
+
+	private static class ParserThreadFactory implements ThreadFactory
+	{
+
+		private final AtomicInteger count = new AtomicInteger( );
+
+		public Thread newThread( Runnable runnable )
+		{
+			Thread thread = new Thread( runnable, "XML ODA parser " //$NON-NLS-1$
+					+ count.incrementAndGet( ) );
+			thread.setDaemon( true );
+			return thread;
+		}
+	}
+}
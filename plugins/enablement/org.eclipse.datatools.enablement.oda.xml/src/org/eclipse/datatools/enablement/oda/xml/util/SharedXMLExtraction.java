@@ -0,0 +1,167 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Data Tools Platform and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * Contributors:
+ *  Eclipse Data Tools Platform - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.datatools.enablement.oda.xml.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.datatools.connectivity.oda.OdaException;
+
+/**
+ * Extracts the rows of several tables from one XML source in a single pass.
+ * Each table added gets its own SaxParserConsumer, and a StaxParser feeds
+ * all of them from the thread of whichever consumer needs its next row. The
+ * rows of the other tables are kept by their consumers until they are read,
+ * so a table read after another one costs no further parsing, but its rows
+ * are held in memory meanwhile.
+ * <p>
+ * Tables can be added until the first row is read; the source is then
+ * parsed once for all of them, and is closed when they are all closed.
+ */
+public class SharedXMLExtraction implements ISaxParserConsumer
+{
+
+	private IXMLSource xmlSource;
+	private boolean useNamespace;
+
+	// List<SaxParserConsumer>: the consumers that have not been closed
+	private List consumers = new ArrayList( );
+
+	private StaxParser staxParser;
+	private boolean started;
+	private boolean closed;
+
+	/**
+	 *
+	 * @param xmlSource
+	 * @param useNamespace
+	 *            whether the element names are qualified with their namespace
+	 *            URI, which must be the same for all the tables
+	 */
+	public SharedXMLExtraction( IXMLSource xmlSource, boolean useNamespace )
+	{
+		this.xmlSource = xmlSource;
+		this.useNamespace = useNamespace;
+	}
+
+	/**
+	 * Add a table to the extraction.
+	 *
+	 * @param rinfo
+	 * @param tableName
+	 * @return the consumer the rows of the table are read from, or null if
+	 *         the extraction has started and tables can no longer be added
+	 * @throws OdaException
+	 */
+	public synchronized SaxParserConsumer addTable( RelationInformation rinfo,
+			String tableName ) throws OdaException
+	{
+		if ( started || closed )
+			return null;
+		SaxParserConsumer consumer = new SaxParserConsumer( rinfo,
+				xmlSource,
+				tableName,
+				this );
+		consumers.add( consumer );
+		return consumer;
+	}
+
+	/**
+	 * @return whether rows have been read, after which no table can be added
+	 */
+	public synchronized boolean isStarted( )
+	{
+		return started;
+	}
+
+	/**
+	 * Parse until consumer has a row, feeding all the tables.
+	 *
+	 * @param consumer
+	 * @return the next row of consumer, or null at the end of its rows
+	 * @throws OdaException
+	 */
+	synchronized String[] nextRow( SaxParserConsumer consumer )
+			throws OdaException
+	{
+		if ( !started )
+		{
+			if ( closed )
+				return null;
+			started = true;
+			staxParser = new StaxParser( xmlSource, this, useNamespace );
+		}
+		return consumer.pullRow( staxParser );
+	}
+
+	/**
+	 * Stop feeding consumer, and stop parsing once all the consumers are
+	 * closed.
+	 *
+	 * @param consumer
+	 */
+	synchronized void consumerClosed( SaxParserConsumer consumer )
+	{
+		consumers.remove( consumer );
+		consumer.clearPulledRows( );
+		if ( consumers.isEmpty( ) )
+			close( );
+	}
+
+	/**
+	 * Stop parsing. The tables that have not been read to their end lose
+	 * their remaining rows.
+	 */
+	public synchronized void close( )
+	{
+		closed = true;
+		if ( staxParser != null )
+			staxParser.close( );
+	}
+
+	/*
+	 * @see org.eclipse.datatools.enablement.oda.xml.util.ISaxParserConsumer#manipulateData(org.eclipse.datatools.enablement.oda.xml.util.XMLPath, java.lang.String)
+	 */
+	public void manipulateData( XMLPath path, String value )
+	{
+		for ( int i = 0; i < consumers.size( ); i++ )
+			( (SaxParserConsumer) consumers.get( i ) ).manipulateData( path,
+					value );
+	}
+
+	/*
+	 * @see org.eclipse.datatools.enablement.oda.xml.util.ISaxParserConsumer#startElement(org.eclipse.datatools.enablement.oda.xml.util.XMLPath)
+	 */
+	public void startElement( XMLPath path )
+	{
+		for ( int i = 0; i < consumers.size( ); i++ )
+			( (SaxParserConsumer) consumers.get( i ) ).startElement( path );
+	}
+
+	/*
+	 * @see org.eclipse.datatools.enablement.oda.xml.util.ISaxParserConsumer#endElement(org.eclipse.datatools.enablement.oda.xml.util.XMLPath)
+	 */
+	public void endElement( XMLPath path )
+	{
+		for ( int i = 0; i < consumers.size( ); i++ )
+			( (SaxParserConsumer) consumers.get( i ) ).endElement( path );
+	}
+
+	/*
+	 * @see org.eclipse.datatools.enablement.oda.xml.util.ISaxParserConsumer#finish()
+	 */
+	public void finish( )
+	{
+		for ( int i = 0; i < consumers.size( ); i++ )
+			( (SaxParserConsumer) consumers.get( i ) ).finish( );
+	}
+}
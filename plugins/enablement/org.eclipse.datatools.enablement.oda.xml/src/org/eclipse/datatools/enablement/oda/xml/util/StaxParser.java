@@ -0,0 +1,296 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Data Tools Platform and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * Contributors:
+ *  Eclipse Data Tools Platform - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.datatools.enablement.oda.xml.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.eclipse.datatools.connectivity.oda.OdaException;
+
+/**
+ * A pull parser that feeds an ISaxParserConsumer with the same calls as the
+ * SaxParser, but from the thread that calls next(): the document is only read
+ * as far as the consumer needs it, and reading ends as soon as the parser is
+ * closed.
+ */
+public class StaxParser
+{
+	private static Logger logger = Logger.getLogger( StaxParser.class.getName( ) );
+
+	private static XMLInputFactory inputFactory;
+
+	private InputStream inputStream;
+	private XMLStreamReader reader;
+
+	private ISaxParserConsumer spConsumer;
+	private boolean useNamespace;
+
+	private XMLPathHolder pathHolder = new XMLPathHolder( );
+	private XMLPath currentElementPath;
+
+	// the depth of the current element, 0 outside the root element
+	private int depth;
+
+	// the text of the current element, cached until the element ends like the
+	// SaxParser does, since it may be reported in several events
+	private StringBuilder[] cachedValues = new StringBuilder[16];
+
+	private boolean finished;
+	private boolean exceptionOccurred;
+
+	/**
+	 *
+	 * @param xmlSource
+	 * @param consumer
+	 * @param useNamespace
+	 * @throws OdaException
+	 */
+	public StaxParser( IXMLSource xmlSource, ISaxParserConsumer consumer,
+			boolean useNamespace ) throws OdaException
+	{
+		this.inputStream = xmlSource.openInputStream( );
+		//bypass using empty string to represent no specific encoding provided
+		String encoding = "".equals( xmlSource.getEncoding( ) ) ? null : xmlSource.getEncoding( ); //$NON-NLS-1$
+		spConsumer = consumer;
+		this.useNamespace = useNamespace;
+		try
+		{
+			reader = encoding == null
+					? getInputFactory( ).createXMLStreamReader( inputStream )
+					: getInputFactory( ).createXMLStreamReader( inputStream,
+							encoding );
+		}
+		catch ( XMLStreamException e )
+		{
+			closeInputStream( );
+			throw new OdaException( e );
+		}
+	}
+
+	private static synchronized XMLInputFactory getInputFactory( )
+	{
+		if ( inputFactory == null )
+		{
+			inputFactory = XMLInputFactory.newInstance( );
+			inputFactory.setProperty( XMLInputFactory.IS_NAMESPACE_AWARE,
+					Boolean.TRUE );
+			inputFactory.setProperty( XMLInputFactory.IS_COALESCING,
+					Boolean.FALSE );
+		}
+		return inputFactory;
+	}
+
+	/**
+	 * Read the document up to the end of its next element, or to its end.
+	 *
+	 * @return false if the end of the document has been reached or the
+	 *         parser is closed
+	 */
+	public boolean next( )
+	{
+		if ( finished )
+			return false;
+		try
+		{
+			while ( reader.hasNext( ) )
+			{
+				switch ( reader.next( ) )
+				{
+					case XMLStreamConstants.START_ELEMENT :
+						startElement( );
+						break;
+					case XMLStreamConstants.END_ELEMENT :
+						endElement( );
+						return true;
+					case XMLStreamConstants.CHARACTERS :
+					case XMLStreamConstants.CDATA :
+						characters( );
+						break;
+					default :
+						break;
+				}
+			}
+		}
+		catch ( XMLStreamException e )
+		{
+			logger.log( Level.WARNING, "Exceptions occur during xml parsing", e ); //$NON-NLS-1$
+			exceptionOccurred = true;
+		}
+		finish( );
+		return false;
+	}
+
+	/**
+	 * Read the whole document.
+	 */
+	public void parse( )
+	{
+		while ( next( ) )
+			;
+	}
+
+	/**
+	 * Indicates whether exception occurred
+	 *
+	 * @return
+	 */
+	public boolean exceptionOccurred( )
+	{
+		return exceptionOccurred;
+	}
+
+	/**
+	 * Stop reading the document. The consumer is not told the document is
+	 * finished.
+	 */
+	public void close( )
+	{
+		if ( !finished )
+		{
+			finished = true;
+			closeReader( );
+		}
+	}
+
+	private void finish( )
+	{
+		finished = true;
+		closeReader( );
+		spConsumer.finish( );
+	}
+
+	private void closeReader( )
+	{
+		try
+		{
+			reader.close( );
+		}
+		catch ( XMLStreamException e )
+		{
+		}
+		closeInputStream( );
+	}
+
+	private void closeInputStream( )
+	{
+		try
+		{
+			inputStream.close( );
+		}
+		catch ( IOException e )
+		{
+		}
+	}
+
+	private void startElement( )
+	{
+		String name = reader.getLocalName( );
+		String prefix = reader.getPrefix( );
+		String elementName = name;
+		if ( prefix != null && prefix.length( ) > 0 )
+		{
+			if ( useNamespace )
+			{
+				String uri = reader.getNamespaceURI( );
+				elementName = ( uri == null ? "" : uri.replaceAll( UtilConstants.XPATH_SLASH, //$NON-NLS-1$
+						UtilConstants.BACK_SLASH ) )
+						+ UtilConstants.NAMESPACE_COLON + name;
+			}
+			else
+			{
+				elementName = prefix + UtilConstants.NAMESPACE_COLON + name;
+			}
+		}
+		pathHolder.startElement( elementName );
+		currentElementPath = pathHolder.getCurrentElementPath( );
+		depth++;
+		if ( depth == cachedValues.length )
+		{
+			StringBuilder[] values = new StringBuilder[depth * 2];
+			System.arraycopy( cachedValues, 0, values, 0, depth );
+			cachedValues = values;
+		}
+
+		spConsumer.startElement( currentElementPath );
+
+		int count = reader.getAttributeCount( );
+		for ( int i = 0; i < count; i++ )
+		{
+			spConsumer.manipulateData( pathHolder.getCurrentAttrPath( getAttributeName( i ) ),
+					reader.getAttributeValue( i ) );
+		}
+		// the attributes are given twice to the SaxParserConsumer, for the
+		// same reason as by the SaxParser (bug 412269)
+		if ( spConsumer instanceof SaxParserConsumer
+				|| spConsumer instanceof SharedXMLExtraction )
+		{
+			for ( int i = 0; i < count; i++ )
+			{
+				spConsumer.manipulateData( pathHolder.getCurrentAttrPath( getAttributeName( i ) ),
+						reader.getAttributeValue( i ) );
+			}
+		}
+	}
+
+	private String getAttributeName( int index )
+	{
+		String prefix = reader.getAttributePrefix( index );
+		String name = reader.getAttributeLocalName( index );
+		return prefix == null || prefix.length( ) == 0 ? name : prefix
+				+ UtilConstants.NAMESPACE_COLON + name;
+	}
+
+	private void endElement( )
+	{
+		StringBuilder cachedValue = cachedValues[depth];
+		String value;
+		if ( cachedValue == null )
+		{
+			value = ""; //$NON-NLS-1$
+		}
+		else
+		{
+			value = cachedValue.toString( );
+			cachedValues[depth] = null;
+		}
+
+		spConsumer.manipulateData( currentElementPath, value );
+
+		spConsumer.endElement( currentElementPath );
+		pathHolder.endElement( );
+		currentElementPath = pathHolder.getCurrentElementPath( );
+		depth--;
+	}
+
+	private void characters( )
+	{
+		if ( depth == 0 )
+			return;
+		StringBuilder cachedValue = cachedValues[depth];
+		if ( cachedValue == null )
+		{
+			cachedValue = new StringBuilder( Math.max( reader.getTextLength( ),
+					64 ) );
+			cachedValues[depth] = cachedValue;
+		}
+		cachedValue.append( reader.getTextCharacters( ),
+				reader.getTextStart( ),
+				reader.getTextLength( ) );
+	}
+}
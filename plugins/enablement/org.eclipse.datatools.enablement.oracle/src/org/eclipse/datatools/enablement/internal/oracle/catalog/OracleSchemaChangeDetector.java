@@ -0,0 +1,83 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Data Tools Platform and others.
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * Contributors: Eclipse Data Tools Platform - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.datatools.enablement.internal.oracle.catalog;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.eclipse.datatools.connectivity.sqm.loader.JDBCSchemaChangeDetector;
+
+/**
+ * Reports the tables and views of an Oracle schema whose DDL changed since
+ * the schema was loaded, using the LAST_DDL_TIME of ALL_OBJECTS. The server
+ * time is used as change marker, so that the clock of the client does not
+ * matter. Like the generic detection, it is only used when the incremental
+ * refresh preference is set.
+ */
+public class OracleSchemaChangeDetector extends JDBCSchemaChangeDetector {
+
+	private static final String QUERY_SYSDATE = "SELECT SYSDATE FROM DUAL"; //$NON-NLS-1$
+
+	private static final String QUERY_CHANGED_TABLES = "SELECT OBJECT_NAME FROM ALL_OBJECTS" //$NON-NLS-1$
+			+ " WHERE OWNER = ? AND OBJECT_TYPE IN ('TABLE', 'VIEW')" //$NON-NLS-1$
+			+ " AND LAST_DDL_TIME >= ?"; //$NON-NLS-1$
+
+	public OracleSchemaChangeDetector() {
+		super();
+	}
+
+	protected Object getChangeMarker() throws SQLException {
+		Statement s = getCatalogObject().getConnection().createStatement();
+		try {
+			ResultSet rs = s.executeQuery(QUERY_SYSDATE);
+			try {
+				return rs.next() ? rs.getTimestamp(1) : null;
+			}
+			finally {
+				rs.close();
+			}
+		}
+		finally {
+			s.close();
+		}
+	}
+
+	protected Set getTablesChangedSince(Object changeMarker)
+			throws SQLException {
+		PreparedStatement s = getCatalogObject().getConnection()
+				.prepareStatement(QUERY_CHANGED_TABLES);
+		try {
+			s.setString(1, getSchema().getName());
+			// LAST_DDL_TIME is a DATE, precise to the second: the tables
+			// changed in the second of the marker are reported again
+			s.setTimestamp(2, (Timestamp) changeMarker);
+			ResultSet rs = s.executeQuery();
+			try {
+				Set tableNames = new HashSet();
+				while (rs.next()) {
+					tableNames.add(rs.getString(1));
+				}
+				return tableNames;
+			}
+			finally {
+				rs.close();
+			}
+		}
+		finally {
+			s.close();
+		}
+	}
+}
@@ -31,14 +31,32 @@ public class DataSerializer {
     
         
     public static String serialize(Object val, int type)
+    {
+        return serialize(val, type, null);
+    }
+    
+    /**
+     * Creates the format of the integer values, which callers serializing
+     * many values create once and pass to {@link #serialize(Object, int, NumberFormat)}.
+     */
+    public static NumberFormat createIntegerFormat()
+    {
+        NumberFormat intf = NumberFormat.getIntegerInstance();
+        intf.setGroupingUsed(false);
+        return intf;
+    }
+    
+    /**
+     * Serializes a value with the specified integer format, or with a new
+     * one if null.
+     */
+    public static String serialize(Object val, int type, NumberFormat intf)
     {
         if (val==null)
             return null;
         
-        NumberFormat nf = NumberFormat.getInstance();
-        nf.setGroupingUsed(false);
-        NumberFormat intf = NumberFormat.getIntegerInstance();
-        intf.setGroupingUsed(false);
+        if (intf==null && (type==Types.TINYINT || type==Types.SMALLINT || type==Types.INTEGER || type==Types.BIGINT))
+            intf = createIntegerFormat();
         
         if (type==Types.TINYINT)
             return intf.format(val);
@@ -113,12 +131,13 @@ public class DataSerializer {
         
         int i = s.indexOf(delim);
         if(i != -1) {
-            StringBuffer sb = new StringBuffer(s);            
-            int j;
-            for(; i != -1; i = sb.toString().indexOf(delim, j)) {
-                sb = sb.insert(i, delim);
-                j = i + 2*delim.length();
+            StringBuffer sb = new StringBuffer(s.length() + 16);
+            int j = 0;
+            for(; i != -1; i = s.indexOf(delim, j)) {
+                sb.append(s, j, i).append(delim).append(delim);
+                j = i + delim.length();
             }
+            sb.append(s, j, s.length());
             return sb.toString();
         } else
             return s;
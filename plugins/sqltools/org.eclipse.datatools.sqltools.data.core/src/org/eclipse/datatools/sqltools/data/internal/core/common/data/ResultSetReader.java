@@ -11,7 +11,6 @@
 
 package org.eclipse.datatools.sqltools.data.internal.core.common.data;
 
-import java.io.BufferedInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
@@ -65,9 +64,15 @@ public class ResultSetReader {
     
     public static Object read(ResultSet rs, int column, int lobLimit) throws SQLException, IOException
     {
-
-	    int type = rs.getMetaData().getColumnType(column+1);
-	    
+        return read(rs, column, rs.getMetaData().getColumnType(column+1), lobLimit);
+    }
+    
+    /**
+     * Reads a value of a column whose type is known, without looking up the
+     * metadata of the result set.
+     */
+    public static Object read(ResultSet rs, int column, int type, int lobLimit) throws SQLException, IOException
+    {
 	    if (type == Types.OTHER || type == DataCorePlugin.Types_SQLXML)
 	    	return rs.getString(column+1);
 	    
@@ -106,7 +111,7 @@ public class ResultSetReader {
 	    	// The presence of a null character in the result string causes the string to truncate. 
 	    	// Replace it with an alternate character.  \uFFFD is the Unicode Replacement 
 	    	// Character, used to replace a character whose value is unknown or unrepresentable.
-	    	return ((String) o).replaceAll("\u0000", "\uFFFD");
+	    	return ((String) o).indexOf('\u0000') < 0 ? o : ((String) o).replace('\u0000', '\uFFFD');
 	    return o;
 
     }
@@ -135,17 +140,21 @@ public class ResultSetReader {
     
     protected static Object readBinaryStream(InputStream is, int limit) throws SQLException, IOException
     {
-        InputStream bis = new BufferedInputStream(is);
         ByteArrayOutputStream os = new ByteArrayOutputStream();
-        for (int n=bis.read(); n!=-1; n=bis.read()) {
-            os.write(n);
+        byte[] buf = new byte[8192];
+        for (;;) {
+            int len = limit==-1 ? buf.length : Math.min(buf.length, limit);
+            int n = is.read(buf, 0, len);
+            if (n==-1)
+                break;
+            os.write(buf, 0, n);
             if (limit!=-1) {
-                limit--;
+                limit -= n;
                 if (limit<=0)
                     break;
             }
         }
-        bis.close();
+        is.close();
         byte[] bytes = os.toByteArray();
         os.close();
         return bytes;
@@ -0,0 +1,42 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Data Tools Platform and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * Contributors:
+ *     Eclipse Data Tools Platform - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.datatools.sqltools.data.internal.core.editor;
+
+import java.io.IOException;
+import java.sql.SQLException;
+
+/**
+ * Gives access to the rows of the table by position, for a table data which
+ * may read its rows a page at a time, as they are accessed, instead of all
+ * at once.
+ *
+ * The positions of the rows are those of the table, followed by the rows
+ * inserted; a row deleted keeps its position until the changes are saved
+ * or reverted.
+ */
+public interface ITableData3 extends ITableData2 {
+    /**
+     * @return true if the rows are read a page at a time
+     */
+    public boolean isPaged();
+
+    /**
+     * @return the number of rows, including the rows inserted and deleted
+     */
+    public int getRowCount() throws SQLException;
+
+    /**
+     * @param index the position of the row, from 0 to getRowCount() - 1
+     * @return the row, or null if the table has fewer rows than when they
+     *         were counted
+     */
+    public IRowData getRow(int index) throws SQLException, IOException;
+}
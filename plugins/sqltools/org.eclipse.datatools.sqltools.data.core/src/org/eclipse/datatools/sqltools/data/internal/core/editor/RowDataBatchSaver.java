@@ -0,0 +1,185 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Data Tools Platform and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * Contributors:
+ *     Eclipse Data Tools Platform - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.datatools.sqltools.data.internal.core.editor;
+
+import java.io.IOException;
+import java.sql.BatchUpdateException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.datatools.sqltools.data.internal.core.common.Output;
+
+/**
+ * Saves the rows of a table data, grouping them by statement: the rows whose
+ * insert, update or delete statements are the same are saved with the same
+ * prepared statement, in JDBC batches if the driver supports them.
+ * The rows deleted are saved first, then the rows updated, then the rows
+ * inserted. The outcome of each row is recorded from the update counts of
+ * its batch.
+ */
+public class RowDataBatchSaver
+{
+    public static final int DEFAULT_BATCH_SIZE = 500;
+
+    private static final int[] SAVE_ORDER = { RowDataImpl.STATE_DELETED, RowDataImpl.STATE_UPDATED,
+            RowDataImpl.STATE_INSERTED };
+
+    protected Connection con;
+    protected TableDataSaveStatus status;
+    protected Output output;
+    protected int batchSize = DEFAULT_BATCH_SIZE;
+    protected boolean useBatch;
+
+    /** Map<String, Batch> Statements prepared, by SQL text. */
+    protected Map batches = new LinkedHashMap();
+
+    public RowDataBatchSaver(Connection con, TableDataSaveStatus status, Output output)
+    {
+        this.con = con;
+        this.status = status;
+        this.output = output;
+        try {
+            useBatch = con.getMetaData().supportsBatchUpdates();
+        } catch (SQLException ex) {
+            useBatch = false;
+        }
+    }
+
+    /**
+     * Sets the maximum number of rows executed in one batch.
+     */
+    public void setBatchSize(int batchSize)
+    {
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    /**
+     * Saves the rows, and closes the statements prepared.
+     *
+     * @param rows List<RowDataImpl> the rows; those which have not been
+     *            changed are skipped
+     */
+    public void save(List rows) throws SQLException, IOException
+    {
+        try {
+            for (int i=0; i<SAVE_ORDER.length; ++i) {
+                Iterator it = rows.iterator();
+                while (it.hasNext()) {
+                    RowDataImpl row = (RowDataImpl)it.next();
+                    if (row.getState()==SAVE_ORDER[i])
+                        add(row);
+                }
+                executeBatches();
+            }
+        } finally {
+            close();
+        }
+    }
+
+    protected void add(RowDataImpl row) throws SQLException, IOException
+    {
+        String q = row.computeSaveStatement();
+        if (q==null)
+            return;
+        Batch batch = (Batch)batches.get(q);
+        if (batch==null) {
+            batch = new Batch(con.prepareStatement(q));
+            batches.put(q, batch);
+        }
+
+        StmtLog stmtLog = row.setSaveArguments(batch.pst, q);
+        output.write(stmtLog.toString());
+        if (!useBatch) {
+            row.saved(status, batch.pst.executeUpdate());
+            return;
+        }
+        batch.pst.addBatch();
+        batch.rows.add(row);
+        batch.logs.add(stmtLog);
+        if (batch.rows.size()>=batchSize)
+            execute(batch);
+    }
+
+    protected void executeBatches() throws SQLException
+    {
+        Iterator it = batches.values().iterator();
+        while (it.hasNext())
+            execute((Batch)it.next());
+    }
+
+    protected void execute(Batch batch) throws SQLException
+    {
+        if (batch.rows.isEmpty())
+            return;
+
+        int[] counts;
+        try {
+            counts = batch.pst.executeBatch();
+        } catch (BatchUpdateException ex) {
+            // the driver either stops at the failed row, or goes on and marks it
+            int[] done = ex.getUpdateCounts();
+            int failed = done==null ? 0 : done.length;
+            for (int i=0; done!=null && i<done.length; ++i)
+                if (done[i]==Statement.EXECUTE_FAILED) {
+                    failed = i;
+                    break;
+                }
+            if (failed<batch.logs.size())
+                output.write(Messages.getString("RowDataBatchSaver.Failed") + batch.logs.get(failed)); //$NON-NLS-1$
+            throw ex;
+        }
+
+        for (int i=0; i<batch.rows.size(); ++i) {
+            // a driver may not know the number of rows changed
+            int n = i<counts.length && counts[i]!=Statement.SUCCESS_NO_INFO ? counts[i] : 1;
+            ((RowDataImpl)batch.rows.get(i)).saved(status, n);
+        }
+        batch.rows.clear();
+        batch.logs.clear();
+    }
+
+    protected void close()
+    {
+        Iterator it = batches.values().iterator();
+        while (it.hasNext()) {
+            try {
+                ((Batch)it.next()).pst.close();
+            } catch (SQLException ex) {
+                // ignore
+            }
+        }
+        batches.clear();
+    }
+
+    /**
+     * A prepared statement, with the rows added to its current batch.
+     */
+    protected static class Batch
+    {
+        protected PreparedStatement pst;
+        /** List<RowDataImpl> */
+        protected List rows = new ArrayList();
+        /** List<StmtLog> */
+        protected List logs = new ArrayList();
+
+        protected Batch(PreparedStatement pst)
+        {
+            this.pst = pst;
+        }
+    }
+}
@@ -60,13 +60,93 @@ public class RowDataImpl extends AbstractRowData
         }
     }
     
-    protected void doInsert(TableDataSaveStatus status, Output output) throws SQLException, IOException
+    /**
+     * Computes the statement saving the row, according to its state.
+     * The rows whose statements are the same can be saved in a batch.
+     * 
+     * @return the statement, or null if the row has not been changed
+     */
+    protected String computeSaveStatement()
+    {
+        switch (state) {
+            case STATE_UPDATED:
+                return computeUpdateStatement();
+            case STATE_INSERTED:
+                return computeInsertStatement();
+            case STATE_DELETED:
+                return computeDeleteStatement();
+            case STATE_ORIGINAL:
+            default:
+                return null;
+        }
+    }
+    
+    /**
+     * Sets the arguments of the statement saving the row.
+     * 
+     * @param pst the statement prepared from computeSaveStatement()
+     * @param q the statement, for the log
+     * @return the log of the statement with its arguments
+     */
+    protected StmtLog setSaveArguments(PreparedStatement pst, String q) throws SQLException, IOException
+    {
+        StmtLog stmtLog = new StmtLog(q);
+        switch (state) {
+            case STATE_UPDATED:
+                setSetClauseArguments(pst, stmtLog);
+                setWhereClauseArguments(pst, stmtLog);
+                break;
+            case STATE_INSERTED:
+                setValuesClauseArguments(pst, stmtLog);
+                break;
+            case STATE_DELETED:
+                setWhereClauseArguments(pst, stmtLog);
+                break;
+            case STATE_ORIGINAL:
+            default:
+        }
+        return stmtLog;
+    }
+    
+    /**
+     * Records the outcome of the statement saving the row.
+     * 
+     * @param n the number of rows changed by the statement
+     */
+    protected void saved(TableDataSaveStatus status, int n)
+    {
+        switch (state) {
+            case STATE_UPDATED:
+                status.updated += n;
+                if (n!=1)
+                    status.duplicateRow = true;
+                break;
+            case STATE_INSERTED:
+                status.inserted += 1;
+                break;
+            case STATE_DELETED:
+                status.deleted += n;
+                if (n!=1)
+                    status.duplicateRow = true;
+                break;
+            case STATE_ORIGINAL:
+            default:
+        }
+    }
+    
+    protected String computeInsertStatement()
     {
-        // Write query
         Vector exprs = computeValuesClause();
         String q = "insert into " + table.getQualifiedTableName(); //$NON-NLS-1$
         q += formatClause(" (", computeInsertColList(exprs), ", ", ")");  //$NON-NLS-1$//$NON-NLS-2$ //$NON-NLS-3$
         q += formatClause(" values(", exprs, ", ", ")");  //$NON-NLS-1$//$NON-NLS-2$ //$NON-NLS-3$        
+        return q;
+    }
+    
+    protected void doInsert(TableDataSaveStatus status, Output output) throws SQLException, IOException
+    {
+        // Write query
+        String q = computeInsertStatement();
         PreparedStatement pst = table.getConnection().prepareStatement(q);
         StmtLog stmtLog = new StmtLog(q);
         
@@ -98,12 +178,18 @@ public class RowDataImpl extends AbstractRowData
         return cols;
     }
     
-    protected void doUpdate(TableDataSaveStatus status, Output output) throws SQLException, IOException
+    protected String computeUpdateStatement()
     {
-        // Write query
         String q = "update " + table.getQualifiedTableName(); //$NON-NLS-1$
         q += formatClause(" set ", computeSetClause(), ", ", "");  //$NON-NLS-1$ //$NON-NLS-2$//$NON-NLS-3$
         q += formatClause(" where ", computeWhereClause(), " and ", "");  //$NON-NLS-1$//$NON-NLS-2$ //$NON-NLS-3$
+        return q;
+    }
+    
+    protected void doUpdate(TableDataSaveStatus status, Output output) throws SQLException, IOException
+    {
+        // Write query
+        String q = computeUpdateStatement();
         PreparedStatement pst = table.getConnection().prepareStatement(q);
         StmtLog stmtLog = new StmtLog(q);
         
@@ -121,11 +207,17 @@ public class RowDataImpl extends AbstractRowData
             status.duplicateRow = true;
     }
     
-    protected void doDelete(TableDataSaveStatus status, Output output) throws SQLException, IOException
+    protected String computeDeleteStatement()
     {
-        // Write query
         String q = "delete from " + table.getQualifiedTableName(); //$NON-NLS-1$
         q += formatClause(" where ", computeWhereClause(), " and ", "");  //$NON-NLS-1$//$NON-NLS-2$ //$NON-NLS-3$
+        return q;
+    }
+    
+    protected void doDelete(TableDataSaveStatus status, Output output) throws SQLException, IOException
+    {
+        // Write query
+        String q = computeDeleteStatement();
         PreparedStatement pst = table.getConnection().prepareStatement(q);
         StmtLog stmtLog = new StmtLog(q);
         
@@ -13,13 +13,19 @@ package org.eclipse.datatools.sqltools.data.internal.core.editor;
 
 import java.io.IOException;
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 import java.util.Vector;
 
 import org.eclipse.core.runtime.CoreException;
@@ -31,6 +37,7 @@ import org.eclipse.core.runtime.Platform;
 import org.eclipse.datatools.connectivity.sqm.core.definition.DatabaseDefinition;
 import org.eclipse.datatools.connectivity.sqm.core.rte.ICatalogObject;
 import org.eclipse.datatools.connectivity.sqm.internal.core.RDBCorePlugin;
+import org.eclipse.datatools.modelbase.sql.constraints.PrimaryKey;
 import org.eclipse.datatools.modelbase.sql.constraints.ReferenceConstraint;
 import org.eclipse.datatools.modelbase.sql.constraints.TableConstraint;
 import org.eclipse.datatools.modelbase.sql.constraints.UniqueConstraint;
@@ -47,6 +54,7 @@ import org.eclipse.datatools.modelbase.sql.tables.ViewTable;
 import org.eclipse.datatools.sqltools.data.internal.core.DataCorePlugin;
 import org.eclipse.datatools.sqltools.data.internal.core.common.IColumnDataAccessor;
 import org.eclipse.datatools.sqltools.data.internal.core.common.Output;
+import org.eclipse.datatools.sqltools.data.internal.core.common.data.PreparedStatementWriter;
 import org.eclipse.datatools.sqltools.result.ResultsViewAPI;
 import org.eclipse.emf.common.util.EList;
 
@@ -60,15 +68,18 @@ import org.eclipse.emf.common.util.EList;
  * constraints of the table to uniquely identify the row.
  * If no unique constraints is available, all the columns will be used, which doesn't garentee that a single
  * column will be modified.
+ * In paged mode, the rows are read a page at a time, following the primary key, as they are accessed
+ * through getRow(); only the most recently used pages are kept in memory, along with the rows edited
+ * until they are saved or reverted.
  * 
  * @author groux
  */
-public class TableDataImpl implements ITableData2 {
+public class TableDataImpl implements ITableData3 {
 
     protected Table sqlTable;
     protected Connection con;  
     
-    /** Vector<SqlRowImpl> Table data. */
+    /** Vector<SqlRowImpl> Table data. In paged mode, the rows edited and inserted. */
     protected Vector rows = new Vector();  
     
     /** Column types as definies in java.sql.Types. */
@@ -93,6 +104,36 @@ public class TableDataImpl implements ITableData2 {
     /** The actual columns in the result */
     protected List resultColumns;
     
+    /** Default number of rows of a page, in paged mode. */
+    public static final int DEFAULT_PAGE_SIZE = 500;
+    
+    /** Default number of pages kept in memory, in paged mode. */
+    public static final int DEFAULT_MAX_PAGES = 8;
+    
+    /** Number of rows of a page, or 0 if all the rows are read at once. */
+    protected int pageSize;
+    
+    /** Maximum number of pages kept in memory, in paged mode. */
+    protected int maxPages = DEFAULT_MAX_PAGES;
+    
+    /** Indices of the primary key columns, by which the pages are read. */
+    protected int[] pageKey;
+    
+    /** LinkedHashMap<Integer, RowDataImpl[]> Pages in memory, the least recently used first. */
+    protected LinkedHashMap pages;
+    
+    /** List<Object[]> Primary key of the last row of each page, for the pages found so far. */
+    protected List pageBounds;
+    
+    /** Map<PageKey, RowDataImpl> Rows edited, by the values of their primary key. */
+    protected Map pinnedRows;
+    
+    /** Vector<RowDataImpl> Rows inserted, in paged mode. */
+    protected Vector insertedRows;
+    
+    /** Number of rows of the table when counted, or -1 if not counted yet. */
+    protected int tableRowCount = -1;
+    
     private static final String EXTERNAL_SQL_OBJECT_NAME_HELPER = "org.eclipse.datatools.modelbase.sql.sqlObjectNameHelper"; //$NON-NLS-1$
     private static final String EXTERNAL_SQL_OBJECT_NAME_HELPER_DBTYPE = "databaseType"; //$NON-NLS-1$
     private static final String EXTERNAL_SQL_OBJECT_NAME_HELPER_CLASS = "class"; //$NON-NLS-1$
@@ -100,6 +141,17 @@ public class TableDataImpl implements ITableData2 {
     
 
     public TableDataImpl(Table sqlTable) throws SQLException, IOException, Exception
+    {
+        this(sqlTable, 0);
+    }
+    
+    /**
+     * @param sqlTable the table
+     * @param pageSize the number of rows of a page, to read the rows a page at a time as they are
+     * accessed, or 0 to read all the rows at once. The rows are read a page at a time only if the table
+     * has a primary key, and no table editor result filter applies.
+     */
+    public TableDataImpl(Table sqlTable, int pageSize) throws SQLException, IOException, Exception
     {
         super();
         this.sqlTable = sqlTable;        
@@ -138,6 +190,10 @@ public class TableDataImpl implements ITableData2 {
         {
         	constructFilteredTableData();
         }
+        else if (pageSize > 0 && findPageKey())
+        {
+        	constructPagedTableData(pageSize);
+        }
         else
         { // do it the original way        
 	        Statement stmt = con.createStatement();
@@ -147,26 +203,13 @@ public class TableDataImpl implements ITableData2 {
 	        	stmt.setMaxRows(maxRowsPrefence);
 	        }
 	        
-	        colDataAccessor = new IColumnDataAccessor[sqlTable.getColumns().size()];
-	        for (int i=0; i<sqlTable.getColumns().size(); ++i) {
-	            Column sqlCol = (Column) sqlTable.getColumns().get(i);
-	            resultColumns.add(sqlCol);
-	            colDataAccessor[i] = DataCorePlugin.getDefault().newColumnDataAccessor(sqlCol);
-	        }
+	        createColumnDataAccessors();
 	        
 	        String selectStmt = computeSelectStatement();
 	        ResultSet rs = stmt.executeQuery(selectStmt);
 	        
-	        ResultSetMetaData rsmd = rs.getMetaData();
-	        int cc = rsmd.getColumnCount();
-	        colTtypes = new int[cc];
-	        colNames = new String[cc];  
-	        colTypeNames = new String[cc];
-	        for (int i=0; i<cc; ++i) {
-	            colTtypes[i] = rsmd.getColumnType(i+1);
-	            colNames[i] = rsmd.getColumnName(i+1); 
-	            colTypeNames[i] = rsmd.getColumnTypeName(i+1);
-	        }	        
+	        readColumnTypes(rs.getMetaData());
+	        int cc = colTtypes.length;
 	        
 	        while (rs.next()) {
 	            Object[] a = new Object[cc];
@@ -180,6 +223,35 @@ public class TableDataImpl implements ITableData2 {
         }
     }
     
+    /**
+     * Creates the data accessors of all the columns of the table.
+     */
+    protected void createColumnDataAccessors() throws Exception
+    {
+        colDataAccessor = new IColumnDataAccessor[sqlTable.getColumns().size()];
+        for (int i=0; i<sqlTable.getColumns().size(); ++i) {
+            Column sqlCol = (Column) sqlTable.getColumns().get(i);
+            resultColumns.add(sqlCol);
+            colDataAccessor[i] = DataCorePlugin.getDefault().newColumnDataAccessor(sqlCol);
+        }
+    }
+    
+    /**
+     * Reads the types and names of the columns of the result.
+     */
+    protected void readColumnTypes(ResultSetMetaData rsmd) throws SQLException
+    {
+        int cc = rsmd.getColumnCount();
+        colTtypes = new int[cc];
+        colNames = new String[cc];  
+        colTypeNames = new String[cc];
+        for (int i=0; i<cc; ++i) {
+            colTtypes[i] = rsmd.getColumnType(i+1);
+            colNames[i] = rsmd.getColumnName(i+1); 
+            colTypeNames[i] = rsmd.getColumnTypeName(i+1);
+        }
+    }
+    
     /**
      * Finds a "view key" for the given view table. The view key is all the columns of the table.
      * The view key is stored in the key var as an array of column indexes.
@@ -263,7 +335,6 @@ public class TableDataImpl implements ITableData2 {
     
     protected String computeSelectStatement()
     {
-    	Database database = null;
     	StringBuffer sb = new StringBuffer("SELECT"); //$NON-NLS-1$
         for (int i=0; i<sqlTable.getColumns().size(); ++i) {
         	if (i==0)
@@ -273,10 +344,20 @@ public class TableDataImpl implements ITableData2 {
             sb.append( colDataAccessor[i].getSelectExpr() );
         }
         sb.append(" FROM "); //$NON-NLS-1$
+        sb.append(computeTableName());        
+        
+        return sb.toString();
+    }
+    
+    /**
+     * Computes the name of the table as used in the statements.
+     */
+    protected String computeTableName()
+    {
         // Get the qualified form of the table name from the name handler, if one
         // is registered.  Otherwise qualify it locally.
         String tableName = null;
-        database = getDatabase(sqlTable.getSchema());
+        Database database = getDatabase(sqlTable.getSchema());
         String quote = "\""; //$NON-NLS-1$
         try {
         	quote = con.getMetaData().getIdentifierQuoteString();
@@ -292,9 +373,7 @@ public class TableDataImpl implements ITableData2 {
         if (tableName == null) {
             tableName = getQualifiedTableName();
         }
-        sb.append(tableName);        
-        
-        return sb.toString();
+        return tableName;
     }
     
     private Database getDatabase (Schema schema)
@@ -334,7 +413,315 @@ public class TableDataImpl implements ITableData2 {
         }
     }
     
+    /**
+     * Finds the primary key by which the pages are read, in paged mode.
+     * 
+     * @return false if the table has no primary key
+     */
+    protected boolean findPageKey()
+    {
+        if (!(sqlTable instanceof BaseTable))
+            return false;
+        PrimaryKey pk = ((BaseTable) sqlTable).getPrimaryKey();
+        if (pk==null || pk.getMembers().isEmpty())
+            return false;
+        EList cols = pk.getMembers();
+        pageKey = new int[cols.size()];
+        for (int i=0; i<cols.size(); ++i) {
+            pageKey[i] = sqlTable.getColumns().indexOf(cols.get(i));
+            if (pageKey[i]<0)
+                return false;
+        }
+        return true;
+    }
+    
+    /**
+     * Constructs TableDataImpl in paged mode, reading the first page.
+     */
+    protected void constructPagedTableData(int pageSize) throws SQLException, IOException, Exception
+    {
+        this.pageSize = pageSize;
+        pages = new LinkedHashMap(16, 0.75f, true) {
+            protected boolean removeEldestEntry(Map.Entry eldest)
+            {
+                if (size()<=maxPages)
+                    return false;
+                pinEditedRows((RowDataImpl[]) eldest.getValue());
+                return true;
+            }
+        };
+        pageBounds = new ArrayList();
+        pinnedRows = new HashMap();
+        insertedRows = new Vector();
+        
+        createColumnDataAccessors();
+        getPage(0);
+    }
+    
+    /**
+     * Sets the number of pages kept in memory, in paged mode.
+     */
+    public void setMaxPages(int maxPages)
+    {
+        this.maxPages = Math.max(1, maxPages);
+    }
+    
+    public boolean isPaged()
+    {
+        return pageSize>0;
+    }
+    
+    public int getRowCount() throws SQLException
+    {
+        if (!isPaged())
+            return rows.size();
+        
+        if (tableRowCount<0) {
+            Statement stmt = con.createStatement();
+            try {
+                ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM " + computeTableName()); //$NON-NLS-1$
+                tableRowCount = rs.next() ? rs.getInt(1) : 0;
+                rs.close();
+            } finally {
+                stmt.close();
+            }
+        }
+        return tableRowCount + insertedRows.size();
+    }
+    
+    public IRowData getRow(int index) throws SQLException, IOException
+    {
+        if (!isPaged())
+            return (IRowData) rows.elementAt(index);
+        
+        int count = getRowCount() - insertedRows.size();
+        if (index>=count)
+            return (IRowData) insertedRows.elementAt(index - count);
+        RowDataImpl[] page = getPage(index / pageSize);
+        int i = index % pageSize;
+        return i<page.length ? page[i] : null;
+    }
+    
+    /**
+     * Gets a page from memory, reading it if needed.
+     */
+    protected RowDataImpl[] getPage(int page) throws SQLException, IOException
+    {
+        Integer key = Integer.valueOf(page);
+        RowDataImpl[] rowArray = (RowDataImpl[]) pages.get(key);
+        if (rowArray==null) {
+            rowArray = readPage(page);
+            pages.put(key, rowArray);
+        }
+        return rowArray;
+    }
+    
+    /**
+     * Reads the rows of a page: the rows following the primary key of the last row of the previous page.
+     * The rows edited are kept in place of those read.
+     */
+    protected RowDataImpl[] readPage(int page) throws SQLException, IOException
+    {
+        Object[] bound = null;
+        if (page>0) {
+            findPageBounds(page);
+            if (pageBounds.size()<page)
+                return new RowDataImpl[0];
+            bound = (Object[]) pageBounds.get(page - 1);
+        }
+        
+        List pageRows = new ArrayList();
+        PreparedStatement pst = con.prepareStatement(computeSelectStatement() + computeKeysetClause(bound));
+        try {
+            pst.setMaxRows(pageSize);
+            setFetchSize(pst, pageSize);
+            setKeysetArguments(pst, bound);
+            ResultSet rs = pst.executeQuery();
+            if (colTtypes==null)
+                readColumnTypes(rs.getMetaData());
+            int cc = colTtypes.length;
+            Object[] a = null;
+            while (rs.next()) {
+                a = new Object[cc];
+                for (int col=0; col<cc; ++col)
+                    a[col] = colDataAccessor[col].read(rs, col, colTtypes[col], true);
+                RowDataImpl row = (RowDataImpl) pinnedRows.get(new PageKey(getPageKeyValues(a)));
+                if (row==null)
+                    row = new RowDataImpl(this, RowDataImpl.STATE_ORIGINAL, a);
+                pageRows.add(row);
+            }
+            rs.close();
+            
+            // a page which is not full is the last one, and has no bound yet
+            if (pageRows.size()==pageSize && pageBounds.size()==page)
+                pageBounds.add(getPageKeyValues(a));
+        } finally {
+            pst.close();
+        }
+        return (RowDataImpl[]) pageRows.toArray(new RowDataImpl[pageRows.size()]);
+    }
+    
+    /**
+     * Finds the primary key of the last row of the pages before the given one, reading only the
+     * primary key of the rows following the last page found.
+     */
+    protected void findPageBounds(int page) throws SQLException, IOException
+    {
+        if (pageBounds.size()>=page)
+            return;
+        
+        Object[] bound = pageBounds.isEmpty() ? null : (Object[]) pageBounds.get(pageBounds.size() - 1);
+        StringBuffer sb = new StringBuffer("SELECT"); //$NON-NLS-1$
+        for (int i=0; i<pageKey.length; ++i) {
+            sb.append(i==0 ? " " : ", "); //$NON-NLS-1$ //$NON-NLS-2$
+            sb.append(colDataAccessor[pageKey[i]].getSelectExpr());
+        }
+        sb.append(" FROM ").append(computeTableName()); //$NON-NLS-1$
+        sb.append(computeKeysetClause(bound));
+        
+        PreparedStatement pst = con.prepareStatement(sb.toString());
+        try {
+            setFetchSize(pst, pageSize);
+            setKeysetArguments(pst, bound);
+            ResultSet rs = pst.executeQuery();
+            int n = 0;
+            while (pageBounds.size()<page && rs.next()) {
+                if (++n==pageSize) {
+                    Object[] key = new Object[pageKey.length];
+                    for (int i=0; i<pageKey.length; ++i)
+                        key[i] = colDataAccessor[pageKey[i]].read(rs, i, colTtypes[pageKey[i]], true);
+                    pageBounds.add(key);
+                    n = 0;
+                }
+            }
+            rs.close();
+        } finally {
+            pst.close();
+        }
+    }
+    
+    /**
+     * Computes the clause selecting the rows following the given primary key, in the order of the
+     * primary key: WHERE (K1>?) OR (K1=? AND K2>?) ... ORDER BY K1, K2 ...
+     * 
+     * @param bound the primary key values, or null to select from the first row
+     */
+    protected String computeKeysetClause(Object[] bound)
+    {
+        StringBuffer sb = new StringBuffer();
+        if (bound!=null) {
+            sb.append(" WHERE "); //$NON-NLS-1$
+            for (int i=0; i<pageKey.length; ++i) {
+                if (i>0)
+                    sb.append(" OR "); //$NON-NLS-1$
+                sb.append('(');
+                for (int j=0; j<i; ++j)
+                    sb.append(getQuotedColumnName(pageKey[j])).append("=? AND "); //$NON-NLS-1$
+                sb.append(getQuotedColumnName(pageKey[i])).append(">?)"); //$NON-NLS-1$
+            }
+        }
+        sb.append(" ORDER BY "); //$NON-NLS-1$
+        for (int i=0; i<pageKey.length; ++i) {
+            if (i>0)
+                sb.append(", "); //$NON-NLS-1$
+            sb.append(getQuotedColumnName(pageKey[i]));
+        }
+        return sb.toString();
+    }
+    
+    protected void setKeysetArguments(PreparedStatement pst, Object[] bound) throws SQLException, IOException
+    {
+        if (bound==null)
+            return;
+        int n = 0;
+        for (int i=0; i<pageKey.length; ++i)
+            for (int j=0; j<=i; ++j)
+                PreparedStatementWriter.write(pst, n++, colTtypes[pageKey[j]], bound[j]);
+    }
+    
+    private static void setFetchSize(Statement stmt, int fetchSize)
+    {
+        try {
+            stmt.setFetchSize(fetchSize);
+        } catch (SQLException ex) {
+            // the fetch size is only a hint
+        }
+    }
+    
+    private Object[] getPageKeyValues(Object[] data)
+    {
+        Object[] values = new Object[pageKey.length];
+        for (int i=0; i<pageKey.length; ++i)
+            values[i] = data[pageKey[i]];
+        return values;
+    }
+    
+    /**
+     * Keeps the rows edited in a page, so that they are not lost when the page is dropped from memory.
+     */
+    protected void pinEditedRows(RowDataImpl[] page)
+    {
+        for (int i=0; i<page.length; ++i)
+            if (page[i].getState()!=RowDataImpl.STATE_ORIGINAL)
+                pinRow(page[i]);
+    }
+    
+    /**
+     * Keeps the rows edited in all the pages in memory.
+     */
+    protected void pinEditedRows()
+    {
+        Iterator it = pages.values().iterator();
+        while (it.hasNext())
+            pinEditedRows((RowDataImpl[]) it.next());
+    }
+    
+    protected void pinRow(RowDataImpl row)
+    {
+        if (pinnedRows.put(new PageKey(getPageKeyValues(row.oldData)), row)==null)
+            rows.add(row);
+    }
+    
+    /**
+     * Forgets the pages read and the rows edited, once saved: the rows are read again as they are accessed.
+     */
+    protected void resetPages()
+    {
+        pages.clear();
+        pageBounds.clear();
+        pinnedRows.clear();
+        rows.clear();
+        insertedRows.clear();
+        tableRowCount = -1;
+    }
+    
+    /**
+     * The values of the primary key of a row, compared by value, binary values included,
+     * since a page read again has new instances of the values.
+     */
+    protected static class PageKey
+    {
+        protected Object[] values;
+        
+        public PageKey(Object[] values)
+        {
+            this.values = values;
+        }
+        
+        public boolean equals(Object o)
+        {
+            return o instanceof PageKey && Arrays.deepEquals(values, ((PageKey) o).values);
+        }
+        
+        public int hashCode()
+        {
+            return Arrays.deepHashCode(values);
+        }
+    }
+    
     public void dispose() {
+        if (isPaged())
+            pages.clear();
     }
     
     public int getColumnCount() {
@@ -403,10 +790,21 @@ public class TableDataImpl implements ITableData2 {
     	return colDataAccessor[col];
     }
     
+    /**
+     * In paged mode, returns only the rows of the pages in memory, followed by the rows inserted.
+     */
     public Vector getRows()
     {
         Vector v = new Vector();
         Iterator it = rows.iterator();
+        if (isPaged()) {
+            List l = new ArrayList();
+            Iterator pageIt = new TreeMap(pages).values().iterator();
+            while (pageIt.hasNext())
+                l.addAll(Arrays.asList((RowDataImpl[]) pageIt.next()));
+            l.addAll(insertedRows);
+            it = l.iterator();
+        }
         while (it.hasNext()) {
             RowDataImpl row = (RowDataImpl)it.next();
             if (row.getState()!=RowDataImpl.STATE_DELETED)
@@ -438,14 +836,13 @@ public class TableDataImpl implements ITableData2 {
         	setAutoCommitAllowed = false;
         }
         
+        if (isPaged())
+            pinEditedRows();
+        
         int res;
         TableDataSaveStatus status = new TableDataSaveStatus();
         try {         
-	        Iterator it = rows.iterator();
-	        while (it.hasNext()) {
-	            RowDataImpl row = (RowDataImpl)it.next();
-	            row.save(status, output);
-	        }
+	        new RowDataBatchSaver(con, status, output).save(rows);
 	        if (setAutoCommitAllowed)
 	        {
 	        	con.commit();
@@ -473,6 +870,9 @@ public class TableDataImpl implements ITableData2 {
     
     public void revert()
     {
+        if (isPaged())
+            pinEditedRows();
+        
         int i = 0;
         while (i<rows.size()) {
             RowDataImpl row = (RowDataImpl)rows.elementAt(i);
@@ -484,6 +884,12 @@ public class TableDataImpl implements ITableData2 {
             else if (row.getState()==RowDataImpl.STATE_ORIGINAL)
                 ++i;
         }
+        
+        if (isPaged()) {
+            rows.clear();
+            pinnedRows.clear();
+            insertedRows.clear();
+        }
     }
     
     protected void resetRowsToOriginal()
@@ -499,6 +905,9 @@ public class TableDataImpl implements ITableData2 {
             else if (row.getState()==RowDataImpl.STATE_ORIGINAL)
                 ++i;
         }  
+        
+        if (isPaged())
+            resetPages();
     }
     
     protected void writeOutput(Output output, int res, TableDataSaveStatus status)
@@ -522,16 +931,23 @@ public class TableDataImpl implements ITableData2 {
 
     public void deleteRow(IRowData row)
     {
-        if (((RowDataImpl)row).getState()==RowDataImpl.STATE_INSERTED)
+        if (((RowDataImpl)row).getState()==RowDataImpl.STATE_INSERTED) {
             rows.remove(row);
-        else
+            if (isPaged())
+                insertedRows.remove(row);
+        } else {
             ((RowDataImpl)row).setState(RowDataImpl.STATE_DELETED);
+            if (isPaged())
+                pinRow((RowDataImpl)row);
+        }
     }
     
     public IRowData insertRow() {
         Object data[] = new Object[getColumnCount()];
         IRowData row = new RowDataImpl(this, RowDataImpl.STATE_INSERTED, data);
         rows.add(row);
+        if (isPaged())
+            insertedRows.add(row);
         return row;
     }
     
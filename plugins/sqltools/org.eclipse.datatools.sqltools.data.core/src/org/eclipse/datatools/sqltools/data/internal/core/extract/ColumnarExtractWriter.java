@@ -0,0 +1,231 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Data Tools Platform and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * Contributors:
+ *     Eclipse Data Tools Platform - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.datatools.sqltools.data.internal.core.extract;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.sql.Types;
+import java.util.Arrays;
+
+/**
+ * Writes the rows in a compact binary file, column by column within groups
+ * of rows.
+ * <p>
+ * The file starts with the bytes "DTPC", a version byte (1), the number of
+ * columns, and the name and java.sql.Types code of each column. Then come
+ * the groups of rows, each starting with its number of rows; the file ends
+ * with an empty group. Within a group, each column is written in turn: an
+ * encoding byte, a bitmap of the null values (a bit per row, set if the value
+ * is null, least significant bit first), and the values which are not null,
+ * according to the encoding:
+ * <ul>
+ * <li>{@link #LONG}: a variable-length, zig-zag encoded integer</li>
+ * <li>{@link #DOUBLE}: an IEEE 754 double, 8 bytes big-endian</li>
+ * <li>{@link #BYTES}: a length then the bytes</li>
+ * <li>{@link #STRING}: a length then the UTF-8 bytes of the value
+ * serialized as in the delimited format</li>
+ * </ul>
+ * The numbers of columns and rows, the types and the lengths are
+ * variable-length integers (7 bits per byte, least significant first, the
+ * high bit set on all the bytes but the last one); the names are strings.
+ * The integer and floating point columns fall back to strings for the
+ * groups of rows holding values not representable in their encoding.
+ */
+public class ColumnarExtractWriter implements IExtractWriter
+{
+    public static final int VERSION = 1;
+
+    public static final int LONG = 1;
+    public static final int DOUBLE = 2;
+    public static final int BYTES = 3;
+    public static final int STRING = 4;
+
+    public static final int DEFAULT_GROUP_SIZE = 4096;
+
+    protected DataOutputStream out;
+    protected int groupSize;
+    protected ExtractColumn[] columns;
+    protected int[] encodings;
+    // the values of the current group, column by column
+    protected Object[][] values;
+    protected String[] strings;
+    protected int rowCount;
+
+    public ColumnarExtractWriter(OutputStream out)
+    {
+        this(out, DEFAULT_GROUP_SIZE);
+    }
+
+    public ColumnarExtractWriter(OutputStream out, int groupSize)
+    {
+        this.out = new DataOutputStream(out);
+        this.groupSize = groupSize;
+        strings = new String[groupSize];
+    }
+
+    public void writeHeader(ExtractColumn[] columns) throws IOException
+    {
+        this.columns = columns;
+        encodings = new int[columns.length];
+        values = new Object[columns.length][groupSize];
+        out.writeBytes("DTPC"); //$NON-NLS-1$
+        out.writeByte(VERSION);
+        writeVarInt(columns.length);
+        for (int i=0; i<columns.length; ++i) {
+            writeString(columns[i].getName()==null ? "" : columns[i].getName()); //$NON-NLS-1$
+            writeVarLong(zigZag(columns[i].getType()));
+            encodings[i] = getEncoding(columns[i].getType());
+        }
+    }
+
+    public void writeRow(Object[] row) throws IOException
+    {
+        for (int i=0; i<columns.length; ++i)
+            values[i][rowCount] = row[i];
+        if (++rowCount==groupSize)
+            writeGroup();
+    }
+
+    public void close() throws IOException
+    {
+        try {
+            if (rowCount>0)
+                writeGroup();
+            writeVarInt(0);
+        } finally {
+            out.close();
+        }
+    }
+
+    protected void writeGroup() throws IOException
+    {
+        writeVarInt(rowCount);
+        for (int i=0; i<columns.length; ++i) {
+            Object[] column = values[i];
+            int encoding = encodings[i];
+            if (encoding==STRING || !canEncode(column, encoding)) {
+                encoding = STRING;
+                for (int row=0; row<rowCount; ++row)
+                    strings[row] = columns[i].serialize(column[row]);
+                column = strings;
+            }
+
+            out.writeByte(encoding);
+            for (int row=0; row<rowCount; row+=8) {
+                int bits = 0;
+                for (int bit=0; bit<8 && row+bit<rowCount; ++bit)
+                    if (column[row+bit]==null)
+                        bits |= 1 << bit;
+                out.writeByte(bits);
+            }
+            for (int row=0; row<rowCount; ++row) {
+                Object value = column[row];
+                if (value==null)
+                    continue;
+                switch (encoding) {
+                    case LONG:
+                        writeVarLong(zigZag(((Number)value).longValue()));
+                        break;
+                    case DOUBLE:
+                        out.writeDouble(((Number)value).doubleValue());
+                        break;
+                    case BYTES:
+                        writeVarInt(((byte[])value).length);
+                        out.write((byte[])value);
+                        break;
+                    default:
+                        writeString((String)value);
+                }
+            }
+            Arrays.fill(values[i], 0, rowCount, null);
+        }
+        rowCount = 0;
+    }
+
+    private boolean canEncode(Object[] column, int encoding)
+    {
+        for (int row=0; row<rowCount; ++row) {
+            Object value = column[row];
+            if (value==null)
+                continue;
+            switch (encoding) {
+                case LONG:
+                    if (value instanceof BigInteger) {
+                        if (((BigInteger)value).bitLength()>63)
+                            return false;
+                    } else if (!(value instanceof Integer || value instanceof Long
+                            || value instanceof Short || value instanceof Byte))
+                        return false;
+                    break;
+                case DOUBLE:
+                    if (!(value instanceof Double || value instanceof Float))
+                        return false;
+                    break;
+                case BYTES:
+                    if (!(value instanceof byte[]))
+                        return false;
+                    break;
+            }
+        }
+        return true;
+    }
+
+    private static int getEncoding(int type)
+    {
+        switch (type) {
+            case Types.TINYINT:
+            case Types.SMALLINT:
+            case Types.INTEGER:
+            case Types.BIGINT:
+                return LONG;
+            case Types.REAL:
+            case Types.FLOAT:
+            case Types.DOUBLE:
+                return DOUBLE;
+            case Types.BINARY:
+            case Types.VARBINARY:
+            case Types.LONGVARBINARY:
+            case Types.BLOB:
+                return BYTES;
+            default:
+                return STRING;
+        }
+    }
+
+    private static long zigZag(long n)
+    {
+        return (n << 1) ^ (n >> 63);
+    }
+
+    private void writeVarInt(int n) throws IOException
+    {
+        writeVarLong(n & 0xFFFFFFFFL);
+    }
+
+    private void writeVarLong(long n) throws IOException
+    {
+        while ((n & ~0x7FL)!=0) {
+            out.writeByte((int)(n & 0x7F) | 0x80);
+            n >>>= 7;
+        }
+        out.writeByte((int)n);
+    }
+
+    private void writeString(String s) throws IOException
+    {
+        byte[] bytes = s.getBytes("UTF-8"); //$NON-NLS-1$
+        writeVarInt(bytes.length);
+        out.write(bytes);
+    }
+}
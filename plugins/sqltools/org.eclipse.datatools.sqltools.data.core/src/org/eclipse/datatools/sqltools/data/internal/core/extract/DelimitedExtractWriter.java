@@ -0,0 +1,67 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Data Tools Platform and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * Contributors:
+ *     Eclipse Data Tools Platform - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.datatools.sqltools.data.internal.core.extract;
+
+import java.io.IOException;
+import java.io.Writer;
+
+import org.eclipse.datatools.sqltools.data.internal.core.common.data.DataSerializer;
+
+/**
+ * Writes the rows as delimited text, one row per line, the format read back
+ * by LoadData. The null values are written as NULL.
+ */
+public class DelimitedExtractWriter implements IExtractWriter
+{
+    protected static final String ENDL = System.getProperty("line.separator"); //$NON-NLS-1$
+
+    protected Writer out;
+    protected String colDelim;
+    protected String stringDelim;
+    protected ExtractColumn[] columns;
+
+    public DelimitedExtractWriter(Writer out, String colDelim, String stringDelim)
+    {
+        this.out = out;
+        this.colDelim = colDelim;
+        this.stringDelim = stringDelim;
+    }
+
+    public void writeHeader(ExtractColumn[] columns) throws IOException
+    {
+        this.columns = columns;
+    }
+
+    public void writeRow(Object[] values) throws IOException
+    {
+        for (int i=0; i<columns.length; ++i) {
+            if (i!=0)
+                out.write(colDelim);
+            String s = columns[i].serialize(values[i]);
+            if (s==null) {
+                out.write("NULL"); //$NON-NLS-1$
+            } else if (columns[i].needsQuote()) {
+                out.write(stringDelim);
+                out.write(DataSerializer.doubleStringDelim(s, stringDelim));
+                out.write(stringDelim);
+            } else {
+                out.write(s);
+            }
+        }
+        out.write(ENDL);
+    }
+
+    public void close() throws IOException
+    {
+        out.close();
+    }
+}
@@ -0,0 +1,88 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Data Tools Platform and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * Contributors:
+ *     Eclipse Data Tools Platform - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.datatools.sqltools.data.internal.core.extract;
+
+import org.eclipse.datatools.sqltools.data.internal.core.common.data.DataSerializer;
+
+import com.ibm.icu.text.NumberFormat;
+
+/**
+ * A column of the extracted result set, whose name, type and serializer are
+ * looked up once for the whole extract.
+ */
+public class ExtractColumn
+{
+    protected String name;
+    protected int type;
+    protected boolean needsQuote;
+    protected NumberFormat intf;
+    protected boolean error;
+
+    public ExtractColumn(String name, int type)
+    {
+        this.name = name;
+        this.type = type;
+        this.needsQuote = DataSerializer.needsQuote(type);
+        this.intf = DataSerializer.createIntegerFormat();
+    }
+
+    public String getName()
+    {
+        return name;
+    }
+
+    /**
+     * @return the java.sql.Types code of the column
+     */
+    public int getType()
+    {
+        return type;
+    }
+
+    /**
+     * @return whether the values of the column are written between string
+     *         delimiters in a delimited file
+     */
+    public boolean needsQuote()
+    {
+        return needsQuote;
+    }
+
+    /**
+     * Serializes a value of the column, as DataSerializer does.
+     *
+     * @return the value serialized, or null if the value is null or cannot
+     *         be serialized
+     */
+    public String serialize(Object val)
+    {
+        try {
+            return DataSerializer.serialize(val, type, intf);
+        } catch (RuntimeException ex) {
+            error = true;
+            return null;
+        }
+    }
+
+    /**
+     * Marks that a value of the column could not be read or written.
+     */
+    public void setError()
+    {
+        error = true;
+    }
+
+    public boolean isError()
+    {
+        return error;
+    }
+}
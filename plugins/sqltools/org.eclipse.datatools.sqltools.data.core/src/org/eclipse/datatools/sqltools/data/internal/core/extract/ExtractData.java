@@ -11,11 +11,14 @@
 
 package org.eclipse.datatools.sqltools.data.internal.core.extract;
 
+import java.io.BufferedOutputStream;
 import java.io.BufferedWriter;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.Writer;
+import java.nio.channels.Channels;
 import java.sql.Connection;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
@@ -23,6 +26,7 @@ import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.zip.GZIPOutputStream;
 
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IConfigurationElement;
@@ -44,9 +48,25 @@ import org.eclipse.datatools.sqltools.data.internal.core.common.data.ResultSetRe
 /**
  * Class contains facilities to extract the table content into a system file.
  * The character encoding used to save the file is UTF-8.
+ * 
+ * The rows are streamed from a forward-only result set to the file, in the
+ * format set by {@link #setFormat(int)}: delimited text by default, which
+ * LoadData reads back, optionally compressed, JSON lines, or a binary
+ * columnar file. Subclasses may write other formats by overriding
+ * {@link #createWriter(OutputStream)}.
  */
 public class ExtractData
 {
+    public static final int FORMAT_DELIMITED = 0;
+    public static final int FORMAT_DELIMITED_GZIP = 1;
+    public static final int FORMAT_JSON_LINES = 2;
+    public static final int FORMAT_COLUMNAR = 3;
+    
+    public static final int DEFAULT_FETCH_SIZE = 1000;
+    
+    protected static final int BUFFER_SIZE = 256 * 1024;
+    // the interval between two progress reports, in nanoseconds
+    protected static final long PROGRESS_INTERVAL = 5000000000L;
     
     protected Connection connection;
     protected Table table;
@@ -56,6 +76,10 @@ public class ExtractData
     protected static final String ENDL = System.getProperty("line.separator"); //$NON-NLS-1$
     protected String stringDelim = "\""; //$NON-NLS-1$
     
+    protected int format = FORMAT_DELIMITED;
+    protected int fetchSize = DEFAULT_FETCH_SIZE;
+    protected Output output;
+    
     protected HashSet errorColumns = new HashSet();
     protected int rowsExtracted = 0;
     
@@ -65,7 +89,15 @@ public class ExtractData
    
     public ExtractData(Table table, String filePath)
     {
-        this.connection = ((ICatalogObject)table).getConnection();
+        this(((ICatalogObject)table).getConnection(), table, filePath);
+    }
+    
+    /**
+     * Extracts a table through the specified connection.
+     */
+    public ExtractData(Connection connection, Table table, String filePath)
+    {
+        this.connection = connection;
         this.table = table;
         this.filePath = filePath;
     }
@@ -76,6 +108,22 @@ public class ExtractData
         this.stringDelim = stringDelim;
     }
     
+    /**
+     * Sets the format of the file: one of the FORMAT_ constants.
+     */
+    public void setFormat(int format)
+    {
+        this.format = format;
+    }
+    
+    /**
+     * Sets the number of rows fetched from the database at once.
+     */
+    public void setFetchSize(int fetchSize)
+    {
+        this.fetchSize = fetchSize;
+    }
+    
     /**
      * Extracts content to a file.
      * Uses UTF-8 as the character encoding.
@@ -84,6 +132,7 @@ public class ExtractData
     {                
         output.write( Messages.getString("ExtractData.Extracting") + " " + getFullyQualifiedName() + "..." );  //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
         
+        this.output = output;
         try {
             doExtract1();
         } catch (Exception ex) {
@@ -116,50 +165,114 @@ public class ExtractData
     {
         Statement st = null;
         ResultSet rs = null;
-        BufferedWriter fw = null;
-        
+        OutputStream out = null;
+        IExtractWriter writer = null;
 		
 		try {
-		    st = connection.createStatement();
+		    st = connection.createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+		    try {
+		        st.setFetchSize(fetchSize);
+		    } catch (SQLException ex) {
+		        // the fetch size is only a hint
+		    }
 			rs = st.executeQuery( getQuery() );
 						
 			FileOutputStream fos = new FileOutputStream(filePath);
-			OutputStreamWriter osw = new OutputStreamWriter(fos, "UTF-8");
-			fw = new BufferedWriter(osw);
+			out = new BufferedOutputStream(Channels.newOutputStream(fos.getChannel()), BUFFER_SIZE);
+			writer = createWriter(out);
 			
-		    writeData(rs, fw);
+		    writeData(rs, writer);
 		} finally {
 		    if (rs!=null)
 		        rs.close();
 		    if (st!=null)
 		        st.close();
-		    if (fw!=null)
-		        fw.close();
+		    if (writer!=null)
+		        writer.close();
+		    else if (out!=null)
+		        out.close();
 		}
     }
     
-    protected void writeData(ResultSet rs, Writer fw) throws SQLException, IOException
+    /**
+     * Creates the writer of the format of the file.
+     * @param out the stream of the file, buffered
+     */
+    protected IExtractWriter createWriter(OutputStream out) throws IOException
+    {
+        switch (format) {
+            case FORMAT_DELIMITED_GZIP:
+                return new DelimitedExtractWriter(createTextWriter(new GZIPOutputStream(out, 64 * 1024)), colDelim, stringDelim);
+            case FORMAT_JSON_LINES:
+                return new JsonLinesExtractWriter(createTextWriter(out));
+            case FORMAT_COLUMNAR:
+                return new ColumnarExtractWriter(out);
+            default:
+                return new DelimitedExtractWriter(createTextWriter(out), colDelim, stringDelim);
+        }
+    }
+    
+    private static Writer createTextWriter(OutputStream out) throws IOException
+    {
+        return new BufferedWriter(new OutputStreamWriter(out, "UTF-8"), 64 * 1024); //$NON-NLS-1$
+    }
+    
+    /**
+     * Writes the rows of the result set. The metadata and the serializer of
+     * each column are looked up once, before the first row.
+     */
+    protected void writeData(ResultSet rs, IExtractWriter writer) throws SQLException, IOException
     {
         ResultSetMetaData md = rs.getMetaData();
+        ExtractColumn[] columns = new ExtractColumn[md.getColumnCount()];
+        for (int i=0; i<columns.length; ++i)
+            columns[i] = new ExtractColumn(md.getColumnName(i+1), md.getColumnType(i+1));
+        writer.writeHeader(columns);
 
-        while (rs.next()) {
-			for (int i=0; i<md.getColumnCount(); ++i) {			    
-			    if (i!=0)
-					fw.write(colDelim);
-			    String s = getVal(rs, i);
-			    if (s!=null)
-			    {
-			        fw.write(s);
-			    }
-			    else
-			    {
-			    	fw.write("NULL"); //$NON-NLS-1$
-			    }
-			}
-			rowsExtracted++;
-			fw.write(ENDL);			
-		}
-
+        Object[] values = new Object[columns.length];
+        long start = System.nanoTime();
+        long lastReport = start;
+        try {
+            while (rs.next()) {
+                for (int i=0; i<columns.length; ++i) {
+                    try {
+                        values[i] = ResultSetReader.read(rs, i, columns[i].getType(), -1);
+                    } catch (Exception ex) {
+                        columns[i].setError();
+                        values[i] = null;
+                    }
+                }
+                writer.writeRow(values);
+                rowsExtracted++;
+                
+                if ((rowsExtracted & 0x3FF)==0 && output!=null) {
+                    long now = System.nanoTime();
+                    if (now - lastReport>=PROGRESS_INTERVAL) {
+                        lastReport = now;
+                        reportProgress(now - start);
+                    }
+                }
+            }
+        } finally {
+            for (int i=0; i<columns.length; ++i)
+                if (columns[i].isError())
+                    errorColumns.add(columns[i].getName());
+        }
+    }
+    
+    protected void reportProgress(long elapsed)
+    {
+        long rate = elapsed>0 ? rowsExtracted * 1000000000L / elapsed : 0;
+        output.write( Messages.getString("ExtractData.Progress", new Object[] { //$NON-NLS-1$
+                Integer.valueOf(rowsExtracted), Long.valueOf(rate) }) );
+    }
+    
+    /**
+     * @deprecated the rows are written by {@link #writeData(ResultSet, IExtractWriter)}
+     */
+    protected void writeData(ResultSet rs, Writer fw) throws SQLException, IOException
+    {
+        writeData(rs, new DelimitedExtractWriter(fw, colDelim, stringDelim));
     }
     
     public String getVal(ResultSet rs, int column) throws SQLException, IOException
@@ -0,0 +1,34 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Data Tools Platform and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * Contributors:
+ *     Eclipse Data Tools Platform - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.datatools.sqltools.data.internal.core.extract;
+
+import java.io.IOException;
+
+/**
+ * Writes the extracted rows in the format of a file.
+ * The values of a row are those read by ResultSetReader, null for the values
+ * which are null or could not be read.
+ */
+public interface IExtractWriter
+{
+    public void writeHeader(ExtractColumn[] columns) throws IOException;
+
+    /**
+     * @param values the values of the row, re-used for the next row
+     */
+    public void writeRow(Object[] values) throws IOException;
+
+    /**
+     * Writes what remains buffered and closes the file.
+     */
+    public void close() throws IOException;
+}
@@ -0,0 +1,168 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Data Tools Platform and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * Contributors:
+ *     Eclipse Data Tools Platform - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.datatools.sqltools.data.internal.core.extract;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.sql.Types;
+
+/**
+ * Writes the rows as JSON lines: one JSON object per line, whose members are
+ * named after the columns. The numbers and booleans are written as JSON
+ * numbers and booleans, the other values as the strings of the delimited
+ * format, and the null values as null.
+ */
+public class JsonLinesExtractWriter implements IExtractWriter
+{
+    protected Writer out;
+    protected ExtractColumn[] columns;
+    // the name of each column, with its separator, ready to write
+    protected String[] names;
+    protected boolean[] numeric;
+
+    public JsonLinesExtractWriter(Writer out)
+    {
+        this.out = out;
+    }
+
+    public void writeHeader(ExtractColumn[] columns) throws IOException
+    {
+        this.columns = columns;
+        names = new String[columns.length];
+        numeric = new boolean[columns.length];
+        StringBuffer sb = new StringBuffer();
+        for (int i=0; i<columns.length; ++i) {
+            sb.setLength(0);
+            sb.append(i==0 ? '{' : ',');
+            appendString(sb, columns[i].getName());
+            sb.append(':');
+            names[i] = sb.toString();
+            numeric[i] = isNumeric(columns[i].getType());
+        }
+    }
+
+    public void writeRow(Object[] values) throws IOException
+    {
+        for (int i=0; i<columns.length; ++i) {
+            out.write(names[i]);
+            String s = columns[i].serialize(values[i]);
+            if (s==null)
+                out.write("null"); //$NON-NLS-1$
+            else if (values[i] instanceof Boolean || (numeric[i] && isNumber(s)))
+                out.write(s);
+            else
+                writeString(s);
+        }
+        out.write(columns.length==0 ? "{}\n" : "}\n"); //$NON-NLS-1$ //$NON-NLS-2$
+    }
+
+    public void close() throws IOException
+    {
+        out.close();
+    }
+
+    protected void writeString(String s) throws IOException
+    {
+        out.write('"');
+        int start = 0;
+        for (int i=0; i<s.length(); ++i) {
+            char c = s.charAt(i);
+            if (c=='"' || c=='\\' || c<0x20) {
+                out.write(s, start, i - start);
+                out.write(escape(c));
+                start = i + 1;
+            }
+        }
+        out.write(s, start, s.length() - start);
+        out.write('"');
+    }
+
+    private static void appendString(StringBuffer sb, String s)
+    {
+        sb.append('"');
+        for (int i=0; s!=null && i<s.length(); ++i) {
+            char c = s.charAt(i);
+            if (c=='"' || c=='\\' || c<0x20)
+                sb.append(escape(c));
+            else
+                sb.append(c);
+        }
+        sb.append('"');
+    }
+
+    private static String escape(char c)
+    {
+        switch (c) {
+            case '"': return "\\\""; //$NON-NLS-1$
+            case '\\': return "\\\\"; //$NON-NLS-1$
+            case '\n': return "\\n"; //$NON-NLS-1$
+            case '\r': return "\\r"; //$NON-NLS-1$
+            case '\t': return "\\t"; //$NON-NLS-1$
+            default:
+                String hex = Integer.toHexString(c);
+                return "\\u0000".substring(0, 6 - hex.length()) + hex; //$NON-NLS-1$
+        }
+    }
+
+    private static boolean isNumeric(int type)
+    {
+        switch (type) {
+            case Types.TINYINT:
+            case Types.SMALLINT:
+            case Types.INTEGER:
+            case Types.BIGINT:
+            case Types.REAL:
+            case Types.FLOAT:
+            case Types.DOUBLE:
+            case Types.DECIMAL:
+            case Types.NUMERIC:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Checks that a serialized number is a JSON number, which NaN, the
+     * infinities or localized digits are not.
+     */
+    private static boolean isNumber(String s)
+    {
+        int i = 0;
+        int n = s.length();
+        if (i<n && s.charAt(i)=='-')
+            i++;
+        int digits = i;
+        while (i<n && s.charAt(i)>='0' && s.charAt(i)<='9')
+            i++;
+        if (i==digits || (s.charAt(digits)=='0' && i-digits>1))
+            return false;
+        if (i<n && s.charAt(i)=='.') {
+            int fraction = ++i;
+            while (i<n && s.charAt(i)>='0' && s.charAt(i)<='9')
+                i++;
+            if (i==fraction)
+                return false;
+        }
+        if (i<n && (s.charAt(i)=='e' || s.charAt(i)=='E')) {
+            i++;
+            if (i<n && (s.charAt(i)=='+' || s.charAt(i)=='-'))
+                i++;
+            int exponent = i;
+            while (i<n && s.charAt(i)>='0' && s.charAt(i)<='9')
+                i++;
+            if (i==exponent)
+                return false;
+        }
+        return i==n;
+    }
+}
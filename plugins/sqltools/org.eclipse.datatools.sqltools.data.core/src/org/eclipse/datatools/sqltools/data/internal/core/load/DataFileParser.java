@@ -0,0 +1,262 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Data Tools Platform and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * Contributors:
+ *     Eclipse Data Tools Platform - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.datatools.sqltools.data.internal.core.load;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PushbackInputStream;
+import java.io.Reader;
+
+import org.eclipse.core.resources.ResourcesPlugin;
+
+
+/**
+ * Reads the records of a delimited data file, one at a time, into an array
+ * of values supplied by the caller.
+ *
+ * The file is decoded into a character buffer which is re-used from one
+ * record to the next; the only objects created are the strings of the values.
+ * A record ends at a line end (LF, CR or CR LF) outside a quoted value; a
+ * quoted value may span several lines, and a doubled string delimiter stands
+ * for the delimiter itself. An empty unquoted value is read as null, an empty
+ * quoted value as an empty string.
+ */
+public class DataFileParser
+{
+    protected static final int BUFFER_SIZE = 64 * 1024;
+
+    protected String filePath;
+    protected char colDelim;
+    protected int stringDelim;
+
+    protected Reader reader;
+    protected char[] buf = new char[BUFFER_SIZE];
+    // the buffer holds the characters from 0 to limit; the characters from
+    // mark on are kept when the buffer is filled again
+    protected int pos;
+    protected int limit;
+    protected int mark;
+    protected boolean eof;
+
+    protected int recordNumber;
+
+    /**
+     * @param filePath the file to read
+     * @param colDelim the column delimiter; a single character
+     * @param stringDelim the string delimiter; a single character, or an
+     *            empty string if the values are not quoted
+     */
+    public DataFileParser(String filePath, String colDelim, String stringDelim)
+    {
+        this.filePath = filePath;
+        this.colDelim = colDelim.charAt(0);
+        this.stringDelim = stringDelim==null || stringDelim.length()==0 ? -1 : stringDelim.charAt(0);
+    }
+
+    /**
+     * Opens the file, skipping the UTF-8 BOM (Byte Order Mark) at its
+     * beginning if there is one. The file is decoded with the encoding of
+     * the workspace, UTF-8 by default.
+     */
+    public void open() throws IOException
+    {
+        String encoding = ResourcesPlugin.getEncoding();
+        if (encoding == null) {
+            encoding = "UTF-8"; //$NON-NLS-1$
+        }
+
+        PushbackInputStream in = new PushbackInputStream(new FileInputStream(filePath), 3);
+        try {
+            skipBOM(in);
+            reader = new InputStreamReader(in, encoding);
+        } catch (IOException ex) {
+            in.close();
+            throw ex;
+        }
+    }
+
+    private static void skipBOM(PushbackInputStream in) throws IOException
+    {
+        byte[] bom = new byte[3];
+        int count = 0;
+        while (count < bom.length) {
+            int n = in.read(bom, count, bom.length - count);
+            if (n < 0)
+                break;
+            count += n;
+        }
+        if (count == 3 && (bom[0] & 0xFF) == 0xEF && (bom[1] & 0xFF) == 0xBB && (bom[2] & 0xFF) == 0xBF)
+            return;
+        in.unread(bom, 0, count);
+    }
+
+    /**
+     * Reads the next record of the file.
+     *
+     * @param values the array receiving the values of the record; the values
+     *            beyond its length are read but not stored
+     * @return the number of values of the record, or -1 at the end of the file
+     * @throws DataFormatException if a quoted value is not terminated, or is
+     *             followed by something else than a delimiter
+     */
+    public int readRecord(String[] values) throws IOException, DataFormatException
+    {
+        mark = pos;
+        if (pos>=limit && !fill())
+            return -1;
+
+        recordNumber++;
+        int count = 0;
+        for (;;) {
+            String value = stringDelim>=0 && buf[pos]==stringDelim ? readQuoted() : readUnquoted();
+            if (count < values.length)
+                values[count] = value;
+            count++;
+
+            mark = pos;
+            if (pos>=limit && !fill())
+                return count;
+            char c = buf[pos++];
+            if (c==colDelim) {
+                if (pos>=limit && !fill()) {
+                    // a delimiter at the end of the file, before an empty value
+                    if (count < values.length)
+                        values[count] = null;
+                    return count + 1;
+                }
+                continue;
+            }
+            if (c=='\r') {
+                mark = pos;
+                if ((pos<limit || fill()) && buf[pos]=='\n')
+                    pos++;
+            }
+            return count;
+        }
+    }
+
+    /**
+     * @return the number of the last record read, starting from 1
+     */
+    public int getRecordNumber()
+    {
+        return recordNumber;
+    }
+
+    protected String readUnquoted() throws IOException
+    {
+        mark = pos;
+        for (;;) {
+            while (pos<limit) {
+                char c = buf[pos];
+                if (c==colDelim || c=='\n' || c=='\r')
+                    return toString(mark, pos, false);
+                pos++;
+            }
+            if (!fill())
+                return toString(mark, pos, false);
+        }
+    }
+
+    protected String readQuoted() throws IOException, DataFormatException
+    {
+        pos++;
+        mark = pos;
+        boolean escapes = false;
+        for (;;) {
+            if (pos>=limit && !fill())
+                throw new DataFormatException("Unterminated string in record " + recordNumber); //$NON-NLS-1$
+            if (buf[pos]!=stringDelim) {
+                pos++;
+                continue;
+            }
+            if (pos+1>=limit && !fill()) {
+                // the closing delimiter ends the file
+                String value = toQuotedString(mark, pos, escapes);
+                pos++;
+                return value;
+            }
+            if (buf[pos+1]==stringDelim) {
+                escapes = true;
+                pos += 2;
+                continue;
+            }
+            String value = toQuotedString(mark, pos, escapes);
+            pos++;
+            char c = buf[pos];
+            if (c!=colDelim && c!='\n' && c!='\r')
+                throw new DataFormatException("Unexpected character after string in record " + recordNumber); //$NON-NLS-1$
+            return value;
+        }
+    }
+
+    private String toString(int start, int end, boolean quoted)
+    {
+        if (end==start)
+            return quoted ? "" : null; //$NON-NLS-1$
+        return new String(buf, start, end - start);
+    }
+
+    private String toQuotedString(int start, int end, boolean escapes)
+    {
+        if (!escapes)
+            return toString(start, end, true);
+        StringBuffer sb = new StringBuffer(end - start);
+        for (int i=start; i<end; ++i) {
+            sb.append(buf[i]);
+            if (buf[i]==stringDelim)
+                i++;
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Reads more characters into the buffer, keeping those from the mark on,
+     * which are moved to the beginning of the buffer.
+     *
+     * @return false if the end of the file is reached
+     */
+    protected boolean fill() throws IOException
+    {
+        if (eof)
+            return false;
+        if (mark > 0) {
+            System.arraycopy(buf, mark, buf, 0, limit - mark);
+            pos -= mark;
+            limit -= mark;
+            mark = 0;
+        }
+        if (limit==buf.length) {
+            // a value longer than the buffer
+            char[] larger = new char[buf.length * 2];
+            System.arraycopy(buf, 0, larger, 0, limit);
+            buf = larger;
+        }
+        int n;
+        do {
+            n = reader.read(buf, limit, buf.length - limit);
+        } while (n==0);
+        if (n < 0) {
+            eof = true;
+            return false;
+        }
+        limit += n;
+        return true;
+    }
+
+    public void close() throws IOException
+    {
+        if (reader!=null)
+            reader.close();
+    }
+}
@@ -19,7 +19,10 @@ import java.util.StringTokenizer;
 
 import org.eclipse.core.resources.ResourcesPlugin;
 
-
+/**
+ * @deprecated replaced by {@link DataFileParser}, which reads a record at a
+ *             time from a re-used buffer
+ */
 public class DataFileTokenizer
 {
     protected String filePath;
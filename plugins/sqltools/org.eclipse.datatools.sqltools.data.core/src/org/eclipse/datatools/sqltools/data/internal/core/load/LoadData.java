@@ -14,7 +14,10 @@ package org.eclipse.datatools.sqltools.data.internal.core.load;
 
 import java.io.IOException;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Vector;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.datatools.connectivity.sqm.core.definition.DatabaseDefinition;
@@ -33,10 +36,15 @@ public class LoadData
     
     protected String colDelim = ","; //$NON-NLS-1$
     protected static final String ENDL = System.getProperty("line.separator"); //$NON-NLS-1$
+    // the batches with rows in error reported at most
+    protected static final int MAX_REPORTED_FAILURES = 10;
     protected String stringDelim = "\""; //$NON-NLS-1$
     
     protected boolean replace = true;
     
+    protected int batchSize = TableLoader.DEFAULT_BATCH_SIZE;
+    protected int commitInterval = TableLoader.DEFAULT_COMMIT_INTERVAL;
+    
     protected TableLoader loader = null;
     
     public LoadData(Table table, String filePath)
@@ -56,6 +64,22 @@ public class LoadData
         this.replace = replace;
     }
     
+    /**
+     * @see TableLoader#setBatchSize(int)
+     */
+    public void setBatchSize(int batchSize)
+    {
+        this.batchSize = batchSize;
+    }
+    
+    /**
+     * @see TableLoader#setCommitInterval(int)
+     */
+    public void setCommitInterval(int commitInterval)
+    {
+        this.commitInterval = commitInterval;
+    }
+    
     public int doLoad(Output output)
     {
         output.write( Messages.getString("LoadData.Loading") +  " " + getFullyQualifiedName() + "..." ); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
@@ -80,7 +104,7 @@ public class LoadData
         report += String.valueOf(loader.getInsertedRows()) + Messages.getString("LoadData.RowsLoaded"); //$NON-NLS-1$
         if (loader.getFailedRows()>0) {
             report += endl + String.valueOf(loader.getFailedRows()) + Messages.getString("LoadData.RowsFailed"); //$NON-NLS-1$
-            report += endl + endl + loader.getFailedRowError();
+            report += endl + endl + getFailuresReport(endl);
         }
         output.write( report);                
         
@@ -102,25 +126,73 @@ public class LoadData
             return Output.STATUS_SUCCEEDED;
     }
     
+    /**
+     * Lists the rows in error of the first batches, with the first error of
+     * each batch.
+     */
+    protected String getFailuresReport(String endl)
+    {
+        StringBuffer sb = new StringBuffer();
+        List failures = loader.getFailures();
+        for (int i=0; i<failures.size() && i<MAX_REPORTED_FAILURES; ++i) {
+            TableLoader.FailedRows failure = (TableLoader.FailedRows)failures.get(i);
+            int[] rows = failure.getRowNumbers();
+            StringBuffer numbers = new StringBuffer();
+            for (int j=0; j<rows.length; ++j) {
+                if (j>0)
+                    numbers.append(", "); //$NON-NLS-1$
+                numbers.append(rows[j]);
+            }
+            if (i>0)
+                sb.append(endl);
+            sb.append(Messages.getString("LoadData.FailedRows", new Object[] { numbers.toString(), failure.getError() })); //$NON-NLS-1$
+        }
+        if (failures.size()>MAX_REPORTED_FAILURES)
+            sb.append(endl).append(Messages.getString("LoadData.MoreFailedBatches", new Object[] { String.valueOf(failures.size() - MAX_REPORTED_FAILURES) })); //$NON-NLS-1$
+        return sb.toString();
+    }
+    
     public void doLoad1() throws Exception
     {
-        DataFileTokenizer tokens = new DataFileTokenizer(filePath, colDelim+stringDelim);
+        DataFileParser parser = new DataFileParser(filePath, colDelim, stringDelim);
         loader = new TableLoader(table);        
+        loader.setBatchSize(batchSize);
+        loader.setCommitInterval(commitInterval);
 
         try {
-            tokens.open();
+            parser.open();
             loader.open();
             if (replace)
                 loader.emptyTable();
-            parseFile(tokens);
+            parseFile(parser);
         } finally {
-            tokens.close();
+            parser.close();
             loader.close();
         }  
     }
     
+    // The file is parsed by another thread while the rows are inserted.
+    protected void parseFile(DataFileParser parser) throws Exception
+    {
+        RowReader reader = new RowReader(parser, table.getColumns().size(), loader.getBatchSize());
+        reader.start();
+        try {
+            for (RowBlock block = reader.take(); block!=null; block = reader.take()) {
+                for (int i=0; i<block.count; ++i)
+                    loader.loadRow(block.rows[i]);
+                reader.recycle(block);
+            }
+        } finally {
+            reader.interrupt();
+            reader.join();
+        }
+    }
     
     // file: (row)* EOF
+    /**
+     * @deprecated the file is read with {@link DataFileParser}; see
+     *             {@link #parseFile(DataFileParser)}
+     */
     protected void parseFile(DataFileTokenizer tokens) throws Exception
     {
         while (tokens.peek()!=null) {
@@ -184,6 +256,107 @@ public class LoadData
         return tokens.nextToken();
     }
     
+    /**
+     * A block of rows, whose arrays are re-used once the rows are loaded.
+     */
+    protected static class RowBlock
+    {
+        public String[][] rows;
+        public int count;
+        
+        public RowBlock(int rowCount, int columnCount)
+        {
+            rows = new String[rowCount][columnCount];
+        }
+    }
+    
+    /**
+     * Parses the rows of the file and hands them over in blocks, so that the
+     * file is read while the previous rows are sent to the database.
+     */
+    protected static class RowReader extends Thread
+    {
+        // a few blocks ahead of the loader at most
+        protected static final int BLOCK_COUNT = 4;
+        protected static final Object END = new Object();
+        
+        protected DataFileParser parser;
+        protected int columnCount;
+        protected BlockingQueue free = new ArrayBlockingQueue(BLOCK_COUNT);
+        protected BlockingQueue full = new ArrayBlockingQueue(BLOCK_COUNT + 1);
+        
+        public RowReader(DataFileParser parser, int columnCount, int blockSize)
+        {
+            super("Load data file reader"); //$NON-NLS-1$
+            setDaemon(true);
+            this.parser = parser;
+            this.columnCount = columnCount;
+            for (int i=0; i<BLOCK_COUNT; ++i)
+                free.add(new RowBlock(blockSize, columnCount));
+        }
+        
+        public void run()
+        {
+            RowBlock block = null;
+            try {
+                try {
+                    boolean eof = false;
+                    while (!eof) {
+                        block = (RowBlock)free.take();
+                        block.count = 0;
+                        while (block.count<block.rows.length) {
+                            int n = parser.readRecord(block.rows[block.count]);
+                            if (n<0) {
+                                eof = true;
+                                break;
+                            }
+                            if (n!=columnCount)
+                                throw new DataFormatException("Unexpected number of values in record " + parser.getRecordNumber()); //$NON-NLS-1$
+                            block.count++;
+                        }
+                        if (block.count>0)
+                            full.put(block);
+                        block = null;
+                    }
+                    full.put(END);
+                } catch (InterruptedException ex) {
+                    throw ex;
+                } catch (Throwable ex) {
+                    // the rows parsed before the error are loaded
+                    if (block!=null && block.count>0)
+                        full.put(block);
+                    full.put(ex);
+                }
+            } catch (InterruptedException ex) {
+                // the load stopped
+            }
+        }
+        
+        /**
+         * @return the next block of rows, or null at the end of the file
+         * @throws Exception the exception which stopped the parsing
+         */
+        public RowBlock take() throws Exception
+        {
+            Object o = full.take();
+            if (o==END)
+                return null;
+            if (o instanceof Exception)
+                throw (Exception)o;
+            if (o instanceof Error)
+                throw (Error)o;
+            return (RowBlock)o;
+        }
+        
+        /**
+         * Hands a block back to the reader, once its rows are loaded.
+         */
+        public void recycle(RowBlock block)
+        {
+            free.add(block);
+        }
+    }
+    
     protected String getFullyQualifiedName() {
         Database db = table.getSchema().getCatalog() != null ?
             table.getSchema().getCatalog().getDatabase() :
@@ -11,6 +11,7 @@
 
 package org.eclipse.datatools.sqltools.data.internal.core.load;
 
+import java.text.MessageFormat;
 import java.util.MissingResourceException;
 import java.util.ResourceBundle;
 
@@ -30,4 +31,22 @@ public class Messages {
             return '!' + key + '!';
         }
     }
+    
+    /**
+     * Gets a String resource, given its index,
+     * and uses java.text.MessageFormat to do argument substitution.
+     * Arguments place holders in the resource string must have 
+     * the form {0}, {1}, ...
+     * @param key The index of the resource.
+     * @param arguments Objects for substitution.
+     * @return A resource String
+     */
+    public static String getString(String key, Object[] arguments) {
+        try {
+            String pattern = RESOURCE_BUNDLE.getString(key);
+            return MessageFormat.format(pattern, arguments);
+        } catch (MissingResourceException e) {
+            return '!' + key + '!';
+        }
+    }
 }
\ No newline at end of file
@@ -11,12 +11,18 @@
 
 package org.eclipse.datatools.sqltools.data.internal.core.load;
 import java.io.IOException;
+import java.sql.BatchUpdateException;
 import java.sql.Connection;
+import java.sql.DatabaseMetaData;
 import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
+import java.sql.Savepoint;
 import java.sql.Statement;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 
 import org.eclipse.datatools.connectivity.sqm.core.rte.ICatalogObject;
 import org.eclipse.datatools.modelbase.sql.tables.Table;
@@ -25,11 +31,24 @@ import org.eclipse.datatools.sqltools.data.internal.core.common.data.DataDeseria
 import org.eclipse.datatools.sqltools.data.internal.core.common.data.PreparedStatementWriter;
 
 
+/**
+ * Inserts the rows loaded into a table.
+ * 
+ * The rows are sent to the database in JDBC batches of batchSize rows, when
+ * the driver supports batch updates, and the inserts are committed every
+ * commitInterval rows, when the connection is in auto-commit mode. A batch
+ * which fails is rolled back to a savepoint when the database supports them,
+ * and its rows are then inserted one at a time, so that only the rows in
+ * error are reported as failed. The rows which fail are reported by batch,
+ * with their numbers and the first error of the batch.
+ */
 // Possible ways to improve performance:
-// - use batch updates when available in the driver
 // - use updatable resultset
 public class TableLoader
 {
+    public static final int DEFAULT_BATCH_SIZE = 500;
+    public static final int DEFAULT_COMMIT_INTERVAL = 10000;
+    
     protected Table table;
     
     protected Connection con = null;
@@ -44,41 +63,156 @@ public class TableLoader
     protected int failedRows = 0;
     protected HashSet errorColumns = new HashSet();
     
+    // the first error of the load
     protected String failedError;
+    // the FailedRows of each batch with rows in error, in the load order
+    protected List failures = new ArrayList();
+    // the FailedRows of the pending batch, once one of its rows failed
+    protected FailedRows batchFailure;
+    // the number of the last row loaded, from 1
+    protected int rowNumber = 0;
+
+    protected int batchSize = DEFAULT_BATCH_SIZE;
+    protected int commitInterval = DEFAULT_COMMIT_INTERVAL;
+    
+    protected boolean useBatch;
+    protected boolean useSavepoints;
+    protected boolean restoreAutoCommit;
+    
+    // the values of the rows of the pending batch, to insert them again
+    // one at a time if the batch fails
+    protected List batchRows = new ArrayList();
+    // the numbers of the rows of the pending batch, as Integer
+    protected List batchRowNumbers = new ArrayList();
+    protected int uncommittedRows = 0;
+    
+    /**
+     * The rows of a batch which could not be inserted, with the first error
+     * reported for them.
+     */
+    public static class FailedRows
+    {
+        protected String error;
+        protected List rowNumbers = new ArrayList();
+        
+        public FailedRows(String error)
+        {
+            this.error = error;
+        }
+        
+        public String getError()
+        {
+            return error;
+        }
+        
+        /**
+         * @return the numbers of the rows, from 1, in the load order
+         */
+        public int[] getRowNumbers()
+        {
+            int[] numbers = new int[rowNumbers.size()];
+            for (int i=0; i<numbers.length; ++i)
+                numbers[i] = ((Integer)rowNumbers.get(i)).intValue();
+            return numbers;
+        }
+    }
 
     public TableLoader(Table table) 
     {
         this.table = table;
     }
     
+    /**
+     * Sets the number of rows sent to the database at once; 1 inserts each
+     * row on its own.
+     */
+    public void setBatchSize(int batchSize)
+    {
+        this.batchSize = Math.max(1, batchSize);
+    }
+    
+    /**
+     * Sets the number of rows inserted between two commits; 0 or less leaves
+     * the auto-commit mode of the connection as it is.
+     */
+    public void setCommitInterval(int commitInterval)
+    {
+        this.commitInterval = commitInterval;
+    }
+    
+    public int getBatchSize()
+    {
+        return batchSize;
+    }
+    
     public void open() throws SQLException
     {
-        con = ((ICatalogObject)table).getConnection();
-        tableName = DataCorePlugin.getQualifiedTableName(table);
+        open(((ICatalogObject)table).getConnection(), DataCorePlugin.getQualifiedTableName(table));
+    }
+    
+    /**
+     * Prepares the insertion of the rows into the table of the given
+     * qualified name, with the given connection.
+     */
+    protected void open(Connection con, String tableName) throws SQLException
+    {
+        this.con = con;
+        this.tableName = tableName;
+        
+        // the metadata of the columns, without reading the rows of the table
+        Statement stmt = con.createStatement();
+        try {
+            ResultSet rs = stmt.executeQuery("select * from " + tableName + " where 1=0"); //$NON-NLS-1$ //$NON-NLS-2$
+            ResultSetMetaData md = rs.getMetaData();
+            int cc = md.getColumnCount();
+            colNames = new String[cc];
+            colTypes = new int[cc];
+            for (int i=0; i<colNames.length; ++i) {
+                colNames[i] = md.getColumnName(i+1);
+                colTypes[i] = md.getColumnType(i+1);
+            }
+            rs.close();
+        } finally {
+            stmt.close();
+        }
         
         String q = "insert into " + tableName + " values(?"; //$NON-NLS-1$ //$NON-NLS-2$
-        for (int i=0; i<table.getColumns().size()-1; ++i)
+        for (int i=0; i<colTypes.length-1; ++i)
             q += ",?"; //$NON-NLS-1$
         q += ")"; //$NON-NLS-1$
         
         insertStmt = con.prepareStatement(q);
         
-        Statement stmt = con.createStatement();
-        ResultSetMetaData md = stmt.executeQuery("select * from " + tableName).getMetaData(); //$NON-NLS-1$
-        int cc = md.getColumnCount();
-        colNames = new String[cc];
-        colTypes = new int[cc];
-        for (int i=0; i<colNames.length; ++i) {
-            colNames[i] = md.getColumnName(i+1);
-            colTypes[i] = md.getColumnType(i+1);
+        DatabaseMetaData dbmd = con.getMetaData();
+        useBatch = batchSize > 1 && dbmd.supportsBatchUpdates();
+        if (commitInterval > 0 && con.getAutoCommit()) {
+            con.setAutoCommit(false);
+            restoreAutoCommit = true;
         }
-        stmt.close();  
+        useSavepoints = !con.getAutoCommit() && dbmd.supportsSavepoints();
     }
     
+    /**
+     * Inserts the rows of the pending batch, commits them if the loader
+     * manages the transactions, and restores the auto-commit mode of the
+     * connection.
+     */
     public void close() throws SQLException
     {
-        if (insertStmt!=null)
-            insertStmt.close();
+        try {
+            if (insertStmt!=null) {
+                executeBatch();
+                if (restoreAutoCommit)
+                    con.commit();
+            }
+        } finally {
+            if (restoreAutoCommit) {
+                restoreAutoCommit = false;
+                con.setAutoCommit(true);
+            }
+            if (insertStmt!=null)
+                insertStmt.close();
+        }
     }
     
     public void emptyTable() throws SQLException
@@ -96,22 +230,154 @@ public class TableLoader
     
     public void loadRow(String[] row) throws SQLException, DataFormatException, IOException
     {
-        if (row.length!=table.getColumns().size())
+        if (row.length!=colTypes.length)
             throw new DataFormatException("Unexpected number of values"); //$NON-NLS-1$
         
-        
+        rowNumber++;
+        if (!useBatch)
+            batchFailure = null;
+        Object[] values = new Object[colTypes.length];
         try {
             for (int i=0; i<colTypes.length; ++i) {
-	            Object o = DataDeserializer.deserialize(row[i], colTypes[i]);
-	            setVal(o, insertStmt, i);
+	            values[i] = DataDeserializer.deserialize(row[i], colTypes[i]);
+	            setVal(values[i], insertStmt, i);
             }
-            insertStmt.executeUpdate();
-        	insertedRows++;
         } catch (Exception ex) {
-    		failedRows++;
-    		failedError = ex.toString();
+            rowFailed(rowNumber, ex.toString());
+    		return;
+        }
+        
+        if (useBatch) {
+            insertStmt.addBatch();
+            batchRows.add(values);
+            batchRowNumbers.add(Integer.valueOf(rowNumber));
+            if (batchRows.size()>=batchSize)
+                executeBatch();
+        } else {
+            insertRow(rowNumber, useSavepoints);
+            uncommittedRows++;
+            commitIfNeeded();
+        }
+    }
+    
+    /**
+     * Sends the pending batch to the database. If the batch fails, the rows
+     * the database did not process are inserted one at a time. When the
+     * driver does not tell which rows it processed and the batch cannot be
+     * rolled back to a savepoint, all the rows of the batch are reported as
+     * failed, since some of them may be inserted already.
+     */
+    protected void executeBatch() throws SQLException
+    {
+        int count = batchRows.size();
+        if (count==0)
+            return;
+        
+        Savepoint savepoint = useSavepoints ? con.setSavepoint() : null;
+        try {
+            insertStmt.executeBatch();
+            insertedRows += count;
+            if (savepoint!=null)
+                releaseSavepoint(savepoint);
+        } catch (SQLException ex) {
+            int first = 0;
+            if (savepoint!=null) {
+                // nothing of the batch is kept; all its rows are inserted again
+                con.rollback(savepoint);
+            } else if (ex instanceof BatchUpdateException
+                    && ((BatchUpdateException)ex).getUpdateCounts()!=null) {
+                int[] counts = ((BatchUpdateException)ex).getUpdateCounts();
+                first = Math.min(counts.length, count);
+                for (int i=0; i<first; ++i) {
+                    if (counts[i]==Statement.EXECUTE_FAILED)
+                        rowFailed(getBatchRowNumber(i), ex.toString());
+                    else
+                        insertedRows++;
+                }
+            } else {
+                // inserting the rows again could duplicate those committed
+                for (; first<count; ++first)
+                    rowFailed(getBatchRowNumber(first), ex.toString());
+            }
+            insertStmt.clearBatch();
+            for (int i=first; i<count; ++i) {
+                Object[] values = (Object[])batchRows.get(i);
+                try {
+                    for (int j=0; j<values.length; ++j)
+                        setVal(values[j], insertStmt, j);
+                } catch (Exception e) {
+                    rowFailed(getBatchRowNumber(i), e.toString());
+                    continue;
+                }
+                insertRow(getBatchRowNumber(i), savepoint!=null);
+            }
+        } finally {
+            batchRows.clear();
+            batchRowNumbers.clear();
+            batchFailure = null;
+        }
+        
+        uncommittedRows += count;
+        commitIfNeeded();
+    }
+    
+    /**
+     * Inserts the row whose values are set in the statement, within a
+     * savepoint of its own if specified, so that a failure does not abort
+     * the transaction.
+     */
+    protected void insertRow(int row, boolean withSavepoint) throws SQLException
+    {
+        Savepoint rowSavepoint = withSavepoint ? con.setSavepoint() : null;
+        try {
+            insertStmt.executeUpdate();
+            insertedRows++;
+            if (rowSavepoint!=null)
+                releaseSavepoint(rowSavepoint);
+        } catch (SQLException ex) {
+            if (rowSavepoint!=null)
+                con.rollback(rowSavepoint);
+            rowFailed(row, ex.toString());
+        }
+    }
+    
+    /**
+     * Counts a row which could not be inserted, and adds it to the failed
+     * rows of the pending batch.
+     */
+    protected void rowFailed(int row, String error)
+    {
+        failedRows++;
+        if (failedError==null)
+            failedError = error;
+        if (batchFailure==null) {
+            batchFailure = new FailedRows(error);
+            failures.add(batchFailure);
+        }
+        batchFailure.rowNumbers.add(Integer.valueOf(row));
+    }
+    
+    private int getBatchRowNumber(int index)
+    {
+        return ((Integer)batchRowNumbers.get(index)).intValue();
+    }
+    
+    protected void commitIfNeeded() throws SQLException
+    {
+        if (restoreAutoCommit && uncommittedRows>=commitInterval) {
+            con.commit();
+            uncommittedRows = 0;
+        }
+    }
+    
+    private void releaseSavepoint(Savepoint savepoint)
+    {
+        try {
+            con.releaseSavepoint(savepoint);
+        } catch (SQLException ex) {
+            // some drivers do not support releasing savepoints; they are
+            // released on commit anyway
         }
-         
     }
     
     public void setVal(Object val, PreparedStatement pst, int column) throws SQLException, IOException
@@ -137,7 +403,18 @@ public class TableLoader
         return errorColumns;
     }
     
+    /**
+     * @return the first error of the rows which could not be inserted
+     */
     public String getFailedRowError(){
     	return failedError;
     }
+    
+    /**
+     * @return the FailedRows of each batch with rows in error, in the load
+     *         order
+     */
+    public List getFailures() {
+        return failures;
+    }
 }
@@ -26,6 +26,7 @@ import org.eclipse.datatools.sqltools.data.internal.core.DataCorePlugin;
 import org.eclipse.datatools.sqltools.data.internal.core.common.Output;
 import org.eclipse.datatools.sqltools.data.internal.core.editor.IRowData;
 import org.eclipse.datatools.sqltools.data.internal.core.editor.ITableData;
+import org.eclipse.datatools.sqltools.data.internal.core.editor.ITableData3;
 import org.eclipse.datatools.sqltools.data.internal.core.editor.TableDataImpl;
 import org.eclipse.datatools.sqltools.data.internal.ui.DataUIPlugin;
 import org.eclipse.datatools.sqltools.data.internal.ui.OutputItemAdapter;
@@ -46,6 +47,7 @@ import org.eclipse.swt.layout.GridData;
 import org.eclipse.swt.widgets.Composite;
 import org.eclipse.swt.widgets.Display;
 import org.eclipse.swt.widgets.Menu;
+import org.eclipse.swt.widgets.Table;
 import org.eclipse.swt.widgets.TableColumn;
 import org.eclipse.swt.widgets.TableItem;
 import org.eclipse.ui.IEditorInput;
@@ -76,6 +78,9 @@ public class TableDataEditor extends EditorPart implements ITableDataEditor
     /** Spreadsheet-like cursor */
     protected TableDataTableCursor cursor;
     
+    /** Rows read from the table data as they are shown, for a table data read a page at a time */
+    protected boolean virtual;
+    
     protected TableDataEditorSelectionProvider selectionProvider;
     
     private boolean askConfirmation;    
@@ -98,18 +103,33 @@ public class TableDataEditor extends EditorPart implements ITableDataEditor
     
     public void createPartControl(Composite parent) {
         
-        tableViewer = new TableViewer(parent, SWT.HIDE_SELECTION);
+        Exception initError = null;
+        try {
+            tableData = createTableData(true);
+            virtual = (tableData instanceof ITableData3) && ((ITableData3)tableData).isPaged();
+        }
+        catch (Exception ex) {
+            initError = ex;
+        }
+        
+        tableViewer = new TableViewer(parent, virtual ? SWT.HIDE_SELECTION | SWT.VIRTUAL : SWT.HIDE_SELECTION);
         tableViewer.getTable().setHeaderVisible(true);      
         tableViewer.getTable().setLinesVisible(true);
         tableViewer.getTable().setLayoutData(new GridData(GridData.FILL_BOTH));
 
         tableViewer.setLabelProvider( new TableDataLabelProvider() );
-        tableViewer.setContentProvider( new TableDataContentProvider() );                
+        if (virtual)
+            tableViewer.setContentProvider( new TableDataLazyContentProvider(tableViewer) );
+        else
+            tableViewer.setContentProvider( new TableDataContentProvider() );                
         
         try {
-            tableData = new TableDataImpl(sqlTable);
+            if (initError!=null)
+                throw initError;
             configureTable();
             tableViewer.setInput(tableData);            
+            if (virtual)
+                refreshVirtualRows(0);
         } 
         catch (CoreException core) {         	
         	String title = Messages.getString("TableDataEditor.ErrorInitializingEditor"); //$NON-NLS-1$
@@ -130,6 +150,27 @@ public class TableDataEditor extends EditorPart implements ITableDataEditor
         createContextMenu();
     }
     
+    /**
+     * Creates the table data of the editor.
+     * @param paged whether a table with a primary key is read a page at a time, as its rows are shown
+     */
+    protected ITableData createTableData(boolean paged) throws Exception
+    {
+        return new TableDataImpl(sqlTable, paged ? TableDataImpl.DEFAULT_PAGE_SIZE : 0);
+    }
+    
+    /**
+     * Shows the rows of a virtual table again, after rows were inserted, deleted, saved or reverted.
+     * @param index the index of the first row which may have changed
+     */
+    protected void refreshVirtualRows(int index)
+    {
+        ((TableDataLazyContentProvider)tableViewer.getContentProvider()).updateItemCount();
+        Table table = tableViewer.getTable();
+        if (index<table.getItemCount())
+            table.clear(index, table.getItemCount()-1);
+    }
+    
     public void dispose() {
         if (tableData!=null)
             tableData.dispose();
@@ -166,6 +207,11 @@ public class TableDataEditor extends EditorPart implements ITableDataEditor
 	        if (ret==Output.STATUS_SUCCEEDED || ret==Output.STATUS_WARNING) {
 	            setDirty(false);
 	            revertToOriginalBackground();
+	            if (virtual) {
+	                // the deleted rows are gone, and the pages are read again
+	                ((TableDataLazyContentProvider)tableViewer.getContentProvider()).reset();
+	                refreshVirtualRows(0);
+	            }
 	        }
 	        else {
 	            monitor.setCanceled(true);
@@ -234,7 +280,12 @@ public class TableDataEditor extends EditorPart implements ITableDataEditor
     
     public void doRevert() {
         tableData.revert();
-        tableViewer.refresh();
+        if (virtual) {
+            ((TableDataLazyContentProvider)tableViewer.getContentProvider()).reset();
+            refreshVirtualRows(0);
+        }
+        else
+            tableViewer.refresh();
         cursor.redraw();
         setDirty(false);
         revertToOriginalBackground();
@@ -243,8 +294,10 @@ public class TableDataEditor extends EditorPart implements ITableDataEditor
     public void doRefresh() {
         if (getEditorSite().getPage().saveEditor(this, true))
 	        try {
-	            tableData = new TableDataImpl(sqlTable);
+	            tableData = createTableData(virtual);
 	            tableViewer.setInput(tableData);          
+	            if (virtual)
+	                refreshVirtualRows(0);
 	            cursor.redraw();
 	            setDirty(false);
 	        } catch (Exception ex) {
@@ -273,7 +326,11 @@ public class TableDataEditor extends EditorPart implements ITableDataEditor
         IRowData row = getRow();
         if (row==null) {
             IRowData newRow = tableData.insertRow();
-            tableViewer.insert(newRow, tableViewer.getTable().getItemCount()-1);  
+            if (virtual)
+                // the new row takes the place of the insertion row, which follows it
+                refreshVirtualRows(tableViewer.getTable().getItemCount()-1);
+            else
+                tableViewer.insert(newRow, tableViewer.getTable().getItemCount()-1);  
             cursor.setSelection(tableViewer.getTable().getItemCount()-2, cursor.getColumn());  
             cursor.redraw();
             return newRow;
@@ -322,8 +379,19 @@ public class TableDataEditor extends EditorPart implements ITableDataEditor
         IRowData row = getRow();
         if (row!=null) {
             dirtyBackgroundSet.remove(cursor.getRow());
-	        tableData.deleteRow(row);
-	        tableViewer.remove(row);
+            if (virtual) {
+                try {
+                    int index = tableViewer.getTable().indexOf(cursor.getRow());
+                    ((TableDataLazyContentProvider)tableViewer.getContentProvider()).deleteRow(index, row);
+                    refreshVirtualRows(index);
+                } catch (Exception ex) {
+                    DataUIPlugin.getDefault().writeLog(IStatus.ERROR, 0, ex.getMessage(), ex);
+                }
+            }
+            else {
+                tableData.deleteRow(row);
+                tableViewer.remove(row);
+            }
 	        setDirty(true);
 	        askConfirmation = true;
         }
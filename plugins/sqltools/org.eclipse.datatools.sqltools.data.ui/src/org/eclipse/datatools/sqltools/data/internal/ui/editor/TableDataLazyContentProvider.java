@@ -0,0 +1,137 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Data Tools Platform and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * Contributors:
+ *     Eclipse Data Tools Platform - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.datatools.sqltools.data.internal.ui.editor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.datatools.sqltools.data.internal.core.editor.IRowData;
+import org.eclipse.datatools.sqltools.data.internal.core.editor.ITableData3;
+import org.eclipse.datatools.sqltools.data.internal.ui.DataUIPlugin;
+import org.eclipse.jface.viewers.ILazyContentProvider;
+import org.eclipse.jface.viewers.TableViewer;
+import org.eclipse.jface.viewers.Viewer;
+
+/**
+ * Content provider of a virtual table viewer, which reads the rows from the
+ * table data as they are shown, through getRowCount() and getRow().
+ *
+ * A row deleted keeps its position in the table data until the changes are
+ * saved or reverted, so the positions of the rows deleted are skipped.
+ */
+public class TableDataLazyContentProvider implements ILazyContentProvider {
+
+    protected TableViewer viewer;
+
+    protected ITableData3 tableData;
+
+    /** Positions in the table data of the rows deleted, in ascending order */
+    protected List deletedPositions = new ArrayList();
+
+    /** Row shown at the end of the table to insert a new row */
+    protected Object insertionRow = new Object();
+
+    public TableDataLazyContentProvider(TableViewer viewer) {
+        this.viewer = viewer;
+    }
+
+    public void dispose() {
+
+    }
+
+    public void inputChanged(Viewer viewer, Object oldInput, Object newInput) {
+        this.tableData = (ITableData3)newInput;
+        deletedPositions.clear();
+    }
+
+    public void updateElement(int index) {
+        if (tableData==null)
+            return;
+
+        try {
+            Object row = null;
+            if (index<getRowCount())
+                row = tableData.getRow(getPosition(index));
+            else if (!tableData.isReadonly())
+                row = insertionRow;
+            // a row missing, if the table has fewer rows than when they were counted, stays blank
+            if (row!=null)
+                viewer.replace(row, index);
+        } catch (Exception ex) {
+            DataUIPlugin.getDefault().writeLog(IStatus.ERROR, 0, ex.getMessage(), ex);
+        }
+    }
+
+    /**
+     * Sets the number of items of the viewer to the number of rows, followed by the insertion row.
+     */
+    public void updateItemCount() {
+        int count = 0;
+        if (tableData!=null) {
+            try {
+                count = getRowCount();
+                if (!tableData.isReadonly())
+                    count++;
+            } catch (Exception ex) {
+                DataUIPlugin.getDefault().writeLog(IStatus.ERROR, 0, ex.getMessage(), ex);
+            }
+        }
+        viewer.setItemCount(count);
+    }
+
+    /**
+     * Deletes a row of the table data, and stops showing it.
+     * @param index the index of the row in the viewer
+     */
+    public void deleteRow(int index, IRowData row) throws Exception {
+        int position = getPosition(index);
+        int count = tableData.getRowCount();
+        tableData.deleteRow(row);
+        // an inserted row is removed from the table data, the other rows keep their position
+        if (tableData.getRowCount()==count) {
+            int i = 0;
+            while (i<deletedPositions.size() && ((Integer)deletedPositions.get(i)).intValue()<position)
+                ++i;
+            deletedPositions.add(i, Integer.valueOf(position));
+        }
+    }
+
+    /**
+     * Forgets the rows deleted, once the changes are saved or reverted.
+     */
+    public void reset() {
+        deletedPositions.clear();
+    }
+
+    /**
+     * @return the number of rows shown, without the insertion row
+     */
+    protected int getRowCount() throws Exception {
+        return tableData.getRowCount() - deletedPositions.size();
+    }
+
+    /**
+     * @return the position in the table data of a row of the viewer
+     */
+    protected int getPosition(int index) {
+        int position = index;
+        for (int i=0; i<deletedPositions.size(); ++i) {
+            if (((Integer)deletedPositions.get(i)).intValue()<=position)
+                ++position;
+            else
+                break;
+        }
+        return position;
+    }
+
+}
@@ -0,0 +1,170 @@
+/*
+ *************************************************************************
+ * Copyright (c) 2026 Eclipse Data Tools Platform and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *  Eclipse Data Tools Platform - initial API and implementation
+ *
+ *************************************************************************
+ */
+
+package org.eclipse.datatools.connectivity.oda.consumer.tests;
+
+import java.lang.reflect.Method;
+import java.util.Locale;
+
+import org.eclipse.datatools.connectivity.oda.IConnection;
+import org.eclipse.datatools.connectivity.oda.IQuery;
+import org.eclipse.datatools.connectivity.oda.IResultSet;
+import org.eclipse.datatools.connectivity.oda.consumer.helper.OdaConnection;
+import org.eclipse.datatools.connectivity.oda.consumer.helper.OdaDriver;
+import org.eclipse.datatools.connectivity.oda.consumer.testdriver.TestData;
+import org.eclipse.datatools.connectivity.oda.consumer.testdriver.TestDriverImpl;
+
+import junit.framework.TestCase;
+
+/**
+ * Measures the overhead of the consumer helper over the test driver: the
+ * reflective calls of findAndInvokeMethod, and the result set getters called
+ * per row. The driver is loaded by class name, so the benchmark does not
+ * need the ODA data source extensions.
+ */
+public class DispatchBenchmark extends TestCase
+{
+    private static final int WARMUP_COUNT = 20000;
+    private static final int CALL_COUNT = 500000;
+    private static final int COLUMN_COUNT = 8;
+
+    private OdaConnection m_connection;
+    private IConnection m_driverConnection;
+
+    protected void setUp() throws Exception
+    {
+        super.setUp();
+
+        OdaDriver driver = new OdaDriver( TestDriverImpl.class.getName(), Locale.getDefault(),
+                TestDriverImpl.class.getClassLoader(), true );
+        m_connection = (OdaConnection) driver.getConnection( null );
+        m_connection.open( null );
+        m_driverConnection = new TestDriverImpl().getConnection( null );
+        m_driverConnection.open( null );
+    }
+
+    protected void tearDown() throws Exception
+    {
+        m_connection.close();
+        m_driverConnection.close();
+        super.tearDown();
+    }
+
+    public void testFindAndInvokeMethod() throws Exception
+    {
+        Integer expected = Integer.valueOf( m_driverConnection.getMaxQueries() );
+        assertEquals( expected, m_connection.findAndInvokeMethod( "getMaxQueries", null, null ) );
+
+        long uncached = 0;
+        long cached = 0;
+        for( int pass = 0; pass < 2; pass++ )
+        {
+            int count = pass == 0 ? WARMUP_COUNT : CALL_COUNT;
+
+            // the lookup done on each call before the handles were cached
+            long start = System.nanoTime();
+            for( int i = 0; i < count; i++ )
+            {
+                Method method = m_driverConnection.getClass().getMethod( "getMaxQueries", (Class[]) null );
+                assertEquals( expected, method.invoke( m_driverConnection, (Object[]) null ) );
+            }
+            uncached = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            for( int i = 0; i < count; i++ )
+                assertEquals( expected, m_connection.findAndInvokeMethod( "getMaxQueries", null, null ) );
+            cached = System.nanoTime() - start;
+        }
+
+        System.out.println( "findAndInvokeMethod: lookup per call " + uncached / CALL_COUNT +
+                " ns/call, cached handle " + cached / CALL_COUNT + " ns/call" );
+    }
+
+    public void testMissingMethod() throws Throwable
+    {
+        // the test driver has no setLocale( Locale ) compatibility method
+        try
+        {
+            m_connection.findAndInvokeMethod( "setLocale", new Class[] { Locale.class },
+                    new Object[] { Locale.getDefault() } );
+            fail();
+        }
+        catch( NoSuchMethodException ex )
+        {
+            // expected, also once the miss is cached
+        }
+
+        long start = System.nanoTime();
+        for( int i = 0; i < CALL_COUNT; i++ )
+            m_connection.setLocale( "en_US" );
+        long elapsed = System.nanoTime() - start;
+        System.out.println( "setLocale( String ) without driver support: " +
+                elapsed / CALL_COUNT + " ns/call" );
+    }
+
+    public void testResultSetGetters() throws Exception
+    {
+        IQuery driverQuery = m_driverConnection.newQuery( null );
+        driverQuery.prepare( "Simple Query" );
+        IResultSet driverResultSet = driverQuery.executeQuery();
+        assertTrue( driverResultSet.next() );
+
+        IQuery query = m_connection.newQuery( null );
+        query.prepare( "Simple Query" );
+        IResultSet resultSet = query.executeQuery();
+        assertTrue( resultSet.next() );
+
+        long direct = 0;
+        long wrapped = 0;
+        for( int pass = 0; pass < 2; pass++ )
+        {
+            int rowCount = ( pass == 0 ? WARMUP_COUNT : CALL_COUNT ) / COLUMN_COUNT;
+            long start = System.nanoTime();
+            readRows( driverResultSet, rowCount );
+            direct = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            readRows( resultSet, rowCount );
+            wrapped = System.nanoTime() - start;
+        }
+
+        resultSet.close();
+        query.close();
+        driverResultSet.close();
+        driverQuery.close();
+
+        System.out.println( "Result set getters: driver " + direct / CALL_COUNT +
+                " ns/value, consumer helper " + wrapped / CALL_COUNT + " ns/value" );
+    }
+
+    /*
+     * Reads the current row as many times as specified, the test driver
+     * returning the same values for all the rows.
+     */
+    private static void readRows( IResultSet resultSet, int rowCount ) throws Exception
+    {
+        String expectedString = TestData.createStringData();
+        int expectedInt = TestData.createIntData();
+        for( int i = 0; i < rowCount; i++ )
+        {
+            for( int column = 0; column < COLUMN_COUNT / 2; column++ )
+            {
+                assertEquals( expectedInt, resultSet.getInt( 8 ) );
+                assertEquals( expectedString, resultSet.getString( 9 ) );
+            }
+        }
+    }
+}
@@ -18,7 +18,9 @@ import java.math.BigDecimal;
 import java.sql.Date;
 import java.sql.Time;
 import java.sql.Timestamp;
+import java.sql.Types;
 
+import org.eclipse.datatools.connectivity.oda.IBatchResultSet;
 import org.eclipse.datatools.connectivity.oda.IBlob;
 import org.eclipse.datatools.connectivity.oda.IClob;
 import org.eclipse.datatools.connectivity.oda.IConnection;
@@ -26,6 +28,9 @@ import org.eclipse.datatools.connectivity.oda.IQuery;
 import org.eclipse.datatools.connectivity.oda.IResultSet;
 import org.eclipse.datatools.connectivity.oda.IResultSetMetaData;
 import org.eclipse.datatools.connectivity.oda.OdaException;
+import org.eclipse.datatools.connectivity.oda.RowBatch;
+import org.eclipse.datatools.connectivity.oda.consumer.helper.OdaBlob;
+import org.eclipse.datatools.connectivity.oda.consumer.helper.OdaClob;
 import org.eclipse.datatools.connectivity.oda.consumer.testdriver.TestData;
 
 public class ResultSetTest extends QueryTest 
@@ -264,6 +269,60 @@ public class ResultSetTest extends QueryTest
         assertEquals( intVal, val );
 	}
 	
+	public final void testFetchRows() throws OdaException 
+	{
+		assertTrue( m_resultSet instanceof IBatchResultSet );
+		IBatchResultSet resultSet = (IBatchResultSet) m_resultSet;
+		
+		// the ODA types of the columns of the test driver's result set
+		int[] columnTypes = new int[] { Types.DECIMAL, Types.BLOB, Types.BLOB, 
+				Types.CLOB, Types.CLOB, Types.DATE, Types.DOUBLE, Types.INTEGER, 
+				Types.CHAR, Types.TIME, Types.TIMESTAMP, Types.BOOLEAN, 
+				Types.JAVA_OBJECT };
+		RowBatch batch = new RowBatch( columnTypes, 2 );
+		
+		// the 5 rows in batches of 2, with the values of the getters and 
+		// the driver's lobs wrapped
+		int[] rowCounts = new int[] { 2, 2, 1, 0 };
+		for( int i = 0; i < rowCounts.length; i++ )
+		{
+			assertEquals( rowCounts[i], resultSet.fetchRows( batch ) );
+			assertEquals( rowCounts[i], batch.getRowCount() );
+			for( int row = 0; row < batch.getRowCount(); row++ )
+			{
+				assertEquals( TestData.createBigDecimalData(), batch.getObjectColumn( 1 )[row] );
+				assertEquals( OdaBlob.class, batch.getObjectColumn( 2 )[row].getClass() );
+				assertEquals( OdaClob.class, batch.getObjectColumn( 4 )[row].getClass() );
+				assertEquals( TestData.createDateData(), batch.getObjectColumn( 6 )[row] );
+				assertEquals( TestData.createDoubleData(), batch.getDoubleColumn( 7 )[row], 0 );
+				assertEquals( TestData.createIntData(), batch.getIntColumn( 8 )[row] );
+				assertEquals( TestData.createStringData(), batch.getObjectColumn( 9 )[row] );
+				assertFalse( batch.isNull( row, 8 ) );
+			}
+		}
+		
+		// the connection must be open, as for next()
+		m_resultSet.close();
+		IConnection conn = getConnection();
+		conn.open( null );
+		IQuery query = conn.newQuery( null );
+		query.prepare( "Simple Query" );
+		IResultSet rs = query.executeQuery();
+		conn.close();
+		try
+		{
+			( (IBatchResultSet) rs ).fetchRows( batch );
+			fail();
+		}
+		catch( OdaException e )
+		{
+			String error = e.toString();
+			assertTrue( error.indexOf( "connection" ) >= 0 &&
+					error.indexOf( "not active" ) >= 0 );
+		}
+		query.close();
+	}
+	
 	public final void testGetResultSetMetaData() throws OdaException 
 	{
 		IResultSetMetaData rsmd = m_resultSet.getMetaData();
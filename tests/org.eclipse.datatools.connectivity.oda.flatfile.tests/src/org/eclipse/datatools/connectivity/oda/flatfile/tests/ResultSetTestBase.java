@@ -13,14 +13,32 @@ package org.eclipse.datatools.connectivity.oda.flatfile.tests;
 
 import java.math.BigDecimal;
 import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Properties;
 
+import org.eclipse.datatools.connectivity.oda.IBatchResultSet;
+import org.eclipse.datatools.connectivity.oda.IDataSetMetaData;
 import org.eclipse.datatools.connectivity.oda.IQuery;
 import org.eclipse.datatools.connectivity.oda.IResultSet;
 import org.eclipse.datatools.connectivity.oda.OdaException;
+import org.eclipse.datatools.connectivity.oda.RowBatch;
+import org.eclipse.datatools.connectivity.oda.SortSpec;
 import org.eclipse.datatools.connectivity.oda.flatfile.CommonConstants;
 import org.eclipse.datatools.connectivity.oda.flatfile.Connection;
 import org.eclipse.datatools.connectivity.oda.flatfile.util.DateUtil;
+import org.eclipse.datatools.connectivity.oda.flatfile.util.FlatFileRowFilter;
+import org.eclipse.datatools.connectivity.oda.spec.ExpressionArguments;
+import org.eclipse.datatools.connectivity.oda.spec.ExpressionVariable;
+import org.eclipse.datatools.connectivity.oda.spec.result.ColumnIdentifier;
+import org.eclipse.datatools.connectivity.oda.spec.result.FilterExpression;
+import org.eclipse.datatools.connectivity.oda.spec.result.SortSpecification;
+import org.eclipse.datatools.connectivity.oda.spec.result.filter.AndExpression;
+import org.eclipse.datatools.connectivity.oda.spec.result.filter.CustomExpression;
+import org.eclipse.datatools.connectivity.oda.spec.result.filter.NotExpression;
+import org.eclipse.datatools.connectivity.oda.spec.result.filter.OrExpression;
+import org.eclipse.datatools.connectivity.oda.spec.util.QuerySpecificationFactory;
+import org.eclipse.datatools.connectivity.oda.spec.util.QuerySpecificationHelper;
 
 import junit.framework.TestCase;
 
@@ -46,6 +64,8 @@ public abstract class ResultSetTestBase extends TestCase
 		prop.setProperty( CommonConstants.CONN_DELIMITER_TYPE,
 				getDelimiterName( ) );
 		prop.setProperty( CommonConstants.CONN_TRAILNULLCOLS_PROP, CommonConstants.TRAIL_NULL_COLS_YES);
+		prop.setProperty( CommonConstants.CONN_READER_MODE_PROP, getReaderMode( ) );
+		prop.setProperty( CommonConstants.CONN_USE_INDEX_PROP, getUseIndex( ) );
 		connection.open( prop );
 		statement = connection.newQuery( "FLATFILE" );
 
@@ -126,6 +146,67 @@ public abstract class ResultSetTestBase extends TestCase
 		assertEquals( counter, 1234 );
 	}
 
+	/**
+	 * 
+	 * @throws OdaException
+	 */
+	public void testFetchRows( ) throws OdaException
+	{
+		statement.prepare( "select INT0_COL,DOUBLE0_COL,STRING_COL,DATE_COL from table1"
+				+ getSuffix( ) + getExtension( ) );
+		IResultSet rs = statement.executeQuery( );
+		List expected = new ArrayList( );
+		while ( rs.next( ) )
+		{
+			expected.add( new Object[]{
+					Integer.valueOf( rs.getInt( 1 ) ),
+					Double.valueOf( rs.getDouble( 2 ) ),
+					rs.getString( 3 ),
+					rs.getDate( 4 )
+			} );
+		}
+
+		rs = statement.executeQuery( );
+		// the flat file driver uses the ODA types as its native types
+		int[] columnTypes = new int[rs.getMetaData( ).getColumnCount( )];
+		for ( int i = 0; i < columnTypes.length; i++ )
+			columnTypes[i] = rs.getMetaData( ).getColumnType( i + 1 );
+		RowBatch batch = new RowBatch( columnTypes, 100 );
+		int counter = 0;
+		int rowCount;
+		while ( ( rowCount = ( (IBatchResultSet) rs ).fetchRows( batch ) ) > 0 )
+		{
+			assertEquals( rowCount, batch.getRowCount( ) );
+			for ( int row = 0; row < rowCount; row++ )
+			{
+				Object[] values = (Object[]) expected.get( counter++ );
+				assertEquals( values[0],
+						Integer.valueOf( batch.getIntColumn( 1 )[row] ) );
+				assertEquals( values[1],
+						Double.valueOf( batch.getDoubleColumn( 2 )[row] ) );
+				assertEquals( values[2], batch.getObjectColumn( 3 )[row] );
+				assertEquals( values[3], batch.getObjectColumn( 4 )[row] );
+				assertEquals( values[3] == null, batch.isNull( row, 4 ) );
+			}
+		}
+		assertEquals( expected.size( ), counter );
+		assertEquals( 1234, counter );
+
+		// the fetched rows are within the MaxRows limit
+		rs = statement.executeQuery( );
+		rs.setMaxRows( 555 );
+		counter = 0;
+		int lastRowCount = 0;
+		while ( ( rowCount = ( (IBatchResultSet) rs ).fetchRows( batch ) ) > 0 )
+		{
+			counter += rowCount;
+			lastRowCount = rowCount;
+		}
+		assertEquals( 555, counter );
+		assertEquals( 55, lastRowCount );
+		assertEquals( 0, batch.getRowCount( ) );
+	}
+
 	/**
 	 * Class under test for String getString(int)
 	 * 
@@ -549,6 +630,236 @@ public abstract class ResultSetTestBase extends TestCase
 		assertFalse( rs.next( ) );
 	}
 	
+	/**
+	 * 
+	 * @throws OdaException
+	 */
+	public void testSpecificationFilter( ) throws OdaException
+	{
+		FilterExpression between = new AndExpression( ).add( createFilter( FlatFileRowFilter.BETWEEN,
+				"INT0_COL",
+				new Object[]{
+						Integer.valueOf( 100 ), "199"
+				} ) )
+				.add( new NotExpression( createFilter( FlatFileRowFilter.IN,
+						"INT0_COL",
+						new Object[]{
+								"150", Integer.valueOf( 151 )
+						} ) ) );
+		FilterExpression filter = new OrExpression( ).add( between )
+				.add( createFilter( FlatFileRowFilter.LESS_THAN,
+						"int0_col",
+						new Object[]{
+							Double.valueOf( 2.5 )
+						} ) );
+		setFilter( filter );
+		statement.prepare( "select INT0_COL,DOUBLE0_COL,DATE_COL from table1"
+				+ getSuffix( ) + getExtension( ) );
+		IResultSet rs = statement.executeQuery( );
+		int counter = 0;
+		while ( rs.next( ) )
+		{
+			int value = rs.getInt( 1 );
+			assertTrue( value < 3
+					|| ( value >= 100 && value <= 199 && value != 150 && value != 151 ) );
+			counter++;
+		}
+		assertEquals( 101, counter );
+		assertSame( filter,
+				QuerySpecificationHelper.getFilterSpecification( statement.getSpecification( ) ) );
+	}
+
+	/**
+	 * 
+	 * @throws OdaException
+	 */
+	public void testSpecificationFilterNullValues( ) throws OdaException
+	{
+		setFilter( createFilter( FlatFileRowFilter.IS_NULL,
+				"STRING1",
+				new Object[0] ) );
+		statement.prepare( "select * from table14"
+				+ getSuffix( ) + getExtension( ) );
+		IResultSet rs = statement.executeQuery( );
+		String rows = "";
+		while ( rs.next( ) )
+			rows += rs.getInt( 1 ) + " ";
+		assertEquals( "1 11 22 33 ", rows );
+
+		setFilter( new AndExpression( ).add( new NotExpression( createFilter( FlatFileRowFilter.IS_NULL,
+				"DATE0_COL",
+				new Object[0] ) ) )
+				.add( createFilter( FlatFileRowFilter.EQUAL,
+						"DATE0_COL",
+						new Object[]{
+							java.sql.Date.valueOf( "2011-12-01" )
+						} ) )
+				.add( createFilter( FlatFileRowFilter.LIKE,
+						"STRING1",
+						new Object[]{
+							"de_a%"
+						} ) ) );
+		statement.prepare( "select * from table14"
+				+ getSuffix( ) + getExtension( ) );
+		rs = statement.executeQuery( );
+		int counter = 0;
+		while ( rs.next( ) )
+		{
+			assertEquals( "default", rs.getString( 5 ) );
+			counter++;
+		}
+		assertEquals( 96, counter );
+	}
+
+	/**
+	 * 
+	 * @throws OdaException
+	 */
+	public void testUnsupportedSpecification( ) throws OdaException
+	{
+		try
+		{
+			setFilter( new CustomExpression( "another.extension", //$NON-NLS-1$
+					FlatFileRowFilter.EQUAL,
+					new ExpressionVariable( "INT0_COL" ), //$NON-NLS-1$
+					new ExpressionArguments( "1" ) ) { //$NON-NLS-1$
+			} );
+			fail( "the filter is not contributed by the flat file driver" );
+		}
+		catch ( OdaException e )
+		{
+		}
+
+		try
+		{
+			setFilter( createFilter( FlatFileRowFilter.BETWEEN,
+					"INT0_COL",
+					new Object[]{
+						"1"
+					} ) );
+			fail( "Between requires two arguments" );
+		}
+		catch ( OdaException e )
+		{
+		}
+
+		setFilter( createFilter( FlatFileRowFilter.EQUAL,
+				"NO_SUCH_COL",
+				new Object[]{
+					"1"
+				} ) );
+		statement.prepare( "select INT0_COL from table1"
+				+ getSuffix( ) + getExtension( ) );
+		try
+		{
+			statement.executeQuery( );
+			fail( "the filtered column does not exist" );
+		}
+		catch ( OdaException e )
+		{
+		}
+	}
+
+	/**
+	 * 
+	 * @throws OdaException
+	 */
+	public void testSortSpec( ) throws OdaException
+	{
+		SortSpec sortSpec = new SortSpec( IDataSetMetaData.sortModeSingleColumn );
+		sortSpec.addSortKey( "INT0_COL", SortSpec.sortDesc );
+		statement.setSortSpec( sortSpec );
+		assertSame( sortSpec, statement.getSortSpec( ) );
+		statement.prepare( "select STRING_COL,INT0_COL from table1"
+				+ getSuffix( ) + getExtension( ) );
+		IResultSet rs = statement.executeQuery( );
+		int expected = 1233;
+		while ( rs.next( ) )
+			assertEquals( expected--, rs.getInt( 2 ) );
+		assertEquals( -1, expected );
+
+		// the max rows are applied to the sorted rows
+		statement.setMaxRows( 10 );
+		rs = statement.executeQuery( );
+		expected = 1233;
+		while ( rs.next( ) )
+			assertEquals( expected--, rs.getInt( "INT0_COL" ) );
+		assertEquals( 1223, expected );
+	}
+
+	/**
+	 * 
+	 * @throws OdaException
+	 */
+	public void testSpecificationSort( ) throws OdaException
+	{
+		QuerySpecificationHelper helper = new QuerySpecificationHelper( (QuerySpecificationFactory) null );
+		SortSpecification sortSpec = helper.createSortSpecification( );
+		sortSpec.addSortKey( new ColumnIdentifier( "DATE0_COL" ),
+				SortSpecification.ORDERING_ASC,
+				SortSpecification.NULL_ORDERING_LAST );
+		sortSpec.addSortKey( new ColumnIdentifier( Integer.valueOf( 1 ) ),
+				SortSpecification.ORDERING_DESC );
+		statement.setSpecification( helper.createQuerySpecification( createFilter( FlatFileRowFilter.LESS_THAN,
+				"INT0_COL",
+				new Object[]{
+					"40"
+				} ),
+				null,
+				sortSpec ) );
+		statement.prepare( "select * from table14"
+				+ getSuffix( ) + getExtension( ) );
+		IResultSet rs = statement.executeQuery( );
+		String rows = "";
+		while ( rs.next( ) )
+			rows += rs.getInt( 1 ) + " ";
+		String expected = "";
+		for ( int i = 39; i > 0; i-- )
+		{
+			if ( i != 11 && i != 22 && i != 33 )
+				expected += i + " ";
+		}
+		// the rows without a date sort last
+		expected += "33 22 11 ";
+		assertEquals( expected, rows );
+	}
+
+	private void setFilter( FilterExpression filter ) throws OdaException
+	{
+		statement.setSpecification( new QuerySpecificationHelper( (QuerySpecificationFactory) null ).createQuerySpecification( filter ) );
+	}
+
+	private static FilterExpression createFilter( String id, String column,
+			Object[] arguments )
+	{
+		ExpressionArguments args = new ExpressionArguments( );
+		for ( int i = 0; i < arguments.length; i++ )
+			args.addValue( arguments[i] );
+		return new CustomExpression( FlatFileRowFilter.EXTENSION_ID,
+				id,
+				new ExpressionVariable( column ),
+				args ) {
+		};
+	}
+
+	/**
+	 * 
+	 * @return
+	 */
+	protected String getReaderMode( )
+	{
+		return CommonConstants.READER_MODE_DEFAULT;
+	}
+
+	/**
+	 * 
+	 * @return
+	 */
+	protected String getUseIndex( )
+	{
+		return CommonConstants.USE_INDEX_NO;
+	}
+
 	/**
 	 * 
 	 * @return
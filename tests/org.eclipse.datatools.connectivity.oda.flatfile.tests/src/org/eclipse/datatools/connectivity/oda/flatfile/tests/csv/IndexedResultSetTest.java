@@ -0,0 +1,58 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Data Tools Platform and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * Contributors:
+ *  Eclipse Data Tools Platform - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.datatools.connectivity.oda.flatfile.tests.csv;
+
+import java.io.File;
+
+import org.eclipse.datatools.connectivity.oda.OdaException;
+import org.eclipse.datatools.connectivity.oda.flatfile.CommonConstants;
+import org.eclipse.datatools.connectivity.oda.flatfile.tests.TestUtil;
+import org.eclipse.datatools.connectivity.oda.flatfile.util.FlatFileIndex;
+
+/**
+ * test case for ResultSet implementation under comma sperated CSV, with the
+ * filtered rows read with the help of a sidecar index
+ */
+
+public class IndexedResultSetTest extends ResultSetTest
+{
+	/**
+	 * 
+	 * @throws OdaException
+	 */
+	public IndexedResultSetTest( ) throws OdaException
+	{
+		super( );
+	}
+
+	/*
+	 * @see TestCase#tearDown()
+	 */
+	protected void tearDown( ) throws Exception
+	{
+		File[] files = new File( TestUtil.getHomeDir( ) ).listFiles( );
+		for ( int i = 0; files != null && i < files.length; i++ )
+		{
+			if ( files[i].getName( ).endsWith( FlatFileIndex.FILE_SUFFIX ) )
+				files[i].delete( );
+		}
+		super.tearDown( );
+	}
+
+	/**
+	 * 
+	 */
+	protected String getUseIndex( )
+	{
+		return CommonConstants.USE_INDEX_YES;
+	}
+}
@@ -0,0 +1,40 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Data Tools Platform and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * Contributors:
+ *  Eclipse Data Tools Platform - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.datatools.connectivity.oda.flatfile.tests.csv;
+
+import org.eclipse.datatools.connectivity.oda.OdaException;
+import org.eclipse.datatools.connectivity.oda.flatfile.CommonConstants;
+
+/**
+ * test case for ResultSet implementation under comma sperated CSV, with the
+ * rows scanned in parallel from the memory mapped file
+ */
+
+public class ParallelResultSetTest extends ResultSetTest
+{
+	/**
+	 * 
+	 * @throws OdaException
+	 */
+	public ParallelResultSetTest( ) throws OdaException
+	{
+		super( );
+	}
+
+	/**
+	 * 
+	 */
+	protected String getReaderMode( )
+	{
+		return CommonConstants.READER_MODE_PARALLEL;
+	}
+}
@@ -0,0 +1,156 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Data Tools Platform and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * Contributors:
+ *  Eclipse Data Tools Platform - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.datatools.connectivity.oda.flatfile.tests.performance;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.util.Properties;
+
+import org.eclipse.datatools.connectivity.oda.IConnection;
+import org.eclipse.datatools.connectivity.oda.IQuery;
+import org.eclipse.datatools.connectivity.oda.IResultSet;
+import org.eclipse.datatools.connectivity.oda.OdaException;
+import org.eclipse.datatools.connectivity.oda.flatfile.CommonConstants;
+import org.eclipse.datatools.connectivity.oda.flatfile.Connection;
+
+import junit.framework.TestCase;
+
+/**
+ * Compares the time consumed to read the same generated flat file with each
+ * of the data reader modes.
+ */
+public class ReaderModePerformanceTest extends TestCase
+{
+	private static final String TEST_FILE = "readerMode.csv"; //$NON-NLS-1$
+	private static final int ROW_COUNT = 200000;
+	private static final int COLUMN_COUNT = 12;
+	private static final int ITERATIONS = 3;
+
+	private File homeDir;
+
+	protected void setUp( ) throws Exception
+	{
+		super.setUp( );
+		homeDir = new File( System.getProperty( "java.io.tmpdir" ), //$NON-NLS-1$
+				"flatfilePerformance" ); //$NON-NLS-1$
+		homeDir.mkdirs( );
+		createTestFile( new File( homeDir, TEST_FILE ) );
+	}
+
+	protected void tearDown( ) throws Exception
+	{
+		new File( homeDir, TEST_FILE ).delete( );
+		homeDir.delete( );
+		super.tearDown( );
+	}
+
+	public void testPerformance( ) throws OdaException
+	{
+		// warm up every path before measuring
+		String[] modes = getReaderModes( );
+		for ( int i = 0; i < modes.length; i++ )
+			readAll( modes[i] );
+
+		for ( int i = 0; i < modes.length; i++ )
+		{
+			long begin = System.currentTimeMillis( );
+			for ( int j = 0; j < ITERATIONS; j++ )
+				assertEquals( ROW_COUNT, readAll( modes[i] ) );
+			long end = System.currentTimeMillis( );
+			System.out.println( modes[i] + " reader mode consumed Time: " //$NON-NLS-1$
+					+ ( end - begin ) / ITERATIONS + "(ms)" ); //$NON-NLS-1$
+		}
+	}
+
+	protected String[] getReaderModes( )
+	{
+		return new String[]{
+				CommonConstants.READER_MODE_DEFAULT,
+				CommonConstants.READER_MODE_STREAMING,
+				CommonConstants.READER_MODE_PARALLEL
+		};
+	}
+
+	/**
+	 * Read every column of every row with the given reader mode.
+	 *
+	 * @param readerMode
+	 * @return the number of rows read
+	 * @throws OdaException
+	 */
+	protected int readAll( String readerMode ) throws OdaException
+	{
+		IConnection connection = new Connection( );
+		Properties prop = new Properties( );
+		prop.setProperty( CommonConstants.CONN_HOME_DIR_PROP,
+				homeDir.getAbsolutePath( ) );
+		prop.setProperty( CommonConstants.CONN_CHARSET_PROP, "UTF-8" ); //$NON-NLS-1$
+		prop.setProperty( CommonConstants.CONN_DELIMITER_TYPE,
+				CommonConstants.DELIMITER_COMMA );
+		prop.setProperty( CommonConstants.CONN_INCLCOLUMNNAME_PROP,
+				CommonConstants.INC_COLUMN_NAME_YES );
+		prop.setProperty( CommonConstants.CONN_INCLTYPELINE_PROP,
+				CommonConstants.INC_TYPE_LINE_NO );
+		prop.setProperty( CommonConstants.CONN_READER_MODE_PROP, readerMode );
+		connection.open( prop );
+		IQuery query = connection.newQuery( "FLATFILE" ); //$NON-NLS-1$
+		query.prepare( "select * from " + TEST_FILE ); //$NON-NLS-1$
+		IResultSet resultSet = query.executeQuery( );
+		int rowCount = 0;
+		while ( resultSet.next( ) )
+		{
+			for ( int i = 1; i <= COLUMN_COUNT; i++ )
+				resultSet.getString( i );
+			rowCount++;
+		}
+		resultSet.close( );
+		query.close( );
+		connection.close( );
+		return rowCount;
+	}
+
+	private static void createTestFile( File file ) throws IOException
+	{
+		BufferedWriter writer = new BufferedWriter( new OutputStreamWriter( new FileOutputStream( file ),
+				"UTF-8" ) ); //$NON-NLS-1$
+		try
+		{
+			for ( int i = 0; i < COLUMN_COUNT; i++ )
+			{
+				if ( i > 0 )
+					writer.write( ',' );
+				writer.write( "COL" + i ); //$NON-NLS-1$
+			}
+			writer.write( '\n' );
+			for ( int row = 0; row < ROW_COUNT; row++ )
+			{
+				for ( int i = 0; i < COLUMN_COUNT; i++ )
+				{
+					if ( i > 0 )
+						writer.write( ',' );
+					if ( i % 4 == 3 )
+						writer.write( "\"quoted, value " + row + "\"" ); //$NON-NLS-1$ //$NON-NLS-2$
+					else
+						writer.write( String.valueOf( row * COLUMN_COUNT + i ) );
+				}
+				writer.write( '\n' );
+			}
+		}
+		finally
+		{
+			writer.close( );
+		}
+	}
+}
@@ -0,0 +1,178 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Data Tools Platform and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * Contributors:
+ *  Eclipse Data Tools Platform - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.datatools.connectivity.oda.flatfile.tests.util;
+
+import java.sql.Types;
+import java.util.Random;
+
+import org.eclipse.datatools.connectivity.oda.OdaException;
+import org.eclipse.datatools.connectivity.oda.flatfile.util.FlatFileExternalSorter;
+import org.eclipse.datatools.connectivity.oda.spec.result.SortSpecification;
+
+import junit.framework.TestCase;
+
+/**
+ * Test case for FlatFileExternalSorter
+ */
+public class FlatFileExternalSorterTest extends TestCase
+{
+
+	public void testInMemorySort( ) throws OdaException
+	{
+		FlatFileExternalSorter sorter = createSorter( Types.INTEGER,
+				SortSpecification.ORDERING_ASC,
+				SortSpecification.NULL_ORDERING_NONE,
+				Long.MAX_VALUE );
+		String[] values = {
+				"10", "9", "", "100", "-1", null
+		};
+		for ( int i = 0; i < values.length; i++ )
+			sorter.add( new String[]{
+					values[i], String.valueOf( i )
+			} );
+		sorter.finish( );
+		assertEquals( 0, sorter.getSpilledRunCount( ) );
+
+		// numeric order, nulls first
+		assertRows( sorter, new String[]{
+				"2", "5", "4", "1", "0", "3"
+		} );
+		sorter.close( );
+	}
+
+	public void testNullOrdering( ) throws OdaException
+	{
+		FlatFileExternalSorter sorter = createSorter( Types.VARCHAR,
+				SortSpecification.ORDERING_DESC,
+				SortSpecification.NULL_ORDERING_NONE,
+				Long.MAX_VALUE );
+		addRows( sorter, new String[]{
+				"b", null, "a", "c"
+		} );
+		assertRows( sorter, new String[]{
+				"3", "0", "2", "1"
+		} );
+		sorter.close( );
+
+		sorter = createSorter( Types.VARCHAR,
+				SortSpecification.ORDERING_DESC,
+				SortSpecification.NULL_ORDERING_FIRST,
+				Long.MAX_VALUE );
+		addRows( sorter, new String[]{
+				"b", null, "a", "c"
+		} );
+		assertRows( sorter, new String[]{
+				"1", "3", "0", "2"
+		} );
+		sorter.close( );
+	}
+
+	public void testSpilledRuns( ) throws OdaException
+	{
+		// every row is spilled to its own run, which requires more than one
+		// merge pass
+		checkSpilledSort( 1, 1000 );
+		// a few runs of many rows
+		checkSpilledSort( 64 * 1024, 20000 );
+	}
+
+	public void testInvalidValue( ) throws OdaException
+	{
+		FlatFileExternalSorter sorter = createSorter( Types.DATE,
+				SortSpecification.ORDERING_ASC,
+				SortSpecification.NULL_ORDERING_NONE,
+				Long.MAX_VALUE );
+		try
+		{
+			sorter.add( new String[]{
+					"not a date", "0"
+			} );
+			fail( "the value is not a date" );
+		}
+		catch ( OdaException e )
+		{
+		}
+		sorter.close( );
+	}
+
+	/**
+	 * Sort rows with many equal keys, and check that they are sorted and
+	 * that the rows with equal keys keep their order.
+	 */
+	private void checkSpilledSort( long memoryLimit, int rowCount )
+			throws OdaException
+	{
+		FlatFileExternalSorter sorter = createSorter( Types.DOUBLE,
+				SortSpecification.ORDERING_DESC,
+				SortSpecification.NULL_ORDERING_NONE,
+				memoryLimit );
+		Random random = new Random( 7 );
+		for ( int i = 0; i < rowCount; i++ )
+			sorter.add( new String[]{
+					String.valueOf( random.nextInt( 100 ) / 4.0 ),
+					String.valueOf( i )
+			} );
+		sorter.finish( );
+		assertTrue( sorter.getSpilledRunCount( ) > 1 );
+
+		double previousKey = Double.MAX_VALUE;
+		int previousIndex = -1;
+		int count = 0;
+		while ( sorter.next( ) )
+		{
+			double key = Double.parseDouble( sorter.getRow( )[0] );
+			int index = Integer.parseInt( sorter.getRow( )[1] );
+			assertTrue( key <= previousKey );
+			if ( key == previousKey )
+				assertTrue( index > previousIndex );
+			previousKey = key;
+			previousIndex = index;
+			count++;
+		}
+		assertEquals( rowCount, count );
+		sorter.close( );
+	}
+
+	private static FlatFileExternalSorter createSorter( int type,
+			int direction, int nullOrdering, long memoryLimit )
+	{
+		return new FlatFileExternalSorter( new int[]{
+			0
+		}, new int[]{
+			type
+		}, new int[]{
+			direction
+		}, new int[]{
+			nullOrdering
+		}, memoryLimit );
+	}
+
+	private static void addRows( FlatFileExternalSorter sorter,
+			String[] values ) throws OdaException
+	{
+		for ( int i = 0; i < values.length; i++ )
+			sorter.add( new String[]{
+					values[i], String.valueOf( i )
+			} );
+	}
+
+	private static void assertRows( FlatFileExternalSorter sorter,
+			String[] expectedIndexes ) throws OdaException
+	{
+		for ( int i = 0; i < expectedIndexes.length; i++ )
+		{
+			assertTrue( sorter.next( ) );
+			assertEquals( expectedIndexes[i], sorter.getRow( )[1] );
+		}
+		assertFalse( sorter.next( ) );
+	}
+}
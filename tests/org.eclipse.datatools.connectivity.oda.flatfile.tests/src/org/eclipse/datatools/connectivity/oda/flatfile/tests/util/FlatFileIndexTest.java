@@ -0,0 +1,222 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Data Tools Platform and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * Contributors:
+ *  Eclipse Data Tools Platform - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.datatools.connectivity.oda.flatfile.tests.util;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.sql.Types;
+
+import org.eclipse.datatools.connectivity.oda.OdaException;
+import org.eclipse.datatools.connectivity.oda.flatfile.util.FlatFileIndex;
+import org.eclipse.datatools.connectivity.oda.flatfile.util.FlatFileRecordTokenizer;
+import org.eclipse.datatools.connectivity.oda.flatfile.util.FlatFileRowFilter;
+
+import junit.framework.TestCase;
+
+/**
+ * Test case for FlatFileIndex
+ */
+public class FlatFileIndexTest extends TestCase
+{
+
+	private final static char SEPARATOR = ',';
+	private final static Charset UTF8 = Charset.forName( "UTF-8" );
+
+	private File file;
+
+	protected void setUp( ) throws Exception
+	{
+		super.setUp( );
+		file = File.createTempFile( "flatFileIndex", ".csv" );
+	}
+
+	protected void tearDown( ) throws Exception
+	{
+		FlatFileIndex.getIndexFile( file ).delete( );
+		file.delete( );
+		super.tearDown( );
+	}
+
+	public void testBlockOffsets( ) throws OdaException, IOException
+	{
+		StringBuffer content = new StringBuffer( "A,B,C\n\nINT,STRING,INT\n" );
+		for ( int i = 0; i < 10; i++ )
+		{
+			content.append( i )
+					.append( ",\"caf\u00e9\n" )
+					.append( i )
+					.append( "\"," )
+					.append( i * 10 )
+					.append( "\n" );
+			if ( i % 4 == 0 )
+				content.append( "\n" );
+		}
+		writeFile( content.toString( ) );
+
+		FlatFileIndex index = build( true, 3 );
+		assertEquals( 4, index.getBlockCount( ) );
+		for ( int block = 0; block < 4; block++ )
+		{
+			assertEquals( block < 3 ? 3 : 1, index.getBlockRowCount( block ) );
+			// the first row of the block starts at its offset
+			FlatFileRecordTokenizer tokenizer = readAt( index.getBlockOffset( block ) );
+			assertTrue( tokenizer.nextRecord( ) );
+			assertEquals( String.valueOf( block * 3 ),
+					tokenizer.getColumnValue( 0 ) );
+			assertEquals( "caf\u00e9\n" + block * 3, tokenizer.getColumnValue( 1 ) );
+			tokenizer.close( );
+		}
+	}
+
+	public void testStatistics( ) throws OdaException, IOException
+	{
+		writeFile( "A,B,C\n"
+				+ "5,x,1\n" + "-2.5,,\n" + "10,y\n"
+				+ "3,a,\n" + "4,b,\n" + "6\n" );
+		FlatFileIndex index = build( false, 3 );
+		assertEquals( 2, index.getBlockCount( ) );
+
+		FlatFileRowFilter.BlockStatistics block = index.getBlockStatistics( 0,
+				new int[]{
+						0, 1, 2, -1
+				} );
+		assertEquals( 3, block.getRowCount( ) );
+		assertEquals( 3, block.getValueCount( 0 ) );
+		assertEquals( 2, block.getValueCount( 1 ) );
+		assertEquals( 1, block.getValueCount( 2 ) );
+		assertEquals( 0, block.getValueCount( 3 ) );
+		assertEquals( 0,
+				new BigDecimal( "-2.5" ).compareTo( (BigDecimal) (Object) block.getMinimum( 0,
+						Types.INTEGER ) ) );
+		assertEquals( 0,
+				new BigDecimal( "10" ).compareTo( (BigDecimal) (Object) block.getMaximum( 0,
+						Types.DOUBLE ) ) );
+		// text order
+		assertEquals( "-2.5", block.getMinimum( 0, Types.VARCHAR ) );
+		assertEquals( "5", block.getMaximum( 0, Types.VARCHAR ) );
+		assertEquals( "x", block.getMinimum( 1, Types.VARCHAR ) );
+		assertEquals( "y", block.getMaximum( 1, Types.VARCHAR ) );
+		// not all numbers, and no statistics for dates
+		assertNull( block.getMinimum( 1, Types.INTEGER ) );
+		assertNull( block.getMinimum( 0, Types.DATE ) );
+
+		block = index.getBlockStatistics( 1, new int[]{
+				0, 1, 2
+		} );
+		assertEquals( 3, block.getRowCount( ) );
+		assertEquals( 3, block.getValueCount( 0 ) );
+		assertEquals( 2, block.getValueCount( 1 ) );
+		assertEquals( 0, block.getValueCount( 2 ) );
+	}
+
+	public void testPersistence( ) throws OdaException, IOException
+	{
+		writeFile( "A\n1\n2\n" );
+		File indexFile = FlatFileIndex.getIndexFile( file );
+		assertFalse( indexFile.exists( ) );
+		assertEquals( 2, open( ).getBlockRowCount( 0 ) );
+		assertTrue( indexFile.exists( ) );
+
+		// an up to date index is read, not rebuilt
+		assertTrue( indexFile.setLastModified( 1000 ) );
+		assertEquals( 2, open( ).getBlockRowCount( 0 ) );
+		assertEquals( 1000, indexFile.lastModified( ) );
+
+		// a modified file is indexed again
+		writeFile( "A\n1\n2\n3\n" );
+		assertTrue( file.setLastModified( file.lastModified( ) + 2000 ) );
+		assertEquals( 3, open( ).getBlockRowCount( 0 ) );
+		assertTrue( indexFile.lastModified( ) != 1000 );
+
+		// and so is a file read with other connection properties
+		FileInputStream in = new FileInputStream( file );
+		try
+		{
+			FlatFileIndex index = FlatFileIndex.open( file,
+					in.getChannel( ),
+					UTF8,
+					SEPARATOR,
+					false,
+					false );
+			assertEquals( 4, index.getBlockRowCount( 0 ) );
+		}
+		finally
+		{
+			in.close( );
+		}
+	}
+
+	private FlatFileIndex build( boolean hasTypeLine, int blockRows )
+			throws OdaException, IOException
+	{
+		FileInputStream in = new FileInputStream( file );
+		try
+		{
+			return FlatFileIndex.build( in.getChannel( ),
+					UTF8,
+					SEPARATOR,
+					true,
+					hasTypeLine,
+					blockRows );
+		}
+		finally
+		{
+			in.close( );
+		}
+	}
+
+	private FlatFileIndex open( ) throws OdaException, IOException
+	{
+		FileInputStream in = new FileInputStream( file );
+		try
+		{
+			return FlatFileIndex.open( file,
+					in.getChannel( ),
+					UTF8,
+					SEPARATOR,
+					true,
+					false );
+		}
+		finally
+		{
+			in.close( );
+		}
+	}
+
+	private FlatFileRecordTokenizer readAt( long offset ) throws IOException
+	{
+		FileInputStream in = new FileInputStream( file );
+		FileChannel channel = in.getChannel( );
+		channel.position( offset );
+		return new FlatFileRecordTokenizer( new InputStreamReader( in, UTF8 ),
+				SEPARATOR );
+	}
+
+	private void writeFile( String content ) throws IOException
+	{
+		FileOutputStream out = new FileOutputStream( file );
+		try
+		{
+			out.write( content.getBytes( UTF8 ) );
+		}
+		finally
+		{
+			out.close( );
+		}
+	}
+}
@@ -0,0 +1,215 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Data Tools Platform and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * Contributors:
+ *  Eclipse Data Tools Platform - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.datatools.connectivity.oda.flatfile.tests.util;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.concurrent.ForkJoinPool;
+
+import org.eclipse.datatools.connectivity.oda.OdaException;
+import org.eclipse.datatools.connectivity.oda.flatfile.util.FlatFileParallelScanner;
+
+import junit.framework.TestCase;
+
+/**
+ * Test case for FlatFileParallelScanner
+ */
+public class FlatFileParallelScannerTest extends TestCase
+{
+
+	private final static char SEPARATOR = ',';
+	private final static Charset UTF8 = Charset.forName( "UTF-8" );
+
+	private File file;
+	private ForkJoinPool pool;
+
+	protected void setUp( ) throws Exception
+	{
+		super.setUp( );
+		file = File.createTempFile( "parallelScanner", ".csv" );
+		pool = new ForkJoinPool( 4 );
+	}
+
+	protected void tearDown( ) throws Exception
+	{
+		pool.shutdownNow( );
+		file.delete( );
+		super.tearDown( );
+	}
+
+	public void testSupportedCharsets( )
+	{
+		assertTrue( FlatFileParallelScanner.isSupportedCharset( UTF8 ) );
+		assertTrue( FlatFileParallelScanner.isSupportedCharset( Charset.forName( "ISO-8859-1" ) ) );
+		assertFalse( FlatFileParallelScanner.isSupportedCharset( Charset.forName( "UTF-16LE" ) ) );
+		assertFalse( FlatFileParallelScanner.isSupportedCharset( Charset.forName( "UTF-16BE" ) ) );
+	}
+
+	public void testUnsupportedCharset( ) throws IOException
+	{
+		FileInputStream in = new FileInputStream( file );
+		try
+		{
+			new FlatFileParallelScanner( in.getChannel( ),
+					Charset.forName( "UTF-16LE" ),
+					SEPARATOR );
+			fail( );
+		}
+		catch ( OdaException e )
+		{
+			// expected
+		}
+		finally
+		{
+			in.close( );
+		}
+	}
+
+	public void testHeaderRecords( ) throws OdaException, IOException
+	{
+		writeFile( "\n\nA, B ,C\n\nINT,STRING,INT\n1,x,2\n", true );
+		FlatFileParallelScanner scanner = getScanner( 8 );
+		assertRecord( new String[]{
+				"A", "B", "C"
+		}, scanner.nextHeaderRecord( ) );
+		assertRecord( new String[]{
+				"INT", "STRING", "INT"
+		}, scanner.peekHeaderRecord( ) );
+		assertRecord( new String[]{
+				"INT", "STRING", "INT"
+		}, scanner.nextHeaderRecord( ) );
+		scanner.start( new int[]{
+				2, 0
+		}, false );
+		assertTrue( scanner.next( ) );
+		assertRecord( new String[]{
+				"2", "1"
+		}, scanner.getRow( ) );
+		assertFalse( scanner.next( ) );
+		assertNull( scanner.nextHeaderRecord( ) );
+		scanner.close( );
+	}
+
+	public void testRecordsAcrossSegments( ) throws OdaException, IOException
+	{
+		StringBuffer content = new StringBuffer( );
+		for ( int i = 0; i < 1000; i++ )
+		{
+			content.append( i )
+					.append( ", \"quoted " )
+					.append( i )
+					.append( ",\"\"\n value\" ,plain \u00e9 " )
+					.append( i )
+					.append( "\r\n" );
+			if ( i % 7 == 0 )
+				content.append( "\n" );
+		}
+		writeFile( content.toString( ), false );
+
+		// segments far smaller than a record, as well as segments holding
+		// many records
+		int[] segmentSizes = {
+				1, 17, 256, 64 * 1024
+		};
+		for ( int s = 0; s < segmentSizes.length; s++ )
+		{
+			FlatFileParallelScanner scanner = getScanner( segmentSizes[s] );
+			scanner.start( new int[]{
+					0, 1, 2
+			}, false );
+			for ( int i = 0; i < 1000; i++ )
+			{
+				assertTrue( scanner.next( ) );
+				assertRecord( new String[]{
+						String.valueOf( i ),
+						"quoted " + i + ",\"\n value",
+						"plain \u00e9 " + i
+				}, scanner.getRow( ) );
+			}
+			assertFalse( scanner.next( ) );
+			scanner.close( );
+		}
+	}
+
+	public void testMissingColumns( ) throws OdaException, IOException
+	{
+		writeFile( "1,2\n3\n", false );
+		FlatFileParallelScanner scanner = getScanner( 1 );
+		scanner.start( new int[]{
+				1, -1
+		}, true );
+		assertTrue( scanner.next( ) );
+		assertRecord( new String[]{
+				"2", null
+		}, scanner.getRow( ) );
+		assertTrue( scanner.next( ) );
+		assertRecord( new String[]{
+				null, null
+		}, scanner.getRow( ) );
+		assertFalse( scanner.next( ) );
+		scanner.close( );
+
+		scanner = getScanner( 1 );
+		scanner.start( new int[]{
+				1
+		}, false );
+		try
+		{
+			while ( scanner.next( ) )
+				;
+			fail( "the second record misses a column" );
+		}
+		catch ( OdaException e )
+		{
+		}
+		scanner.close( );
+	}
+
+	private void assertRecord( String[] expected, String[] actual )
+	{
+		assertNotNull( actual );
+		assertEquals( expected.length, actual.length );
+		for ( int i = 0; i < expected.length; i++ )
+			assertEquals( expected[i], actual[i] );
+	}
+
+	private FlatFileParallelScanner getScanner( int segmentSize )
+			throws IOException, OdaException
+	{
+		return new FlatFileParallelScanner( new FileInputStream( file ).getChannel( ),
+				UTF8,
+				SEPARATOR,
+				segmentSize,
+				pool );
+	}
+
+	private void writeFile( String content, boolean withBom )
+			throws IOException
+	{
+		FileOutputStream out = new FileOutputStream( file );
+		try
+		{
+			if ( withBom )
+				out.write( new byte[]{
+						(byte) 0xEF, (byte) 0xBB, (byte) 0xBF
+				} );
+			out.write( content.getBytes( UTF8 ) );
+		}
+		finally
+		{
+			out.close( );
+		}
+	}
+}
@@ -0,0 +1,146 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Data Tools Platform and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * Contributors:
+ *  Eclipse Data Tools Platform - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.datatools.connectivity.oda.flatfile.tests.util;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import org.eclipse.datatools.connectivity.oda.OdaException;
+import org.eclipse.datatools.connectivity.oda.flatfile.util.FlatFileRecordTokenizer;
+
+import junit.framework.TestCase;
+
+/**
+ * Test case for FlatFileRecordTokenizer
+ */
+public class FlatFileRecordTokenizerTest extends TestCase
+{
+
+	private final static char SEPARATOR = ',';
+
+	public void testEmptyLines( ) throws OdaException, IOException
+	{
+		FlatFileRecordTokenizer tokenizer = getTokenizer( "" );
+		assertFalse( tokenizer.nextRecord( ) );
+		tokenizer.close( );
+
+		tokenizer = getTokenizer( "\n\n ,\n " );
+		assertTrue( tokenizer.nextRecord( ) );
+		assertTrue( tokenizer.isEmptyRecord( ) );
+		assertEquals( 0, tokenizer.getColumnCount( ) );
+		assertTrue( tokenizer.nextRecord( ) );
+		assertTrue( tokenizer.isEmptyRecord( ) );
+		assertTrue( tokenizer.nextRecord( ) );
+		assertFalse( tokenizer.isEmptyRecord( ) );
+		assertEquals( 2, tokenizer.getColumnCount( ) );
+		assertTrue( tokenizer.nextRecord( ) );
+		assertTrue( tokenizer.isEmptyRecord( ) );
+		assertEquals( 1, tokenizer.getColumnCount( ) );
+		assertFalse( tokenizer.nextRecord( ) );
+		tokenizer.close( );
+	}
+
+	public void testSeparators( ) throws OdaException, IOException
+	{
+		FlatFileRecordTokenizer tokenizer = getTokenizer( "99, tt , 90 \r\n,yy,8 0,  " );
+		assertTrue( tokenizer.nextRecord( ) );
+		assertRecord( tokenizer, new String[]{
+				"99", "tt", "90"
+		} );
+		assertTrue( tokenizer.nextRecord( ) );
+		assertRecord( tokenizer, new String[]{
+				"", "yy", "8 0", ""
+		} );
+		assertFalse( tokenizer.nextRecord( ) );
+		tokenizer.close( );
+	}
+
+	public void testDoubleQuoted( ) throws OdaException, IOException
+	{
+		FlatFileRecordTokenizer tokenizer = getTokenizer( " \t\"pp\"\"\"\",\n\t ui\", \" \" \r\n\"\"\"\"," );
+		assertTrue( tokenizer.nextRecord( ) );
+		assertRecord( tokenizer, new String[]{
+				"pp\"\",\n\t ui", " "
+		} );
+		assertFalse( tokenizer.isEmptyRecord( ) );
+		assertTrue( tokenizer.isColumnQuoted( 1 ) );
+		assertTrue( tokenizer.nextRecord( ) );
+		assertRecord( tokenizer, new String[]{
+				"\"", ""
+		} );
+		assertFalse( tokenizer.isColumnQuoted( 1 ) );
+		assertFalse( tokenizer.nextRecord( ) );
+		tokenizer.close( );
+	}
+
+	public void testInvalidFormat( ) throws IOException
+	{
+		String[] invalidRecords = {
+				"5\"pp\"", "\"pp\" tt", "\"pp\"\""
+		};
+		for ( int i = 0; i < invalidRecords.length; i++ )
+		{
+			FlatFileRecordTokenizer tokenizer = getTokenizer( invalidRecords[i] );
+			try
+			{
+				tokenizer.nextRecord( );
+				fail( "format is invalid: " + invalidRecords[i] );
+			}
+			catch ( OdaException e )
+			{
+			}
+			tokenizer.close( );
+		}
+	}
+
+	public void testRecordsAcrossBufferBoundaries( ) throws OdaException, IOException
+	{
+		StringBuffer content = new StringBuffer( );
+		for ( int i = 0; i < 100; i++ )
+		{
+			content.append( i )
+					.append( ", \"quoted " )
+					.append( i )
+					.append( ",\"\"\n value\" ,plain value " )
+					.append( i )
+					.append( "\r\n" );
+		}
+		// the buffer is smaller than a single record and has to grow
+		FlatFileRecordTokenizer tokenizer = new FlatFileRecordTokenizer( new StringReader( content.toString( ) ),
+				SEPARATOR,
+				16 );
+		for ( int i = 0; i < 100; i++ )
+		{
+			assertTrue( tokenizer.nextRecord( ) );
+			assertRecord( tokenizer, new String[]{
+					String.valueOf( i ),
+					"quoted " + i + ",\"\n value",
+					"plain value " + i
+			} );
+		}
+		assertFalse( tokenizer.nextRecord( ) );
+		tokenizer.close( );
+	}
+
+	private void assertRecord( FlatFileRecordTokenizer tokenizer,
+			String[] expected )
+	{
+		assertEquals( expected.length, tokenizer.getColumnCount( ) );
+		for ( int i = 0; i < expected.length; i++ )
+			assertEquals( expected[i], tokenizer.getColumnValue( i ) );
+	}
+
+	private FlatFileRecordTokenizer getTokenizer( String s )
+	{
+		return new FlatFileRecordTokenizer( new StringReader( s ), SEPARATOR );
+	}
+}
@@ -0,0 +1,284 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Data Tools Platform and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * Contributors:
+ *  Eclipse Data Tools Platform - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.datatools.connectivity.oda.flatfile.tests.util;
+
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.sql.Types;
+
+import org.eclipse.datatools.connectivity.oda.OdaException;
+import org.eclipse.datatools.connectivity.oda.RowBatch;
+import org.eclipse.datatools.connectivity.oda.flatfile.util.FlatFileRecordTokenizer;
+import org.eclipse.datatools.connectivity.oda.flatfile.util.FlatFileRowBatch;
+import org.eclipse.datatools.connectivity.oda.flatfile.util.FlatFileValueConverter;
+
+import junit.framework.TestCase;
+
+/**
+ * Test case for FlatFileRowBatch
+ */
+public class FlatFileRowBatchTest extends TestCase
+{
+
+	private static final int[] TYPES = {
+			Types.INTEGER,
+			Types.DOUBLE,
+			Types.NUMERIC,
+			Types.DATE,
+			Types.TIMESTAMP,
+			Types.BOOLEAN,
+			Types.VARCHAR
+	};
+
+	private FlatFileRowBatch batch;
+
+	protected void setUp( ) throws Exception
+	{
+		super.setUp( );
+		batch = new FlatFileRowBatch( new String[][]{
+				{
+						"1", "1.5", "2.25", "2008-01-31",
+						"2008-01-31 10:20:30.123456789", "true", "7"
+				},
+				{
+						"", "", "", "", "", "", ""
+				},
+				{
+						"x", "y", "z", "not a date", "not a timestamp", "0",
+						"3.9"
+				},
+				{
+						"-4", "1e3", "100", "2009-02-28", "1000", "false",
+						null
+				}
+		}, TYPES, true );
+	}
+
+	public void testTypedValues( ) throws OdaException
+	{
+		assertEquals( 4, batch.getRowCount( ) );
+
+		assertEquals( 1, batch.getInt( 0, 0 ) );
+		assertEquals( -4, batch.getInt( 3, 0 ) );
+		assertEquals( 1.5, batch.getDouble( 0, 1 ), 0 );
+		assertEquals( 1000, batch.getDouble( 3, 1 ), 0 );
+		assertEquals( new BigDecimal( "2.25" ), batch.getBigDecimal( 0, 2 ) );
+		assertEquals( "2008-01-31", batch.getDate( 0, 3 ).toString( ) );
+		Timestamp timestamp = batch.getTimestamp( 0, 4 );
+		assertEquals( Timestamp.valueOf( "2008-01-31 10:20:30.123456789" ),
+				timestamp );
+		assertEquals( 123456789, timestamp.getNanos( ) );
+		assertEquals( new Timestamp( 1000 ), batch.getTimestamp( 3, 4 ) );
+		assertTrue( batch.getBoolean( 0, 5 ) );
+		assertFalse( batch.getBoolean( 2, 5 ) );
+
+		// values are converted the same way as by the static conversions
+		for ( int row = 0; row < batch.getRowCount( ); row++ )
+		{
+			if ( row == 2 )
+				continue;
+			assertEquals( FlatFileValueConverter.toInt( batch.getString( row, 0 ) ),
+					batch.getInt( row, 0 ) );
+			assertEquals( FlatFileValueConverter.toBigDecimal( batch.getString( row,
+					2 ) ), batch.getBigDecimal( row, 2 ) );
+			assertEquals( FlatFileValueConverter.toDate( batch.getString( row, 3 ) ),
+					batch.getDate( row, 3 ) );
+		}
+	}
+
+	public void testNulls( ) throws OdaException
+	{
+		for ( int column = 0; column < TYPES.length; column++ )
+		{
+			assertNull( batch.getString( 1, column ) );
+			assertTrue( batch.isNull( 1, column ) );
+			assertFalse( batch.isNull( 0, column ) );
+		}
+		assertEquals( 0, batch.getInt( 1, 0 ) );
+		assertEquals( 0, batch.getDouble( 1, 1 ), 0 );
+		assertNull( batch.getBigDecimal( 1, 2 ) );
+		assertNull( batch.getDate( 1, 3 ) );
+		assertNull( batch.getTimestamp( 1, 4 ) );
+		assertFalse( batch.getBoolean( 1, 5 ) );
+		// a trailing null column
+		assertNull( batch.getString( 3, 6 ) );
+		assertEquals( 0, batch.getInt( 3, 6 ) );
+		assertTrue( batch.isNull( 3, 6 ) );
+	}
+
+	public void testUnconvertedValues( ) throws OdaException
+	{
+		// the other rows of the column are still converted
+		assertEquals( 1, batch.getInt( 0, 0 ) );
+		try
+		{
+			batch.getInt( 2, 0 );
+			fail( "the value is not a number" );
+		}
+		catch ( OdaException e )
+		{
+		}
+		try
+		{
+			batch.getDate( 2, 3 );
+			fail( "the value is not a date" );
+		}
+		catch ( OdaException e )
+		{
+		}
+		assertEquals( "2009-02-28", batch.getDate( 3, 3 ).toString( ) );
+	}
+
+	public void testOtherTypes( ) throws OdaException
+	{
+		// values read with the getter of another type than the column's
+		assertEquals( 7, batch.getInt( 0, 6 ) );
+		assertEquals( 3, batch.getInt( 2, 6 ) );
+		assertEquals( 3.9, batch.getDouble( 2, 6 ), 0 );
+		assertEquals( 1, batch.getInt( 0, 1 ) );
+		assertEquals( 1.0, batch.getDouble( 0, 0 ), 0 );
+		assertEquals( "2.25", batch.getString( 0, 2 ) );
+	}
+
+	public void testCopyTo( ) throws OdaException
+	{
+		// the VARCHAR column is read as an INTEGER, and the rows are copied
+		// after the first row of the batch
+		int[] types = (int[]) TYPES.clone( );
+		types[6] = Types.INTEGER;
+		RowBatch rows = new RowBatch( types, 3 );
+		batch.copyTo( 0, rows, 1, 2 );
+		assertEquals( 1, rows.getIntColumn( 1 )[1] );
+		assertEquals( 1.5, rows.getDoubleColumn( 2 )[1], 0 );
+		assertEquals( new BigDecimal( "2.25" ), rows.getObjectColumn( 3 )[1] );
+		assertEquals( "2008-01-31", rows.getObjectColumn( 4 )[1].toString( ) );
+		assertEquals( batch.getTimestamp( 0, 4 ), rows.getObjectColumn( 5 )[1] );
+		assertTrue( rows.getBooleanColumn( 6 )[1] );
+		assertEquals( 7, rows.getIntColumn( 7 )[1] );
+		for ( int index = 1; index <= types.length; index++ )
+		{
+			assertFalse( rows.isNull( 1, index ) );
+			assertTrue( rows.isNull( 2, index ) );
+			if ( types[index - 1] != Types.INTEGER
+					&& types[index - 1] != Types.DOUBLE
+					&& types[index - 1] != Types.BOOLEAN )
+				assertNull( rows.getObjectColumn( index )[2] );
+		}
+		assertEquals( 0, rows.getIntColumn( 1 )[2] );
+
+		// the values which cannot be converted are reported as by the getters
+		try
+		{
+			batch.copyTo( 2, rows, 0, 2 );
+			fail( "the value is not a number" );
+		}
+		catch ( OdaException e )
+		{
+		}
+		rows = new RowBatch( new int[]{ Types.VARCHAR, Types.VARCHAR }, 2 );
+		batch.copyTo( 2, rows, 0, 2 );
+		assertEquals( "x", rows.getObjectColumn( 1 )[0] );
+		assertEquals( "-4", rows.getObjectColumn( 1 )[1] );
+		assertEquals( "1e3", rows.getObjectColumn( 2 )[1] );
+		rows = new RowBatch( new int[]{ Types.VARCHAR, Types.DOUBLE,
+				Types.NUMERIC }, 1 );
+		batch.copyTo( 3, rows, 0, 1 );
+		assertEquals( 1000, rows.getDoubleColumn( 2 )[0], 0 );
+		assertEquals( new BigDecimal( "100" ), rows.getObjectColumn( 3 )[0] );
+
+		// the lobs and objects are not supported, as by the result set
+		rows = new RowBatch( new int[]{ Types.BLOB }, 1 );
+		try
+		{
+			batch.copyTo( 0, rows, 0, 1 );
+			fail( "lobs are not supported" );
+		}
+		catch ( UnsupportedOperationException e )
+		{
+		}
+	}
+
+	public void testCharacterValues( ) throws Exception
+	{
+		// the same rows, as tokenized by a streaming reader; the columns are
+		// selected in the reverse order and the last row has no VARCHAR
+		FlatFileRecordTokenizer tokenizer = new FlatFileRecordTokenizer( new StringReader( " 7 , true, 2008-01-31 10:20:30.123456789,2008-01-31,2.25,1.5,\"1\"\n"
+				+ ",,,,,,\n"
+				+ "3.9,0,not a timestamp,not a date,z,y,x\n"
+				+ "false,1000,2009-02-28,100,1e3,-4\n" ),
+				',' );
+		FlatFileRowBatch characters = new FlatFileRowBatch( TYPES, true, 2 );
+		int[][] locations = {
+				{
+						6, 5, 4, 3, 2, 1, 0
+				}, {
+						5, 4, 3, 2, 1, 0, -1
+				}
+		};
+		for ( int row = 0; row < 4; row++ )
+		{
+			assertTrue( tokenizer.nextRecord( ) );
+			characters.addRow( tokenizer, locations[row == 3 ? 1 : 0] );
+		}
+		assertFalse( tokenizer.nextRecord( ) );
+		tokenizer.close( );
+
+		assertEquals( batch.getRowCount( ), characters.getRowCount( ) );
+		for ( int row = 0; row < batch.getRowCount( ); row++ )
+		{
+			for ( int column = 0; column < TYPES.length; column++ )
+			{
+				assertEquals( batch.getString( row, column ),
+						characters.getString( row, column ) );
+				assertEquals( batch.isNull( row, column ),
+						characters.isNull( row, column ) );
+			}
+			if ( row == 2 )
+				continue;
+			assertEquals( batch.getInt( row, 0 ), characters.getInt( row, 0 ) );
+			assertEquals( batch.getDouble( row, 1 ),
+					characters.getDouble( row, 1 ),
+					0 );
+			assertEquals( batch.getBigDecimal( row, 2 ),
+					characters.getBigDecimal( row, 2 ) );
+			assertEquals( batch.getDate( row, 3 ), characters.getDate( row, 3 ) );
+			assertEquals( batch.getTimestamp( row, 4 ),
+					characters.getTimestamp( row, 4 ) );
+			assertEquals( batch.getBoolean( row, 5 ),
+					characters.getBoolean( row, 5 ) );
+		}
+		try
+		{
+			characters.getInt( 2, 0 );
+			fail( "the value is not a number" );
+		}
+		catch ( OdaException e )
+		{
+		}
+		assertEquals( 3, characters.getInt( 2, 6 ) );
+
+		// rows added as Strings, more than the initial capacity
+		FlatFileRowBatch strings = new FlatFileRowBatch( TYPES, true, 1 );
+		for ( int row = 0; row < 100; row++ )
+			strings.addRow( new String[]{
+					String.valueOf( row ), "", null, "", "", "1", "v" + row
+			} );
+		assertEquals( 100, strings.getRowCount( ) );
+		assertEquals( 99, strings.getInt( 99, 0 ) );
+		assertEquals( "v42", strings.getString( 42, 6 ) );
+		assertTrue( strings.isNull( 42, 1 ) );
+		assertTrue( strings.isNull( 42, 2 ) );
+		assertNull( strings.getBigDecimal( 42, 2 ) );
+		assertTrue( strings.getBoolean( 42, 5 ) );
+	}
+}
@@ -0,0 +1,322 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Data Tools Platform and others.
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * Contributors: Eclipse Data Tools Platform - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.datatools.connectivity.drivers.jdbc.test;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+import org.eclipse.datatools.connectivity.IConnectionProfile;
+import org.eclipse.datatools.connectivity.drivers.jdbc.IJDBCConnectionProfileConstants;
+import org.eclipse.datatools.connectivity.drivers.jdbc.JDBCConnectionPool;
+
+import junit.framework.TestCase;
+
+/**
+ * This tests the pool of the pooled JDBC connection factory, with physical
+ * connections which only record how they are used.
+ */
+public class JDBCConnectionPoolTest extends TestCase {
+
+	private Properties mProperties;
+	private List<FakeConnection> mPhysicalConnections;
+
+	protected void setUp() throws Exception {
+		super.setUp();
+		mProperties = new Properties();
+		mPhysicalConnections = new ArrayList<FakeConnection>();
+	}
+
+	public void testReuse() throws Throwable {
+		TestPool pool = new TestPool();
+		Connection first = pool.getConnection();
+		first.close();
+		assertTrue(first.isClosed());
+		assertFalse(mPhysicalConnections.get(0).mClosed);
+		try {
+			first.createStatement();
+			fail();
+		}
+		catch (SQLException e) {
+			// the handle cannot be used once closed
+		}
+
+		Connection second = pool.getConnection();
+		assertNotSame(first, second);
+		assertEquals(1, pool.getCreatedCount());
+		assertEquals(1, pool.getReusedCount());
+		assertEquals(2, pool.getBorrowedCount());
+		assertEquals(1, pool.getActiveCount());
+		second.close();
+		second.close();
+		assertEquals(0, pool.getActiveCount());
+		assertEquals(1, pool.getIdleCount());
+	}
+
+	public void testResetOnReturn() throws Throwable {
+		TestPool pool = new TestPool();
+		Connection connection = pool.getConnection();
+		connection.setAutoCommit(false);
+		connection.close();
+		FakeConnection physical = mPhysicalConnections.get(0);
+		assertEquals(1, physical.mRollbackCount);
+		assertTrue(physical.mAutoCommit);
+	}
+
+	public void testRestoreStateOnReturn() throws Throwable {
+		TestPool pool = new TestPool();
+		Connection connection = pool.getConnection();
+		connection.setReadOnly(true);
+		connection.setTransactionIsolation(Connection.TRANSACTION_SERIALIZABLE);
+		connection.setCatalog("other"); //$NON-NLS-1$
+		connection.close();
+		FakeConnection physical = mPhysicalConnections.get(0);
+		assertFalse(physical.mReadOnly);
+		assertEquals(Connection.TRANSACTION_READ_COMMITTED, physical.mIsolation);
+		assertEquals("main", physical.mCatalog); //$NON-NLS-1$
+
+		// the next borrower gets the initial state of the connection
+		connection = pool.getConnection();
+		assertFalse(connection.isReadOnly());
+		assertEquals(Connection.TRANSACTION_READ_COMMITTED, connection.getTransactionIsolation());
+		assertEquals("main", connection.getCatalog()); //$NON-NLS-1$
+		physical.mSetterCount = 0;
+		connection.close();
+		// nothing is reset when nothing was changed
+		assertEquals(0, physical.mSetterCount);
+		pool.close();
+	}
+
+	public void testValidation() throws Throwable {
+		TestPool pool = new TestPool();
+		pool.getConnection().close();
+		mPhysicalConnections.get(0).mValid = false;
+		pool.getConnection().close();
+		assertEquals(2, pool.getCreatedCount());
+		assertEquals(1, pool.getValidationFailureCount());
+		assertTrue(mPhysicalConnections.get(0).mClosed);
+
+		mProperties.setProperty(IJDBCConnectionProfileConstants.POOL_VALIDATION_QUERY_PROP_ID, "select 1"); //$NON-NLS-1$
+		pool = new TestPool();
+		pool.getConnection().close();
+		pool.getConnection().close();
+		assertEquals(1, mPhysicalConnections.get(2).mStatementCount);
+	}
+
+	public void testMaxIdle() throws Throwable {
+		mProperties.setProperty(IJDBCConnectionProfileConstants.POOL_MAX_IDLE_PROP_ID, "1"); //$NON-NLS-1$
+		TestPool pool = new TestPool();
+		Connection first = pool.getConnection();
+		Connection second = pool.getConnection();
+		first.close();
+		second.close();
+		assertEquals(1, pool.getIdleCount());
+		assertTrue(mPhysicalConnections.get(1).mClosed);
+	}
+
+	public void testMaxActive() throws Throwable {
+		mProperties.setProperty(IJDBCConnectionProfileConstants.POOL_MAX_ACTIVE_PROP_ID, "1"); //$NON-NLS-1$
+		mProperties.setProperty(IJDBCConnectionProfileConstants.POOL_MAX_WAIT_PROP_ID, "50"); //$NON-NLS-1$
+		final TestPool pool = new TestPool();
+		final Connection connection = pool.getConnection();
+		try {
+			pool.getConnection();
+			fail();
+		}
+		catch (SQLException e) {
+			// timed out
+		}
+
+		mProperties.setProperty(IJDBCConnectionProfileConstants.POOL_MAX_WAIT_PROP_ID, "10000"); //$NON-NLS-1$
+		final TestPool waitingPool = new TestPool();
+		final Connection borrowed = waitingPool.getConnection();
+		Thread thread = new Thread() {
+			public void run() {
+				try {
+					Thread.sleep(50);
+					borrowed.close();
+				}
+				catch (Exception e) {
+				}
+			}
+		};
+		thread.start();
+		waitingPool.getConnection().close();
+		assertEquals(1, waitingPool.getCreatedCount());
+		connection.close();
+	}
+
+	public void testIdleEviction() throws Throwable {
+		mProperties.setProperty(IJDBCConnectionProfileConstants.POOL_IDLE_TIMEOUT_PROP_ID, "1"); //$NON-NLS-1$
+		mProperties.setProperty(IJDBCConnectionProfileConstants.POOL_MIN_IDLE_PROP_ID, "1"); //$NON-NLS-1$
+		TestPool pool = new TestPool();
+		Connection first = pool.getConnection();
+		Connection second = pool.getConnection();
+		first.close();
+		second.close();
+		Thread.sleep(20);
+		pool.evictIdleConnections();
+		assertEquals(1, pool.getIdleCount());
+		assertEquals(1, pool.getEvictedCount());
+		assertTrue(mPhysicalConnections.get(0).mClosed);
+		assertFalse(mPhysicalConnections.get(1).mClosed);
+		// the connections are closed without locking the pool
+		assertFalse(mPhysicalConnections.get(0).mClosedWithPoolLocked);
+		pool.close();
+	}
+
+	public void testBackgroundEviction() throws Throwable {
+		mProperties.setProperty(IJDBCConnectionProfileConstants.POOL_IDLE_TIMEOUT_PROP_ID, "1"); //$NON-NLS-1$
+		mProperties.setProperty(IJDBCConnectionProfileConstants.POOL_LEAK_TIMEOUT_PROP_ID, "1"); //$NON-NLS-1$
+		TestPool pool = new TestPool();
+		Connection leaked = pool.getConnection();
+		pool.getConnection().close();
+		// no other call to the pool is needed for the idle connection to be
+		// closed and the leak to be reported
+		long deadline = System.currentTimeMillis() + 10000;
+		while ((!mPhysicalConnections.get(1).mClosed || pool.getLeakCount() == 0)
+				&& System.currentTimeMillis() < deadline)
+			Thread.sleep(20);
+		assertEquals(1, pool.getEvictedCount());
+		assertEquals(1, pool.getLeakCount());
+		assertTrue(mPhysicalConnections.get(1).mClosed);
+		assertFalse(mPhysicalConnections.get(1).mClosedWithPoolLocked);
+		leaked.close();
+		pool.close();
+	}
+
+	public void testLeakDetection() throws Throwable {
+		mProperties.setProperty(IJDBCConnectionProfileConstants.POOL_LEAK_TIMEOUT_PROP_ID, "1"); //$NON-NLS-1$
+		TestPool pool = new TestPool();
+		Connection connection = pool.getConnection();
+		Thread.sleep(20);
+		pool.evictIdleConnections();
+		pool.evictIdleConnections();
+		assertEquals(1, pool.getLeakCount());
+		connection.close();
+	}
+
+	public void testClose() throws Throwable {
+		TestPool pool = new TestPool();
+		Connection idle = pool.getConnection();
+		Connection borrowed = pool.getConnection();
+		idle.close();
+		pool.close();
+		assertTrue(mPhysicalConnections.get(0).mClosed);
+		assertFalse(mPhysicalConnections.get(1).mClosed);
+		borrowed.close();
+		assertTrue(mPhysicalConnections.get(1).mClosed);
+		try {
+			pool.getConnection();
+			fail();
+		}
+		catch (SQLException e) {
+			// closed
+		}
+	}
+
+	private IConnectionProfile createProfile() {
+		return (IConnectionProfile) Proxy.newProxyInstance(getClass().getClassLoader(),
+				new Class[] { IConnectionProfile.class },
+				new InvocationHandler() {
+					public Object invoke(Object proxy, Method method, Object[] args) {
+						if ("getBaseProperties".equals(method.getName())) //$NON-NLS-1$
+							return mProperties;
+						if ("getName".equals(method.getName()) //$NON-NLS-1$
+								|| "getInstanceID".equals(method.getName())) //$NON-NLS-1$
+							return "JDBCConnectionPoolTest"; //$NON-NLS-1$
+						return null;
+					}
+				});
+	}
+
+	private class TestPool extends JDBCConnectionPool {
+
+		TestPool() {
+			super(createProfile(), null);
+		}
+
+		protected Connection createPhysicalConnection() {
+			FakeConnection physical = new FakeConnection(this);
+			mPhysicalConnections.add(physical);
+			return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(),
+					new Class[] { Connection.class }, physical);
+		}
+	}
+
+	private static class FakeConnection implements InvocationHandler {
+
+		private final JDBCConnectionPool mPool;
+		private boolean mClosed;
+		private boolean mClosedWithPoolLocked;
+		private boolean mValid = true;
+		private boolean mAutoCommit = true;
+		private boolean mReadOnly;
+		private int mIsolation = Connection.TRANSACTION_READ_COMMITTED;
+		private String mCatalog = "main"; //$NON-NLS-1$
+		private int mRollbackCount;
+		private int mStatementCount;
+		private int mSetterCount;
+
+		FakeConnection(JDBCConnectionPool pool) {
+			mPool = pool;
+		}
+
+		public Object invoke(Object proxy, Method method, Object[] args)
+				throws Throwable {
+			String name = method.getName();
+			if (name.startsWith("set")) //$NON-NLS-1$
+				mSetterCount++;
+			if ("close".equals(name)) { //$NON-NLS-1$
+				mClosed = true;
+				mClosedWithPoolLocked = Thread.holdsLock(mPool);
+			}
+			else if ("isReadOnly".equals(name)) //$NON-NLS-1$
+				return Boolean.valueOf(mReadOnly);
+			else if ("setReadOnly".equals(name)) //$NON-NLS-1$
+				mReadOnly = ((Boolean) args[0]).booleanValue();
+			else if ("getTransactionIsolation".equals(name)) //$NON-NLS-1$
+				return Integer.valueOf(mIsolation);
+			else if ("setTransactionIsolation".equals(name)) //$NON-NLS-1$
+				mIsolation = ((Integer) args[0]).intValue();
+			else if ("getCatalog".equals(name)) //$NON-NLS-1$
+				return mCatalog;
+			else if ("setCatalog".equals(name)) //$NON-NLS-1$
+				mCatalog = (String) args[0];
+			else if ("isClosed".equals(name)) //$NON-NLS-1$
+				return Boolean.valueOf(mClosed);
+			else if ("isValid".equals(name)) //$NON-NLS-1$
+				return Boolean.valueOf(mValid && !mClosed);
+			else if ("getAutoCommit".equals(name)) //$NON-NLS-1$
+				return Boolean.valueOf(mAutoCommit);
+			else if ("setAutoCommit".equals(name)) //$NON-NLS-1$
+				mAutoCommit = ((Boolean) args[0]).booleanValue();
+			else if ("rollback".equals(name)) //$NON-NLS-1$
+				mRollbackCount++;
+			else if ("createStatement".equals(name)) { //$NON-NLS-1$
+				mStatementCount++;
+				return Proxy.newProxyInstance(getClass().getClassLoader(),
+						new Class[] { java.sql.Statement.class },
+						new InvocationHandler() {
+							public Object invoke(Object statement, Method m, Object[] a) {
+								return "execute".equals(m.getName()) ? Boolean.TRUE : null; //$NON-NLS-1$
+							}
+						});
+			}
+			return null;
+		}
+	}
+}
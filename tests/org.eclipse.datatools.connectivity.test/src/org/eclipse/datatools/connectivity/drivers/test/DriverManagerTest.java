@@ -135,6 +135,20 @@ public class DriverManagerTest extends TestCase {
 		}
 	}
 
+	public void testGetDriverInstanceByName() {
+		String name = "DriverTest.NameLookupInstance"; //$NON-NLS-1$
+		Assert.assertNull(DriverManager.getInstance().getDriverInstanceByName(name));
+		// the miss is remembered until the drivers change
+		Assert.assertNull(DriverManager.getInstance().getDriverInstanceByName(name));
+
+		DriverInstance driverInstance = DriverManager.getInstance().createNewDriverInstance(TEST_DRIVER_1_TEMPLATE_ID, name, ""); //$NON-NLS-1$
+		Assert.assertNotNull(driverInstance);
+		Assert.assertSame(driverInstance, DriverManager.getInstance().getDriverInstanceByName(name));
+
+		Assert.assertTrue(DriverManager.getInstance().removeDriverInstance(driverInstance.getId()));
+		Assert.assertNull(DriverManager.getInstance().getDriverInstanceByName(name));
+	}
+
 	public void testGetFullJarList() {
 		if (DriverManager.getInstance().getDriverInstanceByID(TEST_DRIVER_1_INSTANCE_ID2) == null) {
 			testCreateNewDriverInstance();
@@ -0,0 +1,172 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Data Tools Platform and others.
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * Contributors: Eclipse Data Tools Platform - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.datatools.connectivity.internal;
+
+import java.util.Arrays;
+import java.util.Properties;
+
+import org.eclipse.datatools.connectivity.ConnectionProfileException;
+import org.eclipse.datatools.connectivity.IConnectionProfile;
+
+import junit.framework.Assert;
+import junit.framework.TestCase;
+
+/**
+ * Tests the index of the profiles of the InternalProfileManager, which must
+ * follow the profiles added, deleted and renamed.
+ */
+public class InternalProfileManagerTest extends TestCase {
+
+	private static final String PROVIDER_ID = "org.eclipse.datatools.connectivity.db.generic.connectionProfile"; //$NON-NLS-1$
+	private static final String CATEGORY_ID = "org.eclipse.datatools.connectivity.db.category"; //$NON-NLS-1$
+	private static final String NAME = "Profile Index Test"; //$NON-NLS-1$
+	private static final String NAME2 = "Profile Index Test 2"; //$NON-NLS-1$
+	private static final String RENAMED = "Profile Index Test Renamed"; //$NON-NLS-1$
+	private static final String RENAMING = "Profile Index Test Renaming"; //$NON-NLS-1$
+
+	private InternalProfileManager mManager;
+
+	protected void setUp() throws Exception {
+		super.setUp();
+		mManager = InternalProfileManager.getInstance();
+		deleteTestProfiles();
+	}
+
+	protected void tearDown() throws Exception {
+		deleteTestProfiles();
+		super.tearDown();
+	}
+
+	public void testLookupAfterAdd() throws ConnectionProfileException {
+		Assert.assertNull(mManager.getProfileByName(NAME, false));
+
+		IConnectionProfile profile = createProfile(NAME);
+		Assert.assertSame(profile, mManager.getProfileByName(NAME, false));
+		Assert.assertSame(profile, mManager.getProfileByInstanceID(profile
+				.getInstanceID()));
+		Assert.assertTrue(Arrays.asList(
+				mManager.getProfileByProviderID(PROVIDER_ID, false)).contains(
+				profile));
+		Assert.assertTrue(Arrays.asList(
+				mManager.getProfilesByCategory(CATEGORY_ID, false)).contains(
+				profile));
+
+		IConnectionProfile profile2 = createProfile(NAME2);
+		Assert.assertSame(profile, mManager.getProfileByName(NAME, false));
+		Assert.assertSame(profile2, mManager.getProfileByName(NAME2, false));
+	}
+
+	public void testLookupAfterDelete() throws ConnectionProfileException {
+		IConnectionProfile profile = createProfile(NAME);
+		IConnectionProfile profile2 = createProfile(NAME2);
+		Assert.assertSame(profile, mManager.getProfileByName(NAME, false));
+
+		mManager.deleteProfile(profile);
+		Assert.assertNull(mManager.getProfileByName(NAME, false));
+		Assert.assertNull(mManager.getProfileByInstanceID(profile
+				.getInstanceID()));
+		Assert.assertFalse(Arrays.asList(
+				mManager.getProfileByProviderID(PROVIDER_ID, false)).contains(
+				profile));
+		Assert.assertSame(profile2, mManager.getProfileByName(NAME2, false));
+
+		mManager.removeProfile(profile2);
+		Assert.assertNull(mManager.getProfileByName(NAME2, false));
+	}
+
+	public void testLookupAfterRename() throws ConnectionProfileException {
+		IConnectionProfile profile = createProfile(NAME);
+		Assert.assertSame(profile, mManager.getProfileByName(NAME, false));
+
+		// the profile stays in the same array, only its name changes
+		mManager.modifyProfile(profile, RENAMED, null);
+		Assert.assertNull(mManager.getProfileByName(NAME, false));
+		Assert.assertSame(profile, mManager.getProfileByName(RENAMED, false));
+		Assert.assertSame(profile, mManager.getProfileByInstanceID(profile
+				.getInstanceID()));
+	}
+
+	public void testLookupAfterProfileChanged() throws ConnectionProfileException {
+		ConnectionProfile profile = (ConnectionProfile) createProfile(NAME);
+		Assert.assertSame(profile, mManager.getProfileByName(NAME, false));
+
+		// a name set directly is indexed once the change is fired, which
+		// moves the index to a new generation
+		profile.setName(RENAMED);
+		mManager.fireProfileChanged(profile, NAME, profile.getDescription(),
+				Boolean.valueOf(profile.isAutoConnect()));
+		Assert.assertNull(mManager.getProfileByName(NAME, false));
+		Assert.assertSame(profile, mManager.getProfileByName(RENAMED, false));
+	}
+
+	public void testLookupAfterConcurrentRename() throws ConnectionProfileException {
+		IConnectionProfile profile = createProfile(NAME);
+		RenamingProfile renaming = new RenamingProfile(profile);
+		mManager.addProfile(renaming);
+
+		// the next index is built after the profile being renamed was read,
+		// and before it is renamed: it must not be kept for the next lookups
+		renaming.mArmed = true;
+		mManager.fireProfileChanged(profile, NAME, profile.getDescription(),
+				Boolean.valueOf(profile.isAutoConnect()));
+		mManager.getProfileByInstanceID(profile.getInstanceID());
+		Assert.assertFalse(renaming.mArmed);
+		Assert.assertEquals(RENAMED, profile.getName());
+
+		Assert.assertNull(mManager.getProfileByName(NAME, false));
+		Assert.assertSame(profile, mManager.getProfileByName(RENAMED, false));
+		Assert.assertSame(renaming, mManager.getProfileByName(RENAMING, false));
+	}
+
+	private IConnectionProfile createProfile(String name)
+			throws ConnectionProfileException {
+		return mManager.createProfile(name, "", PROVIDER_ID, new Properties()); //$NON-NLS-1$
+	}
+
+	private void deleteTestProfiles() throws ConnectionProfileException {
+		String[] names = new String[] { NAME, NAME2, RENAMED, RENAMING };
+		for (int i = 0; i < names.length; i++) {
+			IConnectionProfile profile = mManager.getProfileByName(names[i],
+					false);
+			if (profile != null) {
+				mManager.deleteProfile(profile);
+			}
+		}
+	}
+
+	/**
+	 * A profile which renames another profile while its own name is read to
+	 * build the index, as another thread could.
+	 */
+	private class RenamingProfile extends ConnectionProfile {
+
+		private final IConnectionProfile mRenamed;
+		private volatile boolean mArmed;
+
+		public RenamingProfile(IConnectionProfile renamed) {
+			super(RENAMING, "", PROVIDER_ID); //$NON-NLS-1$
+			mRenamed = renamed;
+		}
+
+		public String getName() {
+			if (mArmed) {
+				mArmed = false;
+				try {
+					mManager.modifyProfile(mRenamed, RENAMED, null);
+				}
+				catch (ConnectionProfileException e) {
+					throw new IllegalStateException(e.getMessage());
+				}
+			}
+			return super.getName();
+		}
+	}
+}
@@ -0,0 +1,349 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Data Tools Platform and others.
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * Contributors: Eclipse Data Tools Platform - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.datatools.connectivity.sqm.core.rte.jdbc.test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CyclicBarrier;
+
+import org.eclipse.datatools.connectivity.sqm.core.rte.jdbc.JDBCSchema;
+import org.eclipse.datatools.connectivity.sqm.core.rte.jdbc.JDBCTable;
+import org.eclipse.datatools.connectivity.sqm.loader.JDBCSchemaBulkLoader;
+import org.eclipse.datatools.connectivity.sqm.loader.JDBCSchemaChangeDetector;
+import org.eclipse.datatools.connectivity.sqm.loader.JDBCTableConstraintLoader;
+import org.eclipse.datatools.connectivity.sqm.loader.JDBCTableLoader;
+import org.eclipse.datatools.modelbase.sql.constraints.ForeignKey;
+import org.eclipse.datatools.modelbase.sql.constraints.PrimaryKey;
+import org.eclipse.datatools.modelbase.sql.constraints.SQLConstraintsFactory;
+import org.eclipse.datatools.modelbase.sql.tables.Table;
+
+import junit.framework.TestCase;
+
+/**
+ * Runs threads loading the tables and constraints of one JDBCSchema while
+ * others refresh it, to check that the lazy loads neither deadlock nor run
+ * twice at once. Each table has a foreign key referencing the primary key of
+ * the next table, the last one referencing the first, so that the loads of
+ * the constraints go through the tables of the schema, as findTable() does,
+ * and the locks of the other tables.
+ */
+public class JDBCSchemaConcurrencyTest extends TestCase {
+
+	private static final int TABLE_COUNT = 8;
+	private static final int THREAD_COUNT = 16;
+	private static final int ROUNDS = 200;
+	private static final long TIMEOUT = 60000;
+
+	private static final String KIND_TABLES = "tables"; //$NON-NLS-1$
+	private static final String KIND_PK = "pk"; //$NON-NLS-1$
+	private static final String KIND_UCS = "ucs"; //$NON-NLS-1$
+	private static final String KIND_FKS = "fks"; //$NON-NLS-1$
+
+	private TestSchema mSchema;
+	// the tables, which are reused when the schema is loaded again
+	private JDBCTable[] mTables;
+	// load key to the number of loads run and in progress
+	private final Map<String, int[]> mLoads = new HashMap<String, int[]>();
+	private final List<String> mOverlaps = new ArrayList<String>();
+
+	protected void setUp() throws Exception {
+		super.setUp();
+		mSchema = new TestSchema();
+		mSchema.setName("S"); //$NON-NLS-1$
+		mTables = (JDBCTable[]) mSchema.getTables().toArray(
+				new JDBCTable[TABLE_COUNT]);
+	}
+
+	public void testLoadWhileRefreshing() throws Throwable {
+		final CyclicBarrier barrier = new CyclicBarrier(THREAD_COUNT);
+		final List<Throwable> errors = new ArrayList<Throwable>();
+		List<Thread> threads = new ArrayList<Thread>();
+		for (int i = 0; i < THREAD_COUNT; i++) {
+			final Random random = new Random(i);
+			final boolean refresher = i % 4 == 0;
+			Thread thread = new Thread("Loader " + i) { //$NON-NLS-1$
+
+				public void run() {
+					try {
+						barrier.await();
+						for (int round = 0; round < ROUNDS; round++) {
+							// the list of tables is not read, since it is
+							// emptied while the schema is loaded again
+							mSchema.getTables();
+							JDBCTable table = mTables[random
+									.nextInt(TABLE_COUNT)];
+							if (refresher && random.nextInt(4) == 0) {
+								mSchema.refresh();
+							}
+							else if (refresher && random.nextBoolean()) {
+								table.refresh();
+							}
+							else {
+								table.getConstraints();
+							}
+						}
+					}
+					catch (Throwable e) {
+						synchronized (errors) {
+							errors.add(e);
+						}
+					}
+				}
+			};
+			thread.setDaemon(true);
+			threads.add(thread);
+			thread.start();
+		}
+		joinAll(threads);
+		if (!errors.isEmpty()) {
+			throw errors.get(0);
+		}
+		assertTrue(mOverlaps.toString(), mOverlaps.isEmpty());
+
+		// once refreshed, each feature is loaded exactly once however many
+		// threads ask for it
+		mSchema.refresh();
+		synchronized (mLoads) {
+			mLoads.clear();
+		}
+		threads.clear();
+		for (int i = 0; i < THREAD_COUNT; i++) {
+			Thread thread = new Thread("Reader " + i) { //$NON-NLS-1$
+
+				public void run() {
+					try {
+						barrier.await();
+						for (Iterator it = mSchema.getTables().iterator(); it
+								.hasNext();) {
+							((JDBCTable) it.next()).getConstraints();
+						}
+					}
+					catch (Throwable e) {
+						synchronized (errors) {
+							errors.add(e);
+						}
+					}
+				}
+			};
+			thread.setDaemon(true);
+			threads.add(thread);
+			thread.start();
+		}
+		joinAll(threads);
+		if (!errors.isEmpty()) {
+			throw errors.get(0);
+		}
+		assertTrue(mOverlaps.toString(), mOverlaps.isEmpty());
+		assertEquals(1, getLoadCount(KIND_TABLES));
+		List tables = mSchema.getTables();
+		assertEquals(TABLE_COUNT, tables.size());
+		for (int i = 0; i < TABLE_COUNT; i++) {
+			JDBCTable table = (JDBCTable) tables.get(i);
+			String name = table.getName();
+			assertEquals(1, getLoadCount(KIND_PK + name));
+			assertEquals(1, getLoadCount(KIND_UCS + name));
+			assertEquals(1, getLoadCount(KIND_FKS + name));
+
+			// no constraint is lost or duplicated
+			assertEquals(2, table.getConstraints().size());
+			assertEquals("PK_" + name, table.getPrimaryKey().getName()); //$NON-NLS-1$
+			assertEquals(1, table.getForeignKeys().size());
+			ForeignKey fk = (ForeignKey) table.getForeignKeys().get(0);
+			JDBCTable referenced = (JDBCTable) tables.get((i + 1)
+					% TABLE_COUNT);
+			assertSame(referenced.getPrimaryKey(), fk.getUniqueConstraint());
+		}
+	}
+
+	private void joinAll(List<Thread> threads) throws InterruptedException {
+		long end = System.currentTimeMillis() + TIMEOUT;
+		for (Thread thread : threads) {
+			thread.join(Math.max(1, end - System.currentTimeMillis()));
+			if (thread.isAlive()) {
+				StringBuffer dump = new StringBuffer("Deadlock:\n"); //$NON-NLS-1$
+				long[] ids = ManagementFactory.getThreadMXBean()
+						.findDeadlockedThreads();
+				if (ids != null) {
+					ThreadInfo[] infos = ManagementFactory.getThreadMXBean()
+							.getThreadInfo(ids, true, true);
+					for (int i = 0; i < infos.length; i++) {
+						dump.append(infos[i]);
+					}
+				}
+				fail(dump.toString());
+			}
+		}
+	}
+
+	private int getLoadCount(String key) {
+		synchronized (mLoads) {
+			int[] counts = mLoads.get(key);
+			return counts == null ? 0 : counts[0];
+		}
+	}
+
+	private void startLoad(String key) {
+		synchronized (mLoads) {
+			int[] counts = mLoads.get(key);
+			if (counts == null) {
+				counts = new int[2];
+				mLoads.put(key, counts);
+			}
+			counts[0]++;
+			if (++counts[1] > 1) {
+				mOverlaps.add(key);
+			}
+		}
+		// leaves the other threads a chance to overlap
+		Thread.yield();
+	}
+
+	private void endLoad(String key) {
+		synchronized (mLoads) {
+			mLoads.get(key)[1]--;
+		}
+	}
+
+	private class TestSchema extends JDBCSchema {
+
+		private static final long serialVersionUID = 1L;
+
+		protected JDBCTableLoader createTableLoader() {
+			return new TestTableLoader(this);
+		}
+
+		protected JDBCSchemaBulkLoader createBulkLoader() {
+			return null;
+		}
+
+		protected JDBCSchemaChangeDetector createChangeDetector() {
+			return null;
+		}
+	}
+
+	/**
+	 * Loads the tables TABLE_0 to TABLE_n, refreshing the tables loaded
+	 * previously as JDBCTableLoader does.
+	 */
+	private class TestTableLoader extends JDBCTableLoader {
+
+		public TestTableLoader(JDBCSchema schema) {
+			super(schema);
+		}
+
+		public void loadTables(List containmentList,
+				Collection existingTables) throws SQLException {
+			startLoad(KIND_TABLES);
+			try {
+				for (int i = 0; i < TABLE_COUNT; i++) {
+					String name = "TABLE_" + i; //$NON-NLS-1$
+					TestTable table = null;
+					for (Iterator it = existingTables.iterator(); it.hasNext();) {
+						TestTable existing = (TestTable) it.next();
+						if (name.equals(existing.getName())) {
+							it.remove();
+							table = existing;
+							table.refresh();
+							break;
+						}
+					}
+					if (table == null) {
+						table = new TestTable();
+						table.setName(name);
+					}
+					containmentList.add(table);
+				}
+			}
+			finally {
+				endLoad(KIND_TABLES);
+			}
+		}
+	}
+
+	private class TestTable extends JDBCTable {
+
+		private static final long serialVersionUID = 1L;
+
+		protected JDBCTableConstraintLoader createConstraintLoader() {
+			return new TestConstraintLoader(this);
+		}
+	}
+
+	/**
+	 * Loads a primary key and a foreign key referencing the primary key of
+	 * the next table of the schema.
+	 */
+	private class TestConstraintLoader extends JDBCTableConstraintLoader {
+
+		public TestConstraintLoader(Table table) {
+			super((JDBCTable) table);
+		}
+
+		public PrimaryKey loadPrimaryKey(PrimaryKey existingPK)
+				throws SQLException {
+			String name = getTable().getName();
+			startLoad(KIND_PK + name);
+			try {
+				if (existingPK != null) {
+					return existingPK;
+				}
+				PrimaryKey pk = SQLConstraintsFactory.eINSTANCE
+						.createPrimaryKey();
+				pk.setName("PK_" + name); //$NON-NLS-1$
+				return pk;
+			}
+			finally {
+				endLoad(KIND_PK + name);
+			}
+		}
+
+		public void loadUniqueConstraints(PrimaryKey pk, List containmentList,
+				Collection existingUCs) throws SQLException {
+			String name = getTable().getName();
+			startLoad(KIND_UCS + name);
+			endLoad(KIND_UCS + name);
+		}
+
+		public void loadForeignKeys(List containmentList, Collection existingFKs)
+				throws SQLException {
+			String name = getTable().getName();
+			startLoad(KIND_FKS + name);
+			try {
+				// takes the lock of the tables of the schema, as findTable()
+				mSchema.getTables();
+				int index = Integer.parseInt(name.substring(name
+						.indexOf('_') + 1));
+				String referencedName = "TABLE_" + (index + 1) % TABLE_COUNT; //$NON-NLS-1$
+				ForeignKey fk = (ForeignKey) getAndRemoveSQLObject(
+						existingFKs, "FK_" + name); //$NON-NLS-1$
+				if (fk == null) {
+					fk = SQLConstraintsFactory.eINSTANCE.createForeignKey();
+					fk.setName("FK_" + name); //$NON-NLS-1$
+				}
+				JDBCTable referenced = mTables[(index + 1) % TABLE_COUNT];
+				assertEquals(referencedName, referenced.getName());
+				fk.setUniqueConstraint(referenced.getPrimaryKey());
+				containmentList.add(fk);
+			}
+			finally {
+				endLoad(KIND_FKS + name);
+			}
+		}
+	}
+}
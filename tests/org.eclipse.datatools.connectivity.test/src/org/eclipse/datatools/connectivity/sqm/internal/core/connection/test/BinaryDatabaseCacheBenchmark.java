@@ -0,0 +1,287 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Data Tools Platform and others.
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * Contributors: Eclipse Data Tools Platform - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.datatools.connectivity.sqm.internal.core.connection.test;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+import org.eclipse.datatools.connectivity.sqm.internal.core.ResourceUtil;
+import org.eclipse.datatools.connectivity.sqm.internal.core.connection.BinaryDatabaseCache;
+import org.eclipse.datatools.modelbase.sql.constraints.ForeignKey;
+import org.eclipse.datatools.modelbase.sql.constraints.PrimaryKey;
+import org.eclipse.datatools.modelbase.sql.constraints.SQLConstraintsFactory;
+import org.eclipse.datatools.modelbase.sql.datatypes.CharacterStringDataType;
+import org.eclipse.datatools.modelbase.sql.datatypes.PrimitiveType;
+import org.eclipse.datatools.modelbase.sql.datatypes.SQLDataTypesFactory;
+import org.eclipse.datatools.modelbase.sql.schema.Database;
+import org.eclipse.datatools.modelbase.sql.schema.SQLSchemaFactory;
+import org.eclipse.datatools.modelbase.sql.schema.Schema;
+import org.eclipse.datatools.modelbase.sql.tables.Column;
+import org.eclipse.datatools.modelbase.sql.tables.PersistentTable;
+import org.eclipse.datatools.modelbase.sql.tables.SQLTablesFactory;
+import org.eclipse.datatools.modelbase.sql.tables.Table;
+import org.eclipse.emf.common.util.EList;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.xmi.XMIResource;
+import org.eclipse.emf.ecore.xmi.impl.XMIResourceImpl;
+
+import junit.framework.TestCase;
+
+/**
+ * Saves and loads a synthetic database of 10,000 tables with the binary cache
+ * and with the XMI cache, and checks that the binary cache loads the schemas
+ * on demand and only rewrites the schemas changed.
+ */
+public class BinaryDatabaseCacheBenchmark extends TestCase {
+
+	private static final int SCHEMA_COUNT = 20;
+
+	private static final int TABLE_COUNT = 10000;
+
+	private static final int COLUMN_COUNT = 8;
+
+	private File mDirectory;
+
+	protected void setUp() throws Exception {
+		super.setUp();
+		mDirectory = File.createTempFile("cache", null); //$NON-NLS-1$
+		mDirectory.delete();
+		mDirectory.mkdirs();
+	}
+
+	protected void tearDown() throws Exception {
+		new BinaryDatabaseCache(mDirectory).delete();
+		File[] files = mDirectory.listFiles();
+		for (int i = 0; files != null && i < files.length; i++) {
+			files[i].delete();
+		}
+		mDirectory.delete();
+		super.tearDown();
+	}
+
+	public void testLoadOnDemand() throws IOException {
+		BinaryDatabaseCache cache = new BinaryDatabaseCache(mDirectory);
+		cache.save(createDatabase(SCHEMA_COUNT, 200));
+
+		Database database = cache.load();
+		Resource resource = database.eResource();
+		assertEquals(1, resource.getResourceSet().getResources().size());
+
+		// the foreign keys of the second schema reference the first one
+		Schema schema = (Schema) database.getSchemas().get(1);
+		assertEquals("SCHEMA_1", schema.getName()); //$NON-NLS-1$
+		assertEquals(2, resource.getResourceSet().getResources().size());
+		PersistentTable table = (PersistentTable) schema.getTables().get(0);
+		assertEquals(COLUMN_COUNT, table.getColumns().size());
+		assertEquals(PrimitiveType.CHARACTER_VARYING_LITERAL,
+				((CharacterStringDataType) ((Column) table.getColumns().get(1))
+						.getContainedType()).getPrimitiveType());
+		ForeignKey fk = (ForeignKey) table.getForeignKeys().get(0);
+		Table referencedTable = fk.getReferencedTable();
+		assertSame(referencedTable, fk.getUniqueConstraint().getBaseTable());
+		assertEquals("SCHEMA_0", referencedTable.getSchema().getName()); //$NON-NLS-1$
+		assertSame(database.getSchemas().get(0), referencedTable.getSchema());
+		assertSame(database, schema.getDatabase());
+		assertEquals(3, resource.getResourceSet().getResources().size());
+
+		assertEquals(SCHEMA_COUNT * 200, countTables(database));
+		assertEquals(SCHEMA_COUNT + 1, resource.getResourceSet()
+				.getResources().size());
+		assertEquals(SCHEMA_COUNT, database.getSchemas().size());
+	}
+
+	public void testIncrementalSave() throws IOException {
+		BinaryDatabaseCache cache = new BinaryDatabaseCache(mDirectory);
+		cache.save(createDatabase(SCHEMA_COUNT, 200));
+		File[] files = getSchemaFiles();
+		assertEquals(SCHEMA_COUNT, files.length);
+		for (int i = 0; i < files.length; i++) {
+			files[i].setLastModified(0);
+		}
+
+		Database database = cache.load();
+		Schema schema = (Schema) database.getSchemas().get(3);
+		Table table = (Table) schema.getTables().get(7);
+		Column column = SQLTablesFactory.eINSTANCE.createColumn();
+		column.setName("ADDED"); //$NON-NLS-1$
+		table.getColumns().add(column);
+		cache.save(database);
+		assertNull(database.eResource());
+
+		int changed = 0;
+		files = getSchemaFiles();
+		for (int i = 0; i < files.length; i++) {
+			if (files[i].lastModified() != 0) {
+				changed++;
+			}
+		}
+		assertEquals(1, changed);
+
+		// a schema dropped is removed from the cache
+		cache.save(createDatabase(SCHEMA_COUNT - 1, 200));
+		assertEquals(SCHEMA_COUNT - 1, getSchemaFiles().length);
+
+		database = cache.load();
+		assertEquals((SCHEMA_COUNT - 1) * 200, countTables(database));
+	}
+
+	public void testBenchmark() throws IOException {
+		int tablesPerSchema = TABLE_COUNT / SCHEMA_COUNT;
+		File xmiFile = new File(mDirectory, "cache.xmi"); //$NON-NLS-1$
+		BinaryDatabaseCache cache = new BinaryDatabaseCache(mDirectory);
+
+		long start = System.nanoTime();
+		saveXMI(createDatabase(SCHEMA_COUNT, tablesPerSchema), xmiFile);
+		long xmiSave = System.nanoTime() - start;
+		start = System.nanoTime();
+		Database database = loadXMI(xmiFile);
+		long xmiLoad = System.nanoTime() - start;
+		assertEquals(TABLE_COUNT, countTables(database));
+
+		start = System.nanoTime();
+		cache.save(createDatabase(SCHEMA_COUNT, tablesPerSchema));
+		long binarySave = System.nanoTime() - start;
+		start = System.nanoTime();
+		database = cache.load();
+		((Schema) database.getSchemas().get(0)).getTables().size();
+		long binaryFirstSchema = System.nanoTime() - start;
+		assertEquals(TABLE_COUNT, countTables(database));
+		long binaryLoad = System.nanoTime() - start;
+
+		start = System.nanoTime();
+		cache.save(database);
+		long binaryResave = System.nanoTime() - start;
+
+		long binarySize = cache.getDatabaseFile().length();
+		File[] files = getSchemaFiles();
+		for (int i = 0; i < files.length; i++) {
+			binarySize += files[i].length();
+		}
+		System.out.println(TABLE_COUNT + " tables, XMI: save " + xmiSave / 1000000 //$NON-NLS-1$
+				+ " ms, load " + xmiLoad / 1000000 + " ms, " //$NON-NLS-1$ //$NON-NLS-2$
+				+ xmiFile.length() / 1024 + " KB"); //$NON-NLS-1$
+		System.out.println(TABLE_COUNT + " tables, binary: save " //$NON-NLS-1$
+				+ binarySave / 1000000 + " ms, first schema " //$NON-NLS-1$
+				+ binaryFirstSchema / 1000000 + " ms, load " //$NON-NLS-1$
+				+ binaryLoad / 1000000 + " ms, unchanged save " //$NON-NLS-1$
+				+ binaryResave / 1000000 + " ms, " + binarySize / 1024 + " KB"); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	private File[] getSchemaFiles() {
+		return new File(mDirectory, BinaryDatabaseCache.SCHEMA_DIRECTORY_NAME)
+				.listFiles();
+	}
+
+	private static int countTables(Database database) {
+		int count = 0;
+		Iterator it = database.getSchemas().iterator();
+		while (it.hasNext()) {
+			Iterator tables = ((Schema) it.next()).getTables().iterator();
+			while (tables.hasNext()) {
+				count += ((Table) tables.next()).getColumns().size() > 0 ? 1 : 0;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Saves a database the way ConnectionInfoImpl saves the XMI cache.
+	 */
+	private static void saveXMI(Database database, File file)
+			throws IOException {
+		OutputStream out = new FileOutputStream(file);
+		try {
+			Resource r = new XMIResourceImpl();
+			r.getContents().add(database);
+			ResourceUtil.resolveDanglingReferences(r);
+			Map options = new HashMap();
+			options.put(XMIResource.OPTION_ENCODING, "UTF-8"); //$NON-NLS-1$
+			r.save(out, options);
+			r.getContents().clear();
+		}
+		finally {
+			out.close();
+		}
+	}
+
+	private static Database loadXMI(File file) throws IOException {
+		InputStream in = new FileInputStream(file);
+		try {
+			Resource r = new XMIResourceImpl();
+			r.load(in, (Map) null);
+			EList l = r.getContents();
+			Database database = (Database) l.get(0);
+			l.clear();
+			return database;
+		}
+		finally {
+			in.close();
+		}
+	}
+
+	/**
+	 * Creates a database whose tables each have a primary key and a foreign
+	 * key on the table of the same rank in the previous schema.
+	 */
+	private static Database createDatabase(int schemaCount,
+			int tablesPerSchema) {
+		Database database = SQLSchemaFactory.eINSTANCE.createDatabase();
+		database.setName("DATABASE"); //$NON-NLS-1$
+		PersistentTable[] previous = null;
+		for (int s = 0; s < schemaCount; s++) {
+			Schema schema = SQLSchemaFactory.eINSTANCE.createSchema();
+			schema.setName("SCHEMA_" + s); //$NON-NLS-1$
+			database.getSchemas().add(schema);
+			PersistentTable[] tables = new PersistentTable[tablesPerSchema];
+			for (int t = 0; t < tablesPerSchema; t++) {
+				PersistentTable table = SQLTablesFactory.eINSTANCE
+						.createPersistentTable();
+				table.setName("TABLE_" + t); //$NON-NLS-1$
+				table.setDescription("Table " + t + " of schema " + s); //$NON-NLS-1$ //$NON-NLS-2$
+				for (int c = 0; c < COLUMN_COUNT; c++) {
+					Column column = SQLTablesFactory.eINSTANCE.createColumn();
+					column.setName("COLUMN_" + c); //$NON-NLS-1$
+					column.setNullable(c > 0);
+					CharacterStringDataType type = SQLDataTypesFactory.eINSTANCE
+							.createCharacterStringDataType();
+					type.setPrimitiveType(PrimitiveType.CHARACTER_VARYING_LITERAL);
+					type.setLength(32 + c);
+					column.setContainedType(type);
+					table.getColumns().add(column);
+				}
+				PrimaryKey pk = SQLConstraintsFactory.eINSTANCE.createPrimaryKey();
+				pk.setName("PK_" + t); //$NON-NLS-1$
+				pk.getMembers().add(table.getColumns().get(0));
+				table.getConstraints().add(pk);
+				if (previous != null) {
+					ForeignKey fk = SQLConstraintsFactory.eINSTANCE
+							.createForeignKey();
+					fk.setName("FK_" + t); //$NON-NLS-1$
+					fk.getMembers().add(table.getColumns().get(0));
+					fk.setUniqueConstraint(previous[t].getPrimaryKey());
+					fk.setReferencedTable(previous[t]);
+					table.getConstraints().add(fk);
+				}
+				table.setSchema(schema);
+				tables[t] = table;
+			}
+			previous = tables;
+		}
+		return database;
+	}
+}
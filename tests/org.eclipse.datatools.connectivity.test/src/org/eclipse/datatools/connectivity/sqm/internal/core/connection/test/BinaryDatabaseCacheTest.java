@@ -0,0 +1,314 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Data Tools Platform and others.
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * Contributors: Eclipse Data Tools Platform - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.datatools.connectivity.sqm.internal.core.connection.test;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.core.runtime.Preferences;
+import org.eclipse.datatools.connectivity.internal.ConnectionProfile;
+import org.eclipse.datatools.connectivity.sqm.internal.core.RDBCorePlugin;
+import org.eclipse.datatools.connectivity.sqm.internal.core.connection.BinaryDatabaseCache;
+import org.eclipse.datatools.connectivity.sqm.internal.core.connection.ConnectionFactory;
+import org.eclipse.datatools.connectivity.sqm.internal.core.connection.ConnectionInfo;
+import org.eclipse.datatools.connectivity.sqm.internal.core.connection.ConnectionInfoImpl;
+import org.eclipse.datatools.connectivity.sqm.internal.core.util.RDBCorePluginConstants;
+import org.eclipse.datatools.modelbase.sql.constraints.ForeignKey;
+import org.eclipse.datatools.modelbase.sql.constraints.PrimaryKey;
+import org.eclipse.datatools.modelbase.sql.constraints.SQLConstraintsFactory;
+import org.eclipse.datatools.modelbase.sql.datatypes.CharacterStringDataType;
+import org.eclipse.datatools.modelbase.sql.datatypes.PrimitiveType;
+import org.eclipse.datatools.modelbase.sql.datatypes.SQLDataTypesFactory;
+import org.eclipse.datatools.modelbase.sql.schema.Database;
+import org.eclipse.datatools.modelbase.sql.schema.SQLSchemaFactory;
+import org.eclipse.datatools.modelbase.sql.schema.Schema;
+import org.eclipse.datatools.modelbase.sql.tables.Column;
+import org.eclipse.datatools.modelbase.sql.tables.PersistentTable;
+import org.eclipse.datatools.modelbase.sql.tables.SQLTablesFactory;
+
+import junit.framework.TestCase;
+
+/**
+ * Checks that a database saved with BinaryDatabaseCache loads back the same,
+ * that a save only rewrites the schemas changed, and that ConnectionInfoImpl
+ * reads the XMI cache until the binary cache replaces it.
+ */
+public class BinaryDatabaseCacheTest extends TestCase {
+
+	private static final String PROVIDER_ID = "org.eclipse.datatools.connectivity.db.generic.connectionProfile"; //$NON-NLS-1$
+
+	private File mDirectory;
+
+	protected void setUp() throws Exception {
+		super.setUp();
+		mDirectory = File.createTempFile("cache", null); //$NON-NLS-1$
+		mDirectory.delete();
+		mDirectory.mkdirs();
+	}
+
+	protected void tearDown() throws Exception {
+		deleteCache(mDirectory);
+		super.tearDown();
+	}
+
+	public void testRoundTrip() throws IOException {
+		BinaryDatabaseCache cache = new BinaryDatabaseCache(mDirectory);
+		assertFalse(cache.exists());
+		cache.save(createDatabase("DB", 3)); //$NON-NLS-1$
+		assertTrue(cache.exists());
+		assertEquals(3, getSchemaFiles().length);
+		assertNoTemporaryFiles();
+
+		Database database = cache.load();
+		assertEquals("DB", database.getName()); //$NON-NLS-1$
+		assertEquals(3, database.getSchemas().size());
+		for (int s = 0; s < 3; s++) {
+			Schema schema = (Schema) database.getSchemas().get(s);
+			assertEquals("SCHEMA_" + s, schema.getName()); //$NON-NLS-1$
+			assertSame(database, schema.getDatabase());
+			assertEquals(2, schema.getTables().size());
+			for (int t = 0; t < 2; t++) {
+				PersistentTable table = (PersistentTable) schema.getTables()
+						.get(t);
+				assertEquals("TABLE_" + t, table.getName()); //$NON-NLS-1$
+				assertEquals(2, table.getColumns().size());
+				Column column = (Column) table.getColumns().get(1);
+				assertEquals("COLUMN_1", column.getName()); //$NON-NLS-1$
+				assertTrue(column.isNullable());
+				CharacterStringDataType type = (CharacterStringDataType) column
+						.getContainedType();
+				assertEquals(PrimitiveType.CHARACTER_VARYING_LITERAL, type
+						.getPrimitiveType());
+				assertEquals(33, type.getLength());
+				PrimaryKey pk = table.getPrimaryKey();
+				assertEquals("PK_" + t, pk.getName()); //$NON-NLS-1$
+				assertSame(table.getColumns().get(0), pk.getMembers().get(0));
+				if (s == 0) {
+					assertTrue(table.getForeignKeys().isEmpty());
+					continue;
+				}
+				// the foreign keys reference the file of the previous schema
+				ForeignKey fk = (ForeignKey) table.getForeignKeys().get(0);
+				PersistentTable referenced = (PersistentTable) ((Schema) database
+						.getSchemas().get(s - 1)).getTables().get(t);
+				assertSame(referenced, fk.getReferencedTable());
+				assertSame(referenced.getPrimaryKey(), fk.getUniqueConstraint());
+			}
+		}
+	}
+
+	public void testIncrementalSave() throws IOException {
+		BinaryDatabaseCache cache = new BinaryDatabaseCache(mDirectory);
+		cache.save(createDatabase("DB", 3)); //$NON-NLS-1$
+		File[] files = getSchemaFiles();
+		Map contents = new HashMap();
+		for (int i = 0; i < files.length; i++) {
+			contents.put(files[i].getName(), read(files[i]));
+			files[i].setLastModified(0);
+		}
+
+		// saving the database loaded rewrites nothing
+		Database database = cache.load();
+		cache.save(database);
+		files = getSchemaFiles();
+		for (int i = 0; i < files.length; i++) {
+			assertEquals(0, files[i].lastModified());
+		}
+
+		database = cache.load();
+		Schema schema = (Schema) database.getSchemas().get(1);
+		PersistentTable table = (PersistentTable) schema.getTables().get(0);
+		Column column = SQLTablesFactory.eINSTANCE.createColumn();
+		column.setName("ADDED"); //$NON-NLS-1$
+		table.getColumns().add(column);
+		cache.save(database);
+		assertNoTemporaryFiles();
+
+		int changed = 0;
+		files = getSchemaFiles();
+		assertEquals(3, files.length);
+		for (int i = 0; i < files.length; i++) {
+			byte[] previous = (byte[]) contents.get(files[i].getName());
+			if (files[i].lastModified() != 0) {
+				changed++;
+				assertFalse(Arrays.equals(previous, read(files[i])));
+			}
+			else {
+				assertTrue(Arrays.equals(previous, read(files[i])));
+			}
+		}
+		assertEquals(1, changed);
+
+		database = cache.load();
+		schema = (Schema) database.getSchemas().get(1);
+		table = (PersistentTable) schema.getTables().get(0);
+		assertEquals(3, table.getColumns().size());
+		assertEquals("ADDED", ((Column) table.getColumns().get(2)).getName()); //$NON-NLS-1$
+		// the foreign keys of the next schema still resolve
+		table = (PersistentTable) ((Schema) database.getSchemas().get(2))
+				.getTables().get(0);
+		ForeignKey fk = (ForeignKey) table.getForeignKeys().get(0);
+		assertSame(schema, fk.getReferencedTable().getSchema());
+	}
+
+	public void testBinaryCacheReplacesXMI() throws IOException {
+		Preferences preferences = RDBCorePlugin.getDefault()
+				.getPluginPreferences();
+		boolean binary = preferences
+				.getBoolean(RDBCorePluginConstants.BINARY_CACHE_CATALOG);
+		ConnectionProfile profile = new ConnectionProfile(
+				"BinaryDatabaseCacheTest" + System.currentTimeMillis(), //$NON-NLS-1$
+				"", PROVIDER_ID); //$NON-NLS-1$
+		ConnectionInfoImpl info = new ConnectionInfoImpl(profile,
+				ConnectionFactory.class);
+		File directory = RDBCorePlugin.getDefaultStateLocation().append(
+				ConnectionInfo.CONNECTION).append(profile.getName()).toFile();
+		try {
+			preferences.setValue(RDBCorePluginConstants.BINARY_CACHE_CATALOG,
+					false);
+			info.cacheDatabase(createDatabase("XMI", 1)); //$NON-NLS-1$
+			File xmiFile = new File(directory, "cache.xmi"); //$NON-NLS-1$
+			assertTrue(xmiFile.exists());
+
+			// the XMI cache is read until the binary cache is saved
+			preferences.setValue(RDBCorePluginConstants.BINARY_CACHE_CATALOG,
+					true);
+			Database database = info.getCachedDatabase();
+			assertEquals("XMI", database.getName()); //$NON-NLS-1$
+			assertEquals(1, database.getSchemas().size());
+
+			// the XMI cache, no longer written, is then deleted
+			info.cacheDatabase(createDatabase("BINARY", 1)); //$NON-NLS-1$
+			assertFalse(xmiFile.exists());
+			BinaryDatabaseCache cache = new BinaryDatabaseCache(directory);
+			assertTrue(cache.exists());
+			database = info.getCachedDatabase();
+			assertEquals("BINARY", database.getName()); //$NON-NLS-1$
+			BinaryDatabaseCache.detach(database);
+
+			OutputStream out = new FileOutputStream(cache.getDatabaseFile());
+			try {
+				out.write(new byte[] { 1, 2, 3 });
+			}
+			finally {
+				out.close();
+			}
+			// an unreadable binary cache does not bring back a stale catalog
+			assertNull(info.getCachedDatabase());
+		}
+		finally {
+			preferences.setValue(RDBCorePluginConstants.BINARY_CACHE_CATALOG,
+					binary);
+			deleteCache(directory);
+		}
+	}
+
+	private File[] getSchemaFiles() {
+		return new File(mDirectory, BinaryDatabaseCache.SCHEMA_DIRECTORY_NAME)
+				.listFiles();
+	}
+
+	private void assertNoTemporaryFiles() {
+		File[] files = mDirectory.listFiles();
+		for (int i = 0; i < files.length; i++) {
+			assertFalse(files[i].getName(), files[i].getName().endsWith(".tmp")); //$NON-NLS-1$
+		}
+		files = getSchemaFiles();
+		for (int i = 0; i < files.length; i++) {
+			assertFalse(files[i].getName(), files[i].getName().endsWith(".tmp")); //$NON-NLS-1$
+		}
+	}
+
+	private static void deleteCache(File directory) {
+		new BinaryDatabaseCache(directory).delete();
+		File[] files = directory.listFiles();
+		for (int i = 0; files != null && i < files.length; i++) {
+			files[i].delete();
+		}
+		directory.delete();
+	}
+
+	private static byte[] read(File file) throws IOException {
+		byte[] content = new byte[(int) file.length()];
+		InputStream in = new FileInputStream(file);
+		try {
+			int offset = 0;
+			while (offset < content.length) {
+				int count = in.read(content, offset, content.length - offset);
+				if (count < 0) {
+					break;
+				}
+				offset += count;
+			}
+		}
+		finally {
+			in.close();
+		}
+		return content;
+	}
+
+	/**
+	 * Creates a database of two tables per schema, whose tables each have a
+	 * primary key and a foreign key on the table of the same rank in the
+	 * previous schema.
+	 */
+	private static Database createDatabase(String name, int schemaCount) {
+		Database database = SQLSchemaFactory.eINSTANCE.createDatabase();
+		database.setName(name);
+		PersistentTable[] previous = null;
+		for (int s = 0; s < schemaCount; s++) {
+			Schema schema = SQLSchemaFactory.eINSTANCE.createSchema();
+			schema.setName("SCHEMA_" + s); //$NON-NLS-1$
+			database.getSchemas().add(schema);
+			PersistentTable[] tables = new PersistentTable[2];
+			for (int t = 0; t < tables.length; t++) {
+				PersistentTable table = SQLTablesFactory.eINSTANCE
+						.createPersistentTable();
+				table.setName("TABLE_" + t); //$NON-NLS-1$
+				for (int c = 0; c < 2; c++) {
+					Column column = SQLTablesFactory.eINSTANCE.createColumn();
+					column.setName("COLUMN_" + c); //$NON-NLS-1$
+					column.setNullable(c > 0);
+					CharacterStringDataType type = SQLDataTypesFactory.eINSTANCE
+							.createCharacterStringDataType();
+					type.setPrimitiveType(PrimitiveType.CHARACTER_VARYING_LITERAL);
+					type.setLength(32 + c);
+					column.setContainedType(type);
+					table.getColumns().add(column);
+				}
+				PrimaryKey pk = SQLConstraintsFactory.eINSTANCE.createPrimaryKey();
+				pk.setName("PK_" + t); //$NON-NLS-1$
+				pk.getMembers().add(table.getColumns().get(0));
+				table.getConstraints().add(pk);
+				if (previous != null) {
+					ForeignKey fk = SQLConstraintsFactory.eINSTANCE
+							.createForeignKey();
+					fk.setName("FK_" + t); //$NON-NLS-1$
+					fk.getMembers().add(table.getColumns().get(0));
+					fk.setUniqueConstraint(previous[t].getPrimaryKey());
+					fk.setReferencedTable(previous[t]);
+					table.getConstraints().add(fk);
+				}
+				table.setSchema(schema);
+				tables[t] = table;
+			}
+			previous = tables;
+		}
+		return database;
+	}
+}
@@ -0,0 +1,154 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Data Tools Platform and others.
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * Contributors: Eclipse Data Tools Platform - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.datatools.connectivity.sqm.loader.test;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+import org.eclipse.datatools.connectivity.sqm.loader.JDBCBaseLoader;
+import org.eclipse.datatools.modelbase.sql.schema.SQLObject;
+
+import junit.framework.TestCase;
+
+/**
+ * Checks the reconciliation of the objects loaded previously with the rows
+ * of a load by JDBCBaseLoader.getAndRemoveSQLObject().
+ */
+public class JDBCBaseLoaderTest extends TestCase {
+
+	private TestLoader mLoader;
+
+	protected void setUp() throws Exception {
+		super.setUp();
+		mLoader = new TestLoader();
+	}
+
+	public void testReuse() {
+		SQLObject a = createObject("A"); //$NON-NLS-1$
+		SQLObject b1 = createObject("B"); //$NON-NLS-1$
+		SQLObject c = createObject("C"); //$NON-NLS-1$
+		SQLObject b2 = createObject("B"); //$NON-NLS-1$
+		SQLObject d = createObject("D"); //$NON-NLS-1$
+		List<SQLObject> existing = new ArrayList<SQLObject>();
+		existing.add(a);
+		existing.add(b1);
+		existing.add(c);
+		existing.add(b2);
+		existing.add(d);
+
+		assertSame(a, mLoader.getAndRemoveSQLObject(existing, "A")); //$NON-NLS-1$
+		assertEquals(4, existing.size());
+		assertFalse(existing.contains(a));
+		// the objects sharing a name are reused in collection order
+		assertSame(b1, mLoader.getAndRemoveSQLObject(existing, "B")); //$NON-NLS-1$
+		assertNull(mLoader.getAndRemoveSQLObject(existing, "E")); //$NON-NLS-1$
+		assertNull(mLoader.getAndRemoveSQLObject(existing, null));
+		assertSame(d, mLoader.getAndRemoveSQLObject(existing, "D")); //$NON-NLS-1$
+		assertSame(b2, mLoader.getAndRemoveSQLObject(existing, "B")); //$NON-NLS-1$
+		assertNull(mLoader.getAndRemoveSQLObject(existing, "B")); //$NON-NLS-1$
+
+		// the object left is the one which was not reused
+		assertEquals(1, existing.size());
+		assertSame(c, existing.get(0));
+		assertSame(c, mLoader.getAndRemoveSQLObject(existing, "C")); //$NON-NLS-1$
+		assertTrue(existing.isEmpty());
+	}
+
+	public void testChangedCollection() {
+		SQLObject a = createObject("A"); //$NON-NLS-1$
+		SQLObject b = createObject("B"); //$NON-NLS-1$
+		SQLObject c = createObject("C"); //$NON-NLS-1$
+		List<SQLObject> existing = new ArrayList<SQLObject>();
+		existing.add(a);
+		existing.add(b);
+		existing.add(c);
+		assertSame(c, mLoader.getAndRemoveSQLObject(existing, "C")); //$NON-NLS-1$
+
+		// an object removed and another added keep the size of the
+		// collection, while moving the indexed objects
+		existing.remove(a);
+		SQLObject d = createObject("D"); //$NON-NLS-1$
+		existing.add(d);
+		assertSame(d, mLoader.getAndRemoveSQLObject(existing, "D")); //$NON-NLS-1$
+		assertNull(mLoader.getAndRemoveSQLObject(existing, "A")); //$NON-NLS-1$
+		assertEquals(1, existing.size());
+		assertSame(b, existing.get(0));
+
+		// the same in place
+		existing.set(0, a);
+		assertNull(mLoader.getAndRemoveSQLObject(existing, "B")); //$NON-NLS-1$
+		assertSame(a, mLoader.getAndRemoveSQLObject(existing, "A")); //$NON-NLS-1$
+		assertTrue(existing.isEmpty());
+	}
+
+	public void testOtherCollections() {
+		SQLObject a = createObject("A"); //$NON-NLS-1$
+		SQLObject b = createObject("B"); //$NON-NLS-1$
+		Collection<SQLObject> existing = new LinkedHashSet<SQLObject>();
+		existing.add(a);
+		existing.add(b);
+		assertSame(b, mLoader.getAndRemoveSQLObject(existing, "B")); //$NON-NLS-1$
+		existing.remove(a);
+		SQLObject c = createObject("C"); //$NON-NLS-1$
+		existing.add(c);
+		assertNull(mLoader.getAndRemoveSQLObject(existing, "A")); //$NON-NLS-1$
+		assertSame(c, mLoader.getAndRemoveSQLObject(existing, "C")); //$NON-NLS-1$
+		assertTrue(existing.isEmpty());
+
+		// another collection is indexed on its own
+		List<SQLObject> other = new ArrayList<SQLObject>();
+		other.add(a);
+		assertSame(a, mLoader.getAndRemoveSQLObject(other, "A")); //$NON-NLS-1$
+		assertTrue(other.isEmpty());
+	}
+
+	private static SQLObject createObject(final String name) {
+		return (SQLObject) Proxy.newProxyInstance(JDBCBaseLoaderTest.class
+				.getClassLoader(), new Class[] { SQLObject.class },
+				new InvocationHandler() {
+
+					public Object invoke(Object proxy, Method method,
+							Object[] args) {
+						String methodName = method.getName();
+						if ("getName".equals(methodName)) { //$NON-NLS-1$
+							return name;
+						}
+						else if ("hashCode".equals(methodName)) { //$NON-NLS-1$
+							return Integer.valueOf(System.identityHashCode(proxy));
+						}
+						else if ("equals".equals(methodName)) { //$NON-NLS-1$
+							return Boolean.valueOf(proxy == args[0]);
+						}
+						else if ("toString".equals(methodName)) { //$NON-NLS-1$
+							return name;
+						}
+						throw new UnsupportedOperationException(methodName);
+					}
+				});
+	}
+
+	private static class TestLoader extends JDBCBaseLoader {
+
+		public TestLoader() {
+			super(null, null);
+		}
+
+		public SQLObject getAndRemoveSQLObject(Collection sqlObjs,
+				String objName) {
+			return super.getAndRemoveSQLObject(sqlObjs, objName);
+		}
+	}
+}
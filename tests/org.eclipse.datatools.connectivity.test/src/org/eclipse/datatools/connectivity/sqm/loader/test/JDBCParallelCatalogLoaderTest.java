@@ -0,0 +1,240 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Data Tools Platform and others.
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * Contributors: Eclipse Data Tools Platform - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.datatools.connectivity.sqm.loader.test;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.datatools.connectivity.sqm.loader.JDBCParallelCatalogLoader;
+import org.eclipse.datatools.connectivity.sqm.loader.JDBCParallelCatalogLoader.LoadTiming;
+import org.eclipse.datatools.modelbase.sql.schema.Catalog;
+import org.eclipse.datatools.modelbase.sql.schema.Database;
+import org.eclipse.datatools.modelbase.sql.schema.Schema;
+import org.eclipse.emf.common.util.BasicEList;
+
+import junit.framework.TestCase;
+
+/**
+ * Checks the loads run by JDBCParallelCatalogLoader and the closing of its
+ * auxiliary connections, on schemas whose lazy getters are simulated.
+ */
+public class JDBCParallelCatalogLoaderTest extends TestCase {
+
+	private Database mDatabase;
+	private Catalog mCatalog;
+	private TestLoader mLoader;
+
+	protected void setUp() throws Exception {
+		super.setUp();
+		mDatabase = (Database) createModelObject(Database.class, "DB", null); //$NON-NLS-1$
+		mCatalog = (Catalog) createModelObject(Catalog.class, "C", null); //$NON-NLS-1$
+		mLoader = new TestLoader(mDatabase, 3);
+		mLoader.setLoadTableContents(false);
+	}
+
+	public void testLoad() {
+		List<Schema> schemas = new ArrayList<Schema>();
+		for (int i = 0; i < 5; i++) {
+			schemas.add(createSchema("S" + i, null)); //$NON-NLS-1$
+		}
+		mLoader.load(schemas, null);
+
+		List timings = mLoader.getTimings();
+		assertEquals(15, timings.size());
+		for (Iterator it = timings.iterator(); it.hasNext();) {
+			LoadTiming timing = (LoadTiming) it.next();
+			assertNull(timing.getError());
+			assertTrue(timing.getThreadName().startsWith("Catalog loader DB #")); //$NON-NLS-1$
+		}
+		assertEquals(3, mLoader.mCreated.size());
+		assertTrue(mLoader.mOpen.isEmpty());
+	}
+
+	public void testSerialLoad() {
+		mLoader.mMaxConnections = 0;
+		mLoader.load(Collections.singletonList(createSchema("S", null)), null); //$NON-NLS-1$
+		List timings = mLoader.getTimings();
+		assertEquals(3, timings.size());
+		String thread = Thread.currentThread().getName();
+		for (Iterator it = timings.iterator(); it.hasNext();) {
+			assertEquals(thread, ((LoadTiming) it.next()).getThreadName());
+		}
+	}
+
+	public void testErrors() {
+		final RuntimeException exception = new IllegalStateException();
+		final Error error = new AssertionError();
+		List<Schema> schemas = new ArrayList<Schema>();
+		schemas.add(createSchema("S0", new Runnable() { //$NON-NLS-1$
+
+					public void run() {
+						throw exception;
+					}
+				}));
+		schemas.add(createSchema("S1", new Runnable() { //$NON-NLS-1$
+
+					public void run() {
+						throw error;
+					}
+				}));
+		mLoader.load(schemas, null);
+
+		// the loads of the routines fail, so the user defined types are not
+		// loaded, but both failures are timed
+		List timings = mLoader.getTimings();
+		assertEquals(4, timings.size());
+		List<Throwable> errors = new ArrayList<Throwable>();
+		for (Iterator it = timings.iterator(); it.hasNext();) {
+			LoadTiming timing = (LoadTiming) it.next();
+			if (timing.getError() != null) {
+				assertEquals(JDBCParallelCatalogLoader.KIND_ROUTINES, timing
+						.getKind());
+				errors.add(timing.getError());
+			}
+		}
+		assertEquals(2, errors.size());
+		assertTrue(errors.contains(exception));
+		assertTrue(errors.contains(error));
+		assertTrue(mLoader.mOpen.isEmpty());
+	}
+
+	public void testInterrupted() throws Exception {
+		final CountDownLatch started = new CountDownLatch(1);
+		final CountDownLatch release = new CountDownLatch(1);
+		final Schema schema = createSchema("S", new Runnable() { //$NON-NLS-1$
+
+			public void run() {
+				started.countDown();
+				try {
+					release.await();
+				}
+				catch (InterruptedException e) {
+					// interrupted by the loader, keep the connection a while
+					try {
+						release.await();
+					}
+					catch (InterruptedException e1) {
+					}
+				}
+			}
+		});
+		Thread thread = new Thread() {
+
+			public void run() {
+				mLoader.load(Collections.singletonList(schema), null);
+			}
+		};
+		thread.start();
+		assertTrue(started.await(10, TimeUnit.SECONDS));
+		thread.interrupt();
+		thread.join(10000);
+		assertFalse(thread.isAlive());
+
+		// the connection in use is closed once the load returns it
+		assertEquals(3, mLoader.mCreated.size());
+		assertEquals(1, mLoader.mOpen.size());
+		release.countDown();
+		for (int i = 0; i < 100 && !mLoader.mOpen.isEmpty(); i++) {
+			Thread.sleep(100);
+		}
+		assertTrue(mLoader.mOpen.isEmpty());
+	}
+
+	private Schema createSchema(String name, Runnable routines) {
+		return (Schema) createModelObject(Schema.class, name, routines);
+	}
+
+	/**
+	 * Creates a database, catalog or schema whose lists are empty, running an
+	 * action when the routines of a schema are loaded.
+	 */
+	private Object createModelObject(Class type, final String name,
+			final Runnable routines) {
+		return Proxy.newProxyInstance(getClass().getClassLoader(),
+				new Class[] { type }, new InvocationHandler() {
+
+					public Object invoke(Object proxy, Method method,
+							Object[] args) throws Throwable {
+						String methodName = method.getName();
+						if ("getName".equals(methodName)) { //$NON-NLS-1$
+							return name;
+						}
+						else if ("getCatalog".equals(methodName)) { //$NON-NLS-1$
+							return mCatalog;
+						}
+						else if ("getRoutines".equals(methodName) //$NON-NLS-1$
+								&& routines != null) {
+							routines.run();
+						}
+						else if ("hashCode".equals(methodName)) { //$NON-NLS-1$
+							return Integer.valueOf(System.identityHashCode(proxy));
+						}
+						else if ("equals".equals(methodName)) { //$NON-NLS-1$
+							return Boolean.valueOf(proxy == args[0]);
+						}
+						else if ("toString".equals(methodName)) { //$NON-NLS-1$
+							return name;
+						}
+						return new BasicEList();
+					}
+				});
+	}
+
+	private static class TestLoader extends JDBCParallelCatalogLoader {
+
+		private int mMaxConnections = Integer.MAX_VALUE;
+		private final List<Connection> mCreated = Collections
+				.synchronizedList(new ArrayList<Connection>());
+		private final List<Connection> mOpen = Collections
+				.synchronizedList(new ArrayList<Connection>());
+
+		public TestLoader(Database database, int threadCount) {
+			super(database, threadCount);
+		}
+
+		protected Connection createConnection() {
+			if (mCreated.size() >= mMaxConnections) {
+				return null;
+			}
+			Connection connection = (Connection) Proxy.newProxyInstance(
+					getClass().getClassLoader(),
+					new Class[] { Connection.class }, new InvocationHandler() {
+
+						public Object invoke(Object proxy, Method method,
+								Object[] args) {
+							if ("hashCode".equals(method.getName())) { //$NON-NLS-1$
+								return Integer.valueOf(System
+										.identityHashCode(proxy));
+							}
+							else if ("equals".equals(method.getName())) { //$NON-NLS-1$
+								return Boolean.valueOf(proxy == args[0]);
+							}
+							return null;
+						}
+					});
+			mCreated.add(connection);
+			mOpen.add(connection);
+			return connection;
+		}
+
+		protected void closeConnection(Connection connection) {
+			assertTrue(mOpen.remove(connection));
+		}
+	}
+}
@@ -0,0 +1,290 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Data Tools Platform and others.
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * Contributors: Eclipse Data Tools Platform - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.datatools.connectivity.sqm.loader.test;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.datatools.connectivity.sqm.core.rte.jdbc.JDBCSchema;
+import org.eclipse.datatools.connectivity.sqm.loader.JDBCSchemaBulkLoader;
+import org.eclipse.datatools.modelbase.sql.schema.Catalog;
+import org.eclipse.datatools.modelbase.sql.schema.SQLSchemaFactory;
+
+import junit.framework.TestCase;
+
+/**
+ * Checks the rows handed to the table loaders by JDBCSchemaBulkLoader, and
+ * the result sets over them, from a DatabaseMetaData returning the rows of
+ * all the tables of a schema.
+ */
+public class JDBCSchemaBulkLoaderTest extends TestCase {
+
+	private static final String[] COLUMN_LABELS = new String[] {
+			"TABLE_SCHEM", "TABLE_NAME", "COLUMN_NAME", "ORDINAL_POSITION", //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+			"NULLABLE", "COLUMN_SIZE", "DECIMAL_DIGITS" }; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+
+	private static final String[] PRIMARY_KEY_LABELS = new String[] {
+			"TABLE_SCHEM", "TABLE_NAME", "COLUMN_NAME", "KEY_SEQ", "PK_NAME" }; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$
+
+	private MetaDataHandler mMetaData;
+	private JDBCSchemaBulkLoader mLoader;
+
+	protected void setUp() throws Exception {
+		super.setUp();
+		mMetaData = new MetaDataHandler();
+		mMetaData.mColumns = new Object[][] {
+				{ "S", "T1", "ID", Integer.valueOf(1), "0", null, null }, //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+				{ "S", "T1", "NAME", "2", Integer.valueOf(1), //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+						new BigDecimal("30"), null }, //$NON-NLS-1$
+				{ "S", "T2", "ID", Long.valueOf(1), Boolean.FALSE, null, //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+						new BigDecimal("1E+1") }, //$NON-NLS-1$
+				{ "OTHER", "T3", "ID", Integer.valueOf(1), null, null, null }, //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+				{ "S", null, "ID", Integer.valueOf(1), null, null, null } }; //$NON-NLS-1$ //$NON-NLS-2$
+		mMetaData.mPrimaryKeys = new Object[][] { { "S", "T1", "ID", //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+				Short.valueOf((short) 1), "PK_T1" } }; //$NON-NLS-1$
+
+		final Connection connection = (Connection) Proxy.newProxyInstance(
+				getClass().getClassLoader(), new Class[] { Connection.class },
+				new InvocationHandler() {
+
+					public Object invoke(Object proxy, Method method,
+							Object[] args) throws Throwable {
+						if ("getMetaData".equals(method.getName())) { //$NON-NLS-1$
+							return Proxy.newProxyInstance(getClass()
+									.getClassLoader(),
+									new Class[] { DatabaseMetaData.class },
+									mMetaData);
+						}
+						throw new SQLException(method.getName());
+					}
+				});
+		Catalog catalog = SQLSchemaFactory.eINSTANCE.createCatalog();
+		catalog.setName("C"); //$NON-NLS-1$
+		JDBCSchema schema = new JDBCSchema() {
+
+			private static final long serialVersionUID = 1L;
+
+			public Connection getConnection() {
+				return connection;
+			}
+		};
+		schema.setName("S"); //$NON-NLS-1$
+		schema.setCatalog(catalog);
+		mLoader = new JDBCSchemaBulkLoader(schema);
+	}
+
+	public void testColumns() throws SQLException {
+		ResultSet rs = mLoader.getColumns("T1"); //$NON-NLS-1$
+		assertTrue(rs.next());
+		assertEquals("ID", rs.getString("COLUMN_NAME")); //$NON-NLS-1$ //$NON-NLS-2$
+		assertEquals(1, rs.getInt("ORDINAL_POSITION")); //$NON-NLS-1$
+		assertFalse(rs.getBoolean("NULLABLE")); //$NON-NLS-1$
+		assertEquals(0, rs.getInt("COLUMN_SIZE")); //$NON-NLS-1$
+		assertTrue(rs.wasNull());
+		assertTrue(rs.next());
+		assertEquals("NAME", rs.getString(3)); //$NON-NLS-1$
+		assertFalse(rs.wasNull());
+		assertEquals(2, rs.getInt("ordinal_position")); //$NON-NLS-1$
+		assertTrue(rs.getBoolean("NULLABLE")); //$NON-NLS-1$
+		assertEquals(30L, rs.getLong("COLUMN_SIZE")); //$NON-NLS-1$
+		assertEquals(new BigDecimal("30"), rs.getObject("COLUMN_SIZE")); //$NON-NLS-1$ //$NON-NLS-2$
+		assertFalse(rs.next());
+		assertFalse(rs.next());
+		rs.close();
+		assertTrue(rs.isClosed());
+
+		rs = mLoader.getColumns("T2"); //$NON-NLS-1$
+		assertTrue(rs.next());
+		assertEquals(1, rs.getShort("ORDINAL_POSITION")); //$NON-NLS-1$
+		assertFalse(rs.getBoolean("NULLABLE")); //$NON-NLS-1$
+		assertEquals("10", rs.getString("DECIMAL_DIGITS")); //$NON-NLS-1$ //$NON-NLS-2$
+		assertEquals(7, rs.findColumn("DECIMAL_DIGITS")); //$NON-NLS-1$
+		assertFalse(rs.next());
+		rs.close();
+
+		// the rows are taken once, and the rows of other schemas are ignored
+		assertNull(mLoader.getColumns("T1")); //$NON-NLS-1$
+		assertNull(mLoader.getColumns("T3")); //$NON-NLS-1$
+		assertEquals(1, mMetaData.getCallCount("getColumns")); //$NON-NLS-1$
+	}
+
+	public void testKnownTables() throws SQLException {
+		ResultSet rs = mLoader.getPrimaryKeys("T1"); //$NON-NLS-1$
+		assertTrue(rs.next());
+		assertEquals("PK_T1", rs.getString("PK_NAME")); //$NON-NLS-1$ //$NON-NLS-2$
+		assertEquals(1, rs.getInt("KEY_SEQ")); //$NON-NLS-1$
+		assertFalse(rs.next());
+		rs.close();
+
+		// a table returned by the columns query without primary key
+		rs = mLoader.getPrimaryKeys("T2"); //$NON-NLS-1$
+		assertNotNull(rs);
+		assertFalse(rs.next());
+		rs.close();
+		assertNull(mLoader.getPrimaryKeys("T2")); //$NON-NLS-1$
+
+		// a table created after the columns query
+		assertNull(mLoader.getPrimaryKeys("NEW_TABLE")); //$NON-NLS-1$
+		assertEquals(1, mMetaData.getCallCount("getColumns")); //$NON-NLS-1$
+		assertEquals(1, mMetaData.getCallCount("getPrimaryKeys")); //$NON-NLS-1$
+	}
+
+	public void testUnsupportedQuery() throws SQLException {
+		// the foreign keys query is refused by the driver, and not retried
+		assertNull(mLoader.getImportedKeys("T1")); //$NON-NLS-1$
+		assertNull(mLoader.getImportedKeys("T2")); //$NON-NLS-1$
+		assertEquals(1, mMetaData.getCallCount("getImportedKeys")); //$NON-NLS-1$
+
+		// the columns query failing leaves no table known
+		mLoader.clear();
+		mMetaData.mColumns = null;
+		assertNull(mLoader.getColumns("T1")); //$NON-NLS-1$
+		ResultSet rs = mLoader.getPrimaryKeys("T1"); //$NON-NLS-1$
+		assertNotNull(rs);
+		rs.close();
+		assertNull(mLoader.getPrimaryKeys("T2")); //$NON-NLS-1$
+	}
+
+	public void testClear() throws SQLException {
+		mLoader.getColumns("T1").close(); //$NON-NLS-1$
+		mLoader.getPrimaryKeys("T2").close(); //$NON-NLS-1$
+		mLoader.clear();
+		ResultSet rs = mLoader.getColumns("T1"); //$NON-NLS-1$
+		assertNotNull(rs);
+		rs.close();
+		rs = mLoader.getPrimaryKeys("T2"); //$NON-NLS-1$
+		assertNotNull(rs);
+		rs.close();
+		assertEquals(2, mMetaData.getCallCount("getColumns")); //$NON-NLS-1$
+		assertEquals(2, mMetaData.getCallCount("getPrimaryKeys")); //$NON-NLS-1$
+	}
+
+	public void testInvalidAccess() throws SQLException {
+		ResultSet rs = mLoader.getColumns("T1"); //$NON-NLS-1$
+		try {
+			rs.getString("COLUMN_NAME"); //$NON-NLS-1$
+			fail("no current row"); //$NON-NLS-1$
+		}
+		catch (SQLException e) {
+		}
+		assertTrue(rs.next());
+		try {
+			rs.getString("UNKNOWN"); //$NON-NLS-1$
+			fail("unknown column"); //$NON-NLS-1$
+		}
+		catch (SQLException e) {
+		}
+		try {
+			rs.getString(8);
+			fail("unknown column"); //$NON-NLS-1$
+		}
+		catch (SQLException e) {
+		}
+		try {
+			rs.getInt("COLUMN_NAME"); //$NON-NLS-1$
+			fail("not a number"); //$NON-NLS-1$
+		}
+		catch (SQLException e) {
+		}
+		rs.close();
+		try {
+			rs.next();
+			fail("closed"); //$NON-NLS-1$
+		}
+		catch (SQLException e) {
+		}
+		assertEquals(rs, rs);
+		assertFalse(rs.equals(mLoader.getColumns("T2"))); //$NON-NLS-1$
+	}
+
+	/**
+	 * DatabaseMetaData returning the rows of the columns and primary keys
+	 * queries, and refusing the other queries.
+	 */
+	private static class MetaDataHandler implements InvocationHandler {
+
+		private Object[][] mColumns;
+		private Object[][] mPrimaryKeys;
+		private final Map<String, Integer> mCalls = new HashMap<String, Integer>();
+
+		int getCallCount(String method) {
+			Integer count = mCalls.get(method);
+			return count == null ? 0 : count.intValue();
+		}
+
+		public Object invoke(Object proxy, Method method, Object[] args)
+				throws Throwable {
+			String name = method.getName();
+			mCalls.put(name, Integer.valueOf(getCallCount(name) + 1));
+			if ("getColumns".equals(name) && mColumns != null) { //$NON-NLS-1$
+				assertEquals("C", args[0]); //$NON-NLS-1$
+				assertEquals("S", args[1]); //$NON-NLS-1$
+				return createResultSet(COLUMN_LABELS, mColumns);
+			}
+			else if ("getPrimaryKeys".equals(name)) { //$NON-NLS-1$
+				assertNull(args[2]);
+				return createResultSet(PRIMARY_KEY_LABELS, mPrimaryKeys);
+			}
+			throw new SQLException(name);
+		}
+	}
+
+	static ResultSet createResultSet(final String[] labels,
+			final Object[][] rows) {
+		final ResultSetMetaData metaData = (ResultSetMetaData) Proxy
+				.newProxyInstance(JDBCSchemaBulkLoaderTest.class
+						.getClassLoader(),
+						new Class[] { ResultSetMetaData.class },
+						new InvocationHandler() {
+
+							public Object invoke(Object proxy, Method m,
+									Object[] a) {
+								if ("getColumnCount".equals(m.getName())) { //$NON-NLS-1$
+									return Integer.valueOf(labels.length);
+								}
+								return labels[((Integer) a[0]).intValue() - 1];
+							}
+						});
+		return (ResultSet) Proxy.newProxyInstance(
+				JDBCSchemaBulkLoaderTest.class.getClassLoader(),
+				new Class[] { ResultSet.class }, new InvocationHandler() {
+
+					private int mRow = -1;
+
+					public Object invoke(Object proxy, Method method,
+							Object[] args) throws Throwable {
+						String name = method.getName();
+						if ("next".equals(name)) { //$NON-NLS-1$
+							return Boolean.valueOf(++mRow < rows.length);
+						}
+						else if ("getObject".equals(name)) { //$NON-NLS-1$
+							return rows[mRow][((Integer) args[0]).intValue() - 1];
+						}
+						else if ("getMetaData".equals(name)) { //$NON-NLS-1$
+							return metaData;
+						}
+						else if ("close".equals(name)) { //$NON-NLS-1$
+							return null;
+						}
+						throw new SQLException(name);
+					}
+				});
+	}
+}
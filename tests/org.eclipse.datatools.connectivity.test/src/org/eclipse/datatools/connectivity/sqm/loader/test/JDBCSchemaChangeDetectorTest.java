@@ -0,0 +1,251 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Data Tools Platform and others.
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * Contributors: Eclipse Data Tools Platform - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.datatools.connectivity.sqm.loader.test;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.eclipse.datatools.connectivity.sqm.core.rte.jdbc.JDBCSchema;
+import org.eclipse.datatools.connectivity.sqm.loader.JDBCSchemaBulkLoader;
+import org.eclipse.datatools.connectivity.sqm.loader.JDBCSchemaChangeDetector;
+import org.eclipse.datatools.connectivity.sqm.loader.JDBCSchemaChangeDetector.SchemaChanges;
+import org.eclipse.datatools.connectivity.sqm.loader.JDBCTableLoader;
+import org.eclipse.datatools.modelbase.sql.tables.SQLTablesFactory;
+import org.eclipse.datatools.modelbase.sql.tables.Table;
+
+import junit.framework.TestCase;
+
+/**
+ * Checks the changes reported by JDBCSchemaChangeDetector between two loads
+ * of a schema, from the table list and from the vendor change marker, and
+ * the point a JDBCSchema loaded again keeps for the next detection.
+ */
+public class JDBCSchemaChangeDetectorTest extends TestCase {
+
+	private List<Table> mTables;
+
+	protected void setUp() throws Exception {
+		super.setUp();
+		mTables = new ArrayList<Table>();
+		for (int i = 0; i < 4; i++) {
+			Table table = SQLTablesFactory.eINSTANCE.createPersistentTable();
+			table.setName("TABLE_" + i); //$NON-NLS-1$
+			mTables.add(table);
+		}
+		mTables.get(1).setDescription("remarks"); //$NON-NLS-1$
+	}
+
+	public void testNotRecorded() throws SQLException {
+		TestDetector detector = new TestDetector();
+		detector.mRows = new String[][] { { "TABLE_0", null } }; //$NON-NLS-1$
+		assertNull(detector.detectChanges(mTables));
+	}
+
+	public void testNoChange() throws SQLException {
+		TestDetector detector = new TestDetector();
+		detector.recordLoad();
+		detector.mRows = new String[][] { { "TABLE_3", "" }, //$NON-NLS-1$ //$NON-NLS-2$
+				{ "TABLE_2", null }, { "TABLE_1", "remarks" }, //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+				{ "TABLE_0", null } }; //$NON-NLS-1$
+		SchemaChanges changes = detector.detectChanges(mTables);
+		assertFalse(changes.isTableListChanged());
+		assertTrue(changes.getChangedTables().isEmpty());
+	}
+
+	public void testTableListChanged() throws SQLException {
+		TestDetector detector = new TestDetector();
+		detector.recordLoad();
+		detector.mRows = new String[][] { { "TABLE_0", null }, //$NON-NLS-1$
+				{ "TABLE_1", "new remarks" }, { "TABLE_3", null }, //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+				{ "NEW_TABLE", null } }; //$NON-NLS-1$
+		SchemaChanges changes = detector.detectChanges(mTables);
+		assertTrue(changes.isTableListChanged());
+		assertEquals(Collections.singletonList("NEW_TABLE"), //$NON-NLS-1$
+				changes.getAddedTableNames());
+		assertEquals(Collections.singletonList(mTables.get(2)), changes
+				.getDroppedTables());
+		assertEquals(Collections.singletonList(mTables.get(1)), changes
+				.getChangedTables());
+	}
+
+	public void testChangeMarker() throws SQLException {
+		TestDetector detector = new TestDetector();
+		detector.mMarker = Integer.valueOf(1);
+		detector.recordLoad();
+		detector.mMarker = Integer.valueOf(2);
+		// TABLE_2 is dropped, reported as changed too by the vendor query
+		detector.mChangedTableNames = new HashSet<String>(Arrays.asList(
+				new String[] { "TABLE_0", "TABLE_2", "UNKNOWN" })); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		detector.mRows = new String[][] { { "TABLE_0", null }, //$NON-NLS-1$
+				{ "TABLE_1", "remarks" }, { "TABLE_3", null } }; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		SchemaChanges changes = detector.detectChanges(mTables);
+		assertEquals(Integer.valueOf(1), detector.mMarkerQueried);
+		assertEquals(Collections.singletonList(mTables.get(0)), changes
+				.getChangedTables());
+		assertEquals(Collections.singletonList(mTables.get(2)), changes
+				.getDroppedTables());
+
+		// the next detection starts from the marker read by this one
+		detector.mChangedTableNames = Collections.emptySet();
+		changes = detector.detectChanges(mTables);
+		assertEquals(Integer.valueOf(2), detector.mMarkerQueried);
+
+		// changes which cannot be told reload the whole schema
+		detector.mChangedTableNames = null;
+		assertNull(detector.detectChanges(mTables));
+	}
+
+	public void testReloadKeepsDetectedMarker() throws SQLException {
+		TestDetector detector = new TestDetector();
+		TestSchema schema = new TestSchema(detector);
+		schema.mTableNames = new String[] { "TABLE_0", "TABLE_1" }; //$NON-NLS-1$ //$NON-NLS-2$
+		detector.mMarker = Integer.valueOf(1);
+		assertEquals(2, schema.getTables().size());
+
+		// NEW_TABLE is created: the tables are loaded again, TABLE_1 being
+		// reused since it did not change
+		detector.mMarker = Integer.valueOf(2);
+		detector.mChangedTableNames = Collections.emptySet();
+		detector.mRows = new String[][] { { "TABLE_0", null }, //$NON-NLS-1$
+				{ "TABLE_1", null }, { "NEW_TABLE", null } }; //$NON-NLS-1$ //$NON-NLS-2$
+		schema.mTableNames = new String[] { "TABLE_0", "TABLE_1", "NEW_TABLE" }; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		schema.refresh();
+		assertEquals(Integer.valueOf(1), detector.mMarkerQueried);
+
+		// TABLE_1 is altered after the detection, before the tables are
+		// loaded again: the next detection must still report it
+		detector.mMarker = Integer.valueOf(3);
+		assertEquals(3, schema.getTables().size());
+		detector.mChangedTableNames = new HashSet<String>(Collections
+				.singleton("TABLE_1")); //$NON-NLS-1$
+		schema.refresh();
+		assertEquals(Integer.valueOf(2), detector.mMarkerQueried);
+	}
+
+	private static class TestDetector extends JDBCSchemaChangeDetector {
+
+		private String[][] mRows;
+		private Object mMarker;
+		private Object mMarkerQueried;
+		private Set<String> mChangedTableNames;
+
+		public TestDetector() {
+			super(null, null);
+		}
+
+		protected Object getChangeMarker() throws SQLException {
+			return mMarker;
+		}
+
+		protected Set getTablesChangedSince(Object changeMarker)
+				throws SQLException {
+			mMarkerQueried = changeMarker;
+			return mChangedTableNames;
+		}
+
+		protected ResultSet createResultSet() throws SQLException {
+			return (ResultSet) Proxy.newProxyInstance(getClass()
+					.getClassLoader(), new Class[] { ResultSet.class },
+					new RowsHandler(mRows));
+		}
+	}
+
+	/**
+	 * A schema loading the tables named by mTableNames, reusing the tables
+	 * loaded previously, with a given change detector.
+	 */
+	private static class TestSchema extends JDBCSchema {
+
+		private static final long serialVersionUID = 1L;
+
+		private final JDBCSchemaChangeDetector mDetector;
+		private String[] mTableNames;
+
+		public TestSchema(JDBCSchemaChangeDetector detector) {
+			mDetector = detector;
+		}
+
+		protected JDBCTableLoader createTableLoader() {
+			return new JDBCTableLoader(this) {
+
+				public void loadTables(List containmentList,
+						Collection existingTables) throws SQLException {
+					for (int i = 0; i < mTableNames.length; i++) {
+						Table table = (Table) getAndRemoveSQLObject(
+								existingTables, mTableNames[i]);
+						if (table == null) {
+							table = SQLTablesFactory.eINSTANCE
+									.createPersistentTable();
+							table.setName(mTableNames[i]);
+						}
+						containmentList.add(table);
+					}
+				}
+			};
+		}
+
+		protected JDBCSchemaBulkLoader createBulkLoader() {
+			return null;
+		}
+
+		protected JDBCSchemaChangeDetector createChangeDetector() {
+			return mDetector;
+		}
+	}
+
+	/**
+	 * Result set over rows of table names and remarks.
+	 */
+	private static class RowsHandler implements InvocationHandler {
+
+		private final String[][] mRows;
+		private int mRow = -1;
+
+		public RowsHandler(String[][] rows) {
+			mRows = rows;
+		}
+
+		public Object invoke(Object proxy, Method method, Object[] args)
+				throws Throwable {
+			String name = method.getName();
+			if ("next".equals(name)) { //$NON-NLS-1$
+				return Boolean.valueOf(++mRow < mRows.length);
+			}
+			else if ("getString".equals(name)) { //$NON-NLS-1$
+				String column = (String) args[0];
+				if (JDBCTableLoader.COLUMN_TABLE_NAME.equals(column)) {
+					return mRows[mRow][0];
+				}
+				else if (JDBCTableLoader.COLUMN_TABLE_TYPE.equals(column)) {
+					return JDBCTableLoader.TYPE_TABLE;
+				}
+				else if (JDBCTableLoader.COLUMN_REMARKS.equals(column)) {
+					return mRows[mRow][1];
+				}
+				return null;
+			}
+			else if ("close".equals(name)) { //$NON-NLS-1$
+				return null;
+			}
+			throw new SQLException(name);
+		}
+	}
+}
@@ -0,0 +1,165 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Data Tools Platform and others.
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * Contributors: Eclipse Data Tools Platform - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.datatools.connectivity.sqm.loader.test;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.eclipse.datatools.connectivity.sqm.loader.JDBCTableLoader;
+import org.eclipse.datatools.modelbase.sql.tables.Table;
+
+import junit.framework.TestCase;
+
+/**
+ * Refreshes a synthetic schema of 20,000 tables through JDBCTableLoader, to
+ * measure the reconciliation of the rows with the tables loaded previously.
+ * The rows are returned in a different order than the tables were loaded in,
+ * and some tables are dropped and created between the loads.
+ */
+public class JDBCTableLoaderRefreshBenchmark extends TestCase {
+
+	private static final int TABLE_COUNT = 20000;
+
+	private static final String[] COLUMNS = new String[] {
+			JDBCTableLoader.COLUMN_TABLE_NAME,
+			JDBCTableLoader.COLUMN_TABLE_TYPE, JDBCTableLoader.COLUMN_REMARKS };
+
+	private List<String> mNames;
+
+	protected void setUp() throws Exception {
+		super.setUp();
+		mNames = new ArrayList<String>();
+		for (int i = 0; i < TABLE_COUNT; i++) {
+			mNames.add("TABLE_" + i); //$NON-NLS-1$
+		}
+	}
+
+	public void testRefresh() throws Throwable {
+		List<Table> container = new ArrayList<Table>();
+		TestLoader loader = new TestLoader();
+		loader.mRows = mNames;
+		loader.loadTables(container, Collections.EMPTY_LIST);
+		assertEquals(TABLE_COUNT, container.size());
+		Map<Table, Table> loaded = new IdentityHashMap<Table, Table>();
+		for (Table table : container) {
+			loaded.put(table, table);
+		}
+
+		// drop the first tenth of the tables, create as many new ones and
+		// return the rows in random order
+		List<String> rows = new ArrayList<String>(mNames.subList(
+				TABLE_COUNT / 10, TABLE_COUNT));
+		for (int i = 0; i < TABLE_COUNT / 10; i++) {
+			rows.add("NEW_TABLE_" + i); //$NON-NLS-1$
+		}
+		Collections.shuffle(rows, new Random(TABLE_COUNT));
+		loader.mRows = rows;
+
+		List<Table> existingTables = new ArrayList<Table>(container);
+		container.clear();
+		long start = System.nanoTime();
+		loader.loadTables(container, existingTables);
+		long elapsed = System.nanoTime() - start;
+		System.out.println("Refreshed " + TABLE_COUNT + " tables in " //$NON-NLS-1$ //$NON-NLS-2$
+				+ elapsed / 1000000 + " ms"); //$NON-NLS-1$
+
+		assertEquals(TABLE_COUNT, container.size());
+		assertEquals(TABLE_COUNT / 10, existingTables.size());
+		int reused = 0;
+		for (int i = 0; i < container.size(); i++) {
+			Table table = container.get(i);
+			assertEquals(rows.get(i), table.getName());
+			if (loaded.containsKey(table)) {
+				reused++;
+			}
+		}
+		assertEquals(TABLE_COUNT - TABLE_COUNT / 10, reused);
+		List<String> dropped = mNames.subList(0, TABLE_COUNT / 10);
+		for (Table table : existingTables) {
+			assertTrue(loaded.containsKey(table));
+			assertTrue(dropped.contains(table.getName()));
+		}
+	}
+
+	private static class TestLoader extends JDBCTableLoader {
+
+		private List<String> mRows;
+
+		public TestLoader() {
+			super(null, null);
+		}
+
+		protected ResultSet createResultSet() throws SQLException {
+			return (ResultSet) Proxy.newProxyInstance(getClass()
+					.getClassLoader(), new Class[] { ResultSet.class },
+					new RowsHandler(mRows));
+		}
+	}
+
+	/**
+	 * Result set over rows of tables with the given names.
+	 */
+	private static class RowsHandler implements InvocationHandler {
+
+		private final List<String> mNames;
+		private int mRow = -1;
+
+		public RowsHandler(List<String> names) {
+			mNames = names;
+		}
+
+		public Object invoke(Object proxy, Method method, Object[] args)
+				throws Throwable {
+			String name = method.getName();
+			if ("next".equals(name)) { //$NON-NLS-1$
+				return Boolean.valueOf(++mRow < mNames.size());
+			}
+			else if ("getString".equals(name)) { //$NON-NLS-1$
+				String column = (String) args[0];
+				if (JDBCTableLoader.COLUMN_TABLE_NAME.equals(column)) {
+					return mNames.get(mRow);
+				}
+				else if (JDBCTableLoader.COLUMN_TABLE_TYPE.equals(column)) {
+					return JDBCTableLoader.TYPE_TABLE;
+				}
+				return null;
+			}
+			else if ("getMetaData".equals(name)) { //$NON-NLS-1$
+				return Proxy.newProxyInstance(getClass().getClassLoader(),
+						new Class[] { ResultSetMetaData.class },
+						new InvocationHandler() {
+
+							public Object invoke(Object metaData, Method m,
+									Object[] a) {
+								if ("getColumnCount".equals(m.getName())) { //$NON-NLS-1$
+									return Integer.valueOf(COLUMNS.length);
+								}
+								return COLUMNS[((Integer) a[0]).intValue() - 1];
+							}
+						});
+			}
+			else if ("close".equals(name)) { //$NON-NLS-1$
+				return null;
+			}
+			throw new SQLException(name);
+		}
+	}
+}
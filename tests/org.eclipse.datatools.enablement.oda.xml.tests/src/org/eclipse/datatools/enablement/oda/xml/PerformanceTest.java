@@ -19,9 +19,7 @@ public class PerformanceTest extends BaseTest
 		super.setUp( );
 	}
 	
-	public void testPerformance() throws OdaException
-	{
-		String queryText =	"table0#-TNAME-#"
+	private static final String queryText = "table0#-TNAME-#"
 				+ "table0#:#[/Report/Details]#:#"
 				+ "{pagebreak.visibility;STRING;/pagebreak.visibility},"
 				+ "{pagebreak;STRING;/pagebreak},"
@@ -71,6 +69,9 @@ public class PerformanceTest extends BaseTest
 				+ "{header.1.6.10;STRING;/header.1.6.10}," 
 				+ "{header.1.6.11;STRING;/header.1.6.11}," 
 				+ "{header.1.7.1;STRING;/header.1.7.1},   ";
+
+	public void testPerformance() throws OdaException
+	{
 		System.out.println("Begin performance test");
 		double totalTime = 0; 
 		int repeats = 20;
@@ -103,5 +104,59 @@ public class PerformanceTest extends BaseTest
 		System.out.println("End performance test");
 	}
 	
+	/**
+	 * Compare the time to read the whole result set and its first rows with
+	 * the SAX engine, parsing on a separate thread, and the StAX engine,
+	 * parsing from the thread reading the rows.
+	 */
+	public void testParserEngines() throws OdaException
+	{
+		System.out.println("Begin parser engine comparison");
+		String[] engines = new String[]{
+				Constants.PARSER_ENGINE_SAX, Constants.PARSER_ENGINE_STAX
+		};
+		int repeats = 10;
+		for ( int e = 0; e < engines.length; e++ )
+		{
+			// warm up
+			assertEquals( 6608, readRows( engines[e], 0 ) );
+			double totalTime = 0;
+			double firstRowsTime = 0;
+			for ( int i = 1; i <= repeats; i++ )
+			{
+				long begin = System.currentTimeMillis( );
+				assertEquals( 6608, readRows( engines[e], 0 ) );
+				long end = System.currentTimeMillis( );
+				assertEquals( 10, readRows( engines[e], 10 ) );
+				totalTime += ( end - begin );
+				firstRowsTime += ( System.currentTimeMillis( ) - end );
+			}
+			System.out.println( engines[e] + " Consumed Time: " + totalTime/repeats + "(ms), first 10 rows: " + firstRowsTime/repeats + "(ms)" );
+		}
+		System.out.println("End parser engine comparison");
+	}
+	
+	private int readRows( String parserEngine, int maxRows ) throws OdaException
+	{
+		Connection conn = new Connection();
+		Properties prop = new Properties();
+		prop.put(Constants.CONST_PROP_FILELIST, TestConstants.HUGE_XML_FOR_PERFORMANCE);
+		prop.put(Constants.CONST_PROP_PARSER_ENGINE, parserEngine);
+		conn.open(prop);
+		IQuery query = conn.newQuery( null );
+		query.prepare( queryText );
+		query.setMaxRows( maxRows );
+		IResultSet rs = query.executeQuery( );
+		int count = 0;
+		while (rs.next( ))
+		{
+			count++;
+		}
+		rs.close( );
+		query.close( );
+		conn.close( );
+		return count;
+	}
+	
 }
 
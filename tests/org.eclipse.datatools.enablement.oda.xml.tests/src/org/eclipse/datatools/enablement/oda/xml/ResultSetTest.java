@@ -12,12 +12,15 @@ package org.eclipse.datatools.enablement.oda.xml;
 
 import java.math.BigDecimal;
 import java.sql.Date;
+import java.sql.Types;
 import java.util.Properties;
 
+import org.eclipse.datatools.connectivity.oda.IBatchResultSet;
 import org.eclipse.datatools.connectivity.oda.IQuery;
 import org.eclipse.datatools.connectivity.oda.IResultSet;
 import org.eclipse.datatools.connectivity.oda.IResultSetMetaData;
 import org.eclipse.datatools.connectivity.oda.OdaException;
+import org.eclipse.datatools.connectivity.oda.RowBatch;
 import org.eclipse.datatools.enablement.oda.xml.impl.Connection;
 import org.eclipse.datatools.enablement.oda.xml.impl.DataTypes;
 import org.eclipse.datatools.enablement.oda.xml.test.util.TestConstants;
@@ -365,6 +368,61 @@ public class ResultSetTest extends BaseTest
 		}
 	}
 
+	/*
+	 * Test method for 'org.eclipse.datatools.enablement.oda.xml.ResultSet.fetchRows(RowBatch)'
+	 */
+	public void testFetchRows( ) throws OdaException
+	{
+		int[] types = new int[]{
+				Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR,
+				Types.VARCHAR, Types.DATE, Types.DOUBLE, Types.INTEGER,
+				Types.TIMESTAMP, Types.VARCHAR
+		};
+		RowBatch batch = new RowBatch( types, 3 );
+		IBatchResultSet batchRs = (IBatchResultSet) rs;
+		int count = 0;
+		int rowCount;
+		while ( ( rowCount = batchRs.fetchRows( batch ) ) > 0 )
+		{
+			assertEquals( rowCount, batch.getRowCount( ) );
+			for ( int row = 0; row < rowCount; row++, count++ )
+			{
+				assertEquals( titles[count], batch.getObjectColumn( 2 )[row] );
+				assertEquals( dates[count], batch.getObjectColumn( 6 )[row] );
+				assertEquals( prices[count], batch.getDoubleColumn( 7 )[row], 10 );
+				assertEquals( isns[count], batch.getIntColumn( 8 )[row] );
+				assertFalse( batch.isNull( row, 8 ) );
+				assertEquals( timestamps[count],
+						batch.getObjectColumn( 9 )[row].toString( ) );
+			}
+		}
+		assertEquals( 4, count );
+		assertEquals( 4, rs.getRow( ) );
+		assertEquals( 0, batch.getRowCount( ) );
+
+		// the values which are not numbers are null, as with wasNull()
+		rs.close( );
+		IQuery query = conn.newQuery( null );
+		query.prepare( queryText );
+		rs = query.executeQuery( );
+		rs.setMaxRows( 2 );
+		batch = new RowBatch( new int[]{ Types.INTEGER }, 3 );
+		assertEquals( 2, ( (IBatchResultSet) rs ).fetchRows( batch ) );
+		assertEquals( 0, batch.getIntColumn( 1 )[0] );
+		assertTrue( batch.isNull( 0, 1 ) );
+		assertEquals( 0, ( (IBatchResultSet) rs ).fetchRows( batch ) );
+
+		rs.close( );
+		try
+		{
+			( (IBatchResultSet) rs ).fetchRows( batch );
+			fail( "Should not arrive here" );
+		}
+		catch ( OdaException e )
+		{
+		}
+	}
+
 	/*
 	 * Test method for 'org.eclipse.datatools.enablement.oda.xml.ResultSet.findColumn(String)'
 	 */
@@ -0,0 +1,218 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Data Tools Platform and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * Contributors:
+ *  Eclipse Data Tools Platform - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.datatools.enablement.oda.xml.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+import org.eclipse.datatools.connectivity.oda.OdaException;
+
+/**
+ * Test case for MappingPathAutomaton, which must match the xml paths like the
+ * MappingPathElementTree it is compiled from.
+ */
+public class MappingPathAutomatonTest extends TestCase
+{
+
+	private static final String[] TABLES = {
+			"t1#:#[/a/b]#:#{c1;String;/c},{c2;String;/@x},{c3;String;../@y},{c4;String;/c/d}",
+			"t2#:#[//b]#:#{c1;String;},{c2;String;//d},{c3;String;/*},{c4;String;/c/@x},{c5;String;../../@y}",
+			"t3#:#[/a/*/c]#:#{c1;String;/d},{c2;String;/@x},{c3;String;../@y},{c4;String;//@x}",
+			"t4#:#[//c]#:#{c1;String;/d[2]},{c2;String;../b[1]/@x},{c3;String;//c/d},{c4;String;/*/*}",
+			"t5#:#[/a//c]#:#{c1;String;/d},{c2;String;/../../@x},{c3;String;//a},{c4;String;//b/c}",
+			"t6#:#[/a/b/c/d]#:#{c1;String;},{c2;String;/@x},{c3;String;../@x},{c4;String;../../@x}"
+	};
+
+	private static final String[] NAMES = {
+			"a", "b", "c", "d"
+	};
+
+	private static final int MAX_DEPTH = 5;
+
+	private List elementPaths;
+	private List attrPaths;
+
+	protected void setUp( ) throws Exception
+	{
+		super.setUp( );
+		elementPaths = new ArrayList( );
+		attrPaths = new ArrayList( );
+		XMLPathHolder holder = new XMLPathHolder( );
+		holder.startElement( "a" ); //$NON-NLS-1$
+		addPaths( holder, 1 );
+		holder.endElement( );
+	}
+
+	/**
+	 * Collect the paths of a document where each element has two children of
+	 * each name, so that the indexes and the recursive elements are matched
+	 */
+	private void addPaths( XMLPathHolder holder, int depth )
+	{
+		elementPaths.add( holder.getCurrentElementPath( ) );
+		attrPaths.add( holder.getCurrentAttrPath( "x" ) ); //$NON-NLS-1$
+		attrPaths.add( holder.getCurrentAttrPath( "y" ) ); //$NON-NLS-1$
+		if ( depth == MAX_DEPTH )
+			return;
+		for ( int i = 0; i < NAMES.length; i++ )
+		{
+			for ( int j = 0; j < 2; j++ )
+			{
+				holder.startElement( NAMES[i] );
+				addPaths( holder, depth + 1 );
+				holder.endElement( );
+			}
+		}
+	}
+
+	public void testMatchesLikeTree( ) throws OdaException
+	{
+		for ( int i = 0; i < TABLES.length; i++ )
+		{
+			RelationInformation rinfo = new RelationInformation( new MappedTables( TABLES[i] ),
+					true );
+			String tableName = TABLES[i].substring( 0, 2 );
+			MappingPathElementTree tree = rinfo.getTableMappingPathElementTree( tableName );
+			MappingPathAutomaton automaton = tree.getAutomaton( );
+
+			for ( int j = 0; j < elementPaths.size( ); j++ )
+			{
+				XMLPath path = (XMLPath) elementPaths.get( j );
+				int state = getState( automaton, automaton.getRootState( ), path, 0 );
+				assertEquals( tableName + path.getPathString( ),
+						tree.matchesTablePath( path ),
+						automaton.matchesTablePath( state ) );
+				assertSameIndexes( tableName + path.getPathString( ),
+						tree.getMatchedColumnIndexs( path ),
+						automaton.getColumnIndexes( state ) );
+			}
+			for ( int j = 0; j < attrPaths.size( ); j++ )
+			{
+				XMLPath path = (XMLPath) attrPaths.get( j );
+				assertSameIndexes( tableName + path.getPathString( ),
+						tree.getMatchedColumnIndexs( path ),
+						automaton.getColumnIndexes( getState( automaton,
+								automaton.getRootState( ),
+								path,
+								0 ) ) );
+			}
+		}
+	}
+
+	public void testMatchesInRowLikeTree( ) throws OdaException
+	{
+		for ( int i = 0; i < TABLES.length; i++ )
+		{
+			RelationInformation rinfo = new RelationInformation( new MappedTables( TABLES[i] ),
+					true );
+			String tableName = TABLES[i].substring( 0, 2 );
+			MappingPathElementTree tree = rinfo.getTableMappingPathElementTree( tableName );
+			MappingPathAutomaton automaton = tree.getAutomaton( );
+
+			int rowCount = 0;
+			for ( int j = 0; j < elementPaths.size( ); j++ )
+			{
+				XMLPath row = (XMLPath) elementPaths.get( j );
+				if ( !tree.matchesTablePath( row ) )
+					continue;
+				rowCount++;
+				int depth = row.getPath( ).length;
+				List paths = new ArrayList( elementPaths.subList( j,
+						elementPaths.size( ) ) );
+				paths.addAll( attrPaths );
+				for ( int k = 0; k < paths.size( ); k++ )
+				{
+					XMLPath column = (XMLPath) paths.get( k );
+					if ( !isInRow( row, column ) )
+						continue;
+					int state = getState( automaton,
+							automaton.getTableState( ),
+							column,
+							depth );
+					assertSameIndexes( tableName
+							+ row.getPathString( ) + " " //$NON-NLS-1$
+							+ column.getPathString( ),
+							tree.getMatchedButNotNestedColumnIndexs( column, row ),
+							automaton.getColumnIndexes( state ) );
+				}
+			}
+			assertTrue( tableName, rowCount > 0 );
+		}
+	}
+
+	public void testStateCount( ) throws OdaException
+	{
+		RelationInformation rinfo = new RelationInformation( new MappedTables( TABLES[1] ),
+				true );
+		MappingPathAutomaton automaton = rinfo.getTableMappingPathElementTree( "t2" ).getAutomaton( ); //$NON-NLS-1$
+		for ( int j = 0; j < elementPaths.size( ); j++ )
+			getState( automaton,
+					automaton.getRootState( ),
+					(XMLPath) elementPaths.get( j ),
+					0 );
+		int count = automaton.getStateCount( );
+		// the states only depend on the names, not on the depth or the indexes
+		for ( int j = 0; j < elementPaths.size( ); j++ )
+			getState( automaton,
+					automaton.getRootState( ),
+					(XMLPath) elementPaths.get( j ),
+					0 );
+		assertEquals( count, automaton.getStateCount( ) );
+		assertTrue( count < 20 );
+	}
+
+	/**
+	 * @return the state of path, matched from state after its first
+	 *         <code>from</code> nodes
+	 */
+	private static int getState( MappingPathAutomaton automaton, int state,
+			XMLPath path, int from )
+	{
+		IXMLPathNode[] nodes = path.getPath( );
+		for ( int i = from; i < nodes.length; i++ )
+		{
+			if ( nodes[i] instanceof XMLAttr )
+				state = automaton.nextAttribute( state, nodes[i].getName( ) );
+			else
+				state = automaton.nextElement( state, (XMLElement) nodes[i] );
+		}
+		return state;
+	}
+
+	private static boolean isInRow( XMLPath row, XMLPath column )
+	{
+		IXMLPathNode[] rowNodes = row.getPath( );
+		IXMLPathNode[] columnNodes = column.getPath( );
+		if ( columnNodes.length < rowNodes.length )
+			return false;
+		for ( int i = 0; i < rowNodes.length; i++ )
+		{
+			if ( !rowNodes[i].equals( columnNodes[i] ) )
+				return false;
+		}
+		return true;
+	}
+
+	private static void assertSameIndexes( String message, int[] expected,
+			int[] actual )
+	{
+		int[] sorted = (int[]) expected.clone( );
+		Arrays.sort( sorted );
+		assertTrue( message
+				+ " expected " + Arrays.toString( sorted ) //$NON-NLS-1$
+				+ " but was " + Arrays.toString( actual ), //$NON-NLS-1$
+				Arrays.equals( sorted, actual ) );
+	}
+}
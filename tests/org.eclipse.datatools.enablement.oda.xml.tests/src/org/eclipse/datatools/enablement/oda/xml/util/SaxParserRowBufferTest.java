@@ -0,0 +1,113 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Data Tools Platform and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * Contributors:
+ *  Eclipse Data Tools Platform - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.datatools.enablement.oda.xml.util;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import junit.framework.TestCase;
+
+/**
+ * Test case for SaxParserRowBuffer
+ */
+public class SaxParserRowBufferTest extends TestCase
+{
+
+	public void testCapacity( )
+	{
+		assertEquals( 128, new SaxParserRowBuffer( 100 ).getCapacity( ) );
+		assertEquals( 1, new SaxParserRowBuffer( 1 ).getCapacity( ) );
+	}
+
+	public void testOrder( ) throws Exception
+	{
+		final int rowCount = 100000;
+		final SaxParserRowBuffer buffer = new SaxParserRowBuffer( 16 );
+		Future<?> producer = SaxParserThreadPool.submit( new Runnable( ) {
+
+			public void run( )
+			{
+				for ( int i = 0; i < rowCount; i++ )
+					assertTrue( buffer.put( new String[]{
+						String.valueOf( i )
+					} ) );
+				buffer.finish( );
+			}
+		} );
+		for ( int i = 0; i < rowCount; i++ )
+		{
+			String[] row = buffer.take( );
+			assertNotNull( row );
+			assertEquals( String.valueOf( i ), row[0] );
+		}
+		assertNull( buffer.take( ) );
+		assertNull( buffer.take( ) );
+		producer.get( 10, TimeUnit.SECONDS );
+	}
+
+	public void testBackPressure( ) throws Exception
+	{
+		final SaxParserRowBuffer buffer = new SaxParserRowBuffer( 4 );
+		Future<?> producer = SaxParserThreadPool.submit( new Runnable( ) {
+
+			public void run( )
+			{
+				for ( int i = 0; i < 5; i++ )
+					buffer.put( new String[]{
+						String.valueOf( i )
+					} );
+				buffer.finish( );
+			}
+		} );
+		// the fifth row waits for room
+		try
+		{
+			producer.get( 200, TimeUnit.MILLISECONDS );
+			fail( "the producer should wait while the buffer is full" );
+		}
+		catch ( TimeoutException e )
+		{
+		}
+		assertEquals( "0", buffer.take( )[0] );
+		producer.get( 10, TimeUnit.SECONDS );
+		assertTrue( buffer.getProducerWaitNanos( ) > 0 );
+		for ( int i = 1; i < 5; i++ )
+			assertEquals( String.valueOf( i ), buffer.take( )[0] );
+		assertNull( buffer.take( ) );
+	}
+
+	public void testCancel( ) throws InterruptedException,
+			ExecutionException, TimeoutException
+	{
+		final SaxParserRowBuffer buffer = new SaxParserRowBuffer( 2 );
+		assertTrue( buffer.put( new String[0] ) );
+		assertTrue( buffer.put( new String[0] ) );
+		final boolean[] result = {
+			true
+		};
+		Future<?> producer = SaxParserThreadPool.submit( new Runnable( ) {
+
+			public void run( )
+			{
+				result[0] = buffer.put( new String[0] );
+			}
+		} );
+		Thread.sleep( 50 );
+		buffer.cancel( );
+		producer.get( 10, TimeUnit.SECONDS );
+		// the waiting row is dropped
+		assertFalse( result[0] );
+		assertTrue( buffer.isCancelled( ) );
+	}
+}
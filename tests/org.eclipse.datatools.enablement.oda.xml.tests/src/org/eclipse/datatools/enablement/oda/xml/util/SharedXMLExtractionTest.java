@@ -0,0 +1,187 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Data Tools Platform and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * Contributors:
+ *  Eclipse Data Tools Platform - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.datatools.enablement.oda.xml.util;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+
+import org.eclipse.datatools.connectivity.oda.IQuery;
+import org.eclipse.datatools.connectivity.oda.IResultSet;
+import org.eclipse.datatools.connectivity.oda.OdaException;
+import org.eclipse.datatools.enablement.oda.xml.BaseTest;
+import org.eclipse.datatools.enablement.oda.xml.Constants;
+import org.eclipse.datatools.enablement.oda.xml.impl.Connection;
+import org.eclipse.datatools.enablement.oda.xml.test.util.TestConstants;
+
+/**
+ * Test case for SharedXMLExtraction
+ */
+public class SharedXMLExtractionTest extends BaseTest
+{
+
+	private static final String BOOKS = "books#:#[/library/book]#:#{category;String;/@category},{title;String;/title},{author;String;/author[1]/@name}";
+	private static final String TITLES = "titles#:#[//book/title]#:#{title;String;},{lang;String;/@lang}";
+	private static final String AUTHORS = "authors#:#[//book/author]#:#{name;String;/@name},{country;String;/@country}";
+
+	public void testSinglePass( ) throws OdaException
+	{
+		RelationInformation rinfo = new RelationInformation( new MappedTables( BOOKS
+				+ Constants.CONST_TABLE_DELIMITER + TITLES
+				+ Constants.CONST_TABLE_DELIMITER + AUTHORS ), true );
+		CountingXMLSource source = new CountingXMLSource( new XMLSourceFromPath( TestConstants.SMALL_XML_FILE,
+				null ) );
+		SharedXMLExtraction extraction = new SharedXMLExtraction( source,
+				false );
+		SaxParserConsumer books = extraction.addTable( rinfo, "books" );
+		SaxParserConsumer titles = extraction.addTable( rinfo, "titles" );
+		SaxParserConsumer authors = extraction.addTable( rinfo, "authors" );
+		assertFalse( extraction.isStarted( ) );
+
+		// the tables are read one after the other, in another order than the
+		// rows are found
+		List titleRows = readRows( titles );
+		assertTrue( extraction.isStarted( ) );
+		assertNull( extraction.addTable( rinfo, "books" ) );
+		List bookRows = readRows( books );
+		List authorRows = readRows( authors );
+		assertEquals( 1, source.openCount );
+
+		assertSameRows( readRows( new SaxParserConsumer( rinfo,
+				source,
+				"books" ) ), bookRows );
+		assertSameRows( readRows( new SaxParserConsumer( rinfo,
+				source,
+				"titles" ) ), titleRows );
+		assertSameRows( readRows( new SaxParserConsumer( rinfo,
+				source,
+				"authors" ) ), authorRows );
+		assertEquals( 4, titleRows.size( ) );
+		assertEquals( "Everyday Italian", ( (String[]) titleRows.get( 0 ) )[0] );
+	}
+
+	public void testCloseTable( ) throws OdaException
+	{
+		RelationInformation rinfo = new RelationInformation( new MappedTables( BOOKS
+				+ Constants.CONST_TABLE_DELIMITER + TITLES ), true );
+		SharedXMLExtraction extraction = new SharedXMLExtraction( new XMLSourceFromPath( TestConstants.SMALL_XML_FILE,
+				null ),
+				false );
+		SaxParserConsumer books = extraction.addTable( rinfo, "books" );
+		SaxParserConsumer titles = extraction.addTable( rinfo, "titles" );
+		assertTrue( books.next( ) );
+		books.close( );
+		assertEquals( 4, readRows( titles ).size( ) );
+	}
+
+	public void testQueries( ) throws OdaException
+	{
+		Connection conn = new Connection( );
+		Properties p = new Properties( );
+		p.put( Constants.CONST_PROP_FILELIST, TestConstants.SMALL_XML_FILE );
+		p.put( Constants.CONST_PROP_PARSER_ENGINE,
+				Constants.PARSER_ENGINE_SHARED );
+		conn.open( p );
+		assertTrue( conn.useSharedExtraction( ) );
+		assertTrue( conn.usePullParser( ) );
+
+		IQuery bookQuery = conn.newQuery( null );
+		bookQuery.prepare( "books#-TNAME-#" + BOOKS );
+		IQuery authorQuery = conn.newQuery( null );
+		authorQuery.prepare( "authors#-TNAME-#" + AUTHORS );
+		IResultSet bookRs = bookQuery.executeQuery( );
+		IResultSet authorRs = authorQuery.executeQuery( );
+		List authorRows = readRows( authorRs, 2 );
+		List bookRows = readRows( bookRs, 3 );
+		authorRs.close( );
+		bookRs.close( );
+
+		// executed after the extraction has started, it gets a pass of its own
+		IResultSet againRs = bookQuery.executeQuery( );
+		assertSameRows( bookRows, readRows( againRs, 3 ) );
+		againRs.close( );
+		conn.close( );
+
+		Connection saxConn = new Connection( );
+		p.put( Constants.CONST_PROP_PARSER_ENGINE, Constants.PARSER_ENGINE_SAX );
+		saxConn.open( p );
+		assertFalse( saxConn.useSharedExtraction( ) );
+		IQuery query = saxConn.newQuery( null );
+		query.prepare( "books#-TNAME-#" + BOOKS );
+		assertSameRows( readRows( query.executeQuery( ), 3 ), bookRows );
+		query.prepare( "authors#-TNAME-#" + AUTHORS );
+		assertSameRows( readRows( query.executeQuery( ), 2 ), authorRows );
+		saxConn.close( );
+	}
+
+	private static List readRows( SaxParserConsumer consumer )
+			throws OdaException
+	{
+		List rows = new ArrayList( );
+		while ( consumer.next( ) )
+			rows.add( consumer.getRowValue( ) );
+		consumer.close( );
+		return rows;
+	}
+
+	private static List readRows( IResultSet rs, int columnCount )
+			throws OdaException
+	{
+		List rows = new ArrayList( );
+		while ( rs.next( ) )
+		{
+			String[] row = new String[columnCount];
+			for ( int i = 0; i < columnCount; i++ )
+				row[i] = rs.getString( i + 1 );
+			rows.add( row );
+		}
+		return rows;
+	}
+
+	private static void assertSameRows( List expected, List actual )
+	{
+		assertEquals( expected.size( ), actual.size( ) );
+		for ( int i = 0; i < expected.size( ); i++ )
+			assertTrue( "row " + i, Arrays.equals( (String[]) expected.get( i ),
+					(String[]) actual.get( i ) ) );
+	}
+
+	private static class CountingXMLSource implements IXMLSource
+	{
+
+		private IXMLSource source;
+		private int openCount;
+
+		CountingXMLSource( IXMLSource source )
+		{
+			this.source = source;
+		}
+
+		public InputStream openInputStream( ) throws OdaException
+		{
+			openCount++;
+			return source.openInputStream( );
+		}
+
+		public String getEncoding( )
+		{
+			return source.getEncoding( );
+		}
+
+		public void release( ) throws OdaException
+		{
+			source.release( );
+		}
+	}
+}
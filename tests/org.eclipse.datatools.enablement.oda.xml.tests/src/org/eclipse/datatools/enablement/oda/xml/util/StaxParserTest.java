@@ -0,0 +1,183 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Data Tools Platform and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * Contributors:
+ *  Eclipse Data Tools Platform - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.datatools.enablement.oda.xml.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+
+import org.eclipse.datatools.connectivity.oda.IQuery;
+import org.eclipse.datatools.connectivity.oda.IResultSet;
+import org.eclipse.datatools.connectivity.oda.OdaException;
+import org.eclipse.datatools.enablement.oda.xml.BaseTest;
+import org.eclipse.datatools.enablement.oda.xml.Constants;
+import org.eclipse.datatools.enablement.oda.xml.impl.Connection;
+import org.eclipse.datatools.enablement.oda.xml.impl.ResultSet;
+import org.eclipse.datatools.enablement.oda.xml.test.util.TestConstants;
+
+/**
+ * Test case for StaxParser: the rows read with the pull parser are the ones
+ * read with the SaxParser.
+ */
+public class StaxParserTest extends BaseTest
+{
+
+	private String testString = "aut  hor  #:#[//book/author]#:#{title;String;../title},{lang;String;../title/@lang},{author;String;/@name},{country;String;/@country},{date;String;../date},{isn;String;../isn},{category;String;../@category}"
+			+ "#-# recursive#:#[//Book]#:#{locationD;String;D/@location},{locationBook;String;@location},{locationC;String;../@location},{locationB;String;../../B/@location},{locationA;String;../../@location}"
+			+ "#-# complexNest#:#[//suburb]#:#{name;String;@name},{nest-2;String;../../nest},{nest-1;String;../nest},{nest0;String;/nest},{nest1;String;/suburb/nest},{nest3;String;suburb/suburb/nest},{nest4;String;suburb/suburb/suburb/nest}"
+			+ "#-# filter1#:#[//entry]#:#{b-bar1;String;/field[@b='bar1']},{b-bar2;String;/field[@b='bar2']},{b-bar9;String;/field[@b='bar9']},{a-foo;String;/field[@a='foo']}"
+			+ "#-# filter4#:#[//Book[@type='fiction']]#:#{book.title;String;/Title},{book.author_paul;String;/Author[@type='firstclass']}"			
+			+ "#-# recursiveFilter#:#[//Book]#:#{defaultB;String;../../B},{specificB1;String;../../B[@location='Hongkong']}, {specificB2;String;../../B[@location='London']}, {noB;String;../../B[@location='Nothing']}"
+			+ "#-# nestedTableRootFilter#:#[//employee[@type='employeeType1']]#:#{name;STRING;properties/property/@name},{value;STRING;properties/property/@value},{type;STRING;/@type}"
+			+ "#-# emptyElement#:#[/NewDataSet/program/activity]#:#{ProgramID;Int;../ProgramID},{ProgramName;String;../ProgramName},{ActivityID;Int;/ActivityID},{ActivityName;String;/ActivityName}"
+			+ "#-# tableFilter#:#[/BookStore/Book[@id=\"A\"]/Author]#:#{book.author;String;}"
+			+ "#-# simple#:#[/library/book]#:#{book.category;String;/@category},{book.title;String;/title},{book.author_1;String;/author[1]/@name},{book.author_2;String;/author[2]/@name}"
+			+ "#-# soap#:#[/SOAP-ENV:Envelope/SOAP-ENV:Body/GetWeatherByZipCodeResponse/GetWeatherByZipCodeResult]#:#{Latitude;STRING;/Latitude},{Longitude;STRING;/Longitude},{AllocationFactor;STRING;/AllocationFactor},{FipsCode;STRING;/FipsCode},{PlaceName;STRING;/PlaceName},{StateCode;STRING;/StateCode},{Status;STRING;/Status},{Day;STRING;/Details/WeatherData/Day},{WeatherImage;STRING;/Details/WeatherData/WeatherImage},{MaxTemperatureF;STRING;/Details/WeatherData/MaxTemperatureF},{MinTemperatureF;STRING;/Details/WeatherData/MinTemperatureF},{MaxTemperatureC;STRING;/Details/WeatherData/MaxTemperatureC},{MinTemperatureC;STRING;/Details/WeatherData/MinTemperatureC}"
+			+ "#-# anyAndRecursive#:#[//test]#:#{test_name;STRING;test_name},{area_name;STRING;../../../../area_name}"
+			+ "#-# doubleslash1#:#[//block//]#:#{id;STRING;@id}"
+			+ "#-# nameSpace#:#[/feed/entry/g:id]#:#{title;STRING;../title},{g:price;STRING;../g:price},{g:id;STRING;}#:#<\"openSearch\",\"http:%%a9.com%-%spec%opensearchrss%1.0%\";\"g\",\"http:%%base.google.com%ns%1.0\";\"batch\",\"http:%%schemas.google.com%gdata%batch\";\"gm\",\"http:%%base.google.com%ns-metadata%1.0\";\"\",\"http:%%www.w3.org%2005%Atom\";\"SOAP-ENV\",\"http:%%schemas.xmlsoap.org%soap%envelope%\";\"xsd\",\"http:%%www.w3.org%2001%XMLSchema\";\"SOAP-ENC\",\"http:%%schemas.xmlsoap.org%soap%encoding%\";\"xsi\",\"http:%%www.w3.org%2001%XMLSchema-instance\">";
+
+	public void testSameRows( ) throws OdaException
+	{
+		// the test files are located once the test is set up
+		String[][] tables = {
+				{
+						TestConstants.SMALL_XML_FILE, "simple"
+				},
+				{
+						TestConstants.SMALL_XML_FILE, "aut  hor"
+				},
+				{
+						TestConstants.RECURSIVE_XML_FILE, "recursive"
+				},
+				{
+						TestConstants.RECURSIVE_DUPLICATENAME, "complexNest"
+				},
+				{
+						TestConstants.TEST_FILTER, "filter1"
+				},
+				{
+						TestConstants.MIXED_FILTER, "filter4"
+				},
+				{
+						TestConstants.RECURSIVE_XML_FILE, "recursiveFilter"
+				},
+				{
+						TestConstants.NESTED_TABLE_ROOT_FILTER, "nestedTableRootFilter"
+				},
+				{
+						TestConstants.EMPTY_ELEMENT, "emptyElement"
+				},
+				{
+						TestConstants.TABLE_FILTER, "tableFilter"
+				},
+				{
+						TestConstants.ANY_RECURSIVE_XML, "anyAndRecursive"
+				},
+				{
+						TestConstants.DOUBLE_SLASH_XML, "doubleslash1"
+				},
+				{
+						TestConstants.XML_FILE_WITH_NAMESPACE, "soap"
+				},
+				{
+						TestConstants.XML_FILE_WITH_NAMESPACE2, "nameSpace"
+				}
+		};
+		MappedTables mt = new MappedTables( testString );
+		for ( int i = 0; i < tables.length; i++ )
+		{
+			List saxRows = readRows( mt, tables[i][0], tables[i][1], false );
+			List staxRows = readRows( mt, tables[i][0], tables[i][1], true );
+			assertFalse( tables[i][1], saxRows.isEmpty( ) );
+			assertEquals( tables[i][1], saxRows.size( ), staxRows.size( ) );
+			for ( int j = 0; j < saxRows.size( ); j++ )
+				assertTrue( tables[i][1] + " row " + j,
+						Arrays.equals( (String[]) saxRows.get( j ),
+								(String[]) staxRows.get( j ) ) );
+		}
+	}
+
+	public void testMaxRows( ) throws OdaException
+	{
+		Connection conn = openConnection( TestConstants.HUGE_XML_FOR_PERFORMANCE,
+				Constants.PARSER_ENGINE_STAX );
+		IQuery query = conn.newQuery( null );
+		query.prepare( "table0#-TNAME-#table0#:#[/Report/Details]#:#{pagebreak;STRING;/pagebreak}" );
+		query.setMaxRows( 3 );
+		IResultSet rs = query.executeQuery( );
+		for ( int i = 1; i <= 3; i++ )
+		{
+			assertTrue( rs.next( ) );
+			assertEquals( i, rs.getRow( ) );
+		}
+		assertFalse( rs.next( ) );
+		assertFalse( rs.next( ) );
+		assertEquals( 3, rs.getRow( ) );
+		rs.close( );
+		query.close( );
+		conn.close( );
+	}
+
+	public void testCloseBeforeEnd( ) throws OdaException
+	{
+		MappedTables mt = new MappedTables( testString );
+		Connection conn = openConnection( TestConstants.SMALL_XML_FILE,
+				Constants.PARSER_ENGINE_STAX );
+		ResultSet rs = new ResultSet( conn, mt, "simple", 0 );
+		assertTrue( rs.next( ) );
+		assertNotNull( rs.getString( 1 ) );
+		rs.close( );
+		try
+		{
+			rs.next( );
+			fail( "the result set is closed" );
+		}
+		catch ( OdaException e )
+		{
+		}
+		conn.close( );
+	}
+
+	private List readRows( MappedTables mt, String file, String tableName,
+			boolean pull ) throws OdaException
+	{
+		Connection conn = openConnection( file, pull
+				? Constants.PARSER_ENGINE_STAX : Constants.PARSER_ENGINE_SAX );
+		ResultSet rs = new ResultSet( conn, mt, tableName, 0 );
+		int columnCount = rs.getMetaData( ).getColumnCount( );
+		List rows = new ArrayList( );
+		while ( rs.next( ) )
+		{
+			String[] row = new String[columnCount];
+			for ( int i = 0; i < columnCount; i++ )
+				row[i] = rs.getString( i + 1 );
+			rows.add( row );
+		}
+		assertFalse( rs.next( ) );
+		rs.close( );
+		conn.close( );
+		return rows;
+	}
+
+	private Connection openConnection( String file, String parserEngine )
+			throws OdaException
+	{
+		Connection conn = new Connection( );
+		Properties p = new Properties( );
+		p.put( Constants.CONST_PROP_FILELIST, file );
+		p.put( Constants.CONST_PROP_PARSER_ENGINE, parserEngine );
+		conn.open( p );
+		return conn;
+	}
+}
@@ -0,0 +1,38 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Data Tools Platform and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * Contributors:
+ *     Eclipse Data Tools Platform - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.datatools.sqltools.data.core.junittest;
+
+import org.eclipse.datatools.sqltools.data.internal.core.editor.RowDataBatchSaverTest;
+import org.eclipse.datatools.sqltools.data.internal.core.editor.TableDataImplTest;
+import org.eclipse.datatools.sqltools.data.internal.core.extract.ExtractDataTest;
+import org.eclipse.datatools.sqltools.data.internal.core.load.DataFileParserTest;
+import org.eclipse.datatools.sqltools.data.internal.core.load.TableLoaderTest;
+
+import junit.framework.Test;
+import junit.framework.TestSuite;
+
+public class AllDataCoreTests extends TestSuite
+{
+
+    public static Test suite()
+    {
+        TestSuite suite = new TestSuite("Test for org.eclipse.datatools.sqltools.data.core");
+        //$JUnit-BEGIN$
+        suite.addTestSuite(DataFileParserTest.class);
+        suite.addTestSuite(ExtractDataTest.class);
+        suite.addTestSuite(RowDataBatchSaverTest.class);
+        suite.addTestSuite(TableLoaderTest.class);
+        suite.addTestSuite(TableDataImplTest.class);
+        //$JUnit-END$
+        return suite;
+    }
+
+}
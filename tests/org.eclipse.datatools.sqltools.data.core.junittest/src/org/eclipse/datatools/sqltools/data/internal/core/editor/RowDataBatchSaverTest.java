@@ -0,0 +1,305 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Data Tools Platform and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * Contributors:
+ *     Eclipse Data Tools Platform - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.datatools.sqltools.data.internal.core.editor;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.BatchUpdateException;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipse.datatools.modelbase.sql.tables.Column;
+import org.eclipse.datatools.modelbase.sql.tables.SQLTablesFactory;
+import org.eclipse.datatools.sqltools.data.internal.core.common.IColumnDataAccessor;
+import org.eclipse.datatools.sqltools.data.internal.core.common.Output;
+
+import junit.framework.TestCase;
+
+public class RowDataBatchSaverTest extends TestCase
+{
+    private static final String[] NAMES = { "ID", "A", "B" };
+
+    private boolean supportsBatch = true;
+    // the update count returned for each row, by key, 1 if not specified
+    private int[] updateCounts = new int[100];
+    private int failedKey = -1;
+
+    // "prepare SQL", "batch SQL (n)" and "update SQL" in the order of the calls
+    private List calls = new ArrayList();
+    private List output = new ArrayList();
+    private int closed;
+
+    private ITableData2 table;
+
+    protected void setUp() throws Exception
+    {
+        super.setUp();
+        Arrays.fill(updateCounts, 1);
+        table = createTable();
+    }
+
+    public void testBatches() throws Exception
+    {
+        List rows = new ArrayList();
+        for (int i=0; i<5; ++i)
+            rows.add(update(i, 1, "a" + i));
+        for (int i=5; i<8; ++i)
+            rows.add(update(i, 2, "b" + i));
+        rows.add(delete(20));
+        rows.add(update(8, 1, "a8"));
+        rows.add(createRow(30, RowDataImpl.STATE_ORIGINAL));
+        for (int i=40; i<46; ++i)
+            rows.add(createRow(i, RowDataImpl.STATE_INSERTED));
+        rows.add(delete(21));
+
+        TableDataSaveStatus status = new TableDataSaveStatus();
+        RowDataBatchSaver saver = new RowDataBatchSaver(createConnection(), status, createOutput());
+        saver.setBatchSize(4);
+        saver.save(rows);
+
+        assertEquals(Arrays.asList(new String[] {
+                "prepare delete from T where ID=?",
+                "batch delete from T where ID=? (2)",
+                "prepare update T set A=? where ID=?",
+                "batch update T set A=? where ID=? (4)",
+                "prepare update T set B=? where ID=?",
+                "batch update T set A=? where ID=? (2)",
+                "batch update T set B=? where ID=? (3)",
+                "prepare insert into T (ID, A, B) values(?, ?, ?)",
+                "batch insert into T (ID, A, B) values(?, ?, ?) (4)",
+                "batch insert into T (ID, A, B) values(?, ?, ?) (2)" }), calls);
+        assertEquals(4, closed);
+        assertEquals(17, output.size());
+        assertEquals("delete from T where ID=20", output.get(0));
+        assertEquals(6, status.inserted);
+        assertEquals(9, status.updated);
+        assertEquals(2, status.deleted);
+        assertFalse(status.duplicateRow);
+    }
+
+    public void testUpdateCounts() throws Exception
+    {
+        updateCounts[1] = 0;
+        updateCounts[2] = Statement.SUCCESS_NO_INFO;
+        updateCounts[3] = 2;
+        TableDataSaveStatus status = new TableDataSaveStatus();
+        new RowDataBatchSaver(createConnection(), status, createOutput()).save(Arrays.asList(new Object[] {
+                delete(1), delete(2), update(3, 1, "a") }));
+        assertEquals(1, status.deleted);
+        assertEquals(2, status.updated);
+        assertTrue(status.duplicateRow);
+    }
+
+    public void testWithoutBatchUpdates() throws Exception
+    {
+        supportsBatch = false;
+        updateCounts[2] = 0;
+        TableDataSaveStatus status = new TableDataSaveStatus();
+        new RowDataBatchSaver(createConnection(), status, createOutput()).save(Arrays.asList(new Object[] {
+                update(1, 1, "a"), update(2, 1, "b"), createRow(3, RowDataImpl.STATE_INSERTED) }));
+        assertEquals(Arrays.asList(new String[] {
+                "prepare update T set A=? where ID=?",
+                "update update T set A=? where ID=?",
+                "update update T set A=? where ID=?",
+                "prepare insert into T (ID, A, B) values(?, ?, ?)",
+                "update insert into T (ID, A, B) values(?, ?, ?)" }), calls);
+        assertEquals(1, status.updated);
+        assertEquals(1, status.inserted);
+        assertTrue(status.duplicateRow);
+    }
+
+    public void testBatchFailure() throws Exception
+    {
+        failedKey = 42;
+        List rows = new ArrayList();
+        for (int i=40; i<45; ++i)
+            rows.add(createRow(i, RowDataImpl.STATE_INSERTED));
+        try {
+            new RowDataBatchSaver(createConnection(), new TableDataSaveStatus(), createOutput()).save(rows);
+            fail();
+        } catch (BatchUpdateException ex) {
+            // expected
+        }
+        assertEquals("Failed: insert into T (ID, A, B) values(42, NULL, 'x42')", output.get(output.size() - 1));
+        assertEquals(1, closed);
+    }
+
+    private RowDataImpl createRow(int key, int state)
+    {
+        return new RowDataImpl(table, state, new Object[] { Integer.valueOf(key), null, "x" + key });
+    }
+
+    private RowDataImpl update(int key, int col, String value)
+    {
+        RowDataImpl row = createRow(key, RowDataImpl.STATE_ORIGINAL);
+        row.updateValue(col, value);
+        return row;
+    }
+
+    private RowDataImpl delete(int key)
+    {
+        RowDataImpl row = createRow(key, RowDataImpl.STATE_ORIGINAL);
+        row.setState(RowDataImpl.STATE_DELETED);
+        return row;
+    }
+
+    private Output createOutput()
+    {
+        return new Output() {
+            public void write(String s)
+            {
+                output.add(s);
+            }
+        };
+    }
+
+    /**
+     * A table of three columns, the first one being its key, whose values
+     * are logged as they are.
+     */
+    private ITableData2 createTable()
+    {
+        final List columns = new ArrayList();
+        final IColumnDataAccessor[] accessors = new IColumnDataAccessor[NAMES.length];
+        for (int i=0; i<NAMES.length; ++i) {
+            Column column = SQLTablesFactory.eINSTANCE.createColumn();
+            column.setName(NAMES[i]);
+            columns.add(column);
+            accessors[i] = createColumnDataAccessor(NAMES[i]);
+        }
+        return (ITableData2)proxy(ITableData2.class, new InvocationHandler() {
+            public Object invoke(Object proxy, Method method, Object[] args)
+            {
+                String name = method.getName();
+                if (name.equals("getQualifiedTableName"))
+                    return "T";
+                if (name.equals("getColumnCount"))
+                    return Integer.valueOf(NAMES.length);
+                if (name.equals("getResultColumns"))
+                    return columns;
+                if (name.equals("getKeyColumns"))
+                    return new int[] { 0 };
+                int col = ((Integer)args[0]).intValue();
+                if (name.equals("getQuotedColumnName"))
+                    return NAMES[col];
+                if (name.equals("getColumnDataAccessor"))
+                    return accessors[col];
+                if (name.equals("getColumnType"))
+                    return Integer.valueOf(col==0 ? Types.INTEGER : Types.VARCHAR);
+                if (name.equals("getColumnTypeName"))
+                    return col==0 ? "INTEGER" : "VARCHAR";
+                throw new UnsupportedOperationException(name);
+            }
+        });
+    }
+
+    private IColumnDataAccessor createColumnDataAccessor(final String columnName)
+    {
+        return (IColumnDataAccessor)proxy(IColumnDataAccessor.class, new InvocationHandler() {
+            public Object invoke(Object proxy, Method method, Object[] args) throws Exception
+            {
+                String name = method.getName();
+                if (name.equals("getValuesExpr"))
+                    return "?";
+                if (name.equals("getSetAss"))
+                    return columnName + "=?";
+                if (name.equals("getWhereCond"))
+                    return columnName + (args[0]==null ? " is null" : "=?");
+                Object val = args[2];
+                if (name.equals("writeWhereCondArgs") && val==null)
+                    return new String[0];
+                ((PreparedStatement)args[0]).setObject(((Integer)args[1]).intValue() + 1, val);
+                if (val==null)
+                    return new String[] { "NULL" };
+                return new String[] { val instanceof String ? "'" + val + "'" : val.toString() };
+            }
+        });
+    }
+
+    private Connection createConnection()
+    {
+        final DatabaseMetaData md = (DatabaseMetaData)proxy(DatabaseMetaData.class, new InvocationHandler() {
+            public Object invoke(Object proxy, Method method, Object[] args)
+            {
+                return Boolean.valueOf(supportsBatch);
+            }
+        });
+        return (Connection)proxy(Connection.class, new InvocationHandler() {
+            public Object invoke(Object proxy, Method method, Object[] args)
+            {
+                if (method.getName().equals("getMetaData"))
+                    return md;
+                calls.add("prepare " + args[0]);
+                return createStatement((String)args[0]);
+            }
+        });
+    }
+
+    private PreparedStatement createStatement(final String sql)
+    {
+        return (PreparedStatement)proxy(PreparedStatement.class, new InvocationHandler() {
+            int key;
+            List batch = new ArrayList();
+
+            public Object invoke(Object proxy, Method method, Object[] args) throws Exception
+            {
+                String name = method.getName();
+                if (name.equals("setObject")) {
+                    // the key is the only integer value
+                    if (args[1] instanceof Integer)
+                        key = ((Integer)args[1]).intValue();
+                    return null;
+                }
+                if (name.equals("addBatch")) {
+                    batch.add(Integer.valueOf(key));
+                    return null;
+                }
+                if (name.equals("executeBatch")) {
+                    calls.add("batch " + sql + " (" + batch.size() + ")");
+                    int[] counts = new int[batch.size()];
+                    for (int i=0; i<counts.length; ++i) {
+                        int k = ((Integer)batch.get(i)).intValue();
+                        if (k==failedKey) {
+                            int[] done = new int[i];
+                            System.arraycopy(counts, 0, done, 0, i);
+                            throw new BatchUpdateException(done);
+                        }
+                        counts[i] = updateCounts[k];
+                    }
+                    batch.clear();
+                    return counts;
+                }
+                if (name.equals("executeUpdate")) {
+                    calls.add("update " + sql);
+                    return Integer.valueOf(updateCounts[key]);
+                }
+                if (name.equals("close")) {
+                    closed++;
+                    return null;
+                }
+                throw new UnsupportedOperationException(name);
+            }
+        });
+    }
+
+    private static Object proxy(Class c, InvocationHandler handler)
+    {
+        return Proxy.newProxyInstance(RowDataBatchSaverTest.class.getClassLoader(), new Class[] { c }, handler);
+    }
+}
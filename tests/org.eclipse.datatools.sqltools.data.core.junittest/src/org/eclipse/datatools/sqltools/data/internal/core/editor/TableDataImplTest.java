@@ -0,0 +1,518 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Data Tools Platform and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * Contributors:
+ *     Eclipse Data Tools Platform - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.datatools.sqltools.data.internal.core.editor;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.eclipse.datatools.connectivity.sqm.core.rte.ICatalogObject;
+import org.eclipse.datatools.modelbase.sql.constraints.PrimaryKey;
+import org.eclipse.datatools.modelbase.sql.constraints.SQLConstraintsFactory;
+import org.eclipse.datatools.modelbase.sql.tables.BaseTable;
+import org.eclipse.datatools.modelbase.sql.tables.Column;
+import org.eclipse.datatools.modelbase.sql.tables.SQLTablesFactory;
+import org.eclipse.datatools.sqltools.data.internal.core.common.IColumnDataAccessor;
+import org.eclipse.datatools.sqltools.data.internal.core.common.Output;
+import org.eclipse.emf.common.util.BasicEList;
+import org.eclipse.emf.common.util.EList;
+
+import junit.framework.TestCase;
+
+/**
+ * Checks the paged mode of TableDataImpl on a table whose rows are ordered
+ * by their primary key, the keyset queries being evaluated by a proxy
+ * connection.
+ */
+public class TableDataImplTest extends TestCase
+{
+    // the names and types of the columns; the key columns come first
+    private String[] names;
+    private int[] types;
+    private int keyLength;
+    // the rows of the table, in the order of the key
+    private List data = new ArrayList();
+
+    // the queries run, in order
+    private List queries = new ArrayList();
+    private List output = new ArrayList();
+
+    public void testKeysetClause() throws Exception
+    {
+        createCompositeKeyTable(5, 5);
+        TableDataImpl table = createTableData(4);
+        assertEquals(" ORDER BY ID1, ID2", table.computeKeysetClause(null));
+        assertEquals(" WHERE (ID1>?) OR (ID1=? AND ID2>?) ORDER BY ID1, ID2",
+                table.computeKeysetClause(new Object[] { Integer.valueOf(1), Integer.valueOf(2) }));
+        assertEquals(Arrays.asList(new String[] { "SELECT ID1, ID2, NAME FROM T ORDER BY ID1, ID2 max 4" }), queries);
+
+        // the rows follow the composite key across the pages, the last of
+        // which is not full
+        assertEquals(25, table.getRowCount());
+        for (int i=0; i<25; ++i)
+            assertRow(table.getRow(i), i / 5 + 1, i % 5 + 1);
+        assertEquals(8, queries.size());
+        assertEquals("SELECT ID1, ID2, NAME FROM T WHERE (ID1>?) OR (ID1=? AND ID2>?) ORDER BY ID1, ID2 [1, 1, 4] max 4",
+                queries.get(2));
+        assertEquals("SELECT ID1, ID2, NAME FROM T WHERE (ID1>?) OR (ID1=? AND ID2>?) ORDER BY ID1, ID2 [5, 5, 4] max 4",
+                queries.get(7));
+    }
+
+    public void testFindPageBounds() throws Exception
+    {
+        createCompositeKeyTable(5, 5);
+        TableDataImpl table = createTableData(4);
+        table.getRowCount();
+        queries.clear();
+
+        // jumping to page 5 reads the keys of the rows of pages 1 to 4,
+        // then the rows of page 5
+        assertRow(table.getRow(21), 5, 2);
+        assertEquals(Arrays.asList(new String[] {
+                "SELECT ID1, ID2 FROM T WHERE (ID1>?) OR (ID1=? AND ID2>?) ORDER BY ID1, ID2 [1, 1, 4]",
+                "SELECT ID1, ID2, NAME FROM T WHERE (ID1>?) OR (ID1=? AND ID2>?) ORDER BY ID1, ID2 [4, 4, 5] max 4" }), queries);
+
+        // the bounds of the pages before are known
+        queries.clear();
+        assertRow(table.getRow(9), 2, 5);
+        assertEquals(Arrays.asList(new String[] {
+                "SELECT ID1, ID2, NAME FROM T WHERE (ID1>?) OR (ID1=? AND ID2>?) ORDER BY ID1, ID2 [2, 2, 3] max 4" }), queries);
+
+        // a page in memory is not read again
+        queries.clear();
+        assertRow(table.getRow(22), 5, 3);
+        assertTrue(queries.isEmpty());
+    }
+
+    public void testEvictionWithCompositeKey() throws Exception
+    {
+        createCompositeKeyTable(5, 5);
+        checkEviction();
+    }
+
+    public void testEvictionWithBinaryKey() throws Exception
+    {
+        createBinaryKeyTable(25);
+        checkEviction();
+    }
+
+    public void testRevert() throws Exception
+    {
+        createBinaryKeyTable(10);
+        TableDataImpl table = createTableData(4);
+        table.setMaxPages(1);
+        RowDataImpl updated = (RowDataImpl) table.getRow(1);
+        updated.updateValue(1, "x");
+        table.getRow(5);
+        IRowData inserted = table.insertRow();
+        assertEquals(11, table.getRowCount());
+        assertSame(inserted, table.getRow(10));
+
+        table.revert();
+        assertEquals(RowDataImpl.STATE_ORIGINAL, updated.getState());
+        assertEquals("v1", updated.getValue(1));
+        assertTrue(table.rows.isEmpty());
+        assertTrue(table.pinnedRows.isEmpty());
+        assertEquals(10, table.getRowCount());
+
+        // page 0 is read again, without the row once edited
+        RowDataImpl row = (RowDataImpl) table.getRow(1);
+        assertNotSame(updated, row);
+        assertEquals("v1", row.getValue(1));
+    }
+
+    public void testSave() throws Exception
+    {
+        createBinaryKeyTable(10);
+        TableDataImpl table = createTableData(4);
+        table.setMaxPages(1);
+        RowDataImpl updated = (RowDataImpl) table.getRow(1);
+        updated.updateValue(1, "x");
+        table.deleteRow(table.getRow(6));
+        table.insertRow().updateValue(1, "y");
+        queries.clear();
+
+        // the table has no unique constraint, so the rows are identified
+        // by all their columns
+        assertEquals(Output.STATUS_SUCCEEDED, table.save(createOutput()));
+        assertEquals(Arrays.asList(new String[] {
+                "delete from T where BIN=? and NAME=? [06, v6] batch",
+                "update T set NAME=? where BIN=? and NAME=? [x, 01, v1] batch",
+                "insert into T (BIN, NAME) values(?, ?) [null, y] batch" }), new ArrayList(queries.subList(0, 3)));
+
+        // the pages, edits and row count are reset, and read again
+        assertTrue(table.rows.isEmpty());
+        assertTrue(table.pinnedRows.isEmpty());
+        assertTrue(table.pages.isEmpty());
+        assertTrue(table.pageBounds.isEmpty());
+        queries.clear();
+        assertEquals(10, table.getRowCount());
+        assertEquals("SELECT COUNT(*) FROM T", queries.get(0));
+        assertNotSame(updated, table.getRow(1));
+        assertEquals(RowDataImpl.STATE_ORIGINAL, ((RowDataImpl) table.getRow(6)).getState());
+    }
+
+    /**
+     * Edits rows of the first pages, drops these pages from memory and reads
+     * them again: the rows edited replace those read.
+     */
+    private void checkEviction() throws Exception
+    {
+        TableDataImpl table = createTableData(4);
+        table.setMaxPages(2);
+        RowDataImpl updated = (RowDataImpl) table.getRow(1);
+        updated.updateValue(keyLength, "x");
+        RowDataImpl deleted = (RowDataImpl) table.getRow(5);
+        table.deleteRow(deleted);
+        RowDataImpl original = (RowDataImpl) table.getRow(2);
+        assertEquals(1, table.pinnedRows.size());
+
+        for (int i=8; i<20; i+=4)
+            table.getRow(i);
+        assertEquals(2, table.pages.size());
+        assertEquals(2, table.pinnedRows.size());
+        assertEquals(2, table.rows.size());
+
+        queries.clear();
+        assertSame(updated, table.getRow(1));
+        assertEquals("x", table.getRow(1).getValue(keyLength));
+        assertNotSame(original, table.getRow(2));
+        assertSame(deleted, table.getRow(5));
+        assertEquals(RowDataImpl.STATE_DELETED, deleted.getState());
+        assertEquals(2, queries.size());
+        // the rows are pinned once, whatever the number of evictions
+        for (int i=8; i<20; i+=4)
+            table.getRow(i);
+        assertEquals(2, table.rows.size());
+
+        // the deleted row keeps its position, but is not listed
+        assertEquals(25, table.getRowCount());
+        assertFalse(table.getRows().contains(deleted));
+    }
+
+    private void assertRow(IRowData row, int id1, int id2)
+    {
+        assertEquals(Integer.valueOf(id1), row.getValue(0));
+        assertEquals(Integer.valueOf(id2), row.getValue(1));
+    }
+
+    private void createCompositeKeyTable(int n1, int n2)
+    {
+        names = new String[] { "ID1", "ID2", "NAME" };
+        types = new int[] { Types.INTEGER, Types.INTEGER, Types.VARCHAR };
+        keyLength = 2;
+        for (int i=1; i<=n1; ++i)
+            for (int j=1; j<=n2; ++j)
+                data.add(new Object[] { Integer.valueOf(i), Integer.valueOf(j), "v" + i + j });
+    }
+
+    private void createBinaryKeyTable(int count)
+    {
+        names = new String[] { "BIN", "NAME" };
+        types = new int[] { Types.VARBINARY, Types.VARCHAR };
+        keyLength = 1;
+        for (int i=0; i<count; ++i)
+            data.add(new Object[] { new byte[] { (byte) i }, "v" + i });
+    }
+
+    private TableDataImpl createTableData(int pageSize) throws Exception
+    {
+        final EList columns = new BasicEList();
+        PrimaryKey pk = SQLConstraintsFactory.eINSTANCE.createPrimaryKey();
+        for (int i=0; i<names.length; ++i) {
+            Column column = SQLTablesFactory.eINSTANCE.createColumn();
+            column.setName(names[i]);
+            columns.add(column);
+            if (i<keyLength)
+                pk.getMembers().add(column);
+        }
+        final PrimaryKey primaryKey = pk;
+        final Connection con = createConnection();
+        BaseTable table = (BaseTable) proxy(new Class[] { BaseTable.class, ICatalogObject.class }, new InvocationHandler() {
+            public Object invoke(Object proxy, Method method, Object[] args)
+            {
+                String name = method.getName();
+                if (name.equals("getConnection"))
+                    return con;
+                if (name.equals("getColumns"))
+                    return columns;
+                if (name.equals("getConstraints"))
+                    return new BasicEList();
+                if (name.equals("getPrimaryKey"))
+                    return primaryKey;
+                if (name.equals("hashCode"))
+                    return Integer.valueOf(System.identityHashCode(proxy));
+                if (name.equals("equals"))
+                    return Boolean.valueOf(proxy==args[0]);
+                throw new UnsupportedOperationException(name);
+            }
+        });
+        return new TestTableData(table, pageSize);
+    }
+
+    private Output createOutput()
+    {
+        return new Output() {
+            public void write(String s)
+            {
+                output.add(s);
+            }
+        };
+    }
+
+    private IColumnDataAccessor createColumnDataAccessor(final String columnName)
+    {
+        return (IColumnDataAccessor) proxy(new Class[] { IColumnDataAccessor.class }, new InvocationHandler() {
+            public Object invoke(Object proxy, Method method, Object[] args) throws Exception
+            {
+                String name = method.getName();
+                if (name.equals("getSelectExpr"))
+                    return columnName;
+                if (name.equals("read"))
+                    return ((ResultSet) args[0]).getObject(((Integer) args[1]).intValue() + 1);
+                if (name.equals("getValuesExpr"))
+                    return "?";
+                if (name.equals("getSetAss"))
+                    return columnName + "=?";
+                if (name.equals("getWhereCond"))
+                    return columnName + "=?";
+                ((PreparedStatement) args[0]).setObject(((Integer) args[1]).intValue() + 1, args[2]);
+                return new String[] { String.valueOf(args[2]) };
+            }
+        });
+    }
+
+    private Connection createConnection()
+    {
+        final DatabaseMetaData md = (DatabaseMetaData) proxy(new Class[] { DatabaseMetaData.class }, new InvocationHandler() {
+            public Object invoke(Object proxy, Method method, Object[] args)
+            {
+                return Boolean.TRUE;
+            }
+        });
+        return (Connection) proxy(new Class[] { Connection.class }, new InvocationHandler() {
+            public Object invoke(Object proxy, Method method, Object[] args)
+            {
+                String name = method.getName();
+                if (name.equals("getMetaData"))
+                    return md;
+                if (name.equals("getAutoCommit"))
+                    return Boolean.TRUE;
+                if (name.equals("createStatement"))
+                    return createCountStatement();
+                if (name.equals("prepareStatement"))
+                    return createStatement((String) args[0]);
+                // setAutoCommit, commit
+                return null;
+            }
+        });
+    }
+
+    private Statement createCountStatement()
+    {
+        return (Statement) proxy(new Class[] { Statement.class }, new InvocationHandler() {
+            public Object invoke(Object proxy, Method method, Object[] args)
+            {
+                if (method.getName().equals("executeQuery")) {
+                    queries.add(args[0]);
+                    assertEquals("SELECT COUNT(*) FROM T", args[0]);
+                    List result = new ArrayList();
+                    result.add(new Object[] { Integer.valueOf(data.size()) });
+                    return createResultSet(result, new int[] { 0 });
+                }
+                return null;
+            }
+        });
+    }
+
+    /**
+     * A statement selecting the rows following the key given by its last
+     * arguments, or updating rows.
+     */
+    private PreparedStatement createStatement(final String sql)
+    {
+        return (PreparedStatement) proxy(new Class[] { PreparedStatement.class }, new InvocationHandler() {
+            Map args = new TreeMap();
+            int maxRows;
+
+            public Object invoke(Object proxy, Method method, Object[] a)
+            {
+                String name = method.getName();
+                if (name.equals("setMaxRows")) {
+                    maxRows = ((Integer) a[0]).intValue();
+                    return null;
+                }
+                if (name.startsWith("set") && a.length>1) {
+                    args.put(a[0], a[1]);
+                    return null;
+                }
+                if (name.equals("addBatch")) {
+                    queries.add(sql + " " + toString(args.values()) + " batch");
+                    args.clear();
+                    return null;
+                }
+                if (name.equals("executeBatch"))
+                    return new int[] { 1 };
+                if (name.equals("executeUpdate")) {
+                    queries.add(sql + " " + toString(args.values()));
+                    return Integer.valueOf(1);
+                }
+                if (name.equals("executeQuery"))
+                    return executeQuery();
+                // setFetchSize, close
+                return null;
+            }
+
+            private ResultSet executeQuery()
+            {
+                queries.add(sql + (args.isEmpty() ? "" : " " + toString(args.values())) + (maxRows>0 ? " max " + maxRows : ""));
+                List selected = Arrays.asList(sql.substring("SELECT ".length(), sql.indexOf(" FROM ")).split(", "));
+                int[] cols = new int[selected.size()];
+                for (int i=0; i<cols.length; ++i)
+                    cols[i] = Arrays.asList(names).indexOf(selected.get(i));
+                Object[] bound = null;
+                if (!args.isEmpty()) {
+                    List values = new ArrayList(args.values());
+                    bound = values.subList(values.size() - keyLength, values.size()).toArray();
+                }
+                List result = new ArrayList();
+                for (int i=0; i<data.size() && (maxRows==0 || result.size()<maxRows); ++i) {
+                    Object[] row = (Object[]) data.get(i);
+                    if (bound==null || compareKey(row, bound)>0)
+                        result.add(row);
+                }
+                return createResultSet(result, cols);
+            }
+
+            private String toString(Collection values)
+            {
+                List l = new ArrayList();
+                for (Iterator it = values.iterator(); it.hasNext();) {
+                    Object v = it.next();
+                    if (v instanceof byte[])
+                        l.add("0" + ((byte[]) v)[0]);
+                    else
+                        l.add(v);
+                }
+                return l.toString();
+            }
+        });
+    }
+
+    private int compareKey(Object[] row, Object[] bound)
+    {
+        for (int i=0; i<keyLength; ++i) {
+            int c;
+            if (row[i] instanceof byte[])
+                c = ((byte[]) row[i])[0] - ((byte[]) bound[i])[0];
+            else
+                c = ((Integer) row[i]).compareTo((Integer) bound[i]);
+            if (c!=0)
+                return c;
+        }
+        return 0;
+    }
+
+    /**
+     * A result set of the given columns of the rows, whose binary values are
+     * new arrays, as a driver returns them.
+     */
+    private ResultSet createResultSet(final List result, final int[] cols)
+    {
+        final ResultSetMetaData md = (ResultSetMetaData) proxy(new Class[] { ResultSetMetaData.class }, new InvocationHandler() {
+            public Object invoke(Object proxy, Method method, Object[] args)
+            {
+                String name = method.getName();
+                if (name.equals("getColumnCount"))
+                    return Integer.valueOf(cols.length);
+                int col = cols[((Integer) args[0]).intValue() - 1];
+                if (name.equals("getColumnName"))
+                    return names[col];
+                if (name.equals("getColumnType"))
+                    return Integer.valueOf(types[col]);
+                if (name.equals("getColumnTypeName"))
+                    return types[col]==Types.VARCHAR ? "VARCHAR" : types[col]==Types.INTEGER ? "INTEGER" : "VARBINARY";
+                throw new UnsupportedOperationException(name);
+            }
+        });
+        return (ResultSet) proxy(new Class[] { ResultSet.class }, new InvocationHandler() {
+            int index = -1;
+
+            public Object invoke(Object proxy, Method method, Object[] args)
+            {
+                String name = method.getName();
+                if (name.equals("next"))
+                    return Boolean.valueOf(++index<result.size());
+                if (name.equals("getMetaData"))
+                    return md;
+                if (name.equals("getObject") || name.equals("getInt")) {
+                    Object[] row = (Object[]) result.get(index);
+                    Object v = row[cols[((Integer) args[0]).intValue() - 1]];
+                    return v instanceof byte[] ? ((byte[]) v).clone() : v;
+                }
+                // close
+                return null;
+            }
+        });
+    }
+
+    private static Object proxy(Class[] c, InvocationHandler handler)
+    {
+        return Proxy.newProxyInstance(TableDataImplTest.class.getClassLoader(), c, handler);
+    }
+
+    private class TestTableData extends TableDataImpl
+    {
+        public TestTableData(BaseTable table, int pageSize) throws Exception
+        {
+            super(table, pageSize);
+        }
+
+        protected void createColumnDataAccessors()
+        {
+            colDataAccessor = new IColumnDataAccessor[names.length];
+            for (int i=0; i<names.length; ++i) {
+                resultColumns.add(sqlTable.getColumns().get(i));
+                colDataAccessor[i] = createColumnDataAccessor(names[i]);
+            }
+        }
+
+        protected String computeTableName()
+        {
+            return "T";
+        }
+
+        public String getQualifiedTableName()
+        {
+            return "T";
+        }
+
+        public String getQuotedColumnName(int col)
+        {
+            return getColumnName(col);
+        }
+    }
+}
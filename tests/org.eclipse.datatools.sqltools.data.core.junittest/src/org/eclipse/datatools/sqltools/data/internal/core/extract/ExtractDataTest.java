@@ -0,0 +1,313 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Data Tools Platform and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * Contributors:
+ *     Eclipse Data Tools Platform - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.datatools.sqltools.data.internal.core.extract;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.StringWriter;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.zip.GZIPInputStream;
+
+import junit.framework.TestCase;
+
+public class ExtractDataTest extends TestCase
+{
+    private static final String[] NAMES = { "ID", "NAME", "PRICE", "DATA", "UPDATED", "BIG" };
+    private static final int[] TYPES = { Types.INTEGER, Types.VARCHAR, Types.DOUBLE, Types.VARBINARY,
+            Types.TIMESTAMP, Types.BIGINT };
+    private static final int ROW_COUNT = 5000;
+
+    private File file;
+
+    protected void setUp() throws Exception
+    {
+        super.setUp();
+        file = File.createTempFile("extract", ".dat");
+    }
+
+    protected void tearDown() throws Exception
+    {
+        file.delete();
+        super.tearDown();
+    }
+
+    public void testDelimited() throws Exception
+    {
+        ExtractData extract = new ExtractData((Connection)null, null, file.getPath());
+        StringWriter out = new StringWriter();
+        extract.writeData(createResultSet(ROW_COUNT), new DelimitedExtractWriter(out, ",", "\""));
+        assertEquals(ROW_COUNT, extract.rowsExtracted);
+        assertEquals(getLegacyExtract(ROW_COUNT), out.toString());
+        assertTrue(extract.errorColumns.isEmpty());
+    }
+
+    public void testDelimitedGZIP() throws Exception
+    {
+        ExtractData extract = new ExtractData((Connection)null, null, file.getPath());
+        extract.setFormat(ExtractData.FORMAT_DELIMITED_GZIP);
+        write(extract, createResultSet(ROW_COUNT));
+        Reader in = new InputStreamReader(new GZIPInputStream(new FileInputStream(file)), "UTF-8");
+        StringWriter content = new StringWriter();
+        char[] buf = new char[8192];
+        for (int n = in.read(buf); n>=0; n = in.read(buf))
+            content.write(buf, 0, n);
+        in.close();
+        assertEquals(getLegacyExtract(ROW_COUNT), content.toString());
+    }
+
+    public void testJsonLines() throws Exception
+    {
+        ExtractData extract = new ExtractData((Connection)null, null, file.getPath());
+        StringWriter out = new StringWriter();
+        extract.writeData(createResultSet(2), new JsonLinesExtractWriter(out));
+        assertEquals("{\"ID\":0,\"NAME\":\"name \\\"0\\\"\\n\",\"PRICE\":0.0,\"DATA\":null,"
+                + "\"UPDATED\":\"2026-01-01 00:00:00.0\",\"BIG\":null}\n"
+                + "{\"ID\":1,\"NAME\":null,\"PRICE\":\"NaN\",\"DATA\":\"0102ff\","
+                + "\"UPDATED\":\"2026-01-01 00:00:01.0\",\"BIG\":9223372036854775807}\n",
+                out.toString());
+    }
+
+    public void testColumnar() throws Exception
+    {
+        ExtractData extract = new ExtractData((Connection)null, null, file.getPath());
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        IExtractWriter writer = new ColumnarExtractWriter(bytes, 4);
+        extract.writeData(createResultSet(10), writer);
+        writer.close();
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+        byte[] magic = new byte[4];
+        in.readFully(magic);
+        assertEquals("DTPC", new String(magic, "US-ASCII"));
+        assertEquals(ColumnarExtractWriter.VERSION, in.readByte());
+        assertEquals(NAMES.length, readVarLong(in));
+        for (int i=0; i<NAMES.length; ++i) {
+            assertEquals(NAMES[i], readString(in));
+            assertEquals(TYPES[i], unZigZag(readVarLong(in)));
+        }
+
+        int row = 0;
+        for (int count = (int)readVarLong(in); count>0; count = (int)readVarLong(in)) {
+            Object[][] columns = new Object[NAMES.length][];
+            int[] encodings = new int[NAMES.length];
+            for (int i=0; i<NAMES.length; ++i) {
+                encodings[i] = in.readByte();
+                columns[i] = readColumn(in, encodings[i], count);
+            }
+            assertEquals(ColumnarExtractWriter.LONG, encodings[0]);
+            assertEquals(ColumnarExtractWriter.STRING, encodings[1]);
+            assertEquals(ColumnarExtractWriter.DOUBLE, encodings[2]);
+            assertEquals(ColumnarExtractWriter.BYTES, encodings[3]);
+            assertEquals(ColumnarExtractWriter.STRING, encodings[4]);
+            for (int r=0; r<count; ++r, ++row) {
+                assertEquals(Long.valueOf(row), columns[0][r]);
+                assertEquals(row % 2==1 ? null : "name \"" + row + "\"\n", columns[1][r]);
+                assertEquals(row % 2==1 ? Double.valueOf(Double.NaN) : Double.valueOf(row * 1.5), columns[2][r]);
+                assertEquals(row % 2==1 ? 3 : -1, columns[3][r]==null ? -1 : ((byte[])columns[3][r]).length);
+                assertEquals(new Timestamp(getTime(row)).toString(), columns[4][r]);
+                assertEquals(row % 2==1 ? Long.valueOf(Long.MAX_VALUE) : null, columns[5][r]);
+            }
+        }
+        assertEquals(10, row);
+        assertEquals(-1, in.read());
+    }
+
+    public void testReadErrors() throws Exception
+    {
+        ExtractData extract = new ExtractData((Connection)null, null, file.getPath());
+        StringWriter out = new StringWriter();
+        ResultSet rs = createResultSet(2, 1);
+        extract.writeData(rs, new DelimitedExtractWriter(out, ",", "\""));
+        assertEquals(2, extract.rowsExtracted);
+        // the value which cannot be read is extracted as null
+        String endl = System.getProperty("line.separator");
+        assertTrue(out.toString().endsWith(endl + "1,NULL,NaN,\"0102ff\",NULL,9223372036854775807" + endl));
+        assertEquals(1, extract.errorColumns.size());
+        assertTrue(extract.errorColumns.contains("UPDATED"));
+    }
+
+    private void write(ExtractData extract, ResultSet rs) throws Exception
+    {
+        OutputStream out = new FileOutputStream(file);
+        IExtractWriter writer = extract.createWriter(out);
+        try {
+            extract.writeData(rs, writer);
+        } finally {
+            writer.close();
+        }
+    }
+
+    /**
+     * The extract written one value at a time, as before the writers.
+     */
+    private String getLegacyExtract(int rowCount) throws Exception
+    {
+        ExtractData extract = new ExtractData((Connection)null, null, file.getPath());
+        ResultSet rs = createResultSet(rowCount);
+        StringBuffer sb = new StringBuffer();
+        while (rs.next()) {
+            for (int i=0; i<NAMES.length; ++i) {
+                if (i!=0)
+                    sb.append(',');
+                String s = extract.getVal(rs, i);
+                sb.append(s==null ? "NULL" : s);
+            }
+            sb.append(System.getProperty("line.separator"));
+        }
+        return sb.toString();
+    }
+
+    private static long getTime(int row)
+    {
+        return Timestamp.valueOf("2026-01-01 00:00:00").getTime() + row * 1000L;
+    }
+
+    private static ResultSet createResultSet(int rowCount)
+    {
+        return createResultSet(rowCount, -1);
+    }
+
+    /**
+     * A result set whose odd rows hold null strings, NaN, binary values and
+     * large BIGINT values; the timestamps of the rows from errorRow on
+     * cannot be read.
+     */
+    private static ResultSet createResultSet(final int rowCount, final int errorRow)
+    {
+        final ResultSetMetaData md = (ResultSetMetaData)Proxy.newProxyInstance(ExtractDataTest.class.getClassLoader(),
+                new Class[] { ResultSetMetaData.class }, new InvocationHandler() {
+                    public Object invoke(Object proxy, Method method, Object[] args)
+                    {
+                        if (method.getName().equals("getColumnCount"))
+                            return Integer.valueOf(NAMES.length);
+                        int column = ((Integer)args[0]).intValue() - 1;
+                        if (method.getName().equals("getColumnName"))
+                            return NAMES[column];
+                        if (method.getName().equals("getColumnType"))
+                            return Integer.valueOf(TYPES[column]);
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+        return (ResultSet)Proxy.newProxyInstance(ExtractDataTest.class.getClassLoader(),
+                new Class[] { ResultSet.class }, new InvocationHandler() {
+                    int row = -1;
+
+                    public Object invoke(Object proxy, Method method, Object[] args) throws SQLException
+                    {
+                        String name = method.getName();
+                        if (name.equals("getMetaData"))
+                            return md;
+                        if (name.equals("next"))
+                            return Boolean.valueOf(++row<rowCount);
+                        if (name.equals("close"))
+                            return null;
+                        int column = ((Integer)args[0]).intValue() - 1;
+                        Object value = getValue(column);
+                        if (name.equals("getObject"))
+                            return value;
+                        if (name.equals("getString"))
+                            return value==null ? null : value.toString();
+                        throw new UnsupportedOperationException(name);
+                    }
+
+                    private Object getValue(int column) throws SQLException
+                    {
+                        boolean odd = row % 2==1;
+                        switch (column) {
+                            case 0:
+                                return Integer.valueOf(row);
+                            case 1:
+                                return odd ? null : "name \"" + row + "\"\n";
+                            case 2:
+                                return Double.valueOf(odd ? Double.NaN : row * 1.5);
+                            case 3:
+                                return odd ? new byte[] { 1, 2, (byte)255 } : null;
+                            case 4:
+                                if (errorRow>=0 && row>=errorRow)
+                                    throw new SQLException("timestamp");
+                                return new Timestamp(getTime(row));
+                            default:
+                                return odd ? String.valueOf(Long.MAX_VALUE) : null;
+                        }
+                    }
+                });
+    }
+
+    private static Object[] readColumn(DataInputStream in, int encoding, int count) throws IOException
+    {
+        byte[] nulls = new byte[(count + 7) / 8];
+        in.readFully(nulls);
+        Object[] values = new Object[count];
+        for (int r=0; r<count; ++r) {
+            if ((nulls[r / 8] & (1 << (r % 8)))!=0)
+                continue;
+            switch (encoding) {
+                case ColumnarExtractWriter.LONG:
+                    values[r] = Long.valueOf(unZigZag(readVarLong(in)));
+                    break;
+                case ColumnarExtractWriter.DOUBLE:
+                    values[r] = Double.valueOf(in.readDouble());
+                    break;
+                case ColumnarExtractWriter.BYTES:
+                    byte[] bytes = new byte[(int)readVarLong(in)];
+                    in.readFully(bytes);
+                    values[r] = bytes;
+                    break;
+                default:
+                    values[r] = readString(in);
+            }
+        }
+        return values;
+    }
+
+    private static long readVarLong(InputStream in) throws IOException
+    {
+        long n = 0;
+        for (int shift = 0;; shift += 7) {
+            int b = in.read();
+            if (b<0)
+                throw new EOFException();
+            n |= (long)(b & 0x7F) << shift;
+            if ((b & 0x80)==0)
+                return n;
+        }
+    }
+
+    private static long unZigZag(long n)
+    {
+        return (n >>> 1) ^ -(n & 1);
+    }
+
+    private static String readString(DataInputStream in) throws IOException
+    {
+        byte[] bytes = new byte[(int)readVarLong(in)];
+        in.readFully(bytes);
+        return new String(bytes, "UTF-8");
+    }
+}
@@ -0,0 +1,127 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Data Tools Platform and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * Contributors:
+ *     Eclipse Data Tools Platform - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.datatools.sqltools.data.internal.core.load;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.Vector;
+
+import junit.framework.TestCase;
+
+/**
+ * Reads an extract with the former tokenizer and with the parser. The size
+ * of the extract, 64 MB by default, is set in MB by the
+ * <code>dataFileParserBenchmark.size</code> system property; for instance
+ * -DdataFileParserBenchmark.size=1024 for a 1 GB extract.
+ */
+public class DataFileParserBenchmark extends TestCase
+{
+    private static final int COLUMN_COUNT = 6;
+
+    private File file;
+    private int rowCount;
+
+    protected void setUp() throws Exception
+    {
+        super.setUp();
+        file = File.createTempFile("extract", ".csv");
+        long size = Long.getLong("dataFileParserBenchmark.size", 64).longValue() * 1024 * 1024;
+        rowCount = writeExtract(file, size);
+    }
+
+    protected void tearDown() throws Exception
+    {
+        file.delete();
+        super.tearDown();
+    }
+
+    public void testBenchmark() throws Exception
+    {
+        long start = System.nanoTime();
+        assertEquals(rowCount, readWithTokenizer());
+        long tokenizer = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        assertEquals(rowCount, readWithParser());
+        long parser = System.nanoTime() - start;
+
+        System.out.println(file.length() / (1024 * 1024) + " MB, " + rowCount + " rows: tokenizer " 
+                + tokenizer / 1000000 + " ms, parser " + parser / 1000000 + " ms");
+    }
+
+    /**
+     * Reads the extract the way LoadData did before the parser.
+     */
+    private int readWithTokenizer() throws Exception
+    {
+        LoadData load = new LoadData(null, file.getPath());
+        DataFileTokenizer tokens = new DataFileTokenizer(file.getPath(), ",\"");
+        tokens.open();
+        int count = 0;
+        try {
+            while (tokens.peek()!=null) {
+                Vector values = load.parseRow(tokens);
+                String[] row = (String[])values.toArray(new String[0]);
+                assertEquals(COLUMN_COUNT, row.length);
+                count++;
+            }
+        } finally {
+            tokens.close();
+        }
+        return count;
+    }
+
+    private int readWithParser() throws Exception
+    {
+        DataFileParser parser = new DataFileParser(file.getPath(), ",", "\"");
+        parser.open();
+        String[] row = new String[COLUMN_COUNT];
+        int count = 0;
+        try {
+            for (int n = parser.readRecord(row); n>=0; n = parser.readRecord(row)) {
+                assertEquals(COLUMN_COUNT, n);
+                count++;
+            }
+        } finally {
+            parser.close();
+        }
+        return count;
+    }
+
+    /**
+     * Writes rows in the format of ExtractData: numbers, quoted strings,
+     * timestamps and nulls.
+     */
+    private static int writeExtract(File file, long size) throws IOException
+    {
+        Writer out = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file), "UTF-8"), 64 * 1024);
+        int count = 0;
+        long length = 0;
+        try {
+            while (length < size) {
+                String row = count + ",\"Customer " + count + "\",\"12 \"\"Main\"\" Street, Springfield\","
+                        + (count % 1000) * 1.25 + ",2026-01-" + (10 + count % 20) + " 10:" + (10 + count % 50)
+                        + ":00.0," + (count % 7 == 0 ? "" : "\"note " + count % 97 + "\"");
+                out.write(row);
+                out.write(LoadData.ENDL);
+                length += row.length() + LoadData.ENDL.length();
+                count++;
+            }
+        } finally {
+            out.close();
+        }
+        return count;
+    }
+}
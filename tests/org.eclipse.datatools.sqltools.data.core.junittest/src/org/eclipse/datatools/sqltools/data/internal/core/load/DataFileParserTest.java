@@ -0,0 +1,167 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Data Tools Platform and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * Contributors:
+ *     Eclipse Data Tools Platform - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.datatools.sqltools.data.internal.core.load;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+import junit.framework.TestCase;
+
+public class DataFileParserTest extends TestCase
+{
+    private File file;
+
+    protected void setUp() throws Exception
+    {
+        super.setUp();
+        file = File.createTempFile("load", ".csv");
+    }
+
+    protected void tearDown() throws Exception
+    {
+        file.delete();
+        super.tearDown();
+    }
+
+    public void testRecords() throws Exception
+    {
+        DataFileParser parser = open("1,abc,\"x,y\"\r\n2,,\"\"\n3,\"a\"\"b\",z", "\"");
+        String[] values = new String[3];
+        assertRecord(parser, values, new String[] { "1", "abc", "x,y" });
+        assertRecord(parser, values, new String[] { "2", null, "" });
+        assertRecord(parser, values, new String[] { "3", "a\"b", "z" });
+        assertEquals(-1, parser.readRecord(values));
+        assertEquals(3, parser.getRecordNumber());
+        parser.close();
+    }
+
+    public void testLineEndsInQuotedValues() throws Exception
+    {
+        DataFileParser parser = open("1,\"two\nlines\"\r2,\"three\r\nlines\r\n\"\n", "\"");
+        String[] values = new String[2];
+        assertRecord(parser, values, new String[] { "1", "two\nlines" });
+        assertRecord(parser, values, new String[] { "2", "three\r\nlines\r\n" });
+        assertEquals(-1, parser.readRecord(values));
+        parser.close();
+    }
+
+    public void testEmptyValues() throws Exception
+    {
+        // an empty line is a record with a single empty value
+        DataFileParser parser = open("a;\n\n;b\n;", ";", "'");
+        String[] values = new String[2];
+        assertRecord(parser, values, new String[] { "a", null });
+        assertEquals(1, parser.readRecord(values));
+        assertNull(values[0]);
+        assertRecord(parser, values, new String[] { null, "b" });
+        assertRecord(parser, values, new String[] { null, null });
+        assertEquals(-1, parser.readRecord(values));
+        parser.close();
+    }
+
+    public void testUnquotedValues() throws Exception
+    {
+        DataFileParser parser = open("\"a\"\t\"b\n", "\t", "");
+        String[] values = new String[2];
+        assertRecord(parser, values, new String[] { "\"a\"", "\"b" });
+        parser.close();
+    }
+
+    public void testBOM() throws Exception
+    {
+        OutputStream out = new FileOutputStream(file);
+        out.write(new byte[] { (byte)0xEF, (byte)0xBB, (byte)0xBF });
+        out.write("\"a\",b".getBytes("UTF-8"));
+        out.close();
+        DataFileParser parser = new DataFileParser(file.getPath(), ",", "\"");
+        parser.open();
+        assertRecord(parser, new String[2], new String[] { "a", "b" });
+        parser.close();
+
+        // a file shorter than a BOM
+        parser = open("1", "\"");
+        assertRecord(parser, new String[1], new String[] { "1" });
+        parser.close();
+    }
+
+    public void testValuesLongerThanBuffer() throws Exception
+    {
+        char[] chars = new char[DataFileParser.BUFFER_SIZE * 3 + 17];
+        Arrays.fill(chars, 'x');
+        String longValue = new String(chars);
+        StringBuffer sb = new StringBuffer();
+        for (int i=0; i<3; ++i)
+            sb.append(i).append(",\"").append(longValue).append("\"\"\",").append(longValue).append('\n');
+        DataFileParser parser = open(sb.toString(), "\"");
+        String[] values = new String[3];
+        for (int i=0; i<3; ++i)
+            assertRecord(parser, values, new String[] { String.valueOf(i), longValue + "\"", longValue });
+        assertEquals(-1, parser.readRecord(values));
+        parser.close();
+    }
+
+    public void testRecordLongerThanArray() throws Exception
+    {
+        DataFileParser parser = open("1,2,3\n4", "\"");
+        String[] values = new String[2];
+        assertEquals(3, parser.readRecord(values));
+        assertEquals("2", values[1]);
+        assertEquals(1, parser.readRecord(values));
+        assertEquals("4", values[0]);
+        parser.close();
+    }
+
+    public void testFormatErrors() throws Exception
+    {
+        DataFileParser parser = open("1,\"unterminated\n2,3\n", "\"");
+        try {
+            parser.readRecord(new String[2]);
+            fail();
+        } catch (DataFormatException ex) {
+            // expected
+        }
+        parser.close();
+
+        parser = open("1,\"a\"b\n", "\"");
+        try {
+            parser.readRecord(new String[2]);
+            fail();
+        } catch (DataFormatException ex) {
+            // expected
+        }
+        parser.close();
+    }
+
+    private DataFileParser open(String content, String stringDelim) throws IOException
+    {
+        return open(content, ",", stringDelim);
+    }
+
+    private DataFileParser open(String content, String colDelim, String stringDelim) throws IOException
+    {
+        OutputStream out = new FileOutputStream(file);
+        out.write(content.getBytes("UTF-8"));
+        out.close();
+        DataFileParser parser = new DataFileParser(file.getPath(), colDelim, stringDelim);
+        parser.open();
+        return parser;
+    }
+
+    private static void assertRecord(DataFileParser parser, String[] values, String[] expected) throws Exception
+    {
+        assertEquals(expected.length, parser.readRecord(values));
+        for (int i=0; i<expected.length; ++i)
+            assertEquals(expected[i], values[i]);
+    }
+}
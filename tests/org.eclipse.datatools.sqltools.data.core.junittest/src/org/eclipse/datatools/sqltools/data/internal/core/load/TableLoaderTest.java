@@ -0,0 +1,393 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Data Tools Platform and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * Contributors:
+ *     Eclipse Data Tools Platform - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.datatools.sqltools.data.internal.core.load;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.BatchUpdateException;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import junit.framework.TestCase;
+
+public class TableLoaderTest extends TestCase
+{
+    private boolean supportsSavepoints = true;
+    // whether the driver goes on with the rest of a batch after a failure
+    private boolean continueBatch = false;
+    // whether the driver reports a failed batch without update counts
+    private boolean plainBatchError = false;
+    private boolean autoCommit = true;
+    private boolean failCommit = false;
+    // the keys whose insert fails
+    private Set failedKeys = new HashSet();
+
+    // the keys of the rows inserted, committed or not
+    private List rows = new ArrayList();
+    // the number of rows of each savepoint set
+    private List savepoints = new ArrayList();
+    private List batchSizes = new ArrayList();
+    private int commits;
+    private int rollbacks;
+    private boolean closed;
+
+    private TableLoader loader = new TableLoader(null);
+
+    public void testBatches() throws Exception
+    {
+        loader.setBatchSize(4);
+        load(10);
+        assertEquals(Arrays.asList(new Integer[] { Integer.valueOf(4), Integer.valueOf(4), Integer.valueOf(2) }), batchSizes);
+        assertEquals(10, loader.getInsertedRows());
+        assertEquals(0, loader.getFailedRows());
+        assertEquals(10, rows.size());
+        assertTrue(loader.getFailures().isEmpty());
+        assertNull(loader.getFailedRowError());
+    }
+
+    public void testFailedBatchWithSavepoints() throws Exception
+    {
+        failedKeys.add(Integer.valueOf(2));
+        failedKeys.add(Integer.valueOf(4));
+        failedKeys.add(Integer.valueOf(7));
+        loader.setBatchSize(4);
+        load(10);
+
+        // the failed batches are rolled back and inserted again row by row,
+        // the failed rows being rolled back to their own savepoints
+        assertEquals(5, rollbacks);
+        assertEquals(Arrays.asList(new Integer[] {
+                Integer.valueOf(1), Integer.valueOf(3), Integer.valueOf(5), Integer.valueOf(6),
+                Integer.valueOf(8), Integer.valueOf(9), Integer.valueOf(10) }), rows);
+        assertEquals(7, loader.getInsertedRows());
+        assertEquals(3, loader.getFailedRows());
+
+        List failures = loader.getFailures();
+        assertEquals(2, failures.size());
+        assertFailure(failures.get(0), new int[] { 2, 4 }, "insert of 2");
+        assertFailure(failures.get(1), new int[] { 7 }, "insert of 7");
+        assertEquals("java.sql.SQLException: insert of 2", loader.getFailedRowError());
+    }
+
+    public void testFailedBatchWithoutSavepoints() throws Exception
+    {
+        supportsSavepoints = false;
+        failedKeys.add(Integer.valueOf(3));
+        failedKeys.add(Integer.valueOf(5));
+        loader.setBatchSize(5);
+        load(5);
+
+        // the driver stops at row 3; rows 1 and 2 are kept, and the rows
+        // from 3 on are inserted one at a time
+        assertEquals(0, rollbacks);
+        assertEquals(Arrays.asList(new Integer[] {
+                Integer.valueOf(1), Integer.valueOf(2), Integer.valueOf(4) }), rows);
+        assertEquals(3, loader.getInsertedRows());
+        assertEquals(2, loader.getFailedRows());
+        List failures = loader.getFailures();
+        assertEquals(1, failures.size());
+        assertFailure(failures.get(0), new int[] { 3, 5 }, "insert of 3");
+    }
+
+    public void testFailedBatchUpdateCounts() throws Exception
+    {
+        supportsSavepoints = false;
+        continueBatch = true;
+        failedKeys.add(Integer.valueOf(2));
+        failedKeys.add(Integer.valueOf(3));
+        loader.setBatchSize(4);
+        load(4);
+
+        // the driver went on with the batch, so no row is inserted again
+        assertEquals(Arrays.asList(new Integer[] { Integer.valueOf(1), Integer.valueOf(4) }), rows);
+        assertEquals(2, loader.getInsertedRows());
+        assertEquals(2, loader.getFailedRows());
+        List failures = loader.getFailures();
+        assertEquals(1, failures.size());
+        assertFailure(failures.get(0), new int[] { 2, 3 }, "batch");
+    }
+
+    public void testFailedBatchWithoutUpdateCounts() throws Exception
+    {
+        supportsSavepoints = false;
+        plainBatchError = true;
+        failedKeys.add(Integer.valueOf(3));
+        loader.setBatchSize(5);
+        load(5);
+
+        // rows 1 and 2 may be committed, so no row is inserted again and
+        // the whole batch is reported
+        assertEquals(Arrays.asList(new Integer[] { Integer.valueOf(1), Integer.valueOf(2) }), rows);
+        assertEquals(0, loader.getInsertedRows());
+        assertEquals(5, loader.getFailedRows());
+        List failures = loader.getFailures();
+        assertEquals(1, failures.size());
+        assertFailure(failures.get(0), new int[] { 1, 2, 3, 4, 5 }, "insert of 3");
+    }
+
+    public void testWithoutBatches() throws Exception
+    {
+        failedKeys.add(Integer.valueOf(2));
+        failedKeys.add(Integer.valueOf(3));
+        loader.setBatchSize(1);
+        load(4);
+
+        assertTrue(batchSizes.isEmpty());
+        assertEquals(Arrays.asList(new Integer[] { Integer.valueOf(1), Integer.valueOf(4) }), rows);
+        // each row is a batch of its own
+        List failures = loader.getFailures();
+        assertEquals(2, failures.size());
+        assertFailure(failures.get(0), new int[] { 2 }, "insert of 2");
+        assertFailure(failures.get(1), new int[] { 3 }, "insert of 3");
+        assertEquals("java.sql.SQLException: insert of 2", loader.getFailedRowError());
+    }
+
+    public void testCommitInterval() throws Exception
+    {
+        loader.setBatchSize(4);
+        loader.setCommitInterval(8);
+        load(20);
+        // every 8 rows, once the batch is sent, and on close
+        assertEquals(3, commits);
+        assertTrue(autoCommit);
+        assertTrue(closed);
+    }
+
+    public void testCallerTransaction() throws Exception
+    {
+        autoCommit = false;
+        load(20);
+        // the transaction is left to the caller
+        assertEquals(0, commits);
+        assertFalse(autoCommit);
+    }
+
+    public void testRestoreAutoCommit() throws Exception
+    {
+        failCommit = true;
+        loader.open(createConnection(), "T");
+        assertFalse(autoCommit);
+        loader.loadRow(new String[] { "1", "a" });
+        try {
+            loader.close();
+            fail();
+        } catch (SQLException ex) {
+            // expected
+        }
+        assertTrue(autoCommit);
+        assertTrue(closed);
+    }
+
+    private void load(int count) throws Exception
+    {
+        loader.open(createConnection(), "T");
+        for (int i=1; i<=count; ++i)
+            loader.loadRow(new String[] { String.valueOf(i), "v" + i });
+        loader.close();
+    }
+
+    private void assertFailure(Object failure, int[] rowNumbers, String error)
+    {
+        TableLoader.FailedRows rows = (TableLoader.FailedRows)failure;
+        assertTrue(Arrays.toString(rows.getRowNumbers()), Arrays.equals(rowNumbers, rows.getRowNumbers()));
+        assertEquals("java.sql.SQLException: " + error, rows.getError().replaceFirst("BatchUpdateException", "SQLException"));
+    }
+
+    private Connection createConnection()
+    {
+        final DatabaseMetaData md = (DatabaseMetaData)proxy(DatabaseMetaData.class, new InvocationHandler() {
+            public Object invoke(Object proxy, Method method, Object[] args)
+            {
+                if (method.getName().equals("supportsSavepoints"))
+                    return Boolean.valueOf(supportsSavepoints);
+                return Boolean.TRUE;
+            }
+        });
+        return (Connection)proxy(Connection.class, new InvocationHandler() {
+            public Object invoke(Object proxy, Method method, Object[] args) throws Exception
+            {
+                String name = method.getName();
+                if (name.equals("getMetaData"))
+                    return md;
+                if (name.equals("createStatement"))
+                    return createQueryStatement();
+                if (name.equals("prepareStatement")) {
+                    assertEquals("insert into T values(?,?)", args[0]);
+                    return createInsertStatement();
+                }
+                if (name.equals("getAutoCommit"))
+                    return Boolean.valueOf(autoCommit);
+                if (name.equals("setAutoCommit")) {
+                    autoCommit = ((Boolean)args[0]).booleanValue();
+                    return null;
+                }
+                if (name.equals("commit")) {
+                    assertFalse(autoCommit);
+                    if (failCommit)
+                        throw new SQLException("commit");
+                    commits++;
+                    savepoints.clear();
+                    return null;
+                }
+                if (name.equals("setSavepoint")) {
+                    assertFalse(autoCommit);
+                    savepoints.add(Integer.valueOf(rows.size()));
+                    return proxy(Savepoint.class, new InvocationHandler() {
+                        public Object invoke(Object proxy, Method method, Object[] args)
+                        {
+                            throw new UnsupportedOperationException(method.getName());
+                        }
+                    });
+                }
+                if (name.equals("releaseSavepoint")) {
+                    savepoints.remove(savepoints.size() - 1);
+                    return null;
+                }
+                if (name.equals("rollback")) {
+                    int size = ((Integer)savepoints.remove(savepoints.size() - 1)).intValue();
+                    rows.subList(size, rows.size()).clear();
+                    rollbacks++;
+                    return null;
+                }
+                throw new UnsupportedOperationException(name);
+            }
+        });
+    }
+
+    /**
+     * The statement reading the metadata of the columns ID, an INTEGER, and
+     * NAME, a VARCHAR.
+     */
+    private Statement createQueryStatement()
+    {
+        final ResultSetMetaData md = (ResultSetMetaData)proxy(ResultSetMetaData.class, new InvocationHandler() {
+            public Object invoke(Object proxy, Method method, Object[] args)
+            {
+                String name = method.getName();
+                if (name.equals("getColumnCount"))
+                    return Integer.valueOf(2);
+                int col = ((Integer)args[0]).intValue();
+                if (name.equals("getColumnName"))
+                    return col==1 ? "ID" : "NAME";
+                if (name.equals("getColumnType"))
+                    return Integer.valueOf(col==1 ? Types.INTEGER : Types.VARCHAR);
+                throw new UnsupportedOperationException(name);
+            }
+        });
+        final ResultSet rs = (ResultSet)proxy(ResultSet.class, new InvocationHandler() {
+            public Object invoke(Object proxy, Method method, Object[] args)
+            {
+                if (method.getName().equals("getMetaData"))
+                    return md;
+                return null;
+            }
+        });
+        return (Statement)proxy(Statement.class, new InvocationHandler() {
+            public Object invoke(Object proxy, Method method, Object[] args)
+            {
+                if (method.getName().equals("executeQuery")) {
+                    assertEquals("select * from T where 1=0", args[0]);
+                    return rs;
+                }
+                return null;
+            }
+        });
+    }
+
+    private PreparedStatement createInsertStatement()
+    {
+        return (PreparedStatement)proxy(PreparedStatement.class, new InvocationHandler() {
+            Integer key;
+            List batch = new ArrayList();
+
+            public Object invoke(Object proxy, Method method, Object[] args) throws Exception
+            {
+                String name = method.getName();
+                if (name.startsWith("set")) {
+                    if (name.equals("setObject") && ((Integer)args[0]).intValue()==1)
+                        key = (Integer)args[1];
+                    return null;
+                }
+                if (name.equals("addBatch")) {
+                    batch.add(key);
+                    return null;
+                }
+                if (name.equals("clearBatch")) {
+                    batch.clear();
+                    return null;
+                }
+                if (name.equals("executeBatch")) {
+                    batchSizes.add(Integer.valueOf(batch.size()));
+                    try {
+                        return executeBatch();
+                    } finally {
+                        batch.clear();
+                    }
+                }
+                if (name.equals("executeUpdate")) {
+                    if (failedKeys.contains(key))
+                        throw new SQLException("insert of " + key);
+                    rows.add(key);
+                    return Integer.valueOf(1);
+                }
+                if (name.equals("close")) {
+                    closed = true;
+                    return null;
+                }
+                throw new UnsupportedOperationException(name);
+            }
+
+            private int[] executeBatch() throws SQLException
+            {
+                int[] counts = new int[batch.size()];
+                boolean failed = false;
+                for (int i=0; i<counts.length; ++i) {
+                    Integer k = (Integer)batch.get(i);
+                    if (!failedKeys.contains(k)) {
+                        rows.add(k);
+                        counts[i] = 1;
+                    } else if (continueBatch) {
+                        counts[i] = Statement.EXECUTE_FAILED;
+                        failed = true;
+                    } else if (plainBatchError) {
+                        throw new SQLException("insert of " + k);
+                    } else {
+                        int[] done = new int[i];
+                        System.arraycopy(counts, 0, done, 0, i);
+                        throw new BatchUpdateException("insert of " + k, done);
+                    }
+                }
+                if (failed)
+                    throw new BatchUpdateException("batch", counts);
+                return counts;
+            }
+        });
+    }
+
+    private static Object proxy(Class c, InvocationHandler handler)
+    {
+        return Proxy.newProxyInstance(TableLoaderTest.class.getClassLoader(), new Class[] { c }, handler);
+    }
+}